@@ -0,0 +1,64 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.jmh;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+
+/**
+ * Seeded readings shared by the benchmarks, so every run measures the same data.
+ */
+final class BenchmarkData {
+
+  static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  private BenchmarkData() {
+  }
+
+  /**
+   * Method to create the readings of a device, one a minute from START with a few seconds of
+   * jitter, in time order.
+   *
+   * @param deviceID     is the device of the readings.
+   * @param sensorTypeID is the sensor type of the readings.
+   * @param unitID       is the unit of the readings.
+   * @param count        is the number of readings.
+   * @param seed         is the seed of the values and the jitter.
+   * @param lower        is the lowest value.
+   * @param upper        is the highest value.
+   * @return the readings.
+   */
+  static List<Log> readings(String deviceID, String sensorTypeID, String unitID, int count,
+      long seed, double lower, double upper) {
+    ILogFactory logFactory = new LogFactoryImpl();
+    SplittableRandom random = new SplittableRandom(seed);
+    DeviceID device = new DeviceID(deviceID);
+    SensorID sensor = new SensorID(deviceID + "-sensor");
+    SensorTypeID sensorType = new SensorTypeID(sensorTypeID);
+    UnitID unit = new UnitID(unitID);
+    List<Log> logs = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      LocalDateTime timestamp = START.plusMinutes(i).plusSeconds(random.nextInt(30));
+      double value = Math.round(random.nextDouble(lower, upper) * 10) / 10.0;
+      logs.add(logFactory.createLog(device, sensor, timestamp, new ReadingValue(value), sensorType,
+          unit));
+    }
+    return logs;
+  }
+}
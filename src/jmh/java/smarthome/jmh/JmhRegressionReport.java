@@ -0,0 +1,164 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.jmh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the JSON results of a JMH run with a saved baseline and flags the benchmarks whose
+ * time per operation, or allocation per operation when run with -prof gc, grew by more than a
+ * threshold. Benchmarks are matched by name and parameters; for throughput modes a lower score is
+ * the regression.
+ * <p>
+ * Run with: mvn -Pjmh exec:java@jmh-compare, or with the baseline, results and threshold in
+ * percent as arguments of this class. It fails when a benchmark regressed.
+ */
+public class JmhRegressionReport {
+
+  private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+  /**
+   * One compared metric of a benchmark.
+   *
+   * @param benchmark  is the benchmark with its parameters.
+   * @param metric     is the metric and its unit.
+   * @param baseline   is the score of the baseline.
+   * @param current    is the score of the run.
+   * @param change     is the change in percent, positive when worse.
+   * @param regression tells whether the change is above the threshold.
+   */
+  record Comparison(String benchmark, String metric, double baseline, double current,
+                    double change, boolean regression) {
+
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      throw new IllegalArgumentException(
+          "Usage: JmhRegressionReport <baseline.json> <result.json> [threshold %]");
+    }
+    double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+    ObjectMapper mapper = new ObjectMapper();
+    Map<String, JsonNode> baseline = index(mapper.readTree(Path.of(args[0]).toFile()));
+    Map<String, JsonNode> current = index(mapper.readTree(Path.of(args[1]).toFile()));
+
+    List<Comparison> comparisons = compare(baseline, current, threshold);
+    System.out.printf("%-72s %-14s %12s %12s %9s%n", "benchmark", "metric", "baseline", "current",
+        "change");
+    for (Comparison comparison : comparisons) {
+      System.out.printf("%-72s %-14s %12.3f %12.3f %+8.1f%% %s%n", comparison.benchmark(),
+          comparison.metric(), comparison.baseline(), comparison.current(), comparison.change(),
+          comparison.regression() ? "REGRESSION" : "");
+    }
+    for (String benchmark : baseline.keySet()) {
+      if (!current.containsKey(benchmark)) {
+        System.out.println("Not run: " + benchmark);
+      }
+    }
+    for (String benchmark : current.keySet()) {
+      if (!baseline.containsKey(benchmark)) {
+        System.out.println("Not in the baseline: " + benchmark);
+      }
+    }
+
+    long regressions = comparisons.stream().filter(Comparison::regression).count();
+    if (regressions > 0) {
+      throw new IllegalStateException(regressions + " metric(s) regressed by more than "
+          + threshold + "%");
+    }
+    System.out.printf("No regression above %.1f%%%n", threshold);
+  }
+
+  /**
+   * Method to compare the benchmarks of a run found in the baseline.
+   *
+   * @param baseline  are the results of the baseline by benchmark.
+   * @param current   are the results of the run by benchmark.
+   * @param threshold is the change in percent above which a metric regressed.
+   * @return the comparisons, in the order of the run.
+   */
+  static List<Comparison> compare(Map<String, JsonNode> baseline, Map<String, JsonNode> current,
+      double threshold) {
+    List<Comparison> comparisons = new ArrayList<>();
+    for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+      JsonNode before = baseline.get(entry.getKey());
+      if (before == null) {
+        continue;
+      }
+      JsonNode after = entry.getValue();
+      boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+      comparisons.add(comparison(entry.getKey(), before.path("primaryMetric"),
+          after.path("primaryMetric"), higherIsBetter, threshold));
+
+      JsonNode allocationBefore = secondaryMetric(before, ALLOCATION);
+      JsonNode allocationAfter = secondaryMetric(after, ALLOCATION);
+      if (allocationBefore != null && allocationAfter != null) {
+        comparisons.add(comparison(entry.getKey(), allocationBefore, allocationAfter, false,
+            threshold));
+      }
+    }
+    return comparisons;
+  }
+
+  private static Comparison comparison(String benchmark, JsonNode before, JsonNode after,
+      boolean higherIsBetter, double threshold) {
+    double baselineScore = before.path("score").asDouble();
+    double currentScore = after.path("score").asDouble();
+    double change = baselineScore == 0
+        ? (currentScore == 0 ? 0 : 100)
+        : (currentScore - baselineScore) / Math.abs(baselineScore) * 100;
+    if (higherIsBetter) {
+      change = -change;
+    }
+    return new Comparison(benchmark, after.path("scoreUnit").asText(), baselineScore,
+        currentScore, change, change > threshold);
+  }
+
+  /**
+   * Method to find a secondary metric, whose name has a leading middle dot in older JMH versions.
+   */
+  private static JsonNode secondaryMetric(JsonNode result, String name) {
+    Iterator<Map.Entry<String, JsonNode>> metrics = result.path("secondaryMetrics").fields();
+    while (metrics.hasNext()) {
+      Map.Entry<String, JsonNode> metric = metrics.next();
+      if (metric.getKey().replace("\u00b7", "").equals(name)) {
+        return metric.getValue();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Method to key the results of a run by benchmark name and parameters.
+   *
+   * @param results is the JSON array written by JMH with -rf json.
+   * @return the results, in the order of the run.
+   */
+  static Map<String, JsonNode> index(JsonNode results) {
+    Map<String, JsonNode> byBenchmark = new LinkedHashMap<>();
+    for (JsonNode result : results) {
+      Map<String, String> params = new TreeMap<>();
+      result.path("params").fields()
+          .forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+      String name = result.path("benchmark").asText()
+          .replace(JmhRegressionReport.class.getPackageName() + ".", "");
+      byBenchmark.put(params.isEmpty() ? name : name + " " + params, result);
+    }
+    return byBenchmark;
+  }
+}
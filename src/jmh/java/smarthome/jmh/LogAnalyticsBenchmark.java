@@ -0,0 +1,82 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.TimeDelta;
+import smarthome.persistence.mem.DeviceRepository;
+import smarthome.persistence.mem.LogRepository;
+import smarthome.persistence.mem.LogRollupRepository;
+import smarthome.persistence.mem.SensorRepository;
+import smarthome.persistence.mem.SensorTypeRepository;
+import smarthome.persistence.mem.UnitRepository;
+import smarthome.service.LogServiceImpl;
+
+/**
+ * The two-device analytics of LogServiceImpl: the maximum temperature difference between an
+ * outdoor and an indoor device, and the peak power of a meter and a source, over readings that
+ * were already fetched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogAnalyticsBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int readings;
+
+  private LogServiceImpl logService;
+  private List<Log> outdoor;
+  private List<Log> indoor;
+  private List<Log> meter;
+  private List<Log> source;
+  private TimeDelta timeDelta;
+
+  @Setup
+  public void setUp() {
+    logService = new LogServiceImpl(new LogRepository(), new DeviceRepository(),
+        new SensorRepository(), new SensorTypeRepository(), new UnitRepository(),
+        new LogFactoryImpl(), new LogRollupRepository());
+    outdoor = BenchmarkData.readings("outdoor", "Temperature", "Celsius", readings, 1, -5, 25);
+    indoor = BenchmarkData.readings("indoor", "Temperature", "Celsius", readings, 2, 18, 24);
+    meter = BenchmarkData.readings("meter", "InstantPowerConsumption", "Watt", readings, 3, 50,
+        3000);
+    source = BenchmarkData.readings("source", "InstantPowerConsumption", "Watt", readings, 4,
+        -2000, 0);
+    timeDelta = new TimeDelta(5);
+  }
+
+  @Benchmark
+  public double maxTemperatureDifference() throws Exception {
+    return logService.getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(outdoor, indoor,
+        timeDelta);
+  }
+
+  @Benchmark
+  public double peakPowerConsumption() {
+    return logService.getPeakPowerConsumption(meter, source, timeDelta);
+  }
+}
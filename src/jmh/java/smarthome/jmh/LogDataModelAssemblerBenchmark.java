@@ -0,0 +1,60 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.persistence.assembler.LogDataModelAssembler;
+import smarthome.persistence.data_model.LogDataModel;
+
+/**
+ * Conversion of the rows of a query to logs by LogDataModelAssembler.toDomain, below and above
+ * its parallel threshold.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogDataModelAssemblerBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int logs;
+
+  private LogDataModelAssembler assembler;
+  private List<LogDataModel> dataModels;
+
+  @Setup
+  public void setUp() {
+    assembler = new LogDataModelAssembler(new LogFactoryImpl());
+    dataModels = BenchmarkData.readings("device", "Temperature", "Celsius", logs, 1, 15, 25)
+        .stream()
+        .map(LogDataModel::new)
+        .toList();
+  }
+
+  @Benchmark
+  public List<Log> toDomain() {
+    return assembler.toDomain(dataModels);
+  }
+}
@@ -0,0 +1,66 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import smarthome.domain.log.Log;
+import smarthome.mapper.LogAssembler;
+import smarthome.utils.dto.LogDTO;
+
+/**
+ * The body of GET /logs: logs converted to LogDTO by LogAssembler and written as JSON, and the
+ * JSON writing alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogDtoSerializationBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  private int logs;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private LogAssembler logAssembler;
+  private List<Log> domainLogs;
+  private List<LogDTO> dtos;
+
+  @Setup
+  public void setUp() {
+    logAssembler = new LogAssembler();
+    domainLogs = BenchmarkData.readings("device", "Temperature", "Celsius", logs, 1, 15, 25);
+    dtos = logAssembler.domainToDTO(domainLogs);
+  }
+
+  @Benchmark
+  public byte[] assembleAndWrite() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(logAssembler.domainToDTO(domainLogs));
+  }
+
+  @Benchmark
+  public byte[] write() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(dtos);
+  }
+}
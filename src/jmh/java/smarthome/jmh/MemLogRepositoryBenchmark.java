@@ -0,0 +1,88 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import smarthome.domain.log.Log;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.persistence.mem.LogRepository;
+
+/**
+ * The range filters of the in-memory log repository: a day of one device out of DEVICES, by
+ * period, by sensor type and period, and for a tenth of the devices at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemLogRepositoryBenchmark {
+
+  private static final int DEVICES = 100;
+
+  @Param({"10000", "100000", "1000000"})
+  private int logs;
+
+  private LogRepository logRepository;
+  private DeviceID deviceID;
+  private List<DeviceID> deviceIDs;
+  private SensorTypeID sensorTypeID;
+  private DatePeriod period;
+
+  @Setup
+  public void setUp() {
+    logRepository = new LogRepository();
+    int perDevice = logs / DEVICES;
+    deviceIDs = new ArrayList<>();
+    for (int device = 0; device < DEVICES; device++) {
+      logRepository.saveAll(BenchmarkData.readings("device-" + device, "Temperature", "Celsius",
+          perDevice, device, 15, 25));
+      if (device % 10 == 0) {
+        deviceIDs.add(new DeviceID("device-" + device));
+      }
+    }
+    deviceID = new DeviceID("device-42");
+    sensorTypeID = new SensorTypeID("Temperature");
+    period = new DatePeriod(BenchmarkData.START.plusMinutes(perDevice / 2),
+        BenchmarkData.START.plusMinutes(perDevice / 2).plusDays(1));
+  }
+
+  @Benchmark
+  public List<Log> byDeviceAndPeriod() {
+    return logRepository.findByDeviceIDAndDatePeriodBetween(deviceID, period);
+  }
+
+  @Benchmark
+  public List<Log> byDeviceSensorTypeAndPeriod() {
+    return logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(deviceID, sensorTypeID,
+        period);
+  }
+
+  @Benchmark
+  public List<Log> byDevicesSensorTypeAndPeriod() {
+    return logRepository.findByDeviceIDsAndSensorTypeAndDatePeriodBetween(deviceIDs,
+        sensorTypeID, period);
+  }
+}
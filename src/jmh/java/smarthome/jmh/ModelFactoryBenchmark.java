@@ -0,0 +1,103 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.jmh;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import smarthome.domain.actuator.ActuatorFactoryImpl;
+import smarthome.domain.actuator.IActuator;
+import smarthome.domain.sensor.ISensor;
+import smarthome.domain.sensor.SensorFactoryImpl;
+import smarthome.domain.value_object.ActuatorName;
+import smarthome.domain.value_object.ActuatorTypeID;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ModelPath;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorName;
+import smarthome.domain.value_object.SensorTypeID;
+
+/**
+ * Creation of a sensor and an actuator from their model path, as SensorDataModelAssembler and
+ * ActuatorDataModelAssembler do for every row, by the factories and by the reflective lookup they
+ * did before: Class.forName, getConstructors and a type check of every parameter on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelFactoryBenchmark {
+
+  private SensorFactoryImpl sensorFactory;
+  private ActuatorFactoryImpl actuatorFactory;
+  private Object[] sensorParameters;
+  private Object[] actuatorParameters;
+
+  @Setup
+  public void setUp() {
+    sensorFactory = new SensorFactoryImpl();
+    actuatorFactory = new ActuatorFactoryImpl();
+    sensorParameters = new Object[]{new DeviceID("device"),
+        new ModelPath("smarthome.domain.sensor.temperature_sensor.TemperatureSensor"),
+        new SensorTypeID("Temperature"), new SensorName("sensor"), new SensorID("sensor")};
+    actuatorParameters = new Object[]{new DeviceID("device"),
+        new ModelPath("smarthome.domain.actuator.switch_actuator.SwitchActuator"),
+        new ActuatorTypeID("Switch"), new ActuatorName("actuator")};
+  }
+
+  @Benchmark
+  public ISensor sensorFactory() {
+    return sensorFactory.create(sensorParameters);
+  }
+
+  @Benchmark
+  public ISensor sensorReflection() throws ReflectiveOperationException {
+    return (ISensor) reflect(sensorParameters[1], sensorParameters);
+  }
+
+  @Benchmark
+  public IActuator actuatorFactory() {
+    return actuatorFactory.create(actuatorParameters);
+  }
+
+  @Benchmark
+  public IActuator actuatorReflection() throws ReflectiveOperationException {
+    return (IActuator) reflect(actuatorParameters[1], actuatorParameters);
+  }
+
+  private static Object reflect(Object modelPath, Object[] parameters)
+      throws ReflectiveOperationException {
+    Class<?> modelClass = Class.forName(modelPath.toString());
+    for (Constructor<?> constructor : modelClass.getConstructors()) {
+      Class<?>[] parameterTypes = constructor.getParameterTypes();
+      if (parameterTypes.length != parameters.length) {
+        continue;
+      }
+      boolean match = true;
+      for (int i = 0; i < parameterTypes.length && match; i++) {
+        match = parameterTypes[i].isAssignableFrom(parameters[i].getClass());
+      }
+      if (match) {
+        return constructor.newInstance(parameters);
+      }
+    }
+    throw new InstantiationException("No matching constructor found for class: " + modelPath);
+  }
+}
@@ -0,0 +1,109 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import smarthome.persistence.data_model.BinaryIDJavaType;
+
+/**
+ * Stores log IDs as bytes (BinaryIDJavaType) in logs and latest_readings. The IDs have to be
+ * re-encoded row by row, which SQL cannot do the same way on MariaDB and H2, so each table is
+ * copied into a new one, a batch of rows at a time in primary key order, and then replaced.
+ */
+public class V5__Binary_log_ids extends BaseJavaMigration {
+
+  private static final int BATCH_SIZE = 1000;
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("create table logs_binary (timestamp datetime(6), version bigint,"
+          + " description varchar(255), deviceid varchar(255), logid varbinary(255) not null,"
+          + " reading_value varchar(255), sensorid varchar(255), unit varchar(255),"
+          + " primary key (logid))");
+      copy(connection, "logs", "logs_binary", "logid", "logid");
+      statement.execute("drop table logs");
+      statement.execute("alter table logs_binary rename to logs");
+      statement.execute(
+          "create index idx_logs_device_type_time on logs (deviceid, description, timestamp)");
+      statement.execute("create index idx_logs_device_time on logs (deviceid, timestamp, logid)");
+      statement.execute("create index idx_logs_time on logs (timestamp, logid)");
+
+      statement.execute("create table latest_readings_binary (timestamp datetime(6),"
+          + " version bigint, deviceid varchar(255), logid varbinary(255),"
+          + " reading_key varchar(255) not null, sensor_typeid varchar(255),"
+          + " primary key (reading_key))");
+      copy(connection, "latest_readings", "latest_readings_binary", "reading_key", "logid");
+      statement.execute("drop table latest_readings");
+      statement.execute("alter table latest_readings_binary rename to latest_readings");
+    }
+  }
+
+  /**
+   * Method to copy every row of a table, encoding one of its columns with BinaryIDJavaType.
+   */
+  private static void copy(Connection connection, String from, String to, String key,
+      String idColumn) throws SQLException {
+    String after = null;
+    while (true) {
+      String select = "select * from " + from
+          + (after == null ? "" : " where " + key + " > ?")
+          + " order by " + key + " limit " + BATCH_SIZE;
+      try (PreparedStatement query = connection.prepareStatement(select)) {
+        if (after != null) {
+          query.setString(1, after);
+        }
+        try (ResultSet rows = query.executeQuery()) {
+          ResultSetMetaData columns = rows.getMetaData();
+          int count = columns.getColumnCount();
+          StringBuilder names = new StringBuilder();
+          StringBuilder values = new StringBuilder();
+          for (int i = 1; i <= count; i++) {
+            names.append(i == 1 ? "" : ", ").append(columns.getColumnLabel(i));
+            values.append(i == 1 ? "?" : ", ?");
+          }
+          String insert = "insert into " + to + " (" + names + ") values (" + values + ")";
+          int copied = 0;
+          try (PreparedStatement batch = connection.prepareStatement(insert)) {
+            while (rows.next()) {
+              for (int i = 1; i <= count; i++) {
+                String column = columns.getColumnLabel(i);
+                if (column.equalsIgnoreCase(idColumn)) {
+                  String id = rows.getString(i);
+                  batch.setBytes(i, id == null ? null : BinaryIDJavaType.encode(id));
+                } else {
+                  batch.setObject(i, rows.getObject(i), columns.getColumnType(i));
+                }
+                if (column.equalsIgnoreCase(key)) {
+                  after = rows.getString(i);
+                }
+              }
+              batch.addBatch();
+              copied++;
+            }
+            if (copied > 0) {
+              batch.executeBatch();
+            }
+          }
+          if (copied < BATCH_SIZE) {
+            return;
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import smarthome.domain.value_object.ReadingKind;
+import smarthome.domain.value_object.ReadingValue;
+
+/**
+ * Adds the typed reading columns to logs and fills them from the readings already stored. Each
+ * reading is classified by ReadingValue, as new logs are, so numeric readings move to
+ * integer_value or decimal_value and text readings keep reading_value. The rows are updated a
+ * batch at a time in log ID order.
+ */
+public class V6__Typed_log_readings extends BaseJavaMigration {
+
+  private static final int BATCH_SIZE = 1000;
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("alter table logs add column reading_kind varchar(255)");
+      statement.execute("alter table logs add column integer_value bigint");
+      statement.execute("alter table logs add column decimal_value double");
+    }
+    byte[] after = null;
+    int read;
+    do {
+      String select = "select logid, reading_value from logs"
+          + (after == null ? "" : " where logid > ?") + " order by logid limit " + BATCH_SIZE;
+      read = 0;
+      try (PreparedStatement query = connection.prepareStatement(select);
+          PreparedStatement update = connection.prepareStatement("update logs set"
+              + " reading_kind = ?, integer_value = ?, decimal_value = ?, reading_value = ?"
+              + " where logid = ?")) {
+        if (after != null) {
+          query.setBytes(1, after);
+        }
+        try (ResultSet rows = query.executeQuery()) {
+          while (rows.next()) {
+            after = rows.getBytes(1);
+            String text = rows.getString(2);
+            read++;
+            if (text != null) {
+              setReading(update, new ReadingValue(text));
+              update.setBytes(5, after);
+              update.addBatch();
+            }
+          }
+        }
+        update.executeBatch();
+      }
+    } while (read == BATCH_SIZE);
+  }
+
+  /**
+   * Method to set the columns of a reading the way LogDataModel stores it.
+   */
+  private static void setReading(PreparedStatement update, ReadingValue reading)
+      throws SQLException {
+    ReadingKind kind = reading.getKind();
+    update.setString(1, kind.name());
+    if (kind == ReadingKind.INTEGER) {
+      update.setLong(2, reading.getIntegerValue());
+    } else {
+      update.setNull(2, Types.BIGINT);
+    }
+    if (kind == ReadingKind.DECIMAL) {
+      update.setDouble(3, reading.getNumericValue());
+    } else {
+      update.setNull(3, Types.DOUBLE);
+    }
+    if (kind == ReadingKind.TEXT) {
+      update.setString(4, reading.getValue());
+    } else {
+      update.setNull(4, Types.VARCHAR);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import smarthome.domain.value_object.ReadingAggregate;
+import smarthome.domain.value_object.Resolution;
+import smarthome.persistence.data_model.LogRollupDataModel;
+
+/**
+ * Adds the minute, hour and day rollups of the numeric readings and builds them from the logs
+ * already stored. The logs are read a batch at a time in (timestamp, log ID) order, so each series
+ * only keeps its current bucket of every resolution open; a bucket is written once a later reading
+ * of its series falls outside it, and the remaining ones at the end.
+ */
+public class V7__Log_rollups extends BaseJavaMigration {
+
+  private static final int BATCH_SIZE = 1000;
+  private static final String INSERT = "insert into log_rollups (rollupid, deviceid,"
+      + " sensor_typeid, resolution, bucket_start, reading_count, min_value, max_value,"
+      + " sum_value, first_value, first_time, last_value, last_time, version)"
+      + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("create table log_rollups (first_value double not null,"
+          + " last_value double not null, max_value double not null, min_value double not null,"
+          + " sum_value double not null, bucket_start datetime(6), first_time datetime(6),"
+          + " last_time datetime(6), reading_count bigint not null, version bigint,"
+          + " deviceid varchar(255), resolution varchar(255), rollupid varchar(255) not null,"
+          + " sensor_typeid varchar(255), primary key (rollupid))");
+      statement.execute("create index idx_log_rollups_series on log_rollups"
+          + " (deviceid, sensor_typeid, resolution, bucket_start)");
+    }
+
+    Map<String, LogRollupDataModel> open = new HashMap<>();
+    Map<String, ReadingAggregate> folded = new HashMap<>();
+    LocalDateTime afterTime = null;
+    byte[] afterID = null;
+    int read;
+    do {
+      String select = "select logid, deviceid, description, timestamp, integer_value,"
+          + " decimal_value from logs where reading_kind in ('INTEGER', 'DECIMAL')"
+          + (afterTime == null ? ""
+          : " and (timestamp > ? or (timestamp = ? and logid > ?))")
+          + " order by timestamp, logid limit " + BATCH_SIZE;
+      read = 0;
+      try (PreparedStatement query = connection.prepareStatement(select);
+          PreparedStatement insert = connection.prepareStatement(INSERT)) {
+        if (afterTime != null) {
+          query.setObject(1, afterTime);
+          query.setObject(2, afterTime);
+          query.setBytes(3, afterID);
+        }
+        try (ResultSet rows = query.executeQuery()) {
+          while (rows.next()) {
+            afterID = rows.getBytes(1);
+            afterTime = rows.getObject(4, LocalDateTime.class);
+            read++;
+            String deviceID = rows.getString(2);
+            String sensorTypeID = rows.getString(3);
+            long integer = rows.getLong(5);
+            double value = rows.wasNull() ? rows.getDouble(6) : integer;
+            for (Resolution resolution : Resolution.values()) {
+              ReadingAggregate single =
+                  ReadingAggregate.of(resolution.bucketStart(afterTime), afterTime, value);
+              String series = deviceID + "|" + sensorTypeID + "|" + resolution;
+              ReadingAggregate previous = folded.get(series);
+              if (previous != null && previous.getBucketStart().equals(single.getBucketStart())) {
+                folded.put(series, previous.merge(single));
+                continue;
+              }
+              if (previous != null) {
+                addBucket(insert, open.get(series), previous);
+              }
+              folded.put(series, single);
+              open.put(series, new LogRollupDataModel(deviceID, sensorTypeID, resolution, single));
+            }
+          }
+        }
+        if (read < BATCH_SIZE) {
+          for (Map.Entry<String, LogRollupDataModel> bucket : open.entrySet()) {
+            addBucket(insert, bucket.getValue(), folded.get(bucket.getKey()));
+          }
+        }
+        insert.executeBatch();
+      }
+    } while (read == BATCH_SIZE);
+  }
+
+  /**
+   * Method to add a complete bucket to the insert batch.
+   */
+  private static void addBucket(PreparedStatement insert, LogRollupDataModel bucket,
+      ReadingAggregate aggregate) throws SQLException {
+    bucket.setAggregate(aggregate);
+    insert.setString(1, bucket.getRollupID());
+    insert.setString(2, bucket.getDeviceID());
+    insert.setString(3, bucket.getSensorTypeID());
+    insert.setString(4, bucket.getResolution().name());
+    insert.setObject(5, bucket.getBucketStart());
+    insert.setLong(6, bucket.getReadingCount());
+    insert.setDouble(7, bucket.getMinValue());
+    insert.setDouble(8, bucket.getMaxValue());
+    insert.setDouble(9, bucket.getSumValue());
+    insert.setDouble(10, bucket.getFirstValue());
+    insert.setObject(11, bucket.getFirstTime());
+    insert.setDouble(12, bucket.getLastValue());
+    insert.setObject(13, bucket.getLastTime());
+    insert.addBatch();
+  }
+}
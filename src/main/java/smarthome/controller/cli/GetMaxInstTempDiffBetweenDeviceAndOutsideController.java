@@ -41,7 +41,7 @@ public class GetMaxInstTempDiffBetweenDeviceAndOutsideController {
    * @param finalTime        is the final time.
    * @return the maximum instantaneous temperature difference.
    */
-  public int getMaxInstTempDiffBetweenDeviceAndOutside(String outsideDeviceIDStr,
+  public double getMaxInstTempDiffBetweenDeviceAndOutside(String outsideDeviceIDStr,
       String insideDeviceIDStr, LocalDateTime initialTime, LocalDateTime finalTime, int timeDelta) throws Exception{
     DatePeriod datePeriod = new DatePeriod(initialTime, finalTime);
     DeviceID insideDeviceID = new DeviceID(insideDeviceIDStr);
@@ -0,0 +1,120 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.grpc;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import smarthome.service.ILogService;
+import smarthome.utils.Validator;
+
+/**
+ * gRPC server of the application, enabled with the "grpc" profile. It listens on
+ * smarthome.grpc.port next to the HTTP server and serves LogIngestGrpcService.
+ */
+@Component
+@Profile("grpc")
+public class GrpcServer implements SmartLifecycle {
+
+  private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+  private final ILogService logService;
+  private final int port;
+  private final int batchSize;
+  private final Duration maxDelay;
+  private final int window;
+  private final int writerThreads;
+
+  private ExecutorService writer;
+  private ScheduledExecutorService timer;
+  private Server server;
+
+  /**
+   * GrpcServer constructor.
+   *
+   * @param logService    is the service that validates and saves the readings.
+   * @param port          is the port to listen on, or 0 for any free port.
+   * @param batchSize     is the maximum number of readings saved at once.
+   * @param maxDelay      is the longest a reading waits for its batch to fill.
+   * @param window        is the maximum number of readings of a stream not yet saved.
+   * @param writerThreads is the number of threads saving batches.
+   */
+  public GrpcServer(ILogService logService,
+      @Value("${smarthome.grpc.port:9090}") int port,
+      @Value("${smarthome.grpc.batch-size:500}") int batchSize,
+      @Value("${smarthome.grpc.max-delay:PT0.1S}") Duration maxDelay,
+      @Value("${smarthome.grpc.window:2000}") int window,
+      @Value("${smarthome.grpc.writer-threads:4}") int writerThreads) {
+    Validator.validateNotNull(logService, "Log Service");
+    this.logService = logService;
+    this.port = port;
+    this.batchSize = batchSize;
+    this.maxDelay = maxDelay;
+    this.window = window;
+    this.writerThreads = writerThreads;
+  }
+
+  @Override
+  public synchronized void start() {
+    writer = Executors.newFixedThreadPool(writerThreads);
+    timer = Executors.newSingleThreadScheduledExecutor();
+    LogIngestGrpcService service = new LogIngestGrpcService(logService, writer, timer, batchSize,
+        maxDelay, window);
+    try {
+      server = NettyServerBuilder.forPort(port).addService(service).build().start();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not start the gRPC server on port " + port, e);
+    }
+  }
+
+  /**
+   * Stops accepting streams, waits for the open ones to finish and for their batches to be saved.
+   */
+  @Override
+  public synchronized void stop() {
+    if (server == null) {
+      return;
+    }
+    server.shutdown();
+    try {
+      if (!server.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+        server.shutdownNow();
+      }
+      timer.shutdown();
+      writer.shutdown();
+      writer.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      server = null;
+    }
+  }
+
+  @Override
+  public synchronized boolean isRunning() {
+    return server != null;
+  }
+
+  /**
+   * @return the port the server listens on.
+   */
+  public synchronized int getPort() {
+    return server.getPort();
+  }
+}
@@ -0,0 +1,241 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.grpc;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.grpc.Ack;
+import smarthome.grpc.ItemError;
+import smarthome.grpc.LogIngestGrpc;
+import smarthome.grpc.Reading;
+import smarthome.service.ILogService;
+import smarthome.service.LogBatchEntry;
+import smarthome.service.LogBatchResult;
+import smarthome.utils.Validator;
+
+/**
+ * gRPC ingest of streamed readings. Each stream groups its readings into batches of up to
+ * batchSize, or whatever arrived within maxDelay, saves them with ILogService.addLogs on the
+ * writer executor, one batch at a time and in order, and answers each batch with an Ack.
+ * <p>
+ * Flow control follows the saves: a stream starts with a window of readings and is only granted
+ * more as its batches are saved, so a gateway that outpaces the database is held back by HTTP/2
+ * flow control instead of filling the server's memory.
+ */
+public class LogIngestGrpcService extends LogIngestGrpc.LogIngestImplBase {
+
+  private final ILogService logService;
+  private final Executor writer;
+  private final ScheduledExecutorService timer;
+  private final int batchSize;
+  private final long maxDelayNanos;
+  private final int window;
+
+  /**
+   * LogIngestGrpcService constructor.
+   *
+   * @param logService is the service that validates and saves the readings.
+   * @param writer     runs the saves.
+   * @param timer      flushes batches that did not fill within maxDelay.
+   * @param batchSize  is the maximum number of readings saved at once.
+   * @param maxDelay   is the longest a reading waits for its batch to fill.
+   * @param window     is the maximum number of readings of a stream received but not yet saved.
+   */
+  public LogIngestGrpcService(ILogService logService, Executor writer,
+      ScheduledExecutorService timer, int batchSize, Duration maxDelay, int window) {
+    Validator.validateNotNull(logService, "Log Service");
+    Validator.validateNotNull(writer, "Writer");
+    Validator.validateNotNull(timer, "Timer");
+    Validator.validateNotNull(maxDelay, "Maximum delay");
+    if (batchSize <= 0 || window < batchSize) {
+      throw new IllegalArgumentException(
+          "Batch size must be positive and the window at least one batch.");
+    }
+    this.logService = logService;
+    this.writer = writer;
+    this.timer = timer;
+    this.batchSize = batchSize;
+    this.maxDelayNanos = maxDelay.toNanos();
+    this.window = window;
+  }
+
+  @Override
+  public StreamObserver<Reading> streamReadings(StreamObserver<Ack> responseObserver) {
+    ServerCallStreamObserver<Ack> responses = (ServerCallStreamObserver<Ack>) responseObserver;
+    responses.disableAutoRequest();
+    ReadingStream stream = new ReadingStream(responses);
+    responses.request(window);
+    return stream;
+  }
+
+  /**
+   * Method to convert a streamed reading to the value objects of the service.
+   *
+   * @param reading is the streamed reading.
+   * @return the entry to add.
+   */
+  static LogBatchEntry toBatchEntry(Reading reading) {
+    String value = switch (reading.getValueCase()) {
+      case DECIMAL_VALUE -> String.valueOf(reading.getDecimalValue());
+      case INTEGER_VALUE -> String.valueOf(reading.getIntegerValue());
+      case TEXT_VALUE -> reading.getTextValue();
+      case VALUE_NOT_SET -> throw new IllegalArgumentException("Reading value is required");
+    };
+    long millis = reading.getTimestampMillis();
+    LocalDateTime timestamp = LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+        (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    return new LogBatchEntry(new DeviceID(reading.getDeviceId()),
+        new SensorID(reading.getSensorId()), timestamp, new ReadingValue(value),
+        new SensorTypeID(reading.getSensorTypeId()), new UnitID(reading.getUnitId()));
+  }
+
+  /**
+   * Method to save a batch of readings and build its Ack. A batch that cannot be saved, e.g.
+   * while the database is unavailable, is acknowledged with an error for every reading, so that
+   * the gateway can send them again.
+   *
+   * @param readings are the readings of the batch, in the order received.
+   * @return the Ack of the batch.
+   */
+  Ack write(List<Reading> readings) {
+    String[] errors = new String[readings.size()];
+    List<LogBatchEntry> entries = new ArrayList<>(readings.size());
+    List<Integer> entryIndexes = new ArrayList<>(readings.size());
+    for (int i = 0; i < readings.size(); i++) {
+      try {
+        entries.add(toBatchEntry(readings.get(i)));
+        entryIndexes.add(i);
+      } catch (IllegalArgumentException e) {
+        errors[i] = e.getMessage();
+      }
+    }
+
+    int saved = 0;
+    if (!entries.isEmpty()) {
+      try {
+        List<LogBatchResult> results = logService.addLogs(entries);
+        for (int j = 0; j < results.size(); j++) {
+          if (results.get(j).isSaved()) {
+            saved++;
+          } else {
+            errors[entryIndexes.get(j)] = results.get(j).error();
+          }
+        }
+      } catch (RuntimeException e) {
+        for (int index : entryIndexes) {
+          errors[index] = "Could not be saved: " + e.getMessage();
+        }
+      }
+    }
+
+    Ack.Builder ack = Ack.newBuilder()
+        .setUpToSequence(readings.get(readings.size() - 1).getSequence())
+        .setSaved(saved);
+    for (int i = 0; i < readings.size(); i++) {
+      if (errors[i] != null) {
+        ack.addErrors(ItemError.newBuilder()
+            .setSequence(readings.get(i).getSequence())
+            .setError(errors[i]));
+      }
+    }
+    return ack.build();
+  }
+
+  /**
+   * The readings of one stream. gRPC delivers them one at a time, while the flush timer and the
+   * writer run on other threads, so the batch is guarded by the stream's lock.
+   */
+  private final class ReadingStream implements StreamObserver<Reading> {
+
+    private final ServerCallStreamObserver<Ack> responses;
+    private List<Reading> batch = new ArrayList<>();
+    private ScheduledFuture<?> flushTimer;
+    private CompletableFuture<Void> saves = CompletableFuture.completedFuture(null);
+
+    private ReadingStream(ServerCallStreamObserver<Ack> responses) {
+      this.responses = responses;
+    }
+
+    @Override
+    public synchronized void onNext(Reading reading) {
+      batch.add(reading);
+      if (batch.size() >= batchSize) {
+        flush();
+      } else if (batch.size() == 1) {
+        flushTimer = timer.schedule(this::flushOnTimer, maxDelayNanos, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    private synchronized void flushOnTimer() {
+      if (!batch.isEmpty()) {
+        flush();
+      }
+    }
+
+    /**
+     * Method to queue the current batch for saving, after the batches queued before it.
+     */
+    private void flush() {
+      if (flushTimer != null) {
+        flushTimer.cancel(false);
+        flushTimer = null;
+      }
+      List<Reading> readings = batch;
+      batch = new ArrayList<>();
+      saves = saves.thenRunAsync(() -> acknowledge(readings), writer);
+    }
+
+    private void acknowledge(List<Reading> readings) {
+      Ack ack = write(readings);
+      synchronized (responses) {
+        if (!responses.isCancelled()) {
+          responses.onNext(ack);
+          responses.request(readings.size());
+        }
+      }
+    }
+
+    @Override
+    public synchronized void onCompleted() {
+      if (!batch.isEmpty()) {
+        flush();
+      }
+      saves.whenComplete((ignored, error) -> {
+        synchronized (responses) {
+          if (!responses.isCancelled()) {
+            responses.onCompleted();
+          }
+        }
+      });
+    }
+
+    @Override
+    public synchronized void onError(Throwable t) {
+      if (flushTimer != null) {
+        flushTimer.cancel(false);
+      }
+      batch = new ArrayList<>();
+    }
+  }
+}
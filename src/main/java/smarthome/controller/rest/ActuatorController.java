@@ -29,7 +29,6 @@ import smarthome.ddd.IAssembler;
 import smarthome.domain.actuator.IActuator;
 import smarthome.domain.actuator.blind_roller_actuator.BlindRollerValue;
 import smarthome.utils.exceptions.NoLogRecordsFoundException;
-import smarthome.domain.log.Log;
 import smarthome.domain.value_object.ActuatorID;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.SensorTypeID;
@@ -133,6 +132,54 @@ public class ActuatorController {
     return ResponseEntity.ok(collectionModel);
   }
 
+  /**
+   * Method to get a page of Actuators, in ID order.
+   *
+   * @param limit is the maximum number of Actuators in the page.
+   * @param after is the ID of the last Actuator of the previous page, if any.
+   * @return a collection of Actuator data transfer objects.
+   */
+  @GetMapping(params = "limit")
+  public ResponseEntity<CollectionModel<EntityModel<ActuatorDTO>>> getActuatorsPage(
+      @RequestParam("limit") int limit,
+      @RequestParam(value = "after", required = false) String after) {
+    ActuatorID cursor = after == null ? null : new ActuatorID(after);
+    List<IActuator> fetched =
+        actuatorService.getActuatorsPage(cursor, KeysetPages.lookAhead(limit));
+    List<ActuatorDTO> actuatorDTOs = actuatorAssembler.domainToDTO(KeysetPages.page(fetched, limit));
+
+    List<EntityModel<ActuatorDTO>> resources =
+        actuatorDTOs.stream()
+            .map(
+                actuatorDTO -> {
+                  WebMvcLinkBuilder linkToActuator =
+                      WebMvcLinkBuilder.linkTo(
+                          WebMvcLinkBuilder.methodOn(ActuatorController.class)
+                              .getActuatorByID(actuatorDTO.id));
+
+                  return EntityModel.of(actuatorDTO, linkToActuator.withRel("get-actuator-by-id"));
+                })
+            .collect(Collectors.toList());
+
+    WebMvcLinkBuilder linkToSelf =
+        WebMvcLinkBuilder.linkTo(
+            WebMvcLinkBuilder.methodOn(ActuatorController.class).getActuatorsPage(limit, after));
+
+    CollectionModel<EntityModel<ActuatorDTO>> collectionModel =
+        CollectionModel.of(resources, linkToSelf.withSelfRel());
+
+    // Link to the next page, starting after the last Actuator of this one
+    if (KeysetPages.hasNext(fetched, limit)) {
+      String last = actuatorDTOs.get(actuatorDTOs.size() - 1).id;
+      WebMvcLinkBuilder linkToNext =
+          WebMvcLinkBuilder.linkTo(
+              WebMvcLinkBuilder.methodOn(ActuatorController.class).getActuatorsPage(limit, last));
+      collectionModel.add(linkToNext.withRel("next"));
+    }
+
+    return ResponseEntity.ok(collectionModel);
+  }
+
   /**
    * Method to get an Actuator by its ID.
    *
@@ -226,11 +273,7 @@ public class ActuatorController {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
     }
 
-    List<Log> logRecords =
-        logService.getDeviceReadingsByDeviceIDAndSensorTypeID(deviceID, sensorTypeID);
-    int index = logRecords.size();
-
-    if (index == 0) {
+    if (!logService.hasDeviceReadings(deviceID, sensorTypeID)) {
       throw new NoLogRecordsFoundException(
           "No log records found for the specified device and sensor type.");
     }
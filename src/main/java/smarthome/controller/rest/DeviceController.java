@@ -222,6 +222,42 @@ public class DeviceController {
     return ResponseEntity.ok(resource);
   }
 
+  /**
+   * Handles HTTP GET requests for retrieving a page of devices, in ID order.
+   *
+   * @param limit The maximum number of devices in the page.
+   * @param after The ID of the last device of the previous page, if any.
+   */
+  @GetMapping(params = "limit")
+  public ResponseEntity<CollectionModel<DeviceDTO>> listDevicesPage(
+      @RequestParam("limit") int limit,
+      @RequestParam(value = "after", required = false) String after) {
+    DeviceID cursor = after == null ? null : new DeviceID(after);
+    List<Device> fetched = deviceService.getDevicesPage(cursor, KeysetPages.lookAhead(limit));
+
+    List<DeviceDTO> deviceDTOs = deviceAssembler.domainToDTO(KeysetPages.page(fetched, limit));
+
+    for (DeviceDTO deviceDTO : deviceDTOs) {
+      Link getDeviceLink = linkTo(methodOn(DeviceController.class).getDevice(deviceDTO.deviceID)).withRel("get-device")
+          .withTitle("Get Device")
+          .withType("GET");
+      deviceDTO.add(getDeviceLink);
+    }
+
+    Link selfLink = linkTo(methodOn(DeviceController.class).listDevicesPage(limit, after)).withRel("self")
+        .withTitle("Get Devices Page")
+        .withType("GET");
+
+    CollectionModel<DeviceDTO> resource = CollectionModel.of(deviceDTOs, selfLink);
+    if (KeysetPages.hasNext(fetched, limit)) {
+      String last = deviceDTOs.get(deviceDTOs.size() - 1).deviceID;
+      resource.add(linkTo(methodOn(DeviceController.class).listDevicesPage(limit, last)).withRel("next")
+          .withTitle("Get Next Devices Page")
+          .withType("GET"));
+    }
+    return ResponseEntity.ok(resource);
+  }
+
   /** Handles HTTP GET requests for deactivating a device. */
   @PutMapping("/deactivate/{id}")
   public ResponseEntity<EntityModel<DeviceDTO>> deactivateDevice(@PathVariable String id) {
@@ -0,0 +1,57 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.controller.rest;
+
+import java.util.List;
+
+/**
+ * Helpers shared by the paged listing endpoints. Each page is fetched with one element more than
+ * requested; that extra element only tells whether a "next" link is needed.
+ */
+final class KeysetPages {
+
+  static final int MAX_LIMIT = 1000;
+
+  private KeysetPages() {
+  }
+
+  /**
+   * Validates the requested page size and returns the number of elements to fetch.
+   *
+   * @param limit is the requested page size.
+   * @return the page size plus one.
+   */
+  static int lookAhead(int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+    }
+    return limit + 1;
+  }
+
+  /**
+   * Checks whether the fetched elements go beyond the page.
+   *
+   * @param fetched are the elements fetched with lookAhead.
+   * @param limit   is the requested page size.
+   * @return true if there is a next page.
+   */
+  static boolean hasNext(List<?> fetched, int limit) {
+    return fetched.size() > limit;
+  }
+
+  /**
+   * Drops the look-ahead element.
+   *
+   * @param fetched are the elements fetched with lookAhead.
+   * @param limit   is the requested page size.
+   * @return the elements of the page.
+   */
+  static <T> List<T> page(List<T> fetched, int limit) {
+    return hasNext(fetched, limit) ? fetched.subList(0, limit) : fetched;
+  }
+}
@@ -8,17 +8,36 @@
 
 package smarthome.controller.rest;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import smarthome.ddd.IAssembler;
 import smarthome.domain.device.Device;
 import smarthome.utils.exceptions.NoLogRecordsFoundException;
@@ -26,11 +45,25 @@ import smarthome.domain.log.Log;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.DeviceTypeID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingAggregate;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.Resolution;
+import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.domain.value_object.TimeDelta;
+import smarthome.domain.value_object.UnitID;
 import smarthome.service.IDeviceService;
 import smarthome.service.ILogService;
+import smarthome.service.LogBatchEntry;
+import smarthome.service.LogBatchResult;
+import smarthome.utils.Validator;
+import smarthome.utils.dto.LogBatchResultDTO;
 import smarthome.utils.dto.LogDTO;
+import smarthome.utils.dto.PowerPeakDTO;
+import smarthome.utils.dto.ReadingAggregateDTO;
+import smarthome.utils.entry_dto.LogReadingEntryDTO;
 
 @RestController
 @RequestMapping("/logs")
@@ -38,17 +71,21 @@ public class LogController {
 
   private final ILogService logService;
   private static final Integer PEAK_POWER_CONSUMPTION_TIME_DELTA = 15;
+  private static final String NDJSON = "application/x-ndjson";
+  private static final int NDJSON_FLUSH_ROWS = 1000;
   private final IAssembler<Log, LogDTO> logAssembler;
   private final IDeviceService deviceService;
+  private final ObjectWriter logWriter;
   /**
    * Constructor
    */
   @Autowired
   public LogController(ILogService logService, IAssembler<Log, LogDTO> logAssembler,
-      IDeviceService deviceService) {
+      IDeviceService deviceService, ObjectMapper objectMapper) {
     this.logService = logService;
     this.logAssembler = logAssembler;
     this.deviceService = deviceService;
+    this.logWriter = objectMapper.writerFor(LogDTO.class);
   }
 
   /**
@@ -75,6 +112,204 @@ public class LogController {
     }
   }
 
+  /**
+   * Method to get a page of Device Log (Readings) by Time Period, in (timestamp, log ID) order.
+   * The "next" link carries an opaque cursor holding the position of the last log of the page.
+   *
+   * @param deviceID is the device id.
+   * @param timeStart is the start time.
+   * @param timeEnd is the end time.
+   * @param limit is the maximum number of logs in the page.
+   * @param after is the cursor of the previous page, if any.
+   */
+  @GetMapping(params = "limit")
+  public ResponseEntity<CollectionModel<LogDTO>> getDeviceReadingsPage(
+      @RequestParam String deviceID,
+      @RequestParam String timeStart,
+      @RequestParam String timeEnd,
+      @RequestParam int limit,
+      @RequestParam(required = false) String after) {
+    try {
+      LocalDateTime start = LocalDateTime.parse(timeStart, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+      LocalDateTime end = LocalDateTime.parse(timeEnd, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+      DatePeriod period = new DatePeriod(start, end);
+      DeviceID deviceIDObj = new DeviceID(deviceID);
+      LogCursor cursor = after == null ? null : decodeCursor(after);
+
+      List<Log> fetched = logService.getDeviceReadingsPage(deviceIDObj, period, cursor,
+          KeysetPages.lookAhead(limit));
+      List<Log> logs = KeysetPages.page(fetched, limit);
+
+      Link selfLink = linkTo(methodOn(LogController.class)
+          .getDeviceReadingsPage(deviceID, timeStart, timeEnd, limit, after)).withRel("self")
+          .withTitle("Get Device Readings Page")
+          .withType("GET");
+      CollectionModel<LogDTO> resource = CollectionModel.of(logAssembler.domainToDTO(logs),
+          selfLink);
+      if (KeysetPages.hasNext(fetched, limit)) {
+        String next = encodeCursor(LogCursor.of(logs.get(logs.size() - 1)));
+        resource.add(linkTo(methodOn(LogController.class)
+            .getDeviceReadingsPage(deviceID, timeStart, timeEnd, limit, next)).withRel("next")
+            .withTitle("Get Next Device Readings Page")
+            .withType("GET"));
+      }
+      return ResponseEntity.ok(resource);
+    } catch (DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  /**
+   * Method to write a log cursor as a URL-safe token.
+   */
+  private static String encodeCursor(LogCursor cursor) {
+    String plain = cursor.getTimestamp() + "|" + cursor.getLogID().getID();
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Method to read a token written by encodeCursor.
+   */
+  private static LogCursor decodeCursor(String token) {
+    String plain = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    int separator = plain.indexOf('|');
+    if (separator < 0) {
+      throw new IllegalArgumentException("Invalid cursor");
+    }
+    return new LogCursor(LocalDateTime.parse(plain.substring(0, separator)),
+        new LogID(plain.substring(separator + 1)));
+  }
+
+  /**
+   * Method to stream Device Log (Readings) by Time Period as newline-delimited JSON. Each log is
+   * converted and written as it is read, so the first line reaches the client before the whole
+   * period has been loaded.
+   *
+   * @param deviceID is the device id.
+   * @param timeStart is the start time.
+   * @param timeEnd is the end time.
+   */
+  @GetMapping(produces = NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamDeviceReadingsByTimePeriod(
+      @RequestParam String deviceID,
+      @RequestParam String timeStart,
+      @RequestParam String timeEnd) {
+    DatePeriod period;
+    try {
+      LocalDateTime start = LocalDateTime.parse(timeStart, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+      LocalDateTime end = LocalDateTime.parse(timeEnd, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+      period = new DatePeriod(start, end);
+    } catch (DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+    DeviceID deviceIDObj = new DeviceID(deviceID);
+
+    StreamingResponseBody body = outputStream -> {
+      OutputStream out = new BufferedOutputStream(outputStream);
+      int[] rows = {0};
+      logService.streamDeviceReadingsByTimePeriod(deviceIDObj, period, log -> {
+        try {
+          out.write(logWriter.writeValueAsBytes(logAssembler.domainToDTO(log)));
+          out.write('\n');
+          if (++rows[0] % NDJSON_FLUSH_ROWS == 0) {
+            out.flush();
+          }
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      out.flush();
+    };
+    return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+  }
+
+  /**
+   * Method to add a batch of readings. Readings that cannot be parsed or that reference unknown
+   * entities are reported in the result and do not prevent the others from being saved.
+   *
+   * @param readings are the readings to add.
+   * @return one result per reading, in the order received.
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<List<LogBatchResultDTO>> addLogs(
+      @RequestBody List<LogReadingEntryDTO> readings) {
+    LogBatchResultDTO[] results = new LogBatchResultDTO[readings.size()];
+    List<LogBatchEntry> entries = new ArrayList<>(readings.size());
+    List<Integer> entryIndexes = new ArrayList<>(readings.size());
+
+    for (int i = 0; i < readings.size(); i++) {
+      try {
+        entries.add(toBatchEntry(readings.get(i)));
+        entryIndexes.add(i);
+      } catch (IllegalArgumentException | DateTimeParseException e) {
+        results[i] = new LogBatchResultDTO(i, null, e.getMessage());
+      }
+    }
+
+    List<LogBatchResult> saved = logService.addLogs(entries);
+    for (int j = 0; j < saved.size(); j++) {
+      int index = entryIndexes.get(j);
+      LogBatchResult result = saved.get(j);
+      results[index] = result.isSaved()
+          ? new LogBatchResultDTO(index, result.log().getID().getID(), null)
+          : new LogBatchResultDTO(index, null, result.error());
+    }
+    return ResponseEntity.ok(Arrays.asList(results));
+  }
+
+  /**
+   * Method to convert a batch reading to the value objects of the service.
+   */
+  static LogBatchEntry toBatchEntry(LogReadingEntryDTO reading) {
+    Validator.validateNotNull(reading, "Reading");
+    Validator.validateNotNull(reading.timestamp, "Timestamp");
+    LocalDateTime timestamp = LocalDateTime.parse(reading.timestamp,
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    return new LogBatchEntry(new DeviceID(reading.deviceID), new SensorID(reading.sensorID),
+        timestamp, new ReadingValue(reading.reading), new SensorTypeID(reading.sensorTypeID),
+        new UnitID(reading.unitID));
+  }
+
+  /**
+   * Method to get the readings of a device and sensor type aggregated per time bucket.
+   *
+   * @param deviceID     is the device id.
+   * @param sensorTypeID is the sensor type id.
+   * @param resolution   is the bucket size: minute, hour or day.
+   * @param timeStart    is the start time (inclusive).
+   * @param timeEnd      is the end time (exclusive).
+   * @return one aggregate per bucket that has readings.
+   */
+  @GetMapping("/aggregate")
+  public ResponseEntity<List<ReadingAggregateDTO>> getAggregatedReadings(
+      @RequestParam String deviceID,
+      @RequestParam String sensorTypeID,
+      @RequestParam String resolution,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime timeStart,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime timeEnd) {
+    List<ReadingAggregate> aggregates = logService.getAggregatedReadings(new DeviceID(deviceID),
+        new SensorTypeID(sensorTypeID), Resolution.of(resolution), timeStart, timeEnd);
+
+    List<ReadingAggregateDTO> dtos = new ArrayList<>(aggregates.size());
+    for (ReadingAggregate aggregate : aggregates) {
+      dtos.add(new ReadingAggregateDTO(aggregate.getBucketStart().toString(),
+          aggregate.getCount(), aggregate.getMin(), aggregate.getMax(), aggregate.getSum(),
+          aggregate.getAverage(), aggregate.getFirst(), aggregate.getLast()));
+    }
+    return ResponseEntity.ok(dtos);
+  }
+
+  /**
+   * Method to rebuild the aggregation rollups from the stored logs.
+   *
+   * @return the number of logs read.
+   */
+  @PostMapping("/aggregate/backfill")
+  public ResponseEntity<Integer> backfillRollups() {
+    return ResponseEntity.ok(logService.backfillRollups());
+  }
+
   /**
    * Get the maximum instantaneous temperature difference between a device and the outside.
    *
@@ -85,7 +320,7 @@ public class LogController {
    * @return the maximum instantaneous temperature difference.
    */
   @GetMapping("/temperature-difference")
-  public ResponseEntity<Integer> getMaxInstTempDiffBetweenDeviceAndOutside(
+  public ResponseEntity<Double> getMaxInstTempDiffBetweenDeviceAndOutside(
       @RequestParam String outsideDeviceIDStr,
       @RequestParam String insideDeviceIDStr,
       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime initialTime,
@@ -103,36 +338,42 @@ public class LogController {
         outsideDeviceID, sensorTypeID, datePeriod);
     TimeDelta timeDeltaObj = new TimeDelta(timeDelta);
 
-    int maxDiff = logService.getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(insideReadings, outsideReadings,
+    double maxDiff = logService.getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(insideReadings, outsideReadings,
         timeDeltaObj);
     return ResponseEntity.ok(maxDiff);
   }
 
+  /**
+   * Method to get the highest power drawn at once by the power meters and power sources of the
+   * house, and when it was first reached.
+   *
+   * @param initialTime is the start of the period.
+   * @param finalTime   is the end of the period.
+   * @param timeDelta   is how long, in minutes, a reading stays current; 15 when omitted.
+   * @return the peak power and its timestamp, or 0 and no timestamp when there are no readings.
+   */
   @GetMapping("/peak-power-consumption")
-  public ResponseEntity<Integer> getMaxPowerConsumption(
+  public ResponseEntity<PowerPeakDTO> getMaxPowerConsumption(
       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime initialTime,
-      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime finalTime) {
-    TimeDelta timeDeltaInMinutes = new TimeDelta(PEAK_POWER_CONSUMPTION_TIME_DELTA);
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime finalTime,
+      @RequestParam(required = false) Integer timeDelta) {
+    TimeDelta timeDeltaInMinutes = new TimeDelta(
+        timeDelta == null ? PEAK_POWER_CONSUMPTION_TIME_DELTA : timeDelta);
     DatePeriod datePeriod = new DatePeriod(initialTime, finalTime);
     DeviceTypeID powerMeterDevices = new DeviceTypeID("PowerMeter");
     DeviceTypeID powerSourceDevices = new DeviceTypeID("PowerSource");
     SensorTypeID sensorTypeID = new SensorTypeID("InstantPowerConsumption");
 
-    List<Device> powerMeterDevicesList = deviceService.getDevicesByDeviceTypeID(powerMeterDevices);
-    List<Device> powerSourceDevicesList = deviceService.getDevicesByDeviceTypeID(
-        powerSourceDevices);
-
-    List<Log> powerMeterReadings = logService.getReadingsInTimePeriodByListOfDevicesAndSensorType(
-        powerMeterDevicesList, datePeriod,
-        sensorTypeID);
-    List<Log> powerSourceReadings = logService.getReadingsInTimePeriodByListOfDevicesAndSensorType(
-        powerSourceDevicesList, datePeriod,
-        sensorTypeID);
+    List<Device> powerDevices = new ArrayList<>(
+        deviceService.getDevicesByDeviceTypeID(powerMeterDevices));
+    powerDevices.addAll(deviceService.getDevicesByDeviceTypeID(powerSourceDevices));
 
-    Integer maxPowerConsumption = logService.getPeakPowerConsumption(powerMeterReadings,
-        powerSourceReadings, timeDeltaInMinutes);
+    PowerPeakDTO peak = logService.getHousePeakPowerConsumption(powerDevices, sensorTypeID,
+            datePeriod, timeDeltaInMinutes)
+        .map(found -> new PowerPeakDTO(found.getValue(), found.getTimestamp().toString()))
+        .orElse(new PowerPeakDTO(0, null));
 
-    return ResponseEntity.ok(maxPowerConsumption);
+    return ResponseEntity.ok(peak);
   }
 
   /**
@@ -145,16 +386,10 @@ public class LogController {
       @RequestParam String deviceID) {
     DeviceID deviceIDObj = new DeviceID(deviceID);
     SensorTypeID sensorTypeID = new SensorTypeID("PercentagePosition");
-    List<Log> logRecords = logService.getDeviceReadingsByDeviceIDAndSensorTypeID(deviceIDObj,
-        sensorTypeID);
-    int index = logRecords.size();
-
-    if (index == 0) {
-      throw new NoLogRecordsFoundException(
-          "No log records found for the specified device and sensor type.");
-    }
-    String value = logRecords.get(index - 1).getReadingValue().getValue();
-    int currentValueInt = Integer.parseInt(value);
+    Log latest = logService.getLatestDeviceReading(deviceIDObj, sensorTypeID)
+        .orElseThrow(() -> new NoLogRecordsFoundException(
+            "No log records found for the specified device and sensor type."));
+    int currentValueInt = (int) latest.getReadingValue().getNumericValue();
     return ResponseEntity.ok(currentValueInt);
   }
 }
\ No newline at end of file
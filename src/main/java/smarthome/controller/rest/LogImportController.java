@@ -0,0 +1,78 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.rest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import smarthome.service.ILogImportService;
+import smarthome.service.LogImportProgress;
+import smarthome.utils.Validator;
+import smarthome.utils.dto.LogImportProgressDTO;
+import smarthome.utils.dto.LogImportRejectDTO;
+
+@RestController
+@Profile("import")
+@RequestMapping("/logs/import")
+public class LogImportController {
+
+  private final ILogImportService logImportService;
+
+  /**
+   * Constructor for LogImportController.
+   *
+   * @param logImportService is the CSV log import service.
+   */
+  @Autowired
+  public LogImportController(ILogImportService logImportService) {
+    Validator.validateNotNull(logImportService, "Log Import Service");
+    this.logImportService = logImportService;
+  }
+
+  /**
+   * Method to start importing a CSV file of readings that is on the server. Answers 202 with the
+   * progress, whose importID is then polled.
+   *
+   * @param path is the path of the file, relative to the import directory of the server.
+   * @return the progress of the import just started.
+   */
+  @PostMapping
+  public ResponseEntity<LogImportProgressDTO> startImport(@RequestParam String path) {
+    LogImportProgress progress = logImportService.startImport(path);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(toDTO(progress));
+  }
+
+  /**
+   * Method to get the progress of an import.
+   *
+   * @param importID identifies the import.
+   * @return the rows read, saved and rejected so far, with the first rejected rows.
+   */
+  @GetMapping("/{importID}")
+  public ResponseEntity<LogImportProgressDTO> getProgress(@PathVariable String importID) {
+    return ResponseEntity.ok(toDTO(logImportService.getProgress(importID)));
+  }
+
+  private static LogImportProgressDTO toDTO(LogImportProgress progress) {
+    return new LogImportProgressDTO(progress.importID(), progress.path(),
+        progress.state().name(), progress.bytesRead(), progress.totalBytes(), progress.rowsRead(),
+        progress.saved(), progress.rejected(), progress.elapsedMillis(),
+        progress.rejects().stream()
+            .map(reject -> new LogImportRejectDTO(reject.rowNumber(), reject.error()))
+            .toList(),
+        progress.failure());
+  }
+}
@@ -0,0 +1,89 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.rest;
+
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import smarthome.service.ILogIngestService;
+import smarthome.service.LogBatchEntry;
+import smarthome.service.LogIngestMetrics;
+import smarthome.utils.Validator;
+import smarthome.utils.dto.LogBatchResultDTO;
+import smarthome.utils.dto.LogIngestMetricsDTO;
+import smarthome.utils.dto.LogIngestResultDTO;
+import smarthome.utils.entry_dto.LogReadingEntryDTO;
+
+@RestController
+@Profile("write-behind")
+@RequestMapping("/logs/ingest")
+public class LogIngestController {
+
+  private final ILogIngestService logIngestService;
+
+  /**
+   * Constructor for LogIngestController.
+   *
+   * @param logIngestService is the write-behind ingest service.
+   */
+  @Autowired
+  public LogIngestController(ILogIngestService logIngestService) {
+    Validator.validateNotNull(logIngestService, "Log Ingest Service");
+    this.logIngestService = logIngestService;
+  }
+
+  /**
+   * Method to queue a batch of readings. Readings that cannot be parsed are reported in the result;
+   * the others are acknowledged once queued and saved later, so references to unknown entities
+   * only show up in the invalid count of the metrics. Answers 429 when the queue is full.
+   *
+   * @param readings are the readings to add.
+   * @return the number of readings queued and the readings rejected.
+   */
+  @PostMapping
+  public ResponseEntity<LogIngestResultDTO> ingest(
+      @RequestBody List<LogReadingEntryDTO> readings) {
+    List<LogBatchEntry> entries = new ArrayList<>(readings.size());
+    List<LogBatchResultDTO> rejected = new ArrayList<>();
+
+    for (int i = 0; i < readings.size(); i++) {
+      try {
+        entries.add(LogController.toBatchEntry(readings.get(i)));
+      } catch (IllegalArgumentException | DateTimeParseException e) {
+        rejected.add(new LogBatchResultDTO(i, null, e.getMessage()));
+      }
+    }
+
+    int accepted = logIngestService.submit(entries);
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(new LogIngestResultDTO(accepted, rejected));
+  }
+
+  /**
+   * Method to get the queue depth, lag and counters of the ingest.
+   *
+   * @return the ingest metrics.
+   */
+  @GetMapping("/metrics")
+  public ResponseEntity<LogIngestMetricsDTO> getMetrics() {
+    LogIngestMetrics metrics = logIngestService.getMetrics();
+    return ResponseEntity.ok(new LogIngestMetricsDTO(metrics.depth(), metrics.capacity(),
+        metrics.accepted(), metrics.written(), metrics.invalid(), metrics.failed(),
+        metrics.dropped(), metrics.rejected(), metrics.lagMillis()));
+  }
+}
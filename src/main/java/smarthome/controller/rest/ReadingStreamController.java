@@ -0,0 +1,141 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.rest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import smarthome.ddd.IAssembler;
+import smarthome.domain.device.Device;
+import smarthome.domain.log.Log;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.RoomID;
+import smarthome.service.IDeviceService;
+import smarthome.service.ILiveReadingListener;
+import smarthome.service.LiveReadingHub;
+import smarthome.utils.Validator;
+import smarthome.utils.dto.LogDTO;
+
+@RestController
+@RequestMapping("/stream/readings")
+public class ReadingStreamController {
+
+  static final String READINGS_EVENT = "readings";
+  static final String EVICTED_EVENT = "evicted";
+
+  private final LiveReadingHub liveReadingHub;
+  private final IDeviceService deviceService;
+  private final IAssembler<Log, LogDTO> logAssembler;
+  private final long timeoutMillis;
+
+  /**
+   * Constructor for ReadingStreamController.
+   *
+   * @param liveReadingHub is the hub the new readings are published to.
+   * @param deviceService  resolves the devices of a room.
+   * @param logAssembler   converts the readings to DTOs.
+   * @param timeout        is how long a stream stays open before the client has to reconnect.
+   */
+  @Autowired
+  public ReadingStreamController(LiveReadingHub liveReadingHub, IDeviceService deviceService,
+      IAssembler<Log, LogDTO> logAssembler,
+      @Value("${smarthome.stream.timeout:PT30M}") Duration timeout) {
+    Validator.validateNotNull(liveReadingHub, "Live Reading Hub");
+    Validator.validateNotNull(deviceService, "Device Service");
+    Validator.validateNotNull(logAssembler, "Log Assembler");
+    this.liveReadingHub = liveReadingHub;
+    this.deviceService = deviceService;
+    this.logAssembler = logAssembler;
+    this.timeoutMillis = timeout.toMillis();
+  }
+
+  /**
+   * Method to stream the new readings of a device, of the devices of a room or of the whole house
+   * as Server-Sent Events. Exactly one of deviceID, roomID and house is given. Each event named
+   * "readings" carries a JSON array of the readings saved since the last event; a client that falls
+   * behind receives an "evicted" event and the stream is closed, and it reconnects and reloads the
+   * range it missed through GET /logs.
+   *
+   * @param deviceID is the device whose readings are streamed.
+   * @param roomID   is the room whose devices' readings are streamed; the devices are those of the
+   *                 room when the stream is opened.
+   * @param house    streams every reading when present.
+   * @return the event stream.
+   */
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamReadings(@RequestParam(required = false) String deviceID,
+      @RequestParam(required = false) String roomID,
+      @RequestParam(required = false) String house) {
+    Predicate<Log> filter = filter(deviceID, roomID, house);
+    SseEmitter emitter = new SseEmitter(timeoutMillis);
+    LiveReadingHub.Subscription subscription =
+        liveReadingHub.subscribe(filter, new EmitterListener(emitter));
+    emitter.onCompletion(subscription::cancel);
+    emitter.onTimeout(subscription::cancel);
+    emitter.onError(error -> subscription.cancel());
+    return emitter;
+  }
+
+  private Predicate<Log> filter(String deviceID, String roomID, String house) {
+    int given = (deviceID != null ? 1 : 0) + (roomID != null ? 1 : 0) + (house != null ? 1 : 0);
+    if (given != 1) {
+      throw new IllegalArgumentException("Exactly one of deviceID, roomID or house is required.");
+    }
+    if (deviceID != null) {
+      DeviceID device = new DeviceID(deviceID);
+      return log -> device.equals(log.getDeviceID());
+    }
+    if (roomID != null) {
+      List<Device> devices = deviceService.getDevicesByRoomId(new RoomID(roomID));
+      Set<DeviceID> deviceIDs = devices.stream().map(Device::getID).collect(Collectors.toSet());
+      return log -> deviceIDs.contains(log.getDeviceID());
+    }
+    return log -> true;
+  }
+
+  /**
+   * Sends the readings of a subscription to its emitter.
+   */
+  private final class EmitterListener implements ILiveReadingListener {
+
+    private final SseEmitter emitter;
+
+    private EmitterListener(SseEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    @Override
+    public void onReadings(List<Log> readings) throws IOException {
+      emitter.send(SseEmitter.event()
+          .name(READINGS_EVENT)
+          .data(logAssembler.domainToDTO(readings), MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void onEvicted() {
+      try {
+        emitter.send(SseEmitter.event().name(EVICTED_EVENT).data(""));
+        emitter.complete();
+      } catch (IOException e) {
+        emitter.completeWithError(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.rest;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import smarthome.persistence.cache.CachingRepository;
+import smarthome.persistence.cache.ExistenceCacheStats;
+import smarthome.utils.Validator;
+import smarthome.utils.dto.ReferenceCacheStatsDTO;
+
+@RestController
+@Profile("reference-cache")
+@RequestMapping("/reference-cache")
+public class ReferenceCacheController {
+
+  private final List<CachingRepository<?, ?, ?>> repositories;
+
+  /**
+   * Constructor for ReferenceCacheController.
+   *
+   * @param repositories are the repositories with cached existence checks.
+   */
+  @Autowired
+  public ReferenceCacheController(List<CachingRepository<?, ?, ?>> repositories) {
+    Validator.validateNotNull(repositories, "Caching repositories");
+    this.repositories = repositories;
+  }
+
+  /**
+   * Method to get the hit and miss counters of the existence cache of each repository.
+   *
+   * @return one entry per repository.
+   */
+  @GetMapping
+  public ResponseEntity<List<ReferenceCacheStatsDTO>> getStats() {
+    List<ReferenceCacheStatsDTO> stats = repositories.stream()
+        .map(CachingRepository::getStats)
+        .map(ReferenceCacheController::toDTO)
+        .toList();
+    return ResponseEntity.ok(stats);
+  }
+
+  private static ReferenceCacheStatsDTO toDTO(ExistenceCacheStats stats) {
+    return new ReferenceCacheStatsDTO(stats.name(), stats.cachedIds(), stats.hits(),
+        stats.bloomNegatives(), stats.misses(), stats.hitRatio());
+  }
+}
@@ -25,6 +25,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import smarthome.ddd.IAssembler;
 import smarthome.domain.room.Room;
@@ -107,6 +108,45 @@ public class RoomController {
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * Get a page of rooms, in ID order
+   *
+   * @param limit is the maximum number of rooms in the page
+   * @param after is the ID of the last room of the previous page, if any
+   * @return a page of rooms
+   */
+  @GetMapping(params = "limit")
+  public ResponseEntity<CollectionModel<RoomDTO>> getRoomsPage(
+      @RequestParam("limit") int limit,
+      @RequestParam(value = "after", required = false) String after) {
+    RoomID cursor = after == null ? null : new RoomID(after);
+    List<Room> fetched = roomService.getRoomsPage(cursor, KeysetPages.lookAhead(limit));
+    List<RoomDTO> roomDTOs = roomAssembler.domainToDTO(KeysetPages.page(fetched, limit));
+
+    for (RoomDTO roomDTO : roomDTOs) {
+      Link selfLink = linkTo(
+          methodOn(RoomController.class).getRoomById(roomDTO.roomId))
+          .withRel("self")
+          .withTitle("Get room")
+          .withType("GET");
+      roomDTO.add(selfLink);
+    }
+
+    Link selfLink = linkTo(methodOn(RoomController.class).getRoomsPage(limit, after))
+        .withRel("self")
+        .withTitle("Get rooms page")
+        .withType("GET");
+    CollectionModel<RoomDTO> response = CollectionModel.of(roomDTOs, selfLink);
+    if (KeysetPages.hasNext(fetched, limit)) {
+      String last = roomDTOs.get(roomDTOs.size() - 1).roomId;
+      response.add(linkTo(methodOn(RoomController.class).getRoomsPage(limit, last))
+          .withRel("next")
+          .withTitle("Get next rooms page")
+          .withType("GET"));
+    }
+    return ResponseEntity.ok(response);
+  }
+
   /**
    * Get a room by ID
    *
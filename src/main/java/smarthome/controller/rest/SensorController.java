@@ -164,5 +164,32 @@ public class SensorController {
     return ResponseEntity.ok(resource);
   }
 
+  /**
+   * Get a page of sensors, in ID order
+   *
+   * @param limit is the maximum number of sensors in the page
+   * @param after is the ID of the last sensor of the previous page, if any
+   * @return a page of sensors
+   */
+  @GetMapping(params = "limit")
+  public ResponseEntity<CollectionModel<SensorDTO>> getSensorsPage(
+      @RequestParam("limit") int limit,
+      @RequestParam(value = "after", required = false) String after) {
+    SensorID cursor = after == null ? null : new SensorID(after);
+    List<ISensor> fetched = sensorService.getSensorsPage(cursor, KeysetPages.lookAhead(limit));
+    List<SensorDTO> sensorDTOList = sensorAssembler.domainToDTO(KeysetPages.page(fetched, limit));
 
+    CollectionModel<SensorDTO> resource = CollectionModel.of(
+        sensorDTOList, WebMvcLinkBuilder.linkTo(
+            WebMvcLinkBuilder.methodOn(SensorController.class).getSensorsPage(limit, after))
+            .withSelfRel()
+    );
+    if (KeysetPages.hasNext(fetched, limit)) {
+      String last = sensorDTOList.get(sensorDTOList.size() - 1).sensorID;
+      resource.add(WebMvcLinkBuilder.linkTo(
+          WebMvcLinkBuilder.methodOn(SensorController.class).getSensorsPage(limit, last))
+          .withRel("next"));
+    }
+    return ResponseEntity.ok(resource);
+  }
 }
@@ -0,0 +1,64 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.rest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import smarthome.service.ISensorSamplingService;
+import smarthome.service.SensorSamplingMetrics;
+import smarthome.utils.Validator;
+import smarthome.utils.dto.SensorSamplingMetricsDTO;
+
+@RestController
+@Profile("sampling")
+@RequestMapping("/sampling")
+public class SensorSamplingController {
+
+  private final ISensorSamplingService sensorSamplingService;
+
+  /**
+   * Constructor for SensorSamplingController.
+   *
+   * @param sensorSamplingService is the sensor sampling service.
+   */
+  @Autowired
+  public SensorSamplingController(ISensorSamplingService sensorSamplingService) {
+    Validator.validateNotNull(sensorSamplingService, "Sensor Sampling Service");
+    this.sensorSamplingService = sensorSamplingService;
+  }
+
+  /**
+   * Method to get the scheduling lag and counters of the sampling.
+   *
+   * @return the sampling metrics.
+   */
+  @GetMapping("/metrics")
+  public ResponseEntity<SensorSamplingMetricsDTO> getMetrics() {
+    SensorSamplingMetrics metrics = sensorSamplingService.getMetrics();
+    return ResponseEntity.ok(new SensorSamplingMetricsDTO(metrics.sensors(), metrics.samples(),
+        metrics.failed(), metrics.dropped(), metrics.skipped(), metrics.meanLagMillis(),
+        metrics.maxLagMillis(), metrics.peakLagMillis()));
+  }
+
+  /**
+   * Method to reload the registered sensors now rather than at the next refresh.
+   *
+   * @return the sampling metrics after the reload.
+   */
+  @PostMapping("/refresh")
+  public ResponseEntity<SensorSamplingMetricsDTO> refresh() {
+    sensorSamplingService.refresh();
+    return getMetrics();
+  }
+}
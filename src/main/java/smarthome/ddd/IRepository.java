@@ -8,8 +8,10 @@
 
 package smarthome.ddd;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public interface IRepository<ID extends IDomainID, T extends IAggregateRoot<ID>> {
 
@@ -28,6 +30,24 @@ public interface IRepository<ID extends IDomainID, T extends IAggregateRoot<ID>>
    */
   List<T> findAll();
 
+  /**
+   * Method to find a page of domain entities in the order of their identifiers, starting after a
+   * cursor. Repositories backed by a database override it with a query that seeks to the cursor,
+   * so that every page costs the same; this default sorts the whole collection.
+   *
+   * @param after is the identifier of the last entity of the previous page, or null for the
+   *              first page.
+   * @param limit is the maximum number of entities returned.
+   * @return the domain entities whose identifier comes after the cursor.
+   */
+  default List<T> findPage(ID after, int limit) {
+    return findAll().stream()
+        .filter(entity -> after == null || entity.getID().getID().compareTo(after.getID()) > 0)
+        .sorted(Comparator.comparing(entity -> entity.getID().getID()))
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
   /**
    * Method to find a domain entity by its unique identifier.
    *
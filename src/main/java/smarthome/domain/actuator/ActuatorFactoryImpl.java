@@ -8,28 +8,65 @@
 
 package smarthome.domain.actuator;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import smarthome.ddd.IDomainIDGenerator;
+import smarthome.domain.value_object.ActuatorID;
 import smarthome.domain.value_object.ModelPath;
+import smarthome.utils.ConstructorRegistry;
+import smarthome.utils.Validator;
+import smarthome.utils.id.TimeOrderedUUIDGenerator;
 
 @Component
 public class ActuatorFactoryImpl implements IActuatorFactory {
 
+  private final ConstructorRegistry<IActuator> constructors = new ConstructorRegistry<>(
+      IActuator.class);
+  private final IDomainIDGenerator idGenerator;
+
+  /**
+   * ActuatorFactoryImpl constructor for actuators with time-ordered identifiers.
+   */
+  public ActuatorFactoryImpl() {
+    this(new TimeOrderedUUIDGenerator());
+  }
+
+  /**
+   * ActuatorFactoryImpl constructor.
+   *
+   * @param idGenerator is the generator of the identifiers of new actuators.
+   */
+  @Autowired
+  public ActuatorFactoryImpl(IDomainIDGenerator idGenerator) {
+    Validator.validateNotNull(idGenerator, "ID generator");
+    this.idGenerator = idGenerator;
+  }
+
   /**
-   * Create an actuator instance based on dynamic number of parameters.
+   * Create an actuator instance based on dynamic number of parameters. A new actuator, created
+   * without an ActuatorID, is given one from the ID generator of the factory. The constructor is
+   * looked up once per model path and parameter types, and reused after that.
    * @param parameters
-   * @return IActuator
+   * @return IActuator, or null if no constructor of the model matches the parameters
    */
   @Override
   public IActuator create(Object... parameters) {
       if (parameters.length < 4) {
         throw new IllegalArgumentException("At least 4 parameters are required.");
       }
-    Class<?> actuatorClass = getActualActuatorClassFromParameters(parameters);
-    Optional<Constructor<?>> constructor = getConstructorMatchingParameters(actuatorClass,
+    if (Arrays.stream(parameters).noneMatch(ActuatorID.class::isInstance)) {
+      Object[] identified = Arrays.copyOf(parameters, parameters.length + 1);
+      identified[parameters.length] = new ActuatorID(idGenerator.nextID());
+      Optional<Function<Object[], IActuator>> constructor = getConstructorMatchingParameters(
+          identified);
+      if (constructor.isPresent()) {
+        return instantiateActuator(constructor.get(), identified);
+      }
+    }
+    Optional<Function<Object[], IActuator>> constructor = getConstructorMatchingParameters(
         parameters);
     return constructor.map(value -> instantiateActuator(value, parameters)).orElse(null);
   }
@@ -42,26 +79,26 @@ public class ActuatorFactoryImpl implements IActuatorFactory {
    * @return
    */
 
-  private IActuator instantiateActuator(Constructor<?> constructor, Object... parameters) {
+  private IActuator instantiateActuator(Function<Object[], IActuator> constructor,
+      Object... parameters) {
     try {
-      return (IActuator) constructor.newInstance(parameters);
-    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+      return constructor.apply(parameters);
+    } catch (RuntimeException e) {
       return null;
     }
   }
 
   /**
-   * Get the actual actuator class from the parameters.
+   * Get the constructor of the actuator class matching the parameters.
    * @param parameters
    * @return
    */
 
-  private Class<?> getActualActuatorClassFromParameters(Object... parameters) {
+  private Optional<Function<Object[], IActuator>> getConstructorMatchingParameters(
+      Object... parameters) {
     try {
       ModelPath modelPath = getModelPathFromParameters(parameters);
-
-      Class<?> actuatorClass = Class.forName(modelPath.toString());
-      return actuatorClass;
+      return constructors.find(modelPath.toString(), parameters);
 
     } catch (ClassNotFoundException e) {
       throw new IllegalArgumentException("The model path is not valid.");
@@ -69,56 +106,11 @@ public class ActuatorFactoryImpl implements IActuatorFactory {
   }
 
   private ModelPath getModelPathFromParameters(Object... parameters) {
-    ModelPath modelPath = (ModelPath) Arrays.stream(parameters)
-        .filter(ModelPath.class::isInstance).findFirst().orElse(null);
-    if (modelPath == null) {
-      throw new IllegalArgumentException("Model path is required.");
-    } else {
-      return modelPath;
-    }
-  }
-
-  /**
-   * Get the constructor matching the parameters.
-   *
-   * @param actuatorClass
-   * @param parameters
-   * @return
-   */
-
-  private Optional<Constructor<?>> getConstructorMatchingParameters(Class<?> actuatorClass,
-      Object... parameters) {
-    Constructor<?>[] constructors = actuatorClass.getConstructors();
-
-    for (Constructor<?> constructor : constructors) {
-      if (tryConstructorAgainstParameters(constructor, parameters)) {
-        return Optional.of(constructor);
-      }
-    }
-    return Optional.empty();
-  }
-
-  /**
-   * Try to match the constructor against the parameters.
-   *
-   * @param constructor
-   * @param parameters
-   * @return
-   */
-
-  private boolean tryConstructorAgainstParameters(Constructor<?> constructor,
-      Object... parameters) {
-    if (constructor.getParameterCount() != parameters.length) {
-      return false;
-    } else {
-
-      Class<?>[] parameterTypes = constructor.getParameterTypes();
-      for (int i = 0; i < parameters.length; i++) {
-        if (!parameterTypes[i].isAssignableFrom(parameters[i].getClass())) {
-          return false;
-        }
+    for (Object parameter : parameters) {
+      if (parameter instanceof ModelPath modelPath) {
+        return modelPath;
       }
-      return true;
     }
+    throw new IllegalArgumentException("Model path is required.");
   }
-}
\ No newline at end of file
+}
@@ -8,7 +8,6 @@
 
 package smarthome.domain.actuator.blind_roller_actuator;
 
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.ddd.IActuatorValue;
@@ -19,6 +18,7 @@ import smarthome.domain.value_object.ActuatorTypeID;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.ModelPath;
 import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.IActuatorVisitor;
 
 /**
@@ -103,7 +103,7 @@ public class BlindRollerActuator implements IActuator {
    * Generates a unique actuator ID.
    */
   private void generateActuatorID() {
-    this.actuatorID = new ActuatorID(UUID.randomUUID().toString());
+    this.actuatorID = new ActuatorID(DomainIDs.next());
   }
 
   /**
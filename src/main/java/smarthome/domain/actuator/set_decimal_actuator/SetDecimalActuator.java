@@ -8,7 +8,6 @@
 
 package smarthome.domain.actuator.set_decimal_actuator;
 
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.ddd.IActuatorValue;
@@ -20,6 +19,7 @@ import smarthome.domain.value_object.DecimalLimits;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.ModelPath;
 import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.IActuatorVisitor;
 
 /**
@@ -98,7 +98,7 @@ public class SetDecimalActuator implements IActuator {
    * Generates a new actuator ID.
    */
   private void generateActuatorID() {
-    this.actuatorID = new ActuatorID(UUID.randomUUID().toString());
+    this.actuatorID = new ActuatorID(DomainIDs.next());
   }
 
   /**
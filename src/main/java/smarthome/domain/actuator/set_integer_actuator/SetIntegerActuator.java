@@ -8,7 +8,6 @@
 
 package smarthome.domain.actuator.set_integer_actuator;
 
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.ddd.IActuatorValue;
@@ -20,6 +19,7 @@ import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.IntegerLimits;
 import smarthome.domain.value_object.ModelPath;
 import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.IActuatorVisitor;
 
 public class SetIntegerActuator implements IActuator {
@@ -90,7 +90,7 @@ public class SetIntegerActuator implements IActuator {
    */
 
   private void generateActuatorID() {
-    this.actuatorID = new ActuatorID(UUID.randomUUID().toString());
+    this.actuatorID = new ActuatorID(DomainIDs.next());
   }
 
 
@@ -8,7 +8,6 @@
 
 package smarthome.domain.actuator.switch_actuator;
 
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.ddd.IActuatorValue;
@@ -19,6 +18,7 @@ import smarthome.domain.value_object.ActuatorTypeID;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.ModelPath;
 import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.IActuatorVisitor;
 
 public class SwitchActuator implements IActuator {
@@ -83,7 +83,7 @@ public class SwitchActuator implements IActuator {
    * generate actuator id
    */
   private void generateActuatorID() {
-    this.actuatorID = new ActuatorID(UUID.randomUUID().toString());
+    this.actuatorID = new ActuatorID(DomainIDs.next());
   }
 
 
@@ -8,7 +8,6 @@
 
 package smarthome.domain.device;
 
-import java.util.UUID;
 import smarthome.ddd.IAggregateRoot;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.DeviceName;
@@ -16,6 +15,7 @@ import smarthome.domain.value_object.DeviceStatus;
 import smarthome.domain.value_object.DeviceTypeID;
 import smarthome.domain.value_object.RoomID;
 import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
 
 public class Device implements IAggregateRoot<DeviceID> {
 
@@ -80,7 +80,7 @@ public class Device implements IAggregateRoot<DeviceID> {
    * Generates a new DeviceID object.
    */
   private void generateDeviceID() {
-    id = new DeviceID(UUID.randomUUID().toString());
+    id = new DeviceID(DomainIDs.next());
   }
 
 
@@ -8,16 +8,40 @@
 
 package smarthome.domain.device;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import smarthome.ddd.IDomainIDGenerator;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.DeviceName;
 import smarthome.domain.value_object.DeviceStatus;
 import smarthome.domain.value_object.DeviceTypeID;
 import smarthome.domain.value_object.RoomID;
+import smarthome.utils.Validator;
+import smarthome.utils.id.TimeOrderedUUIDGenerator;
 
 @Component
 public class DeviceFactoryImpl implements IDeviceFactory {
 
+  private final IDomainIDGenerator idGenerator;
+
+  /**
+   * DeviceFactoryImpl constructor for devices with time-ordered identifiers.
+   */
+  public DeviceFactoryImpl() {
+    this(new TimeOrderedUUIDGenerator());
+  }
+
+  /**
+   * DeviceFactoryImpl constructor.
+   *
+   * @param idGenerator is the generator of the identifiers of new devices.
+   */
+  @Autowired
+  public DeviceFactoryImpl(IDomainIDGenerator idGenerator) {
+    Validator.validateNotNull(idGenerator, "ID generator");
+    this.idGenerator = idGenerator;
+  }
+
   /**
    * Creates a new {@link Device} instance using the provided room ID, device name, and device
    * state.
@@ -27,7 +51,8 @@ public class DeviceFactoryImpl implements IDeviceFactory {
   @Override
   public Device createDevice(RoomID roomID, DeviceName deviceName,
       DeviceTypeID deviceTypeID) {
-    return new Device(roomID, deviceName, deviceTypeID);
+    return new Device(new DeviceID(idGenerator.nextID()), roomID, deviceName,
+        new DeviceStatus(true), deviceTypeID);
   }
 
   /**
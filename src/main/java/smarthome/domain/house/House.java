@@ -8,12 +8,12 @@
 
 package smarthome.domain.house;
 
-import java.util.UUID;
 import smarthome.ddd.IAggregateRoot;
 import smarthome.domain.value_object.Address;
 import smarthome.domain.value_object.GPS;
 import smarthome.domain.value_object.HouseID;
 import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
 
 /**
  * Represents a house in the Smart Home domain. This class includes details about the house's
@@ -58,7 +58,7 @@ public class House implements IAggregateRoot<HouseID> {
    * Generates a unique identifier for the House instance.
    */
   private void generateID() {
-    id = new HouseID(UUID.randomUUID().toString());
+    id = new HouseID(DomainIDs.next());
   }
 
 
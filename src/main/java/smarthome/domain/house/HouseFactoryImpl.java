@@ -8,10 +8,14 @@
 
 package smarthome.domain.house;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import smarthome.ddd.IDomainIDGenerator;
 import smarthome.domain.value_object.Address;
 import smarthome.domain.value_object.GPS;
 import smarthome.domain.value_object.HouseID;
+import smarthome.utils.Validator;
+import smarthome.utils.id.TimeOrderedUUIDGenerator;
 
 /**
  * Implementation of the {@link IHouseFactory} interface, responsible for creating {@link House}
@@ -22,6 +26,26 @@ import smarthome.domain.value_object.HouseID;
 @Component
 public class HouseFactoryImpl implements IHouseFactory {
 
+  private final IDomainIDGenerator idGenerator;
+
+  /**
+   * HouseFactoryImpl constructor for houses with time-ordered identifiers.
+   */
+  public HouseFactoryImpl() {
+    this(new TimeOrderedUUIDGenerator());
+  }
+
+  /**
+   * HouseFactoryImpl constructor.
+   *
+   * @param idGenerator is the generator of the identifiers of new houses.
+   */
+  @Autowired
+  public HouseFactoryImpl(IDomainIDGenerator idGenerator) {
+    Validator.validateNotNull(idGenerator, "ID generator");
+    this.idGenerator = idGenerator;
+  }
+
   /**
    * Creates a new {@link House} instance using the provided address, zip code, and GPS location.
    * This method ensures that a {@link House} object is instantiated with valid and non-null
@@ -35,7 +59,7 @@ public class HouseFactoryImpl implements IHouseFactory {
    */
   @Override
   public House createHouse(Address address, GPS gps) throws IllegalArgumentException {
-    return new House(address, gps);
+    return new House(new HouseID(idGenerator.nextID()), address, gps);
   }
 
   @Override
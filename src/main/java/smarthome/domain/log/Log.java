@@ -9,7 +9,6 @@
 package smarthome.domain.log;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 import smarthome.ddd.IAggregateRoot;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.LogID;
@@ -18,6 +17,7 @@ import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.domain.value_object.UnitID;
 import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
 
 public class Log implements IAggregateRoot<LogID> {
 
@@ -75,7 +75,7 @@ public class Log implements IAggregateRoot<LogID> {
    * Generate a new LogID object.
    */
   private void generateLogID() {
-    id = new LogID(UUID.randomUUID().toString());
+    id = new LogID(DomainIDs.next());
   }
 
   /**
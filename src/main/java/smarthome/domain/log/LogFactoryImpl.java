@@ -9,17 +9,41 @@
 package smarthome.domain.log;
 
 import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import smarthome.ddd.IDomainIDGenerator;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.LogID;
 import smarthome.domain.value_object.ReadingValue;
 import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.domain.value_object.UnitID;
+import smarthome.utils.Validator;
+import smarthome.utils.id.TimeOrderedUUIDGenerator;
 
 @Component
 public class LogFactoryImpl implements ILogFactory {
 
+  private final IDomainIDGenerator idGenerator;
+
+  /**
+   * LogFactoryImpl constructor for logs with time-ordered identifiers.
+   */
+  public LogFactoryImpl() {
+    this(new TimeOrderedUUIDGenerator());
+  }
+
+  /**
+   * LogFactoryImpl constructor.
+   *
+   * @param idGenerator is the generator of the identifiers of new logs.
+   */
+  @Autowired
+  public LogFactoryImpl(IDomainIDGenerator idGenerator) {
+    Validator.validateNotNull(idGenerator, "ID generator");
+    this.idGenerator = idGenerator;
+  }
+
   /**
    * Creates a new Log instance
    */
@@ -28,7 +52,8 @@ public class LogFactoryImpl implements ILogFactory {
   public Log createLog(
       DeviceID DeviceId, SensorID sensorId, LocalDateTime timeStamp, ReadingValue readingValue,
       SensorTypeID description, UnitID unit) {
-    return new Log(DeviceId, sensorId, timeStamp, readingValue, description, unit);
+    return new Log(new LogID(idGenerator.nextID()), DeviceId, sensorId, timeStamp, readingValue,
+        description, unit);
   }
 
   /**
@@ -8,17 +8,31 @@
 
 package smarthome.domain.repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 import smarthome.ddd.IRepository;
 import smarthome.domain.log.Log;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
 import smarthome.domain.value_object.LogID;
 import smarthome.domain.value_object.SensorTypeID;
 
 
 public interface ILogRepository extends IRepository<LogID, Log> {
 
+  /**
+   * Method to save several logs at once, in a single write.
+   *
+   * @param logs are the logs to be saved.
+   * @return the saved logs.
+   */
+  List<Log> saveAll(List<Log> logs);
 
   /**
    * Method to find logs by device and time period
@@ -29,6 +43,39 @@ public interface ILogRepository extends IRepository<LogID, Log> {
    */
   List<Log> findByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period);
 
+  /**
+   * Method to find a page of the logs of a device in a time period, in (timestamp, log ID) order
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    position of the last log of the previous page, or null for the first page
+   * @param limit    maximum number of logs returned
+   * @return List of Log
+   */
+  List<Log> findPageByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period,
+      LogCursor after, int limit);
+
+  /**
+   * Method to find a page of the logs of every device, in (timestamp, log ID) order, so that
+   * callers can walk the whole repository without holding every log in memory
+   *
+   * @param after position of the last log of the previous page, or null for the first page
+   * @param limit maximum number of logs returned
+   * @return List of Log
+   */
+  List<Log> findPage(LogCursor after, int limit);
+
+  /**
+   * Method to visit the logs of a device in a time period one at a time, so that callers can
+   * process wide periods without holding every log in memory
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param consumer receives each log
+   */
+  void streamByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> consumer);
+
   /**
    * Method to find logs by device and sensor type and time period
    *
@@ -40,9 +87,81 @@ public interface ILogRepository extends IRepository<LogID, Log> {
   List<Log> findByDeviceIDAndSensorTypeAndDatePeriodBetween(DeviceID deviceID,
       SensorTypeID sensorTypeID, DatePeriod period);
 
+  /**
+   * Method to find the logs of several devices by sensor type and time period, in one query
+   *
+   * @param deviceIDs    the devices whose logs are wanted
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @return List of Log, in no particular order
+   */
+  List<Log> findByDeviceIDsAndSensorTypeAndDatePeriodBetween(List<DeviceID> deviceIDs,
+      SensorTypeID sensorTypeID, DatePeriod period);
+
+  /**
+   * Method to find the logs of several devices by sensor type and time period, grouped by device.
+   * Every requested device has an entry, empty when it has no logs in the period, so callers need
+   * no per-device query and no exception for devices without readings
+   *
+   * @param deviceIDs    the devices whose logs are wanted
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @return the logs of each device, keyed in the order of deviceIDs
+   */
+  default Map<DeviceID, List<Log>> findGroupedByDeviceIDsAndSensorTypeAndDatePeriodBetween(
+      List<DeviceID> deviceIDs, SensorTypeID sensorTypeID, DatePeriod period) {
+    Map<DeviceID, List<Log>> logsByDevice = new LinkedHashMap<>();
+    for (DeviceID deviceID : deviceIDs) {
+      logsByDevice.putIfAbsent(deviceID, new ArrayList<>());
+    }
+    for (Log log : findByDeviceIDsAndSensorTypeAndDatePeriodBetween(deviceIDs, sensorTypeID,
+        period)) {
+      logsByDevice.computeIfAbsent(log.getDeviceID(), deviceID -> new ArrayList<>()).add(log);
+    }
+    return logsByDevice;
+  }
+
   /**
    * Method to find logs by device ID
    * @return List of Log
    */
   List<Log> findByDeviceIDAndSensorTypeID(DeviceID deviceID, SensorTypeID sensorTypeID);
+
+  /**
+   * Method to find the most recent log of a device and sensor type, in (timestamp, log ID) order.
+   * Implementations keep a last-value index per device and sensor type, so the cost does not
+   * depend on how many logs the pair has.
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return the latest log, or empty when the pair has no logs
+   */
+  Optional<Log> findLatest(DeviceID deviceID, SensorTypeID sensorTypeID);
+
+  /**
+   * Method to check if a device has any log of a sensor type
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return true if at least one log exists, false otherwise
+   */
+  boolean existsBy(DeviceID deviceID, SensorTypeID sensorTypeID);
+
+  /**
+   * Method to find the oldest logs whose timestamp is before a cutoff, in (timestamp, log ID)
+   * order, so that they can be moved to another store a batch at a time
+   *
+   * @param cutoff logs strictly before this time are returned
+   * @param limit  maximum number of logs returned
+   * @return List of Log
+   */
+  List<Log> findOlderThan(LocalDateTime cutoff, int limit);
+
+  /**
+   * Method to delete logs. Logs that are not stored are ignored; when the latest log of a device
+   * and sensor type is deleted, findLatest falls back to the newest log still stored.
+   *
+   * @param logs are the logs to be deleted.
+   */
+  void deleteAll(List<Log> logs);
 }
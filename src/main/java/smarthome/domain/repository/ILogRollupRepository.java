@@ -0,0 +1,49 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import smarthome.domain.log.Log;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingAggregate;
+import smarthome.domain.value_object.Resolution;
+import smarthome.domain.value_object.SensorTypeID;
+
+/**
+ * Rollups of the numeric log readings per device, sensor type and time bucket, kept at every
+ * Resolution.
+ */
+public interface ILogRollupRepository {
+
+  /**
+   * Method to add logs to the buckets they fall in, at every resolution. Logs whose reading is
+   * not numeric are ignored.
+   *
+   * @param logs are the logs to add.
+   */
+  void record(List<Log> logs);
+
+  /**
+   * Method to find the buckets of a device and sensor type that start in [from, to).
+   *
+   * @param deviceID     is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @param resolution   is the resolution of the buckets.
+   * @param from         is the first bucket start (inclusive).
+   * @param to           is the last bucket start (exclusive).
+   * @return the buckets, ordered by start.
+   */
+  List<ReadingAggregate> findByDeviceIDAndSensorTypeIDAndResolution(DeviceID deviceID,
+      SensorTypeID sensorTypeID, Resolution resolution, LocalDateTime from, LocalDateTime to);
+
+  /**
+   * Method to remove every bucket.
+   */
+  void deleteAll();
+}
@@ -8,7 +8,6 @@
 
 package smarthome.domain.room;
 
-import java.util.UUID;
 import smarthome.ddd.IAggregateRoot;
 import smarthome.domain.value_object.Dimension;
 import smarthome.domain.value_object.HouseID;
@@ -16,6 +15,7 @@ import smarthome.domain.value_object.RoomFloor;
 import smarthome.domain.value_object.RoomID;
 import smarthome.domain.value_object.RoomName;
 import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
 
 
 public class Room implements IAggregateRoot<RoomID> {
@@ -75,7 +75,7 @@ public class Room implements IAggregateRoot<RoomID> {
    * Generates a new RoomID object.
    */
   private void generateRoomID() {
-    id = new RoomID(UUID.randomUUID().toString());
+    id = new RoomID(DomainIDs.next());
   }
 
 
@@ -8,12 +8,16 @@
 
 package smarthome.domain.room;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import smarthome.ddd.IDomainIDGenerator;
 import smarthome.domain.value_object.Dimension;
 import smarthome.domain.value_object.HouseID;
 import smarthome.domain.value_object.RoomFloor;
 import smarthome.domain.value_object.RoomID;
 import smarthome.domain.value_object.RoomName;
+import smarthome.utils.Validator;
+import smarthome.utils.id.TimeOrderedUUIDGenerator;
 
 /**
  * Implementation of the {@link IRoomFactory} interface, responsible for creating {@link Room}
@@ -24,6 +28,26 @@ import smarthome.domain.value_object.RoomName;
 @Component
 public class RoomFactoryImpl implements IRoomFactory {
 
+  private final IDomainIDGenerator idGenerator;
+
+  /**
+   * RoomFactoryImpl constructor for rooms with time-ordered identifiers.
+   */
+  public RoomFactoryImpl() {
+    this(new TimeOrderedUUIDGenerator());
+  }
+
+  /**
+   * RoomFactoryImpl constructor.
+   *
+   * @param idGenerator is the generator of the identifiers of new rooms.
+   */
+  @Autowired
+  public RoomFactoryImpl(IDomainIDGenerator idGenerator) {
+    Validator.validateNotNull(idGenerator, "ID generator");
+    this.idGenerator = idGenerator;
+  }
+
   /**
    * Creates a new {@link Room} instance using the provided house ID, room name, dimension, and room
    * floor. This method ensures that a {@link Room} object is instantiated with valid and non-null
@@ -41,7 +65,7 @@ public class RoomFactoryImpl implements IRoomFactory {
   public Room createRoom(
       HouseID houseID, RoomName roomName, Dimension dimension, RoomFloor roomFloor)
       throws IllegalArgumentException {
-    return new Room(houseID, roomName, dimension, roomFloor);
+    return new Room(houseID, roomName, dimension, roomFloor, new RoomID(idGenerator.nextID()));
   }
 
   /**
@@ -8,73 +8,111 @@
 
 package smarthome.domain.sensor;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import smarthome.ddd.IDomainIDGenerator;
 import smarthome.domain.value_object.ModelPath;
+import smarthome.domain.value_object.SensorID;
+import smarthome.utils.ConstructorRegistry;
+import smarthome.utils.Validator;
+import smarthome.utils.ValueSimulator;
+import smarthome.utils.id.TimeOrderedUUIDGenerator;
 
 @Component
 public class SensorFactoryImpl implements ISensorFactory {
 
+  private final ConstructorRegistry<ISensor> constructors = new ConstructorRegistry<>(
+      ISensor.class);
+  private final ValueSimulator valueSimulator;
+  private final IDomainIDGenerator idGenerator;
+
+  /**
+   * SensorFactoryImpl constructor for sensors that draw uniform values and have time-ordered
+   * identifiers.
+   */
+  public SensorFactoryImpl() {
+    this(ValueSimulator.random(), new TimeOrderedUUIDGenerator());
+  }
+
   /**
-   * Creates a sensor object based on the given parameters
+   * SensorFactoryImpl constructor.
+   *
+   * @param valueSimulator is the simulator handed to the sensors that read simulated values.
+   * @param idGenerator    is the generator of the identifiers of new sensors.
+   */
+  @Autowired
+  public SensorFactoryImpl(ValueSimulator valueSimulator, IDomainIDGenerator idGenerator) {
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    Validator.validateNotNull(idGenerator, "ID generator");
+    this.valueSimulator = valueSimulator;
+    this.idGenerator = idGenerator;
+  }
+
+  /**
+   * Creates a sensor object based on the given parameters. A new sensor, created without a
+   * SensorID, is given one from the ID generator of the factory, and sensors that read simulated
+   * values are given the ValueSimulator of the factory as a last parameter. The constructor is
+   * looked up once per model path and parameter types, and reused after that.
    *
    * @param parameters are the parameters required to create a sensor object
-   * @return Sensor
+   * @return Sensor, or null if the model path or the parameters do not match a sensor constructor
    */
   @Override
   public ISensor create(Object... parameters) {
+    if (parameters.length < 4) {
+      throw new IllegalArgumentException("At least 4 parameters are required.");
+    }
+    if (!(parameters[1] instanceof ModelPath modelPath)) {
+      return null;
+    }
     try {
-      if (parameters.length < 4) {
-        throw new IllegalArgumentException("At least 4 parameters are required.");
-      }
-
-      ModelPath modelPath = (ModelPath) parameters[1];
-
-      Class<?> sensorClass = Class.forName(modelPath.toString());
-      Constructor<?> constructor = findMatchingConstructor(sensorClass, parameters);
-
-      if (constructor != null) {
-        return (ISensor) constructor.newInstance(parameters);
-      } else {
-        throw new InstantiationException("No matching constructor found for class: " + modelPath);
+      for (Object[] arguments : argumentsFor(parameters)) {
+        Optional<Function<Object[], ISensor>> constructor = constructors.find(
+            modelPath.toString(), arguments);
+        if (constructor.isPresent()) {
+          return constructor.get().apply(arguments);
+        }
       }
-
-    } catch (ClassNotFoundException | InstantiationException | ClassCastException |
-             IllegalAccessException | InvocationTargetException ignored) {
+      return null;
+    } catch (ClassNotFoundException | RuntimeException ignored) {
+      return null;
     }
-    return null;
   }
 
   /**
-   * Find a constructor that matches the given parameters
+   * Lists the arguments a sensor constructor is looked up with, in order of preference: with a new
+   * SensorID, when none is given, and the ValueSimulator appended, then without them.
    *
-   * @param sensorClass is the specific class of the sensor to be instantiated
-   * @param parameters  are the parameters required to create a sensor object
-   * @return Constructor
+   * @param parameters are the parameters given to the factory.
+   * @return the arguments to try.
    */
-  private Constructor<?> findMatchingConstructor(Class<?> sensorClass, Object... parameters) {
-    Constructor<?>[] constructors = sensorClass.getConstructors();
-
-    for (Constructor<?> constructor : constructors) {
-      Class<?>[] parameterTypes = constructor.getParameterTypes();
-
-      if (parameterTypes.length == parameters.length) {
-        boolean match = true;
-
-        for (int i = 0; i < parameterTypes.length; i++) {
-          if (!parameterTypes[i].isAssignableFrom(parameters[i].getClass())) {
-            match = false;
-            break;
-          }
-        }
-
-        if (match) {
-          return constructor;
-        }
-      }
+  private List<Object[]> argumentsFor(Object... parameters) {
+    List<Object[]> arguments = new ArrayList<>();
+    if (Arrays.stream(parameters).noneMatch(SensorID.class::isInstance)) {
+      Object[] identified = append(parameters, new SensorID(idGenerator.nextID()));
+      arguments.add(append(identified, valueSimulator));
+      arguments.add(identified);
     }
+    arguments.add(append(parameters, valueSimulator));
+    arguments.add(parameters);
+    return arguments;
+  }
 
-    return null;
+  /**
+   * Appends a parameter to a copy of the parameters.
+   *
+   * @param parameters are the parameters.
+   * @param parameter  is the parameter to append.
+   * @return the parameters followed by the new one.
+   */
+  private static Object[] append(Object[] parameters, Object parameter) {
+    Object[] appended = Arrays.copyOf(parameters, parameters.length + 1);
+    appended[parameters.length] = parameter;
+    return appended;
   }
 }
@@ -11,7 +11,6 @@ package smarthome.domain.sensor.average_power_consumption_sensor;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -22,6 +21,7 @@ import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -103,7 +103,7 @@ public class AveragePowerConsumptionSensor implements ISensor {
   }
 
   private void generateSensorID() {
-    sensorID = new SensorID(UUID.randomUUID().toString());
+    sensorID = new SensorID(DomainIDs.next());
   }
 
   /**
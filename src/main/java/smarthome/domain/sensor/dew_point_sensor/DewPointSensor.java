@@ -9,7 +9,6 @@
 package smarthome.domain.sensor.dew_point_sensor;
 
 import java.util.Objects;
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.domain.sensor.ISensor;
@@ -20,6 +19,8 @@ import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
 import smarthome.utils.ValueSimulator;
+import smarthome.utils.simulation.SignalKind;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -33,6 +34,8 @@ public class DewPointSensor implements ISensor {
   @Getter(AccessLevel.NONE)
   private DewPointValue dewPointValue;
   private final DeviceID deviceID;
+  @Getter(AccessLevel.NONE)
+  private final ValueSimulator valueSimulator;
 
   /**
    * Constructor of the class.
@@ -44,6 +47,20 @@ public class DewPointSensor implements ISensor {
    */
   public DewPointSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
       SensorName sensorName) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, ValueSimulator.random());
+  }
+
+  /**
+   * Constructor of the class.
+   *
+   * @param deviceID       The device ID.
+   * @param modelPath      The model path.
+   * @param sensorName     The sensor name.
+   * @param sensorTypeID   The sensor type ID.
+   * @param valueSimulator The simulator the values of the sensor are read from.
+   */
+  public DewPointSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
+      SensorName sensorName, ValueSimulator valueSimulator) {
     Validator.validateNotNull(deviceID, "DeviceID");
     this.deviceID = deviceID;
     Validator.validateNotNull(modelPath, "ModelPath");
@@ -53,10 +70,17 @@ public class DewPointSensor implements ISensor {
     validateSensorTypeID(sensorTypeID);
     this.sensorTypeID = sensorTypeID;
     generateDewPointID();
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
   public DewPointSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
       SensorName sensorName, SensorID sensorID) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, sensorID, ValueSimulator.random());
+  }
+
+  public DewPointSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
+      SensorName sensorName, SensorID sensorID, ValueSimulator valueSimulator) {
     Validator.validateNotNull(deviceID, "DeviceID");
     this.deviceID = deviceID;
     Validator.validateNotNull(modelPath, "ModelPath");
@@ -67,6 +91,8 @@ public class DewPointSensor implements ISensor {
     this.sensorTypeID = sensorTypeID;
     Validator.validateNotNull(sensorID, "SensorID");
     this.sensorID = sensorID;
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
 
@@ -87,7 +113,7 @@ public class DewPointSensor implements ISensor {
    * Generates a new DewPointID.
    */
   private void generateDewPointID() {
-    this.sensorID = new SensorID(UUID.randomUUID().toString());
+    this.sensorID = new SensorID(DomainIDs.next());
   }
 
   /**
@@ -108,7 +134,7 @@ public class DewPointSensor implements ISensor {
 
   @Override
   public DewPointValue getValue() {
-    int dewPointValue = ValueSimulator.generateRandomValue(-70, 70);
+    int dewPointValue = (int) valueSimulator.next(sensorID, deviceID, SignalKind.DEW_POINT);
     this.dewPointValue = new DewPointValue(dewPointValue);
 
     return this.dewPointValue;
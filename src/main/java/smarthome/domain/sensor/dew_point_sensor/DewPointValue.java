@@ -26,6 +26,15 @@ public class DewPointValue implements IValueObject {
     this.dewPointValue = dewPointValue;
   }
 
+  /**
+   * Gets the dew point, in degrees Celsius.
+   *
+   * @return the dew point.
+   */
+  public int getValue() {
+    return this.dewPointValue;
+  }
+
   /**
    * Gets the value of the dew point.
    *
@@ -9,7 +9,6 @@
 package smarthome.domain.sensor.electric_consumption_wh_sensor;
 
 import java.util.Objects;
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.domain.sensor.ISensor;
@@ -20,6 +19,7 @@ import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 /**
@@ -94,7 +94,7 @@ public class ElectricConsumptionWhSensor implements ISensor {
    */
 
   private void generateElectricConsumptionWhID() {
-    this.sensorID = new SensorID(UUID.randomUUID().toString());
+    this.sensorID = new SensorID(DomainIDs.next());
   }
 
   /**
@@ -42,6 +42,15 @@ public class ElectricConsumptionWhValue implements IValueObject {
     }
   }
 
+  /**
+   * Gets the electric consumption, in watt-hours.
+   *
+   * @return the electric consumption.
+   */
+  public int getValue() {
+    return this.value;
+  }
+
   /**
    * Returns string representation of the value of electric consumption in watt-hours.
    */
@@ -9,7 +9,6 @@
 package smarthome.domain.sensor.humidity_sensor;
 
 import java.util.Objects;
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.domain.sensor.ISensor;
@@ -20,6 +19,8 @@ import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
 import smarthome.utils.ValueSimulator;
+import smarthome.utils.simulation.SignalKind;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 /**
@@ -30,6 +31,8 @@ public class HumiditySensor implements ISensor {
 
   private final SensorTypeID sensorTypeID;
   private final DeviceID deviceID;
+  @Getter(AccessLevel.NONE)
+  private final ValueSimulator valueSimulator;
   private final ModelPath modelPath;
   private final SensorName sensorName;
   @Getter(AccessLevel.NONE)
@@ -47,6 +50,20 @@ public class HumiditySensor implements ISensor {
    */
   public HumiditySensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
       SensorName sensorName) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, ValueSimulator.random());
+  }
+
+  /**
+   * Constructs a new HumiditySensor.
+   *
+   * @param deviceID       The ID of the device to which the sensor belongs.
+   * @param modelPath      The path of the model associated with the sensor.
+   * @param sensorTypeID   The type ID of the sensor.
+   * @param sensorName     The name of the sensor.
+   * @param valueSimulator The simulator the values of the sensor are read from.
+   */
+  public HumiditySensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
+      SensorName sensorName, ValueSimulator valueSimulator) {
     Validator.validateNotNull(deviceID, "DeviceID");
     Validator.validateNotNull(modelPath, "ModelPath");
     Validator.validateNotNull(sensorName, "SensorName");
@@ -57,6 +74,8 @@ public class HumiditySensor implements ISensor {
     this.sensorTypeID = sensorTypeID;
     this.modelPath = modelPath;
     this.sensorName = sensorName;
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
   /**
@@ -70,6 +89,21 @@ public class HumiditySensor implements ISensor {
    */
   public HumiditySensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
       SensorName sensorName, SensorID sensorID) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, sensorID, ValueSimulator.random());
+  }
+
+  /**
+   * Constructor with sensorID.
+   *
+   * @param deviceID       The ID of the device to which the sensor belongs.
+   * @param modelPath      The path of the model associated with the sensor.
+   * @param sensorTypeID   The type ID of the sensor.
+   * @param sensorName     The name of the sensor.
+   * @param sensorID       is the sensor id
+   * @param valueSimulator The simulator the values of the sensor are read from.
+   */
+  public HumiditySensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
+      SensorName sensorName, SensorID sensorID, ValueSimulator valueSimulator) {
     Validator.validateNotNull(deviceID, "DeviceID");
     Validator.validateNotNull(modelPath, "ModelPath");
     Validator.validateNotNull(sensorName, "SensorName");
@@ -81,13 +115,15 @@ public class HumiditySensor implements ISensor {
     this.modelPath = modelPath;
     this.sensorName = sensorName;
     this.sensorID = sensorID;
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
   /**
    * Generates a random SensorID for the humidity sensor.
    */
   private void generateHumidityID() {
-    this.sensorID = new SensorID(UUID.randomUUID().toString());
+    this.sensorID = new SensorID(DomainIDs.next());
   }
 
   /**
@@ -121,7 +157,8 @@ public class HumiditySensor implements ISensor {
    */
   @Override
   public HumiditySensorValue getValue() {
-    int humidityReadingReading = ValueSimulator.generateRandomValue(0, 100);
+    int humidityReadingReading =
+        (int) valueSimulator.next(sensorID, deviceID, SignalKind.HUMIDITY);
     humiditySensorValue = new HumiditySensorValue(humidityReadingReading);
     return humiditySensorValue;
   }
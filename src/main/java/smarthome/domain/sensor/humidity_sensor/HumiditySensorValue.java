@@ -38,6 +38,15 @@ public class HumiditySensorValue implements IValueObject {
     }
   }
 
+  /**
+   * Gets the humidity, in percent.
+   *
+   * @return the humidity.
+   */
+  public int getValue() {
+    return this.humidityValue;
+  }
+
   /**
    * Returns a string representation of the humidity value.
    *
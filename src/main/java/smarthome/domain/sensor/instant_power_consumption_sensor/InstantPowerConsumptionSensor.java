@@ -9,7 +9,6 @@
 package smarthome.domain.sensor.instant_power_consumption_sensor;
 
 import java.util.Objects;
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.domain.sensor.ISensor;
@@ -20,6 +19,8 @@ import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
 import smarthome.utils.ValueSimulator;
+import smarthome.utils.simulation.SignalKind;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -33,6 +34,8 @@ public class InstantPowerConsumptionSensor implements ISensor {
   @Getter(AccessLevel.NONE)
   private InstantPowerConsumptionValue instantPowerConsumptionValue;
   private final DeviceID deviceID;
+  @Getter(AccessLevel.NONE)
+  private final ValueSimulator valueSimulator;
 
   /**
    * Constructor of the class.
@@ -44,6 +47,21 @@ public class InstantPowerConsumptionSensor implements ISensor {
    */
   public InstantPowerConsumptionSensor(
       DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID, SensorName sensorName) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, ValueSimulator.random());
+  }
+
+  /**
+   * Constructor of the class.
+   *
+   * @param deviceID       The device ID.
+   * @param modelPath      The model path.
+   * @param sensorName     The sensor name.
+   * @param sensorTypeID   The sensor type ID.
+   * @param valueSimulator The simulator the values of the sensor are read from.
+   */
+  public InstantPowerConsumptionSensor(
+      DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID, SensorName sensorName,
+      ValueSimulator valueSimulator) {
     Validator.validateNotNull(modelPath, "ModelPath");
     this.modelPath = modelPath;
     Validator.validateNotNull(sensorName, "SensorName");
@@ -54,6 +72,8 @@ public class InstantPowerConsumptionSensor implements ISensor {
     this.deviceID = deviceID;
 
     generateInstantPowerConsumptionID();
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
   /**
@@ -68,6 +88,22 @@ public class InstantPowerConsumptionSensor implements ISensor {
   public InstantPowerConsumptionSensor(
       DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID, SensorName sensorName,
       SensorID sensorID) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, sensorID, ValueSimulator.random());
+  }
+
+  /**
+   * Constructor of the class, including the sensor ID.
+   *
+   * @param deviceID       is the device id
+   * @param modelPath      is the model path
+   * @param sensorTypeID   is the sensor type id
+   * @param sensorName     is the sensor name
+   * @param sensorID       is the sensor id
+   * @param valueSimulator The simulator the values of the sensor are read from.
+   */
+  public InstantPowerConsumptionSensor(
+      DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID, SensorName sensorName,
+      SensorID sensorID, ValueSimulator valueSimulator) {
 
     Validator.validateNotNull(modelPath, "ModelPath");
     this.modelPath = modelPath;
@@ -79,13 +115,15 @@ public class InstantPowerConsumptionSensor implements ISensor {
     this.deviceID = deviceID;
     Validator.validateNotNull(sensorID, "SensorID");
     this.sensorID = sensorID;
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
   /**
    * Generates a new InstantPowerConsumptionID.
    */
   private void generateInstantPowerConsumptionID() {
-    this.sensorID = new SensorID(UUID.randomUUID().toString());
+    this.sensorID = new SensorID(DomainIDs.next());
   }
 
 
@@ -118,7 +156,8 @@ public class InstantPowerConsumptionSensor implements ISensor {
    */
   @Override
   public InstantPowerConsumptionValue getValue() {
-    double instantPowerConsumptionValue = ValueSimulator.generateRandomValue(0.0, 100);
+    double instantPowerConsumptionValue =
+        valueSimulator.next(sensorID, deviceID, SignalKind.INSTANT_POWER);
     this.instantPowerConsumptionValue =
         new InstantPowerConsumptionValue(instantPowerConsumptionValue);
 
@@ -27,6 +27,15 @@ public class InstantPowerConsumptionValue implements IValueObject {
     this.instantPowerConsumptionValue = instantPowerConsumptionValue;
   }
 
+  /**
+   * Gets the instant power consumption.
+   *
+   * @return the instant power consumption.
+   */
+  public double getValue() {
+    return this.instantPowerConsumptionValue;
+  }
+
   /**
    * Gets the value of the instant power consumption.
    *
@@ -8,7 +8,6 @@
 
 package smarthome.domain.sensor.percentage_position_sensor;
 
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.domain.sensor.ISensor;
@@ -18,6 +17,9 @@ import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
+import smarthome.utils.ValueSimulator;
+import smarthome.utils.simulation.SignalKind;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 /**
@@ -35,6 +37,8 @@ public class PercentagePositionSensor implements ISensor {
   @Getter(AccessLevel.NONE)
   private PercentagePositionSensorValue percentagePositionSensorValue;
   private final DeviceID deviceID;
+  @Getter(AccessLevel.NONE)
+  private final ValueSimulator valueSimulator;
 
   /**
    * Constructs a PercentagePositionSensor with the given parameters.
@@ -47,6 +51,22 @@ public class PercentagePositionSensor implements ISensor {
    */
   public PercentagePositionSensor(
       DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID, SensorName sensorName) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, ValueSimulator.random());
+  }
+
+  /**
+   * Constructs a PercentagePositionSensor with the given parameters.
+   *
+   * @param deviceID       The ID of the device.
+   * @param modelPath      The model path of the sensor.
+   * @param sensorTypeID   The type ID of the sensor.
+   * @param sensorName     The name of the sensor.
+   * @param valueSimulator The simulator the values of the sensor are read from.
+   * @throws IllegalArgumentException if any of the parameters are null.
+   */
+  public PercentagePositionSensor(
+      DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID, SensorName sensorName,
+      ValueSimulator valueSimulator) {
     Validator.validateNotNull(modelPath, "ModelPath");
     Validator.validateNotNull(sensorName, "SensorName");
     validateSensorTypeID(sensorTypeID);
@@ -56,6 +76,8 @@ public class PercentagePositionSensor implements ISensor {
     this.sensorName = sensorName;
     this.sensorTypeID = sensorTypeID;
     this.deviceID = deviceID;
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
   /**
@@ -74,6 +96,27 @@ public class PercentagePositionSensor implements ISensor {
       SensorTypeID sensorTypeID,
       SensorName sensorName,
       SensorID sensorID) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, sensorID, ValueSimulator.random());
+  }
+
+  /**
+   * Constructs a PercentagePositionSensor with the given parameters.
+   *
+   * @param deviceID       The ID of the device.
+   * @param modelPath      The model path of the sensor.
+   * @param sensorTypeID   The type ID of the sensor.
+   * @param sensorName     The name of the sensor.
+   * @param sensorID       The ID of the sensor.
+   * @param valueSimulator The simulator the values of the sensor are read from.
+   * @throws IllegalArgumentException if any of the parameters are null.
+   */
+  public PercentagePositionSensor(
+      DeviceID deviceID,
+      ModelPath modelPath,
+      SensorTypeID sensorTypeID,
+      SensorName sensorName,
+      SensorID sensorID,
+      ValueSimulator valueSimulator) {
     Validator.validateNotNull(modelPath, "ModelPath");
     Validator.validateNotNull(sensorName, "SensorName");
     validateSensorTypeID(sensorTypeID);
@@ -85,13 +128,15 @@ public class PercentagePositionSensor implements ISensor {
     this.sensorTypeID = sensorTypeID;
     this.deviceID = deviceID;
     this.sensorID = sensorID;
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
   /**
    * Generates a unique ID for the sensor.
    */
   private void generatePercentageID() {
-    this.sensorID = new SensorID(UUID.randomUUID().toString());
+    this.sensorID = new SensorID(DomainIDs.next());
   }
 
   /**
@@ -125,7 +170,7 @@ public class PercentagePositionSensor implements ISensor {
    */
   @Override
   public PercentagePositionSensorValue getValue() {
-    int randomInt = 14;
+    int randomInt = (int) valueSimulator.next(sensorID, deviceID, SignalKind.BLIND_POSITION);
 
     this.percentagePositionSensorValue = new PercentagePositionSensorValue(randomInt);
 
@@ -25,6 +25,15 @@ public class PercentagePositionSensorValue implements IValueObject {
     this.percentage = percentage;
   }
 
+  /**
+   * Gets the position, in percent.
+   *
+   * @return the position.
+   */
+  public int getValue() {
+    return this.percentage;
+  }
+
   public String toString() {
     return this.percentage + "";
   }
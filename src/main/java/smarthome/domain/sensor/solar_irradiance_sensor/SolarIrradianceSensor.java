@@ -9,7 +9,6 @@
 package smarthome.domain.sensor.solar_irradiance_sensor;
 
 import java.util.Objects;
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.domain.sensor.ISensor;
@@ -19,6 +18,7 @@ import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -81,7 +81,7 @@ public class SolarIrradianceSensor implements ISensor {
    * Generates sensorID
    */
   private void generateSensorID() {
-    this.sensorID = new SensorID(UUID.randomUUID().toString());
+    this.sensorID = new SensorID(DomainIDs.next());
   }
 
 
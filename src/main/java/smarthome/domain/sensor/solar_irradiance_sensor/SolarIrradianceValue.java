@@ -23,6 +23,15 @@ public class SolarIrradianceValue implements IValueObject {
     this.value = value;
   }
 
+  /**
+   * Gets the solar irradiance.
+   *
+   * @return the solar irradiance.
+   */
+  public int getValue() {
+    return this.value;
+  }
+
   /**
    * Returns the value of the solar irradiance sensor as a string.
    *
@@ -22,6 +22,7 @@ import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -87,7 +88,7 @@ public class SunriseTimeSensor implements ISensor {
 
 
   private void generateSensorID() {
-    sensorID = new SensorID(java.util.UUID.randomUUID().toString());
+    sensorID = new SensorID(DomainIDs.next());
   }
 
 
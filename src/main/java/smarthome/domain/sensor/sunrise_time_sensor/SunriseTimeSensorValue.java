@@ -39,6 +39,15 @@ public class SunriseTimeSensorValue implements IValueObject {
     }
   }
 
+  /**
+   * Gets the time of the sunrise.
+   *
+   * @return the time of the sunrise.
+   */
+  public LocalTime getValue() {
+    return this.value;
+  }
+
   /**
    * Clones the SunriseTimeValue.
    *
@@ -12,7 +12,6 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Objects;
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import org.shredzone.commons.suncalc.SunTimes;
@@ -24,6 +23,7 @@ import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -107,7 +107,7 @@ public class SunsetTimeSensor implements ISensor {
    * Generate SensorID
    */
   private void generateSensorID() {
-    sensorID = new SensorID(UUID.randomUUID().toString());
+    sensorID = new SensorID(DomainIDs.next());
   }
 
   /**
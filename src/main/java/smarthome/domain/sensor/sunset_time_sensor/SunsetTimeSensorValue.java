@@ -36,6 +36,15 @@ public class SunsetTimeSensorValue implements IValueObject {
     }
   }
 
+  /**
+   * Gets the time of the sunset.
+   *
+   * @return the time of the sunset.
+   */
+  public LocalTime getValue() {
+    return this.value;
+  }
+
   /**
    * Returns the value of the SunsetTimeValue as a String.
    */
@@ -9,7 +9,6 @@
 package smarthome.domain.sensor.switch_sensor;
 
 import java.util.Objects;
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.domain.sensor.ISensor;
@@ -20,6 +19,8 @@ import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
 import smarthome.utils.ValueSimulator;
+import smarthome.utils.simulation.SignalKind;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -33,6 +34,8 @@ public class SwitchSensor implements ISensor {
   @Getter(AccessLevel.NONE)
   private SwitchSensorValue switchSensorValue;
   private final DeviceID deviceID;
+  @Getter(AccessLevel.NONE)
+  private final ValueSimulator valueSimulator;
 
   /**
    * @param deviceID     The device ID.
@@ -42,6 +45,18 @@ public class SwitchSensor implements ISensor {
    */
   public SwitchSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
       SensorName sensorName) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, ValueSimulator.random());
+  }
+
+  /**
+   * @param deviceID       The device ID.
+   * @param modelPath      The model path.
+   * @param sensorTypeID   The sensor type ID.
+   * @param sensorName     The sensor name.
+   * @param valueSimulator The simulator the values of the sensor are read from.
+   */
+  public SwitchSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
+      SensorName sensorName, ValueSimulator valueSimulator) {
     Validator.validateNotNull(deviceID, "DeviceID");
     Validator.validateNotNull(modelPath, "ModelPath");
     validateSensorTypeID(sensorTypeID);
@@ -54,6 +69,8 @@ public class SwitchSensor implements ISensor {
     this.sensorTypeID = sensorTypeID;
     this.deviceID = deviceID;
 
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
   /**
@@ -65,6 +82,19 @@ public class SwitchSensor implements ISensor {
    */
   public SwitchSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
       SensorName sensorName, SensorID sensorID) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, sensorID, ValueSimulator.random());
+  }
+
+  /**
+   * @param deviceID       The device ID.
+   * @param modelPath      The model path.
+   * @param sensorTypeID   The sensor type ID.
+   * @param sensorName     The sensor name.
+   * @param sensorID       The sensor ID.
+   * @param valueSimulator The simulator the values of the sensor are read from.
+   */
+  public SwitchSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
+      SensorName sensorName, SensorID sensorID, ValueSimulator valueSimulator) {
     Validator.validateNotNull(deviceID, "DeviceID");
     Validator.validateNotNull(modelPath, "ModelPath");
     validateSensorTypeID(sensorTypeID);
@@ -76,6 +106,8 @@ public class SwitchSensor implements ISensor {
     this.sensorTypeID = sensorTypeID;
     this.deviceID = deviceID;
     this.sensorID = sensorID;
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
 
@@ -83,7 +115,7 @@ public class SwitchSensor implements ISensor {
    * generates a new HumidityID
    */
   private void generateSwitchSensorID() {
-    this.sensorID = new SensorID(UUID.randomUUID().toString());
+    this.sensorID = new SensorID(DomainIDs.next());
   }
 
   /**
@@ -116,7 +148,7 @@ public class SwitchSensor implements ISensor {
    */
   @Override
   public SwitchSensorValue getValue() {
-    boolean randomBoolean = ValueSimulator.generateRandomBoolean();
+    boolean randomBoolean = valueSimulator.next(sensorID, deviceID, SignalKind.SWITCH) > 0;
     this.switchSensorValue = new SwitchSensorValue(randomBoolean);
 
     return this.switchSensorValue;
@@ -9,7 +9,6 @@
 package smarthome.domain.sensor.temperature_sensor;
 
 import java.util.Objects;
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.domain.sensor.ISensor;
@@ -20,6 +19,8 @@ import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
 import smarthome.utils.ValueSimulator;
+import smarthome.utils.simulation.SignalKind;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -33,6 +34,8 @@ public class TemperatureSensor implements ISensor {
   @Getter(AccessLevel.NONE)
   private TemperatureSensorValue temperatureSensorValue;
   private final DeviceID deviceID;
+  @Getter(AccessLevel.NONE)
+  private final ValueSimulator valueSimulator;
 
   /**
    * Constructor of the class.
@@ -44,6 +47,20 @@ public class TemperatureSensor implements ISensor {
    */
   public TemperatureSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
       SensorName sensorName) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, ValueSimulator.random());
+  }
+
+  /**
+   * Constructor of the class.
+   *
+   * @param deviceID       The device ID.
+   * @param modelPath      The model path.
+   * @param sensorName     The sensor name.
+   * @param sensorTypeID   The sensor type ID.
+   * @param valueSimulator The simulator the values of the sensor are read from.
+   */
+  public TemperatureSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
+      SensorName sensorName, ValueSimulator valueSimulator) {
     Validator.validateNotNull(modelPath, "ModelPath");
     this.modelPath = modelPath;
     Validator.validateNotNull(sensorName, "SensorName");
@@ -54,6 +71,8 @@ public class TemperatureSensor implements ISensor {
     this.deviceID = deviceID;
 
     generateTemperatureID();
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
   /**
@@ -67,6 +86,21 @@ public class TemperatureSensor implements ISensor {
    */
   public TemperatureSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
       SensorName sensorName, SensorID sensorID) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, sensorID, ValueSimulator.random());
+  }
+
+  /**
+   * Constructor of the class.
+   *
+   * @param deviceID       The device ID.
+   * @param modelPath      The model path.
+   * @param sensorName     The sensor name.
+   * @param sensorTypeID   The sensor type ID.
+   * @param sensorID       The sensor ID.
+   * @param valueSimulator The simulator the values of the sensor are read from.
+   */
+  public TemperatureSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
+      SensorName sensorName, SensorID sensorID, ValueSimulator valueSimulator) {
     Validator.validateNotNull(modelPath, "ModelPath");
     this.modelPath = modelPath;
     Validator.validateNotNull(sensorName, "SensorName");
@@ -77,13 +111,15 @@ public class TemperatureSensor implements ISensor {
     this.deviceID = deviceID;
     Validator.validateNotNull(sensorID, "SensorID");
     this.sensorID = sensorID;
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
   /**
    * Generates a new TemperatureID.
    */
   private void generateTemperatureID() {
-    this.sensorID = new SensorID(UUID.randomUUID().toString());
+    this.sensorID = new SensorID(DomainIDs.next());
   }
 
 
@@ -108,7 +144,7 @@ public class TemperatureSensor implements ISensor {
   @Override
   public TemperatureSensorValue getValue() {
     // Generate a random temperature as a simulation of hardware behavior
-    double temperatureReading = ValueSimulator.generateRandomValue(-50.0, 50.0);
+    double temperatureReading = valueSimulator.next(sensorID, deviceID, SignalKind.TEMPERATURE);
     this.temperatureSensorValue = new TemperatureSensorValue(temperatureReading);
 
     return temperatureSensorValue;
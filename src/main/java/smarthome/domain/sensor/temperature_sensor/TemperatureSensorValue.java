@@ -44,6 +44,15 @@ public class TemperatureSensorValue implements IValueObject {
     }
   }
 
+  /**
+   * Gets the temperature, in degrees Celsius.
+   *
+   * @return the temperature.
+   */
+  public double getValue() {
+    return this.temperatureValue;
+  }
+
   /**
    * Returns a string representation of the temperature unit. This method allows the
    * temperature value to be easily printed or logged.
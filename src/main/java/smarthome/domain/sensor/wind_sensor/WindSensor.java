@@ -9,7 +9,6 @@
 package smarthome.domain.sensor.wind_sensor;
 
 import java.util.Objects;
-import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.domain.sensor.ISensor;
@@ -20,6 +19,8 @@ import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
 import smarthome.utils.ValueSimulator;
+import smarthome.utils.simulation.SignalKind;
+import smarthome.utils.id.DomainIDs;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -33,9 +34,16 @@ public class WindSensor implements ISensor {
   @Getter(AccessLevel.NONE)
   private WindSensorValue windSensorValue;
   private final DeviceID deviceID;
+  @Getter(AccessLevel.NONE)
+  private final ValueSimulator valueSimulator;
 
   public WindSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
       SensorName sensorName) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, ValueSimulator.random());
+  }
+
+  public WindSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
+      SensorName sensorName, ValueSimulator valueSimulator) {
     Validator.validateNotNull(deviceID, "DeviceID");
     Validator.validateNotNull(modelPath, "ModelPath");
     Validator.validateNotNull(sensorName, "SensorName");
@@ -47,6 +55,8 @@ public class WindSensor implements ISensor {
     this.sensorName = sensorName;
     this.sensorTypeID = sensorTypeID;
     this.deviceID = deviceID;
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
   /**
@@ -60,6 +70,21 @@ public class WindSensor implements ISensor {
    */
   public WindSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
       SensorName sensorName, SensorID sensorID) {
+    this(deviceID, modelPath, sensorTypeID, sensorName, sensorID, ValueSimulator.random());
+  }
+
+  /**
+   * Constructor for WindSensor.
+   *
+   * @param deviceID       The device ID.
+   * @param modelPath      The model path.
+   * @param sensorTypeID   The sensor type ID.
+   * @param sensorName     The sensor name.
+   * @param sensorID       The sensor ID.
+   * @param valueSimulator The simulator the values of the sensor are read from.
+   */
+  public WindSensor(DeviceID deviceID, ModelPath modelPath, SensorTypeID sensorTypeID,
+      SensorName sensorName, SensorID sensorID, ValueSimulator valueSimulator) {
     Validator.validateNotNull(deviceID, "DeviceID");
     Validator.validateNotNull(modelPath, "ModelPath");
     Validator.validateNotNull(sensorName, "SensorName");
@@ -71,13 +96,15 @@ public class WindSensor implements ISensor {
     this.sensorTypeID = sensorTypeID;
     this.deviceID = deviceID;
     this.sensorID = sensorID;
+    Validator.validateNotNull(valueSimulator, "ValueSimulator");
+    this.valueSimulator = valueSimulator;
   }
 
   /**
    * Generates a new sensor id.
    */
   private void generateWindID() {
-    this.sensorID = new SensorID(UUID.randomUUID().toString());
+    this.sensorID = new SensorID(DomainIDs.next());
   }
 
   /**
@@ -111,8 +138,8 @@ public class WindSensor implements ISensor {
    */
   @Override
   public WindSensorValue getValue() {
-    int speed = ValueSimulator.generateRandomValue(0, 408);
-    double direction = ValueSimulator.generateRandomValue(0.0, 2 * Math.PI);
+    int speed = (int) valueSimulator.next(sensorID, deviceID, SignalKind.WIND_SPEED);
+    double direction = valueSimulator.next(sensorID, deviceID, SignalKind.WIND_DIRECTION);
     this.windSensorValue = new WindSensorValue(speed, direction);
     return windSensorValue;
   }
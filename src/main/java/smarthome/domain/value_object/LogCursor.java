@@ -0,0 +1,121 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.domain.value_object;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import smarthome.ddd.IValueObject;
+import smarthome.domain.log.Log;
+
+/**
+ * Position of a log in the (timestamp, log ID) order used to page through readings. Logs with the
+ * same timestamp are told apart by their ID, so a page boundary never skips or repeats a log.
+ */
+public class LogCursor implements IValueObject {
+
+  /**
+   * Order of logs by timestamp and then by log ID.
+   */
+  public static final Comparator<Log> ORDER =
+      Comparator.comparing(Log::getTimeStamp).thenComparing(log -> log.getID().getID());
+
+  private final LocalDateTime timestamp;
+  private final LogID logID;
+
+  /**
+   * Constructs a new LogCursor.
+   *
+   * @param timestamp the timestamp of the last log of the previous page.
+   * @param logID     the ID of the last log of the previous page.
+   */
+  public LogCursor(LocalDateTime timestamp, LogID logID) {
+    if (timestamp == null) {
+      throw new IllegalArgumentException("Timestamp cannot be null.");
+    }
+    if (logID == null) {
+      throw new IllegalArgumentException("Log ID cannot be null.");
+    }
+    this.timestamp = timestamp;
+    this.logID = logID;
+  }
+
+  /**
+   * Constructs the cursor positioned on a log.
+   *
+   * @param log the last log of a page.
+   * @return the cursor of the next page.
+   */
+  public static LogCursor of(Log log) {
+    return new LogCursor(log.getTimeStamp(), log.getID());
+  }
+
+  /**
+   * Returns the timestamp.
+   *
+   * @return the timestamp.
+   */
+  public LocalDateTime getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * Returns the log ID.
+   *
+   * @return the log ID.
+   */
+  public LogID getLogID() {
+    return logID;
+  }
+
+  /**
+   * Checks whether a log comes after this cursor.
+   *
+   * @param log the log to check.
+   * @return true if the log belongs to a later page.
+   */
+  public boolean isBefore(Log log) {
+    int byTime = log.getTimeStamp().compareTo(timestamp);
+    return byTime > 0 || (byTime == 0 && log.getID().getID().compareTo(logID.getID()) > 0);
+  }
+
+  /**
+   * Indicates whether some other object is "equal to" this one.
+   *
+   * @param o the reference object with which to compare.
+   * @return true if this object is the same as the obj argument; false otherwise.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof LogCursor other) {
+      return timestamp.equals(other.timestamp) && logID.equals(other.logID);
+    }
+    return false;
+  }
+
+  /**
+   * Returns a hash code value for the object.
+   *
+   * @return a hash code value for this object.
+   */
+  @Override
+  public int hashCode() {
+    return timestamp.hashCode() * 31 + logID.hashCode();
+  }
+
+  /**
+   * Returns a string representation of the object.
+   *
+   * @return a string representation of the object.
+   */
+  @Override
+  public String toString() {
+    return "LogCursor:" +
+        "timestamp=" + timestamp +
+        ", logID=" + logID.getID();
+  }
+}
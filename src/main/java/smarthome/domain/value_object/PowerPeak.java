@@ -0,0 +1,88 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.domain.value_object;
+
+import java.time.LocalDateTime;
+import smarthome.ddd.IValueObject;
+
+/**
+ * Highest power drawn by the house at once, and the first time it was reached.
+ */
+public class PowerPeak implements IValueObject {
+
+  private final double value;
+  private final LocalDateTime timestamp;
+
+  /**
+   * Constructs a new PowerPeak.
+   *
+   * @param value     the sum of the concurrent power readings at the peak.
+   * @param timestamp the first time the peak was reached.
+   */
+  public PowerPeak(double value, LocalDateTime timestamp) {
+    if (timestamp == null) {
+      throw new IllegalArgumentException("Timestamp cannot be null.");
+    }
+    this.value = value;
+    this.timestamp = timestamp;
+  }
+
+  /**
+   * Returns the power at the peak.
+   *
+   * @return the power at the peak.
+   */
+  public double getValue() {
+    return value;
+  }
+
+  /**
+   * Returns the first time the peak was reached.
+   *
+   * @return the timestamp of the peak.
+   */
+  public LocalDateTime getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * Indicates whether some other object is "equal to" this one.
+   *
+   * @param o the reference object with which to compare.
+   * @return true if this object is the same as the obj argument; false otherwise.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof PowerPeak other) {
+      return Double.compare(value, other.value) == 0 && timestamp.equals(other.timestamp);
+    }
+    return false;
+  }
+
+  /**
+   * Returns a hash code value for the object.
+   *
+   * @return a hash code value for this object.
+   */
+  @Override
+  public int hashCode() {
+    return Double.hashCode(value) * 31 + timestamp.hashCode();
+  }
+
+  /**
+   * Returns a string representation of the object.
+   *
+   * @return a string representation of the object.
+   */
+  @Override
+  public String toString() {
+    return "PowerPeak:" +
+        "value=" + value +
+        ", timestamp=" + timestamp;
+  }
+}
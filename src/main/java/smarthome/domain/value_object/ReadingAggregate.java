@@ -0,0 +1,183 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.domain.value_object;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import smarthome.ddd.IValueObject;
+import smarthome.utils.Validator;
+
+/**
+ * Count, minimum, maximum, sum, first and last of the numeric readings of one time bucket.
+ */
+public class ReadingAggregate implements IValueObject {
+
+  private final LocalDateTime bucketStart;
+  private final long count;
+  private final double min;
+  private final double max;
+  private final double sum;
+  private final double first;
+  private final LocalDateTime firstTime;
+  private final double last;
+  private final LocalDateTime lastTime;
+
+  /**
+   * Class constructor
+   */
+  public ReadingAggregate(LocalDateTime bucketStart, long count, double min, double max,
+      double sum, double first, LocalDateTime firstTime, double last, LocalDateTime lastTime) {
+    Validator.validateNotNull(bucketStart, "Bucket start");
+    Validator.validateNotNull(firstTime, "First reading time");
+    Validator.validateNotNull(lastTime, "Last reading time");
+    if (count <= 0) {
+      throw new IllegalArgumentException("Reading count must be positive");
+    }
+    this.bucketStart = bucketStart;
+    this.count = count;
+    this.min = min;
+    this.max = max;
+    this.sum = sum;
+    this.first = first;
+    this.firstTime = firstTime;
+    this.last = last;
+    this.lastTime = lastTime;
+  }
+
+  /**
+   * Method to create the aggregate of a single reading.
+   *
+   * @param bucketStart is the start of the bucket of the reading.
+   * @param time        is the time of the reading.
+   * @param value       is the numeric value of the reading.
+   * @return the aggregate.
+   */
+  public static ReadingAggregate of(LocalDateTime bucketStart, LocalDateTime time, double value) {
+    return new ReadingAggregate(bucketStart, 1, value, value, value, value, time, value, time);
+  }
+
+  /**
+   * Method to combine this aggregate with another one, keeping the bucket start of this one.
+   *
+   * @param other is the aggregate to combine with.
+   * @return the combined aggregate.
+   */
+  public ReadingAggregate merge(ReadingAggregate other) {
+    Validator.validateNotNull(other, "Reading aggregate");
+    boolean otherIsFirst = other.firstTime.isBefore(firstTime);
+    boolean otherIsLast = !other.lastTime.isBefore(lastTime);
+    return new ReadingAggregate(bucketStart, count + other.count, Math.min(min, other.min),
+        Math.max(max, other.max), sum + other.sum,
+        otherIsFirst ? other.first : first, otherIsFirst ? other.firstTime : firstTime,
+        otherIsLast ? other.last : last, otherIsLast ? other.lastTime : lastTime);
+  }
+
+  /**
+   * @param bucketStart is the start of another bucket.
+   * @return the same aggregate moved to the given bucket.
+   */
+  public ReadingAggregate inBucket(LocalDateTime bucketStart) {
+    return new ReadingAggregate(bucketStart, count, min, max, sum, first, firstTime, last,
+        lastTime);
+  }
+
+  /**
+   * @return the start of the bucket.
+   */
+  public LocalDateTime getBucketStart() {
+    return bucketStart;
+  }
+
+  /**
+   * @return the number of readings.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * @return the lowest reading.
+   */
+  public double getMin() {
+    return min;
+  }
+
+  /**
+   * @return the highest reading.
+   */
+  public double getMax() {
+    return max;
+  }
+
+  /**
+   * @return the sum of the readings.
+   */
+  public double getSum() {
+    return sum;
+  }
+
+  /**
+   * @return the mean of the readings.
+   */
+  public double getAverage() {
+    return sum / count;
+  }
+
+  /**
+   * @return the earliest reading.
+   */
+  public double getFirst() {
+    return first;
+  }
+
+  /**
+   * @return the time of the earliest reading.
+   */
+  public LocalDateTime getFirstTime() {
+    return firstTime;
+  }
+
+  /**
+   * @return the latest reading.
+   */
+  public double getLast() {
+    return last;
+  }
+
+  /**
+   * @return the time of the latest reading.
+   */
+  public LocalDateTime getLastTime() {
+    return lastTime;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ReadingAggregate that)) {
+      return false;
+    }
+    return count == that.count && Double.compare(min, that.min) == 0
+        && Double.compare(max, that.max) == 0 && Double.compare(sum, that.sum) == 0
+        && Double.compare(first, that.first) == 0 && Double.compare(last, that.last) == 0
+        && bucketStart.equals(that.bucketStart) && firstTime.equals(that.firstTime)
+        && lastTime.equals(that.lastTime);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(bucketStart, count, min, max, sum, first, firstTime, last, lastTime);
+  }
+
+  @Override
+  public String toString() {
+    return bucketStart + " count=" + count + " min=" + min + " max=" + max + " sum=" + sum;
+  }
+}
@@ -11,27 +11,188 @@ package smarthome.domain.value_object;
 import smarthome.ddd.IValueObject;
 import smarthome.utils.Validator;
 
+/**
+ * Value of a sensor reading. Numeric readings are parsed once, when the value is created, and
+ * carried as a primitive together with their kind; only non-numeric readings, such as sunrise and
+ * sunset times, keep their text. A reading is only typed as a number when its text is the canonical
+ * form of that number, so {@link #getValue()} always gives back the text the reading was created
+ * with.
+ */
 public class ReadingValue implements IValueObject {
 
-  private final String value;
+  private final ReadingKind kind;
+  private final long bits;
+  private final String text;
 
   /**
-   * Constructor of the class ReadingValue.
+   * Constructor of the class ReadingValue. Integers and decimal numbers written in canonical form,
+   * e.g. "21" or "21.5", are stored as numbers; any other value, including "007", "21.50", "1e5" or
+   * a number surrounded by spaces, is stored as text, unchanged.
    *
    * @param value is the value of the reading.
    */
   public ReadingValue(String value) {
     Validator.validateNotNull(value, "Reading Value");
-    this.value = value;
+    Long integer = parseInteger(value);
+    if (integer != null) {
+      this.kind = ReadingKind.INTEGER;
+      this.bits = integer;
+      this.text = null;
+      return;
+    }
+    Double decimal = parseDecimal(value);
+    if (decimal != null) {
+      this.kind = ReadingKind.DECIMAL;
+      this.bits = Double.doubleToLongBits(decimal);
+      this.text = null;
+    } else {
+      this.kind = ReadingKind.TEXT;
+      this.bits = 0;
+      this.text = value;
+    }
+  }
+
+  /**
+   * Constructor of an integer reading.
+   *
+   * @param value is the value of the reading.
+   */
+  public ReadingValue(long value) {
+    this.kind = ReadingKind.INTEGER;
+    this.bits = value;
+    this.text = null;
   }
 
   /**
-   * Getter for the reading value.
+   * Constructor of a decimal reading.
+   *
+   * @param value is the value of the reading.
+   */
+  public ReadingValue(double value) {
+    validateFinite(value);
+    this.kind = ReadingKind.DECIMAL;
+    this.bits = Double.doubleToLongBits(value);
+    this.text = null;
+  }
+
+  /**
+   * Getter for the reading value, as text. Numeric readings are written in their canonical form,
+   * e.g. "21" or "21.5".
    *
    * @return readingValue.
    */
   public String getValue() {
-    return value;
+    return switch (kind) {
+      case INTEGER -> Long.toString(bits);
+      case DECIMAL -> Double.toString(Double.longBitsToDouble(bits));
+      case TEXT -> text;
+    };
+  }
+
+  /**
+   * Getter for the kind of the reading.
+   *
+   * @return the kind of the reading.
+   */
+  public ReadingKind getKind() {
+    return kind;
+  }
+
+  /**
+   * Checks if the reading is a number.
+   *
+   * @return true if the reading is an integer or a decimal number.
+   */
+  public boolean isNumeric() {
+    return kind != ReadingKind.TEXT;
+  }
+
+  /**
+   * Getter for the numeric value of the reading.
+   *
+   * @return the value of the reading as a double.
+   */
+  public double getNumericValue() {
+    return switch (kind) {
+      case INTEGER -> bits;
+      case DECIMAL -> Double.longBitsToDouble(bits);
+      case TEXT -> throw new IllegalStateException("Reading value is not numeric");
+    };
+  }
+
+  /**
+   * Getter for the value of an integer reading.
+   *
+   * @return the value of the reading as a long.
+   */
+  public long getIntegerValue() {
+    if (kind != ReadingKind.INTEGER) {
+      throw new IllegalStateException("Reading value is not an integer");
+    }
+    return bits;
+  }
+
+  /**
+   * Parses an integer in canonical form without throwing on other values.
+   *
+   * @param value is the value to parse.
+   * @return the integer, or null if the value is not an integer that formats back to the same text.
+   */
+  private static Long parseInteger(String value) {
+    int length = value.length();
+    int start = value.startsWith("-") ? 1 : 0;
+    if (length == start || length - start > 19) {
+      return null;
+    }
+    for (int i = start; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return null;
+      }
+    }
+    try {
+      long integer = Long.parseLong(value);
+      return Long.toString(integer).equals(value) ? integer : null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Parses a finite decimal number in canonical form without throwing on values that are clearly
+   * not numbers.
+   *
+   * @param value is the value to parse.
+   * @return the number, or null if the value is not a finite decimal number that formats back to
+   *     the same text.
+   */
+  private static Double parseDecimal(String value) {
+    if (value.isEmpty()) {
+      return null;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if ((c < '0' || c > '9') && c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+        return null;
+      }
+    }
+    try {
+      double decimal = Double.parseDouble(value);
+      return Double.isFinite(decimal) && Double.toString(decimal).equals(value) ? decimal : null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Validates that a decimal reading is a finite number.
+   *
+   * @param value is the value to validate.
+   */
+  private static void validateFinite(double value) {
+    if (!Double.isFinite(value)) {
+      throw new IllegalArgumentException("Reading Value must be a finite number");
+    }
   }
 
   /**
@@ -43,7 +204,11 @@ public class ReadingValue implements IValueObject {
   @Override
   public boolean equals(Object o) {
     if (o instanceof ReadingValue readingValue) {
-      return value.equals(readingValue.value);
+      if (kind != readingValue.kind) {
+        return false;
+      }
+      return kind == ReadingKind.TEXT ? text.equals(readingValue.text)
+          : bits == readingValue.bits;
     }
     return false;
   }
@@ -55,6 +220,6 @@ public class ReadingValue implements IValueObject {
    */
   @Override
   public int hashCode() {
-    return value.hashCode();
+    return getValue().hashCode();
   }
 }
@@ -0,0 +1,67 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.domain.value_object;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket size of aggregated readings, from the finest to the coarsest.
+ */
+public enum Resolution {
+  MINUTE(ChronoUnit.MINUTES),
+  HOUR(ChronoUnit.HOURS),
+  DAY(ChronoUnit.DAYS);
+
+  private final ChronoUnit unit;
+
+  Resolution(ChronoUnit unit) {
+    this.unit = unit;
+  }
+
+  /**
+   * @param time is any instant.
+   * @return the start of the bucket that contains the instant.
+   */
+  public LocalDateTime bucketStart(LocalDateTime time) {
+    return time.truncatedTo(unit);
+  }
+
+  /**
+   * @param time is any instant.
+   * @return the first bucket start at or after the instant.
+   */
+  public LocalDateTime nextBucketStart(LocalDateTime time) {
+    LocalDateTime start = bucketStart(time);
+    return start.equals(time) ? start : start.plus(1, unit);
+  }
+
+  /**
+   * @return the next finer resolution, or null for the finest one.
+   */
+  public Resolution finer() {
+    return ordinal() == 0 ? null : values()[ordinal() - 1];
+  }
+
+  /**
+   * Method to parse a resolution regardless of case.
+   *
+   * @param resolution is the name of the resolution.
+   * @return the resolution.
+   */
+  public static Resolution of(String resolution) {
+    if (resolution != null) {
+      for (Resolution value : values()) {
+        if (value.name().equalsIgnoreCase(resolution.trim())) {
+          return value;
+        }
+      }
+    }
+    throw new IllegalArgumentException("Resolution must be one of MINUTE, HOUR or DAY");
+  }
+}
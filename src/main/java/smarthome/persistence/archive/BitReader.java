@@ -0,0 +1,66 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.archive;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads bits, most significant bit first, from a region of a buffer written by BitWriter. Only
+ * absolute reads are used, so several readers can share the same buffer.
+ */
+final class BitReader {
+
+  private final ByteBuffer buffer;
+  private int position;
+  private int current;
+  private int available;
+
+  /**
+   * Class constructor
+   *
+   * @param buffer is the buffer that holds the bits.
+   * @param offset is the position of the first byte.
+   */
+  BitReader(ByteBuffer buffer, int offset) {
+    this.buffer = buffer;
+    this.position = offset;
+  }
+
+  /**
+   * Method to read one bit.
+   */
+  boolean readBit() {
+    if (available == 0) {
+      current = buffer.get(position++) & 0xFF;
+      available = 8;
+    }
+    available--;
+    return ((current >>> available) & 1) != 0;
+  }
+
+  /**
+   * Method to read bits into the lowest bits of a long.
+   *
+   * @param count is the number of bits, between 0 and 64.
+   */
+  long readBits(int count) {
+    long result = 0;
+    while (count > 0) {
+      if (available == 0) {
+        current = buffer.get(position++) & 0xFF;
+        available = 8;
+      }
+      int taken = Math.min(count, available);
+      available -= taken;
+      result = (result << taken) | ((current >>> available) & ((1 << taken) - 1));
+      count -= taken;
+    }
+    return result;
+  }
+}
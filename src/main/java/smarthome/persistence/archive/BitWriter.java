@@ -0,0 +1,81 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.archive;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer that bits are appended to, most significant bit first. Bits are collected in a
+ * 64-bit word that is copied to the byte array when it fills up.
+ */
+final class BitWriter {
+
+  private byte[] bytes = new byte[256];
+  private int length;
+  private long word;
+  private int free = Long.SIZE;
+
+  /**
+   * Method to append one bit.
+   */
+  void writeBit(boolean bit) {
+    writeBits(bit ? 1 : 0, 1);
+  }
+
+  /**
+   * Method to append the lowest bits of a value.
+   *
+   * @param value is the value whose bits are appended.
+   * @param count is the number of bits, between 0 and 64.
+   */
+  void writeBits(long value, int count) {
+    if (count == 0) {
+      return;
+    }
+    if (count < Long.SIZE) {
+      value &= (1L << count) - 1;
+    }
+    if (count <= free) {
+      free -= count;
+      word |= value << free;
+      if (free == 0) {
+        flushWord();
+      }
+    } else {
+      int rest = count - free;
+      word |= value >>> rest;
+      flushWord();
+      free = Long.SIZE - rest;
+      word = value << free;
+    }
+  }
+
+  /**
+   * @return the bits written so far, padded with zeros to a whole number of bytes.
+   */
+  byte[] toByteArray() {
+    int used = Long.SIZE - free;
+    byte[] result = Arrays.copyOf(bytes, length + (used + 7) / 8);
+    for (int i = 0; i < (used + 7) / 8; i++) {
+      result[length + i] = (byte) (word >>> (Long.SIZE - 8 * (i + 1)));
+    }
+    return result;
+  }
+
+  private void flushWord() {
+    if (length + Long.BYTES > bytes.length) {
+      bytes = Arrays.copyOf(bytes, bytes.length * 2);
+    }
+    for (int i = 0; i < Long.BYTES; i++) {
+      bytes[length++] = (byte) (word >>> (Long.SIZE - 8 * (i + 1)));
+    }
+    word = 0;
+    free = Long.SIZE;
+  }
+}
@@ -0,0 +1,426 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.utils.Validator;
+import smarthome.utils.time_series.EpochNanos;
+
+/**
+ * Catalog of the compressed log segments kept in a directory, with one sub-directory per device.
+ * <p>
+ * Segments are written once by seal and never modified; they are only deleted as a whole by the
+ * retention policy, once their last reading is older than the retention cutoff. The catalog keeps
+ * the segments of each device sorted by first timestamp, and queries copy that list under the
+ * read lock and decode the segments without holding it.
+ */
+public class LogArchive {
+
+  private final Path directory;
+  private final ILogFactory logFactory;
+  private final Map<DeviceID, List<LogSegment>> segments = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * LogArchive constructor. Opens the segments already in the directory and removes the
+   * temporary files of seals that did not finish.
+   *
+   * @param directory  is the directory of the segment files, created if it does not exist.
+   * @param logFactory is the factory used to build Log instances from the segments.
+   */
+  public LogArchive(Path directory, ILogFactory logFactory) {
+    Validator.validateNotNull(directory, "Archive directory");
+    Validator.validateNotNull(logFactory, "Log Factory");
+    this.directory = directory;
+    this.logFactory = logFactory;
+
+    try {
+      Files.createDirectories(directory);
+      List<Path> files;
+      try (Stream<Path> walk = Files.walk(directory)) {
+        files = walk.filter(Files::isRegularFile).toList();
+      }
+      for (Path file : files) {
+        if (file.getFileName().toString().endsWith(LogSegment.EXTENSION)) {
+          add(LogSegment.open(file));
+        } else if (file.getFileName().toString().endsWith(".tmp")) {
+          Files.delete(file);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Method to write logs to new segments, one per series (device, sensor type, sensor, unit and
+   * reading kind). Logs that are already archived are skipped, so sealing the same logs again,
+   * e.g. after a failure before they were deleted from the hot store, writes nothing.
+   *
+   * @param logs are the logs to archive.
+   * @return the number of logs written.
+   */
+  public synchronized int seal(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+
+    Map<List<Object>, List<Log>> series = new LinkedHashMap<>();
+    for (Log log : logs) {
+      series.computeIfAbsent(List.of(log.getDeviceID(), log.getDescription(), log.getSensorID(),
+              log.getUnit(), log.getReadingValue().getKind()), key -> new ArrayList<>())
+          .add(log);
+    }
+
+    int written = 0;
+    try {
+      for (List<Log> seriesLogs : series.values()) {
+        seriesLogs.sort(LogCursor.ORDER);
+        Set<LogID> archived = new HashSet<>();
+        Log first = seriesLogs.get(0);
+        scan(first.getDeviceID(), first.getDescription(),
+            seriesLogs.get(0).getTimeStamp(), seriesLogs.get(seriesLogs.size() - 1).getTimeStamp(),
+            log -> archived.add(log.getID()));
+        List<Log> fresh = archived.isEmpty() ? seriesLogs
+            : seriesLogs.stream().filter(log -> !archived.contains(log.getID())).toList();
+        if (!fresh.isEmpty()) {
+          add(LogSegment.write(newSegmentPath(first), fresh));
+          written += fresh.size();
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return written;
+  }
+
+  /**
+   * Method to find the archived logs of a device in a time period, both ends included.
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object, or null for every sensor type
+   * @param period       DatePeriod object
+   * @return List of Log, in (timestamp, log ID) order
+   */
+  public List<Log> find(DeviceID deviceID, SensorTypeID sensorTypeID, DatePeriod period) {
+    List<Log> logs = new ArrayList<>();
+    scan(deviceID, sensorTypeID, period.getStartDate(), period.getEndDate(), logs::add);
+    logs.sort(LogCursor.ORDER);
+    return logs;
+  }
+
+  /**
+   * Method to visit the archived logs of a device in a time period one segment at a time, so that
+   * only one block of readings is decoded in memory at once.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param consumer receives each log
+   */
+  public void stream(DeviceID deviceID, DatePeriod period, Consumer<Log> consumer) {
+    scan(deviceID, null, period.getStartDate(), period.getEndDate(), log -> {
+      consumer.accept(log);
+      return true;
+    });
+  }
+
+  /**
+   * Method to find every archived log of a device and sensor type.
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return List of Log, in (timestamp, log ID) order
+   */
+  public List<Log> find(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    List<Log> logs = new ArrayList<>();
+    for (LogSegment segment : segmentsOf(deviceID, sensorTypeID)) {
+      segment.scan(Long.MIN_VALUE, Long.MAX_VALUE, logFactory, logs::add);
+    }
+    logs.sort(LogCursor.ORDER);
+    return logs;
+  }
+
+  /**
+   * Method to find a page of the archived logs of a device in a time period, in (timestamp, log
+   * ID) order. Segments are visited by first timestamp and each one stops after limit logs, so a
+   * page decodes about limit readings per overlapping segment instead of the whole period.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    position of the last log of the previous page, or null for the first page
+   * @param limit    maximum number of logs returned
+   * @return List of Log
+   */
+  public List<Log> findPage(DeviceID deviceID, DatePeriod period, LogCursor after, int limit) {
+    long start = EpochNanos.of(period.getStartDate());
+    if (after != null) {
+      start = Math.max(start, EpochNanos.of(after.getTimestamp()));
+    }
+    return page(segmentsOf(deviceID, null), start, EpochNanos.of(period.getEndDate()), after,
+        limit);
+  }
+
+  /**
+   * Method to find a page of the archived logs of every device, in (timestamp, log ID) order.
+   *
+   * @param after position of the last log of the previous page, or null for the first page
+   * @param limit maximum number of logs returned
+   * @return List of Log
+   */
+  public List<Log> findPage(LogCursor after, int limit) {
+    List<LogSegment> byFirstTime = new ArrayList<>(allSegments());
+    byFirstTime.sort(Comparator.comparingLong(LogSegment::firstTime));
+    long start = after == null ? Long.MIN_VALUE : EpochNanos.of(after.getTimestamp());
+    return page(byFirstTime, start, Long.MAX_VALUE, after, limit);
+  }
+
+  /**
+   * Reads a page from segments sorted by first timestamp, stopping at the first segment that
+   * starts after a full page.
+   */
+  private List<Log> page(List<LogSegment> segments, long start, long end, LogCursor after,
+      int limit) {
+    List<Log> page = new ArrayList<>();
+    for (LogSegment segment : segments) {
+      if (page.size() >= limit
+          && segment.firstTime() > EpochNanos.of(page.get(page.size() - 1).getTimeStamp())) {
+        break;
+      }
+      int[] taken = {0};
+      long[] lastTime = {Long.MIN_VALUE};
+      segment.scan(start, end, logFactory, log -> {
+        long time = EpochNanos.of(log.getTimeStamp());
+        if (taken[0] >= limit && time != lastTime[0]) {
+          return false;
+        }
+        if (after == null || after.isBefore(log)) {
+          page.add(log);
+          taken[0]++;
+          lastTime[0] = time;
+        }
+        return true;
+      });
+      page.sort(LogCursor.ORDER);
+      if (page.size() > limit) {
+        page.subList(limit, page.size()).clear();
+      }
+    }
+    return page;
+  }
+
+  /**
+   * Method to find every archived log.
+   *
+   * @return List of Log, grouped by device
+   */
+  public List<Log> findAll() {
+    List<Log> logs = new ArrayList<>();
+    for (LogSegment segment : allSegments()) {
+      segment.scan(Long.MIN_VALUE, Long.MAX_VALUE, logFactory, logs::add);
+    }
+    return logs;
+  }
+
+  /**
+   * Method to find an archived log by ID. Log IDs are not indexed, so this decodes every segment.
+   *
+   * @param logID LogID object
+   * @return Optional of Log
+   */
+  public Optional<Log> ofIdentity(LogID logID) {
+    Log[] found = new Log[1];
+    for (LogSegment segment : allSegments()) {
+      segment.scan(Long.MIN_VALUE, Long.MAX_VALUE, logFactory, log -> {
+        if (log.getID().equals(logID)) {
+          found[0] = log;
+          return false;
+        }
+        return true;
+      });
+      if (found[0] != null) {
+        return Optional.of(found[0]);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Method to find the latest archived log of a device and sensor type. Only the last block of
+   * the segments that end last is decoded.
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return Optional of Log
+   */
+  public Optional<Log> findLatest(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    List<LogSegment> candidates = segmentsOf(deviceID, sensorTypeID);
+    long lastTime = candidates.stream().mapToLong(LogSegment::lastTime).max()
+        .orElse(Long.MIN_VALUE);
+    return candidates.stream()
+        .filter(segment -> segment.lastTime() == lastTime)
+        .map(segment -> segment.last(logFactory))
+        .max(LogCursor.ORDER);
+  }
+
+  /**
+   * Method to check if a device has archived logs of a sensor type
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return boolean
+   */
+  public boolean contains(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    return !segmentsOf(deviceID, sensorTypeID).isEmpty();
+  }
+
+  /**
+   * Method to apply the retention policy: segments whose last reading is before the cutoff are
+   * removed from the catalog and their files deleted.
+   *
+   * @param cutoff LocalDateTime object
+   * @return the number of logs deleted.
+   */
+  public int deleteEndingBefore(LocalDateTime cutoff) {
+    long end = EpochNanos.of(cutoff);
+    List<LogSegment> expired = new ArrayList<>();
+    lock.writeLock().lock();
+    try {
+      for (List<LogSegment> deviceSegments : segments.values()) {
+        deviceSegments.removeIf(segment -> segment.lastTime() < end && expired.add(segment));
+      }
+      segments.values().removeIf(List::isEmpty);
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    int deleted = 0;
+    try {
+      for (LogSegment segment : expired) {
+        Files.deleteIfExists(segment.getPath());
+        deleted += segment.size();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return deleted;
+  }
+
+  /**
+   * @return the number of archived logs.
+   */
+  public long size() {
+    return allSegments().stream().mapToLong(LogSegment::size).sum();
+  }
+
+  /**
+   * @return the bytes taken by the segment files.
+   */
+  public long fileBytes() {
+    return allSegments().stream().mapToLong(LogSegment::fileSize).sum();
+  }
+
+  /**
+   * Method to visit the archived logs of a device between two times, both included, segment by
+   * segment.
+   */
+  private void scan(DeviceID deviceID, SensorTypeID sensorTypeID, LocalDateTime start,
+      LocalDateTime end, Predicate<Log> consumer) {
+    long from = EpochNanos.of(start);
+    long to = EpochNanos.of(end);
+    for (LogSegment segment : segmentsOf(deviceID, sensorTypeID)) {
+      if (segment.firstTime() > to) {
+        return;
+      }
+      if (segment.lastTime() >= from) {
+        segment.scan(from, to, logFactory, consumer);
+      }
+    }
+  }
+
+  /**
+   * Method to copy the segments of a device, sorted by first timestamp.
+   *
+   * @param sensorTypeID keeps only the segments of this sensor type, unless it is null.
+   */
+  private List<LogSegment> segmentsOf(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    lock.readLock().lock();
+    try {
+      List<LogSegment> deviceSegments = segments.getOrDefault(deviceID, List.of());
+      return sensorTypeID == null ? List.copyOf(deviceSegments) : deviceSegments.stream()
+          .filter(segment -> segment.getSensorTypeID().equals(sensorTypeID))
+          .toList();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private List<LogSegment> allSegments() {
+    lock.readLock().lock();
+    try {
+      return segments.values().stream().flatMap(List::stream).toList();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void add(LogSegment segment) {
+    lock.writeLock().lock();
+    try {
+      List<LogSegment> deviceSegments =
+          segments.computeIfAbsent(segment.getDeviceID(), key -> new ArrayList<>());
+      deviceSegments.add(segment);
+      deviceSegments.sort(Comparator.comparingLong(LogSegment::firstTime));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Method to name the file of a new segment after its sensor type and first timestamp, in the
+   * directory of its device.
+   */
+  private Path newSegmentPath(Log first) throws IOException {
+    Path deviceDirectory = directory.resolve(fileName(first.getDeviceID().getID()));
+    Files.createDirectories(deviceDirectory);
+    String prefix = fileName(first.getDescription().getID()) + "-"
+        + EpochNanos.of(first.getTimeStamp());
+    Path path = deviceDirectory.resolve(prefix + LogSegment.EXTENSION);
+    for (int i = 1; Files.exists(path); i++) {
+      path = deviceDirectory.resolve(prefix + "-" + i + LogSegment.EXTENSION);
+    }
+    return path;
+  }
+
+  private static String fileName(String id) {
+    return id.replaceAll("[^A-Za-z0-9._-]", "_");
+  }
+}
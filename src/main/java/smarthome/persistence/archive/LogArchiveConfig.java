@@ -0,0 +1,54 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.archive;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.repository.ILogRepository;
+
+/**
+ * Log archive, enabled with the "archive" profile. The log repository of the active profile
+ * becomes the hot tier of a TieredLogRepository, which is injected wherever an ILogRepository is
+ * needed, and LogArchiveJob moves old logs to compressed segments under
+ * smarthome.archive.directory.
+ */
+@Configuration
+@Profile("archive")
+@EnableScheduling
+public class LogArchiveConfig {
+
+  @Bean
+  public LogArchive logArchive(@Value("${smarthome.archive.directory:archive}") String directory,
+      ILogFactory logFactory) {
+    return new LogArchive(Path.of(directory), logFactory);
+  }
+
+  @Bean
+  @Primary
+  public TieredLogRepository tieredLogRepository(ILogRepository logRepository,
+      LogArchive logArchive) {
+    return new TieredLogRepository(logRepository, logArchive);
+  }
+
+  @Bean
+  public LogArchiveJob logArchiveJob(TieredLogRepository tieredLogRepository,
+      LogArchive logArchive,
+      @Value("${smarthome.archive.seal-after:P30D}") Duration sealAfter,
+      @Value("${smarthome.archive.retention:P730D}") Duration retention,
+      @Value("${smarthome.archive.batch-size:10000}") int batchSize) {
+    return new LogArchiveJob(tieredLogRepository, logArchive, sealAfter, retention, batchSize);
+  }
+}
@@ -0,0 +1,75 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.archive;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.springframework.scheduling.annotation.Scheduled;
+import smarthome.utils.Validator;
+
+/**
+ * Periodic job of the log archive: moves the logs older than sealAfter from the hot repository to
+ * the archive, then deletes the archived segments that ended more than retention ago.
+ */
+public class LogArchiveJob {
+
+  private final TieredLogRepository repository;
+  private final LogArchive archive;
+  private final Duration sealAfter;
+  private final Duration retention;
+  private final int batchSize;
+
+  /**
+   * LogArchiveJob constructor
+   *
+   * @param repository is the tiered repository whose old logs are archived.
+   * @param archive    is the archive the retention policy is applied to.
+   * @param sealAfter  is the age after which logs are archived.
+   * @param retention  is the age after which archived logs are deleted.
+   * @param batchSize  is the maximum number of logs sealed at once.
+   */
+  public LogArchiveJob(TieredLogRepository repository, LogArchive archive, Duration sealAfter,
+      Duration retention, int batchSize) {
+    Validator.validateNotNull(repository, "Tiered log repository");
+    Validator.validateNotNull(archive, "Log archive");
+    Validator.validateNotNull(sealAfter, "Seal after");
+    Validator.validateNotNull(retention, "Retention");
+    if (retention.compareTo(sealAfter) <= 0) {
+      throw new IllegalArgumentException("Retention must be longer than the age of sealing.");
+    }
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive.");
+    }
+    this.repository = repository;
+    this.archive = archive;
+    this.sealAfter = sealAfter;
+    this.retention = retention;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Method run every smarthome.archive.interval, the first time one interval after the application
+   * starts.
+   */
+  @Scheduled(fixedDelayString = "${smarthome.archive.interval:PT1H}",
+      initialDelayString = "${smarthome.archive.interval:PT1H}")
+  public void run() {
+    run(LocalDateTime.now());
+  }
+
+  /**
+   * Method to archive and expire logs relative to a given time.
+   *
+   * @param now is the current time.
+   */
+  public void run(LocalDateTime now) {
+    repository.archiveOlderThan(now.minus(sealAfter), batchSize);
+    archive.deleteEndingBefore(now.minus(retention));
+  }
+}
@@ -0,0 +1,494 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingKind;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.utils.time_series.EpochNanos;
+
+/**
+ * Immutable file holding the readings of one series (device, sensor type, sensor, unit and reading
+ * kind), sorted in (timestamp, log ID) order, and read through a memory-mapped buffer.
+ * <p>
+ * The readings are split in blocks of BLOCK_SIZE, listed in the header with their first and last
+ * timestamps so that a time range only decodes the blocks it overlaps. Each block is compressed on
+ * its own, as in Facebook's Gorilla: timestamps are stored as deltas of deltas, in the largest
+ * unit (second, millisecond, microsecond or nanosecond) that divides all of them, and numeric
+ * values as the XOR of their 64 bits with the previous value. Log IDs and text values follow the
+ * bit stream, UUIDs in 16 bytes and anything else as UTF-8.
+ */
+final class LogSegment {
+
+  static final String EXTENSION = ".seg";
+  static final int BLOCK_SIZE = 1024;
+
+  private static final int MAGIC = 0x4C4F4753;
+  private static final byte VERSION = 1;
+  private static final long[] TICKS = {EpochNanos.PER_SECOND, 1_000_000L, 1_000L, 1L};
+
+  private final Path path;
+  private final MappedByteBuffer buffer;
+  private final ReadingKind kind;
+  private final boolean uuidIDs;
+  private final DeviceID deviceID;
+  private final SensorTypeID sensorTypeID;
+  private final SensorID sensorID;
+  private final UnitID unitID;
+  private final int count;
+  private final long[] blockFirstTimes;
+  private final long[] blockLastTimes;
+  private final int[] blockCounts;
+  private final int[] blockOffsets;
+
+  private LogSegment(Path path, MappedByteBuffer buffer) {
+    this.path = path;
+    this.buffer = buffer;
+    if (buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+      throw new IllegalArgumentException("Not a log segment: " + path);
+    }
+    this.kind = ReadingKind.values()[buffer.get(5)];
+    this.uuidIDs = buffer.get(6) == 1;
+    int[] position = {7};
+    this.deviceID = new DeviceID(readString(buffer, position));
+    this.sensorTypeID = new SensorTypeID(readString(buffer, position));
+    this.sensorID = new SensorID(readString(buffer, position));
+    this.unitID = new UnitID(readString(buffer, position));
+    this.count = buffer.getInt(position[0]);
+    int blocks = buffer.getInt(position[0] + Integer.BYTES);
+    position[0] += 2 * Integer.BYTES;
+    this.blockFirstTimes = new long[blocks];
+    this.blockLastTimes = new long[blocks];
+    this.blockCounts = new int[blocks];
+    this.blockOffsets = new int[blocks];
+    for (int i = 0; i < blocks; i++) {
+      int entry = position[0] + i * (2 * Long.BYTES + 2 * Integer.BYTES);
+      blockFirstTimes[i] = buffer.getLong(entry);
+      blockLastTimes[i] = buffer.getLong(entry + Long.BYTES);
+      blockCounts[i] = buffer.getInt(entry + 2 * Long.BYTES);
+      blockOffsets[i] = buffer.getInt(entry + 2 * Long.BYTES + Integer.BYTES);
+    }
+  }
+
+  /**
+   * Method to write the logs of one series to a new segment file. The file is written next to its
+   * final path, forced to disk and then renamed, so a segment is either complete or absent.
+   *
+   * @param path is the path of the segment file.
+   * @param logs are the logs, all of the same series and sorted in (timestamp, log ID) order.
+   * @return the segment, mapped from the written file.
+   */
+  static LogSegment write(Path path, List<Log> logs) throws IOException {
+    Log first = logs.get(0);
+    boolean uuidIDs = logs.stream().allMatch(log -> isCanonicalUUID(log.getID().getID()));
+    int blocks = (logs.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+    ByteArrayOutputStream data = new ByteArrayOutputStream();
+    ByteArrayOutputStream index = new ByteArrayOutputStream();
+    DataOutputStream indexOut = new DataOutputStream(index);
+    for (int block = 0; block < blocks; block++) {
+      List<Log> blockLogs =
+          logs.subList(block * BLOCK_SIZE, Math.min(logs.size(), (block + 1) * BLOCK_SIZE));
+      indexOut.writeLong(EpochNanos.of(blockLogs.get(0).getTimeStamp()));
+      indexOut.writeLong(EpochNanos.of(blockLogs.get(blockLogs.size() - 1).getTimeStamp()));
+      indexOut.writeInt(blockLogs.size());
+      indexOut.writeInt(data.size());
+      writeBlock(new DataOutputStream(data), blockLogs, first.getReadingValue().getKind(),
+          uuidIDs);
+    }
+
+    ByteArrayOutputStream header = new ByteArrayOutputStream();
+    DataOutputStream headerOut = new DataOutputStream(header);
+    headerOut.writeInt(MAGIC);
+    headerOut.writeByte(VERSION);
+    headerOut.writeByte(first.getReadingValue().getKind().ordinal());
+    headerOut.writeByte(uuidIDs ? 1 : 0);
+    writeString(headerOut, first.getDeviceID().getID());
+    writeString(headerOut, first.getDescription().getID());
+    writeString(headerOut, first.getSensorID().getID());
+    writeString(headerOut, first.getUnit().getID());
+    headerOut.writeInt(logs.size());
+    headerOut.writeInt(blocks);
+
+    int dataStart = header.size() + index.size();
+    ByteBuffer offsets = ByteBuffer.wrap(index.toByteArray());
+    for (int block = 0; block < blocks; block++) {
+      int entry = block * (2 * Long.BYTES + 2 * Integer.BYTES) + 2 * Long.BYTES + Integer.BYTES;
+      offsets.putInt(entry, offsets.getInt(entry) + dataStart);
+    }
+
+    Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      writeFully(channel, ByteBuffer.wrap(header.toByteArray()));
+      writeFully(channel, offsets.rewind());
+      writeFully(channel, ByteBuffer.wrap(data.toByteArray()));
+      channel.force(true);
+    }
+    Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+    return open(path);
+  }
+
+  /**
+   * Method to open a segment file.
+   *
+   * @param path is the path of the segment file.
+   * @return the segment.
+   */
+  static LogSegment open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new LogSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Method to visit the readings of the segment between two times, both included, in (timestamp,
+   * log ID) order. Blocks outside the range are skipped without being decoded.
+   *
+   * @param from     is the start of the range, in nanoseconds since the epoch.
+   * @param to       is the end of the range, in nanoseconds since the epoch.
+   * @param factory  is the factory used to build the logs.
+   * @param consumer receives each log and returns false to stop the scan.
+   * @return false if the consumer stopped the scan.
+   */
+  boolean scan(long from, long to, ILogFactory factory, Predicate<Log> consumer) {
+    for (int block = 0; block < blockOffsets.length; block++) {
+      if (blockLastTimes[block] < from) {
+        continue;
+      }
+      if (blockFirstTimes[block] > to) {
+        return true;
+      }
+      if (!scanBlock(block, from, to, factory, consumer)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Method to get the last reading of the segment, which only decodes the last block.
+   *
+   * @param factory is the factory used to build the log.
+   * @return the last log in (timestamp, log ID) order.
+   */
+  Log last(ILogFactory factory) {
+    int block = blockOffsets.length - 1;
+    Log[] last = new Log[1];
+    scanBlock(block, blockLastTimes[block], blockLastTimes[block], factory, log -> {
+      last[0] = log;
+      return true;
+    });
+    return last[0];
+  }
+
+  /**
+   * Method to decode a block and visit the readings between two times.
+   */
+  private boolean scanBlock(int block, long from, long to, ILogFactory factory,
+      Predicate<Log> consumer) {
+    int offset = blockOffsets[block];
+    int size = blockCounts[block];
+    long tick = buffer.getLong(offset);
+    int streamBytes = buffer.getInt(offset + Long.BYTES);
+    int streamStart = offset + Long.BYTES + Integer.BYTES;
+    int idStart = streamStart + streamBytes;
+
+    long[] times = new long[size];
+    long[] values = new long[size];
+    BitReader bits = new BitReader(buffer, streamStart);
+    times[0] = bits.readBits(Long.SIZE);
+    if (kind != ReadingKind.TEXT) {
+      values[0] = bits.readBits(Long.SIZE);
+    }
+    long delta = 0;
+    int leading = 0;
+    int trailing = 0;
+    for (int i = 1; i < size; i++) {
+      delta += readDeltaOfDelta(bits);
+      times[i] = times[i - 1] + delta * tick;
+      if (kind == ReadingKind.TEXT) {
+        continue;
+      }
+      if (!bits.readBit()) {
+        values[i] = values[i - 1];
+        continue;
+      }
+      if (bits.readBit()) {
+        leading = (int) bits.readBits(5);
+        int significant = (int) bits.readBits(6);
+        trailing = Long.SIZE - leading - (significant == 0 ? Long.SIZE : significant);
+      }
+      long xor = bits.readBits(Long.SIZE - leading - trailing) << trailing;
+      values[i] = values[i - 1] ^ xor;
+    }
+
+    int[] position = {idStart};
+    String[] ids = null;
+    if (uuidIDs) {
+      position[0] += size * 2 * Long.BYTES;
+    } else {
+      ids = new String[size];
+      for (int i = 0; i < size; i++) {
+        ids[i] = readString(buffer, position);
+      }
+    }
+    String[] texts = null;
+    if (kind == ReadingKind.TEXT) {
+      texts = new String[size];
+      for (int i = 0; i < size; i++) {
+        texts[i] = readString(buffer, position);
+      }
+    }
+
+    for (int i = 0; i < size; i++) {
+      if (times[i] < from || times[i] > to) {
+        continue;
+      }
+      String id = uuidIDs
+          ? new UUID(buffer.getLong(idStart + i * 2 * Long.BYTES),
+          buffer.getLong(idStart + i * 2 * Long.BYTES + Long.BYTES)).toString()
+          : ids[i];
+      ReadingValue reading = switch (kind) {
+        case INTEGER -> new ReadingValue(values[i]);
+        case DECIMAL -> new ReadingValue(Double.longBitsToDouble(values[i]));
+        case TEXT -> new ReadingValue(texts[i]);
+      };
+      Log log = factory.createLog(new LogID(id), deviceID, sensorID,
+          EpochNanos.toLocalDateTime(times[i]), reading, sensorTypeID, unitID);
+      if (!consumer.test(log)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Method to write one block: its tick, the bit stream of timestamps and values, then the log IDs
+   * and, for text readings, the values.
+   */
+  private static void writeBlock(DataOutputStream out, List<Log> logs, ReadingKind kind,
+      boolean uuidIDs) throws IOException {
+    long[] times = new long[logs.size()];
+    for (int i = 0; i < times.length; i++) {
+      times[i] = EpochNanos.of(logs.get(i).getTimeStamp());
+    }
+    long tick = tickOf(times);
+
+    BitWriter bits = new BitWriter();
+    bits.writeBits(times[0], Long.SIZE);
+    long previousValue = valueBits(logs.get(0), kind);
+    if (kind != ReadingKind.TEXT) {
+      bits.writeBits(previousValue, Long.SIZE);
+    }
+    long previousDelta = 0;
+    int leading = Integer.MAX_VALUE;
+    int trailing = 0;
+    for (int i = 1; i < times.length; i++) {
+      long delta = (times[i] - times[i - 1]) / tick;
+      writeDeltaOfDelta(bits, delta - previousDelta);
+      previousDelta = delta;
+      if (kind == ReadingKind.TEXT) {
+        continue;
+      }
+      long value = valueBits(logs.get(i), kind);
+      long xor = value ^ previousValue;
+      previousValue = value;
+      if (xor == 0) {
+        bits.writeBit(false);
+        continue;
+      }
+      bits.writeBit(true);
+      int newLeading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+      int newTrailing = Long.numberOfTrailingZeros(xor);
+      if (newLeading >= leading && newTrailing >= trailing) {
+        bits.writeBit(false);
+      } else {
+        leading = newLeading;
+        trailing = newTrailing;
+        bits.writeBit(true);
+        bits.writeBits(leading, 5);
+        bits.writeBits(Long.SIZE - leading - trailing, 6);
+      }
+      bits.writeBits(xor >>> trailing, Long.SIZE - leading - trailing);
+    }
+
+    byte[] stream = bits.toByteArray();
+    out.writeLong(tick);
+    out.writeInt(stream.length);
+    out.write(stream);
+    for (Log log : logs) {
+      if (uuidIDs) {
+        UUID uuid = UUID.fromString(log.getID().getID());
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+      } else {
+        writeString(out, log.getID().getID());
+      }
+    }
+    if (kind == ReadingKind.TEXT) {
+      for (Log log : logs) {
+        writeString(out, log.getReadingValue().getValue());
+      }
+    }
+  }
+
+  /**
+   * Method to write a delta of delta with the variable-length prefix of Gorilla: a single 0 bit
+   * when the interval does not change, and 7, 9 or 12 bits, or the whole long, otherwise.
+   */
+  private static void writeDeltaOfDelta(BitWriter bits, long deltaOfDelta) {
+    if (deltaOfDelta == 0) {
+      bits.writeBit(false);
+    } else if (fits(deltaOfDelta, 7)) {
+      bits.writeBits(0b10, 2);
+      bits.writeBits(deltaOfDelta, 7);
+    } else if (fits(deltaOfDelta, 9)) {
+      bits.writeBits(0b110, 3);
+      bits.writeBits(deltaOfDelta, 9);
+    } else if (fits(deltaOfDelta, 12)) {
+      bits.writeBits(0b1110, 4);
+      bits.writeBits(deltaOfDelta, 12);
+    } else {
+      bits.writeBits(0b1111, 4);
+      bits.writeBits(deltaOfDelta, Long.SIZE);
+    }
+  }
+
+  private static long readDeltaOfDelta(BitReader bits) {
+    if (!bits.readBit()) {
+      return 0;
+    }
+    int width;
+    if (!bits.readBit()) {
+      width = 7;
+    } else if (!bits.readBit()) {
+      width = 9;
+    } else if (!bits.readBit()) {
+      width = 12;
+    } else {
+      return bits.readBits(Long.SIZE);
+    }
+    long value = bits.readBits(width);
+    return (value << (Long.SIZE - width)) >> (Long.SIZE - width);
+  }
+
+  private static boolean fits(long value, int width) {
+    long bound = 1L << (width - 1);
+    return value >= -bound && value < bound;
+  }
+
+  /**
+   * Method to choose the largest unit that divides the interval between every timestamp of a
+   * block and the first one.
+   */
+  private static long tickOf(long[] times) {
+    for (long tick : TICKS) {
+      boolean divides = true;
+      for (int i = 1; i < times.length && divides; i++) {
+        divides = (times[i] - times[0]) % tick == 0;
+      }
+      if (divides) {
+        return tick;
+      }
+    }
+    return 1L;
+  }
+
+  private static long valueBits(Log log, ReadingKind kind) {
+    return switch (kind) {
+      case INTEGER -> log.getReadingValue().getIntegerValue();
+      case DECIMAL -> Double.doubleToRawLongBits(log.getReadingValue().getNumericValue());
+      case TEXT -> 0;
+    };
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer buffer, int[] position) {
+    int length = buffer.getInt(position[0]);
+    byte[] bytes = new byte[length];
+    buffer.get(position[0] + Integer.BYTES, bytes);
+    position[0] += Integer.BYTES + length;
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer bytes) throws IOException {
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+  }
+
+  /**
+   * Method to check if a log ID is a UUID in its canonical lower-case form, which is rebuilt
+   * identically from its 16 bytes.
+   */
+  private static boolean isCanonicalUUID(String id) {
+    if (id.length() != 36 || id.charAt(8) != '-') {
+      return false;
+    }
+    try {
+      return UUID.fromString(id).toString().equals(id);
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  DeviceID getDeviceID() {
+    return deviceID;
+  }
+
+  SensorTypeID getSensorTypeID() {
+    return sensorTypeID;
+  }
+
+  int size() {
+    return count;
+  }
+
+  long firstTime() {
+    return blockFirstTimes[0];
+  }
+
+  long lastTime() {
+    return blockLastTimes[blockLastTimes.length - 1];
+  }
+
+  long fileSize() {
+    return buffer.capacity();
+  }
+}
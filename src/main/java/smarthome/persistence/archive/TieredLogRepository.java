@@ -0,0 +1,309 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.archive;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import smarthome.domain.log.Log;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.utils.Validator;
+
+/**
+ * Log repository in two tiers: recent logs in a hot repository, such as the Logs table, and old
+ * logs in a LogArchive of compressed segment files.
+ * <p>
+ * New logs are always saved to the hot repository, and archiveOlderThan moves the logs older than
+ * a cutoff to the archive a batch at a time. Queries read both tiers and return the archived logs
+ * first. A batch is sealed and deleted from the hot repository under a write lock that queries
+ * share, so a query never sees a log twice or misses one that is being moved.
+ */
+public class TieredLogRepository implements ILogRepository {
+
+  private static final long ARCHIVE_LOCK_TIMEOUT_MILLIS = 100;
+
+  private final ILogRepository hot;
+  private final LogArchive archive;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * TieredLogRepository constructor
+   *
+   * @param hot     is the repository of the recent logs.
+   * @param archive is the archive of the old logs.
+   */
+  public TieredLogRepository(ILogRepository hot, LogArchive archive) {
+    Validator.validateNotNull(hot, "Log repository");
+    Validator.validateNotNull(archive, "Log archive");
+    this.hot = hot;
+    this.archive = archive;
+  }
+
+  /**
+   * Method to move the logs older than a cutoff from the hot repository to the archive, in batches
+   * sealed into segments and then deleted from the hot repository. When queries hold the lock for
+   * longer than ARCHIVE_LOCK_TIMEOUT_MILLIS, the remaining logs are left for the next call instead
+   * of making new queries wait.
+   *
+   * @param cutoff    logs strictly before this time are archived.
+   * @param batchSize maximum number of logs sealed at once.
+   * @return the number of logs moved.
+   */
+  public int archiveOlderThan(LocalDateTime cutoff, int batchSize) {
+    Validator.validateNotNull(cutoff, "Cutoff");
+
+    int moved = 0;
+    while (true) {
+      List<Log> batch = hot.findOlderThan(cutoff, batchSize);
+      if (batch.isEmpty() || !lockForArchive()) {
+        return moved;
+      }
+      try {
+        archive.seal(batch);
+        hot.deleteAll(batch);
+      } finally {
+        lock.writeLock().unlock();
+      }
+      moved += batch.size();
+      if (batch.size() < batchSize) {
+        return moved;
+      }
+    }
+  }
+
+  private boolean lockForArchive() {
+    try {
+      return lock.writeLock().tryLock(ARCHIVE_LOCK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  @Override
+  public Log save(Log log) {
+    return hot.save(log);
+  }
+
+  @Override
+  public List<Log> saveAll(List<Log> logs) {
+    return hot.saveAll(logs);
+  }
+
+  @Override
+  public List<Log> findAll() {
+    lock.readLock().lock();
+    try {
+      return concat(archive.findAll(), hot.findAll());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public Optional<Log> ofIdentity(LogID logID) {
+    lock.readLock().lock();
+    try {
+      Optional<Log> log = hot.ofIdentity(logID);
+      return log.isPresent() ? log : archive.ofIdentity(logID);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean containsOfIdentity(LogID logID) {
+    return ofIdentity(logID).isPresent();
+  }
+
+  @Override
+  public List<Log> findByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period) {
+    lock.readLock().lock();
+    try {
+      return concat(archive.find(deviceID, null, period),
+          hot.findByDeviceIDAndDatePeriodBetween(deviceID, period));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to find a page of logs by device ID and time period, merging a page of each tier.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    position of the last log of the previous page, or null for the first page
+   * @param limit    maximum number of logs returned
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findPageByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period,
+      LogCursor after, int limit) {
+    lock.readLock().lock();
+    try {
+      List<Log> logs = concat(archive.findPage(deviceID, period, after, limit),
+          hot.findPageByDeviceIDAndDatePeriodBetween(deviceID, period, after, limit));
+      logs.sort(LogCursor.ORDER);
+      return logs.size() > limit ? new ArrayList<>(logs.subList(0, limit)) : logs;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to find a page of the logs of every device, merging a page of each tier.
+   *
+   * @param after position of the last log of the previous page, or null for the first page
+   * @param limit maximum number of logs returned
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findPage(LogCursor after, int limit) {
+    lock.readLock().lock();
+    try {
+      List<Log> logs = concat(archive.findPage(after, limit), hot.findPage(after, limit));
+      logs.sort(LogCursor.ORDER);
+      return logs.size() > limit ? new ArrayList<>(logs.subList(0, limit)) : logs;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to visit logs by device ID and time period, the archived ones first. The read lock is
+   * held until the last log is visited.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param consumer receives each log
+   */
+  @Override
+  public void streamByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> consumer) {
+    lock.readLock().lock();
+    try {
+      archive.stream(deviceID, period, consumer);
+      hot.streamByDeviceIDAndDatePeriodBetween(deviceID, period, consumer);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<Log> findByDeviceIDAndSensorTypeAndDatePeriodBetween(DeviceID deviceID,
+      SensorTypeID sensorTypeID, DatePeriod period) {
+    lock.readLock().lock();
+    try {
+      return concat(archive.find(deviceID, sensorTypeID, period),
+          hot.findByDeviceIDAndSensorTypeAndDatePeriodBetween(deviceID, sensorTypeID, period));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<Log> findByDeviceIDsAndSensorTypeAndDatePeriodBetween(List<DeviceID> deviceIDs,
+      SensorTypeID sensorTypeID, DatePeriod period) {
+    lock.readLock().lock();
+    try {
+      List<Log> archived = new ArrayList<>();
+      for (DeviceID deviceID : deviceIDs.stream().distinct().toList()) {
+        archived.addAll(archive.find(deviceID, sensorTypeID, period));
+      }
+      return concat(archived,
+          hot.findByDeviceIDsAndSensorTypeAndDatePeriodBetween(deviceIDs, sensorTypeID, period));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<Log> findByDeviceIDAndSensorTypeID(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    lock.readLock().lock();
+    try {
+      return concat(archive.find(deviceID, sensorTypeID),
+          hot.findByDeviceIDAndSensorTypeID(deviceID, sensorTypeID));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to find the latest log of a device and sensor type. A late reading can reach the hot
+   * repository after newer ones were archived, so the latest log of each tier is compared.
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return Optional of Log
+   */
+  @Override
+  public Optional<Log> findLatest(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    lock.readLock().lock();
+    try {
+      return Stream.of(hot.findLatest(deviceID, sensorTypeID),
+              archive.findLatest(deviceID, sensorTypeID))
+          .flatMap(Optional::stream)
+          .max(LogCursor.ORDER);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean existsBy(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    lock.readLock().lock();
+    try {
+      return hot.existsBy(deviceID, sensorTypeID) || archive.contains(deviceID, sensorTypeID);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to find the oldest logs of the hot repository before a cutoff. Archived logs are not
+   * returned, as they have already been moved.
+   *
+   * @param cutoff LocalDateTime object
+   * @param limit  maximum number of logs returned
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findOlderThan(LocalDateTime cutoff, int limit) {
+    return hot.findOlderThan(cutoff, limit);
+  }
+
+  /**
+   * Method to delete logs from the hot repository. Archived logs are only deleted by the retention
+   * policy of the archive, a whole segment at a time.
+   *
+   * @param logs List of Log
+   */
+  @Override
+  public void deleteAll(List<Log> logs) {
+    hot.deleteAll(logs);
+  }
+
+  private static List<Log> concat(List<Log> archived, List<Log> recent) {
+    List<Log> logs = new ArrayList<>(archived.size() + recent.size());
+    logs.addAll(archived);
+    logs.addAll(recent);
+    return logs;
+  }
+}
@@ -8,9 +8,9 @@
 
 package smarthome.persistence.assembler;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Component;
 import smarthome.domain.actuator.IActuator;
 import smarthome.domain.actuator.IActuatorFactory;
@@ -24,11 +24,18 @@ import smarthome.domain.value_object.ModelPath;
 import smarthome.persistence.data_model.ActuatorDataModel;
 import smarthome.utils.Validator;
 
+/**
+ * Assembler of actuators from their data models. It keeps no state between calls, so the single
+ * instance can convert data models on any number of threads at once.
+ */
 @Component
 public class ActuatorDataModelAssembler implements
     IDataModelAssembler<ActuatorDataModel, IActuator> {
 
-  private final List<Object> parameters = new ArrayList<>();
+  static final int PARALLEL_THRESHOLD = 1_000;
+
+  private static final int COMMON_PARAMETERS = 5;
+
   private final IActuatorFactory actuatorFactory;
 
   public ActuatorDataModelAssembler(IActuatorFactory actuatorFactory) {
@@ -39,85 +46,61 @@ public class ActuatorDataModelAssembler implements
   @Override
   public IActuator toDomain(ActuatorDataModel domainEntity) {
     Validator.validateNotNull(domainEntity, "Actuator data model");
-    parameters.clear();
-    getDeviceID(domainEntity);
-    getModelPath(domainEntity);
-    getActuatorTypeID(domainEntity);
-    getActuatorName(domainEntity);
+    Object limits = null;
     if (Objects.equals(domainEntity.getActuatorTypeID(), "SetInteger")){
-      getIntegerLimits(domainEntity);
+      limits = getIntegerLimits(domainEntity);
     }
 
     if (Objects.equals(domainEntity.getActuatorTypeID(), "SetDecimal")){
-      getDecimalLimits(domainEntity);
+      limits = getDecimalLimits(domainEntity);
+    }
+
+    Object[] parameters = new Object[limits == null ? COMMON_PARAMETERS : COMMON_PARAMETERS + 1];
+    int i = 0;
+    parameters[i++] = new DeviceID(domainEntity.getDeviceID());
+    parameters[i++] = new ModelPath(domainEntity.getModelPath());
+    parameters[i++] = new ActuatorTypeID(domainEntity.getActuatorTypeID());
+    parameters[i++] = new ActuatorName(domainEntity.getActuatorName());
+    if (limits != null) {
+      parameters[i++] = limits;
     }
-    getActuatorID(domainEntity);
+    parameters[i] = new ActuatorID(domainEntity.getActuatorID());
 
-    return actuatorFactory.create(parameters.toArray());
+    return actuatorFactory.create(parameters);
   }
 
   /**
-   * Method to convert a list of ActuatorDataModel to a list of IActuator.
+   * Method to convert a list of ActuatorDataModel to a list of IActuator. Lists of at least
+   * PARALLEL_THRESHOLD data models are converted on the common fork-join pool, and the order of
+   * the list is kept.
    *
    * @param domainEntities is the list of data models to be converted.
    * @return the list of domain entities.
    */
   @Override
   public List<IActuator> toDomain(List<ActuatorDataModel> domainEntities) {
-    return List.of(domainEntities.stream().map(this::toDomain).toArray(IActuator[]::new));
-  }
-
-  private boolean getDeviceID(ActuatorDataModel actuatorDataModel) {
-    DeviceID deviceID = new DeviceID(actuatorDataModel.getDeviceID());
-    parameters.add(deviceID);
-    return true;
-  }
-
-  private boolean getModelPath(ActuatorDataModel actuatorDataModel) {
-    ModelPath modelPath = new ModelPath(actuatorDataModel.getModelPath());
-    parameters.add(modelPath);
-    return true;
-  }
-
-  private boolean getActuatorTypeID(ActuatorDataModel actuatorDataModel) {
-    ActuatorTypeID actuatorTypeID = new ActuatorTypeID(actuatorDataModel.getActuatorTypeID());
-    parameters.add(actuatorTypeID);
-    return true;
+    Stream<ActuatorDataModel> stream = domainEntities.size() >= PARALLEL_THRESHOLD
+        ? domainEntities.parallelStream() : domainEntities.stream();
+    return List.of(stream.map(this::toDomain).toArray(IActuator[]::new));
   }
 
-  private boolean getActuatorName(ActuatorDataModel actuatorDataModel) {
-    ActuatorName actuatorName = new ActuatorName(actuatorDataModel.getActuatorName());
-    parameters.add(actuatorName);
-    return true;
-  }
-
-  private boolean getIntegerLimits(ActuatorDataModel actuatorDataModel) {
+  private IntegerLimits getIntegerLimits(ActuatorDataModel actuatorDataModel) {
     if (actuatorDataModel.getIntegerLowerBond() != null
         || actuatorDataModel.getIntegerUpperBond() != null) {
       int integerLowerBond = Integer.parseInt(actuatorDataModel.getIntegerLowerBond());
       int integerUpperBond = Integer.parseInt(actuatorDataModel.getIntegerUpperBond());
-      IntegerLimits integerLimits = new IntegerLimits(integerLowerBond, integerUpperBond);
-      parameters.add(integerLimits);
-      return true;
+      return new IntegerLimits(integerLowerBond, integerUpperBond);
     }
-    return false;
+    return null;
   }
 
-  private boolean getDecimalLimits(ActuatorDataModel actuatorDataModel) {
+  private DecimalLimits getDecimalLimits(ActuatorDataModel actuatorDataModel) {
     if (actuatorDataModel.getDecimalLowerBond() != null
         || actuatorDataModel.getDecimalUpperBond() != null) {
       double decimalLowerBond = Double.parseDouble(actuatorDataModel.getDecimalLowerBond());
       double decimalUpperBond = Double.parseDouble(actuatorDataModel.getDecimalUpperBond());
-      DecimalLimits decimalLimits = new DecimalLimits(decimalLowerBond, decimalUpperBond);
-      parameters.add(decimalLimits);
-      return true;
+      return new DecimalLimits(decimalLowerBond, decimalUpperBond);
     }
-    return false;
-  }
-
-  private boolean getActuatorID(ActuatorDataModel actuatorDataModel) {
-    ActuatorID actuatorID = new ActuatorID(actuatorDataModel.getActuatorID());
-    parameters.add(actuatorID);
-    return true;
+    return null;
   }
 }
@@ -11,11 +11,13 @@ package smarthome.persistence.assembler;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 import smarthome.domain.log.ILogFactory;
 import smarthome.domain.log.Log;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingKind;
 import smarthome.domain.value_object.ReadingValue;
 import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
@@ -26,6 +28,8 @@ import smarthome.utils.Validator;
 @Component
 public class LogDataModelAssembler implements IDataModelAssembler<LogDataModel, Log> {
 
+  static final int PARALLEL_THRESHOLD = 10_000;
+
   private final ILogFactory logFactory;
 
   /**
@@ -52,7 +56,7 @@ public class LogDataModelAssembler implements IDataModelAssembler<LogDataModel,
     DeviceID deviceID = new DeviceID(logDataModel.getDeviceID());
     SensorID sensorID = new SensorID(logDataModel.getSensorID());
     LocalDateTime timeStamp = logDataModel.getTimestamp();
-    ReadingValue readingValue = new ReadingValue(logDataModel.getReadingValue());
+    ReadingValue readingValue = toReadingValue(logDataModel);
     SensorTypeID description = new SensorTypeID(logDataModel.getDescription());
     UnitID unit = new UnitID(logDataModel.getUnit());
 
@@ -64,15 +68,39 @@ public class LogDataModelAssembler implements IDataModelAssembler<LogDataModel,
   }
 
   /**
-   * Converts a list of LogDataModel instances to a list of Log instances.
+   * Builds the reading value from the column of its kind, without parsing numeric readings.
+   *
+   * @param logDataModel is the data model holding the reading.
+   * @return the reading value.
+   */
+  private ReadingValue toReadingValue(LogDataModel logDataModel) {
+    ReadingKind kind = logDataModel.getReadingKind();
+    if (kind == ReadingKind.INTEGER) {
+      return new ReadingValue(logDataModel.getIntegerValue().longValue());
+    }
+    if (kind == ReadingKind.DECIMAL) {
+      return new ReadingValue(logDataModel.getDecimalValue().doubleValue());
+    }
+    return new ReadingValue(logDataModel.getReadingValue());
+  }
+
+  /**
+   * Converts a list of LogDataModel instances to a list of Log instances. Lists of at least
+   * PARALLEL_THRESHOLD models are converted on the common fork-join pool; each conversion only
+   * reads its own model, and the order of the list is kept.
    *
    * @param logDataModels is the list of domain entities to be converted.
    * @return a list of Log instances.
    */
   @Override
   public List<Log> toDomain(List<LogDataModel> logDataModels) {
-    List<Log> logs = new ArrayList<>();
+    if (logDataModels.size() >= PARALLEL_THRESHOLD) {
+      return logDataModels.parallelStream()
+          .map(this::toDomain)
+          .collect(Collectors.toCollection(ArrayList::new));
+    }
 
+    List<Log> logs = new ArrayList<>(logDataModels.size());
     for (LogDataModel logDataModel : logDataModels) {
       Log log = toDomain(logDataModel);
       logs.add(log);
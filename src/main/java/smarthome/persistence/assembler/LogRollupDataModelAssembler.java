@@ -0,0 +1,53 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.persistence.assembler;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import smarthome.domain.value_object.ReadingAggregate;
+import smarthome.persistence.data_model.LogRollupDataModel;
+import smarthome.utils.Validator;
+
+@Component
+public class LogRollupDataModelAssembler implements
+    IDataModelAssembler<LogRollupDataModel, ReadingAggregate> {
+
+  /**
+   * Converts a LogRollupDataModel instance to a ReadingAggregate instance.
+   *
+   * @param dataModel is the data model to be converted.
+   * @return a ReadingAggregate instance.
+   */
+  @Override
+  public ReadingAggregate toDomain(LogRollupDataModel dataModel) {
+    Validator.validateNotNull(dataModel, "Log Rollup Data Model");
+
+    return new ReadingAggregate(dataModel.getBucketStart(), dataModel.getReadingCount(),
+        dataModel.getMinValue(), dataModel.getMaxValue(), dataModel.getSumValue(),
+        dataModel.getFirstValue(), dataModel.getFirstTime(), dataModel.getLastValue(),
+        dataModel.getLastTime());
+  }
+
+  /**
+   * Converts a list of LogRollupDataModel instances to a list of ReadingAggregate instances.
+   *
+   * @param dataModels is the list of data models to be converted.
+   * @return a list of ReadingAggregate instances.
+   */
+  @Override
+  public List<ReadingAggregate> toDomain(List<LogRollupDataModel> dataModels) {
+    List<ReadingAggregate> aggregates = new ArrayList<>();
+
+    for (LogRollupDataModel dataModel : dataModels) {
+      aggregates.add(toDomain(dataModel));
+    }
+
+    return aggregates;
+  }
+}
@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 import smarthome.domain.sensor.ISensor;
 import smarthome.domain.sensor.ISensorFactory;
@@ -25,11 +26,18 @@ import smarthome.domain.value_object.SensorTypeID;
 import smarthome.persistence.data_model.SensorDataModel;
 import smarthome.utils.Validator;
 
+/**
+ * Assembler of sensors from their data models. It keeps no state between calls, so the single
+ * instance can convert data models on any number of threads at once.
+ */
 @Component
 public class SensorDataModelAssembler implements IDataModelAssembler<SensorDataModel, ISensor> {
 
+  static final int PARALLEL_THRESHOLD = 1_000;
+
+  private static final int COMMON_PARAMETERS = 5;
+
   private final ISensorFactory sensorFactory;
-  private final List<Object> parameters = new ArrayList<>();
 
   /**
    * Class constructor
@@ -42,39 +50,55 @@ public class SensorDataModelAssembler implements IDataModelAssembler<SensorDataM
   }
 
   /**
-   * Converts a SensorDataModel instance to a Sensor instance.
+   * Converts a SensorDataModel instance to a Sensor instance. The parameters of the factory are
+   * the device ID, model path, sensor type ID and sensor name, then the GPS of sunrise and sunset
+   * sensors or the date period of electric consumption sensors when the data model has them, and
+   * last the sensor ID.
    *
    * @param sensorDataModel is the domain entity to be converted.
    * @return a Sensor instance.
    */
   public ISensor toDomain(SensorDataModel sensorDataModel) {
     Validator.validateNotNull(sensorDataModel, "Sensor data model");
-    parameters.clear();
-    getDeviceID(sensorDataModel);
-    getModelPath(sensorDataModel);
-    getSensorTypeID(sensorDataModel);
-    getSensorName(sensorDataModel);
+    Object extra = null;
     if (Objects.equals(sensorDataModel.getSensorTypeID(), "SunriseTime")
         || Objects.equals(sensorDataModel.getSensorTypeID(), "SunsetTime")) {
-      getGPS(sensorDataModel);
+      extra = getGPS(sensorDataModel);
     }
 
     if (Objects.equals(sensorDataModel.getSensorTypeID(), "ElectricConsumptionWh")) {
-      getDatePeriod(sensorDataModel);
+      extra = getDatePeriod(sensorDataModel);
+    }
 
+    Object[] parameters = new Object[extra == null ? COMMON_PARAMETERS : COMMON_PARAMETERS + 1];
+    int i = 0;
+    parameters[i++] = new DeviceID(sensorDataModel.getDeviceID());
+    parameters[i++] = new ModelPath(sensorDataModel.getModelPath());
+    parameters[i++] = new SensorTypeID(sensorDataModel.getSensorTypeID());
+    parameters[i++] = new SensorName(sensorDataModel.getSensorName());
+    if (extra != null) {
+      parameters[i++] = extra;
     }
-    getSensorID(sensorDataModel);
-    return sensorFactory.create(parameters.toArray());
+    parameters[i] = new SensorID(sensorDataModel.getSensorID());
+    return sensorFactory.create(parameters);
   }
 
   /**
-   * Converts a list of SensorDataModel instances to a list of Sensor instances.
+   * Converts a list of SensorDataModel instances to a list of Sensor instances. Lists of at least
+   * PARALLEL_THRESHOLD models are converted on the common fork-join pool, and the order of the
+   * list is kept.
    *
    * @param sensorDataModels is the list of domain entities to be converted.
    * @return a list of Sensor instances.
    */
   public List<ISensor> toDomain(List<SensorDataModel> sensorDataModels) {
-    List<ISensor> sensors = new ArrayList<>();
+    if (sensorDataModels.size() >= PARALLEL_THRESHOLD) {
+      return sensorDataModels.parallelStream()
+          .map(this::toDomain)
+          .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    List<ISensor> sensors = new ArrayList<>(sensorDataModels.size());
     for (SensorDataModel sensorDataModel : sensorDataModels) {
       ISensor sensor = toDomain(sensorDataModel);
       sensors.add(sensor);
@@ -83,96 +107,32 @@ public class SensorDataModelAssembler implements IDataModelAssembler<SensorDataM
   }
 
   /**
-   * Adds a DeviceID instance to the parameters list.
-   *
-   * @param sensorDataModel is the domain entity to be converted.
-   * @return true if the DeviceID instance was added to the parameters list, false otherwise.
-   */
-  private boolean getDeviceID(SensorDataModel sensorDataModel) {
-    DeviceID deviceID = new DeviceID(sensorDataModel.getDeviceID());
-    parameters.add(deviceID);
-    return true;
-  }
-
-  /**
-   * Adds a ModelPath instance to the parameters list.
+   * Creates the GPS of a sensor data model.
    *
    * @param sensorDataModel is the domain entity to be converted.
-   * @return true if the ModelPath instance was added to the parameters list, false otherwise.
+   * @return the GPS, or null if the data model has no coordinates.
    */
-  private boolean getModelPath(SensorDataModel sensorDataModel) {
-    ModelPath modelPath = new ModelPath(sensorDataModel.getModelPath());
-    parameters.add(modelPath);
-    return true;
-  }
-
-  /**
-   * Adds a SensorTypeID instance to the parameters list.
-   *
-   * @param sensorDataModel is the domain entity to be converted.
-   * @return true if the SensorTypeID instance was added to the parameters list, false otherwise.
-   */
-  private boolean getSensorTypeID(SensorDataModel sensorDataModel) {
-    SensorTypeID sensorTypeID = new SensorTypeID(sensorDataModel.getSensorTypeID());
-    parameters.add(sensorTypeID);
-    return true;
-  }
-
-  /**
-   * Adds a SensorName instance to the parameters list.
-   *
-   * @param sensorDataModel is the domain entity to be converted.
-   * @return true if the SensorName instance was added to the parameters list, false otherwise.
-   */
-  private boolean getSensorName(SensorDataModel sensorDataModel) {
-    SensorName sensorName = new SensorName(sensorDataModel.getSensorName());
-    parameters.add(sensorName);
-    return true;
-  }
-
-  /**
-   * Adds a GPS instance to the parameters list.
-   *
-   * @param sensorDataModel is the domain entity to be converted.
-   * @return true if the GPS instance was added to the parameters list, false otherwise.
-   */
-  private boolean getGPS(SensorDataModel sensorDataModel) {
+  private GPS getGPS(SensorDataModel sensorDataModel) {
     if (sensorDataModel.getLatitude() != null && sensorDataModel.getLongitude() != null) {
       double latitude = Double.parseDouble(sensorDataModel.getLatitude());
       double longitude = Double.parseDouble(sensorDataModel.getLongitude());
-      GPS gps = new GPS(latitude, longitude);
-      parameters.add(gps);
-      return true;
+      return new GPS(latitude, longitude);
     }
-    return false;
+    return null;
   }
 
   /**
-   * Adds a DatePeriod instance to the parameters list.
+   * Creates the DatePeriod of a sensor data model.
    *
    * @param sensorDataModel is the domain entity to be converted.
-   * @return true if the DatePeriod instance was added to the parameters list, false otherwise.
+   * @return the DatePeriod, or null if the data model has no start and end dates.
    */
-  private boolean getDatePeriod(SensorDataModel sensorDataModel) {
+  private DatePeriod getDatePeriod(SensorDataModel sensorDataModel) {
     if (sensorDataModel.getStartDate() != null && sensorDataModel.getEndDate() != null) {
       LocalDateTime startDate = LocalDateTime.parse(sensorDataModel.getStartDate());
       LocalDateTime endDate = LocalDateTime.parse(sensorDataModel.getEndDate());
-      DatePeriod datePeriod = new DatePeriod(startDate, endDate);
-      parameters.add(datePeriod);
-      return true;
+      return new DatePeriod(startDate, endDate);
     }
-    return false;
-  }
-
-  /**
-   * Adds a SensorID instance to the parameters list.
-   *
-   * @param sensorDataModel is the domain entity to be converted.
-   * @return true if the SensorID instance was added to the parameters list, false otherwise.
-   */
-  private boolean getSensorID(SensorDataModel sensorDataModel) {
-    SensorID sensorID = new SensorID(sensorDataModel.getSensorID());
-    parameters.add(sensorID);
-    return true;
+    return null;
   }
 }
@@ -0,0 +1,113 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of strings. It never answers false for a string that was added, and
+ * answers true for a string that was not added with roughly the configured probability, as long as
+ * no more than the expected number of strings are added.
+ */
+public class BloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bits;
+  private final int hashes;
+
+  /**
+   * BloomFilter constructor.
+   *
+   * @param expectedInsertions is the number of strings the filter is sized for.
+   * @param falsePositiveRate  is the wanted probability of a false positive, between 0 and 1.
+   */
+  public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("Expected insertions must be positive.");
+    }
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("False positive rate must be between 0 and 1.");
+    }
+    long optimalBits = (long) Math.ceil(
+        -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    this.words = new AtomicLongArray((int) ((optimalBits + 63) / 64));
+    this.bits = words.length() * 64L;
+    this.hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+  }
+
+  /**
+   * Method to add a string to the filter.
+   *
+   * @param value is the string to add.
+   */
+  public void add(String value) {
+    long hash = hash(value);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashes; i++) {
+      long bit = Math.floorMod(h1 + (long) i * h2, bits);
+      long mask = 1L << bit;
+      int word = (int) (bit >>> 6);
+      if ((words.get(word) & mask) == 0) {
+        words.getAndAccumulate(word, mask, (current, added) -> current | added);
+      }
+    }
+  }
+
+  /**
+   * Method to check if a string may have been added.
+   *
+   * @param value is the string to check.
+   * @return false if the string was certainly not added, true if it may have been.
+   */
+  public boolean mightContain(String value) {
+    long hash = hash(value);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashes; i++) {
+      long bit = Math.floorMod(h1 + (long) i * h2, bits);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the number of bits of the filter.
+   */
+  public long bitSize() {
+    return bits;
+  }
+
+  /**
+   * @return the number of bits set per string.
+   */
+  public int hashCount() {
+    return hashes;
+  }
+
+  /**
+   * 64-bit FNV-1a of the characters, finished with the MurmurHash3 mixer so that both halves are
+   * usable as independent hashes.
+   */
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,49 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.cache;
+
+import java.util.List;
+import smarthome.domain.device.Device;
+import smarthome.domain.repository.IDeviceRepository;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.DeviceTypeID;
+import smarthome.domain.value_object.RoomID;
+
+/**
+ * IDeviceRepository with cached existence checks. Deactivating a device updates it, and a
+ * deactivated device still exists, so update keeps its identifier cached.
+ */
+public class CachingDeviceRepository extends
+    CachingRepository<DeviceID, Device, IDeviceRepository> implements IDeviceRepository {
+
+  /**
+   * CachingDeviceRepository constructor.
+   *
+   * @param repository is the wrapped repository.
+   * @param cache      is the cache of its identifiers.
+   */
+  public CachingDeviceRepository(IDeviceRepository repository, ExistenceCache<DeviceID> cache) {
+    super(repository, cache);
+  }
+
+  @Override
+  public List<Device> findByRoomID(RoomID roomId) {
+    return repository.findByRoomID(roomId);
+  }
+
+  @Override
+  public Device update(Device device) {
+    return repository.update(device);
+  }
+
+  @Override
+  public List<Device> findByDeviceTypeID(DeviceTypeID deviceTypeID) {
+    return repository.findByDeviceTypeID(deviceTypeID);
+  }
+}
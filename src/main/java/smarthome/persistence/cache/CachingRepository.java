@@ -0,0 +1,79 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.cache;
+
+import java.util.List;
+import java.util.Optional;
+import smarthome.ddd.IAggregateRoot;
+import smarthome.ddd.IDomainID;
+import smarthome.ddd.IRepository;
+import smarthome.utils.Validator;
+
+/**
+ * Repository that answers containsOfIdentity from an ExistenceCache, loaded with every identifier
+ * at construction and kept up to date on save. Everything else goes to the wrapped repository.
+ *
+ * @param <ID> is the type of the identifiers.
+ * @param <T>  is the type of the aggregates.
+ * @param <R>  is the type of the wrapped repository.
+ */
+public abstract class CachingRepository<ID extends IDomainID, T extends IAggregateRoot<ID>,
+    R extends IRepository<ID, T>> implements IRepository<ID, T> {
+
+  protected final R repository;
+  private final ExistenceCache<ID> cache;
+
+  /**
+   * CachingRepository constructor.
+   *
+   * @param repository is the wrapped repository.
+   * @param cache      is the cache of its identifiers.
+   */
+  protected CachingRepository(R repository, ExistenceCache<ID> cache) {
+    Validator.validateNotNull(repository, "Repository");
+    Validator.validateNotNull(cache, "Existence cache");
+    this.repository = repository;
+    this.cache = cache;
+    repository.findAll().forEach(entity -> cache.add(entity.getID()));
+  }
+
+  @Override
+  public T save(T entity) {
+    T saved = repository.save(entity);
+    cache.add(saved.getID());
+    return saved;
+  }
+
+  @Override
+  public List<T> findAll() {
+    return repository.findAll();
+  }
+
+  @Override
+  public List<T> findPage(ID after, int limit) {
+    return repository.findPage(after, limit);
+  }
+
+  @Override
+  public Optional<T> ofIdentity(ID objectID) {
+    return repository.ofIdentity(objectID);
+  }
+
+  @Override
+  public boolean containsOfIdentity(ID objectID) {
+    return cache.contains(objectID, repository::containsOfIdentity);
+  }
+
+  /**
+   * @return the counters of the cache.
+   */
+  public ExistenceCacheStats getStats() {
+    return cache.getStats();
+  }
+}
@@ -0,0 +1,37 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.cache;
+
+import java.util.List;
+import smarthome.domain.repository.ISensorRepository;
+import smarthome.domain.sensor.ISensor;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorID;
+
+/**
+ * ISensorRepository with cached existence checks.
+ */
+public class CachingSensorRepository extends
+    CachingRepository<SensorID, ISensor, ISensorRepository> implements ISensorRepository {
+
+  /**
+   * CachingSensorRepository constructor.
+   *
+   * @param repository is the wrapped repository.
+   * @param cache      is the cache of its identifiers.
+   */
+  public CachingSensorRepository(ISensorRepository repository, ExistenceCache<SensorID> cache) {
+    super(repository, cache);
+  }
+
+  @Override
+  public List<ISensor> ofDeviceID(DeviceID deviceID) {
+    return repository.ofDeviceID(deviceID);
+  }
+}
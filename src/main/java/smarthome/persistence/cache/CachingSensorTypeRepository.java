@@ -0,0 +1,32 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.cache;
+
+import smarthome.domain.repository.ISensorTypeRepository;
+import smarthome.domain.sensor_type.SensorType;
+import smarthome.domain.value_object.SensorTypeID;
+
+/**
+ * ISensorTypeRepository with cached existence checks.
+ */
+public class CachingSensorTypeRepository extends
+    CachingRepository<SensorTypeID, SensorType, ISensorTypeRepository> implements
+    ISensorTypeRepository {
+
+  /**
+   * CachingSensorTypeRepository constructor.
+   *
+   * @param repository is the wrapped repository.
+   * @param cache      is the cache of its identifiers.
+   */
+  public CachingSensorTypeRepository(ISensorTypeRepository repository,
+      ExistenceCache<SensorTypeID> cache) {
+    super(repository, cache);
+  }
+}
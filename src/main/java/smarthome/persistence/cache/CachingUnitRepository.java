@@ -0,0 +1,30 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.cache;
+
+import smarthome.domain.repository.IUnitRepository;
+import smarthome.domain.unit.Unit;
+import smarthome.domain.value_object.UnitID;
+
+/**
+ * IUnitRepository with cached existence checks.
+ */
+public class CachingUnitRepository extends
+    CachingRepository<UnitID, Unit, IUnitRepository> implements IUnitRepository {
+
+  /**
+   * CachingUnitRepository constructor.
+   *
+   * @param repository is the wrapped repository.
+   * @param cache      is the cache of its identifiers.
+   */
+  public CachingUnitRepository(IUnitRepository repository, ExistenceCache<UnitID> cache) {
+    super(repository, cache);
+  }
+}
@@ -0,0 +1,105 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.cache;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import smarthome.ddd.IDomainID;
+import smarthome.utils.Validator;
+
+/**
+ * Cache of the identifiers known to exist in a repository. Aggregates are never deleted, so an
+ * identifier found once exists for good and can be answered from memory.
+ * <p>
+ * At most maxCachedIds identifiers are held in memory; an identifier that is not held is looked up
+ * in the repository. With a Bloom filter, which records every identifier loaded or saved, a lookup
+ * of an identifier that was never seen is answered "absent" without a query. This assumes every
+ * save goes through this process, so the Bloom filter is left out when the database is shared.
+ *
+ * @param <ID> is the type of the identifiers.
+ */
+public class ExistenceCache<ID extends IDomainID> {
+
+  private final String name;
+  private final int maxCachedIds;
+  private final BloomFilter bloomFilter;
+  private final Set<ID> ids = ConcurrentHashMap.newKeySet();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder bloomNegatives = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * ExistenceCache constructor.
+   *
+   * @param name         is the name reported in the stats.
+   * @param maxCachedIds is the maximum number of identifiers held in memory.
+   * @param bloomFilter  is the Bloom filter of every known identifier, or null for none.
+   */
+  public ExistenceCache(String name, int maxCachedIds, BloomFilter bloomFilter) {
+    Validator.validateNotNull(name, "Name");
+    if (maxCachedIds < 0) {
+      throw new IllegalArgumentException("Maximum cached IDs cannot be negative.");
+    }
+    this.name = name;
+    this.maxCachedIds = maxCachedIds;
+    this.bloomFilter = bloomFilter;
+  }
+
+  /**
+   * Method to record identifiers that exist, e.g. all of them at startup or a saved one.
+   *
+   * @param id is the identifier that exists.
+   */
+  public void add(ID id) {
+    if (bloomFilter != null) {
+      bloomFilter.add(id.getID());
+    }
+    if (ids.size() < maxCachedIds) {
+      ids.add(id);
+    }
+  }
+
+  /**
+   * Method to check if an identifier exists, querying the repository only when the cache cannot
+   * tell.
+   *
+   * @param id     is the identifier to check.
+   * @param lookup is the repository lookup, e.g. containsOfIdentity.
+   * @return true if the identifier exists.
+   */
+  public boolean contains(ID id, Predicate<ID> lookup) {
+    if (id == null) {
+      return lookup.test(null);
+    }
+    if (ids.contains(id)) {
+      hits.increment();
+      return true;
+    }
+    if (bloomFilter != null && !bloomFilter.mightContain(id.getID())) {
+      bloomNegatives.increment();
+      return false;
+    }
+    misses.increment();
+    boolean exists = lookup.test(id);
+    if (exists) {
+      add(id);
+    }
+    return exists;
+  }
+
+  /**
+   * @return the counters of the cache.
+   */
+  public ExistenceCacheStats getStats() {
+    return new ExistenceCacheStats(name, ids.size(), hits.sum(), bloomNegatives.sum(),
+        misses.sum());
+  }
+}
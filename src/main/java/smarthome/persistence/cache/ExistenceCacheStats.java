@@ -0,0 +1,31 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.cache;
+
+/**
+ * Counters of an ExistenceCache.
+ *
+ * @param name           is the name of the cached repository.
+ * @param cachedIds      is the number of identifiers held in memory.
+ * @param hits           is the number of lookups answered by the cached identifiers.
+ * @param bloomNegatives is the number of lookups answered "absent" by the Bloom filter.
+ * @param misses         is the number of lookups that queried the repository.
+ */
+public record ExistenceCacheStats(String name, int cachedIds, long hits, long bloomNegatives,
+    long misses) {
+
+  /**
+   * @return the share of lookups answered without querying the repository, or 0 if there were
+   * none.
+   */
+  public double hitRatio() {
+    long lookups = hits + bloomNegatives + misses;
+    return lookups == 0 ? 0 : (double) (hits + bloomNegatives) / lookups;
+  }
+}
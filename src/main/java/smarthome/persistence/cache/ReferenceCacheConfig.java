@@ -0,0 +1,86 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import smarthome.ddd.IDomainID;
+import smarthome.domain.repository.IDeviceRepository;
+import smarthome.domain.repository.ISensorRepository;
+import smarthome.domain.repository.ISensorTypeRepository;
+import smarthome.domain.repository.IUnitRepository;
+
+/**
+ * Reference cache, enabled with the "reference-cache" profile. The device, sensor, sensor type and
+ * unit repositories are wrapped in CachingRepository beans, which are injected wherever those
+ * repositories are needed, so that validating the references of a reading costs no query once
+ * the identifiers are known.
+ */
+@Configuration
+@Profile("reference-cache")
+public class ReferenceCacheConfig {
+
+  private final int maxCachedIds;
+  private final boolean bloomFilter;
+  private final int expectedIds;
+  private final double falsePositiveRate;
+
+  /**
+   * ReferenceCacheConfig constructor.
+   *
+   * @param maxCachedIds      is the maximum number of identifiers held in memory per repository.
+   * @param bloomFilter       is true to answer unknown identifiers from a Bloom filter.
+   * @param expectedIds       is the number of identifiers each Bloom filter is sized for.
+   * @param falsePositiveRate is the wanted false positive rate of the Bloom filters.
+   */
+  public ReferenceCacheConfig(
+      @Value("${smarthome.reference-cache.max-ids:100000}") int maxCachedIds,
+      @Value("${smarthome.reference-cache.bloom-filter.enabled:false}") boolean bloomFilter,
+      @Value("${smarthome.reference-cache.bloom-filter.expected-ids:100000}") int expectedIds,
+      @Value("${smarthome.reference-cache.bloom-filter.false-positive-rate:0.01}")
+      double falsePositiveRate) {
+    this.maxCachedIds = maxCachedIds;
+    this.bloomFilter = bloomFilter;
+    this.expectedIds = expectedIds;
+    this.falsePositiveRate = falsePositiveRate;
+  }
+
+  private <ID extends IDomainID> ExistenceCache<ID> cache(String name) {
+    return new ExistenceCache<>(name, maxCachedIds,
+        bloomFilter ? new BloomFilter(expectedIds, falsePositiveRate) : null);
+  }
+
+  @Bean
+  @Primary
+  public CachingDeviceRepository cachingDeviceRepository(IDeviceRepository deviceRepository) {
+    return new CachingDeviceRepository(deviceRepository, cache("device"));
+  }
+
+  @Bean
+  @Primary
+  public CachingSensorRepository cachingSensorRepository(ISensorRepository sensorRepository) {
+    return new CachingSensorRepository(sensorRepository, cache("sensor"));
+  }
+
+  @Bean
+  @Primary
+  public CachingSensorTypeRepository cachingSensorTypeRepository(
+      ISensorTypeRepository sensorTypeRepository) {
+    return new CachingSensorTypeRepository(sensorTypeRepository, cache("sensorType"));
+  }
+
+  @Bean
+  @Primary
+  public CachingUnitRepository cachingUnitRepository(IUnitRepository unitRepository) {
+    return new CachingUnitRepository(unitRepository, cache("unit"));
+  }
+}
@@ -0,0 +1,242 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.columnar;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Readings of one (device, sensor type) pair, stored column by column in primitive arrays and kept
+ * sorted by timestamp so that time ranges are found by binary search.
+ * <p>
+ * Each reading costs one long for the timestamp, one long for the value (an integer, the bits of a
+ * decimal or the dictionary code of a text), two longs for the log ID,
+ * one int for its (sensor, unit) attribute and one byte of flags.
+ */
+class LogChunk {
+
+  static final byte KIND_LONG = 0;
+  static final byte KIND_DOUBLE = 1;
+  static final byte KIND_TEXT = 2;
+  static final byte KIND_MASK = 3;
+  static final byte TEXT_ID_FLAG = 4;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final int deviceCode;
+  private final int sensorTypeCode;
+
+  private long[] attributeTable = new long[1];
+  private int attributeCount;
+
+  private long[] times = new long[INITIAL_CAPACITY];
+  private long[] values = new long[INITIAL_CAPACITY];
+  private long[] idHighs = new long[INITIAL_CAPACITY];
+  private long[] idLows = new long[INITIAL_CAPACITY];
+  private int[] attributes = new int[INITIAL_CAPACITY];
+  private byte[] flags = new byte[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Class constructor
+   *
+   * @param deviceCode     is the dictionary code of the device.
+   * @param sensorTypeCode is the dictionary code of the sensor type.
+   */
+  LogChunk(int deviceCode, int sensorTypeCode) {
+    this.deviceCode = deviceCode;
+    this.sensorTypeCode = sensorTypeCode;
+  }
+
+  /**
+   * Method to add a reading, keeping the chunk sorted by timestamp. Readings that arrive in time
+   * order are appended in constant amortized time; a reading with an equal timestamp goes after
+   * the existing ones.
+   *
+   * @return the position of the reading in the chunk.
+   */
+  int add(long time, long value, byte flag, long idHigh, long idLow, int sensorCode,
+      int unitCode) {
+    ensureCapacity(size + 1);
+    int position = upperBound(time);
+    if (position < size) {
+      int moved = size - position;
+      System.arraycopy(times, position, times, position + 1, moved);
+      System.arraycopy(values, position, values, position + 1, moved);
+      System.arraycopy(idHighs, position, idHighs, position + 1, moved);
+      System.arraycopy(idLows, position, idLows, position + 1, moved);
+      System.arraycopy(attributes, position, attributes, position + 1, moved);
+      System.arraycopy(flags, position, flags, position + 1, moved);
+    }
+    times[position] = time;
+    values[position] = value;
+    flags[position] = flag;
+    idHighs[position] = idHigh;
+    idLows[position] = idLow;
+    attributes[position] = attributeOf(sensorCode, unitCode);
+    size++;
+    return position;
+  }
+
+  /**
+   * Method to remove readings, shifting the remaining ones down in a single pass.
+   *
+   * @param positions are the positions of the readings to remove.
+   */
+  void removeAll(BitSet positions) {
+    int kept = positions.nextSetBit(0);
+    if (kept < 0) {
+      return;
+    }
+    for (int i = kept; i < size; i++) {
+      if (!positions.get(i)) {
+        times[kept] = times[i];
+        values[kept] = values[i];
+        idHighs[kept] = idHighs[i];
+        idLows[kept] = idLows[i];
+        attributes[kept] = attributes[i];
+        flags[kept] = flags[i];
+        kept++;
+      }
+    }
+    size = kept;
+  }
+
+  /**
+   * Method to get the first position whose timestamp is not before the given time.
+   */
+  int lowerBound(long time) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (times[middle] < time) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Method to get the first position whose timestamp is after the given time.
+   */
+  int upperBound(long time) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (times[middle] <= time) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Method to find the position of a log ID.
+   *
+   * @return the position of the reading, or -1 when the chunk does not hold the ID.
+   */
+  int indexOf(long idHigh, long idLow, boolean textID) {
+    for (int i = 0; i < size; i++) {
+      if (idLows[i] == idLow && idHighs[i] == idHigh
+          && ((flags[i] & TEXT_ID_FLAG) != 0) == textID) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  int getDeviceCode() {
+    return deviceCode;
+  }
+
+  int getSensorTypeCode() {
+    return sensorTypeCode;
+  }
+
+  int size() {
+    return size;
+  }
+
+  long timeAt(int position) {
+    return times[position];
+  }
+
+  long valueAt(int position) {
+    return values[position];
+  }
+
+  byte flagsAt(int position) {
+    return flags[position];
+  }
+
+  long idHighAt(int position) {
+    return idHighs[position];
+  }
+
+  long idLowAt(int position) {
+    return idLows[position];
+  }
+
+  int sensorCodeAt(int position) {
+    return (int) (attributeTable[attributes[position]] >>> 32);
+  }
+
+  int unitCodeAt(int position) {
+    return (int) attributeTable[attributes[position]];
+  }
+
+  /**
+   * @return the bytes allocated by the column arrays of the chunk.
+   */
+  long columnBytes() {
+    long capacity = times.length;
+    return capacity * (4 * Long.BYTES + Integer.BYTES + Byte.BYTES)
+        + (long) attributeTable.length * Long.BYTES;
+  }
+
+  /**
+   * Method to get the chunk-local code of a (sensor, unit) pair. A chunk usually holds a single
+   * sensor with a single unit, so the table stays tiny and is searched linearly.
+   */
+  private int attributeOf(int sensorCode, int unitCode) {
+    long attribute = ((long) sensorCode << 32) | (unitCode & 0xFFFFFFFFL);
+    for (int i = 0; i < attributeCount; i++) {
+      if (attributeTable[i] == attribute) {
+        return i;
+      }
+    }
+    if (attributeCount == attributeTable.length) {
+      attributeTable = Arrays.copyOf(attributeTable, attributeCount * 2);
+    }
+    attributeTable[attributeCount] = attribute;
+    return attributeCount++;
+  }
+
+  /**
+   * Method to grow the columns by half of their capacity when they are full.
+   */
+  private void ensureCapacity(int capacity) {
+    if (capacity <= times.length) {
+      return;
+    }
+    int newCapacity = Math.max(capacity, times.length + (times.length >> 1));
+    times = Arrays.copyOf(times, newCapacity);
+    values = Arrays.copyOf(values, newCapacity);
+    idHighs = Arrays.copyOf(idHighs, newCapacity);
+    idLows = Arrays.copyOf(idLows, newCapacity);
+    attributes = Arrays.copyOf(attributes, newCapacity);
+    flags = Arrays.copyOf(flags, newCapacity);
+  }
+}
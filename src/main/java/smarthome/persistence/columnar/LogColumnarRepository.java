@@ -0,0 +1,657 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.columnar;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingKind;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.utils.Validator;
+import smarthome.utils.time_series.EpochNanos;
+
+/**
+ * In-memory log repository that stores readings column by column instead of as Log objects.
+ * <p>
+ * Readings are grouped in one LogChunk per (device, sensor type), each holding primitive arrays of
+ * epoch-nanosecond timestamps, encoded values and log IDs, sorted by timestamp. Device, sensor type,
+ * sensor and unit IDs, as well as text readings, are dictionary-encoded, and Log objects are only
+ * built for the readings a query returns. Enabled with the "columnar" profile.
+ */
+@Repository
+@Profile("columnar")
+public class LogColumnarRepository implements ILogRepository {
+
+  private final ILogFactory logFactory;
+  private final StringDictionary devices = new StringDictionary();
+  private final StringDictionary sensorTypes = new StringDictionary();
+  private final StringDictionary sensors = new StringDictionary();
+  private final StringDictionary units = new StringDictionary();
+  private final StringDictionary texts = new StringDictionary();
+  private final Map<Long, LogChunk> chunks = new HashMap<>();
+  private final List<LogChunk> chunksInCreationOrder = new ArrayList<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * LogColumnarRepository constructor
+   *
+   * @param logFactory is the factory used to build Log instances at the API boundary.
+   */
+  public LogColumnarRepository(ILogFactory logFactory) {
+    Validator.validateNotNull(logFactory, "Log Factory");
+    this.logFactory = logFactory;
+  }
+
+  /**
+   * Method to save log
+   *
+   * @param log Log object
+   * @return Log object
+   */
+  @Override
+  public Log save(Log log) {
+    Validator.validateNotNull(log, "Log");
+
+    lock.writeLock().lock();
+    try {
+      append(log);
+      return log;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Method to save several logs while holding the write lock once
+   *
+   * @param logs List of Log
+   * @return List of Log
+   */
+  @Override
+  public List<Log> saveAll(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+    for (Log log : logs) {
+      Validator.validateNotNull(log, "Log");
+    }
+
+    lock.writeLock().lock();
+    try {
+      for (Log log : logs) {
+        append(log);
+      }
+      return logs;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Method to append a log to the chunk of its device and sensor type. The write lock must be held.
+   */
+  private void append(Log log) {
+    int deviceCode = devices.encode(log.getDeviceID().getID());
+    int sensorTypeCode = sensorTypes.encode(log.getDescription().getID());
+    LogChunk chunk = chunks.get(chunkKey(deviceCode, sensorTypeCode));
+    if (chunk == null) {
+      chunk = new LogChunk(deviceCode, sensorTypeCode);
+      chunks.put(chunkKey(deviceCode, sensorTypeCode), chunk);
+      chunksInCreationOrder.add(chunk);
+    }
+
+    String id = log.getID().getID();
+    UUID uuid = parseCanonicalUUID(id);
+    byte flags = 0;
+    long idHigh;
+    long idLow;
+    if (uuid != null) {
+      idHigh = uuid.getMostSignificantBits();
+      idLow = uuid.getLeastSignificantBits();
+    } else {
+      flags |= LogChunk.TEXT_ID_FLAG;
+      idHigh = 0;
+      idLow = texts.encode(id);
+    }
+
+    ReadingValue reading = log.getReadingValue();
+    long value;
+    if (reading.getKind() == ReadingKind.INTEGER) {
+      value = reading.getIntegerValue();
+      flags |= LogChunk.KIND_LONG;
+    } else if (reading.getKind() == ReadingKind.DECIMAL) {
+      value = Double.doubleToRawLongBits(reading.getNumericValue());
+      flags |= LogChunk.KIND_DOUBLE;
+    } else {
+      value = texts.encode(reading.getValue());
+      flags |= LogChunk.KIND_TEXT;
+    }
+
+    chunk.add(EpochNanos.of(log.getTimeStamp()), value, flags, idHigh, idLow,
+        sensors.encode(log.getSensorID().getID()), units.encode(log.getUnit().getID()));
+  }
+
+  /**
+   * Method to find all logs, grouped by device and sensor type and sorted by timestamp.
+   *
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findAll() {
+    lock.readLock().lock();
+    try {
+      List<Log> logs = new ArrayList<>();
+      for (LogChunk chunk : chunksInCreationOrder) {
+        addRange(chunk, 0, chunk.size(), logs);
+      }
+      return logs;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to find log by ID. Log IDs are not indexed, so this scans the ID columns.
+   *
+   * @param logID LogID object
+   * @return Optional of Log
+   */
+  @Override
+  public Optional<Log> ofIdentity(LogID logID) {
+    Validator.validateNotNull(logID, "Log ID");
+
+    lock.readLock().lock();
+    try {
+      String id = logID.getID();
+      UUID uuid = parseCanonicalUUID(id);
+      long idHigh;
+      long idLow;
+      if (uuid != null) {
+        idHigh = uuid.getMostSignificantBits();
+        idLow = uuid.getLeastSignificantBits();
+      } else {
+        int code = texts.find(id);
+        if (code < 0) {
+          return Optional.empty();
+        }
+        idHigh = 0;
+        idLow = code;
+      }
+      for (LogChunk chunk : chunksInCreationOrder) {
+        int position = chunk.indexOf(idHigh, idLow, uuid == null);
+        if (position >= 0) {
+          return Optional.of(toDomain(chunk, position));
+        }
+      }
+      return Optional.empty();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to check if log exists
+   *
+   * @param logID LogID object
+   * @return boolean
+   */
+  @Override
+  public boolean containsOfIdentity(LogID logID) {
+    return ofIdentity(logID).isPresent();
+  }
+
+  /**
+   * Method to find logs by device ID and time period, both ends included.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @return List of Log, sorted by timestamp
+   */
+  @Override
+  public List<Log> findByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period) {
+    lock.readLock().lock();
+    try {
+      int deviceCode = devices.find(deviceID.getID());
+      List<Log> logs = new ArrayList<>();
+      if (deviceCode < 0) {
+        return logs;
+      }
+      for (LogChunk chunk : chunksInCreationOrder) {
+        if (chunk.getDeviceCode() == deviceCode) {
+          addPeriod(chunk, period, logs);
+        }
+      }
+      logs.sort(Comparator.comparing(Log::getTimeStamp));
+      return logs;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to find a page of logs by device ID and time period, in (timestamp, log ID) order. Each
+   * chunk of the device is entered by binary search at the cursor and read for at most limit logs
+   * (plus the logs that share the timestamp of the last one), so deep pages cost as much as the
+   * first.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    position of the last log of the previous page, or null for the first page
+   * @param limit    maximum number of logs returned
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findPageByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period,
+      LogCursor after, int limit) {
+    lock.readLock().lock();
+    try {
+      int deviceCode = devices.find(deviceID.getID());
+      List<Log> logs = new ArrayList<>();
+      if (deviceCode < 0) {
+        return logs;
+      }
+      long start = EpochNanos.of(period.getStartDate());
+      if (after != null) {
+        start = Math.max(start, EpochNanos.of(after.getTimestamp()));
+      }
+      long end = EpochNanos.of(period.getEndDate());
+      for (LogChunk chunk : chunksInCreationOrder) {
+        if (chunk.getDeviceCode() == deviceCode) {
+          addPage(chunk, start, end, after, limit, logs);
+        }
+      }
+      logs.sort(LogCursor.ORDER);
+      return logs.size() > limit ? new ArrayList<>(logs.subList(0, limit)) : logs;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to find a page of the logs of every device, in (timestamp, log ID) order. Every chunk is
+   * entered by binary search at the cursor, as for the page of a single device.
+   *
+   * @param after position of the last log of the previous page, or null for the first page
+   * @param limit maximum number of logs returned
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findPage(LogCursor after, int limit) {
+    lock.readLock().lock();
+    try {
+      long start = after == null ? Long.MIN_VALUE : EpochNanos.of(after.getTimestamp());
+      List<Log> logs = new ArrayList<>();
+      for (LogChunk chunk : chunksInCreationOrder) {
+        addPage(chunk, start, Long.MAX_VALUE, after, limit, logs);
+      }
+      logs.sort(LogCursor.ORDER);
+      return logs.size() > limit ? new ArrayList<>(logs.subList(0, limit)) : logs;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to visit logs by device ID and time period. The logs are collected under the read lock
+   * and handed to the consumer after it is released, so a slow consumer never blocks writers.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param consumer receives each log
+   */
+  @Override
+  public void streamByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> consumer) {
+    findByDeviceIDAndDatePeriodBetween(deviceID, period).forEach(consumer);
+  }
+
+  /**
+   * Method to find logs by device ID, sensor type and time period, both ends included. The range
+   * is located by binary search in the chunk of the device and sensor type.
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @return List of Log, sorted by timestamp
+   */
+  @Override
+  public List<Log> findByDeviceIDAndSensorTypeAndDatePeriodBetween(DeviceID deviceID,
+      SensorTypeID sensorTypeID, DatePeriod period) {
+    lock.readLock().lock();
+    try {
+      List<Log> logs = new ArrayList<>();
+      LogChunk chunk = findChunk(deviceID, sensorTypeID);
+      if (chunk != null) {
+        addPeriod(chunk, period, logs);
+      }
+      return logs;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to find the logs of several devices by sensor type and time period. Each device is a
+   * lookup of its chunk and a binary search of the period.
+   *
+   * @param deviceIDs    List of DeviceID
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @return List of Log, sorted by timestamp within each device
+   */
+  @Override
+  public List<Log> findByDeviceIDsAndSensorTypeAndDatePeriodBetween(List<DeviceID> deviceIDs,
+      SensorTypeID sensorTypeID, DatePeriod period) {
+    lock.readLock().lock();
+    try {
+      List<Log> logs = new ArrayList<>();
+      for (DeviceID deviceID : new LinkedHashSet<>(deviceIDs)) {
+        LogChunk chunk = findChunk(deviceID, sensorTypeID);
+        if (chunk != null) {
+          addPeriod(chunk, period, logs);
+        }
+      }
+      return logs;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to find logs by device ID and sensor type
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return List of Log, sorted by timestamp
+   */
+  @Override
+  public List<Log> findByDeviceIDAndSensorTypeID(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    lock.readLock().lock();
+    try {
+      List<Log> logs = new ArrayList<>();
+      LogChunk chunk = findChunk(deviceID, sensorTypeID);
+      if (chunk != null) {
+        addRange(chunk, 0, chunk.size(), logs);
+      }
+      return logs;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to find the latest log of a device and sensor type. The chunk of the pair is sorted by
+   * timestamp, so only the readings that share its last timestamp are compared.
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return Optional of Log
+   */
+  @Override
+  public Optional<Log> findLatest(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    lock.readLock().lock();
+    try {
+      LogChunk chunk = findChunk(deviceID, sensorTypeID);
+      if (chunk == null || chunk.size() == 0) {
+        return Optional.empty();
+      }
+      int last = chunk.size() - 1;
+      Log latest = toDomain(chunk, last);
+      for (int i = last - 1; i >= 0 && chunk.timeAt(i) == chunk.timeAt(last); i--) {
+        Log tied = toDomain(chunk, i);
+        if (LogCursor.ORDER.compare(tied, latest) > 0) {
+          latest = tied;
+        }
+      }
+      return Optional.of(latest);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to check if a device has logs of a sensor type
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return boolean
+   */
+  @Override
+  public boolean existsBy(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    lock.readLock().lock();
+    try {
+      LogChunk chunk = findChunk(deviceID, sensorTypeID);
+      return chunk != null && chunk.size() > 0;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to find the oldest logs before a cutoff. Only the timestamps of the chunk prefixes are
+   * compared to find the limit-th oldest one, and Log objects are built for the readings up to it.
+   *
+   * @param cutoff LocalDateTime object
+   * @param limit  maximum number of logs returned
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findOlderThan(LocalDateTime cutoff, int limit) {
+    lock.readLock().lock();
+    try {
+      long end = EpochNanos.of(cutoff);
+      int candidates = 0;
+      for (LogChunk chunk : chunksInCreationOrder) {
+        candidates += Math.min(limit, chunk.lowerBound(end));
+      }
+      long[] times = new long[candidates];
+      int next = 0;
+      for (LogChunk chunk : chunksInCreationOrder) {
+        int to = Math.min(limit, chunk.lowerBound(end));
+        for (int i = 0; i < to; i++) {
+          times[next++] = chunk.timeAt(i);
+        }
+      }
+      List<Log> logs = new ArrayList<>();
+      if (candidates == 0) {
+        return logs;
+      }
+      Arrays.sort(times);
+      long last = times[Math.min(limit, candidates) - 1];
+      for (LogChunk chunk : chunksInCreationOrder) {
+        addRange(chunk, 0, Math.min(chunk.upperBound(last), chunk.lowerBound(end)), logs);
+      }
+      logs.sort(LogCursor.ORDER);
+      return logs.size() > limit ? new ArrayList<>(logs.subList(0, limit)) : logs;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to delete logs. Each log is looked up by binary search on its timestamp in the chunk
+   * of its device and sensor type, and every chunk is compacted once.
+   *
+   * @param logs List of Log
+   */
+  @Override
+  public void deleteAll(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+
+    lock.writeLock().lock();
+    try {
+      Map<LogChunk, BitSet> removed = new HashMap<>();
+      for (Log log : logs) {
+        LogChunk chunk = findChunk(log.getDeviceID(), log.getDescription());
+        if (chunk == null) {
+          continue;
+        }
+        String id = log.getID().getID();
+        UUID uuid = parseCanonicalUUID(id);
+        long idHigh = uuid != null ? uuid.getMostSignificantBits() : 0;
+        long idLow = uuid != null ? uuid.getLeastSignificantBits() : texts.find(id);
+        long time = EpochNanos.of(log.getTimeStamp());
+        for (int i = chunk.lowerBound(time); i < chunk.upperBound(time); i++) {
+          if (chunk.idLowAt(i) == idLow && chunk.idHighAt(i) == idHigh
+              && ((chunk.flagsAt(i) & LogChunk.TEXT_ID_FLAG) != 0) == (uuid == null)) {
+            removed.computeIfAbsent(chunk, key -> new BitSet()).set(i);
+          }
+        }
+      }
+      removed.forEach(LogChunk::removeAll);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Method to get the bytes allocated by the columns of every chunk, excluding the dictionaries.
+   *
+   * @return the number of bytes.
+   */
+  public long columnBytes() {
+    lock.readLock().lock();
+    try {
+      long bytes = 0;
+      for (LogChunk chunk : chunksInCreationOrder) {
+        bytes += chunk.columnBytes();
+      }
+      return bytes;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to get the chunk of a device and sensor type.
+   *
+   * @return the chunk, or null when there are no readings for the pair.
+   */
+  private LogChunk findChunk(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    int deviceCode = devices.find(deviceID.getID());
+    int sensorTypeCode = sensorTypes.find(sensorTypeID.getID());
+    if (deviceCode < 0 || sensorTypeCode < 0) {
+      return null;
+    }
+    return chunks.get(chunkKey(deviceCode, sensorTypeCode));
+  }
+
+  /**
+   * Method to add the readings of a chunk that fall inside a period.
+   */
+  private void addPeriod(LogChunk chunk, DatePeriod period, List<Log> logs) {
+    int from = chunk.lowerBound(EpochNanos.of(period.getStartDate()));
+    int to = chunk.upperBound(EpochNanos.of(period.getEndDate()));
+    addRange(chunk, from, to, logs);
+  }
+
+  /**
+   * Method to add the readings of a chunk between two positions.
+   */
+  private void addPage(LogChunk chunk, long start, long end, LogCursor after, int limit,
+      List<Log> logs) {
+    int to = chunk.upperBound(end);
+    int taken = 0;
+    long lastTime = Long.MIN_VALUE;
+    for (int i = chunk.lowerBound(start); i < to; i++) {
+      long time = chunk.timeAt(i);
+      if (taken >= limit && time != lastTime) {
+        return;
+      }
+      Log log = toDomain(chunk, i);
+      if (after == null || after.isBefore(log)) {
+        logs.add(log);
+        taken++;
+        lastTime = time;
+      }
+    }
+  }
+
+  private void addRange(LogChunk chunk, int from, int to, List<Log> logs) {
+    for (int i = from; i < to; i++) {
+      logs.add(toDomain(chunk, i));
+    }
+  }
+
+  /**
+   * Method to build the Log stored at a position of a chunk.
+   */
+  private Log toDomain(LogChunk chunk, int position) {
+    byte flags = chunk.flagsAt(position);
+
+    LogID logID;
+    if ((flags & LogChunk.TEXT_ID_FLAG) != 0) {
+      logID = new LogID(texts.decode((int) chunk.idLowAt(position)));
+    } else {
+      logID = new LogID(
+          new UUID(chunk.idHighAt(position), chunk.idLowAt(position)).toString());
+    }
+
+    long value = chunk.valueAt(position);
+    ReadingValue reading = switch (flags & LogChunk.KIND_MASK) {
+      case LogChunk.KIND_LONG -> new ReadingValue(value);
+      case LogChunk.KIND_DOUBLE -> new ReadingValue(Double.longBitsToDouble(value));
+      default -> new ReadingValue(texts.decode((int) value));
+    };
+
+    DeviceID deviceID = new DeviceID(devices.decode(chunk.getDeviceCode()));
+    SensorID sensorID = new SensorID(sensors.decode(chunk.sensorCodeAt(position)));
+    LocalDateTime timeStamp = EpochNanos.toLocalDateTime(chunk.timeAt(position));
+    SensorTypeID sensorTypeID = new SensorTypeID(sensorTypes.decode(chunk.getSensorTypeCode()));
+    UnitID unitID = new UnitID(units.decode(chunk.unitCodeAt(position)));
+
+    return logFactory.createLog(logID, deviceID, sensorID, timeStamp, reading, sensorTypeID,
+        unitID);
+  }
+
+  /**
+   * Method to get the key of the chunk of a device and sensor type.
+   */
+  private static long chunkKey(int deviceCode, int sensorTypeCode) {
+    return ((long) deviceCode << 32) | (sensorTypeCode & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Method to parse a log ID that is a UUID in its canonical lower-case form.
+   *
+   * @return the UUID, or null when the ID would not be rebuilt identically from its bits.
+   */
+  private static UUID parseCanonicalUUID(String id) {
+    if (id.length() != 36 || id.charAt(8) != '-') {
+      return null;
+    }
+    try {
+      UUID uuid = UUID.fromString(id);
+      return uuid.toString().equals(id) ? uuid : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.columnar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding of strings into dense int codes, so that repeated identifiers are stored
+ * once and referenced by a 4-byte code.
+ */
+class StringDictionary {
+
+  private final Map<String, Integer> codes = new HashMap<>();
+  private final List<String> values = new ArrayList<>();
+
+  /**
+   * Method to get the code of a value, adding it to the dictionary when it is new.
+   *
+   * @param value is the value to encode.
+   * @return the code of the value.
+   */
+  int encode(String value) {
+    Integer code = codes.get(value);
+    if (code == null) {
+      code = values.size();
+      codes.put(value, code);
+      values.add(value);
+    }
+    return code;
+  }
+
+  /**
+   * Method to get the code of a value without adding it to the dictionary.
+   *
+   * @param value is the value to look up.
+   * @return the code of the value, or -1 when the value is not in the dictionary.
+   */
+  int find(String value) {
+    Integer code = codes.get(value);
+    return code == null ? -1 : code;
+  }
+
+  /**
+   * Method to get the value of a code.
+   *
+   * @param code is the code to decode.
+   * @return the value of the code.
+   */
+  String decode(int code) {
+    return values.get(code);
+  }
+
+  /**
+   * @return the number of distinct values in the dictionary.
+   */
+  int size() {
+    return values.size();
+  }
+}
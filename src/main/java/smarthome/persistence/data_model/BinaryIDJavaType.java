@@ -0,0 +1,140 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.data_model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.UUID;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractClassJavaType;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcTypeIndicators;
+
+/**
+ * Stores string identifiers in a VARBINARY column. A UUID in its canonical lower-case form, which
+ * is what the aggregates generate, takes its 16 bytes; any other identifier takes its UTF-8 bytes
+ * followed by 0xFF, which never occurs in UTF-8, plus a second 0xFF if that would make it 16 bytes
+ * long.
+ * <p>
+ * Bytes compare like canonical UUID strings, so the (timestamp, logid) order of the database
+ * matches LogCursor.ORDER for generated identifiers. It is a JavaType rather than an
+ * AttributeConverter because Hibernate does not apply converters to identifiers.
+ */
+public class BinaryIDJavaType extends AbstractClassJavaType<String> {
+
+  private static final int UUID_BYTES = 16;
+  private static final byte MARKER = (byte) 0xFF;
+
+  /**
+   * BinaryIDJavaType constructor.
+   */
+  public BinaryIDJavaType() {
+    super(String.class);
+  }
+
+  @Override
+  public JdbcType getRecommendedJdbcType(JdbcTypeIndicators indicators) {
+    return indicators.getTypeConfiguration().getJdbcTypeRegistry().getDescriptor(Types.VARBINARY);
+  }
+
+  @Override
+  public String toString(String value) {
+    return value;
+  }
+
+  @Override
+  public String fromString(CharSequence string) {
+    return string == null ? null : string.toString();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+    if (value == null) {
+      return null;
+    }
+    if (type == byte[].class) {
+      return (X) encode(value);
+    }
+    if (type == String.class || type == Object.class) {
+      return (X) value;
+    }
+    throw unknownUnwrap(type);
+  }
+
+  @Override
+  public <X> String wrap(X value, WrapperOptions options) {
+    if (value == null) {
+      return null;
+    }
+    if (value instanceof byte[] bytes) {
+      return decode(bytes);
+    }
+    if (value instanceof String string) {
+      return string;
+    }
+    throw unknownWrap(value.getClass());
+  }
+
+  /**
+   * Method to encode an identifier.
+   *
+   * @param id is the identifier.
+   * @return the bytes stored.
+   */
+  public static byte[] encode(String id) {
+    if (isCanonicalUUID(id)) {
+      UUID uuid = UUID.fromString(id);
+      return ByteBuffer.allocate(UUID_BYTES)
+          .putLong(uuid.getMostSignificantBits())
+          .putLong(uuid.getLeastSignificantBits())
+          .array();
+    }
+    byte[] utf8 = id.getBytes(StandardCharsets.UTF_8);
+    int markers = utf8.length + 1 == UUID_BYTES ? 2 : 1;
+    byte[] bytes = Arrays.copyOf(utf8, utf8.length + markers);
+    Arrays.fill(bytes, utf8.length, bytes.length, MARKER);
+    return bytes;
+  }
+
+  /**
+   * Method to decode stored bytes.
+   *
+   * @param bytes are the bytes stored.
+   * @return the identifier.
+   */
+  public static String decode(byte[] bytes) {
+    if (bytes.length == UUID_BYTES) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+    int length = bytes.length;
+    while (length > 0 && bytes[length - 1] == MARKER) {
+      length--;
+    }
+    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Method to check if an identifier is a UUID in its canonical lower-case form, which is rebuilt
+   * identically from its 16 bytes.
+   */
+  private static boolean isCanonicalUUID(String id) {
+    if (id.length() != 36) {
+      return false;
+    }
+    try {
+      return UUID.fromString(id).toString().equals(id);
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.persistence.data_model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import smarthome.domain.log.Log;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.LogID;
+
+@Entity
+@Table(name = "LatestReadings")
+public class LatestReadingDataModel {
+
+  @Id
+  private String readingKey;
+  private String deviceID;
+  private String sensorTypeID;
+  @JavaType(BinaryIDJavaType.class)
+  @JdbcTypeCode(SqlTypes.VARBINARY)
+  private String logID;
+  private LocalDateTime timestamp;
+  @Version
+  private Long version;
+
+
+  /**
+   * Empty class constructor
+   */
+  public LatestReadingDataModel() {
+  }
+
+  /**
+   * Class constructor
+   */
+  public LatestReadingDataModel(Log log) {
+    this.deviceID = log.getDeviceID().getID();
+    this.sensorTypeID = log.getDescription().getID();
+    this.readingKey = readingKey(deviceID, sensorTypeID);
+    setLatest(log);
+  }
+
+  /**
+   * Method to build the key of a device and sensor type.
+   */
+  public static String readingKey(String deviceID, String sensorTypeID) {
+    return deviceID + "|" + sensorTypeID;
+  }
+
+  /**
+   * Method to point the entry at a newer log.
+   */
+  public void setLatest(Log log) {
+    this.logID = log.getID().getID();
+    this.timestamp = log.getTimeStamp();
+  }
+
+  /**
+   * Method to return the position of the latest log.
+   */
+  public LogCursor toCursor() {
+    return new LogCursor(this.timestamp, new LogID(this.logID));
+  }
+
+  /**
+   * Method to return the reading key.
+   */
+  public String getReadingKey() {
+    return this.readingKey;
+  }
+
+  /**
+   * Method to return the device ID.
+   */
+  public String getDeviceID() {
+    return this.deviceID;
+  }
+
+  /**
+   * Method to return the sensor type ID.
+   */
+  public String getSensorTypeID() {
+    return this.sensorTypeID;
+  }
+
+  /**
+   * Method to return the ID of the latest log.
+   */
+  public String getLogID() {
+    return this.logID;
+  }
+
+  /**
+   * Method to return the timestamp of the latest log.
+   */
+  public LocalDateTime getTimestamp() {
+    return this.timestamp;
+  }
+}
@@ -9,26 +9,39 @@
 package smarthome.persistence.data_model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import smarthome.domain.log.Log;
+import smarthome.domain.value_object.ReadingKind;
+import smarthome.domain.value_object.ReadingValue;
 
 @Entity
 @Table(name = "Logs")
 public class LogDataModel {
 
   @Id
+  @JavaType(BinaryIDJavaType.class)
+  @JdbcTypeCode(SqlTypes.VARBINARY)
   private String logID;
   private String deviceID;
   private String sensorID;
   private LocalDateTime timestamp;
+  @Enumerated(EnumType.STRING)
+  private ReadingKind readingKind;
+  private Long integerValue;
+  private Double decimalValue;
   private String readingValue;
   private String description;
   private String unit;
   @Version
-  private long version;
+  private Long version;
 
 
   /**
@@ -45,7 +58,7 @@ public class LogDataModel {
     this.deviceID = log.getDeviceID().getID();
     this.sensorID = log.getSensorID().getID();
     this.timestamp = log.getTimeStamp();
-    this.readingValue = log.getReadingValue().getValue();
+    setReading(log.getReadingValue());
     this.description = log.getDescription().getID();
     this.unit = log.getUnit().getID();
   }
@@ -79,12 +92,55 @@ public class LogDataModel {
   }
 
   /**
-   * Method to return the reading value.
+   * Method to store a reading in the column of its kind. Only text readings use the readingValue
+   * column.
+   */
+  private void setReading(ReadingValue reading) {
+    this.readingKind = reading.getKind();
+    if (readingKind == ReadingKind.INTEGER) {
+      this.integerValue = reading.getIntegerValue();
+    } else if (readingKind == ReadingKind.DECIMAL) {
+      this.decimalValue = reading.getNumericValue();
+    } else {
+      this.readingValue = reading.getValue();
+    }
+  }
+
+  /**
+   * Method to return the reading value, as text.
    */
   public String getReadingValue() {
+    if (readingKind == ReadingKind.INTEGER) {
+      return Long.toString(integerValue);
+    }
+    if (readingKind == ReadingKind.DECIMAL) {
+      return Double.toString(decimalValue);
+    }
     return this.readingValue;
   }
 
+  /**
+   * Method to return the kind of the reading. Rows written before readings were typed have no
+   * kind and keep their value in the readingValue column.
+   */
+  public ReadingKind getReadingKind() {
+    return this.readingKind;
+  }
+
+  /**
+   * Method to return the value of an integer reading.
+   */
+  public Long getIntegerValue() {
+    return this.integerValue;
+  }
+
+  /**
+   * Method to return the value of a decimal reading.
+   */
+  public Double getDecimalValue() {
+    return this.decimalValue;
+  }
+
   /**
    * Method to return the description.
    */
@@ -0,0 +1,174 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.persistence.data_model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+import smarthome.domain.value_object.ReadingAggregate;
+import smarthome.domain.value_object.Resolution;
+
+@Entity
+@Table(name = "LogRollups")
+public class LogRollupDataModel {
+
+  @Id
+  private String rollupID;
+  private String deviceID;
+  private String sensorTypeID;
+  @Enumerated(EnumType.STRING)
+  private Resolution resolution;
+  private LocalDateTime bucketStart;
+  private long readingCount;
+  private double minValue;
+  private double maxValue;
+  private double sumValue;
+  private double firstValue;
+  private LocalDateTime firstTime;
+  private double lastValue;
+  private LocalDateTime lastTime;
+  @Version
+  private Long version;
+
+
+  /**
+   * Empty class constructor
+   */
+  public LogRollupDataModel() {
+  }
+
+  /**
+   * Class constructor
+   */
+  public LogRollupDataModel(String deviceID, String sensorTypeID, Resolution resolution,
+      ReadingAggregate aggregate) {
+    this.rollupID = rollupID(deviceID, sensorTypeID, resolution, aggregate.getBucketStart());
+    this.deviceID = deviceID;
+    this.sensorTypeID = sensorTypeID;
+    this.resolution = resolution;
+    this.bucketStart = aggregate.getBucketStart();
+    setAggregate(aggregate);
+  }
+
+  /**
+   * Method to build the ID of the bucket of a device, sensor type and resolution.
+   */
+  public static String rollupID(String deviceID, String sensorTypeID, Resolution resolution,
+      LocalDateTime bucketStart) {
+    return deviceID + "|" + sensorTypeID + "|" + resolution + "|" + bucketStart;
+  }
+
+  /**
+   * Method to replace the values of the bucket.
+   */
+  public void setAggregate(ReadingAggregate aggregate) {
+    this.readingCount = aggregate.getCount();
+    this.minValue = aggregate.getMin();
+    this.maxValue = aggregate.getMax();
+    this.sumValue = aggregate.getSum();
+    this.firstValue = aggregate.getFirst();
+    this.firstTime = aggregate.getFirstTime();
+    this.lastValue = aggregate.getLast();
+    this.lastTime = aggregate.getLastTime();
+  }
+
+  /**
+   * Method to return the rollup ID.
+   */
+  public String getRollupID() {
+    return this.rollupID;
+  }
+
+  /**
+   * Method to return the device ID.
+   */
+  public String getDeviceID() {
+    return this.deviceID;
+  }
+
+  /**
+   * Method to return the sensor type ID.
+   */
+  public String getSensorTypeID() {
+    return this.sensorTypeID;
+  }
+
+  /**
+   * Method to return the resolution.
+   */
+  public Resolution getResolution() {
+    return this.resolution;
+  }
+
+  /**
+   * Method to return the start of the bucket.
+   */
+  public LocalDateTime getBucketStart() {
+    return this.bucketStart;
+  }
+
+  /**
+   * Method to return the number of readings.
+   */
+  public long getReadingCount() {
+    return this.readingCount;
+  }
+
+  /**
+   * Method to return the lowest reading.
+   */
+  public double getMinValue() {
+    return this.minValue;
+  }
+
+  /**
+   * Method to return the highest reading.
+   */
+  public double getMaxValue() {
+    return this.maxValue;
+  }
+
+  /**
+   * Method to return the sum of the readings.
+   */
+  public double getSumValue() {
+    return this.sumValue;
+  }
+
+  /**
+   * Method to return the earliest reading.
+   */
+  public double getFirstValue() {
+    return this.firstValue;
+  }
+
+  /**
+   * Method to return the time of the earliest reading.
+   */
+  public LocalDateTime getFirstTime() {
+    return this.firstTime;
+  }
+
+  /**
+   * Method to return the latest reading.
+   */
+  public double getLastValue() {
+    return this.lastValue;
+  }
+
+  /**
+   * Method to return the time of the latest reading.
+   */
+  public LocalDateTime getLastTime() {
+    return this.lastTime;
+  }
+}
@@ -12,20 +12,39 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import smarthome.domain.log.Log;
 import smarthome.domain.repository.ILogRepository;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
 import smarthome.domain.value_object.LogID;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.persistence.assembler.IDataModelAssembler;
+import smarthome.persistence.data_model.LatestReadingDataModel;
 import smarthome.persistence.data_model.LogDataModel;
 import smarthome.utils.Validator;
 
+/**
+ * Log repository on an EntityManagerFactory of its own. Every write runs in a resource-local
+ * transaction of its own EntityManager, so it does not join a Spring transaction of the caller:
+ * LogServiceImpl saves logs and their rollups atomically only with the spring_data repository.
+ */
 public class LogRepositoryJPAImpl implements ILogRepository {
 
+  private static final int FLUSH_SIZE = 500;
+  private static final int STREAM_FETCH_SIZE = 500;
+  private static final int DELETE_BATCH_SIZE = 1000;
+  private static final int IN_LIST_SIZE = 1000;
   private final EntityManagerFactory factory;
   private final IDataModelAssembler<LogDataModel, Log> dataModelAssembler;
 
@@ -33,10 +52,12 @@ public class LogRepositoryJPAImpl implements ILogRepository {
    * LogRepositoryJPAImpl constructor
    *
    * @param dataModelAssembler IDataModelAssembler object
+   * @param factory            EntityManagerFactory the entity managers are created from
    */
   public LogRepositoryJPAImpl(IDataModelAssembler<LogDataModel, Log> dataModelAssembler,
       EntityManagerFactory factory) {
     Validator.validateNotNull(dataModelAssembler, "Data model assembler");
+    Validator.validateNotNull(factory, "Entity manager factory");
 
     this.dataModelAssembler = dataModelAssembler;
     this.factory = factory;
@@ -71,6 +92,7 @@ public class LogRepositoryJPAImpl implements ILogRepository {
     try {
       tx.begin();
       em.persist(logDataModel);
+      updateLatest(em, List.of(log));
       tx.commit();
     } catch (RuntimeException e) {
       if (tx.isActive()) {
@@ -83,6 +105,70 @@ public class LogRepositoryJPAImpl implements ILogRepository {
     return log;
   }
 
+  /**
+   * Method to save several logs with a single entity manager and transaction
+   *
+   * @param logs is the list of logs to be saved.
+   * @return List<Log>
+   */
+  @Override
+  public List<Log> saveAll(List<Log> logs) {
+    if (logs == null || logs.contains(null)) {
+      throw new IllegalArgumentException("Logs cannot be null");
+    }
+
+    EntityManager em = getEntityManager();
+    EntityTransaction tx = em.getTransaction();
+    try {
+      tx.begin();
+      int pending = 0;
+      for (Log log : logs) {
+        em.persist(new LogDataModel(log));
+        if (++pending == FLUSH_SIZE) {
+          em.flush();
+          em.clear();
+          pending = 0;
+        }
+      }
+      updateLatest(em, logs);
+      tx.commit();
+    } catch (RuntimeException e) {
+      if (tx.isActive()) {
+        tx.rollback();
+      }
+      throw e;
+    } finally {
+      em.close();
+    }
+    return logs;
+  }
+
+  /**
+   * Method to move the latest reading of each device and sensor type to the newest of the saved
+   * logs, inside the transaction that saves them.
+   *
+   * @param em   EntityManager of the transaction
+   * @param logs is the list of saved logs.
+   */
+  private void updateLatest(EntityManager em, List<Log> logs) {
+    Map<String, Log> newest = new LinkedHashMap<>();
+    for (Log log : logs) {
+      newest.merge(LatestReadingDataModel.readingKey(log.getDeviceID().getID(),
+              log.getDescription().getID()), log,
+          (current, candidate) -> LogCursor.ORDER.compare(candidate, current) > 0
+              ? candidate : current);
+    }
+
+    for (Map.Entry<String, Log> entry : newest.entrySet()) {
+      LatestReadingDataModel stored = em.find(LatestReadingDataModel.class, entry.getKey());
+      if (stored == null) {
+        em.persist(new LatestReadingDataModel(entry.getValue()));
+      } else if (stored.toCursor().isBefore(entry.getValue())) {
+        stored.setLatest(entry.getValue());
+      }
+    }
+  }
+
   /**
    * Method to find all logs
    *
@@ -163,6 +249,107 @@ public class LogRepositoryJPAImpl implements ILogRepository {
     }
   }
 
+  /**
+   * Method to find a page of logs by device ID and time period, in (timestamp, log ID) order. The
+   * cursor is part of the WHERE clause, so the database seeks to it instead of skipping rows.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    position of the last log of the previous page, or null for the first page
+   * @param limit    maximum number of logs returned
+   * @return List<Log>
+   */
+  @Override
+  public List<Log> findPageByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period,
+      LogCursor after, int limit) {
+    EntityManager em = getEntityManager();
+    try {
+      String cursorClause = after == null ? ""
+          : " AND (e.timestamp > :afterTime OR (e.timestamp = :afterTime AND e.logID > :afterID))";
+      TypedQuery<LogDataModel> query =
+          em.createQuery(
+              "SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.timestamp BETWEEN :start AND :end"
+                  + cursorClause + " ORDER BY e.timestamp, e.logID",
+              LogDataModel.class);
+      query.setParameter("deviceID", deviceID.getID());
+      query.setParameter("start", period.getStartDate());
+      query.setParameter("end", period.getEndDate());
+      if (after != null) {
+        query.setParameter("afterTime", after.getTimestamp());
+        query.setParameter("afterID", after.getLogID().getID());
+      }
+      query.setMaxResults(limit);
+
+      return dataModelAssembler.toDomain(query.getResultList());
+    } finally {
+      em.close();
+    }
+  }
+
+  /**
+   * Method to find a page of the logs of every device, in (timestamp, log ID) order
+   *
+   * @param after position of the last log of the previous page, or null for the first page
+   * @param limit maximum number of logs returned
+   * @return List<Log>
+   */
+  @Override
+  public List<Log> findPage(LogCursor after, int limit) {
+    EntityManager em = getEntityManager();
+    try {
+      String cursorClause = after == null ? ""
+          : " WHERE e.timestamp > :afterTime OR (e.timestamp = :afterTime AND e.logID > :afterID)";
+      TypedQuery<LogDataModel> query =
+          em.createQuery(
+              "SELECT e FROM LogDataModel e" + cursorClause + " ORDER BY e.timestamp, e.logID",
+              LogDataModel.class);
+      if (after != null) {
+        query.setParameter("afterTime", after.getTimestamp());
+        query.setParameter("afterID", after.getLogID().getID());
+      }
+      query.setMaxResults(limit);
+
+      return dataModelAssembler.toDomain(query.getResultList());
+    } finally {
+      em.close();
+    }
+  }
+
+  /**
+   * Method to visit logs by device ID and time period. Rows are read through a cursor in chunks of
+   * STREAM_FETCH_SIZE and each one is detached once converted, so the persistence context stays
+   * small however wide the period is.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param consumer receives each log
+   */
+  @Override
+  public void streamByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> consumer) {
+    EntityManager em = getEntityManager();
+    try {
+      TypedQuery<LogDataModel> query =
+          em.createQuery(
+              "SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.timestamp BETWEEN :start AND :end",
+              LogDataModel.class);
+      query.setParameter("deviceID", deviceID.getID());
+      query.setParameter("start", period.getStartDate());
+      query.setParameter("end", period.getEndDate());
+      query.setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE);
+      query.setHint(HibernateHints.HINT_READ_ONLY, true);
+
+      try (Stream<LogDataModel> rows = query.getResultStream()) {
+        rows.forEach(row -> {
+          em.detach(row);
+          consumer.accept(dataModelAssembler.toDomain(row));
+        });
+      }
+    } finally {
+      em.close();
+    }
+  }
+
   /**
    * Method to find logs by device ID, sensor type and time period
    *
@@ -193,6 +380,44 @@ public class LogRepositoryJPAImpl implements ILogRepository {
     }
   }
 
+  /**
+   * Method to find the logs of several devices by sensor type and time period, with one query per
+   * IN_LIST_SIZE devices, so a room or house takes one round trip
+   *
+   * @param deviceIDs    List of DeviceID
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @return List<Log>
+   */
+  @Override
+  public List<Log> findByDeviceIDsAndSensorTypeAndDatePeriodBetween(List<DeviceID> deviceIDs,
+      SensorTypeID sensorTypeID, DatePeriod period) {
+    List<String> ids = deviceIDs.stream().map(DeviceID::getID).distinct().toList();
+    if (ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    EntityManager em = getEntityManager();
+    try {
+      TypedQuery<LogDataModel> query =
+          em.createQuery(
+              "SELECT e FROM LogDataModel e WHERE e.deviceID IN :deviceIDs AND e.description = :sensorTypeID AND e.timestamp BETWEEN :start AND :end",
+              LogDataModel.class);
+      query.setParameter("sensorTypeID", sensorTypeID.getID());
+      query.setParameter("start", period.getStartDate());
+      query.setParameter("end", period.getEndDate());
+
+      List<LogDataModel> models = new ArrayList<>();
+      for (int from = 0; from < ids.size(); from += IN_LIST_SIZE) {
+        query.setParameter("deviceIDs",
+            ids.subList(from, Math.min(ids.size(), from + IN_LIST_SIZE)));
+        models.addAll(query.getResultList());
+      }
+      return dataModelAssembler.toDomain(models);
+    } finally {
+      em.close();
+    }
+  }
+
   @Override
   public List<Log> findByDeviceIDAndSensorTypeID(DeviceID deviceID, SensorTypeID sensorTypeID) {
     EntityManager em = getEntityManager();
@@ -211,4 +436,124 @@ public class LogRepositoryJPAImpl implements ILogRepository {
       em.close();
     }
   }
+
+  /**
+   * Method to find the latest log of a device and sensor type through the last-value index
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return Optional<Log>
+   */
+  @Override
+  public Optional<Log> findLatest(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    EntityManager em = getEntityManager();
+    try {
+      LatestReadingDataModel latest = em.find(LatestReadingDataModel.class,
+          LatestReadingDataModel.readingKey(deviceID.getID(), sensorTypeID.getID()));
+      if (latest == null) {
+        return Optional.empty();
+      }
+      LogDataModel logDataModel = em.find(LogDataModel.class, latest.getLogID());
+      return Optional.ofNullable(logDataModel).map(dataModelAssembler::toDomain);
+    } finally {
+      em.close();
+    }
+  }
+
+  /**
+   * Method to check if a device has logs of a sensor type
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return boolean
+   */
+  @Override
+  public boolean existsBy(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    EntityManager em = getEntityManager();
+    try {
+      return em.find(LatestReadingDataModel.class,
+          LatestReadingDataModel.readingKey(deviceID.getID(), sensorTypeID.getID())) != null;
+    } finally {
+      em.close();
+    }
+  }
+
+  /**
+   * Method to find the oldest logs before a cutoff, in (timestamp, log ID) order
+   *
+   * @param cutoff LocalDateTime object
+   * @param limit  maximum number of logs returned
+   * @return List<Log>
+   */
+  @Override
+  public List<Log> findOlderThan(LocalDateTime cutoff, int limit) {
+    EntityManager em = getEntityManager();
+    try {
+      TypedQuery<LogDataModel> query =
+          em.createQuery(
+              "SELECT e FROM LogDataModel e WHERE e.timestamp < :cutoff ORDER BY e.timestamp, e.logID",
+              LogDataModel.class);
+      query.setParameter("cutoff", cutoff);
+      query.setMaxResults(limit);
+
+      return dataModelAssembler.toDomain(query.getResultList());
+    } finally {
+      em.close();
+    }
+  }
+
+  /**
+   * Method to delete logs in one transaction, with one DELETE per DELETE_BATCH_SIZE logs. The
+   * latest readings that pointed at a deleted log are moved to the newest log still stored, or
+   * removed when there is none.
+   *
+   * @param logs is the list of logs to be deleted.
+   */
+  @Override
+  public void deleteAll(List<Log> logs) {
+    if (logs == null) {
+      throw new IllegalArgumentException("Logs cannot be null");
+    }
+
+    EntityManager em = getEntityManager();
+    EntityTransaction tx = em.getTransaction();
+    try {
+      tx.begin();
+      List<LatestReadingDataModel> stale = new ArrayList<>();
+      for (int from = 0; from < logs.size(); from += DELETE_BATCH_SIZE) {
+        List<String> ids = logs.subList(from, Math.min(logs.size(), from + DELETE_BATCH_SIZE))
+            .stream().map(log -> log.getID().getID()).toList();
+        stale.addAll(em.createQuery(
+                "SELECT e FROM LatestReadingDataModel e WHERE e.logID IN :logIDs",
+                LatestReadingDataModel.class)
+            .setParameter("logIDs", ids)
+            .getResultList());
+        em.createQuery("DELETE FROM LogDataModel e WHERE e.logID IN :logIDs")
+            .setParameter("logIDs", ids)
+            .executeUpdate();
+      }
+      for (LatestReadingDataModel latest : stale) {
+        List<LogDataModel> newest = em.createQuery(
+                "SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.description = :sensorTypeID ORDER BY e.timestamp DESC, e.logID DESC",
+                LogDataModel.class)
+            .setParameter("deviceID", latest.getDeviceID())
+            .setParameter("sensorTypeID", latest.getSensorTypeID())
+            .setMaxResults(1)
+            .getResultList();
+        if (newest.isEmpty()) {
+          em.remove(latest);
+        } else {
+          latest.setLatest(dataModelAssembler.toDomain(newest.get(0)));
+        }
+      }
+      tx.commit();
+    } catch (RuntimeException e) {
+      if (tx.isActive()) {
+        tx.rollback();
+      }
+      throw e;
+    } finally {
+      em.close();
+    }
+  }
 }
@@ -8,14 +8,21 @@
 
 package smarthome.persistence.mem;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import smarthome.domain.log.Log;
 import smarthome.domain.repository.ILogRepository;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
 import smarthome.domain.value_object.LogID;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
@@ -24,6 +31,7 @@ import smarthome.utils.Validator;
 public class LogRepository implements ILogRepository {
 
   private final Map<LogID, Log> DATA = new LinkedHashMap<>();
+  private final Map<String, Log> LATEST = new HashMap<>();
 
 
   /**
@@ -40,10 +48,49 @@ public class LogRepository implements ILogRepository {
       throw new IllegalArgumentException("Log already exists.");
     } else {
       DATA.put(log.getID(), log);
+      updateLatest(log);
     }
     return log;
   }
 
+  /**
+   * Method to save several logs, none of which is saved if one already exists
+   *
+   * @param logs List of Log
+   * @return List of Log
+   */
+  @Override
+  public List<Log> saveAll(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+
+    for (Log log : logs) {
+      Validator.validateNotNull(log, "Log");
+      if (containsOfIdentity(log.getID())) {
+        throw new IllegalArgumentException("Log already exists.");
+      }
+    }
+    for (Log log : logs) {
+      DATA.put(log.getID(), log);
+      updateLatest(log);
+    }
+    return logs;
+  }
+
+  /**
+   * Method to replace the latest log of the device and sensor type of a log, if it is newer
+   *
+   * @param log Log object
+   */
+  private void updateLatest(Log log) {
+    LATEST.merge(latestKey(log.getDeviceID(), log.getDescription()), log,
+        (current, candidate) -> LogCursor.ORDER.compare(candidate, current) > 0
+            ? candidate : current);
+  }
+
+  private static String latestKey(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    return deviceID.getID() + "|" + sensorTypeID.getID();
+  }
+
 
   /**
    * Method to find all logs
@@ -96,6 +143,54 @@ public class LogRepository implements ILogRepository {
         .toList();
   }
 
+  /**
+   * Method to find a page of logs by device ID and time period
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    position of the last log of the previous page, or null for the first page
+   * @param limit    maximum number of logs returned
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findPageByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period,
+      LogCursor after, int limit) {
+    return findByDeviceIDAndDatePeriodBetween(deviceID, period).stream()
+        .filter(log -> after == null || after.isBefore(log))
+        .sorted(LogCursor.ORDER)
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Method to find a page of the logs of every device
+   *
+   * @param after position of the last log of the previous page, or null for the first page
+   * @param limit maximum number of logs returned
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findPage(LogCursor after, int limit) {
+    return DATA.values().stream()
+        .filter(log -> after == null || after.isBefore(log))
+        .sorted(LogCursor.ORDER)
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Method to visit logs by device ID and time period
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param consumer receives each log
+   */
+  @Override
+  public void streamByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> consumer) {
+    findByDeviceIDAndDatePeriodBetween(deviceID, period).forEach(consumer);
+  }
+
   /**
    * Method to find logs by device ID, sensor type and time period
    *
@@ -115,6 +210,26 @@ public class LogRepository implements ILogRepository {
         .toList();
   }
 
+  /**
+   * Method to find the logs of several devices by sensor type and time period
+   *
+   * @param deviceIDs    List of DeviceID
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findByDeviceIDsAndSensorTypeAndDatePeriodBetween(List<DeviceID> deviceIDs,
+      SensorTypeID sensorTypeID, DatePeriod period) {
+    Set<DeviceID> devices = new HashSet<>(deviceIDs);
+    return DATA.values().stream()
+        .filter(log -> devices.contains(log.getDeviceID()))
+        .filter(log -> log.getDescription().getID().equals(sensorTypeID.getID()))
+        .filter(log -> !log.getTimeStamp().isBefore(period.getStartDate()))
+        .filter(log -> !log.getTimeStamp().isAfter(period.getEndDate()))
+        .toList();
+  }
+
   @Override
   public List<Log> findByDeviceIDAndSensorTypeID(DeviceID deviceID, SensorTypeID sensorTypeID) {
     return DATA.values().stream()
@@ -122,4 +237,72 @@ public class LogRepository implements ILogRepository {
         .filter(log -> log.getDescription().getID().equals(sensorTypeID.getID()))
         .toList();
   }
+
+  /**
+   * Method to find the latest log of a device and sensor type
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return Optional of Log
+   */
+  @Override
+  public Optional<Log> findLatest(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    return Optional.ofNullable(LATEST.get(latestKey(deviceID, sensorTypeID)));
+  }
+
+  /**
+   * Method to check if a device has logs of a sensor type
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return boolean
+   */
+  @Override
+  public boolean existsBy(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    return LATEST.containsKey(latestKey(deviceID, sensorTypeID));
+  }
+
+  /**
+   * Method to find the oldest logs before a cutoff
+   *
+   * @param cutoff LocalDateTime object
+   * @param limit  maximum number of logs returned
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findOlderThan(LocalDateTime cutoff, int limit) {
+    return DATA.values().stream()
+        .filter(log -> log.getTimeStamp().isBefore(cutoff))
+        .sorted(LogCursor.ORDER)
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Method to delete logs. When the latest log of a device and sensor type is deleted, the next
+   * latest one still stored takes its place.
+   *
+   * @param logs List of Log
+   */
+  @Override
+  public void deleteAll(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+
+    Set<String> staleKeys = new HashSet<>();
+    for (Log log : logs) {
+      if (DATA.remove(log.getID()) != null) {
+        String key = latestKey(log.getDeviceID(), log.getDescription());
+        Log latest = LATEST.get(key);
+        if (latest != null && latest.getID().equals(log.getID())) {
+          LATEST.remove(key);
+          staleKeys.add(key);
+        }
+      }
+    }
+    if (!staleKeys.isEmpty()) {
+      DATA.values().stream()
+          .filter(log -> staleKeys.contains(latestKey(log.getDeviceID(), log.getDescription())))
+          .forEach(this::updateLatest);
+    }
+  }
 }
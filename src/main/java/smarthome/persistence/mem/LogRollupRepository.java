@@ -0,0 +1,99 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.persistence.mem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import smarthome.domain.log.Log;
+import smarthome.domain.repository.ILogRollupRepository;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingAggregate;
+import smarthome.domain.value_object.Resolution;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.utils.Validator;
+
+public class LogRollupRepository implements ILogRollupRepository {
+
+  private final Map<String, NavigableMap<LocalDateTime, ReadingAggregate>> DATA = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * Method to add logs to their buckets, holding the write lock for the whole batch
+   *
+   * @param logs List of Log
+   */
+  @Override
+  public void record(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+
+    lock.writeLock().lock();
+    try {
+      for (Log log : logs) {
+        if (!log.getReadingValue().isNumeric()) {
+          continue;
+        }
+        LocalDateTime time = log.getTimeStamp();
+        double value = log.getReadingValue().getNumericValue();
+        for (Resolution resolution : Resolution.values()) {
+          NavigableMap<LocalDateTime, ReadingAggregate> series = DATA.computeIfAbsent(
+              key(log.getDeviceID(), log.getDescription(), resolution), k -> new TreeMap<>());
+          ReadingAggregate single = ReadingAggregate.of(resolution.bucketStart(time), time, value);
+          series.merge(single.getBucketStart(), single, ReadingAggregate::merge);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Method to find the buckets that start in [from, to)
+   *
+   * @return List of ReadingAggregate
+   */
+  @Override
+  public List<ReadingAggregate> findByDeviceIDAndSensorTypeIDAndResolution(DeviceID deviceID,
+      SensorTypeID sensorTypeID, Resolution resolution, LocalDateTime from, LocalDateTime to) {
+    lock.readLock().lock();
+    try {
+      NavigableMap<LocalDateTime, ReadingAggregate> series = DATA.get(
+          key(deviceID, sensorTypeID, resolution));
+      if (series == null) {
+        return List.of();
+      }
+      return new ArrayList<>(series.subMap(from, true, to, false).values());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Method to remove every bucket
+   */
+  @Override
+  public void deleteAll() {
+    lock.writeLock().lock();
+    try {
+      DATA.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static String key(DeviceID deviceID, SensorTypeID sensorTypeID,
+      Resolution resolution) {
+    return deviceID.getID() + "|" + sensorTypeID.getID() + "|" + resolution;
+  }
+}
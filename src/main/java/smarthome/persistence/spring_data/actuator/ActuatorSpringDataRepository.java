@@ -10,6 +10,7 @@ package smarthome.persistence.spring_data.actuator;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 import smarthome.domain.actuator.IActuator;
 import smarthome.domain.repository.IActuatorRepository;
@@ -117,4 +118,19 @@ public class ActuatorSpringDataRepository implements IActuatorRepository {
     return this.assembler.toDomain(listActuatorDataModel);
 
   }
+
+  /**
+   * Finds a page of actuators in ID order, seeking past the cursor in the database.
+   *
+   * @param after the ID of the last actuator of the previous page, or null for the first page.
+   * @param limit the maximum number of actuators returned.
+   * @return a list of IActuator domain objects.
+   */
+  @Override
+  public List<IActuator> findPage(ActuatorID after, int limit) {
+    List<ActuatorDataModel> dataModels = after == null
+        ? repository.findAllByOrderByActuatorIDAsc(Limit.of(limit))
+        : repository.findByActuatorIDGreaterThanOrderByActuatorIDAsc(after.getID(), Limit.of(limit));
+    return assembler.toDomain(dataModels);
+  }
 }
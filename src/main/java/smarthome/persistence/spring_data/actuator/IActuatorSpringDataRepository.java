@@ -8,6 +8,7 @@
 
 package smarthome.persistence.spring_data.actuator;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import smarthome.persistence.data_model.ActuatorDataModel;
 import java.util.List;
@@ -16,4 +17,8 @@ import java.util.List;
 public interface IActuatorSpringDataRepository extends JpaRepository<ActuatorDataModel, String> {
 
   List<ActuatorDataModel> findByDeviceID (String deviceID);
+
+  List<ActuatorDataModel> findAllByOrderByActuatorIDAsc(Limit limit);
+
+  List<ActuatorDataModel> findByActuatorIDGreaterThanOrderByActuatorIDAsc(String actuatorID, Limit limit);
 }
@@ -10,6 +10,7 @@ package smarthome.persistence.spring_data.device;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 import smarthome.domain.device.Device;
 import smarthome.domain.repository.IDeviceRepository;
@@ -144,4 +145,19 @@ public class DeviceSpringDataRepository implements IDeviceRepository {
   public boolean containsOfIdentity(DeviceID objectID) {
     return repository.existsById(objectID.getID());
   }
+
+  /**
+   * Finds a page of devices in ID order, seeking past the cursor in the database.
+   *
+   * @param after the ID of the last device of the previous page, or null for the first page.
+   * @param limit the maximum number of devices returned.
+   * @return a list of Device domain objects.
+   */
+  @Override
+  public List<Device> findPage(DeviceID after, int limit) {
+    List<DeviceDataModel> dataModels = after == null
+        ? repository.findAllByOrderByDeviceIDAsc(Limit.of(limit))
+        : repository.findByDeviceIDGreaterThanOrderByDeviceIDAsc(after.getID(), Limit.of(limit));
+    return assembler.toDomain(dataModels);
+  }
 }
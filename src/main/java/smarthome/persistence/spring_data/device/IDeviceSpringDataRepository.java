@@ -9,6 +9,7 @@
 package smarthome.persistence.spring_data.device;
 
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import smarthome.persistence.data_model.DeviceDataModel;
 
@@ -18,4 +19,7 @@ public interface IDeviceSpringDataRepository extends JpaRepository<DeviceDataMod
 
   List<DeviceDataModel> findByDeviceTypeID(String string);
 
+  List<DeviceDataModel> findAllByOrderByDeviceIDAsc(Limit limit);
+
+  List<DeviceDataModel> findByDeviceIDGreaterThanOrderByDeviceIDAsc(String deviceID, Limit limit);
 }
@@ -0,0 +1,44 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.persistence.spring_data.log;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import smarthome.persistence.data_model.LatestReadingDataModel;
+
+public interface ILatestReadingSpringDataRepository extends
+    JpaRepository<LatestReadingDataModel, String> {
+
+  List<LatestReadingDataModel> findByLogIDIn(Collection<String> logIDs);
+
+  /**
+   * Points the entry with the same key at the given log when the log is newer, in (timestamp, log
+   * ID) order, or inserts it when there is none, in one statement. The version and log ID are
+   * assigned before the timestamp they are compared with, so the result is the same whether the
+   * database evaluates the assignments in order or against the old row.
+   */
+  @Modifying
+  @Query(value = "INSERT INTO latest_readings (reading_key, deviceid, sensor_typeid, logid,"
+      + " timestamp, version)"
+      + " VALUES (:#{#latest.readingKey}, :#{#latest.deviceID}, :#{#latest.sensorTypeID},"
+      + " :#{T(smarthome.persistence.data_model.BinaryIDJavaType).encode(#latest.logID)},"
+      + " :#{#latest.timestamp}, 0)"
+      + " ON DUPLICATE KEY UPDATE"
+      + " version = CASE WHEN timestamp < VALUES(timestamp)"
+      + " OR (timestamp = VALUES(timestamp) AND logid < VALUES(logid))"
+      + " THEN version + 1 ELSE version END,"
+      + " logid = CASE WHEN timestamp < VALUES(timestamp)"
+      + " OR (timestamp = VALUES(timestamp) AND logid < VALUES(logid))"
+      + " THEN VALUES(logid) ELSE logid END,"
+      + " timestamp = GREATEST(timestamp, VALUES(timestamp))", nativeQuery = true)
+  void upsert(@Param("latest") LatestReadingDataModel latest);
+}
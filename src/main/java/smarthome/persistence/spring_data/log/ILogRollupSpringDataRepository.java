@@ -0,0 +1,53 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.persistence.spring_data.log;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import smarthome.domain.value_object.Resolution;
+import smarthome.persistence.data_model.LogRollupDataModel;
+
+public interface ILogRollupSpringDataRepository extends
+    JpaRepository<LogRollupDataModel, String> {
+
+  List<LogRollupDataModel> findByDeviceIDAndSensorTypeIDAndResolutionAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+      String deviceID, String sensorTypeID, Resolution resolution, LocalDateTime from,
+      LocalDateTime to);
+
+  /**
+   * Adds a bucket to the stored one with the same ID, or inserts it when there is none, in one
+   * statement. The values are assigned before the times they are compared with, so the result is
+   * the same whether the database evaluates the assignments in order or against the old row.
+   */
+  @Modifying
+  @Query(value = "INSERT INTO log_rollups (rollupid, deviceid, sensor_typeid, resolution,"
+      + " bucket_start, reading_count, min_value, max_value, sum_value, first_value, first_time,"
+      + " last_value, last_time, version)"
+      + " VALUES (:#{#bucket.rollupID}, :#{#bucket.deviceID}, :#{#bucket.sensorTypeID},"
+      + " :#{#bucket.resolution.name()}, :#{#bucket.bucketStart}, :#{#bucket.readingCount},"
+      + " :#{#bucket.minValue}, :#{#bucket.maxValue}, :#{#bucket.sumValue},"
+      + " :#{#bucket.firstValue}, :#{#bucket.firstTime}, :#{#bucket.lastValue},"
+      + " :#{#bucket.lastTime}, 0)"
+      + " ON DUPLICATE KEY UPDATE"
+      + " first_value = CASE WHEN VALUES(first_time) < first_time"
+      + " THEN VALUES(first_value) ELSE first_value END,"
+      + " last_value = CASE WHEN VALUES(last_time) < last_time"
+      + " THEN last_value ELSE VALUES(last_value) END,"
+      + " first_time = LEAST(first_time, VALUES(first_time)),"
+      + " last_time = GREATEST(last_time, VALUES(last_time)),"
+      + " reading_count = reading_count + VALUES(reading_count),"
+      + " min_value = LEAST(min_value, VALUES(min_value)),"
+      + " max_value = GREATEST(max_value, VALUES(max_value)),"
+      + " sum_value = sum_value + VALUES(sum_value),"
+      + " version = version + 1", nativeQuery = true)
+  void upsert(@Param("bucket") LogRollupDataModel bucket);
+}
@@ -8,9 +8,18 @@
 
 package smarthome.persistence.spring_data.log;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import smarthome.persistence.data_model.LogDataModel;
 
 public interface ILogSpringDataRepository extends JpaRepository<LogDataModel, String> {
@@ -18,8 +27,45 @@ public interface ILogSpringDataRepository extends JpaRepository<LogDataModel, St
   List<LogDataModel> findByDeviceIDAndTimestampBetween(
       String deviceID, LocalDateTime start, LocalDateTime end);
 
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+  @Query("SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID"
+      + " AND e.timestamp BETWEEN :start AND :end")
+  Stream<LogDataModel> streamByDeviceIDAndTimestampBetween(@Param("deviceID") String deviceID,
+      @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+  List<LogDataModel> findByDeviceIDAndTimestampBetweenOrderByTimestampAscLogIDAsc(
+      String deviceID, LocalDateTime start, LocalDateTime end, Limit limit);
+
+  @Query("SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID"
+      + " AND e.timestamp BETWEEN :start AND :end"
+      + " AND (e.timestamp > :afterTime OR (e.timestamp = :afterTime AND e.logID > :afterID))"
+      + " ORDER BY e.timestamp, e.logID")
+  List<LogDataModel> findPageAfter(@Param("deviceID") String deviceID,
+      @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+      @Param("afterTime") LocalDateTime afterTime, @Param("afterID") String afterID,
+      Limit limit);
+
+  List<LogDataModel> findByOrderByTimestampAscLogIDAsc(Limit limit);
+
+  @Query("SELECT e FROM LogDataModel e"
+      + " WHERE e.timestamp > :afterTime OR (e.timestamp = :afterTime AND e.logID > :afterID)"
+      + " ORDER BY e.timestamp, e.logID")
+  List<LogDataModel> findPageAfter(@Param("afterTime") LocalDateTime afterTime,
+      @Param("afterID") String afterID, Limit limit);
+
   List<LogDataModel> findByDeviceIDAndDescriptionAndTimestampBetween(
       String deviceID, String sensorTypeID, LocalDateTime start, LocalDateTime end);
 
+  List<LogDataModel> findByDeviceIDInAndDescriptionAndTimestampBetween(
+      Collection<String> deviceIDs, String sensorTypeID, LocalDateTime start, LocalDateTime end);
+
   List<LogDataModel> findByDeviceIDAndDescription(String deviceID, String sensorTypeID);
+
+  Optional<LogDataModel> findFirstByDeviceIDAndDescriptionOrderByTimestampDescLogIDDesc(
+      String deviceID, String sensorTypeID);
+
+  List<LogDataModel> findByTimestampBeforeOrderByTimestampAscLogIDAsc(LocalDateTime cutoff,
+      Limit limit);
 }
@@ -0,0 +1,115 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.persistence.spring_data.log;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import smarthome.domain.log.Log;
+import smarthome.domain.repository.ILogRollupRepository;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingAggregate;
+import smarthome.domain.value_object.Resolution;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.persistence.assembler.IDataModelAssembler;
+import smarthome.persistence.data_model.LogRollupDataModel;
+import smarthome.utils.Validator;
+
+@Repository
+public class LogRollupSpringDataRepository implements ILogRollupRepository {
+
+  private final ILogRollupSpringDataRepository repository;
+  private final IDataModelAssembler<LogRollupDataModel, ReadingAggregate> assembler;
+
+  /**
+   * LogRollupSpringDataRepository constructor
+   *
+   * @param repository ILogRollupSpringDataRepository object
+   * @param assembler  IDataModelAssembler object
+   */
+  public LogRollupSpringDataRepository(ILogRollupSpringDataRepository repository,
+      IDataModelAssembler<LogRollupDataModel, ReadingAggregate> assembler) {
+    Validator.validateNotNull(repository, "Log rollup repository");
+    this.repository = repository;
+    Validator.validateNotNull(assembler, "Log rollup data model assembler");
+    this.assembler = assembler;
+  }
+
+  /**
+   * Method to add logs to their buckets. The logs are first folded per bucket in memory, and each
+   * bucket touched by the batch is then added to the stored one with a single upsert, so
+   * concurrent batches that share a bucket never overwrite each other.
+   *
+   * @param logs are the logs to add.
+   */
+  @Override
+  @Transactional
+  public void record(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+
+    Map<String, ReadingAggregate> folded = new LinkedHashMap<>();
+    Map<String, LogRollupDataModel> buckets = new LinkedHashMap<>();
+    for (Log log : logs) {
+      if (!log.getReadingValue().isNumeric()) {
+        continue;
+      }
+      String deviceID = log.getDeviceID().getID();
+      String sensorTypeID = log.getDescription().getID();
+      LocalDateTime time = log.getTimeStamp();
+      double value = log.getReadingValue().getNumericValue();
+      for (Resolution resolution : Resolution.values()) {
+        ReadingAggregate single = ReadingAggregate.of(resolution.bucketStart(time), time, value);
+        String id = LogRollupDataModel.rollupID(deviceID, sensorTypeID, resolution,
+            single.getBucketStart());
+        ReadingAggregate previous = folded.get(id);
+        if (previous == null) {
+          folded.put(id, single);
+          buckets.put(id, new LogRollupDataModel(deviceID, sensorTypeID, resolution, single));
+        } else {
+          folded.put(id, previous.merge(single));
+        }
+      }
+    }
+
+    for (Map.Entry<String, LogRollupDataModel> bucket : buckets.entrySet()) {
+      bucket.getValue().setAggregate(folded.get(bucket.getKey()));
+      repository.upsert(bucket.getValue());
+    }
+  }
+
+  /**
+   * Method to find the buckets of a device and sensor type that start in [from, to).
+   *
+   * @param deviceID     is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @param resolution   is the resolution of the buckets.
+   * @param from         is the first bucket start (inclusive).
+   * @param to           is the last bucket start (exclusive).
+   * @return the buckets, ordered by start.
+   */
+  @Override
+  public List<ReadingAggregate> findByDeviceIDAndSensorTypeIDAndResolution(DeviceID deviceID,
+      SensorTypeID sensorTypeID, Resolution resolution, LocalDateTime from, LocalDateTime to) {
+    List<LogRollupDataModel> models = repository
+        .findByDeviceIDAndSensorTypeIDAndResolutionAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+            deviceID.getID(), sensorTypeID.getID(), resolution, from, to);
+    return assembler.toDomain(models);
+  }
+
+  /**
+   * Method to remove every bucket.
+   */
+  @Override
+  @Transactional
+  public void deleteAll() {
+    repository.deleteAllInBatch();
+  }
+}
@@ -8,57 +8,129 @@
 
 package smarthome.persistence.spring_data.log;
 
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import smarthome.domain.log.Log;
 import smarthome.domain.repository.ILogRepository;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
 import smarthome.domain.value_object.LogID;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.persistence.assembler.IDataModelAssembler;
+import smarthome.persistence.data_model.LatestReadingDataModel;
 import smarthome.persistence.data_model.LogDataModel;
 import smarthome.utils.Validator;
 
 @Repository
+@Profile("!columnar")
 public class LogSpringDataRepository implements ILogRepository {
 
-  ILogSpringDataRepository repository;
-  IDataModelAssembler<LogDataModel, Log> assembler;
+  private static final int DELETE_BATCH_SIZE = 1000;
+  private static final int IN_LIST_SIZE = 1000;
+
+  private final ILogSpringDataRepository repository;
+  private final ILatestReadingSpringDataRepository latestRepository;
+  private final IDataModelAssembler<LogDataModel, Log> assembler;
+  private final EntityManager entityManager;
 
   /**
    * LogSpringDataRepository constructor
    *
-   * @param repository ILogSpringDataRepository object
-   * @param assembler  IDataModelAssembler object
+   * @param repository       ILogSpringDataRepository object
+   * @param latestRepository ILatestReadingSpringDataRepository object, the last-value index
+   * @param assembler        IDataModelAssembler object
+   * @param entityManager    EntityManager used to detach streamed rows
    */
   public LogSpringDataRepository(
-      ILogSpringDataRepository repository, IDataModelAssembler<LogDataModel, Log> assembler) {
+      ILogSpringDataRepository repository, ILatestReadingSpringDataRepository latestRepository,
+      IDataModelAssembler<LogDataModel, Log> assembler, EntityManager entityManager) {
 
     Validator.validateNotNull(repository, "Log repository");
     this.repository = repository;
+    Validator.validateNotNull(latestRepository, "Latest reading repository");
+    this.latestRepository = latestRepository;
     Validator.validateNotNull(assembler, "Log data model assembler");
     this.assembler = assembler;
+    Validator.validateNotNull(entityManager, "Entity manager");
+    this.entityManager = entityManager;
   }
 
 
   /**
-   * Method to save a domain entity.
+   * Method to save a domain entity and update the latest reading of its device and sensor type in
+   * the same transaction.
    *
    * @param entity is the domain entity to be saved.
    * @return the saved domain entity.
    */
   @Override
+  @Transactional
   public Log save(Log entity) {
     Validator.validateNotNull(entity, "Log");
 
     LogDataModel dataModel = new LogDataModel(entity);
 
     repository.save(dataModel);
+    updateLatest(List.of(entity));
     return entity;
   }
 
+  /**
+   * Method to save several domain entities in one transaction. The inserts are sent in JDBC
+   * batches of spring.jpa.properties.hibernate.jdbc.batch_size rows.
+   *
+   * @param entities are the domain entities to be saved.
+   * @return the saved domain entities.
+   */
+  @Override
+  @Transactional
+  public List<Log> saveAll(List<Log> entities) {
+    Validator.validateNotNull(entities, "Logs");
+
+    List<LogDataModel> dataModels = new ArrayList<>(entities.size());
+    for (Log entity : entities) {
+      Validator.validateNotNull(entity, "Log");
+      dataModels.add(new LogDataModel(entity));
+    }
+
+    repository.saveAll(dataModels);
+    updateLatest(entities);
+    return entities;
+  }
+
+  /**
+   * Method to move the latest reading of each device and sensor type to the newest of the saved
+   * logs. The logs are first folded per pair in memory, then each entry is moved with one
+   * conditional upsert, so concurrent writers never read a stale entry or conflict on its version.
+   *
+   * @param logs are the saved logs.
+   */
+  private void updateLatest(List<Log> logs) {
+    Map<String, Log> newest = new LinkedHashMap<>();
+    for (Log log : logs) {
+      newest.merge(LatestReadingDataModel.readingKey(log.getDeviceID().getID(),
+              log.getDescription().getID()), log,
+          (current, candidate) -> LogCursor.ORDER.compare(candidate, current) > 0
+              ? candidate : current);
+    }
+
+    for (Log log : newest.values()) {
+      latestRepository.upsert(new LatestReadingDataModel(log));
+    }
+  }
+
   /**
    * Method to find all domain entities.
    *
@@ -113,6 +185,69 @@ public class LogSpringDataRepository implements ILogRepository {
     return assembler.toDomain(models);
   }
 
+  /**
+   * Method to find a page of logs by device ID and time period, in (timestamp, log ID) order. The
+   * cursor is part of the WHERE clause, so the database seeks to it instead of skipping rows.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    position of the last log of the previous page, or null for the first page
+   * @param limit    maximum number of logs returned
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findPageByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period,
+      LogCursor after, int limit) {
+    List<LogDataModel> models = after == null
+        ? repository.findByDeviceIDAndTimestampBetweenOrderByTimestampAscLogIDAsc(
+            deviceID.getID(), period.getStartDate(), period.getEndDate(), Limit.of(limit))
+        : repository.findPageAfter(deviceID.getID(), period.getStartDate(), period.getEndDate(),
+            after.getTimestamp(), after.getLogID().getID(), Limit.of(limit));
+    return assembler.toDomain(models);
+  }
+
+  /**
+   * Method to find a page of the logs of every device, in (timestamp, log ID) order, seeking to
+   * the cursor through the time index. The rows are detached once converted, so walking every page
+   * does not fill the persistence context.
+   *
+   * @param after position of the last log of the previous page, or null for the first page
+   * @param limit maximum number of logs returned
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findPage(LogCursor after, int limit) {
+    List<LogDataModel> models = after == null
+        ? repository.findByOrderByTimestampAscLogIDAsc(Limit.of(limit))
+        : repository.findPageAfter(after.getTimestamp(), after.getLogID().getID(),
+            Limit.of(limit));
+    List<Log> logs = assembler.toDomain(models);
+    models.forEach(entityManager::detach);
+    return logs;
+  }
+
+  /**
+   * Method to visit logs by device ID and time period. The rows come from a database cursor and
+   * each one is detached once converted, so memory use does not grow with the period.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param consumer receives each log
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public void streamByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> consumer) {
+    try (Stream<LogDataModel> models =
+        repository.streamByDeviceIDAndTimestampBetween(
+            deviceID.getID(), period.getStartDate(), period.getEndDate())) {
+      models.forEach(model -> {
+        entityManager.detach(model);
+        consumer.accept(assembler.toDomain(model));
+      });
+    }
+  }
+
   /**
    * Method to find logs by device ID, sensor type and time period
    *
@@ -130,9 +265,104 @@ public class LogSpringDataRepository implements ILogRepository {
     return assembler.toDomain(models);
   }
 
+  /**
+   * Method to find the logs of several devices by sensor type and time period, with one query per
+   * IN_LIST_SIZE devices, so a room or house takes one round trip
+   *
+   * @param deviceIDs    List of DeviceID
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findByDeviceIDsAndSensorTypeAndDatePeriodBetween(List<DeviceID> deviceIDs,
+      SensorTypeID sensorTypeID, DatePeriod period) {
+    List<String> ids = deviceIDs.stream().map(DeviceID::getID).distinct().toList();
+    List<LogDataModel> models = new ArrayList<>();
+    for (int from = 0; from < ids.size(); from += IN_LIST_SIZE) {
+      models.addAll(repository.findByDeviceIDInAndDescriptionAndTimestampBetween(
+          ids.subList(from, Math.min(ids.size(), from + IN_LIST_SIZE)), sensorTypeID.getID(),
+          period.getStartDate(), period.getEndDate()));
+    }
+    return assembler.toDomain(models);
+  }
+
   @Override
   public List<Log> findByDeviceIDAndSensorTypeID(DeviceID deviceID, SensorTypeID sensorTypeID) {
     List<LogDataModel> models = repository.findByDeviceIDAndDescription(deviceID.getID(), sensorTypeID.toString());
     return assembler.toDomain(models);
   }
+
+  /**
+   * Method to find the latest log of a device and sensor type through the last-value index, with
+   * two primary key lookups.
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return Optional of Log
+   */
+  @Override
+  public Optional<Log> findLatest(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    return latestRepository.findById(
+            LatestReadingDataModel.readingKey(deviceID.getID(), sensorTypeID.getID()))
+        .flatMap(latest -> repository.findById(latest.getLogID()))
+        .map(assembler::toDomain);
+  }
+
+  /**
+   * Method to check if a device has logs of a sensor type
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return boolean
+   */
+  @Override
+  public boolean existsBy(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    return latestRepository.existsById(
+        LatestReadingDataModel.readingKey(deviceID.getID(), sensorTypeID.getID()));
+  }
+
+  /**
+   * Method to find the oldest logs before a cutoff, in (timestamp, log ID) order
+   *
+   * @param cutoff LocalDateTime object
+   * @param limit  maximum number of logs returned
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findOlderThan(LocalDateTime cutoff, int limit) {
+    return assembler.toDomain(
+        repository.findByTimestampBeforeOrderByTimestampAscLogIDAsc(cutoff, Limit.of(limit)));
+  }
+
+  /**
+   * Method to delete logs in one transaction, with one DELETE per DELETE_BATCH_SIZE logs. The
+   * latest readings that pointed at a deleted log are moved to the newest log still stored, or
+   * removed when there is none.
+   *
+   * @param logs List of Log
+   */
+  @Override
+  @Transactional
+  public void deleteAll(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+
+    List<LatestReadingDataModel> stale = new ArrayList<>();
+    for (int from = 0; from < logs.size(); from += DELETE_BATCH_SIZE) {
+      List<String> ids = logs.subList(from, Math.min(logs.size(), from + DELETE_BATCH_SIZE))
+          .stream().map(log -> log.getID().getID()).toList();
+      stale.addAll(latestRepository.findByLogIDIn(ids));
+      repository.deleteAllByIdInBatch(ids);
+    }
+    for (LatestReadingDataModel latest : stale) {
+      Optional<LogDataModel> newest =
+          repository.findFirstByDeviceIDAndDescriptionOrderByTimestampDescLogIDDesc(
+              latest.getDeviceID(), latest.getSensorTypeID());
+      if (newest.isPresent()) {
+        latest.setLatest(assembler.toDomain(newest.get()));
+      } else {
+        latestRepository.delete(latest);
+      }
+    }
+  }
 }
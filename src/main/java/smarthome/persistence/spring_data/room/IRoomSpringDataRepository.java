@@ -8,9 +8,14 @@
 
 package smarthome.persistence.spring_data.room;
 
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import smarthome.persistence.data_model.RoomDataModel;
 
 public interface IRoomSpringDataRepository extends JpaRepository<RoomDataModel, String> {
 
+  List<RoomDataModel> findAllByOrderByRoomIDAsc(Limit limit);
+
+  List<RoomDataModel> findByRoomIDGreaterThanOrderByRoomIDAsc(String roomID, Limit limit);
 }
@@ -10,6 +10,7 @@ package smarthome.persistence.spring_data.room;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 import smarthome.domain.repository.IRoomRepository;
 import smarthome.domain.room.Room;
@@ -119,4 +120,19 @@ public class RoomSpringDataRepository implements IRoomRepository {
     RoomDataModel savedRoomDataModel = repository.save(roomDataModel);
     return assembler.toDomain(savedRoomDataModel);
   }
+
+  /**
+   * Finds a page of rooms in ID order, seeking past the cursor in the database.
+   *
+   * @param after the ID of the last room of the previous page, or null for the first page.
+   * @param limit the maximum number of rooms returned.
+   * @return a list of Room domain objects.
+   */
+  @Override
+  public List<Room> findPage(RoomID after, int limit) {
+    List<RoomDataModel> dataModels = after == null
+        ? repository.findAllByOrderByRoomIDAsc(Limit.of(limit))
+        : repository.findByRoomIDGreaterThanOrderByRoomIDAsc(after.getID(), Limit.of(limit));
+    return assembler.toDomain(dataModels);
+  }
 }
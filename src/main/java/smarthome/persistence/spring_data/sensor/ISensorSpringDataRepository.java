@@ -8,6 +8,7 @@
 
 package smarthome.persistence.spring_data.sensor;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import smarthome.persistence.data_model.SensorDataModel;
 import java.util.List;
@@ -15,4 +16,7 @@ import java.util.List;
 public interface ISensorSpringDataRepository extends JpaRepository<SensorDataModel, String> {
   List<SensorDataModel> findByDeviceID (String deviceID);
 
+  List<SensorDataModel> findAllByOrderBySensorIDAsc(Limit limit);
+
+  List<SensorDataModel> findBySensorIDGreaterThanOrderBySensorIDAsc(String sensorID, Limit limit);
 }
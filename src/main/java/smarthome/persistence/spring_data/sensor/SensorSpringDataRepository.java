@@ -10,6 +10,7 @@ package smarthome.persistence.spring_data.sensor;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 import smarthome.domain.repository.ISensorRepository;
 import smarthome.domain.sensor.ISensor;
@@ -113,5 +114,19 @@ public class SensorSpringDataRepository implements ISensorRepository {
 
     return this.assembler.toDomain(listSensorDataModel);
   }
-}
 
+  /**
+   * Finds a page of sensors in ID order, seeking past the cursor in the database.
+   *
+   * @param after the ID of the last sensor of the previous page, or null for the first page.
+   * @param limit the maximum number of sensors returned.
+   * @return a list of ISensor domain objects.
+   */
+  @Override
+  public List<ISensor> findPage(SensorID after, int limit) {
+    List<SensorDataModel> dataModels = after == null
+        ? repository.findAllByOrderBySensorIDAsc(Limit.of(limit))
+        : repository.findBySensorIDGreaterThanOrderBySensorIDAsc(after.getID(), Limit.of(limit));
+    return assembler.toDomain(dataModels);
+  }
+}
@@ -126,6 +126,18 @@ public class ActuatorServiceImpl implements IActuatorService {
     return actuatorRepository.findAll();
   }
 
+  /**
+   * Returns a page of actuators, in ID order.
+   *
+   * @param after the ID of the last actuator of the previous page, or null for the first page.
+   * @param limit the maximum number of actuators returned.
+   * @return a list of actuators.
+   */
+  @Override
+  public List<IActuator> getActuatorsPage(ActuatorID after, int limit) {
+    return actuatorRepository.findPage(after, limit);
+  }
+
   @Override
   public List<IActuator> getActuatorsByDeviceID(DeviceID deviceID) {
     return actuatorRepository.ofDeviceID(deviceID);
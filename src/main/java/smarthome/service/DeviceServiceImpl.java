@@ -99,6 +99,18 @@ public class DeviceServiceImpl implements IDeviceService {
     return deviceRepository.findAll();
   }
 
+  /**
+   * Returns a page of devices, in ID order.
+   *
+   * @param after the ID of the last device of the previous page, or null for the first page.
+   * @param limit the maximum number of devices returned.
+   * @return a list of devices.
+   */
+  @Override
+  public List<Device> getDevicesPage(DeviceID after, int limit) {
+    return deviceRepository.findPage(after, limit);
+  }
+
   /**
    * Returns the device with the provided device ID.
    *
@@ -42,6 +42,15 @@ public interface IActuatorService extends IService {
    */
   List<IActuator> getAllActuators();
 
+  /**
+   * Gets a page of actuators, in ID order.
+   *
+   * @param after the ID of the last actuator of the previous page, or null for the first page.
+   * @param limit the maximum number of actuators returned.
+   * @return a list of actuators.
+   */
+  List<IActuator> getActuatorsPage(ActuatorID after, int limit);
+
   /**
    * Gets all actuators in the repository by the provided device ID.
    * @param deviceID the device ID to search for.
@@ -48,6 +48,15 @@ public interface IDeviceService extends IService {
    */
   List<Device> getAllDevices();
 
+  /**
+   * Gets a page of devices, in ID order.
+   *
+   * @param after the ID of the last device of the previous page, or null for the first page.
+   * @param limit the maximum number of devices returned.
+   * @return a list of devices.
+   */
+  List<Device> getDevicesPage(DeviceID after, int limit);
+
   /**
    * Get a device by its ID.
    *
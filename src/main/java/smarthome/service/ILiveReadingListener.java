@@ -0,0 +1,32 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import java.io.IOException;
+import java.util.List;
+import smarthome.domain.log.Log;
+
+/**
+ * Receives the readings of a LiveReadingHub subscription. Calls for one subscription never overlap.
+ */
+public interface ILiveReadingListener {
+
+  /**
+   * Method to deliver new readings.
+   *
+   * @param readings are the readings published since the last call, in publication order.
+   * @throws IOException if the readings cannot be delivered; the subscription is then cancelled.
+   */
+  void onReadings(List<Log> readings) throws IOException;
+
+  /**
+   * Method called once when the subscription is dropped because it fell too far behind.
+   */
+  void onEvicted();
+}
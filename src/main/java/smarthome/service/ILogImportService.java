@@ -0,0 +1,32 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import smarthome.ddd.IService;
+
+public interface ILogImportService extends IService {
+
+  /**
+   * Method to start importing historical readings from a CSV file on the server. The file is read
+   * in the background; its progress is polled with getProgress. Files outside the import directory
+   * are refused.
+   *
+   * @param path is the path of the file, relative to the import directory.
+   * @return the progress of the import just started.
+   */
+  LogImportProgress startImport(String path);
+
+  /**
+   * Method to get the progress of an import.
+   *
+   * @param importID identifies the import.
+   * @return the progress.
+   */
+  LogImportProgress getProgress(String importID);
+}
@@ -0,0 +1,31 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import java.util.List;
+import smarthome.ddd.IService;
+
+public interface ILogIngestService extends IService {
+
+  /**
+   * Method to queue readings to be saved later, by a background writer, in batches. The readings
+   * are validated when they are saved; invalid ones are only counted in the metrics.
+   *
+   * @param entries are the readings to add.
+   * @return the number of readings queued.
+   */
+  int submit(List<LogBatchEntry> entries);
+
+  /**
+   * Method to get the queue depth, lag and counters of the ingest.
+   *
+   * @return the metrics.
+   */
+  LogIngestMetrics getMetrics();
+}
@@ -0,0 +1,32 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import java.util.List;
+import smarthome.domain.log.Log;
+
+/**
+ * Receives every log right after it is saved by the log service, e.g. to push it to live
+ * subscribers.
+ */
+public interface ILogPublisher {
+
+  /**
+   * Publisher that drops every log, for services that have no live subscribers.
+   */
+  ILogPublisher NONE = logs -> {
+  };
+
+  /**
+   * Method to publish logs that were just saved. It must not block the caller.
+   *
+   * @param logs are the saved logs, in the order they were saved.
+   */
+  void publish(List<Log> logs);
+}
@@ -9,13 +9,20 @@
 package smarthome.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import smarthome.ddd.IService;
 import smarthome.domain.device.Device;
 import smarthome.domain.log.Log;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.PowerPeak;
+import smarthome.domain.value_object.ReadingAggregate;
 import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.Resolution;
 import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.domain.value_object.TimeDelta;
@@ -30,6 +37,35 @@ public interface ILogService extends IService {
   Log addLog(DeviceID deviceID, SensorID sensorID, LocalDateTime localDateTime,
       ReadingValue readingValue, SensorTypeID sensorTypeID, UnitID unitID);
 
+  /**
+   * Method to add several logs at once. Entries that reference an unknown device, sensor, sensor
+   * type or unit are rejected; all the others are saved in a single write.
+   *
+   * @param entries are the readings to add.
+   * @return one result per entry, in the same order.
+   */
+  List<LogBatchResult> addLogs(Collection<LogBatchEntry> entries);
+
+  /**
+   * Method to aggregate the numeric readings of a device and sensor type per time bucket.
+   *
+   * @param deviceID     is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @param resolution   is the size of the buckets.
+   * @param start        is the start of the period (inclusive).
+   * @param end          is the end of the period (exclusive).
+   * @return one aggregate per bucket that has readings, ordered by bucket start.
+   */
+  List<ReadingAggregate> getAggregatedReadings(DeviceID deviceID, SensorTypeID sensorTypeID,
+      Resolution resolution, LocalDateTime start, LocalDateTime end);
+
+  /**
+   * Method to rebuild the reading rollups from the stored logs.
+   *
+   * @return the number of logs read.
+   */
+  int backfillRollups();
+
   /**
    * Method to get device readings by time period
    *
@@ -39,6 +75,28 @@ public interface ILogService extends IService {
    */
   List<Log> getDeviceReadingsByTimePeriod(DeviceID deviceID, DatePeriod period);
 
+  /**
+   * Method to get a page of device readings by time period, in (timestamp, log ID) order
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    position of the last log of the previous page, or null for the first page
+   * @param limit    maximum number of logs returned
+   * @return List of Log
+   */
+  List<Log> getDeviceReadingsPage(DeviceID deviceID, DatePeriod period, LogCursor after,
+      int limit);
+
+  /**
+   * Method to visit device readings by time period one at a time, without collecting them first
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param consumer receives each log
+   */
+  void streamDeviceReadingsByTimePeriod(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> consumer);
+
 
   /**
    * Method to get device readings by sensor type and time period
@@ -53,13 +111,18 @@ public interface ILogService extends IService {
 
 
   /**
-   * Method to get the difference between the reading values of two lists.
+   * Method to get the largest difference between a reading of one list and a reading of the other
+   * taken less than timeDelta apart. Every such pair is compared, so the result is the maximum
+   * over all pairs in the window, not over one matched reading per reading of readings1. Values
+   * are compared as decimals, so fractional readings are not truncated.
    *
    * @param readings1 is one list of readings.
    * @param readings2 is another list of readings.
-   * @return the Maximum difference between readings.
+   * @param timeDelta is the time within which two readings are compared.
+   * @return the maximum absolute difference between the values of a pair of readings.
+   * @throws IllegalArgumentException when no two readings are less than timeDelta apart.
    */
-  int getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(List<Log> readings1, List<Log> readings2, TimeDelta timeDelta)
+  double getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(List<Log> readings1, List<Log> readings2, TimeDelta timeDelta)
       throws Exception;
 
   /**
@@ -71,7 +134,21 @@ public interface ILogService extends IService {
    * @return
    */
 
-  int getPeakPowerConsumption(List<Log> readings, List<Log> readings2, TimeDelta timeDelta);
+  double getPeakPowerConsumption(List<Log> readings, List<Log> readings2, TimeDelta timeDelta);
+
+  /**
+   * Method to get the highest sum of the power readings of several devices that are current at
+   * the same time. A reading stays current until the next reading of its device, or until the
+   * time delta has elapsed.
+   *
+   * @param devices      the devices whose readings are summed.
+   * @param sensorTypeID the sensor type of the power readings.
+   * @param datePeriod   the period to search.
+   * @param timeDelta    how long a reading stays current.
+   * @return the peak, or empty when the devices have no readings in the period.
+   */
+  Optional<PowerPeak> getHousePeakPowerConsumption(List<Device> devices,
+      SensorTypeID sensorTypeID, DatePeriod datePeriod, TimeDelta timeDelta);
 
   /**
    * Method to get the list of readings of a list of devices in a given time period.
@@ -92,4 +169,20 @@ public interface ILogService extends IService {
    * @return the list of readings.
    */
   List<Log> getDeviceReadingsByDeviceIDAndSensorTypeID(DeviceID deviceID, SensorTypeID sensorTypeID);
+
+  /**
+   * Method to get the latest reading of a device for a sensor type.
+   * @param deviceID is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @return the latest reading, or empty when the device has none.
+   */
+  Optional<Log> getLatestDeviceReading(DeviceID deviceID, SensorTypeID sensorTypeID);
+
+  /**
+   * Method to check if a device has readings of a sensor type.
+   * @param deviceID is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @return true if the device has at least one reading, false otherwise.
+   */
+  boolean hasDeviceReadings(DeviceID deviceID, SensorTypeID sensorTypeID);
 }
@@ -36,6 +36,15 @@ public interface IRoomService extends IService {
    */
   List<Room> getAllRooms();
 
+  /**
+   * Gets a page of rooms, in ID order.
+   *
+   * @param after the ID of the last room of the previous page, or null for the first page.
+   * @param limit the maximum number of rooms returned.
+   * @return a list of rooms.
+   */
+  List<Room> getRoomsPage(RoomID after, int limit);
+
   /**
    * Returns the room with the provided room ID.
    *
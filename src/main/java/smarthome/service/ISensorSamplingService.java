@@ -0,0 +1,29 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import smarthome.ddd.IService;
+
+public interface ISensorSamplingService extends IService {
+
+  /**
+   * Method to reload the registered sensors, starting to sample the new ones and stopping the
+   * removed ones.
+   *
+   * @return the number of sensors sampled.
+   */
+  int refresh();
+
+  /**
+   * Method to get the scheduling lag and counters of the sampling.
+   *
+   * @return the metrics.
+   */
+  SensorSamplingMetrics getMetrics();
+}
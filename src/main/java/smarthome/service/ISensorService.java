@@ -41,6 +41,15 @@ public interface ISensorService extends IService {
    */
   List<ISensor> getAllSensors();
 
+  /**
+   * Gets a page of sensors, in ID order.
+   *
+   * @param after the ID of the last sensor of the previous page, or null for the first page.
+   * @param limit the maximum number of sensors returned.
+   * @return a list of sensors.
+   */
+  List<ISensor> getSensorsPage(SensorID after, int limit);
+
   List<ISensor> getSensorsByDeviceID(DeviceID deviceID);
 
 }
@@ -0,0 +1,237 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import smarthome.domain.log.Log;
+import smarthome.utils.Validator;
+
+/**
+ * In-process publish/subscribe hub of new readings, fed by the log service after every save.
+ * <p>
+ * Publishing never blocks: the matching readings of a batch are added to the buffer of each
+ * subscriber whatever the size of the batch, and a subscriber is evicted when a batch arrives while
+ * it still has bufferSize readings or more waiting and its listener is busy with an earlier
+ * delivery. A backlog only leads to eviction when it outlasts a delivery, so one batch larger than
+ * the buffer does not drop a healthy client, while a slow client cannot hold back ingest or the
+ * other subscribers. Buffers are drained by tasks that only exist while a subscriber has readings
+ * waiting, so an idle subscription costs one buffer and no thread.
+ */
+@Service
+public class LiveReadingHub implements ILogPublisher {
+
+  private static final int MAX_READINGS_PER_DELIVERY = 256;
+
+  private final int bufferSize;
+  private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+  private final ExecutorService senders = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "live-reading-sender");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * LiveReadingHub constructor.
+   *
+   * @param bufferSize is the number of readings a busy subscriber may have waiting before it is
+   *                   evicted.
+   */
+  public LiveReadingHub(@Value("${smarthome.stream.buffer-size:256}") int bufferSize) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive.");
+    }
+    this.bufferSize = bufferSize;
+  }
+
+  /**
+   * Method to subscribe to the readings that match a filter.
+   *
+   * @param filter   selects the readings of the subscription.
+   * @param listener receives the readings.
+   * @return the subscription, to be cancelled when the listener goes away.
+   */
+  public Subscription subscribe(Predicate<Log> filter, ILiveReadingListener listener) {
+    Validator.validateNotNull(filter, "Filter");
+    Validator.validateNotNull(listener, "Listener");
+    Subscription subscription = new Subscription(filter, listener);
+    subscriptions.add(subscription);
+    return subscription;
+  }
+
+  /**
+   * Method to offer new readings to the subscribers whose filter they match.
+   *
+   * @param logs are the saved logs, in the order they were saved.
+   */
+  @Override
+  public void publish(List<Log> logs) {
+    if (subscriptions.isEmpty()) {
+      return;
+    }
+    for (Subscription subscription : subscriptions) {
+      subscription.offer(logs);
+    }
+  }
+
+  /**
+   * @return the number of active subscriptions.
+   */
+  public int getSubscriptionCount() {
+    return subscriptions.size();
+  }
+
+  /**
+   * Stops delivering readings.
+   */
+  @PreDestroy
+  public void shutdown() {
+    subscriptions.clear();
+    senders.shutdownNow();
+  }
+
+  /**
+   * One subscriber: its filter, its buffer and whether a delivery task is scheduled.
+   */
+  public final class Subscription {
+
+    private final Predicate<Log> filter;
+    private final ILiveReadingListener listener;
+    private final Queue<Log> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean evictionNotified = new AtomicBoolean();
+    private volatile boolean active = true;
+    private volatile boolean evicted;
+    private volatile boolean delivering;
+
+    private Subscription(Predicate<Log> filter, ILiveReadingListener listener) {
+      this.filter = filter;
+      this.listener = listener;
+    }
+
+    /**
+     * Method to stop receiving readings. Cancelling twice has no effect.
+     */
+    public void cancel() {
+      active = false;
+      subscriptions.remove(this);
+      buffer.clear();
+      waiting.set(0);
+    }
+
+    /**
+     * @return whether the subscription still receives readings.
+     */
+    public boolean isActive() {
+      return active;
+    }
+
+    /**
+     * @return whether the listener is busy with a delivery.
+     */
+    boolean isDelivering() {
+      return delivering;
+    }
+
+    /**
+     * Method to add the matching readings of a batch to the buffer, or to evict the subscriber if
+     * its listener is still busy and the readings of the earlier batches fill the buffer.
+     */
+    private void offer(List<Log> logs) {
+      int added = 0;
+      for (Log log : logs) {
+        if (!active) {
+          return;
+        }
+        if (filter.test(log)) {
+          if (added == 0 && delivering && waiting.get() >= bufferSize) {
+            evict();
+            return;
+          }
+          buffer.add(log);
+          added++;
+        }
+      }
+      if (added > 0) {
+        waiting.addAndGet(added);
+        schedule();
+      }
+    }
+
+    private void evict() {
+      evicted = true;
+      cancel();
+      schedule();
+    }
+
+    private void schedule() {
+      if (scheduled.compareAndSet(false, true)) {
+        try {
+          senders.execute(this::deliver);
+        } catch (RejectedExecutionException e) {
+          scheduled.set(false);
+        }
+      }
+    }
+
+    /**
+     * Method to send the buffered readings until the buffer is empty, or to tell an evicted
+     * listener that it was evicted. Only one delivery runs at a time; a reading offered while the
+     * last one finishes schedules a new delivery.
+     */
+    private void deliver() {
+      try {
+        if (evicted) {
+          if (evictionNotified.compareAndSet(false, true)) {
+            listener.onEvicted();
+          }
+          return;
+        }
+        List<Log> readings = new ArrayList<>(Math.min(bufferSize, MAX_READINGS_PER_DELIVERY));
+        while (active && drainTo(readings) > 0) {
+          delivering = true;
+          listener.onReadings(readings);
+          delivering = false;
+          readings.clear();
+        }
+      } catch (IOException | RuntimeException e) {
+        cancel();
+      } finally {
+        delivering = false;
+        scheduled.set(false);
+      }
+      if ((active && !buffer.isEmpty()) || (evicted && !evictionNotified.get())) {
+        schedule();
+      }
+    }
+
+    private int drainTo(List<Log> readings) {
+      Log log;
+      while (readings.size() < MAX_READINGS_PER_DELIVERY && (log = buffer.poll()) != null) {
+        readings.add(log);
+      }
+      waiting.addAndGet(-readings.size());
+      return readings.size();
+    }
+  }
+}
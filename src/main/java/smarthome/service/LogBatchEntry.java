@@ -0,0 +1,35 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.service;
+
+import java.time.LocalDateTime;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.utils.Validator;
+
+/**
+ * One reading to be added by ILogService.addLogs.
+ */
+public record LogBatchEntry(DeviceID deviceID, SensorID sensorID, LocalDateTime timestamp,
+                            ReadingValue readingValue, SensorTypeID sensorTypeID, UnitID unitID) {
+
+  /**
+   * Class constructor
+   */
+  public LogBatchEntry {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(sensorID, "Sensor ID");
+    Validator.validateNotNull(timestamp, "Timestamp");
+    Validator.validateNotNull(readingValue, "Reading Value");
+    Validator.validateNotNull(sensorTypeID, "Sensor Type ID");
+    Validator.validateNotNull(unitID, "Unit ID");
+  }
+}
@@ -0,0 +1,40 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.service;
+
+import smarthome.domain.log.Log;
+
+/**
+ * Outcome of one entry given to ILogService.addLogs: either the saved log or the reason it was
+ * rejected.
+ */
+public record LogBatchResult(Log log, String error) {
+
+  /**
+   * @param log is the saved log.
+   * @return the result of a saved entry.
+   */
+  public static LogBatchResult saved(Log log) {
+    return new LogBatchResult(log, null);
+  }
+
+  /**
+   * @param error is the reason the entry was rejected.
+   * @return the result of a rejected entry.
+   */
+  public static LogBatchResult rejected(String error) {
+    return new LogBatchResult(null, error);
+  }
+
+  /**
+   * @return true if the entry was saved.
+   */
+  public boolean isSaved() {
+    return log != null;
+  }
+}
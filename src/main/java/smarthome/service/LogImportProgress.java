@@ -0,0 +1,33 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import java.util.List;
+
+/**
+ * Progress of a CSV log import.
+ *
+ * @param importID      identifies the import.
+ * @param path          is the file being imported.
+ * @param state         is whether the import is running, completed or failed.
+ * @param bytesRead     is how much of the file was read.
+ * @param totalBytes    is the size of the file.
+ * @param rowsRead      is the number of rows read, header excluded.
+ * @param saved         is the number of readings saved.
+ * @param rejected      is the number of rows rejected.
+ * @param elapsedMillis is how long the import has run, or ran.
+ * @param rejects       are the first rejected rows, ordered by row number.
+ * @param failure       is why the file could not be read to the end, or null.
+ */
+public record LogImportProgress(String importID, String path, LogImportState state,
+                                long bytesRead, long totalBytes, long rowsRead, long saved,
+                                long rejected, long elapsedMillis, List<LogImportReject> rejects,
+                                String failure) {
+
+}
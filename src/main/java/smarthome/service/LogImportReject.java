@@ -0,0 +1,19 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+/**
+ * A row of a CSV log import that was not saved.
+ *
+ * @param rowNumber is the number of the row in the file, the header being row 1.
+ * @param error     is why the row was not saved.
+ */
+public record LogImportReject(long rowNumber, String error) {
+
+}
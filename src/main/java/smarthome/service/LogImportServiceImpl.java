@@ -0,0 +1,405 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.utils.CvsLoader;
+import smarthome.utils.Validator;
+import smarthome.utils.id.DomainIDs;
+
+/**
+ * Import of historical readings from CSV files on the server, enabled with the "import" profile.
+ * <p>
+ * One thread reads the file row by row and routes each reading to a partition by its device, so
+ * the readings of a device are saved in file order by a single writer while the partitions are
+ * saved in parallel. Each partition has a bounded queue of batches; when the writers fall behind
+ * the reader blocks, so memory stays at partitions * queueDepth * batchSize rows whatever the
+ * size of the file. Batches go through ILogService.addLogs, the same validation and batched insert
+ * as POST /logs/batch. Rows that cannot be parsed or saved are counted, and the first maxRejects
+ * are kept with their row number.
+ * <p>
+ * Only files inside the import directory can be imported. Paths are resolved against it, and any
+ * path that leads outside it, through ".." or a symbolic link, is refused.
+ * <p>
+ * The file has a header and the columns deviceID, sensorID, sensorTypeID, unitID, reading and
+ * timestamp, the timestamp in ISO local date-time format, as in the body of POST /logs/batch.
+ */
+@Service
+@Profile("import")
+public class LogImportServiceImpl implements ILogImportService {
+
+  private static final int COLUMNS = 6;
+  private static final List<ImportRow> END = new ArrayList<>();
+
+  private final ILogService logService;
+  private final CvsLoader cvsLoader;
+  private final Path directory;
+  private final int partitions;
+  private final int batchSize;
+  private final int queueDepth;
+  private final int maxRejects;
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final Map<String, LogImport> imports = new ConcurrentHashMap<>();
+
+  private record ImportRow(long rowNumber, LogBatchEntry entry) {
+
+  }
+
+  /**
+   * LogImportServiceImpl constructor.
+   *
+   * @param logService is the service that validates and saves the batches.
+   * @param cvsLoader  reads the files.
+   * @param directory  is the directory the imported files must be in.
+   * @param partitions is the number of writers, each saving the readings of its devices.
+   * @param batchSize  is the maximum number of readings saved at once.
+   * @param queueDepth is the number of batches a partition may have waiting to be saved.
+   * @param maxRejects is the number of rejected rows kept with their error.
+   */
+  public LogImportServiceImpl(ILogService logService, CvsLoader cvsLoader,
+      @Value("${smarthome.import.directory:imports}") String directory,
+      @Value("${smarthome.import.partitions:4}") int partitions,
+      @Value("${smarthome.import.batch-size:1000}") int batchSize,
+      @Value("${smarthome.import.queue-depth:4}") int queueDepth,
+      @Value("${smarthome.import.max-rejects:1000}") int maxRejects) {
+    Validator.validateNotNull(logService, "Log Service");
+    Validator.validateNotNull(cvsLoader, "CSV Loader");
+    Validator.validateNotNull(directory, "Import directory");
+    if (partitions <= 0 || batchSize <= 0 || queueDepth <= 0 || maxRejects < 0) {
+      throw new IllegalArgumentException(
+          "Partitions, batch size and queue depth must be positive.");
+    }
+    this.logService = logService;
+    this.cvsLoader = cvsLoader;
+    this.directory = Path.of(directory).toAbsolutePath().normalize();
+    this.partitions = partitions;
+    this.batchSize = batchSize;
+    this.queueDepth = queueDepth;
+    this.maxRejects = maxRejects;
+  }
+
+  /**
+   * Method to start importing a CSV file of readings in the background.
+   *
+   * @param path is the path of the file, relative to the import directory.
+   * @return the progress of the import just started.
+   */
+  @Override
+  public LogImportProgress startImport(String path) {
+    Validator.validateNotNull(path, "Path");
+    Path file = resolve(path);
+    LogImport logImport;
+    try {
+      logImport = new LogImport(DomainIDs.next(), file, Files.size(file));
+    } catch (IOException e) {
+      throw new IllegalArgumentException("File not found: " + path);
+    }
+    imports.put(logImport.importID, logImport);
+    executor.execute(logImport::run);
+    return logImport.progress();
+  }
+
+  /**
+   * Method to resolve a path against the import directory. The file is compared by its real path,
+   * so neither ".." nor a symbolic link can reach a file outside the directory.
+   */
+  private Path resolve(String path) {
+    Path file = directory.resolve(path).normalize();
+    if (!file.startsWith(directory)) {
+      throw new IllegalArgumentException("Path is outside the import directory: " + path);
+    }
+    if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+      throw new IllegalArgumentException("File not found: " + path);
+    }
+    try {
+      Path realFile = file.toRealPath();
+      if (!realFile.startsWith(directory.toRealPath())) {
+        throw new IllegalArgumentException("Path is outside the import directory: " + path);
+      }
+      return realFile;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("File not found: " + path);
+    }
+  }
+
+  /**
+   * Method to get the progress of an import.
+   *
+   * @param importID identifies the import.
+   * @return the progress.
+   */
+  @Override
+  public LogImportProgress getProgress(String importID) {
+    Validator.validateNotNull(importID, "Import ID");
+    LogImport logImport = imports.get(importID);
+    if (logImport == null) {
+      throw new EntityNotFoundException("Import not found for ID: " + importID);
+    }
+    return logImport.progress();
+  }
+
+  /**
+   * Stops the imports still running; the batches being saved are left to finish.
+   */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Method to convert a CSV row to the value objects of the service.
+   *
+   * @param row are the values of the row.
+   * @return the entry to add.
+   */
+  static LogBatchEntry toBatchEntry(String[] row) {
+    if (row.length < COLUMNS) {
+      throw new IllegalArgumentException(
+          "Expected " + COLUMNS + " columns but found " + row.length);
+    }
+    LocalDateTime timestamp = LocalDateTime.parse(row[5].trim(),
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    return new LogBatchEntry(new DeviceID(row[0]), new SensorID(row[1]), timestamp,
+        new ReadingValue(row[4]), new SensorTypeID(row[2]), new UnitID(row[3]));
+  }
+
+  /**
+   * One import: the reader, its partition queues and its counters.
+   */
+  private final class LogImport {
+
+    private final String importID;
+    private final Path file;
+    private final long totalBytes;
+    private final long startedAt = System.nanoTime();
+    private final List<BlockingQueue<List<ImportRow>>> queues = new ArrayList<>(partitions);
+    private final CountDownLatch writersDone = new CountDownLatch(partitions);
+
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder saved = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final List<LogImportReject> rejects = new ArrayList<>();
+    private volatile long lastRowNumber;
+    private volatile LogImportState state = LogImportState.RUNNING;
+    private volatile long finishedAt;
+    private volatile String failure;
+
+    private LogImport(String importID, Path file, long totalBytes) {
+      this.importID = importID;
+      this.file = file;
+      this.totalBytes = totalBytes;
+      for (int i = 0; i < partitions; i++) {
+        queues.add(new ArrayBlockingQueue<>(queueDepth));
+      }
+    }
+
+    /**
+     * Method to read the file into the partitions and wait for the writers to save it.
+     */
+    private void run() {
+      for (BlockingQueue<List<ImportRow>> queue : queues) {
+        executor.execute(() -> write(queue));
+      }
+      List<List<ImportRow>> batches = new ArrayList<>(partitions);
+      for (int i = 0; i < partitions; i++) {
+        batches.add(new ArrayList<>(batchSize));
+      }
+
+      try (Reader reader = new InputStreamReader(
+          new BufferedInputStream(new CountingInputStream(Files.newInputStream(file), bytesRead),
+              1 << 16), StandardCharsets.UTF_8)) {
+        cvsLoader.readRows(reader, (rowNumber, row) -> {
+          lastRowNumber = rowNumber;
+          LogBatchEntry entry = toBatchEntry(row);
+          int partition = Math.floorMod(entry.deviceID().hashCode(), partitions);
+          List<ImportRow> batch = batches.get(partition);
+          batch.add(new ImportRow(rowNumber, entry));
+          if (batch.size() >= batchSize) {
+            enqueue(partition, batch);
+            batches.set(partition, new ArrayList<>(batchSize));
+          }
+        }, (rowNumber, error) -> {
+          lastRowNumber = rowNumber;
+          reject(rowNumber, error);
+        });
+      } catch (IOException | RuntimeException e) {
+        failure = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+      }
+
+      try {
+        for (int i = 0; i < partitions; i++) {
+          if (!batches.get(i).isEmpty()) {
+            enqueue(i, batches.get(i));
+          }
+          enqueue(i, END);
+        }
+        writersDone.await();
+      } catch (IllegalStateException e) {
+        failure = e.getMessage();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failure = "Import interrupted";
+      }
+      finishedAt = System.nanoTime();
+      state = failure == null ? LogImportState.COMPLETED : LogImportState.FAILED;
+    }
+
+    private void enqueue(int partition, List<ImportRow> batch) {
+      try {
+        queues.get(partition).put(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Import interrupted", e);
+      }
+    }
+
+    /**
+     * Method to save the batches of one partition until the reader is done with it.
+     */
+    private void write(BlockingQueue<List<ImportRow>> queue) {
+      try {
+        List<ImportRow> batch;
+        while ((batch = queue.take()) != END) {
+          save(batch);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        writersDone.countDown();
+      }
+    }
+
+    /**
+     * Method to save a batch. addLogs saves a batch in one transaction, so a batch that fails has
+     * none of its rows saved. When the transaction itself fails, e.g. while the database is
+     * unavailable, every row of the batch is rejected and the import moves on. Any other failure
+     * is narrowed down by saving each half of the batch on its own, so that only the rows that
+     * cannot be saved are rejected.
+     */
+    private void save(List<ImportRow> batch) {
+      List<LogBatchEntry> entries = new ArrayList<>(batch.size());
+      for (ImportRow row : batch) {
+        entries.add(row.entry());
+      }
+      List<LogBatchResult> results;
+      try {
+        results = logService.addLogs(entries);
+      } catch (TransactionException e) {
+        rejectAll(batch, e);
+        return;
+      } catch (RuntimeException e) {
+        if (batch.size() == 1) {
+          rejectAll(batch, e);
+        } else {
+          save(batch.subList(0, batch.size() / 2));
+          save(batch.subList(batch.size() / 2, batch.size()));
+        }
+        return;
+      }
+      for (int i = 0; i < results.size(); i++) {
+        if (results.get(i).isSaved()) {
+          saved.increment();
+        } else {
+          reject(batch.get(i).rowNumber(), results.get(i).error());
+        }
+      }
+    }
+
+    private void rejectAll(List<ImportRow> batch, RuntimeException e) {
+      for (ImportRow row : batch) {
+        reject(row.rowNumber(), "Could not be saved: " + e.getMessage());
+      }
+    }
+
+    private void reject(long rowNumber, String error) {
+      rejected.increment();
+      synchronized (rejects) {
+        if (rejects.size() < maxRejects) {
+          rejects.add(new LogImportReject(rowNumber, error));
+        }
+      }
+    }
+
+    private LogImportProgress progress() {
+      List<LogImportReject> firstRejects;
+      synchronized (rejects) {
+        firstRejects = new ArrayList<>(rejects);
+      }
+      firstRejects.sort(Comparator.comparingLong(LogImportReject::rowNumber));
+      LogImportState currentState = state;
+      long end = currentState == LogImportState.RUNNING ? System.nanoTime() : finishedAt;
+      return new LogImportProgress(importID, file.toString(), currentState, bytesRead.sum(),
+          totalBytes, Math.max(0, lastRowNumber - 1), saved.sum(), rejected.sum(),
+          (end - startedAt) / 1_000_000, List.copyOf(firstRejects), failure);
+    }
+  }
+
+  /**
+   * Counts the bytes read from the file, for the progress of the import.
+   */
+  private static final class CountingInputStream extends FilterInputStream {
+
+    private final LongAdder count;
+
+    private CountingInputStream(InputStream in, LongAdder count) {
+      super(in);
+      this.count = count;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        count.increment();
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int n = super.read(b, off, len);
+      if (n > 0) {
+        count.add(n);
+      }
+      return n;
+    }
+  }
+}
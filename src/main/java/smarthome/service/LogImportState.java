@@ -0,0 +1,27 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+/**
+ * State of a CSV log import.
+ */
+public enum LogImportState {
+  /**
+   * The file is being read and saved.
+   */
+  RUNNING,
+  /**
+   * Every row was read and either saved or rejected.
+   */
+  COMPLETED,
+  /**
+   * The file could not be read to the end; the rows read before were saved or rejected.
+   */
+  FAILED
+}
@@ -0,0 +1,28 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+/**
+ * Counters of the write-behind log ingest.
+ *
+ * @param depth     is the number of readings waiting in the queue.
+ * @param capacity  is the maximum number of readings in the queue.
+ * @param accepted  is the number of readings accepted into the queue.
+ * @param written   is the number of readings saved.
+ * @param invalid   is the number of readings rejected by validation, e.g. an unknown device.
+ * @param failed    is the number of readings lost because saving them kept failing.
+ * @param dropped   is the number of queued readings discarded to make room for newer ones.
+ * @param rejected  is the number of readings refused because the queue was full.
+ * @param lagMillis is the age of the oldest reading in the queue, in milliseconds.
+ */
+public record LogIngestMetrics(int depth, int capacity, long accepted, long written,
+                               long invalid, long failed, long dropped, long rejected,
+                               long lagMillis) {
+
+}
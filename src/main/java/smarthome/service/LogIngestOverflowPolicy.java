@@ -0,0 +1,28 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+/**
+ * What the write-behind log ingest does with new readings when its queue is full.
+ */
+public enum LogIngestOverflowPolicy {
+  /**
+   * Wait for free slots, up to smarthome.ingest.block-timeout, and reject the readings if none
+   * are freed.
+   */
+  BLOCK,
+  /**
+   * Reject the readings at once.
+   */
+  REJECT,
+  /**
+   * Discard the oldest queued readings to make room.
+   */
+  DROP_OLDEST
+}
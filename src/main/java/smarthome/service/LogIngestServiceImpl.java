@@ -0,0 +1,311 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionException;
+import smarthome.utils.Validator;
+import smarthome.utils.exceptions.IngestQueueFullException;
+
+/**
+ * Write-behind log ingest, enabled with the "write-behind" profile.
+ * <p>
+ * Readings are acknowledged as soon as they are queued. The queue is a lock-free
+ * ConcurrentLinkedQueue bounded by a semaphore of free slots, and a single writer thread drains it
+ * into ILogService.addLogs, so each batch is validated with one lookup per referenced ID and saved
+ * in one write. A batch is written when it holds batchSize readings or when its oldest reading
+ * has waited maxDelay. A batch that fails because of some of its readings is split in halves until
+ * only those readings are left out. On shutdown the queue is drained before the repositories are closed.
+ * Submitters hold a shared lock while they check for shutdown and queue their readings, and close
+ * takes it exclusively, so no reading is queued after the writer has seen the queue closed.
+ */
+@Service
+@Profile("write-behind")
+public class LogIngestServiceImpl implements ILogIngestService {
+
+  private static final int MAX_ATTEMPTS = 3;
+  private static final long RETRY_DELAY_MILLIS = 100;
+  private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+  private final ILogService logService;
+  private final int capacity;
+  private final int batchSize;
+  private final long maxDelayNanos;
+  private final LogIngestOverflowPolicy overflowPolicy;
+  private final Duration blockTimeout;
+
+  private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+  private final Semaphore freeSlots;
+  private final Thread writer;
+  private final ReadWriteLock closing = new ReentrantReadWriteLock();
+  private volatile boolean closed;
+
+  private final LongAdder accepted = new LongAdder();
+  private final LongAdder written = new LongAdder();
+  private final LongAdder invalid = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  private record Pending(LogBatchEntry entry, long queuedAt) {
+
+  }
+
+  /**
+   * LogIngestServiceImpl constructor. Starts the writer thread.
+   *
+   * @param logService     is the service that validates and saves the batches.
+   * @param capacity       is the maximum number of queued readings.
+   * @param batchSize      is the maximum number of readings saved at once.
+   * @param maxDelay       is the longest a reading waits for its batch to fill.
+   * @param overflowPolicy is what happens to new readings when the queue is full.
+   * @param blockTimeout   is how long the BLOCK policy waits for free slots.
+   */
+  public LogIngestServiceImpl(ILogService logService,
+      @Value("${smarthome.ingest.capacity:10000}") int capacity,
+      @Value("${smarthome.ingest.batch-size:500}") int batchSize,
+      @Value("${smarthome.ingest.max-delay:PT0.2S}") Duration maxDelay,
+      @Value("${smarthome.ingest.overflow:REJECT}") LogIngestOverflowPolicy overflowPolicy,
+      @Value("${smarthome.ingest.block-timeout:PT1S}") Duration blockTimeout) {
+    Validator.validateNotNull(logService, "Log Service");
+    Validator.validateNotNull(maxDelay, "Maximum delay");
+    Validator.validateNotNull(overflowPolicy, "Overflow policy");
+    Validator.validateNotNull(blockTimeout, "Block timeout");
+    if (capacity <= 0 || batchSize <= 0) {
+      throw new IllegalArgumentException("Capacity and batch size must be positive.");
+    }
+    this.logService = logService;
+    this.capacity = capacity;
+    this.batchSize = batchSize;
+    this.maxDelayNanos = maxDelay.toNanos();
+    this.overflowPolicy = overflowPolicy;
+    this.blockTimeout = blockTimeout;
+    this.freeSlots = new Semaphore(capacity);
+    this.writer = new Thread(this::drain, "log-ingest-writer");
+    this.writer.start();
+  }
+
+  /**
+   * Method to queue readings. The readings of a call are queued together or not at all, except
+   * with the DROP_OLDEST policy, which always queues them.
+   *
+   * @param entries are the readings to add.
+   * @return the number of readings queued.
+   */
+  @Override
+  public int submit(List<LogBatchEntry> entries) {
+    Validator.validateNotNull(entries, "Log entries");
+    if (entries.size() > capacity) {
+      throw new IllegalArgumentException(
+          "At most " + capacity + " readings can be submitted at once");
+    }
+    closing.readLock().lock();
+    try {
+      if (closed) {
+        throw new IllegalStateException("Log ingest is shut down");
+      }
+      if (entries.isEmpty()) {
+        return 0;
+      }
+      entries.forEach(entry -> Validator.validateNotNull(entry, "Log entry"));
+
+      switch (overflowPolicy) {
+        case REJECT -> {
+          if (!freeSlots.tryAcquire(entries.size())) {
+            reject(entries.size());
+          }
+        }
+        case BLOCK -> {
+          try {
+            if (!freeSlots.tryAcquire(entries.size(), blockTimeout.toNanos(),
+                TimeUnit.NANOSECONDS)) {
+              reject(entries.size());
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(entries.size());
+          }
+        }
+        case DROP_OLDEST -> makeRoom(entries.size());
+      }
+
+      long now = System.nanoTime();
+      for (LogBatchEntry entry : entries) {
+        queue.offer(new Pending(entry, now));
+      }
+      accepted.add(entries.size());
+      if (capacity - freeSlots.availablePermits() >= batchSize) {
+        LockSupport.unpark(writer);
+      }
+      return entries.size();
+    } finally {
+      closing.readLock().unlock();
+    }
+  }
+
+  private void reject(int readings) {
+    rejected.add(readings);
+    throw new IngestQueueFullException("Log ingest queue is full");
+  }
+
+  /**
+   * Method to take free slots, discarding the oldest queued readings when there are not enough.
+   * A discarded reading hands its slot over to a new one.
+   */
+  private void makeRoom(int readings) {
+    int needed = readings;
+    while (needed > 0) {
+      if (freeSlots.tryAcquire()) {
+        needed--;
+      } else if (queue.poll() != null) {
+        dropped.increment();
+        needed--;
+      } else {
+        Thread.onSpinWait();
+      }
+    }
+  }
+
+  /**
+   * Method to get the metrics of the ingest.
+   *
+   * @return LogIngestMetrics object
+   */
+  @Override
+  public LogIngestMetrics getMetrics() {
+    Pending oldest = queue.peek();
+    long lagMillis = oldest == null ? 0
+        : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.queuedAt());
+    return new LogIngestMetrics(capacity - freeSlots.availablePermits(), capacity,
+        accepted.sum(), written.sum(), invalid.sum(), failed.sum(), dropped.sum(),
+        rejected.sum(), lagMillis);
+  }
+
+  /**
+   * Method to stop accepting readings and wait for the writer to save the queued ones.
+   */
+  @PreDestroy
+  public void close() throws InterruptedException {
+    closing.writeLock().lock();
+    try {
+      closed = true;
+    } finally {
+      closing.writeLock().unlock();
+    }
+    LockSupport.unpark(writer);
+    writer.join(SHUTDOWN_TIMEOUT.toMillis());
+  }
+
+  /**
+   * Loop of the writer thread: waits for a full batch or for the oldest reading to reach
+   * maxDelay, then saves the batch. Once closed, it saves what is left and stops.
+   */
+  private void drain() {
+    List<Pending> batch = new ArrayList<>(batchSize);
+    while (true) {
+      take(batch);
+      if (batch.isEmpty()) {
+        if (closed && queue.isEmpty()) {
+          return;
+        }
+        LockSupport.parkNanos(this, maxDelayNanos);
+        continue;
+      }
+      long deadline = batch.get(0).queuedAt() + maxDelayNanos;
+      while (batch.size() < batchSize && !closed) {
+        long wait = deadline - System.nanoTime();
+        if (wait <= 0) {
+          break;
+        }
+        LockSupport.parkNanos(this, wait);
+        take(batch);
+      }
+      write(batch.stream().map(Pending::entry).toList());
+      batch.clear();
+    }
+  }
+
+  /**
+   * Method to move queued readings to the batch, up to batchSize, freeing their slots.
+   */
+  private void take(List<Pending> batch) {
+    int taken = 0;
+    Pending pending;
+    while (batch.size() < batchSize && (pending = queue.poll()) != null) {
+      batch.add(pending);
+      taken++;
+    }
+    freeSlots.release(taken);
+  }
+
+  /**
+   * Method to save a batch, retrying MAX_ATTEMPTS times while the database is unavailable. A batch
+   * is only retried when addLogs failed before committing, so a retry never saves a reading twice.
+   * When it fails for another reason before committing, it is split in halves and each half is
+   * saved on its own, so only the readings that cannot be saved are counted as failed.
+   */
+  private void write(List<LogBatchEntry> entries) {
+    for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+      try {
+        List<LogBatchResult> results = logService.addLogs(entries);
+        long saved = results.stream().filter(LogBatchResult::isSaved).count();
+        written.add(saved);
+        invalid.add(results.size() - saved);
+        return;
+      } catch (RuntimeException e) {
+        if (!isRetryable(e)) {
+          if (isSplittable(e) && entries.size() > 1) {
+            write(entries.subList(0, entries.size() / 2));
+            write(entries.subList(entries.size() / 2, entries.size()));
+            return;
+          }
+          break;
+        }
+        if (attempt < MAX_ATTEMPTS) {
+          LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(RETRY_DELAY_MILLIS * attempt));
+        }
+      }
+    }
+    failed.add(entries.size());
+  }
+
+  /**
+   * Method to check whether a failed batch can be written again. addLogs saves a batch in one
+   * transaction, so when it could not be started, or the database rolled it back for a transient
+   * reason, none of the readings were saved.
+   */
+  static boolean isRetryable(RuntimeException e) {
+    return e instanceof CannotCreateTransactionException
+        || e instanceof TransientDataAccessException;
+  }
+
+  /**
+   * Method to check whether the readings of a failed batch can be saved again in smaller batches.
+   * A failure while saving the readings, such as a rejected row, rolls the whole transaction back,
+   * while a TransactionException may come from committing it and so may have saved them.
+   */
+  static boolean isSplittable(RuntimeException e) {
+    return !(e instanceof TransactionException);
+  }
+}
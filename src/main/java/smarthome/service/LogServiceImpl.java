@@ -11,28 +11,41 @@ package smarthome.service;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import smarthome.domain.device.Device;
 import smarthome.domain.log.ILogFactory;
 import smarthome.domain.log.Log;
 import smarthome.domain.repository.IDeviceRepository;
 import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.repository.ILogRollupRepository;
 import smarthome.domain.repository.ISensorRepository;
 import smarthome.domain.repository.ISensorTypeRepository;
 import smarthome.domain.repository.IUnitRepository;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.PowerPeak;
+import smarthome.domain.value_object.ReadingAggregate;
 import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.Resolution;
 import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.domain.value_object.TimeDelta;
 import smarthome.domain.value_object.UnitID;
 import smarthome.utils.Validator;
+import smarthome.utils.time_series.ConcurrentSumSweep;
+import smarthome.utils.time_series.TimeWindowJoin;
 
 @Service
 public class LogServiceImpl implements ILogService {
@@ -43,19 +56,40 @@ public class LogServiceImpl implements ILogService {
   private final ISensorTypeRepository sensorTypeRepository;
   private final IUnitRepository unitRepository;
   private final ILogFactory logFactory;
+  private final ILogRollupRepository logRollupRepository;
+  private final ILogPublisher logPublisher;
   private static final int VALUE_IF_NO_POWER_CONSUMPTION = 0;
+  static final int BACKFILL_PAGE_SIZE = 1000;
 
 
   /**
-   * Constructor of LogServiceImpl
+   * Constructor of LogServiceImpl, without live publication of the saved logs
    *
-   * @param logRepository ILogRepository object
+   * @param logRepository       ILogRepository object
+   * @param logRollupRepository ILogRollupRepository object, kept up to date on every ingest
    */
+  public LogServiceImpl(ILogRepository logRepository, IDeviceRepository deviceRepository,
+      ISensorRepository sensorRepository, ISensorTypeRepository sensorTypeRepository,
+      IUnitRepository unitRepository, ILogFactory logFactory,
+      ILogRollupRepository logRollupRepository) {
+    this(logRepository, deviceRepository, sensorRepository, sensorTypeRepository, unitRepository,
+        logFactory, logRollupRepository, ILogPublisher.NONE);
+  }
 
+  /**
+   * Constructor of LogServiceImpl
+   *
+   * @param logRepository       ILogRepository object
+   * @param logRollupRepository ILogRollupRepository object, kept up to date on every ingest
+   * @param logPublisher        ILogPublisher object, given every log once it is saved
+   */
   @Autowired
   public LogServiceImpl(ILogRepository logRepository, IDeviceRepository deviceRepository,
       ISensorRepository sensorRepository, ISensorTypeRepository sensorTypeRepository,
-      IUnitRepository unitRepository, ILogFactory logFactory) {
+      IUnitRepository unitRepository, ILogFactory logFactory,
+      ILogRollupRepository logRollupRepository, ILogPublisher logPublisher) {
+    Validator.validateNotNull(logPublisher, "Log Publisher");
+    this.logPublisher = logPublisher;
     this.deviceRepository = deviceRepository;
     this.sensorRepository = sensorRepository;
     this.sensorTypeRepository = sensorTypeRepository;
@@ -63,10 +97,13 @@ public class LogServiceImpl implements ILogService {
     this.logFactory = logFactory;
     Validator.validateNotNull(logRepository, "Log Repository");
     this.logRepository = logRepository;
+    Validator.validateNotNull(logRollupRepository, "Log Rollup Repository");
+    this.logRollupRepository = logRollupRepository;
   }
 
   /**
-   * Method to add a new log
+   * Method to add a new log. The log and its rollups are saved in one transaction, and the log is
+   * published once it commits.
    *
    * @param deviceID
    * @param sensorID
@@ -76,6 +113,7 @@ public class LogServiceImpl implements ILogService {
    * @param unitID
    */
   @Override
+  @Transactional
   public Log addLog(DeviceID deviceID, SensorID sensorID, LocalDateTime localDateTime,
       ReadingValue readingValue, SensorTypeID sensorTypeID, UnitID unitID) {
     deviceIDexists(deviceID);
@@ -86,7 +124,194 @@ public class LogServiceImpl implements ILogService {
     Log log = logFactory.createLog(deviceID, sensorID, localDateTime, readingValue, sensorTypeID,
         unitID);
 
-    return logRepository.save(log);
+    Log saved = logRepository.save(log);
+    logRollupRepository.record(List.of(saved));
+    publishAfterCommit(List.of(saved));
+    return saved;
+  }
+
+  /**
+   * Method to add several logs. Each distinct referenced ID is looked up once per batch. The valid
+   * logs and their rollups are saved in one transaction, so when this throws nothing was saved;
+   * they are published once it commits.
+   *
+   * @param entries are the readings to add.
+   * @return one result per entry, in the same order.
+   */
+  @Override
+  @Transactional
+  public List<LogBatchResult> addLogs(Collection<LogBatchEntry> entries) {
+    Validator.validateNotNull(entries, "Log entries");
+
+    Map<DeviceID, Boolean> devices = new HashMap<>();
+    Map<SensorID, Boolean> sensors = new HashMap<>();
+    Map<SensorTypeID, Boolean> sensorTypes = new HashMap<>();
+    Map<UnitID, Boolean> units = new HashMap<>();
+    List<LogBatchResult> results = new ArrayList<>(entries.size());
+    List<Log> logs = new ArrayList<>(entries.size());
+
+    for (LogBatchEntry entry : entries) {
+      Validator.validateNotNull(entry, "Log entry");
+      String error;
+      if (!devices.computeIfAbsent(entry.deviceID(), deviceRepository::containsOfIdentity)) {
+        error = "Device ID does not exist";
+      } else if (!sensors.computeIfAbsent(entry.sensorID(), sensorRepository::containsOfIdentity)) {
+        error = "Sensor ID does not exist";
+      } else if (!sensorTypes.computeIfAbsent(entry.sensorTypeID(),
+          sensorTypeRepository::containsOfIdentity)) {
+        error = "Sensor Type ID does not exist";
+      } else if (!units.computeIfAbsent(entry.unitID(), unitRepository::containsOfIdentity)) {
+        error = "Unit ID does not exist";
+      } else {
+        error = null;
+      }
+
+      if (error != null) {
+        results.add(LogBatchResult.rejected(error));
+      } else {
+        Log log = logFactory.createLog(entry.deviceID(), entry.sensorID(), entry.timestamp(),
+            entry.readingValue(), entry.sensorTypeID(), entry.unitID());
+        logs.add(log);
+        results.add(LogBatchResult.saved(log));
+      }
+    }
+
+    if (!logs.isEmpty()) {
+      logRepository.saveAll(logs);
+      logRollupRepository.record(logs);
+      publishAfterCommit(logs);
+    }
+    return results;
+  }
+
+  /**
+   * Hands saved logs to the publisher once the current transaction commits, so subscribers never
+   * see logs that are rolled back. Without a transaction they are published at once.
+   */
+  private void publishAfterCommit(List<Log> logs) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      logPublisher.publish(logs);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        logPublisher.publish(logs);
+      }
+    });
+  }
+
+  /**
+   * Method to aggregate the numeric readings of a device and sensor type per bucket of the given
+   * resolution. Whole buckets are read from the coarsest rollup that covers them; the partial
+   * buckets at the edges of the period are assembled from finer rollups and, below one minute,
+   * from the raw logs.
+   *
+   * @param deviceID     is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @param resolution   is the size of the returned buckets.
+   * @param start        is the start of the period (inclusive).
+   * @param end          is the end of the period (exclusive).
+   * @return one aggregate per bucket that has readings, ordered by bucket start.
+   */
+  @Override
+  public List<ReadingAggregate> getAggregatedReadings(DeviceID deviceID,
+      SensorTypeID sensorTypeID, Resolution resolution, LocalDateTime start, LocalDateTime end) {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(sensorTypeID, "Sensor Type ID");
+    Validator.validateNotNull(resolution, "Resolution");
+    Validator.validateNotNull(start, "Start");
+    Validator.validateNotNull(end, "End");
+    if (!start.isBefore(end)) {
+      throw new IllegalArgumentException("Start must be before end");
+    }
+
+    Map<LocalDateTime, ReadingAggregate> buckets = new TreeMap<>();
+    aggregate(deviceID, sensorTypeID, resolution, resolution, start, end, buckets);
+    return new ArrayList<>(buckets.values());
+  }
+
+  /**
+   * Method to rebuild every rollup from the logs already stored. The logs are read
+   * BACKFILL_PAGE_SIZE at a time in (timestamp, log ID) order, so memory use does not grow with
+   * the number of logs.
+   *
+   * @return the number of logs read.
+   */
+  @Override
+  public int backfillRollups() {
+    logRollupRepository.deleteAll();
+    int read = 0;
+    LogCursor after = null;
+    List<Log> page;
+    do {
+      page = logRepository.findPage(after, BACKFILL_PAGE_SIZE);
+      if (!page.isEmpty()) {
+        logRollupRepository.record(page);
+        after = LogCursor.of(page.get(page.size() - 1));
+        read += page.size();
+      }
+    } while (page.size() == BACKFILL_PAGE_SIZE);
+    return read;
+  }
+
+  /**
+   * Adds the readings of [start, end) to the output buckets, reading the whole buckets of the
+   * given level from its rollup and recursing into the finer levels for the remaining edges.
+   */
+  private void aggregate(DeviceID deviceID, SensorTypeID sensorTypeID, Resolution output,
+      Resolution level, LocalDateTime start, LocalDateTime end,
+      Map<LocalDateTime, ReadingAggregate> buckets) {
+    if (!start.isBefore(end)) {
+      return;
+    }
+    if (level == null) {
+      aggregateRawReadings(deviceID, sensorTypeID, output, start, end, buckets);
+      return;
+    }
+    LocalDateTime alignedStart = level.nextBucketStart(start);
+    LocalDateTime alignedEnd = level.bucketStart(end);
+    if (!alignedStart.isBefore(alignedEnd)) {
+      aggregate(deviceID, sensorTypeID, output, level.finer(), start, end, buckets);
+      return;
+    }
+    for (ReadingAggregate rollup : logRollupRepository.findByDeviceIDAndSensorTypeIDAndResolution(
+        deviceID, sensorTypeID, level, alignedStart, alignedEnd)) {
+      addToBucket(buckets, output, rollup);
+    }
+    aggregate(deviceID, sensorTypeID, output, level.finer(), start, alignedStart, buckets);
+    aggregate(deviceID, sensorTypeID, output, level.finer(), alignedEnd, end, buckets);
+  }
+
+  /**
+   * Adds the numeric raw readings of [start, end) to the output buckets. The repositories return
+   * the closed period [start, end], so only readings at exactly end are dropped; the in-memory
+   * repository also pads the period by a second, which the same check trims.
+   */
+  private void aggregateRawReadings(DeviceID deviceID, SensorTypeID sensorTypeID,
+      Resolution output, LocalDateTime start, LocalDateTime end,
+      Map<LocalDateTime, ReadingAggregate> buckets) {
+    DatePeriod period = new DatePeriod(start, end);
+    for (Log log : logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(deviceID,
+        sensorTypeID, period)) {
+      LocalDateTime time = log.getTimeStamp();
+      if (time.isBefore(start) || !time.isBefore(end) || !log.getReadingValue().isNumeric()) {
+        continue;
+      }
+      addToBucket(buckets, output, ReadingAggregate.of(output.bucketStart(time), time,
+          log.getReadingValue().getNumericValue()));
+    }
+  }
+
+  /**
+   * Merges an aggregate into the output bucket that contains it.
+   */
+  private static void addToBucket(Map<LocalDateTime, ReadingAggregate> buckets,
+      Resolution output, ReadingAggregate aggregate) {
+    LocalDateTime bucketStart = output.bucketStart(aggregate.getBucketStart());
+    ReadingAggregate current = buckets.get(bucketStart);
+    buckets.put(bucketStart, current == null
+        ? aggregate.inBucket(bucketStart) : current.merge(aggregate));
   }
 
   /**
@@ -146,6 +371,39 @@ public class LogServiceImpl implements ILogService {
     return logRepository.findByDeviceIDAndDatePeriodBetween(deviceID, period);
   }
 
+  /**
+   * Method to get a page of device readings by time period
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    position of the last log of the previous page, or null for the first page
+   * @param limit    maximum number of logs returned
+   * @return List of Log
+   */
+  @Override
+  public List<Log> getDeviceReadingsPage(DeviceID deviceID, DatePeriod period, LogCursor after,
+      int limit) {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(period, "Date Period");
+    return logRepository.findPageByDeviceIDAndDatePeriodBetween(deviceID, period, after, limit);
+  }
+
+  /**
+   * Method to visit device readings by time period one at a time
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param consumer receives each log
+   */
+  @Override
+  public void streamDeviceReadingsByTimePeriod(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> consumer) {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(period, "Date Period");
+    Validator.validateNotNull(consumer, "Consumer");
+    logRepository.streamByDeviceIDAndDatePeriodBetween(deviceID, period, consumer);
+  }
+
   /**
    * Method to get device readings by sensor type and time period
    *
@@ -168,27 +426,35 @@ public class LogServiceImpl implements ILogService {
   }
 
   /**
-   * Method to get the difference between the reading values of two lists, when the readings are
-   * within an interval of 5 minutes.
+   * Method to get the largest difference between a reading of one list and a reading of the other
+   * taken less than timeDelta apart. Each reading of readings1 is compared with the lowest and the
+   * highest reading of readings2 in its window, which gives the maximum over every pair in the
+   * window rather than the difference to a single matched reading.
    *
    * @param readings1 is one list of readings.
    * @param readings2 is another list of readings.
-   * @return the list of the differences between the values, as Integers.
+   * @param timeDelta is the time within which two readings are compared.
+   * @return the maximum absolute difference between the values of a pair of readings.
    */
   @Override
-  public int getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(List<Log> readings1, List<Log> readings2, TimeDelta timeDelta)
+  public double getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(List<Log> readings1, List<Log> readings2, TimeDelta timeDelta)
       throws Exception {
-    List<Integer> valueDifferences = new ArrayList<>();
-    int timeDeltaMinutes = timeDelta.getMinutes();
-
-    Map<Integer, Integer> positionMap = calculateMapWithPositionsOfReadingsWithinTimeDelta(readings1, readings2, timeDeltaMinutes);
-    for (Map.Entry<Integer, Integer> entry : positionMap.entrySet()) {
-      int difference = getDifferenceBetweenReadings(readings1.get(entry.getKey()), readings2.get(entry.getValue()));
-      valueDifferences.add(difference);
-    }
-    if (valueDifferences.isEmpty()) {
+    TimeWindowJoin<Log, Log> join = joinReadingsWithinTimeDelta(readings1, readings2,
+        timeDelta.getMinutes());
+    List<Log> leftReadings = join.getLeft();
+    double[] maxDifference = {Double.NaN};
+
+    join.forEachWindowExtremes(this::getNumericReading, (leftIndex, minRight, maxRight) -> {
+      double value = getNumericReading(leftReadings.get(leftIndex));
+      double difference = Math.max(Math.abs(value - minRight), Math.abs(maxRight - value));
+      if (Double.isNaN(maxDifference[0]) || difference > maxDifference[0]) {
+        maxDifference[0] = difference;
+      }
+    });
+    if (Double.isNaN(maxDifference[0])) {
       throw new IllegalArgumentException(("No readings found within the given time interval"));
-    }else return Collections.max(valueDifferences);
+    }
+    return maxDifference[0];
   }
 
   /**
@@ -200,21 +466,50 @@ public class LogServiceImpl implements ILogService {
    * @return
    */
 
-  public int getPeakPowerConsumption(List<Log> readings, List<Log> readings2, TimeDelta timeDelta) {
-    int maxListOne = VALUE_IF_NO_POWER_CONSUMPTION;
-    int maxListTwo = VALUE_IF_NO_POWER_CONSUMPTION;
+  public double getPeakPowerConsumption(List<Log> readings, List<Log> readings2, TimeDelta timeDelta) {
+    double maxListOne = VALUE_IF_NO_POWER_CONSUMPTION;
+    double maxListTwo = VALUE_IF_NO_POWER_CONSUMPTION;
     if (!readings.isEmpty()) {
-      maxListOne = getMaximumValueFromListOfIntegers(readings);
+      maxListOne = getMaximumValueFromReadings(readings);
     }
     if (!readings2.isEmpty()) {
-      maxListTwo = getMaximumValueFromListOfIntegers(readings2);
+      maxListTwo = getMaximumValueFromReadings(readings2);
     }
-    int maxWithinTimeDelta = getMaxSumOfAnyReadingsWithinDelta(readings, readings2, timeDelta);
+    double maxWithinTimeDelta = getMaxSumOfAnyReadingsWithinDelta(readings, readings2, timeDelta);
 
     return Math.max(maxListOne, Math.max(maxListTwo, maxWithinTimeDelta));
 
   }
 
+  /**
+   * Method to get the peak of the concurrent power readings of several devices. The readings of
+   * every device are fetched in one query and swept in time order, so this runs in O(n log n).
+   *
+   * @param devices      the devices whose readings are summed.
+   * @param sensorTypeID the sensor type of the power readings.
+   * @param datePeriod   the period to search.
+   * @param timeDelta    how long a reading stays current.
+   * @return the peak, or empty when the devices have no readings in the period.
+   */
+  @Override
+  public Optional<PowerPeak> getHousePeakPowerConsumption(List<Device> devices,
+      SensorTypeID sensorTypeID, DatePeriod datePeriod, TimeDelta timeDelta) {
+    Validator.validateNotNull(devices, "Devices");
+    Validator.validateNotNull(sensorTypeID, "Sensor Type ID");
+    Validator.validateNotNull(datePeriod, "Date Period");
+    Validator.validateNotNull(timeDelta, "Time Delta");
+
+    List<DeviceID> deviceIDs = devices.stream().map(Device::getID).toList();
+    List<Log> readings = logRepository.findByDeviceIDsAndSensorTypeAndDatePeriodBetween(deviceIDs,
+        sensorTypeID, datePeriod);
+    if (readings.isEmpty()) {
+      return Optional.empty();
+    }
+    ConcurrentSumSweep.Peak peak = ConcurrentSumSweep.peak(readings, Log::getDeviceID,
+        Log::getTimeStamp, this::getNumericReading, timeDelta.getMinutes());
+    return Optional.of(new PowerPeak(peak.value(), peak.time()));
+  }
+
   /**
    * Method to get the maximum value from two lists of readings, when the readings are within a time
    * delta.
@@ -224,75 +519,62 @@ public class LogServiceImpl implements ILogService {
    * @param timeDelta
    * @return
    */
-  protected int getMaxSumOfAnyReadingsWithinDelta(List<Log> readings1, List<Log> readings2,
+  protected double getMaxSumOfAnyReadingsWithinDelta(List<Log> readings1, List<Log> readings2,
       TimeDelta timeDelta) {
-    List<Integer> sumOfReadings = new ArrayList<>();
-    int timeDeltaMinutes = timeDelta.getMinutes();
-
-    Map<Integer, Integer> positionMap = calculateMapWithPositionsOfReadingsWithinTimeDelta(readings1, readings2,
-        timeDeltaMinutes);
-    for (Map.Entry<Integer, Integer> entry : positionMap.entrySet()) {
-      int sum = getSumOfTwoIntegerReadings(readings1.get(entry.getKey()),
-          readings2.get(entry.getValue()));
-      sumOfReadings.add(sum);
-    }
-    if (sumOfReadings.isEmpty()) {
-      return VALUE_IF_NO_POWER_CONSUMPTION;
-    } else {
-      return Collections.max(sumOfReadings);
-    }
+    TimeWindowJoin<Log, Log> join = joinReadingsWithinTimeDelta(readings1, readings2,
+        timeDelta.getMinutes());
+    List<Log> leftReadings = join.getLeft();
+    double[] maxSum = {VALUE_IF_NO_POWER_CONSUMPTION};
+
+    join.forEachWindowExtremes(this::getNumericReading, (leftIndex, minRight, maxRight) -> {
+      double value = getNumericReading(leftReadings.get(leftIndex));
+      double sum = Math.max(Math.abs(value + minRight), Math.abs(value + maxRight));
+      maxSum[0] = Math.max(maxSum[0], sum);
+    });
+    return maxSum[0];
   }
 
   /**
-   * Method to get the sum of two integer readings.
+   * Method to get the sum of two numeric readings.
    *
    * @param reading1
    * @param reading2
    * @return
    */
 
-  protected int getSumOfTwoIntegerReadings(Log reading1, Log reading2) {
-    try {
-      return Math.abs(Integer.parseInt(reading1.getReadingValue().getValue()) + Integer.parseInt(
-          reading2.getReadingValue().getValue()));
-    } catch (NumberFormatException e) {
-      throw new IllegalArgumentException("Reading values are not integers");
-    }
+  protected double getSumOfTwoReadings(Log reading1, Log reading2) {
+    return Math.abs(getNumericReading(reading1) + getNumericReading(reading2));
   }
 
   /**
-   * Method to get the difference between two integer readings.
+   * Method to get the difference between two numeric readings.
    *
    * @param reading1
    * @param reading2
    * @return
    */
 
-  protected int getDifferenceBetweenReadings(Log reading1, Log reading2) {
-    try {
-      return Math.abs(Integer.parseInt(reading1.getReadingValue().getValue()) - Integer.parseInt(
-          reading2.getReadingValue().getValue()));
-    } catch (NumberFormatException e) {
-      throw new IllegalArgumentException("Reading values are not integers");
-    }
+  protected double getDifferenceBetweenReadings(Log reading1, Log reading2) {
+    return Math.abs(getNumericReading(reading1) - getNumericReading(reading2));
   }
 
   /**
-   * Method to get the maximum value from a list of integer readings.
+   * Method to get the maximum value from a list of numeric readings.
    *
    * @param readings
    * @return
    */
-  protected int getMaximumValueFromListOfIntegers(List<Log> readings) {
-    List<Integer> values = new ArrayList<>();
+  protected double getMaximumValueFromReadings(List<Log> readings) {
+    double max = Double.NEGATIVE_INFINITY;
     for (Log reading : readings) {
-      values.add(Integer.parseInt(reading.getReadingValue().getValue()));
+      max = Math.max(max, getNumericReading(reading));
     }
-    return Collections.max(values);
+    return max;
   }
 
   /**
-   * Method to get the positions of readings within a time delta.
+   * Method to get the positions of readings within a time delta. Each position of the first list
+   * is mapped to the position of the latest reading of the second list within the time delta.
    *
    * @param readings1
    * @param readings2
@@ -303,17 +585,41 @@ public class LogServiceImpl implements ILogService {
   protected Map<Integer, Integer> calculateMapWithPositionsOfReadingsWithinTimeDelta(List<Log> readings1,
       List<Log> readings2, int timeDelta) {
     Map<Integer, Integer> positionMap = new HashMap<>();
-    for (int i = 0; i < readings1.size(); i++) {
-      for (int j = 0; j < readings2.size(); j++) {
-        boolean isWithinTimeDelta = shouldReturnTrueWhenReadingIsWithinTimeDelta(readings1.get(i), readings2.get(j), timeDelta);
-        if (isWithinTimeDelta) {
-          positionMap.put(i, j);
-        }
-      }
-    }
+    TimeWindowJoin<Log, Log> join = joinReadingsWithinTimeDelta(readings1, readings2, timeDelta);
+    join.forEachWindow((leftIndex, rightFrom, rightTo) ->
+        positionMap.put(join.leftSourceIndex(leftIndex), join.rightSourceIndex(rightTo - 1)));
     return positionMap;
   }
 
+  /**
+   * Method to join two lists of readings on a time delta, in linear time over the readings sorted
+   * by timestamp.
+   *
+   * @param readings1 is one list of readings.
+   * @param readings2 is another list of readings.
+   * @param timeDelta is the time delta in minutes.
+   * @return the join of the readings that are within the time delta.
+   */
+  private TimeWindowJoin<Log, Log> joinReadingsWithinTimeDelta(List<Log> readings1,
+      List<Log> readings2, int timeDelta) {
+    return TimeWindowJoin.withinMinutes(readings1, Log::getTimeStamp, readings2,
+        Log::getTimeStamp, timeDelta);
+  }
+
+  /**
+   * Method to get the value of a numeric reading, as carried by its ReadingValue.
+   *
+   * @param reading is the reading.
+   * @return the value of the reading.
+   */
+  private double getNumericReading(Log reading) {
+    ReadingValue readingValue = reading.getReadingValue();
+    if (!readingValue.isNumeric()) {
+      throw new IllegalArgumentException("Reading values are not numeric");
+    }
+    return readingValue.getNumericValue();
+  }
+
   /**
    * Method to check if two readings are within a time delta.
    *
@@ -329,19 +635,28 @@ public class LogServiceImpl implements ILogService {
     return Math.abs(diffInMinutes) < timeDelta;
   }
 
+  /**
+   * Method to get the readings of several devices in a time period. The readings of every device
+   * are fetched in one query; devices without readings simply contribute none.
+   *
+   * @param devices      the devices whose readings are wanted.
+   * @param datePeriod   the period to search.
+   * @param sensorTypeID the sensor type of the readings.
+   * @return the readings, device after device in the order of the list.
+   */
+  @Override
   public List<Log> getReadingsInTimePeriodByListOfDevicesAndSensorType(List<Device> devices,
       DatePeriod datePeriod,
       SensorTypeID sensorTypeID) {
-    List<Log> readings = new ArrayList<>();
-    for (Device device : devices) {
-      DeviceID deviceID = device.getID();
-      try {
-        List<Log> deviceReadings = getDeviceReadingsBySensorTypeAndTimePeriod(deviceID,
+    Validator.validateNotNull(devices, "Devices");
+    List<DeviceID> deviceIDs = devices.stream().map(Device::getID).toList();
+    Map<DeviceID, List<Log>> readingsByDevice =
+        logRepository.findGroupedByDeviceIDsAndSensorTypeAndDatePeriodBetween(deviceIDs,
             sensorTypeID, datePeriod);
-        readings.addAll(deviceReadings);
-      } catch (Exception ignored) {
-        readings.addAll(new ArrayList<>());
-      }
+
+    List<Log> readings = new ArrayList<>();
+    for (List<Log> deviceReadings : readingsByDevice.values()) {
+      readings.addAll(deviceReadings);
     }
     return readings;
   }
@@ -356,5 +671,29 @@ public class LogServiceImpl implements ILogService {
     return logRepository.findByDeviceIDAndSensorTypeID(deviceID, sensorTypeID);
   }
 
-}
+  /**
+   * Method to get the latest reading of a device for a sensor type.
+   * @param deviceID is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @return the latest reading, or empty when the device has none.
+   */
+  @Override
+  public Optional<Log> getLatestDeviceReading(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(sensorTypeID, "Sensor Type ID");
+    return logRepository.findLatest(deviceID, sensorTypeID);
+  }
 
+  /**
+   * Method to check if a device has readings of a sensor type.
+   * @param deviceID is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @return true if the device has at least one reading, false otherwise.
+   */
+  @Override
+  public boolean hasDeviceReadings(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(sensorTypeID, "Sensor Type ID");
+    return logRepository.existsBy(deviceID, sensorTypeID);
+  }
+}
@@ -77,6 +77,18 @@ public class RoomServiceImpl implements IRoomService {
     return roomRepository.findAll();
   }
 
+  /**
+   * Returns a page of rooms, in ID order.
+   *
+   * @param after the ID of the last room of the previous page, or null for the first page.
+   * @param limit the maximum number of rooms returned.
+   * @return a list of rooms.
+   */
+  @Override
+  public List<Room> getRoomsPage(RoomID after, int limit) {
+    return roomRepository.findPage(after, limit);
+  }
+
   /**
    * Returns the room with the given id.
    *
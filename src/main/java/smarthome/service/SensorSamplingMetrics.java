@@ -0,0 +1,30 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+/**
+ * Counters of the sensor sampling.
+ *
+ * @param sensors       is the number of sensors sampled.
+ * @param samples       is the number of readings taken.
+ * @param failed        is the number of reads that threw, e.g. an invalid simulated value, or
+ *                      whose reading could not be queued.
+ * @param dropped       is the number of readings refused by the ingest queue.
+ * @param skipped       is the number of reads skipped because a sensor fell a whole interval
+ *                      behind.
+ * @param meanLagMillis is the mean delay between when reads were due and when they ran, over the
+ *                      last second.
+ * @param maxLagMillis  is the longest of those delays over the last second.
+ * @param peakLagMillis is the longest of those delays since the sampling started.
+ */
+public record SensorSamplingMetrics(int sensors, long samples, long failed, long dropped,
+                                    long skipped, double meanLagMillis, double maxLagMillis,
+                                    double peakLagMillis) {
+
+}
@@ -0,0 +1,388 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import smarthome.domain.repository.ISensorRepository;
+import smarthome.domain.repository.ISensorTypeRepository;
+import smarthome.domain.sensor.ISensor;
+import smarthome.domain.sensor_type.SensorType;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.utils.Validator;
+import smarthome.utils.exceptions.IngestQueueFullException;
+import smarthome.utils.visitor_pattern.ISensorVisitorForReading;
+import smarthome.utils.visitor_pattern.SensorVisitorForReadingImpl;
+
+/**
+ * Periodic sampling of the registered sensors, enabled with the "sampling" profile together with
+ * the "write-behind" profile, whose queue receives the readings.
+ * <p>
+ * Every sensor is read once per interval of its model, on a small pool of scheduler threads. Each
+ * sensor starts at a random phase of its interval and every read is delayed by a random jitter, so
+ * the reads of thousands of sensors are spread over the interval instead of firing together. The
+ * next read is due one interval after the previous one was due, not after it ran, so a late read
+ * does not shift the ones after it; a sensor that falls a whole interval behind skips the reads it
+ * missed. The delay between when a read was due and when it ran is the scheduling lag, reported
+ * in the metrics.
+ * <p>
+ * The registered sensors are reloaded every refresh interval, so sensors added or removed through
+ * the API are picked up without a restart.
+ */
+@Service
+@Profile("sampling")
+public class SensorSamplingServiceImpl implements ISensorSamplingService, SmartLifecycle {
+
+  private static final long LAG_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final ISensorRepository sensorRepository;
+  private final ISensorTypeRepository sensorTypeRepository;
+  private final ILogIngestService logIngestService;
+  private final Duration defaultInterval;
+  private final Map<String, Duration> intervals;
+  private final long jitterNanos;
+  private final int threads;
+  private final Duration refreshInterval;
+
+  private final Map<SensorID, SampledSensor> sensors = new ConcurrentHashMap<>();
+  private final Map<SensorTypeID, Optional<UnitID>> units = new ConcurrentHashMap<>();
+  private volatile ScheduledThreadPoolExecutor scheduler;
+
+  private final LongAdder samples = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder skipped = new LongAdder();
+  private final LongAdder windowReads = new LongAdder();
+  private final LongAdder windowLagNanos = new LongAdder();
+  private final AtomicLong windowMaxLagNanos = new AtomicLong();
+  private final AtomicLong peakLagNanos = new AtomicLong();
+  private volatile long lastMeanLagNanos;
+  private volatile long lastMaxLagNanos;
+
+  /**
+   * SensorSamplingServiceImpl constructor.
+   *
+   * @param sensorRepository     is the repository of the sensors to sample.
+   * @param sensorTypeRepository gives the unit of each sensor type.
+   * @param logIngestService     queues the readings to be saved in batches.
+   * @param defaultInterval      is the interval of the sensor models without one of their own.
+   * @param intervals            are the intervals of some sensor models, e.g.
+   *                             "HumiditySensor=PT10S,SunriseTimeSensor=PT1H", the model being
+   *                             the last part of its model path.
+   * @param jitter               is the longest random delay added to each read.
+   * @param threads              is the number of threads running the reads.
+   * @param refreshInterval      is how often the registered sensors are reloaded.
+   */
+  public SensorSamplingServiceImpl(ISensorRepository sensorRepository,
+      ISensorTypeRepository sensorTypeRepository, ILogIngestService logIngestService,
+      @Value("${smarthome.sampling.default-interval:PT1S}") Duration defaultInterval,
+      @Value("${smarthome.sampling.intervals:}") String intervals,
+      @Value("${smarthome.sampling.jitter:PT0.05S}") Duration jitter,
+      @Value("${smarthome.sampling.threads:4}") int threads,
+      @Value("${smarthome.sampling.refresh:PT1M}") Duration refreshInterval) {
+    Validator.validateNotNull(sensorRepository, "Sensor Repository");
+    Validator.validateNotNull(sensorTypeRepository, "Sensor Type Repository");
+    Validator.validateNotNull(logIngestService, "Log Ingest Service");
+    Validator.validateNotNull(defaultInterval, "Default interval");
+    Validator.validateNotNull(jitter, "Jitter");
+    Validator.validateNotNull(refreshInterval, "Refresh interval");
+    if (defaultInterval.isNegative() || defaultInterval.isZero() || jitter.isNegative()
+        || threads <= 0 || refreshInterval.isNegative() || refreshInterval.isZero()) {
+      throw new IllegalArgumentException(
+          "Intervals and threads must be positive, and jitter must not be negative.");
+    }
+    this.sensorRepository = sensorRepository;
+    this.sensorTypeRepository = sensorTypeRepository;
+    this.logIngestService = logIngestService;
+    this.defaultInterval = defaultInterval;
+    this.intervals = parseIntervals(intervals);
+    this.jitterNanos = jitter.toNanos();
+    this.threads = threads;
+    this.refreshInterval = refreshInterval;
+  }
+
+  /**
+   * Method to parse the intervals of the sensor models.
+   *
+   * @param spec is a comma separated list of model=ISO-8601 duration, or blank for none.
+   * @return the interval of each model.
+   */
+  static Map<String, Duration> parseIntervals(String spec) {
+    Map<String, Duration> parsed = new HashMap<>();
+    if (spec == null || spec.isBlank()) {
+      return parsed;
+    }
+    for (String pair : spec.split(",")) {
+      String[] parts = pair.split("=", 2);
+      if (parts.length != 2 || parts[0].isBlank()) {
+        throw new IllegalArgumentException("Invalid sampling interval: " + pair.trim());
+      }
+      Duration interval;
+      try {
+        interval = Duration.parse(parts[1].trim());
+      } catch (DateTimeParseException e) {
+        throw new IllegalArgumentException("Invalid sampling interval: " + pair.trim());
+      }
+      if (interval.isNegative() || interval.isZero()) {
+        throw new IllegalArgumentException("Sampling interval must be positive: " + pair.trim());
+      }
+      parsed.put(parts[0].trim(), interval);
+    }
+    return parsed;
+  }
+
+  @Override
+  public synchronized void start() {
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads,
+        new SamplerThreadFactory());
+    executor.setRemoveOnCancelPolicy(true);
+    executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    scheduler = executor;
+    refreshQuietly();
+    executor.scheduleWithFixedDelay(this::refreshQuietly, refreshInterval.toNanos(),
+        refreshInterval.toNanos(), TimeUnit.NANOSECONDS);
+    executor.scheduleAtFixedRate(this::rollLagWindow, LAG_WINDOW_NANOS, LAG_WINDOW_NANOS,
+        TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public synchronized void stop() {
+    ScheduledThreadPoolExecutor executor = scheduler;
+    scheduler = null;
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+    sensors.values().forEach(SampledSensor::cancel);
+    sensors.clear();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+
+  /**
+   * Method to reload the registered sensors. Sensors whose type has no unit cannot be logged and
+   * are left out.
+   *
+   * @return the number of sensors sampled.
+   */
+  @Override
+  public synchronized int refresh() {
+    ScheduledThreadPoolExecutor executor = scheduler;
+    if (executor == null) {
+      throw new IllegalStateException("Sensor sampling is not running");
+    }
+    List<ISensor> registered = sensorRepository.findAll();
+    Set<SensorID> seen = new HashSet<>(registered.size() * 2);
+    for (ISensor sensor : registered) {
+      seen.add(sensor.getID());
+      if (!sensors.containsKey(sensor.getID())) {
+        unitOf(sensor.getSensorTypeID()).ifPresent(unitID -> {
+          SampledSensor sampled = new SampledSensor(sensor, unitID, intervalOf(sensor));
+          sensors.put(sensor.getID(), sampled);
+          sampled.scheduleFirst(executor);
+        });
+      }
+    }
+    sensors.entrySet().removeIf(entry -> {
+      if (seen.contains(entry.getKey())) {
+        return false;
+      }
+      entry.getValue().cancel();
+      return true;
+    });
+    return sensors.size();
+  }
+
+  /**
+   * Method run every refresh interval; a failed reload, e.g. while the database is unavailable,
+   * keeps sampling the sensors already known.
+   */
+  private void refreshQuietly() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      // retried at the next refresh
+    }
+  }
+
+  private Optional<UnitID> unitOf(SensorTypeID sensorTypeID) {
+    return units.computeIfAbsent(sensorTypeID,
+        id -> sensorTypeRepository.ofIdentity(id).map(SensorType::getUnitID));
+  }
+
+  private Duration intervalOf(ISensor sensor) {
+    String path = sensor.getModelPath().getID();
+    String model = path.substring(path.lastIndexOf('.') + 1);
+    return intervals.getOrDefault(model, defaultInterval);
+  }
+
+  /**
+   * Method to get the scheduling lag and counters of the sampling.
+   *
+   * @return the metrics.
+   */
+  @Override
+  public SensorSamplingMetrics getMetrics() {
+    return new SensorSamplingMetrics(sensors.size(), samples.sum(), failed.sum(), dropped.sum(),
+        skipped.sum(), lastMeanLagNanos / NANOS_PER_MILLI, lastMaxLagNanos / NANOS_PER_MILLI,
+        peakLagNanos.get() / NANOS_PER_MILLI);
+  }
+
+  private void recordLag(long lagNanos) {
+    windowReads.increment();
+    windowLagNanos.add(lagNanos);
+    windowMaxLagNanos.accumulateAndGet(lagNanos, Math::max);
+    peakLagNanos.accumulateAndGet(lagNanos, Math::max);
+  }
+
+  /**
+   * Method run every second to publish the lag of the reads of the last second.
+   */
+  private void rollLagWindow() {
+    long reads = windowReads.sumThenReset();
+    long lag = windowLagNanos.sumThenReset();
+    lastMaxLagNanos = windowMaxLagNanos.getAndSet(0);
+    lastMeanLagNanos = reads == 0 ? 0 : lag / reads;
+  }
+
+  /**
+   * One sampled sensor and when its next read is due. A read schedules the next one when it ends,
+   * so the reads of a sensor never overlap.
+   */
+  private final class SampledSensor implements Runnable {
+
+    private final ISensor sensor;
+    private final UnitID unitID;
+    private final long intervalNanos;
+    private long dueNanos;
+    private long fireNanos;
+    private volatile boolean cancelled;
+    private volatile ScheduledFuture<?> future;
+
+    private SampledSensor(ISensor sensor, UnitID unitID, Duration interval) {
+      this.sensor = sensor;
+      this.unitID = unitID;
+      this.intervalNanos = interval.toNanos();
+    }
+
+    private void scheduleFirst(ScheduledThreadPoolExecutor executor) {
+      dueNanos = System.nanoTime() + ThreadLocalRandom.current().nextLong(intervalNanos);
+      schedule(executor);
+    }
+
+    private void schedule(ScheduledThreadPoolExecutor executor) {
+      long jitter = jitterNanos == 0 ? 0 : ThreadLocalRandom.current().nextLong(jitterNanos + 1);
+      fireNanos = dueNanos + jitter;
+      try {
+        future = executor.schedule(this, fireNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        cancelled = true;
+      }
+    }
+
+    private void cancel() {
+      cancelled = true;
+      ScheduledFuture<?> scheduled = future;
+      if (scheduled != null) {
+        scheduled.cancel(false);
+      }
+    }
+
+    @Override
+    public void run() {
+      if (cancelled) {
+        return;
+      }
+      long startedAt = System.nanoTime();
+      recordLag(Math.max(0, startedAt - fireNanos));
+      sample();
+
+      dueNanos += intervalNanos;
+      long now = System.nanoTime();
+      if (dueNanos <= now) {
+        long missed = (now - dueNanos) / intervalNanos + 1;
+        skipped.add(missed);
+        dueNanos += missed * intervalNanos;
+      }
+      ScheduledThreadPoolExecutor executor = scheduler;
+      if (!cancelled && executor != null) {
+        schedule(executor);
+      }
+    }
+
+    private void sample() {
+      try {
+        ReadingValue reading = read(sensor);
+        samples.increment();
+        logIngestService.submit(List.of(new LogBatchEntry(sensor.getDeviceID(), sensor.getID(),
+            LocalDateTime.now(), reading, sensor.getSensorTypeID(), unitID)));
+      } catch (IngestQueueFullException e) {
+        dropped.increment();
+      } catch (RuntimeException e) {
+        failed.increment();
+      }
+    }
+  }
+
+  /**
+   * Method to read the value of a sensor as a reading, typed by the sensor visitor. A sensor of a
+   * model the visitor does not know is read as the text of its value.
+   *
+   * @param sensor is the sensor to read.
+   * @return the reading.
+   */
+  static ReadingValue read(ISensor sensor) {
+    ISensorVisitorForReading visitor = new SensorVisitorForReadingImpl();
+    sensor.accept(visitor);
+    ReadingValue reading = visitor.getReadingValue();
+    return reading != null ? reading : new ReadingValue(sensor.getValue().toString());
+  }
+
+  /**
+   * Daemon threads named after the sampling, so a stuck read shows up in a thread dump.
+   */
+  private static final class SamplerThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "sensor-sampler-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -99,6 +99,18 @@ public class SensorServiceImpl implements ISensorService {
     return sensorRepository.findAll();
   }
 
+  /**
+   * Returns a page of sensors, in ID order.
+   *
+   * @param after the ID of the last sensor of the previous page, or null for the first page.
+   * @param limit the maximum number of sensors returned.
+   * @return a list of sensors.
+   */
+  @Override
+  public List<ISensor> getSensorsPage(SensorID after, int limit) {
+    return sensorRepository.findPage(after, limit);
+  }
+
   @Override
   public List<ISensor> getSensorsByDeviceID(DeviceID deviceID) {
     return sensorRepository.ofDeviceID(deviceID);
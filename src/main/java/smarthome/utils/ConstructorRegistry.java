@@ -0,0 +1,199 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache of the public constructors of the classes named by model paths, for the sensor and
+ * actuator factories.
+ * <p>
+ * The first time a model path is used its class is loaded and its public constructors are turned
+ * into method handles, in the order of Class.getConstructors. The first time it is used with a new
+ * signature, i.e. the classes of the arguments, the first constructor whose parameters accept them
+ * is chosen and kept for that signature. After that, creating an instance costs one map lookup and
+ * the call of the constructor, with no reflection. Models added to the catalogs or at runtime are
+ * resolved on their first use, so they stay pluggable.
+ *
+ * @param <T> is the type of the instances, e.g. ISensor.
+ */
+public final class ConstructorRegistry<T> {
+
+  private static final MethodType SPREAD_TYPE = MethodType.methodType(Object.class,
+      Object[].class);
+
+  private final Class<T> type;
+  private final Map<String, Model<T>> models = new ConcurrentHashMap<>();
+
+  /**
+   * ConstructorRegistry constructor.
+   *
+   * @param type is the type the classes of the models must implement.
+   */
+  public ConstructorRegistry(Class<T> type) {
+    Validator.validateNotNull(type, "Type");
+    this.type = type;
+  }
+
+  /**
+   * Method to find the constructor of a model that accepts the given arguments.
+   *
+   * @param modelPath is the fully qualified name of the class of the model.
+   * @param arguments are the arguments of the constructor.
+   * @return a function that creates an instance from the arguments, or empty if the class is not
+   * a T or none of its public constructors accepts the arguments.
+   * @throws ClassNotFoundException if there is no class with that name.
+   */
+  public Optional<Function<Object[], T>> find(String modelPath, Object... arguments)
+      throws ClassNotFoundException {
+    Model<T> model = models.get(modelPath);
+    if (model == null) {
+      model = resolve(modelPath);
+      Model<T> existing = models.putIfAbsent(modelPath, model);
+      if (existing != null) {
+        model = existing;
+      }
+    }
+    return model.find(arguments);
+  }
+
+  /**
+   * @return the number of model paths resolved so far.
+   */
+  public int size() {
+    return models.size();
+  }
+
+  private Model<T> resolve(String modelPath) throws ClassNotFoundException {
+    Class<?> modelClass = Class.forName(modelPath);
+    List<Candidate<T>> candidates = new ArrayList<>();
+    if (type.isAssignableFrom(modelClass)) {
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      for (Constructor<?> constructor : modelClass.getConstructors()) {
+        try {
+          MethodHandle handle = lookup.unreflectConstructor(constructor)
+              .asSpreader(Object[].class, constructor.getParameterCount())
+              .asType(SPREAD_TYPE);
+          candidates.add(new Candidate<>(type, constructor.getParameterTypes(), handle));
+        } catch (IllegalAccessException e) {
+          // a public constructor of a class that is not public cannot be called
+        }
+      }
+    }
+    return new Model<>(candidates);
+  }
+
+  /**
+   * The constructors of one class and the constructor chosen for each signature seen so far.
+   */
+  private static final class Model<T> {
+
+    private final List<Candidate<T>> candidates;
+    private final Map<Signature, Optional<Function<Object[], T>>> bySignature =
+        new ConcurrentHashMap<>();
+
+    private Model(List<Candidate<T>> candidates) {
+      this.candidates = candidates;
+    }
+
+    private Optional<Function<Object[], T>> find(Object[] arguments) {
+      Signature signature = Signature.of(arguments);
+      Optional<Function<Object[], T>> creator = bySignature.get(signature);
+      if (creator == null) {
+        creator = bySignature.computeIfAbsent(signature, this::choose);
+      }
+      return creator;
+    }
+
+    private Optional<Function<Object[], T>> choose(Signature signature) {
+      for (Candidate<T> candidate : candidates) {
+        if (candidate.accepts(signature.classes)) {
+          return Optional.of(candidate);
+        }
+      }
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * One constructor, called through a method handle that takes the arguments as an array.
+   */
+  private record Candidate<T>(Class<T> type, Class<?>[] parameterTypes, MethodHandle handle)
+      implements Function<Object[], T> {
+
+    private boolean accepts(Class<?>[] argumentClasses) {
+      if (parameterTypes.length != argumentClasses.length) {
+        return false;
+      }
+      for (int i = 0; i < parameterTypes.length; i++) {
+        if (!parameterTypes[i].isAssignableFrom(argumentClasses[i])) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Method to call the constructor. Exceptions thrown by the constructor are rethrown as they
+     * are, except checked ones, which are wrapped in an IllegalStateException.
+     */
+    @Override
+    public T apply(Object[] arguments) {
+      try {
+        return type.cast((Object) handle.invokeExact(arguments));
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  /**
+   * The classes of the arguments of a call, compared element by element.
+   */
+  private static final class Signature {
+
+    private final Class<?>[] classes;
+    private final int hash;
+
+    private Signature(Class<?>[] classes) {
+      this.classes = classes;
+      this.hash = Arrays.hashCode(classes);
+    }
+
+    private static Signature of(Object[] arguments) {
+      Class<?>[] classes = new Class<?>[arguments.length];
+      for (int i = 0; i < arguments.length; i++) {
+        classes[i] = arguments[i].getClass();
+      }
+      return new Signature(classes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Signature other && Arrays.equals(classes, other.classes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
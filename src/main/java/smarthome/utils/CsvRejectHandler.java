@@ -0,0 +1,24 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils;
+
+/**
+ * Receives the rows of a CSV file that could not be parsed or were rejected by a CsvRowHandler.
+ */
+@FunctionalInterface
+public interface CsvRejectHandler {
+
+  /**
+   * Method to handle one rejected row.
+   *
+   * @param rowNumber is the number of the row in the file, the header being row 1.
+   * @param error     is why the row was rejected.
+   */
+  void reject(long rowNumber, String error);
+}
@@ -0,0 +1,25 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils;
+
+/**
+ * Receives the rows of a CSV file read by CvsLoader.readRows, one at a time.
+ */
+@FunctionalInterface
+public interface CsvRowHandler {
+
+  /**
+   * Method to handle one row. Throwing IllegalArgumentException or DateTimeException rejects the
+   * row without stopping the read.
+   *
+   * @param rowNumber is the number of the row in the file, the header being row 1.
+   * @param row       are the values of the row.
+   */
+  void handle(long rowNumber, String[] row);
+}
@@ -10,8 +10,14 @@ package smarthome.utils;
 
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvException;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
 import java.util.ArrayList;
 import java.util.List;
 import org.springframework.stereotype.Component;
@@ -35,4 +41,64 @@ public class CvsLoader {
     return rows;
   }
 
+  /**
+   * Method to read a CSV file one row at a time, so that memory does not grow with the file. The
+   * header row is skipped and so are blank rows. A file that does not exist has no rows.
+   *
+   * @param cvsName  is the path of the file.
+   * @param handler  receives each row.
+   * @param rejects  receives the rows that are malformed or that the handler rejected.
+   * @return the number of rows read, header included.
+   * @throws UncheckedIOException if the file cannot be read.
+   */
+  public long readRows(String cvsName, CsvRowHandler handler, CsvRejectHandler rejects) {
+    Validator.validateNotNull(cvsName, "CSV file");
+    try (Reader reader = new FileReader(cvsName, StandardCharsets.UTF_8)) {
+      return readRows(reader, handler, rejects);
+    } catch (FileNotFoundException e) {
+      return 0;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read " + cvsName, e);
+    }
+  }
+
+  /**
+   * Method to read CSV rows one at a time from a reader, which is left open.
+   *
+   * @param reader   is the CSV text.
+   * @param handler  receives each row after the header.
+   * @param rejects  receives the rows that are malformed or that the handler rejected.
+   * @return the number of rows read, header included.
+   * @throws IOException if the reader fails.
+   */
+  public long readRows(Reader reader, CsvRowHandler handler, CsvRejectHandler rejects)
+      throws IOException {
+    Validator.validateNotNull(reader, "Reader");
+    Validator.validateNotNull(handler, "Row handler");
+    Validator.validateNotNull(rejects, "Reject handler");
+    CSVReader csvReader = new CSVReader(reader);
+    long rowNumber = 0;
+    while (true) {
+      String[] row;
+      try {
+        row = csvReader.readNext();
+      } catch (CsvValidationException e) {
+        rejects.reject(csvReader.getRecordsRead(), e.getMessage());
+        rowNumber = csvReader.getRecordsRead();
+        continue;
+      }
+      if (row == null) {
+        return rowNumber;
+      }
+      rowNumber = csvReader.getRecordsRead();
+      if (rowNumber == 1 || (row.length == 1 && row[0].isBlank())) {
+        continue;
+      }
+      try {
+        handler.handle(rowNumber, row);
+      } catch (IllegalArgumentException | DateTimeException e) {
+        rejects.reject(rowNumber, e.getMessage());
+      }
+    }
+  }
 }
@@ -8,6 +8,7 @@
 
 package smarthome.utils;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
@@ -53,105 +54,125 @@ public class LoadDefaultConfiguration {
     this.actuatorTypeService = actuatorTypeService;
     this.cvsLoader = cvsLoader;
 
-    loadDefaultUnits();
-    loadDefaultModels();
-    loadDefaultTypes();
+    List<String> rejected = new ArrayList<>();
+    rejected.addAll(loadDefaultUnits());
+    rejected.addAll(loadDefaultModels());
+    rejected.addAll(loadDefaultTypes());
+    if (!rejected.isEmpty()) {
+      throw new IllegalStateException(
+          "Invalid default configuration:\n" + String.join("\n", rejected));
+    }
   }
 
-  private void loadDefaultUnits() {
-    loadDefaultSupportedUnits("defaultconfig/units.csv");
+  private List<String> loadDefaultUnits() {
+    return loadDefaultSupportedUnits("defaultconfig/units.csv");
   }
 
-  private void loadDefaultModels (){
-    loadDefaultSupportedSensorModels("defaultconfig/sensormodel.csv");
-    loadDefaultSupportedActuatorModels("defaultconfig/actuatormodel.csv");
+  private List<String> loadDefaultModels() {
+    List<String> rejected = new ArrayList<>();
+    rejected.addAll(loadDefaultSupportedSensorModels("defaultconfig/sensormodel.csv"));
+    rejected.addAll(loadDefaultSupportedActuatorModels("defaultconfig/actuatormodel.csv"));
+    return rejected;
   }
 
-  private void loadDefaultTypes(){
-    loadDefaultSupportedSensorTypes("defaultconfig/sensortype.csv");
-    loadDefaultSupportedActuatorTypes("defaultconfig/actuatortype.csv");
+  private List<String> loadDefaultTypes() {
+    List<String> rejected = new ArrayList<>();
+    rejected.addAll(loadDefaultSupportedSensorTypes("defaultconfig/sensortype.csv"));
+    rejected.addAll(loadDefaultSupportedActuatorTypes("defaultconfig/actuatortype.csv"));
+    return rejected;
   }
 
 
-  public void loadDefaultSupportedUnits(String path) {
-    List<String[]> rows = cvsLoader.loadCVSFileToListOfStrings(path);
-    int startAfterTheHeader = 1;
-
-    if (!rows.isEmpty()) {
-      for (int i = startAfterTheHeader; i < rows.size(); i++) {
-
-        String unitDescription = rows.get(i)[0];
-        UnitDescription unitDescription1 = new UnitDescription(unitDescription);
-        String unitSymbol = rows.get(i)[1];
-        UnitSymbol unitSymbol1 = new UnitSymbol(unitSymbol);
-        unitService.addunitType(unitDescription1, unitSymbol1);
-      }
-    }
+  /**
+   * Method to load the units of a CSV file with the columns description and symbol.
+   *
+   * @param path is the path of the file.
+   * @return the rows that could not be loaded.
+   */
+  public List<String> loadDefaultSupportedUnits(String path) {
+    return load(path, (rowNumber, row) -> {
+      UnitDescription unitDescription = new UnitDescription(column(row, 0));
+      UnitSymbol unitSymbol = new UnitSymbol(column(row, 1));
+      unitService.addunitType(unitDescription, unitSymbol);
+    });
   }
 
-
-  public void loadDefaultSupportedSensorTypes(String path) {
-    List<String[]> rows = cvsLoader.loadCVSFileToListOfStrings(path);
-    int startAfterTheHeader = 1;
-    if (!rows.isEmpty()) {
-      for (int i = startAfterTheHeader; i < rows.size(); i++) {
-        String sensorTypeDescription = rows.get(i)[0];
-        TypeDescription typeDescription = new TypeDescription(sensorTypeDescription);
-        String unitDescriptionID = rows.get(i)[1];
-        UnitID unitID = new UnitID(unitDescriptionID);
-        sensorTypeService.createSensorType(typeDescription, unitID);
-      }
-    }
+  /**
+   * Method to load the sensor types of a CSV file with the columns description and unit ID.
+   *
+   * @param path is the path of the file.
+   * @return the rows that could not be loaded.
+   */
+  public List<String> loadDefaultSupportedSensorTypes(String path) {
+    return load(path, (rowNumber, row) -> {
+      TypeDescription typeDescription = new TypeDescription(column(row, 0));
+      UnitID unitID = new UnitID(column(row, 1));
+      sensorTypeService.createSensorType(typeDescription, unitID);
+    });
   }
 
+  /**
+   * Method to load the sensor models of a CSV file with the columns model path, model name and
+   * sensor type ID.
+   *
+   * @param path is the path of the file.
+   * @return the rows that could not be loaded.
+   */
+  public List<String> loadDefaultSupportedSensorModels(String path) {
+    return load(path, (rowNumber, row) -> {
+      ModelPath modelPath = new ModelPath(column(row, 0));
+      SensorModelName modelName = new SensorModelName(column(row, 1));
+      SensorTypeID sensorTypeID = new SensorTypeID(column(row, 2));
+      sensorModelService.createSensorModel(modelName, modelPath, sensorTypeID);
+    });
+  }
 
-  public void loadDefaultSupportedSensorModels(String path) {
-    List<String[]> rows = cvsLoader.loadCVSFileToListOfStrings(path);
-    int startAfterTheHeader = 1;
-    if (!rows.isEmpty()) {
-      for (int i = startAfterTheHeader; i < rows.size(); i++) {
-        String sensorModelPath = rows.get(i)[0];
-        ModelPath modelPath = new ModelPath(sensorModelPath);
-        String sensorModelName = rows.get(i)[1];
-        SensorModelName modelName = new SensorModelName(sensorModelName);
-        String sensorTypeID = rows.get(i)[2];
-        SensorTypeID sensorTypeID1 = new SensorTypeID(sensorTypeID);
-        sensorModelService.createSensorModel(modelName, modelPath, sensorTypeID1);
-      }
-    }
-
+  /**
+   * Method to load the actuator types of a CSV file with the columns description and unit ID.
+   *
+   * @param path is the path of the file.
+   * @return the rows that could not be loaded.
+   */
+  public List<String> loadDefaultSupportedActuatorTypes(String path) {
+    return load(path, (rowNumber, row) -> {
+      TypeDescription typeDescription = new TypeDescription(column(row, 0));
+      UnitID unitID = new UnitID(column(row, 1));
+      ActuatorType actuatorType = actuatorTypeService.createActuatorType(typeDescription, unitID);
+      actuatorTypeService.addActuatorType(actuatorType);
+    });
   }
 
-  public void loadDefaultSupportedActuatorTypes(String path) {
-    List<String[]> rows = cvsLoader.loadCVSFileToListOfStrings(path);
-    int startAfterTheHeader = 1;
-    if (!rows.isEmpty()) {
-      for (int i = startAfterTheHeader; i < rows.size(); i++) {
-        String actuatorTypeDescription = rows.get(i)[0];
-        TypeDescription typeDescription = new TypeDescription(actuatorTypeDescription);
-        String unitDescriptionID = rows.get(i)[1];
-        UnitID unitID = new UnitID(unitDescriptionID);
-        ActuatorType actuatorType = actuatorTypeService.createActuatorType(typeDescription, unitID);
-        actuatorTypeService.addActuatorType(actuatorType);
-      }
-    }
+  /**
+   * Method to load the actuator models of a CSV file with the columns model path, model name and
+   * actuator type ID.
+   *
+   * @param path is the path of the file.
+   * @return the rows that could not be loaded.
+   */
+  public List<String> loadDefaultSupportedActuatorModels(String path) {
+    return load(path, (rowNumber, row) -> {
+      ModelPath modelPath = new ModelPath(column(row, 0));
+      ActuatorModelName modelName = new ActuatorModelName(column(row, 1));
+      ActuatorTypeID actuatorTypeID = new ActuatorTypeID(column(row, 2));
+      actuatorModelService.addActuatorModel(modelPath, modelName, actuatorTypeID);
+    });
   }
 
+  /**
+   * Method to stream the rows of a catalog file into the handler, collecting the rows that are
+   * malformed or rejected by the services instead of stopping at the first one.
+   */
+  private List<String> load(String path, CsvRowHandler handler) {
+    List<String> rejected = new ArrayList<>();
+    cvsLoader.readRows(path, handler,
+        (rowNumber, error) -> rejected.add(path + " row " + rowNumber + ": " + error));
+    return rejected;
+  }
 
-  public void loadDefaultSupportedActuatorModels(String path) {
-    List<String[]> rows = cvsLoader.loadCVSFileToListOfStrings(path);
-    int startAfterTheHeader = 1;
-    if (!rows.isEmpty()) {
-      for (int i = startAfterTheHeader; i < rows.size(); i++) {
-        String actuatorModelPath = rows.get(i)[0];
-        ModelPath modelPath = new ModelPath(actuatorModelPath);
-        String actuatorModelName = rows.get(i)[1];
-        ActuatorModelName modelName = new ActuatorModelName(actuatorModelName);
-        String actuatorTypeID = rows.get(i)[2];
-        ActuatorTypeID sensorTypeID1 = new ActuatorTypeID(actuatorTypeID);
-        actuatorModelService.addActuatorModel(modelPath, modelName, sensorTypeID1);
-      }
+  private static String column(String[] row, int index) {
+    if (index >= row.length) {
+      throw new IllegalArgumentException("Missing column " + (index + 1));
     }
-
+    return row[index];
   }
 }
@@ -8,14 +8,52 @@
 
 package smarthome.utils;
 
-import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorID;
+import smarthome.utils.simulation.ISignalSource;
+import smarthome.utils.simulation.RandomSignalSource;
+import smarthome.utils.simulation.SignalKind;
 
 /**
- * This class is used to simulate values for testing purposes.
+ * This class is used to simulate values for testing purposes. Sensors read their values from the
+ * signal source of the ValueSimulator they are created with; SimulationConfig provides the one of
+ * the application, chosen with smarthome.simulation.mode.
  */
 public class ValueSimulator {
 
-  static SecureRandom random = new SecureRandom();
+  private final ISignalSource source;
+
+  /**
+   * ValueSimulator constructor.
+   *
+   * @param source is the signal source the values are read from.
+   */
+  public ValueSimulator(ISignalSource source) {
+    Validator.validateNotNull(source, "Signal source");
+    this.source = source;
+  }
+
+  /**
+   * Method to get a simulator of uniform values, for sensors created without one.
+   *
+   * @return a ValueSimulator reading a RandomSignalSource.
+   */
+  public static ValueSimulator random() {
+    return new ValueSimulator(new RandomSignalSource());
+  }
+
+  /**
+   * Method to get the next simulated value of a quantity measured by a sensor.
+   *
+   * @param sensorID is the sensor read.
+   * @param deviceID is the device of the sensor.
+   * @param kind     is the quantity measured.
+   * @return the value, a whole number when the quantity is integral.
+   */
+  public double next(SensorID sensorID, DeviceID deviceID, SignalKind kind) {
+    return source.next(sensorID, deviceID, kind);
+  }
 
   /**
    * Generates a random value between the lower and upper bond.
@@ -30,7 +68,7 @@ public class ValueSimulator {
       throw new IllegalArgumentException("Lower bond should be less than upper bond");
     }
 
-    return lowerBond + (upperBond - lowerBond) * random.nextDouble();
+    return lowerBond + (upperBond - lowerBond) * ThreadLocalRandom.current().nextDouble();
   }
 
   /**
@@ -46,7 +84,7 @@ public class ValueSimulator {
     if (Math.min(lowerBond, upperBond) == upperBond) {
       throw new IllegalArgumentException("Lower bond should be less than upper bond");
     }
-    return lowerBond + random.nextInt(upperBond - lowerBond);
+    return lowerBond + ThreadLocalRandom.current().nextInt(upperBond - lowerBond);
   }
 
   /**
@@ -55,6 +93,6 @@ public class ValueSimulator {
    */
 
   public static boolean generateRandomBoolean() {
-    return random.nextBoolean();
+    return ThreadLocalRandom.current().nextBoolean();
   }
 }
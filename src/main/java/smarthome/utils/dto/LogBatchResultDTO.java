@@ -0,0 +1,34 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.utils.dto;
+
+import smarthome.ddd.IDTO;
+
+public class LogBatchResultDTO implements IDTO {
+
+  public int index;
+  public String logID;
+  public String error;
+
+  /**
+   * Constructs the result of one reading of a batch. Exactly one of logID and error is set.
+   */
+  public LogBatchResultDTO(int index, String logID, String error) {
+    this.index = index;
+    this.logID = logID;
+    this.error = error;
+  }
+
+  /**
+   * toString method for LogBatchResultDTO.
+   */
+  @Override
+  public String toString() {
+    return index + " " + (logID != null ? logID : error);
+  }
+}
@@ -0,0 +1,54 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.dto;
+
+import java.util.List;
+import smarthome.ddd.IDTO;
+
+public class LogImportProgressDTO implements IDTO {
+
+  public String importID;
+  public String path;
+  public String state;
+  public long bytesRead;
+  public long totalBytes;
+  public long rowsRead;
+  public long saved;
+  public long rejected;
+  public long elapsedMillis;
+  public List<LogImportRejectDTO> rejects;
+  public String failure;
+
+  /**
+   * Constructs the progress of a CSV log import.
+   */
+  public LogImportProgressDTO(String importID, String path, String state, long bytesRead,
+      long totalBytes, long rowsRead, long saved, long rejected, long elapsedMillis,
+      List<LogImportRejectDTO> rejects, String failure) {
+    this.importID = importID;
+    this.path = path;
+    this.state = state;
+    this.bytesRead = bytesRead;
+    this.totalBytes = totalBytes;
+    this.rowsRead = rowsRead;
+    this.saved = saved;
+    this.rejected = rejected;
+    this.elapsedMillis = elapsedMillis;
+    this.rejects = rejects;
+    this.failure = failure;
+  }
+
+  /**
+   * toString method for LogImportProgressDTO.
+   */
+  @Override
+  public String toString() {
+    return importID + " " + state + " " + bytesRead + "/" + totalBytes;
+  }
+}
@@ -0,0 +1,33 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.dto;
+
+import smarthome.ddd.IDTO;
+
+public class LogImportRejectDTO implements IDTO {
+
+  public long rowNumber;
+  public String error;
+
+  /**
+   * Constructs a row of a CSV log import that was not saved.
+   */
+  public LogImportRejectDTO(long rowNumber, String error) {
+    this.rowNumber = rowNumber;
+    this.error = error;
+  }
+
+  /**
+   * toString method for LogImportRejectDTO.
+   */
+  @Override
+  public String toString() {
+    return rowNumber + " " + error;
+  }
+}
@@ -0,0 +1,47 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.utils.dto;
+
+import smarthome.ddd.IDTO;
+
+public class LogIngestMetricsDTO implements IDTO {
+
+  public int depth;
+  public int capacity;
+  public long accepted;
+  public long written;
+  public long invalid;
+  public long failed;
+  public long dropped;
+  public long rejected;
+  public long lagMillis;
+
+  /**
+   * Constructs the metrics of the write-behind ingest.
+   */
+  public LogIngestMetricsDTO(int depth, int capacity, long accepted, long written, long invalid,
+      long failed, long dropped, long rejected, long lagMillis) {
+    this.depth = depth;
+    this.capacity = capacity;
+    this.accepted = accepted;
+    this.written = written;
+    this.invalid = invalid;
+    this.failed = failed;
+    this.dropped = dropped;
+    this.rejected = rejected;
+    this.lagMillis = lagMillis;
+  }
+
+  /**
+   * toString method for LogIngestMetricsDTO.
+   */
+  @Override
+  public String toString() {
+    return depth + "/" + capacity + " " + lagMillis + "ms";
+  }
+}
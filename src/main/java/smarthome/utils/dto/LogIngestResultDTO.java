@@ -0,0 +1,34 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.utils.dto;
+
+import java.util.List;
+import smarthome.ddd.IDTO;
+
+public class LogIngestResultDTO implements IDTO {
+
+  public int accepted;
+  public List<LogBatchResultDTO> rejected;
+
+  /**
+   * Constructs the result of a write-behind ingest: the number of readings queued and the
+   * readings that could not be parsed.
+   */
+  public LogIngestResultDTO(int accepted, List<LogBatchResultDTO> rejected) {
+    this.accepted = accepted;
+    this.rejected = rejected;
+  }
+
+  /**
+   * toString method for LogIngestResultDTO.
+   */
+  @Override
+  public String toString() {
+    return accepted + " " + rejected.size();
+  }
+}
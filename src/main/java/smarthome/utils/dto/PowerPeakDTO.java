@@ -0,0 +1,33 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.utils.dto;
+
+import smarthome.ddd.IDTO;
+
+public class PowerPeakDTO implements IDTO {
+
+  public double peakPower;
+  public String timestamp;
+
+  /**
+   * Constructs the peak power of the house and the first time it was reached, or null when there
+   * were no readings.
+   */
+  public PowerPeakDTO(double peakPower, String timestamp) {
+    this.peakPower = peakPower;
+    this.timestamp = timestamp;
+  }
+
+  /**
+   * toString method for PowerPeakDTO.
+   */
+  @Override
+  public String toString() {
+    return peakPower + " " + timestamp;
+  }
+}
@@ -0,0 +1,45 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.utils.dto;
+
+import smarthome.ddd.IDTO;
+
+public class ReadingAggregateDTO implements IDTO {
+
+  public String bucketStart;
+  public long count;
+  public double min;
+  public double max;
+  public double sum;
+  public double average;
+  public double first;
+  public double last;
+
+  /**
+   * Constructs the aggregate of the readings of one time bucket.
+   */
+  public ReadingAggregateDTO(String bucketStart, long count, double min, double max, double sum,
+      double average, double first, double last) {
+    this.bucketStart = bucketStart;
+    this.count = count;
+    this.min = min;
+    this.max = max;
+    this.sum = sum;
+    this.average = average;
+    this.first = first;
+    this.last = last;
+  }
+
+  /**
+   * toString method for ReadingAggregateDTO.
+   */
+  @Override
+  public String toString() {
+    return bucketStart + " " + count + " " + min + " " + max + " " + sum;
+  }
+}
@@ -0,0 +1,41 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.utils.dto;
+
+import smarthome.ddd.IDTO;
+
+public class ReferenceCacheStatsDTO implements IDTO {
+
+  public String name;
+  public int cachedIds;
+  public long hits;
+  public long bloomNegatives;
+  public long misses;
+  public double hitRatio;
+
+  /**
+   * Constructs the counters of the existence cache of one repository.
+   */
+  public ReferenceCacheStatsDTO(String name, int cachedIds, long hits, long bloomNegatives,
+      long misses, double hitRatio) {
+    this.name = name;
+    this.cachedIds = cachedIds;
+    this.hits = hits;
+    this.bloomNegatives = bloomNegatives;
+    this.misses = misses;
+    this.hitRatio = hitRatio;
+  }
+
+  /**
+   * toString method for ReferenceCacheStatsDTO.
+   */
+  @Override
+  public String toString() {
+    return name + " " + hitRatio;
+  }
+}
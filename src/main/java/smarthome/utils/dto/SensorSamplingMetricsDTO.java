@@ -0,0 +1,46 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.dto;
+
+import smarthome.ddd.IDTO;
+
+public class SensorSamplingMetricsDTO implements IDTO {
+
+  public int sensors;
+  public long samples;
+  public long failed;
+  public long dropped;
+  public long skipped;
+  public double meanLagMillis;
+  public double maxLagMillis;
+  public double peakLagMillis;
+
+  /**
+   * Constructs the metrics of the sensor sampling.
+   */
+  public SensorSamplingMetricsDTO(int sensors, long samples, long failed, long dropped,
+      long skipped, double meanLagMillis, double maxLagMillis, double peakLagMillis) {
+    this.sensors = sensors;
+    this.samples = samples;
+    this.failed = failed;
+    this.dropped = dropped;
+    this.skipped = skipped;
+    this.meanLagMillis = meanLagMillis;
+    this.maxLagMillis = maxLagMillis;
+    this.peakLagMillis = peakLagMillis;
+  }
+
+  /**
+   * toString method for SensorSamplingMetricsDTO.
+   */
+  @Override
+  public String toString() {
+    return sensors + " sensors " + meanLagMillis + "/" + maxLagMillis + "ms";
+  }
+}
@@ -0,0 +1,40 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+/**
+ * This class represents the data transfer object for one reading
+ * to be received from the client in a batch of logs.
+ */
+
+package smarthome.utils.entry_dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogReadingEntryDTO {
+
+  @NotBlank (message = "DeviceID cannot be empty")
+  public String deviceID;
+
+  @NotBlank (message = "SensorID cannot be empty")
+  public String sensorID;
+
+  @NotBlank (message = "SensorTypeID cannot be empty")
+  public String sensorTypeID;
+
+  @NotBlank (message = "UnitID cannot be empty")
+  public String unitID;
+
+  @NotBlank (message = "Reading cannot be empty")
+  public String reading;
+
+  @NotBlank (message = "Timestamp cannot be empty")
+  public String timestamp;
+}
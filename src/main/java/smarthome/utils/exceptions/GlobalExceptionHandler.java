@@ -51,6 +51,20 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
   }
 
+  /**
+   * Handle {@link IngestQueueFullException}
+   * @param ex IngestQueueFullException
+   * @return ResponseEntity
+   */
+  @ExceptionHandler(IngestQueueFullException.class)
+  public ResponseEntity<Object> handleIngestQueueFullException(IngestQueueFullException ex) {
+    ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+        HttpStatus.TOO_MANY_REQUESTS.value(),
+        ex.getMessage());
+
+    return new ResponseEntity<>(errorResponse, HttpStatus.TOO_MANY_REQUESTS);
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<Object> handleException(Exception ex) {
     return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
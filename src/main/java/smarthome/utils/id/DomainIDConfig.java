@@ -0,0 +1,48 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.id;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import smarthome.ddd.IDomainIDGenerator;
+
+/**
+ * Provides the identifier generator chosen by smarthome.ids.generator: "time-ordered" (UUIDv7, the
+ * default) or "random" (UUIDv4). The aggregate factories create new aggregates with it.
+ */
+@Configuration
+public class DomainIDConfig {
+
+  /**
+   * Method to get the identifier generator.
+   *
+   * @param generator is the name of the generator.
+   * @return the generator.
+   */
+  @Bean
+  public IDomainIDGenerator domainIDGenerator(
+      @Value("${smarthome.ids.generator:time-ordered}") String generator) {
+    return generatorNamed(generator);
+  }
+
+  /**
+   * Method to get a generator by its name.
+   *
+   * @param name is "time-ordered" or "random".
+   * @return the generator.
+   */
+  static IDomainIDGenerator generatorNamed(String name) {
+    return switch (name) {
+      case "time-ordered" -> new TimeOrderedUUIDGenerator();
+      case "random" -> new RandomUUIDGenerator();
+      default -> throw new IllegalArgumentException("Unknown ID generator: " + name);
+    };
+  }
+}
@@ -0,0 +1,33 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.id;
+
+import smarthome.ddd.IDomainIDGenerator;
+
+/**
+ * Source of the identifiers of aggregates that are created directly, outside of their factories,
+ * and of other records, such as imports. The factories create new aggregates with the identifier
+ * generator chosen by smarthome.ids.generator, which DomainIDConfig exposes as a bean.
+ */
+public final class DomainIDs {
+
+  private static final IDomainIDGenerator GENERATOR = new TimeOrderedUUIDGenerator();
+
+  private DomainIDs() {
+  }
+
+  /**
+   * Method to generate a time-ordered identifier.
+   *
+   * @return the unique identifier.
+   */
+  public static String next() {
+    return GENERATOR.nextID();
+  }
+}
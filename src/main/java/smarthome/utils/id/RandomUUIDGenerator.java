@@ -0,0 +1,23 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.id;
+
+import java.util.UUID;
+import smarthome.ddd.IDomainIDGenerator;
+
+/**
+ * Generates random (version 4) UUIDs, the identifiers used before time-ordered ones.
+ */
+public class RandomUUIDGenerator implements IDomainIDGenerator {
+
+  @Override
+  public String nextID() {
+    return UUID.randomUUID().toString();
+  }
+}
@@ -0,0 +1,78 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import smarthome.ddd.IDomainIDGenerator;
+import smarthome.utils.Validator;
+
+/**
+ * Generates version 7 UUIDs (RFC 9562): a 48-bit Unix timestamp in milliseconds, a 12-bit counter
+ * and 62 random bits. Identifiers sort in creation order, as strings and as bytes, so new rows are
+ * appended at the end of an index instead of being spread over it.
+ * <p>
+ * The counter keeps identifiers generated by this process strictly increasing: when the clock has
+ * not moved, or has gone back, the previous timestamp and counter are incremented.
+ */
+public class TimeOrderedUUIDGenerator implements IDomainIDGenerator {
+
+  private static final int COUNTER_BITS = 12;
+  private static final long VERSION = 0x7000L;
+  private static final long VARIANT = 0x8000000000000000L;
+  private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+  private final LongSupplier clock;
+  private final AtomicLong last = new AtomicLong();
+
+  /**
+   * TimeOrderedUUIDGenerator constructor using the system clock.
+   */
+  public TimeOrderedUUIDGenerator() {
+    this(System::currentTimeMillis);
+  }
+
+  /**
+   * TimeOrderedUUIDGenerator constructor.
+   *
+   * @param clock is the source of the current time in milliseconds since the epoch.
+   */
+  public TimeOrderedUUIDGenerator(LongSupplier clock) {
+    Validator.validateNotNull(clock, "Clock");
+    this.clock = clock;
+  }
+
+  @Override
+  public String nextID() {
+    return nextUUID().toString();
+  }
+
+  /**
+   * Method to generate the next identifier as a UUID.
+   *
+   * @return a version 7 UUID greater than every UUID generated before by this generator.
+   */
+  public UUID nextUUID() {
+    long candidate = clock.getAsLong() << COUNTER_BITS;
+    long previous;
+    long next;
+    do {
+      previous = last.get();
+      next = candidate > previous ? candidate : previous + 1;
+    } while (!last.compareAndSet(previous, next));
+
+    long timestamp = next >>> COUNTER_BITS;
+    long counter = next & ((1L << COUNTER_BITS) - 1);
+    long mostSignificant = (timestamp << 16) | VERSION | counter;
+    long leastSignificant = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+    return new UUID(mostSignificant, leastSignificant);
+  }
+}
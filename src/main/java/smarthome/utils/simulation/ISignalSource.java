@@ -0,0 +1,29 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorID;
+
+/**
+ * Source of the simulated values read by the sensors through ValueSimulator.
+ */
+public interface ISignalSource {
+
+  /**
+   * Method to get the next value of a quantity measured by a sensor. Implementations must allow
+   * different sensors to be read concurrently.
+   *
+   * @param sensorID is the sensor read.
+   * @param deviceID is the device of the sensor.
+   * @param kind     is the quantity measured.
+   * @return the value, a whole number when the quantity is integral.
+   */
+  double next(SensorID sensorID, DeviceID deviceID, SignalKind kind);
+}
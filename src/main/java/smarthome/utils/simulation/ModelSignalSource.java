@@ -0,0 +1,358 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorID;
+import smarthome.utils.Validator;
+
+/**
+ * Seeded signal models: a daily temperature curve, relative humidity and dew point that follow it,
+ * a household power load profile with appliance spikes, gusty wind, switches that change state now
+ * and then, and blinds that open by day and close by night in a random walk.
+ * <p>
+ * Every sensor has its own SplittableRandom and state, seeded from the global seed and the sensor
+ * ID rather than split in the order sensors are first read, so a sensor produces the same values
+ * whichever thread reads it and whenever the other sensors are read. The climate of a device, the
+ * curve its temperature, humidity, dew point and load sensors share, is seeded from the device ID.
+ * Sensors only synchronize on their own state, so throughput grows with the threads reading them.
+ * <p>
+ * With a start time, the n-th reading of a sensor is taken at start + n * step, so a run with the
+ * same seed, start and sensor IDs is replayed exactly. Without one, readings follow the wall clock.
+ */
+public class ModelSignalSource implements ISignalSource {
+
+  private static final double DAY_HOURS = 24.0;
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private final long seed;
+  private final LocalDateTime start;
+  private final Duration step;
+  private final Map<Key, Signal> signals = new ConcurrentHashMap<>();
+
+  private record Key(String sensorID, SignalKind kind) {
+
+  }
+
+  /**
+   * ModelSignalSource constructor.
+   *
+   * @param seed  is the global seed.
+   * @param start is the time of the first reading of every sensor, or null for the wall clock.
+   * @param step  is the time between two readings of a sensor when a start time is given.
+   */
+  public ModelSignalSource(long seed, LocalDateTime start, Duration step) {
+    Validator.validateNotNull(step, "Step");
+    if (step.isNegative() || step.isZero()) {
+      throw new IllegalArgumentException("Step must be positive.");
+    }
+    this.seed = seed;
+    this.start = start;
+    this.step = step;
+  }
+
+  @Override
+  public double next(SensorID sensorID, DeviceID deviceID, SignalKind kind) {
+    Validator.validateNotNull(sensorID, "SensorID");
+    Validator.validateNotNull(deviceID, "DeviceID");
+    Validator.validateNotNull(kind, "Signal kind");
+    Signal signal = signals.computeIfAbsent(new Key(sensorID.toString(), kind),
+        key -> newSignal(key, deviceID.toString()));
+    return signal.next();
+  }
+
+  private Signal newSignal(Key key, String deviceID) {
+    SplittableRandom random = new SplittableRandom(
+        mix(mix(seed, key.sensorID()), key.kind().name()));
+    Climate climate = Climate.of(new SplittableRandom(mix(seed, deviceID)));
+    return switch (key.kind()) {
+      case TEMPERATURE -> new TemperatureSignal(random, climate);
+      case HUMIDITY -> new HumiditySignal(random, climate);
+      case DEW_POINT -> new DewPointSignal(random, climate);
+      case INSTANT_POWER -> new PowerSignal(random, climate);
+      case WIND_SPEED -> new WindSpeedSignal(random);
+      case WIND_DIRECTION -> new WindDirectionSignal(random);
+      case SWITCH -> new SwitchSignal(random);
+      case BLIND_POSITION -> new BlindSignal(random);
+    };
+  }
+
+  /**
+   * Method to combine a seed with a string, with FNV-1a over its UTF-8 bytes.
+   */
+  static long mix(long seed, String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+    }
+    return seed * GOLDEN_GAMMA ^ hash;
+  }
+
+  private static double hourOfDay(LocalDateTime time) {
+    return time.toLocalTime().toNanoOfDay() / 3_600_000_000_000.0;
+  }
+
+  private static double clamp(double value, double lower, double upper) {
+    return Math.max(lower, Math.min(upper, value));
+  }
+
+  private static double round(double value, double scale) {
+    return Math.round(value * scale) / scale;
+  }
+
+  /**
+   * Daily temperature curve and power load of a device.
+   *
+   * @param meanTemperature is the mean temperature of the day, in degrees Celsius.
+   * @param amplitude       is half the difference between the warmest and coldest hour.
+   * @param warmestHour     is the hour of the warmest temperature.
+   * @param meanHumidity    is the relative humidity at the mean temperature.
+   * @param baseLoad        is the load at night, in watts.
+   * @param peakLoad        is the load added at the evening peak, in watts.
+   */
+  private record Climate(double meanTemperature, double amplitude, double warmestHour,
+                         double meanHumidity, double baseLoad, double peakLoad) {
+
+    private static Climate of(SplittableRandom random) {
+      return new Climate(random.nextDouble(12, 22), random.nextDouble(3, 7),
+          random.nextDouble(14, 16), random.nextDouble(50, 70), random.nextDouble(60, 200),
+          random.nextDouble(400, 1500));
+    }
+
+    private double temperature(double hour) {
+      return meanTemperature
+          + amplitude * Math.cos(2 * Math.PI * (hour - warmestHour) / DAY_HOURS);
+    }
+
+    /**
+     * Relative humidity falls as the air warms up during the day, about 2.5 % per degree.
+     */
+    private double humidity(double hour) {
+      return clamp(meanHumidity - 2.5 * (temperature(hour) - meanTemperature), 5, 100);
+    }
+
+    /**
+     * Morning and evening peaks over a base load.
+     */
+    private double load(double hour) {
+      return baseLoad + peakLoad * (0.5 * bump(hour, 7.5, 1.0) + bump(hour, 19.5, 1.5));
+    }
+
+    private static double bump(double hour, double centre, double width) {
+      double distance = Math.abs(hour - centre);
+      distance = Math.min(distance, DAY_HOURS - distance);
+      return Math.exp(-distance * distance / (2 * width * width));
+    }
+  }
+
+  /**
+   * State of one simulated quantity of one sensor.
+   */
+  private abstract class Signal {
+
+    protected final SplittableRandom random;
+    private long readings;
+
+    private Signal(SplittableRandom random) {
+      this.random = random;
+    }
+
+    private synchronized double next() {
+      LocalDateTime time = start == null
+          ? LocalDateTime.now()
+          : start.plus(step.multipliedBy(readings));
+      readings++;
+      return value(hourOfDay(time));
+    }
+
+    protected abstract double value(double hour);
+  }
+
+  /**
+   * The daily curve of the device with slowly varying noise.
+   */
+  private final class TemperatureSignal extends Signal {
+
+    private final Climate climate;
+    private double noise;
+
+    private TemperatureSignal(SplittableRandom random, Climate climate) {
+      super(random);
+      this.climate = climate;
+    }
+
+    @Override
+    protected double value(double hour) {
+      noise = 0.9 * noise + 0.3 * random.nextGaussian();
+      return round(climate.temperature(hour) + noise, 100);
+    }
+  }
+
+  /**
+   * Relative humidity following the temperature of the device.
+   */
+  private final class HumiditySignal extends Signal {
+
+    private final Climate climate;
+    private double noise;
+
+    private HumiditySignal(SplittableRandom random, Climate climate) {
+      super(random);
+      this.climate = climate;
+    }
+
+    @Override
+    protected double value(double hour) {
+      noise = 0.9 * noise + 1.5 * random.nextGaussian();
+      return Math.round(clamp(climate.humidity(hour) + noise, 0, 100));
+    }
+  }
+
+  /**
+   * Dew point of the temperature and humidity of the device, by the Magnus formula.
+   */
+  private final class DewPointSignal extends Signal {
+
+    private final Climate climate;
+
+    private DewPointSignal(SplittableRandom random, Climate climate) {
+      super(random);
+      this.climate = climate;
+    }
+
+    @Override
+    protected double value(double hour) {
+      double temperature = climate.temperature(hour) + 0.3 * random.nextGaussian();
+      double gamma = Math.log(climate.humidity(hour) / 100)
+          + 17.62 * temperature / (243.12 + temperature);
+      return Math.max(-70, Math.round(243.12 * gamma / (17.62 - gamma)));
+    }
+  }
+
+  /**
+   * Household load profile, with appliances switched on now and then and decaying spikes.
+   */
+  private final class PowerSignal extends Signal {
+
+    private final Climate climate;
+    private double spike;
+
+    private PowerSignal(SplittableRandom random, Climate climate) {
+      super(random);
+      this.climate = climate;
+    }
+
+    @Override
+    protected double value(double hour) {
+      spike *= 0.8;
+      if (random.nextDouble() < 0.02) {
+        spike += random.nextDouble(500, 2000);
+      }
+      double load = climate.load(hour) * (1 + 0.05 * random.nextGaussian()) + spike;
+      return round(Math.max(0, load), 10);
+    }
+  }
+
+  /**
+   * Wind speed in km/h, gusting around a mean.
+   */
+  private final class WindSpeedSignal extends Signal {
+
+    private static final double MEAN_SPEED = 12;
+    private double speed;
+
+    private WindSpeedSignal(SplittableRandom random) {
+      super(random);
+      this.speed = random.nextDouble(0, 2 * MEAN_SPEED);
+    }
+
+    @Override
+    protected double value(double hour) {
+      speed = clamp(MEAN_SPEED + 0.95 * (speed - MEAN_SPEED) + 2 * random.nextGaussian(), 0, 407);
+      return Math.round(speed);
+    }
+  }
+
+  /**
+   * Wind direction in radians, veering slowly.
+   */
+  private final class WindDirectionSignal extends Signal {
+
+    private static final double TURN = 2 * Math.PI;
+    private double direction;
+
+    private WindDirectionSignal(SplittableRandom random) {
+      super(random);
+      this.direction = random.nextDouble(0, TURN);
+    }
+
+    @Override
+    protected double value(double hour) {
+      direction = (direction + 0.1 * random.nextGaussian()) % TURN;
+      if (direction < 0) {
+        direction += TURN;
+      }
+      return direction;
+    }
+  }
+
+  /**
+   * Switch that changes state at about one reading in twenty.
+   */
+  private final class SwitchSignal extends Signal {
+
+    private boolean on;
+
+    private SwitchSignal(SplittableRandom random) {
+      super(random);
+      this.on = random.nextBoolean();
+    }
+
+    @Override
+    protected double value(double hour) {
+      if (random.nextDouble() < 0.05) {
+        on = !on;
+      }
+      return on ? 1 : 0;
+    }
+  }
+
+  /**
+   * Blind position in percent, mostly still, moving towards open by day and closed by night, with
+   * occasional adjustments either way.
+   */
+  private final class BlindSignal extends Signal {
+
+    private int position;
+
+    private BlindSignal(SplittableRandom random) {
+      super(random);
+      this.position = random.nextInt(11) * 10;
+    }
+
+    @Override
+    protected double value(double hour) {
+      int target = hour >= 8 && hour < 20 ? 100 : 0;
+      double draw = random.nextDouble();
+      if (draw < 0.1 && position != target) {
+        position += Integer.signum(target - position) * random.nextInt(5, 31);
+      } else if (draw < 0.15) {
+        position += random.nextInt(-10, 11);
+      }
+      position = (int) clamp(position, 0, 100);
+      return position;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorID;
+
+/**
+ * Uniform values in the range of each quantity, independent of the sensor and of time. Each
+ * thread draws from its own ThreadLocalRandom, so concurrent reads do not contend.
+ */
+public class RandomSignalSource implements ISignalSource {
+
+  @Override
+  public double next(SensorID sensorID, DeviceID deviceID, SignalKind kind) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (kind.isIntegral()) {
+      return random.nextInt((int) kind.lower(), (int) kind.upper());
+    }
+    return kind.lower() + (kind.upper() - kind.lower()) * random.nextDouble();
+  }
+}
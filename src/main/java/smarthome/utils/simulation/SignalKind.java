@@ -0,0 +1,55 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+/**
+ * Quantities simulated for the sensors, with the range of values drawn uniformly in the random
+ * mode. Integral quantities are whole numbers in every mode.
+ */
+public enum SignalKind {
+  TEMPERATURE(-50.0, 50.0, false),
+  HUMIDITY(0, 100, true),
+  DEW_POINT(-70, 70, true),
+  INSTANT_POWER(0.0, 100.0, false),
+  WIND_SPEED(0, 408, true),
+  WIND_DIRECTION(0.0, 2 * Math.PI, false),
+  SWITCH(0, 2, true),
+  BLIND_POSITION(14, 15, true);
+
+  private final double lower;
+  private final double upper;
+  private final boolean integral;
+
+  SignalKind(double lower, double upper, boolean integral) {
+    this.lower = lower;
+    this.upper = upper;
+    this.integral = integral;
+  }
+
+  /**
+   * @return the lowest value of the random mode, inclusive.
+   */
+  public double lower() {
+    return lower;
+  }
+
+  /**
+   * @return the highest value of the random mode, exclusive.
+   */
+  public double upper() {
+    return upper;
+  }
+
+  /**
+   * @return whether the values are whole numbers.
+   */
+  public boolean isIntegral() {
+    return integral;
+  }
+}
@@ -0,0 +1,84 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import smarthome.utils.ValueSimulator;
+
+/**
+ * Provides the signal source chosen by smarthome.simulation.mode: "random" (uniform values, the
+ * default) or "model" (seeded signal models, replayable with smarthome.simulation.seed,
+ * smarthome.simulation.start and smarthome.simulation.step), and the ValueSimulator the sensor
+ * factory hands to the sensors it creates.
+ */
+@Configuration
+public class SimulationConfig {
+
+  /**
+   * Method to create the signal source.
+   *
+   * @param mode  is the name of the signal source.
+   * @param seed  is the global seed of the model mode.
+   * @param start is the simulated time of the first reading of each sensor, in ISO local date-time
+   *              format, or blank for the wall clock.
+   * @param step  is the simulated time between two readings of a sensor.
+   * @return the signal source.
+   */
+  @Bean
+  public ISignalSource signalSource(@Value("${smarthome.simulation.mode:random}") String mode,
+      @Value("${smarthome.simulation.seed:0}") long seed,
+      @Value("${smarthome.simulation.start:}") String start,
+      @Value("${smarthome.simulation.step:PT1S}") Duration step) {
+    return sourceNamed(mode, seed, start, step);
+  }
+
+  /**
+   * Method to create the value simulator the sensors read.
+   *
+   * @param signalSource is the signal source.
+   * @return the value simulator.
+   */
+  @Bean
+  public ValueSimulator valueSimulator(ISignalSource signalSource) {
+    return new ValueSimulator(signalSource);
+  }
+
+  /**
+   * Method to get a signal source by its name.
+   *
+   * @param name  is "random" or "model".
+   * @param seed  is the global seed of the model mode.
+   * @param start is the simulated time of the first reading, or blank for the wall clock.
+   * @param step  is the simulated time between two readings of a sensor.
+   * @return the signal source.
+   */
+  static ISignalSource sourceNamed(String name, long seed, String start, Duration step) {
+    return switch (name) {
+      case "random" -> new RandomSignalSource();
+      case "model" -> new ModelSignalSource(seed, parseStart(start), step);
+      default -> throw new IllegalArgumentException("Unknown simulation mode: " + name);
+    };
+  }
+
+  private static LocalDateTime parseStart(String start) {
+    if (start == null || start.isBlank()) {
+      return null;
+    }
+    try {
+      return LocalDateTime.parse(start.trim());
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid simulation start: " + start);
+    }
+  }
+}
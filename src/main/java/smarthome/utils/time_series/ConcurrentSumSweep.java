@@ -0,0 +1,133 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.time_series;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+import smarthome.utils.Validator;
+
+/**
+ * Sweep line over the readings of many series (for example one per power meter) that finds when
+ * the sum of their current values peaks. A reading is the current value of its series from its
+ * timestamp until the next reading of the same series, or until the window has elapsed, whichever
+ * comes first; a reading therefore overlaps another when their timestamps are strictly less than
+ * one window apart, as in TimeWindowJoin. Readings taken at the same time always overlap, so a
+ * window of 0 sums only simultaneous readings.
+ * <p>
+ * The readings are sorted by timestamp once. Because the window is the same for every reading,
+ * readings expire in the order they arrive, so the sweep walks the sorted readings with one pointer
+ * for arrivals and one for expiries: O(n log n) overall, O(n) once sorted.
+ */
+public final class ConcurrentSumSweep {
+
+  /**
+   * The highest sum of concurrent values and the first time it was reached.
+   *
+   * @param value is the highest sum, or 0 when there are no readings.
+   * @param time  is the first time the sum was reached, or null when there are no readings.
+   */
+  public record Peak(double value, LocalDateTime time) {
+
+  }
+
+  private ConcurrentSumSweep() {
+  }
+
+  /**
+   * Finds the peak of the sum of the current values of every series.
+   *
+   * @param readings is the readings of every series, in any order.
+   * @param series   extracts the series a reading belongs to; keys are compared with equals.
+   * @param time     extracts the timestamp of a reading.
+   * @param value    extracts the value of a reading.
+   * @param minutes  is how long a reading stays current when no newer one arrives.
+   * @return the peak.
+   */
+  public static <T> Peak peak(List<T> readings, Function<T, ?> series,
+      Function<T, LocalDateTime> time, ToDoubleFunction<T> value, int minutes) {
+    Validator.validateNotNull(readings, "Readings");
+    Validator.validateNotNull(series, "Series extractor");
+    Validator.validateNotNull(time, "Timestamp extractor");
+    Validator.validateNotNull(value, "Value extractor");
+    if (minutes < 0) {
+      throw new IllegalArgumentException("Window must not be negative");
+    }
+    if (readings.isEmpty()) {
+      return new Peak(0, null);
+    }
+
+    int size = readings.size();
+    long[] sourceTimes = new long[size];
+    for (int i = 0; i < size; i++) {
+      sourceTimes[i] = EpochNanos.of(time.apply(readings.get(i)));
+    }
+    int[] order = IntStream.range(0, size).boxed()
+        .sorted((a, b) -> Long.compare(sourceTimes[a], sourceTimes[b]))
+        .mapToInt(Integer::intValue)
+        .toArray();
+
+    long[] times = new long[size];
+    double[] values = new double[size];
+    int[] seriesCodes = new int[size];
+    Map<Object, Integer> codes = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      T reading = readings.get(order[i]);
+      times[i] = sourceTimes[order[i]];
+      values[i] = value.applyAsDouble(reading);
+      seriesCodes[i] = codes.computeIfAbsent(series.apply(reading), key -> codes.size());
+    }
+
+    return sweep(times, values, seriesCodes, codes.size(), minutes * EpochNanos.PER_MINUTE);
+  }
+
+  /**
+   * Walks readings sorted by timestamp. current[s] is the position of the reading that is the
+   * current value of series s, or -1 once it has expired.
+   */
+  private static Peak sweep(long[] times, double[] values, int[] seriesCodes, int seriesCount,
+      long window) {
+    int[] current = new int[seriesCount];
+    Arrays.fill(current, -1);
+    double sum = 0;
+    double peak = Double.NEGATIVE_INFINITY;
+    long peakTime = times[0];
+
+    int expiring = 0;
+    int arriving = 0;
+    while (arriving < times.length) {
+      long now = times[arriving];
+      for (; expiring < arriving && times[expiring] + window <= now; expiring++) {
+        int code = seriesCodes[expiring];
+        if (current[code] == expiring) {
+          sum -= values[expiring];
+          current[code] = -1;
+        }
+      }
+      for (; arriving < times.length && times[arriving] == now; arriving++) {
+        int code = seriesCodes[arriving];
+        if (current[code] >= 0) {
+          sum -= values[current[code]];
+        }
+        current[code] = arriving;
+        sum += values[arriving];
+      }
+      if (sum > peak) {
+        peak = sum;
+        peakTime = now;
+      }
+    }
+    return new Peak(peak, EpochNanos.toLocalDateTime(peakTime));
+  }
+}
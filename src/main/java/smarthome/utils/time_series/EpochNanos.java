@@ -0,0 +1,46 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.time_series;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Conversions between LocalDateTime and nanoseconds since the epoch, in UTC. Nanosecond longs keep
+ * the full precision of a LocalDateTime and cover every date up to the year 2262.
+ */
+public final class EpochNanos {
+
+  public static final long PER_SECOND = 1_000_000_000L;
+  public static final long PER_MINUTE = 60 * PER_SECOND;
+
+  private EpochNanos() {
+  }
+
+  /**
+   * Converts a LocalDateTime to nanoseconds since the epoch.
+   *
+   * @param dateTime is the date time to convert.
+   * @return the nanoseconds since the epoch.
+   */
+  public static long of(LocalDateTime dateTime) {
+    return dateTime.toEpochSecond(ZoneOffset.UTC) * PER_SECOND + dateTime.getNano();
+  }
+
+  /**
+   * Converts nanoseconds since the epoch to a LocalDateTime.
+   *
+   * @param epochNanos is the nanoseconds since the epoch.
+   * @return the date time.
+   */
+  public static LocalDateTime toLocalDateTime(long epochNanos) {
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, PER_SECOND),
+        (int) Math.floorMod(epochNanos, PER_SECOND), ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,345 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.time_series;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import smarthome.utils.Validator;
+
+/**
+ * Sort-merge join of two time series on a time window. A left element and a right element match
+ * when the absolute distance between their timestamps is strictly lower than the window.
+ * <p>
+ * Both inputs are sorted by timestamp once (inputs that are already sorted are only checked), after
+ * which every operation is a single forward sweep over both series. The window of matching right
+ * elements for each left element is described by a [from, to) range over the sorted right series,
+ * so the join itself runs in linear time and only enumerating every pair costs extra.
+ *
+ * @param <L> type of the left elements.
+ * @param <R> type of the right elements.
+ */
+public class TimeWindowJoin<L, R> {
+
+  private final List<L> left;
+  private final long[] leftTimes;
+  private final int[] leftSourceIndexes;
+  private final List<R> right;
+  private final long[] rightTimes;
+  private final int[] rightSourceIndexes;
+  private final long window;
+
+  /**
+   * Receives the range of right elements that match a left element.
+   */
+  @FunctionalInterface
+  public interface WindowConsumer {
+
+    /**
+     * @param leftIndex is the index of the left element in the sorted left series.
+     * @param rightFrom is the first matching index in the sorted right series (inclusive).
+     * @param rightTo   is the last matching index in the sorted right series (exclusive).
+     */
+    void accept(int leftIndex, int rightFrom, int rightTo);
+  }
+
+  /**
+   * Receives the extreme right values that match a left element.
+   */
+  @FunctionalInterface
+  public interface WindowExtremesConsumer {
+
+    /**
+     * @param leftIndex is the index of the left element in the sorted left series.
+     * @param minRight  is the minimum right value inside the window.
+     * @param maxRight  is the maximum right value inside the window.
+     */
+    void accept(int leftIndex, double minRight, double maxRight);
+  }
+
+  /**
+   * A matching pair of the join.
+   *
+   * @param left  is the left element.
+   * @param right is the right element.
+   */
+  public record Pair<L, R>(L left, R right) {
+
+  }
+
+  /**
+   * Class constructor
+   *
+   * @param left      is the left series, in any order.
+   * @param leftTime  extracts the timestamp of a left element.
+   * @param right     is the right series, in any order.
+   * @param rightTime extracts the timestamp of a right element, in the same unit as leftTime.
+   * @param window    is the exclusive window, in the same unit as the timestamps.
+   */
+  public TimeWindowJoin(List<L> left, ToLongFunction<L> leftTime, List<R> right,
+      ToLongFunction<R> rightTime, long window) {
+    Validator.validateNotNull(left, "Left series");
+    Validator.validateNotNull(leftTime, "Left timestamp extractor");
+    Validator.validateNotNull(right, "Right series");
+    Validator.validateNotNull(rightTime, "Right timestamp extractor");
+    if (window < 0) {
+      throw new IllegalArgumentException("Window must not be negative");
+    }
+    this.window = window;
+
+    this.leftTimes = timesOf(left, leftTime);
+    this.leftSourceIndexes = sortedOrder(leftTimes);
+    this.left = reorder(left, leftSourceIndexes);
+    sortTimes(leftTimes, leftSourceIndexes);
+
+    this.rightTimes = timesOf(right, rightTime);
+    this.rightSourceIndexes = sortedOrder(rightTimes);
+    this.right = reorder(right, rightSourceIndexes);
+    sortTimes(rightTimes, rightSourceIndexes);
+  }
+
+  /**
+   * Creates a join over LocalDateTime timestamps with a window expressed in minutes, matching the
+   * semantics of ChronoUnit.MINUTES.between(a, b) < minutes.
+   *
+   * @param left      is the left series.
+   * @param leftTime  extracts the timestamp of a left element.
+   * @param right     is the right series.
+   * @param rightTime extracts the timestamp of a right element.
+   * @param minutes   is the exclusive window in minutes.
+   * @return the join.
+   */
+  public static <L, R> TimeWindowJoin<L, R> withinMinutes(List<L> left,
+      Function<L, LocalDateTime> leftTime, List<R> right,
+      Function<R, LocalDateTime> rightTime, int minutes) {
+    return new TimeWindowJoin<>(left, l -> EpochNanos.of(leftTime.apply(l)), right,
+        r -> EpochNanos.of(rightTime.apply(r)), minutes * EpochNanos.PER_MINUTE);
+  }
+
+  /**
+   * @return the left series sorted by timestamp.
+   */
+  public List<L> getLeft() {
+    return left;
+  }
+
+  /**
+   * @return the right series sorted by timestamp.
+   */
+  public List<R> getRight() {
+    return right;
+  }
+
+  /**
+   * @param leftIndex is an index in the sorted left series.
+   * @return the index of the same element in the left series given to the constructor.
+   */
+  public int leftSourceIndex(int leftIndex) {
+    return leftSourceIndexes[leftIndex];
+  }
+
+  /**
+   * @param rightIndex is an index in the sorted right series.
+   * @return the index of the same element in the right series given to the constructor.
+   */
+  public int rightSourceIndex(int rightIndex) {
+    return rightSourceIndexes[rightIndex];
+  }
+
+  /**
+   * Visits, in time order, every left element that has at least one matching right element,
+   * together with the range of its matches. Runs in O(n + m).
+   *
+   * @param consumer receives each non-empty window.
+   */
+  public void forEachWindow(WindowConsumer consumer) {
+    int from = 0;
+    int to = 0;
+    for (int i = 0; i < leftTimes.length; i++) {
+      long time = leftTimes[i];
+      while (from < rightTimes.length && rightTimes[from] <= time - window) {
+        from++;
+      }
+      if (to < from) {
+        to = from;
+      }
+      while (to < rightTimes.length && rightTimes[to] < time + window) {
+        to++;
+      }
+      if (from < to) {
+        consumer.accept(i, from, to);
+      }
+    }
+  }
+
+  /**
+   * Visits, in time order, every left element that has at least one matching right element,
+   * together with the minimum and maximum right value inside its window. Right values are read
+   * once each and the extremes are kept in monotonic queues, so this runs in O(n + m).
+   *
+   * @param rightValue extracts the value of a right element.
+   * @param consumer   receives each non-empty window.
+   */
+  public void forEachWindowExtremes(ToDoubleFunction<R> rightValue,
+      WindowExtremesConsumer consumer) {
+    double[] values = new double[right.size()];
+    for (int j = 0; j < values.length; j++) {
+      values[j] = rightValue.applyAsDouble(right.get(j));
+    }
+    int[] minQueue = new int[values.length];
+    int[] maxQueue = new int[values.length];
+    int[] minBounds = {0, 0};
+    int[] maxBounds = {0, 0};
+    int[] added = {0};
+
+    forEachWindow((leftIndex, rightFrom, rightTo) -> {
+      for (int j = Math.max(added[0], rightFrom); j < rightTo; j++) {
+        push(minQueue, minBounds, values, j, true);
+        push(maxQueue, maxBounds, values, j, false);
+      }
+      added[0] = Math.max(added[0], rightTo);
+      evict(minQueue, minBounds, rightFrom);
+      evict(maxQueue, maxBounds, rightFrom);
+      consumer.accept(leftIndex, values[minQueue[minBounds[0]]], values[maxQueue[maxBounds[0]]]);
+    });
+  }
+
+  /**
+   * Visits every matching pair, in time order of the left element. Runs in O(n + m + pairs).
+   *
+   * @param consumer receives each matching pair.
+   */
+  public void forEachPair(BiConsumer<L, R> consumer) {
+    forEachWindow((leftIndex, rightFrom, rightTo) -> {
+      L leftElement = left.get(leftIndex);
+      for (int j = rightFrom; j < rightTo; j++) {
+        consumer.accept(leftElement, right.get(j));
+      }
+    });
+  }
+
+  /**
+   * Lazily streams every matching pair, in time order of the left element.
+   *
+   * @return the stream of matching pairs.
+   */
+  public Stream<Pair<L, R>> pairs() {
+    int[][] windows = windowBounds();
+    return IntStream.range(0, leftTimes.length)
+        .filter(i -> windows[0][i] < windows[1][i])
+        .boxed()
+        .flatMap(i -> IntStream.range(windows[0][i], windows[1][i])
+            .mapToObj(j -> new Pair<>(left.get(i), right.get(j))));
+  }
+
+  /**
+   * Computes the [from, to) window bounds of every left element.
+   *
+   * @return two arrays with the from and to bound of every left element.
+   */
+  private int[][] windowBounds() {
+    int[][] bounds = new int[2][leftTimes.length];
+    forEachWindow((leftIndex, rightFrom, rightTo) -> {
+      bounds[0][leftIndex] = rightFrom;
+      bounds[1][leftIndex] = rightTo;
+    });
+    return bounds;
+  }
+
+  /**
+   * Appends an index to a monotonic queue, dropping the entries it dominates.
+   */
+  private static void push(int[] queue, int[] bounds, double[] values, int index,
+      boolean keepMinimum) {
+    while (bounds[1] > bounds[0]) {
+      double last = values[queue[bounds[1] - 1]];
+      boolean dominated = keepMinimum ? last >= values[index] : last <= values[index];
+      if (!dominated) {
+        break;
+      }
+      bounds[1]--;
+    }
+    queue[bounds[1]++] = index;
+  }
+
+  /**
+   * Drops the indexes that left the window from the head of a monotonic queue.
+   */
+  private static void evict(int[] queue, int[] bounds, int from) {
+    while (bounds[0] < bounds[1] && queue[bounds[0]] < from) {
+      bounds[0]++;
+    }
+  }
+
+  /**
+   * Extracts the timestamps of a series.
+   */
+  private static <T> long[] timesOf(List<T> series, ToLongFunction<T> time) {
+    long[] times = new long[series.size()];
+    int i = 0;
+    for (T element : series) {
+      times[i++] = time.applyAsLong(element);
+    }
+    return times;
+  }
+
+  /**
+   * Computes the stable order that sorts the timestamps, skipping the sort when they are already
+   * in order.
+   */
+  private static int[] sortedOrder(long[] times) {
+    int[] order = IntStream.range(0, times.length).toArray();
+    if (isSorted(times)) {
+      return order;
+    }
+    return IntStream.range(0, times.length).boxed()
+        .sorted((a, b) -> Long.compare(times[a], times[b]))
+        .mapToInt(Integer::intValue)
+        .toArray();
+  }
+
+  /**
+   * Reorders the timestamps in place to follow the given order.
+   */
+  private static void sortTimes(long[] times, int[] order) {
+    long[] copy = times.clone();
+    for (int i = 0; i < order.length; i++) {
+      times[i] = copy[order[i]];
+    }
+  }
+
+  /**
+   * Reorders a series to follow the given order.
+   */
+  private static <T> List<T> reorder(List<T> series, int[] order) {
+    List<T> sorted = new ArrayList<>(order.length);
+    for (int index : order) {
+      sorted.add(series.get(index));
+    }
+    return sorted;
+  }
+
+  /**
+   * Checks whether the timestamps are in non-decreasing order.
+   */
+  private static boolean isSorted(long[] times) {
+    for (int i = 1; i < times.length; i++) {
+      if (times[i - 1] > times[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,119 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.visitor_pattern;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import smarthome.domain.sensor.average_power_consumption_sensor.AveragePowerConsumptionSensor;
+import smarthome.domain.sensor.dew_point_sensor.DewPointSensor;
+import smarthome.domain.sensor.electric_consumption_wh_sensor.ElectricConsumptionWhSensor;
+import smarthome.domain.sensor.humidity_sensor.HumiditySensor;
+import smarthome.domain.sensor.instant_power_consumption_sensor.InstantPowerConsumptionSensor;
+import smarthome.domain.sensor.percentage_position_sensor.PercentagePositionSensor;
+import smarthome.domain.sensor.solar_irradiance_sensor.SolarIrradianceSensor;
+import smarthome.domain.sensor.sunrise_time_sensor.SunriseTimeSensor;
+import smarthome.domain.sensor.sunset_time_sensor.SunsetTimeSensor;
+import smarthome.domain.sensor.switch_sensor.SwitchSensor;
+import smarthome.domain.sensor.temperature_sensor.TemperatureSensor;
+import smarthome.domain.sensor.wind_sensor.WindSensor;
+import smarthome.domain.sensor.wind_sensor.WindSensorValue;
+import smarthome.domain.value_object.ReadingValue;
+
+/**
+ * Visitor that reads a sensor and keeps its value as a reading to be logged. Numeric values are
+ * kept as integer or decimal readings; the sunrise and sunset times are kept as text in the format
+ * HH:mm:ss, the state of a switch as "On" or "Off", and the wind as its speed and direction in
+ * radians separated by a semicolon, e.g. "12.0;3.14".
+ * <p>
+ * A visitor reads one sensor: use a new instance for each reading.
+ */
+public class SensorVisitorForReadingImpl implements ISensorVisitorForReading {
+
+  private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+  private ReadingValue readingValue;
+
+  @Override
+  public ReadingValue getReadingValue() {
+    return readingValue;
+  }
+
+  @Override
+  public String visitTemperatureSensor(TemperatureSensor temperatureSensor) {
+    return read(new ReadingValue(temperatureSensor.getValue().getValue()));
+  }
+
+  @Override
+  public String visitHumiditySensor(HumiditySensor humiditySensor) {
+    return read(new ReadingValue(humiditySensor.getValue().getValue()));
+  }
+
+  @Override
+  public String visitSunsetTimeSensor(SunsetTimeSensor sunsetTimeSensor) {
+    return read(time(sunsetTimeSensor.getValue().getValue()));
+  }
+
+  @Override
+  public String visitWindSensor(WindSensor windSensor) {
+    WindSensorValue wind = windSensor.getValue();
+    return read(new ReadingValue(wind.getSpeed() + ";" + wind.getDirection()));
+  }
+
+  @Override
+  public String visitSwitchSensor(SwitchSensor switchSensor) {
+    return read(new ReadingValue(switchSensor.getValue().toString()));
+  }
+
+  @Override
+  public String visitSunriseTimeSensor(SunriseTimeSensor sunriseTimeSensor) {
+    return read(time(sunriseTimeSensor.getValue().getValue()));
+  }
+
+  @Override
+  public String visitSolarIrradianceSensor(SolarIrradianceSensor solarIrradianceSensor) {
+    return read(new ReadingValue(solarIrradianceSensor.getValue().getValue()));
+  }
+
+  @Override
+  public String visitPercentageSensor(PercentagePositionSensor percentagePositionSensor) {
+    return read(new ReadingValue(percentagePositionSensor.getValue().getValue()));
+  }
+
+  @Override
+  public String visitInstantPowerSensor(
+      InstantPowerConsumptionSensor instantPowerConsumptionSensor) {
+    return read(new ReadingValue(instantPowerConsumptionSensor.getValue().getValue()));
+  }
+
+  @Override
+  public String visitDewPointSensor(DewPointSensor dewPointSensor) {
+    return read(new ReadingValue(dewPointSensor.getValue().getValue()));
+  }
+
+  @Override
+  public String visitAveragePowerConsumptionSensor(
+      AveragePowerConsumptionSensor averagePowerConsumptionSensor) {
+    return read(new ReadingValue(averagePowerConsumptionSensor.getValue().getValue()));
+  }
+
+  @Override
+  public String visitElectricConsumptionWhSensor(
+      ElectricConsumptionWhSensor electricConsumptionWhSensor) {
+    return read(new ReadingValue(electricConsumptionWhSensor.getValue().getValue()));
+  }
+
+  private String read(ReadingValue value) {
+    this.readingValue = value;
+    return value.getValue();
+  }
+
+  private static ReadingValue time(LocalTime time) {
+    return new ReadingValue(time.format(TIME_FORMAT));
+  }
+}
@@ -0,0 +1,15 @@
+-- Schema as generated by Hibernate before migrations were introduced. Databases created with
+-- ddl-auto=update are baselined at this version instead of running it.
+
+create table actuator (version bigint not null, actuator_name varchar(255), actuator_typeid varchar(255), actuatorid varchar(255) not null, decimal_lower_bond varchar(255), decimal_upper_bond varchar(255), deviceid varchar(255), integer_lower_bond varchar(255), integer_upper_bond varchar(255), model_path varchar(255), primary key (actuatorid));
+create table actuator_model (version bigint not null, actuator_model_name varchar(255), actuator_typeid varchar(255), model_path varchar(255) not null, primary key (model_path));
+create table actuator_type (version bigint not null, actuator_type_name varchar(255), actuator_typeid varchar(255) not null, unitid varchar(255), primary key (actuator_typeid));
+create table device (device_status boolean not null, version bigint not null, device_name varchar(255), device_typeid varchar(255), deviceid varchar(255) not null, roomid varchar(255), primary key (deviceid));
+create table device_type (version bigint not null, device_type_description varchar(255), device_typeid varchar(255) not null, primary key (device_typeid));
+create table house (latitude double not null, longitude double not null, version bigint not null, country_code varchar(255), door_number varchar(255), houseid varchar(255) not null, postal_code varchar(255), street varchar(255), primary key (houseid));
+create table logs (timestamp datetime(6), version bigint not null, description varchar(255), deviceid varchar(255), logid varchar(255) not null, reading_value varchar(255), sensorid varchar(255), unit varchar(255), primary key (logid));
+create table room (depth integer not null, floor integer not null, height integer not null, width integer not null, version bigint not null, houseid varchar(255), room_name varchar(255), roomid varchar(255) not null, primary key (roomid));
+create table sensor (version bigint not null, deviceid varchar(255), end_date varchar(255), latitude varchar(255), longitude varchar(255), model_path varchar(255), sensor_name varchar(255), sensor_typeid varchar(255), sensorid varchar(255) not null, start_date varchar(255), primary key (sensorid));
+create table sensor_model (version bigint not null, model_path varchar(255) not null, sensor_model_name varchar(255), sensor_typeid varchar(255), primary key (model_path));
+create table sensor_type (version bigint not null, sensor_typeid varchar(255) not null, type_description varchar(255), unitid varchar(255), primary key (sensor_typeid));
+create table unit (version bigint not null, unit_description varchar(255), unit_symbol varchar(255), unitid varchar(255) not null, primary key (unitid));
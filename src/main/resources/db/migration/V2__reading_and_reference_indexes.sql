@@ -0,0 +1,10 @@
+-- Readings of a device by sensor type and period, and of a sensor type without a period.
+create index idx_logs_device_type_time on logs (deviceid, description, timestamp);
+-- Readings of a device by period; logid completes the keyset order used by paged listings.
+create index idx_logs_device_time on logs (deviceid, timestamp, logid);
+
+-- Lookups of the entities that reference a device, room or device type.
+create index idx_sensor_device on sensor (deviceid);
+create index idx_actuator_device on actuator (deviceid);
+create index idx_device_room on device (roomid);
+create index idx_device_type on device (device_typeid);
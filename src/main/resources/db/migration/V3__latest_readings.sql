@@ -0,0 +1,10 @@
+-- Last-value index: the newest log, in (timestamp, logid) order, of each device and sensor type.
+create table latest_readings (timestamp datetime(6), version bigint, deviceid varchar(255), logid varchar(255), reading_key varchar(255) not null, sensor_typeid varchar(255), primary key (reading_key));
+
+-- Fill the index from the readings already stored.
+insert into latest_readings (reading_key, deviceid, sensor_typeid, logid, timestamp, version)
+select concat(l.deviceid, '|', l.description), l.deviceid, l.description, max(l.logid), l.timestamp, 0
+from logs l
+join (select deviceid, description, max(timestamp) as latest from logs group by deviceid, description) m
+  on l.deviceid = m.deviceid and l.description = m.description and l.timestamp = m.latest
+group by l.deviceid, l.description, l.timestamp;
@@ -0,0 +1,2 @@
+-- Oldest readings of every device, read a batch at a time when logs are moved to the archive.
+create index idx_logs_time on logs (timestamp, logid);
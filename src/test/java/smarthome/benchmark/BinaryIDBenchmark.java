@@ -0,0 +1,133 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import smarthome.ddd.IDomainIDGenerator;
+import smarthome.persistence.data_model.BinaryIDJavaType;
+import smarthome.utils.id.RandomUUIDGenerator;
+import smarthome.utils.id.TimeOrderedUUIDGenerator;
+
+/**
+ * Compares the insert throughput and the table and index size of the logs table with random
+ * UUIDs in a VARCHAR key, as before V5, and with time-ordered UUIDs in a VARBINARY key.
+ * <p>
+ * Without arguments it runs on an H2 file database in MariaDB mode, where only the total size is
+ * available. To measure MariaDB, pass a JDBC URL, user and password, e.g.
+ * jdbc:mariadb://localhost:3306/bench bench bench; sizes are then read from
+ * information_schema after ANALYZE TABLE.
+ */
+public class BinaryIDBenchmark {
+
+  private static final int ROWS = 500_000;
+  private static final int BATCH_SIZE = 500;
+  private static final int DEVICES = 50;
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  public static void main(String[] args) throws SQLException, IOException {
+    String url = args.length > 0 ? args[0] : "jdbc:h2:"
+        + Files.createTempDirectory("binary-ids").resolve("bench") + ";MODE=MariaDB";
+    String user = args.length > 1 ? args[1] : "sa";
+    String password = args.length > 2 ? args[2] : "";
+
+    try (Connection connection = DriverManager.getConnection(url, user, password)) {
+      boolean mariaDB = connection.getMetaData().getDatabaseProductName().toLowerCase()
+          .contains("maria");
+      System.out.printf("%s, %,d rows%n", connection.getMetaData().getDatabaseProductName(), ROWS);
+      System.out.printf("%-24s %12s %14s %14s%n", "key", "rows/s", "data bytes", "index bytes");
+      run(connection, mariaDB, "bench_varchar_v4", "varchar(255)", new RandomUUIDGenerator(),
+          false);
+      run(connection, mariaDB, "bench_binary_v7", "varbinary(255)",
+          new TimeOrderedUUIDGenerator(), true);
+    }
+  }
+
+  private static void run(Connection connection, boolean mariaDB, String table, String keyType,
+      IDomainIDGenerator generator, boolean binary) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("drop table if exists " + table);
+      statement.execute("create table " + table + " (decimal_value double,"
+          + " integer_value bigint, timestamp datetime(6), version bigint,"
+          + " description varchar(255), deviceid varchar(255), logid " + keyType + " not null,"
+          + " reading_kind varchar(255), reading_value varchar(255), sensorid varchar(255),"
+          + " unit varchar(255), primary key (logid))");
+      statement.execute("create index " + table + "_device_type_time on " + table
+          + " (deviceid, description, timestamp)");
+      statement.execute("create index " + table + "_device_time on " + table
+          + " (deviceid, timestamp, logid)");
+      statement.execute("create index " + table + "_time on " + table + " (timestamp, logid)");
+    }
+
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    long start = System.nanoTime();
+    try (PreparedStatement insert = connection.prepareStatement("insert into " + table
+        + " (logid, deviceid, sensorid, timestamp, description, unit, reading_kind,"
+        + " decimal_value, reading_value, version) values (?, ?, ?, ?, 'Temperature', 'C',"
+        + " 'DECIMAL', ?, ?, 0)")) {
+      for (int i = 0; i < ROWS; i++) {
+        String id = generator.nextID();
+        if (binary) {
+          insert.setBytes(1, BinaryIDJavaType.encode(id));
+        } else {
+          insert.setString(1, id);
+        }
+        String device = "device-" + (i % DEVICES);
+        insert.setString(2, device);
+        insert.setString(3, device + "-temperature");
+        insert.setTimestamp(4, Timestamp.valueOf(START.plusMinutes(i / DEVICES)));
+        insert.setDouble(5, 20 + i % 100 / 10.0);
+        insert.setString(6, String.valueOf(20 + i % 100 / 10.0));
+        insert.addBatch();
+        if ((i + 1) % BATCH_SIZE == 0) {
+          insert.executeBatch();
+          connection.commit();
+        }
+      }
+      insert.executeBatch();
+      connection.commit();
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    connection.setAutoCommit(autoCommit);
+
+    long dataBytes;
+    long indexBytes;
+    try (Statement statement = connection.createStatement()) {
+      if (mariaDB) {
+        statement.execute("analyze table " + table);
+        try (ResultSet size = statement.executeQuery("select data_length, index_length"
+            + " from information_schema.tables where table_schema = database()"
+            + " and table_name = '" + table + "'")) {
+          size.next();
+          dataBytes = size.getLong(1);
+          indexBytes = size.getLong(2);
+        }
+      } else {
+        statement.execute("checkpoint");
+        try (ResultSet size = statement.executeQuery(
+            "select disk_space_used('" + table.toUpperCase() + "')")) {
+          size.next();
+          dataBytes = size.getLong(1);
+          indexBytes = -1;
+        }
+      }
+    }
+    System.out.printf("%-24s %,12.0f %,14d %14s%n", table, ROWS / seconds, dataBytes,
+        indexBytes < 0 ? "(in data)" : String.format("%,d", indexBytes));
+  }
+}
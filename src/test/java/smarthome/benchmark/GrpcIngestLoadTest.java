@@ -0,0 +1,193 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import smarthome.DemoApplication;
+import smarthome.controller.grpc.GrpcServer;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.repository.IDeviceRepository;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.repository.ILogRollupRepository;
+import smarthome.domain.repository.ISensorRepository;
+import smarthome.domain.repository.ISensorTypeRepository;
+import smarthome.domain.repository.IUnitRepository;
+import smarthome.grpc.Ack;
+import smarthome.grpc.LogIngestGrpc;
+import smarthome.grpc.Reading;
+import smarthome.service.LogServiceImpl;
+
+/**
+ * Load test of the gRPC ingest: several gateways stream readings as fast as flow control lets
+ * them, and the readings saved per second are measured after a warm-up.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=smarthome.benchmark.GrpcIngestLoadTest
+ * <p>
+ * Without arguments it starts a GrpcServer on a free port, saving to the Logs table of the
+ * configured database (H2 in memory by default) with the device, sensor, sensor type and unit
+ * lookups stubbed, as in LogBatchIngestBenchmark. With -Dexec.args="host port" it loads a server
+ * that is already running; its readings reference the devices load-test-0, load-test-1, ...,
+ * which are rejected by validation unless they exist.
+ */
+public class GrpcIngestLoadTest {
+
+  private static final int GATEWAYS = Integer.getInteger("gateways", 8);
+  private static final Duration WARM_UP = Duration.ofSeconds(5);
+  private static final Duration MEASURED = Duration.ofSeconds(Integer.getInteger("seconds", 15));
+  private static final long START_MILLIS = 1_704_067_200_000L;
+
+  public static void main(String[] args) throws InterruptedException {
+    if (args.length >= 2) {
+      run(args[0], Integer.parseInt(args[1]));
+      return;
+    }
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties("spring.jpa.show-sql=false")
+        .run()) {
+      IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+      ISensorRepository sensorRepository = mock(ISensorRepository.class);
+      ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+      IUnitRepository unitRepository = mock(IUnitRepository.class);
+      when(deviceRepository.containsOfIdentity(any())).thenReturn(true);
+      when(sensorRepository.containsOfIdentity(any())).thenReturn(true);
+      when(sensorTypeRepository.containsOfIdentity(any())).thenReturn(true);
+      when(unitRepository.containsOfIdentity(any())).thenReturn(true);
+      LogServiceImpl logService = new LogServiceImpl(context.getBean(ILogRepository.class),
+          deviceRepository, sensorRepository, sensorTypeRepository, unitRepository,
+          new LogFactoryImpl(), context.getBean(ILogRollupRepository.class));
+
+      GrpcServer server = new GrpcServer(logService, 0, 500, Duration.ofMillis(100), 2000, 4);
+      server.start();
+      try {
+        run("localhost", server.getPort());
+      } finally {
+        server.stop();
+      }
+    }
+  }
+
+  private static void run(String host, int port) throws InterruptedException {
+    ManagedChannel channel = NettyChannelBuilder.forAddress(host, port).usePlaintext().build();
+    LongAdder saved = new LongAdder();
+    LongAdder rejected = new LongAdder();
+    List<Gateway> gateways = new ArrayList<>();
+    for (int i = 0; i < GATEWAYS; i++) {
+      Gateway gateway = new Gateway("load-test-" + i, saved, rejected);
+      LogIngestGrpc.newStub(channel).streamReadings(gateway);
+      gateways.add(gateway);
+    }
+
+    Thread.sleep(WARM_UP.toMillis());
+    long savedBefore = saved.sum();
+    long rejectedBefore = rejected.sum();
+    long start = System.nanoTime();
+    Thread.sleep(MEASURED.toMillis());
+    double seconds = (System.nanoTime() - start) / 1e9;
+    long savedDuring = saved.sum() - savedBefore;
+    long rejectedDuring = rejected.sum() - rejectedBefore;
+
+    for (Gateway gateway : gateways) {
+      gateway.stop();
+    }
+    for (Gateway gateway : gateways) {
+      gateway.await();
+    }
+    channel.shutdown().awaitTermination(10, TimeUnit.SECONDS);
+
+    System.out.printf("%d gateways, %.0f s measured after %d s of warm-up%n", GATEWAYS, seconds,
+        WARM_UP.toSeconds());
+    System.out.printf("%-20s %,14.0f%n", "saved readings/s", savedDuring / seconds);
+    System.out.printf("%-20s %,14.0f%n", "rejected/s", rejectedDuring / seconds);
+  }
+
+  /**
+   * One gateway: sends readings of its device whenever the stream is ready.
+   */
+  private static final class Gateway implements ClientResponseObserver<Reading, Ack> {
+
+    private final String deviceID;
+    private final LongAdder saved;
+    private final LongAdder rejected;
+    private final CountDownLatch done = new CountDownLatch(1);
+    private ClientCallStreamObserver<Reading> requests;
+    private long sequence;
+    private boolean stopped;
+
+    private Gateway(String deviceID, LongAdder saved, LongAdder rejected) {
+      this.deviceID = deviceID;
+      this.saved = saved;
+      this.rejected = rejected;
+    }
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<Reading> requestStream) {
+      this.requests = requestStream;
+      requestStream.setOnReadyHandler(this::send);
+    }
+
+    private synchronized void send() {
+      while (!stopped && requests.isReady()) {
+        sequence++;
+        requests.onNext(Reading.newBuilder()
+            .setSequence(sequence)
+            .setDeviceId(deviceID)
+            .setSensorId(deviceID + "-sensor")
+            .setSensorTypeId("Temperature")
+            .setUnitId("Celsius")
+            .setTimestampMillis(START_MILLIS + sequence * 1000)
+            .setDecimalValue(15 + (sequence % 100) / 10.0)
+            .build());
+      }
+    }
+
+    private synchronized void stop() {
+      stopped = true;
+      requests.onCompleted();
+    }
+
+    private void await() throws InterruptedException {
+      done.await(30, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void onNext(Ack ack) {
+      saved.add(ack.getSaved());
+      rejected.add(ack.getErrorsCount());
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      System.err.println(deviceID + ": " + t.getMessage());
+      done.countDown();
+    }
+
+    @Override
+    public void onCompleted() {
+      done.countDown();
+    }
+  }
+}
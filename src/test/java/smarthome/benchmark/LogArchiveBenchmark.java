@@ -0,0 +1,154 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntSupplier;
+import java.util.stream.Stream;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.persistence.archive.LogArchive;
+import smarthome.persistence.columnar.LogColumnarRepository;
+
+/**
+ * Measures the size and the scan speed of the log archive for one month of 1-minute temperature
+ * readings on each of 25 devices, and compares them with the LogColumnarRepository.
+ * <p>
+ * Two datasets are archived: decimal readings in tenths of a degree that follow a daily cycle
+ * with noise, one in five of them a few hundred milliseconds off the minute, and integer readings
+ * taken exactly on the minute. Sizes are compared with the 32 bytes of a timestamp, a value and a
+ * UUID stored uncompressed. Both datasets are run twice and only the second round is printed, so
+ * that the first one warms up the JIT.
+ */
+public class LogArchiveBenchmark {
+
+  private static final int DEVICES = 25;
+  private static final int READINGS_PER_DEVICE = 31 * 24 * 60;
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+  private static final SensorTypeID TEMPERATURE = new SensorTypeID("Temperature");
+
+  public static void main(String[] args) throws IOException {
+    ILogFactory logFactory = new LogFactoryImpl();
+    for (int round = 0; round < 2; round++) {
+      boolean print = round == 1;
+      run("decimal, jittered", true, logFactory, print);
+      run("integer, on the minute", false, logFactory, print);
+    }
+  }
+
+  private static void run(String name, boolean decimal, ILogFactory logFactory, boolean print)
+      throws IOException {
+    Random random = new Random(42);
+    List<Log> logs = new ArrayList<>(DEVICES * READINGS_PER_DEVICE);
+    for (int device = 0; device < DEVICES; device++) {
+      DeviceID deviceID = new DeviceID("device-" + device);
+      SensorID sensorID = new SensorID("sensor-" + device);
+      double base = 17 + random.nextInt(6);
+      for (int i = 0; i < READINGS_PER_DEVICE; i++) {
+        double daily = 3 * Math.sin(2 * Math.PI * i / (24 * 60));
+        LocalDateTime time = START.plusMinutes(i);
+        ReadingValue value;
+        if (decimal) {
+          value = new ReadingValue(
+              Math.round((base + daily + random.nextGaussian() * 0.2) * 10) / 10.0);
+          if (random.nextInt(5) == 0) {
+            time = time.plusNanos(random.nextInt(500) * 1_000_000L);
+          }
+        } else {
+          value = new ReadingValue(Math.round(base + daily));
+        }
+        logs.add(logFactory.createLog(deviceID, sensorID, time, value, TEMPERATURE,
+            new UnitID("Celsius")));
+      }
+    }
+    long readings = logs.size();
+
+    Path directory = Files.createTempDirectory("log-archive-benchmark");
+    try {
+      LogArchive archive = new LogArchive(directory, logFactory);
+      long start = System.nanoTime();
+      for (int from = 0; from < logs.size(); from += 10_000) {
+        archive.seal(logs.subList(from, Math.min(logs.size(), from + 10_000)));
+      }
+      double sealSeconds = (System.nanoTime() - start) / 1e9;
+      long bytes = archive.fileBytes();
+      double encodedBytes = (double) (bytes - 16 * readings) / readings;
+
+      LogColumnarRepository columnar = new LogColumnarRepository(logFactory);
+      columnar.saveAll(logs);
+      logs.clear();
+
+      long[] visited = {0};
+      for (int i = 0; i < 3; i++) {
+        visited[0] = 0;
+        for (int device = 0; device < DEVICES; device++) {
+          archive.stream(new DeviceID("device-" + device),
+              new DatePeriod(START, START.plusDays(31)), log -> visited[0]++);
+        }
+      }
+      start = System.nanoTime();
+      for (int device = 0; device < DEVICES; device++) {
+        archive.stream(new DeviceID("device-" + device),
+            new DatePeriod(START, START.plusDays(31)), log -> visited[0]++);
+      }
+      double scanSeconds = (System.nanoTime() - start) / 1e9;
+
+      DatePeriod day = new DatePeriod(START.plusDays(15), START.plusDays(16));
+      DeviceID deviceID = new DeviceID("device-" + DEVICES / 2);
+      double archiveDay = dayScanMillis(() -> archive.find(deviceID, TEMPERATURE, day).size());
+      double columnarDay = dayScanMillis(() ->
+          columnar.findByDeviceIDAndSensorTypeAndDatePeriodBetween(deviceID, TEMPERATURE, day)
+              .size());
+
+      if (!print) {
+        return;
+      }
+      System.out.printf("%-24s %8d readings, sealed in %.2f s%n", name, readings, sealSeconds);
+      System.out.printf("  segments    %6.2f bytes/reading (%.2f without the 16-byte UUID),"
+              + " %.1fx smaller than 32 bytes, %.1fx for timestamp and value%n",
+          (double) bytes / readings, encodedBytes, 32.0 * readings / bytes, 16 / encodedBytes);
+      System.out.printf("  columnar    %6.2f bytes/reading in memory%n",
+          (double) columnar.columnBytes() / readings);
+      System.out.printf("  full scan   %6.1f M readings/s%n", readings / scanSeconds / 1e6);
+      System.out.printf("  one-day scan: archive %.2f ms, columnar %.2f ms%n", archiveDay,
+          columnarDay);
+    } finally {
+      try (Stream<Path> files = Files.walk(directory)) {
+        for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+          Files.delete(path);
+        }
+      }
+    }
+  }
+
+  private static double dayScanMillis(IntSupplier scan) {
+    for (int i = 0; i < 20; i++) {
+      scan.getAsInt();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < 20; i++) {
+      scan.getAsInt();
+    }
+    return (System.nanoTime() - start) / 20 / 1e6;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */
+package smarthome.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import smarthome.DemoApplication;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.repository.IDeviceRepository;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.repository.ILogRollupRepository;
+import smarthome.domain.repository.ISensorRepository;
+import smarthome.domain.repository.ISensorTypeRepository;
+import smarthome.domain.repository.IUnitRepository;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.service.LogBatchEntry;
+import smarthome.service.LogServiceImpl;
+
+/**
+ * Compares the throughput of LogServiceImpl.addLog, one reading per call, with addLogs, one batch
+ * per call, against the Logs table of the configured database (H2 in memory by default).
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=smarthome.benchmark.LogBatchIngestBenchmark
+ * <p>
+ * To run against MariaDB, pass the datasource as arguments, e.g.
+ * -Dexec.args="--spring.datasource.url=jdbc:mariadb://localhost:3306/smarthome
+ * --spring.datasource.username=... --spring.datasource.password=..."
+ * <p>
+ * Device, sensor, sensor type and unit lookups are stubbed, so the single-reading path is measured
+ * without the four existence queries it issues per reading in production.
+ */
+public class LogBatchIngestBenchmark {
+
+  private static final int READINGS = 20_000;
+  private static final int BATCH_SIZE = 1_000;
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  public static void main(String[] args) {
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties("spring.jpa.show-sql=false")
+        .run(args)) {
+      IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+      ISensorRepository sensorRepository = mock(ISensorRepository.class);
+      ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+      IUnitRepository unitRepository = mock(IUnitRepository.class);
+      when(deviceRepository.containsOfIdentity(any())).thenReturn(true);
+      when(sensorRepository.containsOfIdentity(any())).thenReturn(true);
+      when(sensorTypeRepository.containsOfIdentity(any())).thenReturn(true);
+      when(unitRepository.containsOfIdentity(any())).thenReturn(true);
+      LogServiceImpl logService = new LogServiceImpl(context.getBean(ILogRepository.class),
+          deviceRepository, sensorRepository, sensorTypeRepository, unitRepository,
+          new LogFactoryImpl(), context.getBean(ILogRollupRepository.class));
+
+      List<LogBatchEntry> warmUp = entries("warm-up", BATCH_SIZE);
+      warmUp.forEach(e -> logService.addLog(e.deviceID(), e.sensorID(), e.timestamp(),
+          e.readingValue(), e.sensorTypeID(), e.unitID()));
+      logService.addLogs(warmUp);
+
+      List<LogBatchEntry> single = entries("single", READINGS);
+      long start = System.nanoTime();
+      for (LogBatchEntry e : single) {
+        logService.addLog(e.deviceID(), e.sensorID(), e.timestamp(), e.readingValue(),
+            e.sensorTypeID(), e.unitID());
+      }
+      double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+      List<LogBatchEntry> batched = entries("batch", READINGS);
+      start = System.nanoTime();
+      for (int i = 0; i < batched.size(); i += BATCH_SIZE) {
+        logService.addLogs(batched.subList(i, Math.min(i + BATCH_SIZE, batched.size())));
+      }
+      double batchSeconds = (System.nanoTime() - start) / 1e9;
+
+      System.out.printf("%-28s %12s %16s%n", "path", "time (s)", "readings/s");
+      System.out.printf("%-28s %12.2f %16.0f%n", "addLog", singleSeconds,
+          READINGS / singleSeconds);
+      System.out.printf("%-28s %12.2f %16.0f%n", "addLogs (" + BATCH_SIZE + " per batch)",
+          batchSeconds, READINGS / batchSeconds);
+    }
+  }
+
+  private static List<LogBatchEntry> entries(String device, int size) {
+    List<LogBatchEntry> entries = new ArrayList<>(size);
+    DeviceID deviceID = new DeviceID(device);
+    SensorID sensorID = new SensorID(device + "-sensor");
+    SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+    UnitID unitID = new UnitID("Celsius");
+    for (int i = 0; i < size; i++) {
+      entries.add(new LogBatchEntry(deviceID, sensorID, START.plusSeconds(i),
+          new ReadingValue(15 + (i % 100) / 10.0), sensorTypeID, unitID));
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */
+
+package smarthome.benchmark;
+
+import java.time.LocalDateTime;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.persistence.columnar.LogColumnarRepository;
+import smarthome.persistence.mem.LogRepository;
+
+/**
+ * Compares the retained heap per reading and the time of a one-day range scan between the
+ * object-based persistence.mem LogRepository and the LogColumnarRepository, for one month of
+ * 1-minute temperature readings on each of 25 devices.
+ * <p>
+ * Run with a fixed heap, e.g. java -Xms4g -Xmx4g, from the test classpath.
+ */
+public class LogColumnarRepositoryBenchmark {
+
+  private static final int DEVICES = 25;
+  private static final int READINGS_PER_DEVICE = 31 * 24 * 60;
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  public static void main(String[] args) {
+    ILogFactory logFactory = new LogFactoryImpl();
+    run("persistence.mem LogRepository", new LogRepository(), logFactory);
+    run("LogColumnarRepository", new LogColumnarRepository(logFactory), logFactory);
+  }
+
+  private static void run(String name, ILogRepository repository, ILogFactory logFactory) {
+    long before = usedHeap();
+    for (int device = 0; device < DEVICES; device++) {
+      DeviceID deviceID = new DeviceID("device-" + device);
+      SensorID sensorID = new SensorID("sensor-" + device);
+      SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+      UnitID unitID = new UnitID("Celsius");
+      for (int i = 0; i < READINGS_PER_DEVICE; i++) {
+        ReadingValue value = new ReadingValue(String.valueOf(15 + (i * 7919 + device) % 15));
+        repository.save(logFactory.createLog(deviceID, sensorID, START.plusMinutes(i), value,
+            sensorTypeID, unitID));
+      }
+    }
+    long retained = usedHeap() - before;
+    long readings = (long) DEVICES * READINGS_PER_DEVICE;
+
+    DatePeriod day = new DatePeriod(START.plusDays(15), START.plusDays(16));
+    DeviceID deviceID = new DeviceID("device-" + DEVICES / 2);
+    SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+    int found = 0;
+    for (int i = 0; i < 20; i++) {
+      found = repository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(deviceID, sensorTypeID,
+          day).size();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < 20; i++) {
+      repository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(deviceID, sensorTypeID, day);
+    }
+    double scanMillis = (System.nanoTime() - start) / 20 / 1e6;
+
+    System.out.printf("%-32s %9d readings %7.1f bytes/reading, one-day scan (%d rows) %8.2f ms%n",
+        name, readings, (double) retained / readings, found, scanMillis);
+    if (repository.findAll().isEmpty()) {
+      throw new IllegalStateException("Repository must stay reachable while measuring");
+    }
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,106 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import smarthome.DemoApplication;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.repository.IDeviceRepository;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.repository.ILogRollupRepository;
+import smarthome.domain.repository.ISensorRepository;
+import smarthome.domain.repository.ISensorTypeRepository;
+import smarthome.domain.repository.IUnitRepository;
+import smarthome.service.LogImportProgress;
+import smarthome.service.LogImportServiceImpl;
+import smarthome.service.LogImportState;
+import smarthome.service.LogServiceImpl;
+import smarthome.utils.CvsLoader;
+
+/**
+ * Measures the CSV log import: a generated file is imported with one partition and then with
+ * several, into the Logs table of the configured database (H2 in memory by default), printing
+ * rows per second and the heap in use at the end, which should not grow with the file.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=smarthome.benchmark.LogCsvImportBenchmark -Drows=1000000
+ * <p>
+ * Device, sensor, sensor type and unit lookups are stubbed, as in LogBatchIngestBenchmark.
+ */
+public class LogCsvImportBenchmark {
+
+  private static final int ROWS = Integer.getInteger("rows", 200_000);
+  private static final int DEVICES = 500;
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    Path file = Files.createTempFile("logs", ".csv");
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write("deviceID,sensorID,sensorTypeID,unitID,reading,timestamp\n");
+      for (int i = 0; i < ROWS; i++) {
+        int device = i % DEVICES;
+        writer.write("device-" + device + ",sensor-" + device + ",Temperature,Celsius,"
+            + (15 + (i % 100) / 10.0) + "," + START.plusSeconds(i / DEVICES) + "\n");
+      }
+    }
+
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties("spring.jpa.show-sql=false")
+        .run(args)) {
+      IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+      ISensorRepository sensorRepository = mock(ISensorRepository.class);
+      ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+      IUnitRepository unitRepository = mock(IUnitRepository.class);
+      when(deviceRepository.containsOfIdentity(any())).thenReturn(true);
+      when(sensorRepository.containsOfIdentity(any())).thenReturn(true);
+      when(sensorTypeRepository.containsOfIdentity(any())).thenReturn(true);
+      when(unitRepository.containsOfIdentity(any())).thenReturn(true);
+      LogServiceImpl logService = new LogServiceImpl(context.getBean(ILogRepository.class),
+          deviceRepository, sensorRepository, sensorTypeRepository, unitRepository,
+          new LogFactoryImpl(), context.getBean(ILogRollupRepository.class));
+
+      System.out.printf("%,d rows, %,d MB%n", ROWS, Files.size(file) >> 20);
+      System.out.printf("%-12s %14s %12s %12s%n", "partitions", "rows/s", "rejected", "heap MB");
+      for (int partitions : new int[]{1, Runtime.getRuntime().availableProcessors()}) {
+        LogImportServiceImpl importer = new LogImportServiceImpl(logService, new CvsLoader(),
+            file.getParent().toString(), partitions, 1_000, 4, 10);
+        try {
+          LogImportProgress progress = importer.startImport(file.toString());
+          while (progress.state() == LogImportState.RUNNING) {
+            Thread.sleep(100);
+            progress = importer.getProgress(progress.importID());
+          }
+          MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+          System.out.printf("%-12d %,14.0f %,12d %,12d%n", partitions,
+              progress.rowsRead() * 1000.0 / Math.max(1, progress.elapsedMillis()),
+              progress.rejected(), memory.getHeapMemoryUsage().getUsed() >> 20);
+        } finally {
+          importer.shutdown();
+        }
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import smarthome.DemoApplication;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+
+/**
+ * Compares the cost of reading one page of logs near the start and deep into a device's history,
+ * with a keyset cursor and by loading the period and slicing it, over the configured database (H2
+ * in memory by default).
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=smarthome.benchmark.LogPaginationBenchmark
+ */
+public class LogPaginationBenchmark {
+
+  private static final int READINGS = 200_000;
+  private static final int BATCH_SIZE = 5_000;
+  private static final int PAGE_SIZE = 100;
+  private static final int ROUNDS = 20;
+  private static final String DEVICE = "page-device";
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  public static void main(String[] args) {
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties("spring.jpa.show-sql=false")
+        .run(args)) {
+      ILogRepository logRepository = context.getBean(ILogRepository.class);
+      List<Log> logs = insertReadings(logRepository);
+      DeviceID deviceID = new DeviceID(DEVICE);
+      DatePeriod period = new DatePeriod(START, START.plusSeconds(READINGS));
+
+      System.out.printf("%-12s %22s %22s%n", "offset", "keyset page (ms)", "load and slice (ms)");
+      for (int offset : new int[]{0, READINGS / 2, READINGS - PAGE_SIZE}) {
+        LogCursor cursor = offset == 0 ? null : LogCursor.of(logs.get(offset - 1));
+        double keyset = best(() -> logRepository.findPageByDeviceIDAndDatePeriodBetween(deviceID,
+            period, cursor, PAGE_SIZE));
+        double sliced = best(() -> {
+          List<Log> all = logRepository.findByDeviceIDAndDatePeriodBetween(deviceID, period);
+          return all.subList(offset, Math.min(offset + PAGE_SIZE, all.size()));
+        });
+        System.out.printf("%-12d %22.2f %22.2f%n", offset, keyset, sliced);
+      }
+    }
+  }
+
+  private static List<Log> insertReadings(ILogRepository logRepository) {
+    ILogFactory logFactory = new LogFactoryImpl();
+    DeviceID deviceID = new DeviceID(DEVICE);
+    SensorID sensorID = new SensorID(DEVICE + "-sensor");
+    SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+    UnitID unitID = new UnitID("Celsius");
+    List<Log> logs = new ArrayList<>(READINGS);
+    for (int i = 0; i < READINGS; i += BATCH_SIZE) {
+      List<Log> batch = new ArrayList<>(BATCH_SIZE);
+      for (int j = i; j < Math.min(i + BATCH_SIZE, READINGS); j++) {
+        batch.add(logFactory.createLog(deviceID, sensorID, START.plusSeconds(j),
+            new ReadingValue(15 + (j % 100) / 10.0), sensorTypeID, unitID));
+      }
+      logRepository.saveAll(batch);
+      logs.addAll(batch);
+    }
+    return logs;
+  }
+
+  private static double best(PageQuery query) {
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      if (query.run().isEmpty()) {
+        throw new IllegalStateException("Empty page");
+      }
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    return best / 1e6;
+  }
+
+  private interface PageQuery {
+
+    List<Log> run();
+  }
+}
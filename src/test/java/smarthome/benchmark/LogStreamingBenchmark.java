@@ -0,0 +1,117 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import smarthome.DemoApplication;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+
+/**
+ * Compares time to first byte and total time of GET /logs answered as a JSON array with the same
+ * request answered as newline-delimited JSON, over the configured database (H2 in memory by
+ * default).
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=smarthome.benchmark.LogStreamingBenchmark
+ */
+public class LogStreamingBenchmark {
+
+  private static final int READINGS = 200_000;
+  private static final int BATCH_SIZE = 5_000;
+  private static final int ROUNDS = 5;
+  private static final String DEVICE = "stream-device";
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  public static void main(String[] args) throws Exception {
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+        .properties("spring.jpa.show-sql=false", "server.port=0")
+        .run(args)) {
+      insertReadings(context.getBean(ILogRepository.class));
+
+      int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      URI uri = URI.create("http://localhost:" + port + "/logs?deviceID=" + DEVICE
+          + "&timeStart=" + START + "&timeEnd=" + START.plusSeconds(READINGS));
+      HttpClient client = HttpClient.newHttpClient();
+
+      measure(client, uri, "application/json");
+      measure(client, uri, "application/x-ndjson");
+
+      System.out.printf("%-24s %14s %14s %14s%n", "Accept", "first byte (ms)", "total (ms)",
+          "bytes");
+      for (String accept : List.of("application/json", "application/x-ndjson")) {
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, 0};
+        for (int round = 0; round < ROUNDS; round++) {
+          long[] result = measure(client, uri, accept);
+          best[0] = Math.min(best[0], result[0]);
+          best[1] = Math.min(best[1], result[1]);
+          best[2] = result[2];
+        }
+        System.out.printf("%-24s %14.1f %14.1f %14d%n", accept, best[0] / 1e6, best[1] / 1e6,
+            best[2]);
+      }
+    }
+  }
+
+  private static void insertReadings(ILogRepository logRepository) {
+    ILogFactory logFactory = new LogFactoryImpl();
+    DeviceID deviceID = new DeviceID(DEVICE);
+    SensorID sensorID = new SensorID(DEVICE + "-sensor");
+    SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+    UnitID unitID = new UnitID("Celsius");
+    for (int i = 0; i < READINGS; i += BATCH_SIZE) {
+      List<Log> logs = new ArrayList<>(BATCH_SIZE);
+      for (int j = i; j < Math.min(i + BATCH_SIZE, READINGS); j++) {
+        logs.add(logFactory.createLog(deviceID, sensorID, START.plusSeconds(j),
+            new ReadingValue(15 + (j % 100) / 10.0), sensorTypeID, unitID));
+      }
+      logRepository.saveAll(logs);
+    }
+  }
+
+  /**
+   * Returns the nanoseconds to the first byte of the body, the nanoseconds to its last byte and
+   * the body size.
+   */
+  private static long[] measure(HttpClient client, URI uri, String accept)
+      throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(uri).header("Accept", accept).build();
+    byte[] buffer = new byte[64 * 1024];
+    long start = System.nanoTime();
+    HttpResponse<InputStream> response =
+        client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    try (InputStream body = response.body()) {
+      int read = body.read(buffer);
+      long firstByte = System.nanoTime() - start;
+      long bytes = Math.max(read, 0);
+      while ((read = body.read(buffer)) != -1) {
+        bytes += read;
+      }
+      return new long[]{firstByte, System.nanoTime() - start, bytes};
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import smarthome.DemoApplication;
+import smarthome.domain.device.Device;
+import smarthome.domain.device.DeviceFactoryImpl;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.DeviceName;
+import smarthome.domain.value_object.DeviceStatus;
+import smarthome.domain.value_object.DeviceTypeID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.RoomID;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.TimeDelta;
+import smarthome.domain.value_object.UnitID;
+import smarthome.service.ILogService;
+
+/**
+ * Compares the house peak power computed from one query and a sweep line with the previous path,
+ * one query per device followed by a join of the meter and source readings, for 200 power meters
+ * and 10 power sources reporting every minute, over the configured database (H2 in memory by
+ * default).
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=smarthome.benchmark.PeakPowerBenchmark
+ */
+public class PeakPowerBenchmark {
+
+  private static final int METERS = 200;
+  private static final int SOURCES = 10;
+  private static final int MINUTES = 360;
+  private static final int ROUNDS = 10;
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+  private static final SensorTypeID POWER = new SensorTypeID("InstantPowerConsumption");
+
+  public static void main(String[] args) {
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties("spring.jpa.show-sql=false")
+        .run(args)) {
+      ILogRepository logRepository = context.getBean(ILogRepository.class);
+      ILogService logService = context.getBean(ILogService.class);
+      List<Device> meters = devices("meter", "PowerMeter", METERS);
+      List<Device> sources = devices("source", "PowerSource", SOURCES);
+      insertReadings(logRepository, meters, sources);
+      DatePeriod period = new DatePeriod(START, START.plusMinutes(MINUTES));
+      TimeDelta timeDelta = new TimeDelta(15);
+      List<Device> all = new ArrayList<>(meters);
+      all.addAll(sources);
+
+      double[] previous = new double[1];
+      double perDevice = best(() -> {
+        List<Log> meterReadings = logService.getReadingsInTimePeriodByListOfDevicesAndSensorType(
+            meters, period, POWER);
+        List<Log> sourceReadings = logService.getReadingsInTimePeriodByListOfDevicesAndSensorType(
+            sources, period, POWER);
+        previous[0] = logService.getPeakPowerConsumption(meterReadings, sourceReadings,
+            timeDelta);
+      });
+      double[] peak = new double[1];
+      double sweep = best(() -> peak[0] = logService.getHousePeakPowerConsumption(all, POWER,
+          period, timeDelta).orElseThrow().getValue());
+
+      System.out.printf("%-28s %12s %14s%n", "", "time (ms)", "peak (W)");
+      System.out.printf("%-28s %12.1f %14.1f%n", "per-device queries + join", perDevice,
+          previous[0]);
+      System.out.printf("%-28s %12.1f %14.1f%n", "one query + sweep line", sweep, peak[0]);
+    }
+  }
+
+  private static List<Device> devices(String prefix, String deviceType, int count) {
+    DeviceFactoryImpl deviceFactory = new DeviceFactoryImpl();
+    List<Device> devices = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      devices.add(deviceFactory.createDevice(new DeviceID(prefix + "-" + i), new RoomID("room"),
+          new DeviceName(deviceType), new DeviceStatus(true), new DeviceTypeID(deviceType)));
+    }
+    return devices;
+  }
+
+  private static void insertReadings(ILogRepository logRepository, List<Device> meters,
+      List<Device> sources) {
+    ILogFactory logFactory = new LogFactoryImpl();
+    UnitID watt = new UnitID("Watt");
+    List<Device> all = new ArrayList<>(meters);
+    all.addAll(sources);
+    for (Device device : all) {
+      List<Log> batch = new ArrayList<>(MINUTES);
+      int seed = device.getID().getID().hashCode();
+      for (int minute = 0; minute < MINUTES; minute++) {
+        double watts = meters.contains(device)
+            ? 50 + Math.floorMod(seed + minute * 7, 400)
+            : -Math.floorMod(seed + minute * 3, 300);
+        batch.add(logFactory.createLog(device.getID(), new SensorID(device.getID().getID()),
+            START.plusMinutes(minute).plusSeconds(Math.floorMod(seed, 60)),
+            new ReadingValue(watts), POWER, watt));
+      }
+      logRepository.saveAll(batch);
+    }
+  }
+
+  private static double best(Runnable computation) {
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      computation.run();
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    return best / 1e6;
+  }
+}
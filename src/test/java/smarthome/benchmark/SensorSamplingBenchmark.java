@@ -0,0 +1,105 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import smarthome.domain.repository.ISensorRepository;
+import smarthome.domain.repository.ISensorTypeRepository;
+import smarthome.domain.sensor.ISensor;
+import smarthome.domain.sensor.temperature_sensor.TemperatureSensor;
+import smarthome.domain.sensor_type.SensorType;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ModelPath;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorName;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.service.ILogIngestService;
+import smarthome.service.LogBatchEntry;
+import smarthome.service.LogIngestMetrics;
+import smarthome.service.SensorSamplingMetrics;
+import smarthome.service.SensorSamplingServiceImpl;
+
+/**
+ * Measures the sensor sampling: 50,000 sensors read at 1 Hz, printing every second the readings
+ * per second and the scheduling lag. The target is a sustained 50,000 readings per second with a
+ * maximum lag of a few milliseconds.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=smarthome.benchmark.SensorSamplingBenchmark -Dsensors=50000 -Dseconds=30
+ * <p>
+ * Readings are counted instead of queued, so only the scheduling and the reads are measured; the
+ * write-behind ingest is measured by GrpcIngestLoadTest and LogBatchIngestBenchmark.
+ */
+public class SensorSamplingBenchmark {
+
+  private static final int SENSORS = Integer.getInteger("sensors", 50_000);
+  private static final int SECONDS = Integer.getInteger("seconds", 30);
+  private static final int THREADS = Integer.getInteger("threads", 4);
+
+  public static void main(String[] args) throws InterruptedException {
+    ModelPath modelPath =
+        new ModelPath("smarthome.domain.sensor.temperature_sensor.TemperatureSensor");
+    SensorTypeID temperature = new SensorTypeID("Temperature");
+    List<ISensor> sensors = new ArrayList<>(SENSORS);
+    for (int i = 0; i < SENSORS; i++) {
+      sensors.add(new TemperatureSensor(new DeviceID("device-" + i / 4), modelPath, temperature,
+          new SensorName("Thermometer"), new SensorID("sensor-" + i)));
+    }
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    when(sensorRepository.findAll()).thenReturn(sensors);
+    SensorType sensorType = mock(SensorType.class);
+    when(sensorType.getUnitID()).thenReturn(new UnitID("Celsius"));
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    when(sensorTypeRepository.ofIdentity(any())).thenReturn(Optional.of(sensorType));
+
+    LongAdder queued = new LongAdder();
+    ILogIngestService ingest = new ILogIngestService() {
+      @Override
+      public int submit(List<LogBatchEntry> entries) {
+        queued.add(entries.size());
+        return entries.size();
+      }
+
+      @Override
+      public LogIngestMetrics getMetrics() {
+        return new LogIngestMetrics(0, 0, queued.sum(), 0, 0, 0, 0, 0, 0);
+      }
+    };
+
+    SensorSamplingServiceImpl sampling = new SensorSamplingServiceImpl(sensorRepository,
+        sensorTypeRepository, ingest, Duration.ofSeconds(1), "", Duration.ofMillis(50), THREADS,
+        Duration.ofHours(1));
+    System.out.printf("%,d sensors at 1 Hz on %d threads%n", SENSORS, THREADS);
+    System.out.printf("%-8s %14s %14s %14s %10s%n", "second", "readings/s", "mean lag ms",
+        "max lag ms", "skipped");
+    sampling.start();
+    try {
+      long previous = 0;
+      for (int second = 1; second <= SECONDS; second++) {
+        Thread.sleep(1000);
+        SensorSamplingMetrics metrics = sampling.getMetrics();
+        System.out.printf("%-8d %,14d %14.3f %14.3f %,10d%n", second, metrics.samples() - previous,
+            metrics.meanLagMillis(), metrics.maxLagMillis(), metrics.skipped());
+        previous = metrics.samples();
+      }
+      System.out.printf("peak lag %.3f ms%n", sampling.getMetrics().peakLagMillis());
+    } finally {
+      sampling.stop();
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorID;
+import smarthome.utils.simulation.ISignalSource;
+import smarthome.utils.simulation.ModelSignalSource;
+import smarthome.utils.simulation.RandomSignalSource;
+import smarthome.utils.simulation.SignalKind;
+
+/**
+ * Measures simulated sensor reads per second with 1 thread up to one per core, for the shared
+ * SecureRandom the sensors used to read, the random mode and the seeded model mode. The two modes
+ * should scale with the threads; the shared SecureRandom does not.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=smarthome.benchmark.SignalSourceBenchmark -Dreads=2000000
+ */
+public class SignalSourceBenchmark {
+
+  private static final int READS = Integer.getInteger("reads", 1_000_000);
+  private static final int SENSORS = 10_000;
+
+  public static void main(String[] args) throws Exception {
+    SecureRandom shared = new SecureRandom();
+    ISignalSource secureRandom = (sensorID, deviceID, kind) ->
+        kind.lower() + (kind.upper() - kind.lower()) * shared.nextDouble();
+    ISignalSource random = new RandomSignalSource();
+    ISignalSource model = new ModelSignalSource(42, LocalDateTime.of(2024, 1, 1, 0, 0),
+        Duration.ofSeconds(1));
+
+    SensorID[] sensorIDs = new SensorID[SENSORS];
+    DeviceID[] deviceIDs = new DeviceID[SENSORS];
+    for (int i = 0; i < SENSORS; i++) {
+      sensorIDs[i] = new SensorID("sensor-" + i);
+      deviceIDs[i] = new DeviceID("device-" + i / 4);
+    }
+
+    System.out.printf("%-10s %16s %16s %16s%n", "threads", "SecureRandom/s", "random/s",
+        "model/s");
+    int cores = Runtime.getRuntime().availableProcessors();
+    for (int threads = 1; threads <= cores; threads *= 2) {
+      System.out.printf("%-10d %,16.0f %,16.0f %,16.0f%n", threads,
+          readsPerSecond(secureRandom, threads, sensorIDs, deviceIDs),
+          readsPerSecond(random, threads, sensorIDs, deviceIDs),
+          readsPerSecond(model, threads, sensorIDs, deviceIDs));
+    }
+  }
+
+  /**
+   * Each thread reads its own slice of the sensors, as the sampling threads do.
+   */
+  private static double readsPerSecond(ISignalSource source, int threads, SensorID[] sensorIDs,
+      DeviceID[] deviceIDs) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      long start = System.nanoTime();
+      List<Future<Double>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int offset = t;
+        futures.add(executor.submit(() -> {
+          double sum = 0;
+          for (int i = 0; i < READS; i++) {
+            int sensor = (offset + i * threads) % SENSORS;
+            sum += source.next(sensorIDs[sensor], deviceIDs[sensor], SignalKind.TEMPERATURE);
+          }
+          return sum;
+        }));
+      }
+      for (Future<Double> future : futures) {
+        future.get();
+      }
+      return (double) READS * threads * 1_000_000_000L / (System.nanoTime() - start);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */
+
+package smarthome.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.TimeDelta;
+import smarthome.domain.value_object.UnitID;
+import smarthome.persistence.mem.LogRepository;
+import smarthome.persistence.mem.LogRollupRepository;
+import smarthome.service.LogServiceImpl;
+
+/**
+ * Compares the time-window join behind
+ * LogServiceImpl.getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta with the nested loop it
+ * replaced, for two series of 1-minute readings and a 5-minute delta.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=smarthome.benchmark.TimeWindowJoinBenchmark
+ * <p>
+ * The nested loop is only measured up to NESTED_LOOP_LIMIT readings; above that its time is
+ * extrapolated quadratically from the largest measured size.
+ */
+public class TimeWindowJoinBenchmark {
+
+  private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+  private static final int NESTED_LOOP_LIMIT = 10_000;
+  private static final int TIME_DELTA_MINUTES = 5;
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  public static void main(String[] args) throws Exception {
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(new LogRepository(), null, null, null, null,
+        logFactory, new LogRollupRepository());
+    TimeDelta timeDelta = new TimeDelta(TIME_DELTA_MINUTES);
+    double nestedLoopMillisPerPair = Double.NaN;
+
+    System.out.printf("%10s %14s %18s %10s%n", "readings", "join (ms)", "nested loop (ms)",
+        "speedup");
+    for (int size : SIZES) {
+      List<Log> inside = readings(logFactory, "inside", size, 0);
+      List<Log> outside = readings(logFactory, "outside", size, 30);
+
+      logService.getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(inside, outside, timeDelta);
+      long start = System.nanoTime();
+      logService.getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(inside, outside, timeDelta);
+      double joinMillis = (System.nanoTime() - start) / 1e6;
+
+      double nestedLoopMillis;
+      String estimated = "";
+      if (size <= NESTED_LOOP_LIMIT) {
+        start = System.nanoTime();
+        nestedLoop(inside, outside, TIME_DELTA_MINUTES);
+        nestedLoopMillis = (System.nanoTime() - start) / 1e6;
+        nestedLoopMillisPerPair = nestedLoopMillis / ((double) size * size);
+      } else {
+        nestedLoopMillis = nestedLoopMillisPerPair * size * size;
+        estimated = " (est.)";
+      }
+      System.out.printf("%10d %14.1f %18.1f%s %10.0fx%n", size, joinMillis, nestedLoopMillis,
+          estimated, nestedLoopMillis / joinMillis);
+    }
+  }
+
+  /**
+   * The pairing loop that the time-window join replaced.
+   */
+  private static int nestedLoop(List<Log> readings1, List<Log> readings2, int timeDelta) {
+    int max = Integer.MIN_VALUE;
+    for (Log reading1 : readings1) {
+      for (Log reading2 : readings2) {
+        long diffInMinutes = ChronoUnit.MINUTES.between(reading1.getTimeStamp(),
+            reading2.getTimeStamp());
+        if (Math.abs(diffInMinutes) < timeDelta) {
+          max = Math.max(max, Math.abs(Integer.parseInt(reading1.getReadingValue().getValue())
+              - Integer.parseInt(reading2.getReadingValue().getValue())));
+        }
+      }
+    }
+    return max;
+  }
+
+  private static List<Log> readings(ILogFactory logFactory, String device, int size,
+      int offsetSeconds) {
+    List<Log> logs = new ArrayList<>(size);
+    DeviceID deviceID = new DeviceID(device);
+    SensorID sensorID = new SensorID(device + "-sensor");
+    SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+    UnitID unitID = new UnitID("Celsius");
+    for (int i = 0; i < size; i++) {
+      LocalDateTime timestamp = START.plusMinutes(i).plusSeconds(offsetSeconds);
+      ReadingValue value = new ReadingValue(String.valueOf(15 + (i * 7919) % 20));
+      logs.add(logFactory.createLog(deviceID, sensorID, timestamp, value, sensorTypeID, unitID));
+    }
+    return logs;
+  }
+}
@@ -0,0 +1,32 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark.dataset;
+
+/**
+ * Destination of the readings generated by one thread. A sink is only used by the thread it was
+ * created for, and is closed once the thread has generated its last reading.
+ */
+public interface ISyntheticLogSink extends AutoCloseable {
+
+  /**
+   * Method to add a reading. The readings of a sensor are added in time order.
+   *
+   * @param log is the reading.
+   * @throws Exception when the reading cannot be written.
+   */
+  void add(SyntheticLog log) throws Exception;
+
+  /**
+   * Method to write the readings still buffered.
+   *
+   * @throws Exception when the readings cannot be written.
+   */
+  @Override
+  void close() throws Exception;
+}
@@ -0,0 +1,216 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark.dataset;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import smarthome.domain.value_object.ReadingKind;
+import smarthome.persistence.data_model.BinaryIDJavaType;
+import smarthome.persistence.data_model.LatestReadingDataModel;
+
+/**
+ * Writes readings straight to the Logs table on a connection of its own, bypassing the entity
+ * manager: ROWS_PER_INSERT readings per insert statement, statements sent in JDBC batches and
+ * committed every batch. On close, the latest reading of each
+ * device and sensor type it wrote replaces the one in the LatestReadings table, so the table
+ * agrees with the logs without the scan of the V3 migration.
+ * <p>
+ * Maintaining the secondary indexes of the Logs table row by row costs more than the inserts
+ * themselves, so a bulk load drops them with dropLogIndexes first and builds them once at the end
+ * with createLogIndexes.
+ * <p>
+ * On MariaDB, batches are sent as bulk statements by the MariaDB driver; with the MySQL driver
+ * add rewriteBatchedStatements=true to the datasource URL.
+ */
+public class JdbcLogSink implements ISyntheticLogSink {
+
+  private static final int ROWS_PER_INSERT = 100;
+  private static final int COLUMNS = 9;
+  private static final String INSERT_LOGS = "insert into logs (logid, deviceid, sensorid, "
+      + "timestamp, reading_kind, integer_value, decimal_value, description, unit, reading_value, "
+      + "version) values ";
+  private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, null, 0)";
+  private static final String DELETE_LATEST = "delete from latest_readings where reading_key = ?";
+  private static final String INSERT_LATEST = "insert into latest_readings (reading_key, deviceid, "
+      + "sensor_typeid, logid, timestamp, version) values (?, ?, ?, ?, ?, 0)";
+
+  /**
+   * The secondary indexes of the Logs table created by the migrations, with their columns.
+   */
+  private static final Map<String, String> LOG_INDEXES = Map.of(
+      "idx_logs_device_type_time", "deviceid, description, timestamp",
+      "idx_logs_device_time", "deviceid, timestamp, logid",
+      "idx_logs_time", "timestamp, logid");
+
+  private final Connection connection;
+  private final PreparedStatement insert;
+  private final int batchSize;
+  private final SyntheticLog[] rows = new SyntheticLog[ROWS_PER_INSERT];
+  private final Map<String, SyntheticLog> latest = new LinkedHashMap<>();
+  private int buffered;
+  private int pending;
+
+  /**
+   * JdbcLogSink constructor.
+   *
+   * @param dataSource is the database of the Logs table.
+   * @param batchSize  is the number of readings committed at once, rounded up to a whole number of
+   *                   insert statements.
+   * @throws SQLException when no connection can be opened.
+   */
+  public JdbcLogSink(DataSource dataSource, int batchSize) throws SQLException {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive.");
+    }
+    this.batchSize = batchSize;
+    this.connection = dataSource.getConnection();
+    try {
+      connection.setAutoCommit(false);
+      this.insert = connection.prepareStatement(insertStatement(ROWS_PER_INSERT));
+    } catch (SQLException e) {
+      connection.close();
+      throw e;
+    }
+  }
+
+  private static String insertStatement(int rowCount) {
+    StringBuilder sql = new StringBuilder(INSERT_LOGS.length() + rowCount * (ROW.length() + 2));
+    sql.append(INSERT_LOGS).append(ROW);
+    for (int i = 1; i < rowCount; i++) {
+      sql.append(", ").append(ROW);
+    }
+    return sql.toString();
+  }
+
+  @Override
+  public void add(SyntheticLog log) throws SQLException {
+    rows[buffered++] = log;
+    latest.merge(LatestReadingDataModel.readingKey(log.deviceID(), log.sensorTypeID()), log,
+        (current, candidate) -> candidate.timestamp().isAfter(current.timestamp())
+            ? candidate : current);
+    if (buffered == ROWS_PER_INSERT) {
+      bind(insert, buffered);
+      insert.addBatch();
+      pending += buffered;
+      buffered = 0;
+      if (pending >= batchSize) {
+        insert.executeBatch();
+        connection.commit();
+        pending = 0;
+      }
+    }
+  }
+
+  private void bind(PreparedStatement statement, int rowCount) throws SQLException {
+    for (int row = 0; row < rowCount; row++) {
+      SyntheticLog log = rows[row];
+      int column = row * COLUMNS;
+      statement.setBytes(column + 1, BinaryIDJavaType.encode(log.logID()));
+      statement.setString(column + 2, log.deviceID());
+      statement.setString(column + 3, log.sensorID());
+      statement.setObject(column + 4, log.timestamp());
+      if (log.integral()) {
+        statement.setString(column + 5, ReadingKind.INTEGER.name());
+        statement.setLong(column + 6, (long) log.value());
+        statement.setNull(column + 7, Types.DOUBLE);
+      } else {
+        statement.setString(column + 5, ReadingKind.DECIMAL.name());
+        statement.setNull(column + 6, Types.BIGINT);
+        statement.setDouble(column + 7, log.value());
+      }
+      statement.setString(column + 8, log.sensorTypeID());
+      statement.setString(column + 9, log.unitID());
+    }
+  }
+
+  /**
+   * Method to insert the readings not yet sent and commit.
+   */
+  private void flush() throws SQLException {
+    if (pending > 0) {
+      insert.executeBatch();
+      pending = 0;
+    }
+    if (buffered > 0) {
+      try (PreparedStatement last = connection.prepareStatement(insertStatement(buffered))) {
+        bind(last, buffered);
+        last.executeUpdate();
+      }
+      buffered = 0;
+    }
+    connection.commit();
+  }
+
+  @Override
+  public void close() throws SQLException {
+    try {
+      flush();
+      writeLatest();
+    } finally {
+      insert.close();
+      connection.close();
+    }
+  }
+
+  /**
+   * Method to drop the secondary indexes of the Logs table before a bulk load.
+   *
+   * @param dataSource is the database of the Logs table.
+   * @throws SQLException when an index cannot be dropped.
+   */
+  public static void dropLogIndexes(DataSource dataSource) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      for (String index : LOG_INDEXES.keySet()) {
+        statement.execute("drop index " + index + " on logs");
+      }
+    }
+  }
+
+  /**
+   * Method to build the secondary indexes of the Logs table after a bulk load.
+   *
+   * @param dataSource is the database of the Logs table.
+   * @throws SQLException when an index cannot be created.
+   */
+  public static void createLogIndexes(DataSource dataSource) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      for (Map.Entry<String, String> index : LOG_INDEXES.entrySet()) {
+        statement.execute("create index " + index.getKey() + " on logs (" + index.getValue() + ")");
+      }
+    }
+  }
+
+  private void writeLatest() throws SQLException {
+    try (PreparedStatement delete = connection.prepareStatement(DELETE_LATEST);
+        PreparedStatement insertLatest = connection.prepareStatement(INSERT_LATEST)) {
+      for (Map.Entry<String, SyntheticLog> entry : latest.entrySet()) {
+        SyntheticLog log = entry.getValue();
+        delete.setString(1, entry.getKey());
+        delete.addBatch();
+        insertLatest.setString(1, entry.getKey());
+        insertLatest.setString(2, log.deviceID());
+        insertLatest.setString(3, log.sensorTypeID());
+        insertLatest.setBytes(4, BinaryIDJavaType.encode(log.logID()));
+        insertLatest.setObject(5, log.timestamp());
+        insertLatest.addBatch();
+      }
+      delete.executeBatch();
+      insertLatest.executeBatch();
+      connection.commit();
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark.dataset;
+
+import java.util.ArrayList;
+import java.util.List;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.utils.Validator;
+
+/**
+ * Saves readings to a log repository, such as the in-memory LogRepository or the
+ * LogColumnarRepository, with saveAll. The logs are built by the thread of the sink; the batches
+ * are saved under the lock of the repository, as the in-memory repositories are not thread-safe.
+ */
+public class RepositoryLogSink implements ISyntheticLogSink {
+
+  private final ILogRepository logRepository;
+  private final ILogFactory logFactory;
+  private final int batchSize;
+  private List<Log> batch;
+
+  /**
+   * RepositoryLogSink constructor.
+   *
+   * @param logRepository is the repository, shared by the sinks of all the threads.
+   * @param logFactory    creates the logs.
+   * @param batchSize     is the number of logs saved at once.
+   */
+  public RepositoryLogSink(ILogRepository logRepository, ILogFactory logFactory, int batchSize) {
+    Validator.validateNotNull(logRepository, "Log repository");
+    Validator.validateNotNull(logFactory, "Log factory");
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive.");
+    }
+    this.logRepository = logRepository;
+    this.logFactory = logFactory;
+    this.batchSize = batchSize;
+    this.batch = new ArrayList<>(batchSize);
+  }
+
+  @Override
+  public void add(SyntheticLog log) {
+    ReadingValue reading = log.integral()
+        ? new ReadingValue((long) log.value())
+        : new ReadingValue(log.value());
+    batch.add(logFactory.createLog(new LogID(log.logID()), new DeviceID(log.deviceID()),
+        new SensorID(log.sensorID()), log.timestamp(), reading,
+        new SensorTypeID(log.sensorTypeID()), new UnitID(log.unitID())));
+    if (batch.size() == batchSize) {
+      flush();
+    }
+  }
+
+  private void flush() {
+    synchronized (logRepository) {
+      logRepository.saveAll(batch);
+    }
+    batch = new ArrayList<>(batchSize);
+  }
+
+  @Override
+  public void close() {
+    if (!batch.isEmpty()) {
+      flush();
+    }
+  }
+}
@@ -0,0 +1,29 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark.dataset;
+
+import java.time.LocalDateTime;
+
+/**
+ * One generated reading, with the columns of the Logs table.
+ *
+ * @param logID        is a version 7 UUID made from the timestamp, the sensor and the reading
+ *                     number, so it is the same in every run and never repeats.
+ * @param deviceID     is the device of the sensor.
+ * @param sensorID     is the sensor.
+ * @param timestamp    is the time of the reading.
+ * @param sensorTypeID is the sensor type, stored as the description of the log.
+ * @param unitID       is the unit of the sensor type.
+ * @param value        is the reading.
+ * @param integral     tells whether the reading is a whole number.
+ */
+public record SyntheticLog(String logID, String deviceID, String sensorID, LocalDateTime timestamp,
+                           String sensorTypeID, String unitID, double value, boolean integral) {
+
+}
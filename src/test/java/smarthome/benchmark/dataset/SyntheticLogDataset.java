@@ -0,0 +1,239 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark.dataset;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import smarthome.domain.device.Device;
+import smarthome.domain.device.DeviceFactoryImpl;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.DeviceName;
+import smarthome.domain.value_object.DeviceStatus;
+import smarthome.domain.value_object.DeviceTypeID;
+import smarthome.domain.value_object.RoomID;
+import smarthome.domain.value_object.SensorID;
+import smarthome.utils.Validator;
+import smarthome.utils.simulation.ModelSignalSource;
+import smarthome.utils.simulation.SignalKind;
+
+/**
+ * Seeded dataset of readings for benchmarks: a number of devices, each with one sensor of every
+ * configured kind, reporting every step from a start time, with the values of a
+ * ModelSignalSource.
+ * <p>
+ * The readings of a sensor only depend on the seed, the start, the step and the sensor, so the
+ * dataset is the same whatever the number of threads generating it. Sensors are handed out to the
+ * threads one at a time, and each thread writes the readings of its sensors, in time order, to its
+ * own sink.
+ */
+public class SyntheticLogDataset {
+
+  private static final long VERSION = 0x7000L;
+  private static final long VARIANT = 0x8000000000000000L;
+  private static final int MAX_SENSORS = 1 << 30;
+  private static final Map<SignalKind, String[]> TYPES = new EnumMap<>(SignalKind.class);
+
+  static {
+    TYPES.put(SignalKind.TEMPERATURE, new String[]{"Temperature", "Celsius"});
+    TYPES.put(SignalKind.HUMIDITY, new String[]{"Humidity", "Percent"});
+    TYPES.put(SignalKind.DEW_POINT, new String[]{"DewPoint", "Celsius"});
+    TYPES.put(SignalKind.INSTANT_POWER, new String[]{"InstantPowerConsumption", "Watt"});
+    TYPES.put(SignalKind.WIND_SPEED, new String[]{"Wind", "KilometerPerHour"});
+    TYPES.put(SignalKind.SWITCH, new String[]{"Switch", "Status"});
+    TYPES.put(SignalKind.BLIND_POSITION, new String[]{"PercentagePosition", "Percent"});
+  }
+
+  private final long seed;
+  private final int devices;
+  private final List<SignalKind> kinds;
+  private final int readingsPerSensor;
+  private final LocalDateTime start;
+  private final Duration step;
+
+  /**
+   * SyntheticLogDataset constructor.
+   *
+   * @param seed              is the seed of the values.
+   * @param devices           is the number of devices.
+   * @param kinds             are the kinds of the sensors of every device, without repetition.
+   * @param readingsPerSensor is the number of readings of each sensor.
+   * @param start             is the time of the first reading of every sensor.
+   * @param step              is the time between two readings of a sensor.
+   */
+  public SyntheticLogDataset(long seed, int devices, List<SignalKind> kinds,
+      int readingsPerSensor, LocalDateTime start, Duration step) {
+    Validator.validateNotNull(kinds, "Kinds");
+    Validator.validateNotNull(start, "Start");
+    Validator.validateNotNull(step, "Step");
+    if (devices <= 0 || readingsPerSensor <= 0 || kinds.isEmpty()) {
+      throw new IllegalArgumentException("Devices, kinds and readings must be positive.");
+    }
+    if ((long) devices * kinds.size() > MAX_SENSORS) {
+      throw new IllegalArgumentException("At most " + MAX_SENSORS + " sensors are supported.");
+    }
+    if (kinds.stream().distinct().count() != kinds.size()) {
+      throw new IllegalArgumentException("Kinds must not repeat.");
+    }
+    for (SignalKind kind : kinds) {
+      if (!TYPES.containsKey(kind)) {
+        throw new IllegalArgumentException("Sensors of kind " + kind + " are not supported.");
+      }
+    }
+    if (step.isNegative() || step.isZero()) {
+      throw new IllegalArgumentException("Step must be positive.");
+    }
+    this.seed = seed;
+    this.devices = devices;
+    this.kinds = List.copyOf(kinds);
+    this.readingsPerSensor = readingsPerSensor;
+    this.start = start;
+    this.step = step;
+  }
+
+  /**
+   * @return the number of readings of the dataset.
+   */
+  public long size() {
+    return (long) sensors() * readingsPerSensor;
+  }
+
+  /**
+   * @return the number of sensors of the dataset.
+   */
+  public int sensors() {
+    return devices * kinds.size();
+  }
+
+  /**
+   * @return the time after the last reading of every sensor.
+   */
+  public LocalDateTime end() {
+    return start.plus(step.multipliedBy(readingsPerSensor));
+  }
+
+  /**
+   * Method to get the devices of the dataset, for the analytics that take a list of devices. A
+   * device with a power sensor is a PowerMeter, any other a Thermometer.
+   *
+   * @return the devices, in the order of their number.
+   */
+  public List<Device> devices() {
+    DeviceFactoryImpl deviceFactory = new DeviceFactoryImpl();
+    DeviceTypeID deviceType = new DeviceTypeID(
+        kinds.contains(SignalKind.INSTANT_POWER) ? "PowerMeter" : "Thermometer");
+    List<Device> list = new ArrayList<>(devices);
+    for (int device = 0; device < devices; device++) {
+      list.add(deviceFactory.createDevice(new DeviceID(deviceID(device)), new RoomID("dataset"),
+          new DeviceName("Dataset Device " + device), new DeviceStatus(true), deviceType));
+    }
+    return list;
+  }
+
+  /**
+   * Method to generate the dataset.
+   *
+   * @param threads   is the number of threads generating readings.
+   * @param sinks     creates the sink of each thread from its number.
+   * @param generated counts the readings added to the sinks, for progress reports.
+   * @throws Exception the first error of a sink.
+   */
+  public void generate(int threads, IntFunction<ISyntheticLogSink> sinks, LongAdder generated)
+      throws Exception {
+    Validator.validateNotNull(sinks, "Sinks");
+    Validator.validateNotNull(generated, "Generated");
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Threads must be positive.");
+    }
+    ModelSignalSource source = new ModelSignalSource(seed, start, step);
+    AtomicInteger nextSensor = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Void>> futures = new ArrayList<>(threads);
+      for (int i = 0; i < threads; i++) {
+        ISyntheticLogSink sink = sinks.apply(i);
+        futures.add(executor.submit(() -> {
+          try (sink) {
+            int sensor;
+            while ((sensor = nextSensor.getAndIncrement()) < sensors()) {
+              generateSensor(source, sensor, sink);
+              generated.add(readingsPerSensor);
+            }
+          } catch (Exception e) {
+            // The other threads stop after their current sensor.
+            nextSensor.set(sensors());
+            throw e;
+          }
+          return null;
+        }));
+      }
+      for (Future<Void> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void generateSensor(ModelSignalSource source, int sensor, ISyntheticLogSink sink)
+      throws Exception {
+    int device = sensor / kinds.size();
+    SignalKind kind = kinds.get(sensor % kinds.size());
+    String deviceID = deviceID(device);
+    String sensorID = deviceID + "-" + TYPES.get(kind)[0];
+    String sensorTypeID = TYPES.get(kind)[0];
+    String unitID = TYPES.get(kind)[1];
+    SensorID sensorIDObj = new SensorID(sensorID);
+    DeviceID deviceIDObj = new DeviceID(deviceID);
+    for (int reading = 0; reading < readingsPerSensor; reading++) {
+      LocalDateTime timestamp = start.plus(step.multipliedBy(reading));
+      double value = source.next(sensorIDObj, deviceIDObj, kind);
+      sink.add(new SyntheticLog(logID(sensor, reading, timestamp), deviceID, sensorID, timestamp,
+          sensorTypeID, unitID, value, kind.isIntegral()));
+    }
+  }
+
+  /**
+   * Method to get the ID of a device.
+   *
+   * @param device is the number of the device.
+   * @return the ID.
+   */
+  public static String deviceID(int device) {
+    return "dataset-device-" + device;
+  }
+
+  /**
+   * Method to make the ID of a reading: a version 7 UUID with the time of the reading in its
+   * timestamp and the sensor and reading number in its random bits, so IDs sort by time like the
+   * ones of TimeOrderedUUIDGenerator and are unique without any shared state.
+   */
+  private String logID(int sensor, int reading, LocalDateTime timestamp) {
+    long millis = timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    long mostSignificant = (millis << 16) | VERSION | (seed & 0xFFF);
+    long leastSignificant = VARIANT | ((long) sensor << 32) | (reading & 0xFFFFFFFFL);
+    return new UUID(mostSignificant, leastSignificant).toString();
+  }
+}
@@ -0,0 +1,144 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark.dataset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.persistence.mem.LogRepository;
+import smarthome.utils.simulation.SignalKind;
+
+class SyntheticLogDatasetTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+  private static final List<SignalKind> KINDS =
+      List.of(SignalKind.TEMPERATURE, SignalKind.HUMIDITY, SignalKind.INSTANT_POWER);
+
+  private static Map<String, SyntheticLog> generate(long seed, int threads) throws Exception {
+    SyntheticLogDataset dataset = new SyntheticLogDataset(seed, 20, KINDS, 50, START,
+        Duration.ofMinutes(1));
+    Map<String, SyntheticLog> logs = new ConcurrentHashMap<>();
+    dataset.generate(threads, i -> new ISyntheticLogSink() {
+      @Override
+      public void add(SyntheticLog log) {
+        logs.put(log.logID(), log);
+      }
+
+      @Override
+      public void close() {
+      }
+    }, new LongAdder());
+    return logs;
+  }
+
+  /**
+   * Test that the dataset is the same whatever the number of threads generating it.
+   */
+  @Test
+  void shouldGenerateSameReadings_WhenThreadsDiffer() throws Exception {
+    // Act
+    Map<String, SyntheticLog> single = generate(42, 1);
+    Map<String, SyntheticLog> parallel = generate(42, 4);
+
+    // Assert
+    assertEquals(20 * 3 * 50, single.size());
+    assertEquals(single, parallel);
+  }
+
+  /**
+   * Test that another seed gives other values.
+   */
+  @Test
+  void shouldGenerateOtherValues_WhenSeedDiffers() throws Exception {
+    // Act
+    Map<String, SyntheticLog> first = generate(42, 2);
+    Map<String, SyntheticLog> second = generate(43, 2);
+
+    // Assert
+    assertTrue(first.values().stream().mapToDouble(SyntheticLog::value).sum()
+        != second.values().stream().mapToDouble(SyntheticLog::value).sum());
+  }
+
+  /**
+   * Test that the readings of a sensor are a step apart and their IDs sort by time.
+   */
+  @Test
+  void shouldSpaceReadingsByStep_AndSortIDsByTime() throws Exception {
+    // Arrange
+    List<SyntheticLog> sensor = generate(42, 2).values().stream()
+        .filter(log -> log.sensorID().equals("dataset-device-3-Temperature"))
+        .sorted((a, b) -> a.logID().compareTo(b.logID()))
+        .toList();
+
+    // Assert
+    assertEquals(50, sensor.size());
+    for (int i = 0; i < sensor.size(); i++) {
+      assertEquals(START.plusMinutes(i), sensor.get(i).timestamp());
+      assertEquals("dataset-device-3", sensor.get(i).deviceID());
+      assertEquals("Celsius", sensor.get(i).unitID());
+    }
+  }
+
+  /**
+   * Test that the readings can be saved to the in-memory log repository.
+   */
+  @Test
+  void shouldSaveReadings_WhenSinkIsRepository() throws Exception {
+    // Arrange
+    SyntheticLogDataset dataset = new SyntheticLogDataset(7, 5, KINDS, 30, START,
+        Duration.ofMinutes(5));
+    LogRepository logRepository = new LogRepository();
+    LongAdder generated = new LongAdder();
+
+    // Act
+    dataset.generate(3, i -> new RepositoryLogSink(logRepository, new LogFactoryImpl(), 16),
+        generated);
+
+    // Assert
+    assertEquals(450, logRepository.findAll().size());
+    assertEquals(450, generated.sum());
+    assertEquals(5, dataset.devices().size());
+    assertEquals(START.plusMinutes(150), dataset.end());
+  }
+
+  /**
+   * Test that repeated kinds are rejected.
+   */
+  @Test
+  void shouldThrowException_WhenKindsRepeat() {
+    // Arrange
+    List<SignalKind> kinds = List.of(SignalKind.TEMPERATURE, SignalKind.TEMPERATURE);
+
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> new SyntheticLogDataset(1, 1, kinds, 1, START, Duration.ofMinutes(1)));
+  }
+
+  /**
+   * Test that kinds without a sensor type are rejected.
+   */
+  @Test
+  void shouldThrowException_WhenKindIsNotSupported() {
+    // Arrange
+    List<SignalKind> kinds = List.of(SignalKind.WIND_DIRECTION);
+
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> new SyntheticLogDataset(1, 1, kinds, 1, START, Duration.ofMinutes(1)));
+  }
+}
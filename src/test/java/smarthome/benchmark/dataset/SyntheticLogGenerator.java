@@ -0,0 +1,121 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark.dataset;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import javax.sql.DataSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import smarthome.DemoApplication;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.persistence.mem.LogRepository;
+import smarthome.utils.simulation.SignalKind;
+
+/**
+ * Fills the Logs table of the configured database (H2 in memory by default) with a
+ * SyntheticLogDataset, through JdbcLogSink, or generates it into the in-memory LogRepository.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=smarthome.benchmark.dataset.SyntheticLogGenerator
+ * <p>
+ * To load MariaDB, pass the datasource as arguments, e.g.
+ * -Dexec.args="--spring.datasource.url=jdbc:mariadb://localhost:3306/smarthome
+ * --spring.datasource.username=... --spring.datasource.password=..."
+ * <p>
+ * Options: -Dseed (42), -Ddevices (10000), -Dkinds (TEMPERATURE,HUMIDITY,INSTANT_POWER),
+ * -Dreadings per sensor (3334, 100M readings with the other defaults), -Dstart
+ * (2024-01-01T00:00), -Dstep (PT1M), -Dthreads (available processors), -DbatchSize (5000) and
+ * -Dtarget (jdbc or memory). With -DdeferIndexes (true), the secondary indexes of the Logs table
+ * are dropped during the load and built once at the end.
+ */
+public class SyntheticLogGenerator {
+
+  public static void main(String[] args) throws Exception {
+    int threads = Integer.getInteger("threads", Runtime.getRuntime().availableProcessors());
+    int batchSize = Integer.getInteger("batchSize", 5000);
+    List<SignalKind> kinds = Arrays.stream(
+            System.getProperty("kinds", "TEMPERATURE,HUMIDITY,INSTANT_POWER").split(","))
+        .map(String::trim)
+        .map(SignalKind::valueOf)
+        .toList();
+    SyntheticLogDataset dataset = new SyntheticLogDataset(
+        Long.getLong("seed", 42),
+        Integer.getInteger("devices", 10_000),
+        kinds,
+        Integer.getInteger("readings", 3334),
+        LocalDateTime.parse(System.getProperty("start", "2024-01-01T00:00")),
+        Duration.parse(System.getProperty("step", "PT1M")));
+    System.out.printf("%,d sensors of %s, %,d readings until %s on %d threads%n",
+        dataset.sensors(), kinds, dataset.size(), dataset.end(), threads);
+
+    if ("memory".equals(System.getProperty("target", "jdbc"))) {
+      LogRepository logRepository = new LogRepository();
+      generate(dataset, threads, i -> new RepositoryLogSink(logRepository, new LogFactoryImpl(),
+          batchSize));
+      return;
+    }
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties("spring.jpa.show-sql=false",
+            "spring.datasource.hikari.maximum-pool-size=" + (threads + 2))
+        .run(args)) {
+      DataSource dataSource = context.getBean(DataSource.class);
+      boolean deferIndexes = Boolean.parseBoolean(System.getProperty("deferIndexes", "true"));
+      if (deferIndexes) {
+        JdbcLogSink.dropLogIndexes(dataSource);
+      }
+      try {
+        generate(dataset, threads, i -> {
+          try {
+            return new JdbcLogSink(dataSource, batchSize);
+          } catch (SQLException e) {
+            throw new IllegalStateException("Cannot connect to the database", e);
+          }
+        });
+      } finally {
+        if (deferIndexes) {
+          long start = System.nanoTime();
+          JdbcLogSink.createLogIndexes(dataSource);
+          System.out.printf("Indexes built in %.1f s%n", (System.nanoTime() - start) / 1e9);
+        }
+      }
+    }
+  }
+
+  private static void generate(SyntheticLogDataset dataset, int threads,
+      IntFunction<ISyntheticLogSink> sinks) throws Exception {
+    LongAdder generated = new LongAdder();
+    long start = System.nanoTime();
+    ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+    progress.scheduleAtFixedRate(() -> report(generated.sum(), dataset.size(), start), 5, 5,
+        TimeUnit.SECONDS);
+    try {
+      dataset.generate(threads, sinks, generated);
+    } finally {
+      progress.shutdownNow();
+    }
+    report(generated.sum(), dataset.size(), start);
+  }
+
+  private static void report(long generated, long total, long start) {
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("%,14d of %,d readings in %7.1f s, %,12.0f readings/s%n", generated,
+        total, seconds, generated / seconds);
+  }
+}
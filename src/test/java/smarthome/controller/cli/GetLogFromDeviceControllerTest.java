@@ -31,6 +31,7 @@ import smarthome.domain.log.LogFactoryImpl;
 import smarthome.domain.repository.IDeviceRepository;
 import smarthome.domain.repository.IHouseRepository;
 import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.repository.ILogRollupRepository;
 import smarthome.domain.repository.IRoomRepository;
 import smarthome.domain.repository.ISensorRepository;
 import smarthome.domain.repository.ISensorTypeRepository;
@@ -75,6 +76,7 @@ class GetLogFromDeviceControllerTest {
   private ISensorRepository sensorRepository;
   private ISensorTypeRepository sensorTypeRepository;
   private IUnitRepository unitRepository;
+  private ILogRollupRepository logRollupRepository;
   private ILogFactory logFactory;
   private IRoomRepository roomRepository;
   private IHouseRepository houseRepository;
@@ -91,9 +93,11 @@ class GetLogFromDeviceControllerTest {
     sensorRepository = mock(ISensorRepository.class);
     sensorTypeRepository = mock(ISensorTypeRepository.class);
     unitRepository = mock(IUnitRepository.class);
+    logRollupRepository = mock(ILogRollupRepository.class);
     logFactory = new LogFactoryImpl();
     ILogService logService = new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-        sensorTypeRepository, unitRepository, logFactory);
+        sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
     IAssembler<Log, LogDTO> logAssembler = new LogAssembler();
     IDeviceFactory deviceFactory = new DeviceFactoryImpl();
     roomRepository = mock(IRoomRepository.class);
@@ -23,6 +23,7 @@ import smarthome.domain.log.Log;
 import smarthome.domain.log.LogFactoryImpl;
 import smarthome.domain.repository.IDeviceRepository;
 import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.repository.ILogRollupRepository;
 import smarthome.domain.repository.ISensorRepository;
 import smarthome.domain.repository.ISensorTypeRepository;
 import smarthome.domain.repository.IUnitRepository;
@@ -49,10 +50,12 @@ class GetMaxInstTempDiffBetweenDeviceAndOutsideControllerTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
 
     ILogService logService = new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-        sensorTypeRepository, unitRepository, logFactory);
+        sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     //Act
     GetMaxInstTempDiffBetweenDeviceAndOutsideController getMaxInstTempDiffBetweenDeviceAndOutsideController = new GetMaxInstTempDiffBetweenDeviceAndOutsideController(
@@ -96,9 +99,11 @@ class GetMaxInstTempDiffBetweenDeviceAndOutsideControllerTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     ILogService logService = new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-        sensorTypeRepository, unitRepository, logFactory);
+        sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     GetMaxInstTempDiffBetweenDeviceAndOutsideController getMaxInstTempDiffBetweenDeviceAndOutsideController = new GetMaxInstTempDiffBetweenDeviceAndOutsideController(
         logService);
@@ -152,7 +157,7 @@ class GetMaxInstTempDiffBetweenDeviceAndOutsideControllerTest {
     int expected = 9;
 
     // Act
-    int result = getMaxInstTempDiffBetweenDeviceAndOutsideController.getMaxInstTempDiffBetweenDeviceAndOutside(
+    double result = getMaxInstTempDiffBetweenDeviceAndOutsideController.getMaxInstTempDiffBetweenDeviceAndOutside(
         outsideDeviceIDStr, insideDeviceIDStr, initialTime, finalTime, timeDelta);
 
     // Assert
@@ -172,9 +177,11 @@ class GetMaxInstTempDiffBetweenDeviceAndOutsideControllerTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     ILogService logService = new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-        sensorTypeRepository, unitRepository, logFactory);
+        sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     GetMaxInstTempDiffBetweenDeviceAndOutsideController getMaxInstTempDiffBetweenDeviceAndOutsideController = new GetMaxInstTempDiffBetweenDeviceAndOutsideController(
         logService);
@@ -246,9 +253,11 @@ class GetMaxInstTempDiffBetweenDeviceAndOutsideControllerTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     ILogService logService = new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-        sensorTypeRepository, unitRepository, logFactory);
+        sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     GetMaxInstTempDiffBetweenDeviceAndOutsideController getMaxInstTempDiffBetweenDeviceAndOutsideController = new GetMaxInstTempDiffBetweenDeviceAndOutsideController(
         logService);
@@ -0,0 +1,276 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.Log;
+import smarthome.grpc.Ack;
+import smarthome.grpc.LogIngestGrpc;
+import smarthome.grpc.Reading;
+import smarthome.service.ILogService;
+import smarthome.service.LogBatchEntry;
+import smarthome.service.LogBatchResult;
+
+class LogIngestGrpcServiceTest {
+
+  private final ExecutorService writer = Executors.newFixedThreadPool(2);
+  private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+  private Server server;
+  private ManagedChannel channel;
+
+  @AfterEach
+  void tearDown() {
+    if (channel != null) {
+      channel.shutdownNow();
+      server.shutdownNow();
+    }
+    writer.shutdownNow();
+    timer.shutdownNow();
+  }
+
+  private static Reading reading(long sequence, String deviceID) {
+    return Reading.newBuilder()
+        .setSequence(sequence)
+        .setDeviceId(deviceID)
+        .setSensorId("sensor")
+        .setSensorTypeId("Temperature")
+        .setUnitId("C")
+        .setTimestampMillis(1_704_067_200_000L + sequence * 1000)
+        .setDecimalValue(20.5)
+        .build();
+  }
+
+  /**
+   * ILogService mock that saves every entry except those of the device "unknown".
+   */
+  private static ILogService logService() {
+    ILogService logService = mock(ILogService.class);
+    Log log = mock(Log.class);
+    when(logService.addLogs(anyList())).thenAnswer(invocation -> {
+      Collection<LogBatchEntry> entries = invocation.getArgument(0);
+      return entries.stream()
+          .map(entry -> entry.deviceID().getID().equals("unknown")
+              ? LogBatchResult.rejected("Device ID does not exist")
+              : LogBatchResult.saved(log))
+          .toList();
+    });
+    return logService;
+  }
+
+  private LogIngestGrpc.LogIngestStub connect(LogIngestGrpcService service) throws IOException {
+    String name = InProcessServerBuilder.generateName();
+    server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build()
+        .start();
+    channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    return LogIngestGrpc.newStub(channel);
+  }
+
+  /**
+   * Observer that records the acks and waits for the end of the stream.
+   */
+  private static final class AckRecorder implements StreamObserver<Ack> {
+
+    private final List<Ack> acks = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    @Override
+    public void onNext(Ack ack) {
+      acks.add(ack);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      done.countDown();
+    }
+
+    @Override
+    public void onCompleted() {
+      done.countDown();
+    }
+
+    List<Ack> await() throws InterruptedException {
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      return acks;
+    }
+  }
+
+  @Test
+  void shouldAcknowledgeEveryBatch_WhenReadingsAreStreamed() throws Exception {
+    //Arrange
+    LogIngestGrpcService service = new LogIngestGrpcService(logService(), writer, timer, 10,
+        Duration.ofSeconds(30), 20);
+    AckRecorder recorder = new AckRecorder();
+    StreamObserver<Reading> readings = connect(service).streamReadings(recorder);
+
+    //Act
+    for (int i = 1; i <= 25; i++) {
+      readings.onNext(reading(i, "device"));
+    }
+    readings.onCompleted();
+    List<Ack> acks = recorder.await();
+
+    //Assert
+    assertEquals(3, acks.size());
+    assertEquals(List.of(10L, 20L, 25L), acks.stream().map(Ack::getUpToSequence).toList());
+    assertEquals(25, acks.stream().mapToInt(Ack::getSaved).sum());
+  }
+
+  @Test
+  void shouldReportErrorsPerReading() throws Exception {
+    //Arrange
+    LogIngestGrpcService service = new LogIngestGrpcService(logService(), writer, timer, 10,
+        Duration.ofSeconds(30), 20);
+    AckRecorder recorder = new AckRecorder();
+    StreamObserver<Reading> readings = connect(service).streamReadings(recorder);
+
+    //Act
+    readings.onNext(reading(1, "device"));
+    readings.onNext(reading(2, "unknown"));
+    readings.onNext(reading(3, "device").toBuilder().clearValue().build());
+    readings.onCompleted();
+    List<Ack> acks = recorder.await();
+
+    //Assert
+    Ack ack = acks.get(0);
+    assertEquals(1, ack.getSaved());
+    assertEquals(2, ack.getErrorsCount());
+    assertEquals(2, ack.getErrors(0).getSequence());
+    assertEquals("Device ID does not exist", ack.getErrors(0).getError());
+    assertEquals(3, ack.getErrors(1).getSequence());
+    assertEquals("Reading value is required", ack.getErrors(1).getError());
+  }
+
+  @Test
+  void shouldSavePartialBatch_WhenMaxDelayElapses() throws Exception {
+    //Arrange
+    ILogService logService = logService();
+    LogIngestGrpcService service = new LogIngestGrpcService(logService, writer, timer, 100,
+        Duration.ofMillis(20), 200);
+    AckRecorder recorder = new AckRecorder();
+    StreamObserver<Reading> readings = connect(service).streamReadings(recorder);
+
+    //Act
+    readings.onNext(reading(1, "device"));
+    readings.onNext(reading(2, "device"));
+
+    //Assert
+    verify(logService, timeout(5000)).addLogs(anyList());
+    readings.onCompleted();
+    assertEquals(2, recorder.await().get(0).getSaved());
+  }
+
+  @Test
+  void shouldReportEveryReading_WhenSavingFails() throws Exception {
+    //Arrange
+    ILogService logService = mock(ILogService.class);
+    when(logService.addLogs(anyList())).thenThrow(new IllegalStateException("Database down"));
+    LogIngestGrpcService service = new LogIngestGrpcService(logService, writer, timer, 10,
+        Duration.ofSeconds(30), 20);
+    AckRecorder recorder = new AckRecorder();
+    StreamObserver<Reading> readings = connect(service).streamReadings(recorder);
+
+    //Act
+    readings.onNext(reading(1, "device"));
+    readings.onNext(reading(2, "device"));
+    readings.onCompleted();
+    Ack ack = recorder.await().get(0);
+
+    //Assert
+    assertEquals(0, ack.getSaved());
+    assertEquals(2, ack.getErrorsCount());
+    assertEquals("Could not be saved: Database down", ack.getErrors(0).getError());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldGrantMoreReadings_OnlyWhenBatchIsSaved() throws Exception {
+    //Arrange
+    CountDownLatch release = new CountDownLatch(1);
+    ILogService logService = mock(ILogService.class);
+    Log log = mock(Log.class);
+    when(logService.addLogs(anyList())).thenAnswer(invocation -> {
+      release.await();
+      Collection<LogBatchEntry> entries = invocation.getArgument(0);
+      return entries.stream().map(entry -> LogBatchResult.saved(log)).toList();
+    });
+    LogIngestGrpcService service = new LogIngestGrpcService(logService, writer, timer, 5,
+        Duration.ofSeconds(30), 10);
+    ServerCallStreamObserver<Ack> responses = mock(ServerCallStreamObserver.class);
+
+    //Act
+    StreamObserver<Reading> readings = service.streamReadings(responses);
+    for (int i = 1; i <= 5; i++) {
+      readings.onNext(reading(i, "device"));
+    }
+
+    //Assert
+    verify(responses).disableAutoRequest();
+    verify(responses).request(10);
+    verify(logService, timeout(5000)).addLogs(anyList());
+    verify(responses, never()).request(5);
+    release.countDown();
+    verify(responses, timeout(5000)).request(5);
+  }
+
+  @Test
+  void shouldConvertTypedValuesAndLocalTimestamp() {
+    //Arrange
+    Reading reading = reading(1, "device").toBuilder()
+        .setTimestampMillis(1_704_110_400_250L)
+        .setIntegerValue(42)
+        .build();
+
+    //Act
+    LogBatchEntry entry = LogIngestGrpcService.toBatchEntry(reading);
+
+    //Assert
+    assertEquals(LocalDateTime.of(2024, 1, 1, 12, 0, 0, 250_000_000), entry.timestamp());
+    assertEquals("42", entry.readingValue().getValue());
+  }
+
+  @Test
+  void shouldThrowException_WhenWindowIsSmallerThanBatch() {
+    //Arrange
+    ILogService logService = logService();
+    Duration maxDelay = Duration.ofMillis(10);
+
+    //Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> new LogIngestGrpcService(logService, writer, timer, 10, maxDelay, 5));
+  }
+}
@@ -15,7 +15,6 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -35,8 +34,6 @@ import smarthome.domain.device_type.DeviceType;
 import smarthome.domain.device_type.DeviceTypeFactoryImpl;
 import smarthome.domain.house.House;
 import smarthome.domain.house.IHouseFactory;
-import smarthome.domain.log.Log;
-import smarthome.domain.log.LogFactoryImpl;
 import smarthome.domain.repository.IActuatorRepository;
 import smarthome.domain.repository.IActuatorTypeRepository;
 import smarthome.domain.repository.IDeviceRepository;
@@ -58,11 +55,9 @@ import smarthome.domain.value_object.Dimension;
 import smarthome.domain.value_object.GPS;
 import smarthome.domain.value_object.HouseID;
 import smarthome.domain.value_object.ModelPath;
-import smarthome.domain.value_object.ReadingValue;
 import smarthome.domain.value_object.RoomFloor;
 import smarthome.domain.value_object.RoomID;
 import smarthome.domain.value_object.RoomName;
-import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.domain.value_object.TypeDescription;
@@ -821,15 +816,7 @@ class ActuatorControllerTest {
     ActuatorValueEntryDTO actuatorValueDTO = new ActuatorValueEntryDTO(deviceIDStr, actuator.getID().getID(),
         valueToSet);
 
-    /* create List of Log */
-    SensorID sensorID = sensor.getID();
-    ReadingValue readingValue = new ReadingValue("100");
-    LocalDateTime timeStamp = LocalDateTime.now();
-
-    Log log1 = new LogFactoryImpl().createLog(device.getID(), sensorID, timeStamp, readingValue,
-        sensorTypeID, actuatorUnit.getID());
-    when(logService.getDeviceReadingsByDeviceIDAndSensorTypeID(device.getID(),
-        sensorTypeID)).thenReturn(List.of(log1));
+    when(logService.hasDeviceReadings(device.getID(), sensorTypeID)).thenReturn(true);
 
     //Act + Assert
     mockMvc.perform(post("/actuators/set-blindRoller")
@@ -893,15 +880,7 @@ class ActuatorControllerTest {
     ActuatorValueEntryDTO actuatorValueDTO = new ActuatorValueEntryDTO(deviceIDStr, actuator.getID().getID(),
         valueToSet);
 
-    /* create List of Log */
-    SensorID sensorID = sensor.getID();
-    ReadingValue readingValue = new ReadingValue("0");
-    LocalDateTime timeStamp = LocalDateTime.now();
-
-    Log log1 = new LogFactoryImpl().createLog(device.getID(), sensorID, timeStamp, readingValue,
-        sensorTypeID, actuatorUnit.getID());
-    when(logService.getDeviceReadingsByDeviceIDAndSensorTypeID(device.getID(),
-        sensorTypeID)).thenReturn(List.of(log1));
+    when(logService.hasDeviceReadings(device.getID(), sensorTypeID)).thenReturn(true);
 
     //Act + Assert
     mockMvc.perform(post("/actuators/set-blindRoller")
@@ -42,6 +42,7 @@ import smarthome.domain.repository.IRoomRepository;
 import smarthome.domain.room.IRoomFactory;
 import smarthome.domain.room.Room;
 import smarthome.domain.value_object.Address;
+import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.DeviceName;
 import smarthome.domain.value_object.DeviceTypeID;
 import smarthome.domain.value_object.Dimension;
@@ -371,6 +372,67 @@ class DeviceControllerTest {
     assertEquals(expected, result.getResponse().getContentAsString());
   }
 
+  /**
+   * Test listDevicesPage links to the next page when more devices follow
+   */
+  @Test
+  void shouldReturnPageWithNextLink_whenMoreDevicesFollow() throws Exception {
+    // Arrange
+    RoomEntryDTO roomDataDTO = setupRoomDataDTO();
+    Room room = setupRoom(roomDataDTO);
+    Device device = setupDevice(setupDeviceDataDTO(room, "Bulb"));
+    Device device2 = setupDevice(setupDeviceDataDTO(room, "Bulb"));
+    Device device3 = setupDevice(setupDeviceDataDTO(room, "Bulb"));
+
+    when(deviceRepository.findPage(null, 3)).thenReturn(List.of(device, device2, device3));
+
+    String expectedNext = "http://localhost/devices?limit=2&after=" + device2.getID().getID();
+
+    // Act & Assert
+    mockMvc.perform(get("/devices")
+        .param("limit", "2")
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$._embedded.deviceDTOList", hasSize(2)))
+        .andExpect(jsonPath("$._links.self.href").value("http://localhost/devices?limit=2{&after}"))
+        .andExpect(jsonPath("$._links.next.href").value(expectedNext));
+  }
+
+  /**
+   * Test listDevicesPage on the last page, which has no next link
+   */
+  @Test
+  void shouldReturnPageWithoutNextLink_whenLastPageIsReached() throws Exception {
+    // Arrange
+    RoomEntryDTO roomDataDTO = setupRoomDataDTO();
+    Room room = setupRoom(roomDataDTO);
+    Device device = setupDevice(setupDeviceDataDTO(room, "Bulb"));
+    DeviceID after = new DeviceID("previous");
+
+    when(deviceRepository.findPage(after, 3)).thenReturn(List.of(device));
+
+    // Act & Assert
+    mockMvc.perform(get("/devices")
+        .param("limit", "2")
+        .param("after", "previous")
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$._embedded.deviceDTOList", hasSize(1)))
+        .andExpect(jsonPath("$._links.next").doesNotExist());
+  }
+
+  /**
+   * Test listDevicesPage with a page size out of range
+   */
+  @Test
+  void shouldReturnBadRequest_whenPageLimitIsOutOfRange() throws Exception {
+    // Act & Assert
+    mockMvc.perform(get("/devices")
+        .param("limit", "0")
+        .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isBadRequest());
+  }
+
   /**
    * Test deactivateDevice when the device exists
    */
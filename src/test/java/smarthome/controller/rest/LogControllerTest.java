@@ -9,15 +9,28 @@
 package smarthome.controller.rest;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.jayway.jsonpath.JsonPath;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -25,6 +38,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import smarthome.domain.device.Device;
 import smarthome.domain.device.IDeviceFactory;
 import smarthome.domain.log.ILogFactory;
@@ -37,6 +51,7 @@ import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.DeviceName;
 import smarthome.domain.value_object.DeviceStatus;
 import smarthome.domain.value_object.DeviceTypeID;
+import smarthome.domain.value_object.LogCursor;
 import smarthome.domain.value_object.ReadingValue;
 import smarthome.domain.value_object.RoomID;
 import smarthome.domain.value_object.SensorID;
@@ -176,6 +191,121 @@ class LogControllerTest {
         .andExpect(jsonPath("$", hasSize(0)));
   }
 
+  /**
+   * Should return a page of logs whose next link resumes after its last log
+   */
+  @Test
+  void shouldFollowNextLink_whenPagingThroughLogs() throws Exception {
+    // Arrange
+    Log log1 = setupLogWithTimeAndValue(LocalDateTime.of(2021, 5, 1, 12, 0), "20");
+    Log log2 = setupLogWithTimeAndValue(LocalDateTime.of(2021, 5, 1, 12, 0), "21");
+    Log log3 = setupLogWithTimeAndValue(LocalDateTime.of(2021, 5, 1, 12, 1), "22");
+
+    when(logRepository.findPageByDeviceIDAndDatePeriodBetween(
+        any(DeviceID.class), any(DatePeriod.class), isNull(), eq(3)))
+        .thenReturn(List.of(log1, log2, log3));
+    when(logRepository.findPageByDeviceIDAndDatePeriodBetween(
+        any(DeviceID.class), any(DatePeriod.class), eq(LogCursor.of(log2)), eq(3)))
+        .thenReturn(List.of(log3));
+
+    // Act
+    String firstPage = mockMvc
+        .perform(
+            get("/logs")
+                .param("deviceID", "2")
+                .param("timeStart", "2020-03-01T13:45:30")
+                .param("timeEnd", "2022-03-01T13:50:30")
+                .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$._embedded.logDTOList", hasSize(2)))
+        .andExpect(jsonPath("$._embedded.logDTOList[1].reading").value("21"))
+        .andReturn().getResponse().getContentAsString();
+    String next = JsonPath.read(firstPage, "$._links.next.href");
+
+    // Assert
+    mockMvc
+        .perform(get(URI.create(next)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$._embedded.logDTOList", hasSize(1)))
+        .andExpect(jsonPath("$._embedded.logDTOList[0].reading").value("22"))
+        .andExpect(jsonPath("$._links.next").doesNotExist());
+  }
+
+  /**
+   * Should return bad request when the page cursor is not a cursor
+   */
+  @Test
+  void shouldReturnBadRequest_WhenPageCursorIsMalformed() throws Exception {
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/logs")
+                .param("deviceID", "2")
+                .param("timeStart", "2020-03-01T13:45:30")
+                .param("timeEnd", "2022-03-01T13:50:30")
+                .param("limit", "2")
+                .param("after", "bm90IGEgY3Vyc29y"))
+        .andExpect(status().isBadRequest());
+  }
+
+  /**
+   * Should stream one JSON object per line when newline-delimited JSON is accepted
+   */
+  @Test
+  void shouldStreamLogsAsNdjson_WhenNdjsonIsAccepted() throws Exception {
+    // Arrange
+    String deviceIDStr = "2";
+    String timeStart = "2020-03-01T13:45:30";
+    String timeEnd = "2022-03-01T13:50:30";
+    Log log1 = setupLogWithTimeAndValue(LocalDateTime.of(2021, 5, 1, 12, 0), "20");
+    Log log2 = setupLogWithTimeAndValue(LocalDateTime.of(2021, 5, 1, 12, 1), "21");
+
+    doAnswer(invocation -> {
+      Consumer<Log> consumer = invocation.getArgument(2);
+      consumer.accept(log1);
+      consumer.accept(log2);
+      return null;
+    }).when(logRepository).streamByDeviceIDAndDatePeriodBetween(
+        any(DeviceID.class), any(DatePeriod.class), any());
+
+    // Act
+    MvcResult result = mockMvc
+        .perform(
+            get("/logs")
+                .accept("application/x-ndjson")
+                .param("deviceID", deviceIDStr)
+                .param("timeStart", timeStart)
+                .param("timeEnd", timeEnd))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // Assert
+    String body = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andReturn().getResponse().getContentAsString();
+    String[] lines = body.split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(lines[0].contains("\"reading\":\"20\""));
+    assertTrue(lines[1].contains("\"reading\":\"21\""));
+  }
+
+  /**
+   * Should return bad request when streaming with a malformed date
+   */
+  @Test
+  void shouldReturnBadRequest_WhenStreamingWithMalformedDate() throws Exception {
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/logs")
+                .accept("application/x-ndjson")
+                .param("deviceID", "2")
+                .param("timeStart", "2020-03-01")
+                .param("timeEnd", "2022-03-01T13:50:30"))
+        .andExpect(status().isBadRequest());
+  }
+
   /**
    * Should return bad request when start date is after end date
    */
@@ -241,7 +371,7 @@ class LogControllerTest {
     Log log2 = setupLogWithTimeAndValue(timeStamp2, "25");
     List<Log> insideDeviceLogs = List.of(log2);
 
-    String expectedTemperatureDifference = "5";
+    double expectedTemperatureDifference = 5.0;
 
     when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
         any(DeviceID.class), any(SensorTypeID.class), any(DatePeriod.class)))
@@ -411,18 +541,17 @@ class LogControllerTest {
         setupReadingsGivenDeviceAndTimePeriod(
             powerSource, sensorTypeID, datePeriod, 5, readingValue);
 
-    String expectedPowerConsumption = "40";
+    double expectedPowerConsumption = 40.0;
     when(deviceRepository.findByDeviceTypeID(powerMeter.getDeviceTypeID()))
         .thenReturn(List.of(powerMeter));
     when(deviceRepository.findByDeviceTypeID(powerSource.getDeviceTypeID()))
         .thenReturn(List.of(powerSource));
 
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerMeter.getID(), sensorTypeID, datePeriod))
-        .thenReturn(powerMeterLogs);
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerSource.getID(), sensorTypeID, datePeriod))
-        .thenReturn(powerSourceLogs);
+    List<Log> powerLogs = new ArrayList<>(powerMeterLogs);
+    powerLogs.addAll(powerSourceLogs);
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriodBetween(
+        List.of(powerMeter.getID(), powerSource.getID()), sensorTypeID, datePeriod))
+        .thenReturn(powerLogs);
 
     // Act & Assert
     mockMvc
@@ -432,7 +561,8 @@ class LogControllerTest {
                 .param("initialTime", initialTime.toString())
                 .param("finalTime", finalTime.toString()))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$").value(expectedPowerConsumption));
+        .andExpect(jsonPath("$.peakPower").value(expectedPowerConsumption))
+        .andExpect(jsonPath("$.timestamp").value("2021-05-01T12:00"));
   }
 
   /**
@@ -453,18 +583,17 @@ class LogControllerTest {
     List<Log> powerMeterLogs = new ArrayList<>();
     List<Log> powerSourceLogs = new ArrayList<>();
 
-    String expectedPowerConsumption = "0";
+    double expectedPowerConsumption = 0.0;
     when(deviceRepository.findByDeviceTypeID(powerMeter.getDeviceTypeID()))
         .thenReturn(List.of(powerMeter));
     when(deviceRepository.findByDeviceTypeID(powerSource.getDeviceTypeID()))
         .thenReturn(List.of(powerSource));
 
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerMeter.getID(), sensorTypeID, datePeriod))
-        .thenReturn(powerMeterLogs);
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerSource.getID(), sensorTypeID, datePeriod))
-        .thenReturn(powerSourceLogs);
+    List<Log> powerLogs = new ArrayList<>(powerMeterLogs);
+    powerLogs.addAll(powerSourceLogs);
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriodBetween(
+        List.of(powerMeter.getID(), powerSource.getID()), sensorTypeID, datePeriod))
+        .thenReturn(powerLogs);
 
     // Act & Assert
     mockMvc
@@ -474,7 +603,55 @@ class LogControllerTest {
                 .param("initialTime", initialTime.toString())
                 .param("finalTime", finalTime.toString()))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$").value(expectedPowerConsumption));
+        .andExpect(jsonPath("$.peakPower").value(expectedPowerConsumption))
+        .andExpect(jsonPath("$.timestamp").doesNotExist());
+  }
+
+  /**
+   * Test that the time delta of the peak power consumption can be set per request
+   */
+  @Test
+  void shouldSumReadingsFurtherApart_WhenTimeDeltaIsWider() throws Exception {
+    // Arrange
+    LocalDateTime initialTime = LocalDateTime.of(2021, 5, 1, 12, 0);
+    LocalDateTime finalTime = LocalDateTime.of(2021, 5, 1, 13, 0);
+    DatePeriod datePeriod = new DatePeriod(initialTime, finalTime);
+
+    Device powerMeter = setupPowerMeter();
+    Device powerSource = setupPowerSource();
+    SensorTypeID sensorTypeID = new SensorTypeID("InstantPowerConsumption");
+
+    Log meterReading = logFactory.createLog(powerMeter.getID(), new SensorID("1"), initialTime,
+        new ReadingValue("30"), sensorTypeID, new UnitID("Watt"));
+    Log sourceReading = logFactory.createLog(powerSource.getID(), new SensorID("2"),
+        initialTime.plusMinutes(20), new ReadingValue("20"), sensorTypeID, new UnitID("Watt"));
+
+    when(deviceRepository.findByDeviceTypeID(powerMeter.getDeviceTypeID()))
+        .thenReturn(List.of(powerMeter));
+    when(deviceRepository.findByDeviceTypeID(powerSource.getDeviceTypeID()))
+        .thenReturn(List.of(powerSource));
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriodBetween(
+        List.of(powerMeter.getID(), powerSource.getID()), sensorTypeID, datePeriod))
+        .thenReturn(List.of(meterReading, sourceReading));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/logs/peak-power-consumption")
+                .param("initialTime", initialTime.toString())
+                .param("finalTime", finalTime.toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.peakPower").value(30.0))
+        .andExpect(jsonPath("$.timestamp").value("2021-05-01T12:00"));
+    mockMvc
+        .perform(
+            get("/logs/peak-power-consumption")
+                .param("initialTime", initialTime.toString())
+                .param("finalTime", finalTime.toString())
+                .param("timeDelta", "30"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.peakPower").value(50.0))
+        .andExpect(jsonPath("$.timestamp").value("2021-05-01T12:20"));
   }
 
   /**
@@ -509,18 +686,17 @@ class LogControllerTest {
         setupReadingsGivenDeviceAndTimePeriod(
             powerSource, sensorTypeID, datePeriodOutOfDelta, 5, readingValuePowerSource);
 
-    String expectedPowerConsumption = "30";
+    double expectedPowerConsumption = 30.0;
     when(deviceRepository.findByDeviceTypeID(powerMeter.getDeviceTypeID()))
         .thenReturn(List.of(powerMeter));
     when(deviceRepository.findByDeviceTypeID(powerSource.getDeviceTypeID()))
         .thenReturn(List.of(powerSource));
 
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerMeter.getID(), sensorTypeID, datePeriod))
-        .thenReturn(powerMeterLogs);
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerSource.getID(), sensorTypeID, datePeriod))
-        .thenReturn(powerSourceLogs);
+    List<Log> powerLogs = new ArrayList<>(powerMeterLogs);
+    powerLogs.addAll(powerSourceLogs);
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriodBetween(
+        List.of(powerMeter.getID(), powerSource.getID()), sensorTypeID, datePeriod))
+        .thenReturn(powerLogs);
 
     // Act & Assert
     mockMvc
@@ -530,7 +706,7 @@ class LogControllerTest {
                 .param("initialTime", initialTime.toString())
                 .param("finalTime", finalTime.toString()))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$").value(expectedPowerConsumption));
+        .andExpect(jsonPath("$.peakPower").value(expectedPowerConsumption));
   }
 
   /***
@@ -556,18 +732,17 @@ class LogControllerTest {
             powerMeter, sensorTypeID, datePeriod, 5, readingValue);
     List<Log> powerSourceLogs = new ArrayList<>();
 
-    String expectedPowerConsumption = "20";
+    double expectedPowerConsumption = 20.0;
     when(deviceRepository.findByDeviceTypeID(powerMeter.getDeviceTypeID()))
         .thenReturn(List.of(powerMeter));
     when(deviceRepository.findByDeviceTypeID(powerSource.getDeviceTypeID()))
         .thenReturn(List.of(powerSource));
 
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerMeter.getID(), sensorTypeID, datePeriod))
-        .thenReturn(powerMeterLogs);
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerSource.getID(), sensorTypeID, datePeriod))
-        .thenReturn(powerSourceLogs);
+    List<Log> powerLogs = new ArrayList<>(powerMeterLogs);
+    powerLogs.addAll(powerSourceLogs);
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriodBetween(
+        List.of(powerMeter.getID(), powerSource.getID()), sensorTypeID, datePeriod))
+        .thenReturn(powerLogs);
 
     // Act & Assert
     mockMvc
@@ -577,7 +752,7 @@ class LogControllerTest {
                 .param("initialTime", initialTime.toString())
                 .param("finalTime", finalTime.toString()))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$").value(expectedPowerConsumption));
+        .andExpect(jsonPath("$.peakPower").value(expectedPowerConsumption));
   }
 
   /**
@@ -593,8 +768,7 @@ class LogControllerTest {
     DeviceID deviceID = new DeviceID(deviceIDStr);
     SensorTypeID sensorTypeID = new SensorTypeID(sensorTypeIDStr);
 
-    when(logRepository.findByDeviceIDAndSensorTypeID(deviceID, sensorTypeID))
-        .thenReturn(List.of(log));
+    when(logRepository.findLatest(deviceID, sensorTypeID)).thenReturn(Optional.of(log));
 
     // Act & Assert
     mockMvc
@@ -618,7 +792,7 @@ class LogControllerTest {
     DeviceID deviceID = new DeviceID(deviceIDStr);
     SensorTypeID sensorTypeID = new SensorTypeID(sensorTypeIDStr);
 
-    when(logRepository.findByDeviceIDAndSensorTypeID(deviceID, sensorTypeID)).thenReturn(List.of());
+    when(logRepository.findLatest(deviceID, sensorTypeID)).thenReturn(Optional.empty());
 
     // Act & Assert
     mockMvc
@@ -631,4 +805,76 @@ class LogControllerTest {
         .andExpect(jsonPath("$.message").value(
             "No log records found for the specified device and sensor type."));
   }
+
+  /**
+   * Should report one result per reading when adding a batch of logs
+   */
+  @Test
+  void shouldReturnOneResultPerReading_WhenAddingBatchOfLogs() throws Exception {
+    // Arrange
+    String body = "["
+        + "{\"deviceID\":\"unknown\",\"sensorID\":\"1\",\"sensorTypeID\":\"Temperature\","
+        + "\"unitID\":\"C\",\"reading\":\"21.5\",\"timestamp\":\"2024-01-01T10:00:00\"},"
+        + "{\"deviceID\":\"1\",\"sensorID\":\"1\",\"sensorTypeID\":\"Temperature\","
+        + "\"unitID\":\"C\",\"reading\":\"20\",\"timestamp\":\"not a timestamp\"}"
+        + "]";
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            post("/logs/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0].index").value(0))
+        .andExpect(jsonPath("$[0].error").value("Device ID does not exist"))
+        .andExpect(jsonPath("$[1].index").value(1))
+        .andExpect(jsonPath("$[1].logID").doesNotExist());
+  }
+
+  /**
+   * Should return bad request when the aggregation resolution is unknown
+   */
+  @Test
+  void shouldReturnBadRequest_WhenAggregationResolutionIsUnknown() throws Exception {
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/logs/aggregate")
+                .param("deviceID", "1")
+                .param("sensorTypeID", "Temperature")
+                .param("resolution", "week")
+                .param("timeStart", "2024-01-01T00:00:00")
+                .param("timeEnd", "2024-01-02T00:00:00"))
+        .andExpect(status().isBadRequest());
+  }
+
+  /**
+   * Should aggregate readings per bucket
+   */
+  @Test
+  void shouldReturnAggregatedReadings_WhenParametersAreValid() throws Exception {
+    // Arrange
+    LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0, 30);
+    List<Log> logs = List.of(setupLogWithTimeAndValue(start.plusSeconds(5), "20"),
+        setupLogWithTimeAndValue(start.plusSeconds(10), "22"));
+    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(any(DeviceID.class),
+        any(SensorTypeID.class), any(DatePeriod.class))).thenReturn(logs);
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/logs/aggregate")
+                .param("deviceID", "1")
+                .param("sensorTypeID", "Temperature")
+                .param("resolution", "hour")
+                .param("timeStart", start.toString())
+                .param("timeEnd", start.plusSeconds(20).toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].bucketStart").value("2024-01-01T10:00"))
+        .andExpect(jsonPath("$[0].count").value(2))
+        .andExpect(jsonPath("$[0].average").value(21.0));
+  }
 }
@@ -0,0 +1,97 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.rest;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import smarthome.service.ILogImportService;
+import smarthome.service.LogImportProgress;
+import smarthome.service.LogImportReject;
+import smarthome.service.LogImportState;
+
+@SpringBootTest
+@ActiveProfiles("import")
+@AutoConfigureMockMvc
+class LogImportControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private ILogImportService logImportService;
+
+  /**
+   * Should start the import and answer accepted
+   */
+  @Test
+  void shouldReturnAccepted_WhenImportStarts() throws Exception {
+    // Arrange
+    when(logImportService.startImport("/data/logs.csv")).thenReturn(
+        new LogImportProgress("1", "/data/logs.csv", LogImportState.RUNNING, 0, 1000, 0, 0, 0, 0,
+            List.of(), null));
+
+    // Act & Assert
+    mockMvc
+        .perform(post("/logs/import").param("path", "/data/logs.csv"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.importID").value("1"))
+        .andExpect(jsonPath("$.state").value("RUNNING"))
+        .andExpect(jsonPath("$.totalBytes").value(1000));
+  }
+
+  /**
+   * Should return bad request when the file does not exist
+   */
+  @Test
+  void shouldReturnBadRequest_WhenFileDoesNotExist() throws Exception {
+    // Arrange
+    when(logImportService.startImport("missing.csv"))
+        .thenThrow(new IllegalArgumentException("File not found: missing.csv"));
+
+    // Act & Assert
+    mockMvc
+        .perform(post("/logs/import").param("path", "missing.csv"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("File not found: missing.csv"));
+  }
+
+  /**
+   * Should return the progress with the rejected rows
+   */
+  @Test
+  void shouldReturnProgress() throws Exception {
+    // Arrange
+    when(logImportService.getProgress("1")).thenReturn(
+        new LogImportProgress("1", "/data/logs.csv", LogImportState.COMPLETED, 1000, 1000, 10, 9,
+            1, 50, List.of(new LogImportReject(4, "Device ID does not exist")), null));
+
+    // Act & Assert
+    mockMvc
+        .perform(get("/logs/import/1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.state").value("COMPLETED"))
+        .andExpect(jsonPath("$.saved").value(9))
+        .andExpect(jsonPath("$.rejects", hasSize(1)))
+        .andExpect(jsonPath("$.rejects[0].rowNumber").value(4))
+        .andExpect(jsonPath("$.rejects[0].error").value("Device ID does not exist"));
+  }
+}
@@ -0,0 +1,109 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.rest;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import smarthome.service.ILogIngestService;
+import smarthome.service.LogIngestMetrics;
+import smarthome.utils.exceptions.IngestQueueFullException;
+
+@SpringBootTest
+@ActiveProfiles("write-behind")
+@AutoConfigureMockMvc
+class LogIngestControllerTest {
+
+  private static final String BODY = "["
+      + "{\"deviceID\":\"1\",\"sensorID\":\"1\",\"sensorTypeID\":\"Temperature\","
+      + "\"unitID\":\"C\",\"reading\":\"21.5\",\"timestamp\":\"2024-01-01T10:00:00\"},"
+      + "{\"deviceID\":\"1\",\"sensorID\":\"1\",\"sensorTypeID\":\"Temperature\","
+      + "\"unitID\":\"C\",\"reading\":\"20\",\"timestamp\":\"not a timestamp\"}"
+      + "]";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private ILogIngestService logIngestService;
+
+  /**
+   * Should accept the parsed readings and report the others
+   */
+  @Test
+  void shouldReturnAccepted_WhenReadingsAreQueued() throws Exception {
+    // Arrange
+    when(logIngestService.submit(anyList())).thenAnswer(
+        invocation -> invocation.getArgument(0, List.class).size());
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            post("/logs/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.accepted").value(1))
+        .andExpect(jsonPath("$.rejected", hasSize(1)))
+        .andExpect(jsonPath("$.rejected[0].index").value(1));
+  }
+
+  /**
+   * Should return too many requests when the queue is full
+   */
+  @Test
+  void shouldReturnTooManyRequests_WhenQueueIsFull() throws Exception {
+    // Arrange
+    when(logIngestService.submit(anyList()))
+        .thenThrow(new IngestQueueFullException("Log ingest queue is full"));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            post("/logs/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(BODY))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(jsonPath("$.status").value(429))
+        .andExpect(jsonPath("$.message").value("Log ingest queue is full"));
+  }
+
+  /**
+   * Should return the ingest metrics
+   */
+  @Test
+  void shouldReturnMetrics() throws Exception {
+    // Arrange
+    when(logIngestService.getMetrics())
+        .thenReturn(new LogIngestMetrics(3, 10, 20, 15, 1, 0, 0, 2, 40));
+
+    // Act & Assert
+    mockMvc
+        .perform(get("/logs/ingest/metrics"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.depth").value(3))
+        .andExpect(jsonPath("$.capacity").value(10))
+        .andExpect(jsonPath("$.rejected").value(2))
+        .andExpect(jsonPath("$.lagMillis").value(40));
+  }
+}
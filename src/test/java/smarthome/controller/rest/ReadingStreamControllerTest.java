@@ -0,0 +1,126 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import smarthome.domain.device.Device;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.RoomID;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.service.IDeviceService;
+import smarthome.service.LiveReadingHub;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReadingStreamControllerTest {
+
+  private static final long TIMEOUT_SECONDS = 5;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private LiveReadingHub liveReadingHub;
+
+  @Autowired
+  private ILogFactory logFactory;
+
+  @MockBean
+  private IDeviceService deviceService;
+
+  private Log reading(String deviceID, String value) {
+    return logFactory.createLog(new DeviceID(deviceID), new SensorID("1"),
+        LocalDateTime.of(2024, 1, 1, 10, 0), new ReadingValue(value),
+        new SensorTypeID("Temperature"), new UnitID("C"));
+  }
+
+  private static String awaitContent(MockHttpServletResponse response, String expected)
+      throws Exception {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+    String content = response.getContentAsString();
+    while (!content.contains(expected) && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      content = response.getContentAsString();
+    }
+    return content;
+  }
+
+  /**
+   * Should return bad request when no filter is given
+   */
+  @Test
+  void shouldReturnBadRequest_WhenNoFilterIsGiven() throws Exception {
+    // Act & Assert
+    mockMvc
+        .perform(get("/stream/readings"))
+        .andExpect(status().isBadRequest());
+  }
+
+  /**
+   * Should return bad request when more than one filter is given
+   */
+  @Test
+  void shouldReturnBadRequest_WhenSeveralFiltersAreGiven() throws Exception {
+    // Act & Assert
+    mockMvc
+        .perform(get("/stream/readings").param("deviceID", "1").param("house", ""))
+        .andExpect(status().isBadRequest());
+  }
+
+  /**
+   * Should stream the new readings of the devices of a room only
+   */
+  @Test
+  void shouldStreamReadingsOfRoomDevices() throws Exception {
+    // Arrange
+    Device device = mock(Device.class);
+    when(device.getID()).thenReturn(new DeviceID("1"));
+    when(deviceService.getDevicesByRoomId(new RoomID("kitchen"))).thenReturn(List.of(device));
+    int subscriptionsBefore = liveReadingHub.getSubscriptionCount();
+
+    MvcResult result = mockMvc
+        .perform(get("/stream/readings").param("roomID", "kitchen"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // Act
+    liveReadingHub.publish(List.of(reading("2", "99"), reading("1", "21")));
+
+    // Assert
+    String content = awaitContent(result.getResponse(), "\"reading\":\"21\"");
+    assertEquals(subscriptionsBefore + 1, liveReadingHub.getSubscriptionCount());
+    assertTrue(content.contains("event:" + ReadingStreamController.READINGS_EVENT));
+    assertTrue(content.contains("\"deviceID\":\"1\""));
+    assertFalse(content.contains("\"deviceID\":\"2\""));
+  }
+}
@@ -0,0 +1,75 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.rest;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import smarthome.service.ISensorSamplingService;
+import smarthome.service.SensorSamplingMetrics;
+
+@SpringBootTest
+@ActiveProfiles("sampling")
+@AutoConfigureMockMvc
+class SensorSamplingControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private ISensorSamplingService sensorSamplingService;
+
+  /**
+   * Should return the sampling metrics with the scheduling lag
+   */
+  @Test
+  void shouldReturnMetrics() throws Exception {
+    // Arrange
+    when(sensorSamplingService.getMetrics()).thenReturn(
+        new SensorSamplingMetrics(50_000, 1_000_000, 2, 3, 4, 0.5, 7.25, 12.0));
+
+    // Act & Assert
+    mockMvc
+        .perform(get("/sampling/metrics"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.sensors").value(50_000))
+        .andExpect(jsonPath("$.samples").value(1_000_000))
+        .andExpect(jsonPath("$.meanLagMillis").value(0.5))
+        .andExpect(jsonPath("$.maxLagMillis").value(7.25))
+        .andExpect(jsonPath("$.peakLagMillis").value(12.0));
+  }
+
+  /**
+   * Should reload the registered sensors
+   */
+  @Test
+  void shouldRefreshSensors() throws Exception {
+    // Arrange
+    when(sensorSamplingService.getMetrics()).thenReturn(
+        new SensorSamplingMetrics(2, 0, 0, 0, 0, 0, 0, 0));
+
+    // Act & Assert
+    mockMvc
+        .perform(post("/sampling/refresh"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.sensors").value(2));
+    verify(sensorSamplingService).refresh();
+  }
+}
@@ -0,0 +1,88 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.db;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import smarthome.persistence.data_model.BinaryIDJavaType;
+
+/**
+ * Runs the migrations up to V4 on an empty database, stores logs with string IDs, and checks that
+ * V5 moves every row to binary IDs.
+ */
+class BinaryLogIDMigrationTest {
+
+  private static final String URL = "jdbc:h2:mem:binary-log-ids;MODE=MariaDB;DB_CLOSE_DELAY=-1";
+  private static final int LOGS = 2500;
+
+  private static Flyway flyway(String target) {
+    return Flyway.configure().dataSource(URL, "sa", "").target(target).load();
+  }
+
+  @Test
+  void shouldMoveLogIDsToBinary() throws SQLException {
+    //Arrange
+    flyway("4").migrate();
+    try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+      try (PreparedStatement insert = connection.prepareStatement(
+          "insert into logs (logid, deviceid, description, timestamp, reading_value, version)"
+              + " values (?, 'device', 'Temperature', timestamp '2024-01-01 00:00:00', ?, 0)")) {
+        for (int i = 0; i < LOGS; i++) {
+          insert.setString(1, i == 0 ? "legacy-id" : UUID.randomUUID().toString());
+          insert.setString(2, String.valueOf(i));
+          insert.addBatch();
+        }
+        insert.executeBatch();
+      }
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("insert into latest_readings"
+            + " (reading_key, deviceid, sensor_typeid, logid, timestamp, version)"
+            + " values ('device|Temperature', 'device', 'Temperature', 'legacy-id',"
+            + " timestamp '2024-01-01 00:00:00', 0)");
+      }
+
+      //Act
+      flyway("5").migrate();
+
+      //Assert
+      try (Statement statement = connection.createStatement()) {
+        ResultSet count = statement.executeQuery(
+            "select count(*), sum(case when octet_length(logid) = 16 then 1 else 0 end) from logs");
+        count.next();
+        assertEquals(LOGS, count.getInt(1));
+        assertEquals(LOGS - 1, count.getInt(2));
+        ResultSet legacy = statement.executeQuery(
+            "select reading_value from logs where logid = X'" + hex("legacy-id") + "'");
+        legacy.next();
+        assertEquals("0", legacy.getString(1));
+        ResultSet latest = statement.executeQuery("select logid from latest_readings");
+        latest.next();
+        assertArrayEquals(BinaryIDJavaType.encode("legacy-id"), latest.getBytes(1));
+      }
+    }
+  }
+
+  private static String hex(String id) {
+    StringBuilder hex = new StringBuilder();
+    for (byte b : BinaryIDJavaType.encode(id)) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+}
@@ -0,0 +1,80 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import smarthome.controller.grpc.GrpcServer;
+import smarthome.grpc.Ack;
+import smarthome.grpc.LogIngestGrpc;
+import smarthome.grpc.Reading;
+
+/**
+ * Checks that the "grpc" profile starts the gRPC server and that streamed readings go through the
+ * validation of the log service.
+ */
+@SpringBootTest(properties = "smarthome.grpc.port=0")
+@ActiveProfiles("grpc")
+class GrpcIngestProfileTest {
+
+  @Autowired
+  private GrpcServer grpcServer;
+
+  @Test
+  void shouldAcknowledgeStreamedReadings_WhenServerIsRunning() throws InterruptedException {
+    //Arrange
+    ManagedChannel channel = NettyChannelBuilder.forAddress("localhost", grpcServer.getPort())
+        .usePlaintext().build();
+    List<Ack> acks = new CopyOnWriteArrayList<>();
+    CountDownLatch done = new CountDownLatch(1);
+    StreamObserver<Ack> recorder = new StreamObserver<>() {
+      @Override
+      public void onNext(Ack ack) {
+        acks.add(ack);
+      }
+
+      @Override
+      public void onError(Throwable t) {
+        done.countDown();
+      }
+
+      @Override
+      public void onCompleted() {
+        done.countDown();
+      }
+    };
+
+    //Act
+    StreamObserver<Reading> readings = LogIngestGrpc.newStub(channel).streamReadings(recorder);
+    readings.onNext(Reading.newBuilder().setSequence(1).setDeviceId("grpc-unknown")
+        .setSensorId("sensor").setSensorTypeId("Temperature").setUnitId("C")
+        .setTimestampMillis(0).setDecimalValue(20).build());
+    readings.onCompleted();
+    boolean completed = done.await(10, TimeUnit.SECONDS);
+    channel.shutdownNow();
+
+    //Assert
+    assertTrue(completed);
+    assertEquals(1, acks.size());
+    assertEquals(1, acks.get(0).getUpToSequence());
+    assertEquals("Device ID does not exist", acks.get(0).getErrors(0).getError());
+  }
+}
@@ -0,0 +1,134 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.persistence.data_model.BinaryIDJavaType;
+
+/**
+ * Checks that the latest_readings table follows every log write of the Spring Data repository,
+ * so that findLatest and existsBy answer from it.
+ */
+@SpringBootTest
+class LatestReadingIndexTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+  private static final SensorTypeID POSITION = new SensorTypeID("PercentagePosition");
+  private final ILogFactory logFactory = new LogFactoryImpl();
+
+  @Autowired
+  private ILogRepository logRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private Log createLog(DeviceID deviceID, LocalDateTime timeStamp, String value) {
+    return logFactory.createLog(deviceID, new SensorID("blind-sensor"), timeStamp,
+        new ReadingValue(value), POSITION, new UnitID("Percent"));
+  }
+
+  /**
+   * Tests that an older reading saved later does not replace the latest one.
+   */
+  @Test
+  void shouldKeepNewestReading_whenReadingsAreSavedOutOfOrder() {
+    // Arrange
+    DeviceID deviceID = new DeviceID("latest-out-of-order");
+    Log newest = createLog(deviceID, START.plusMinutes(10), "80");
+    logRepository.saveAll(List.of(createLog(deviceID, START.plusMinutes(5), "40"), newest));
+    logRepository.save(createLog(deviceID, START, "0"));
+
+    // Act
+    Log latest = logRepository.findLatest(deviceID, POSITION).orElseThrow();
+    byte[] indexed = jdbcTemplate.queryForObject(
+        "SELECT logid FROM latest_readings WHERE deviceid = ? AND sensor_typeid = ?",
+        byte[].class, deviceID.getID(), POSITION.getID());
+
+    // Assert
+    assertEquals(newest.getID(), latest.getID());
+    assertEquals(newest.getID().getID(), BinaryIDJavaType.decode(indexed));
+  }
+
+  /**
+   * Tests that a newer reading moves the latest reading forward.
+   */
+  @Test
+  void shouldMoveLatestReading_whenNewerReadingIsSaved() {
+    // Arrange
+    DeviceID deviceID = new DeviceID("latest-moves");
+    logRepository.save(createLog(deviceID, START, "10"));
+    Log newer = createLog(deviceID, START.plusSeconds(1), "20");
+
+    // Act
+    logRepository.save(newer);
+
+    // Assert
+    assertEquals(newer.getID(), logRepository.findLatest(deviceID, POSITION).orElseThrow().getID());
+  }
+
+  /**
+   * Tests that a device without readings of a sensor type has no latest reading.
+   */
+  @Test
+  void shouldReportNoReadings_whenDeviceHasNone() {
+    // Arrange
+    DeviceID deviceID = new DeviceID("latest-empty");
+    logRepository.save(createLog(deviceID, START, "10"));
+
+    // Act
+    boolean hasPosition = logRepository.existsBy(deviceID, POSITION);
+    boolean hasTemperature = logRepository.existsBy(deviceID, new SensorTypeID("Temperature"));
+
+    // Assert
+    assertTrue(hasPosition);
+    assertFalse(hasTemperature);
+    assertTrue(logRepository.findLatest(new DeviceID("latest-unknown"), POSITION).isEmpty());
+  }
+
+  /**
+   * Tests that deleting the latest reading moves it back to the newest reading left, and that
+   * deleting every reading removes it.
+   */
+  @Test
+  void shouldMoveLatestReadingBack_whenLatestReadingIsDeleted() {
+    // Arrange
+    DeviceID deviceID = new DeviceID("latest-deleted");
+    Log oldest = createLog(deviceID, START, "10");
+    Log newest = createLog(deviceID, START.plusMinutes(1), "20");
+    logRepository.saveAll(List.of(oldest, newest));
+
+    // Act
+    logRepository.deleteAll(List.of(newest));
+    Log latest = logRepository.findLatest(deviceID, POSITION).orElseThrow();
+    logRepository.deleteAll(List.of(oldest));
+
+    // Assert
+    assertEquals(oldest.getID(), latest.getID());
+    assertFalse(logRepository.existsBy(deviceID, POSITION));
+    assertFalse(logRepository.containsOfIdentity(newest.getID()));
+  }
+}
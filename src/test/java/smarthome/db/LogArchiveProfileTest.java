@@ -0,0 +1,91 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.persistence.archive.TieredLogRepository;
+
+/**
+ * Checks that the "archive" profile puts the archive in front of the Logs table, and that old
+ * readings moved to it leave the table but are still returned by the queries.
+ */
+@SpringBootTest
+@ActiveProfiles("archive")
+class LogArchiveProfileTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(1990, 1, 1, 0, 0);
+  private static final SensorTypeID TEMPERATURE = new SensorTypeID("Temperature");
+  private final ILogFactory logFactory = new LogFactoryImpl();
+
+  @Autowired
+  private ILogRepository logRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @DynamicPropertySource
+  static void archiveProperties(DynamicPropertyRegistry registry) throws IOException {
+    String directory = Files.createTempDirectory("log-archive").toString();
+    registry.add("smarthome.archive.directory", () -> directory);
+    registry.add("smarthome.archive.interval", () -> "P3650D");
+  }
+
+  /**
+   * Tests that archived readings are deleted from the Logs table and still found.
+   */
+  @Test
+  void shouldFindArchivedReadings_whenTheyLeftTheLogsTable() {
+    // Arrange
+    DeviceID deviceID = new DeviceID("archived-device");
+    List<Log> logs = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      logs.add(logFactory.createLog(deviceID, new SensorID("archived-sensor"),
+          START.plusMinutes(i), new ReadingValue(18 + i % 5 / 10.0), TEMPERATURE,
+          new UnitID("Celsius")));
+    }
+    logRepository.saveAll(logs);
+    TieredLogRepository tiered = assertInstanceOf(TieredLogRepository.class, logRepository);
+
+    // Act
+    int moved = tiered.archiveOlderThan(START.plusMinutes(60), 25);
+
+    // Assert
+    assertEquals(60, moved);
+    assertEquals(40, jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM logs WHERE deviceid = ?", Integer.class, deviceID.getID()));
+    assertEquals(100, logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(deviceID,
+        TEMPERATURE, new DatePeriod(START, START.plusDays(1))).size());
+    assertEquals(logs.get(99).getID(),
+        logRepository.findLatest(deviceID, TEMPERATURE).orElseThrow().getID());
+  }
+}
@@ -0,0 +1,63 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.service.ILogIngestService;
+import smarthome.service.LogBatchEntry;
+import smarthome.service.LogIngestMetrics;
+import smarthome.service.LogIngestServiceImpl;
+
+/**
+ * Checks that the "write-behind" profile wires the ingest queue from the properties and that the
+ * queued readings reach the log service.
+ */
+@SpringBootTest
+@ActiveProfiles("write-behind")
+class LogIngestProfileTest {
+
+  @Autowired
+  private ILogIngestService logIngestService;
+
+  @Test
+  void shouldValidateQueuedReadings_WhenWriterSavesThem() throws InterruptedException {
+    //Arrange
+    LogBatchEntry unknownDevice = new LogBatchEntry(new DeviceID("write-behind-unknown"),
+        new SensorID("sensor"), LocalDateTime.of(1991, 1, 1, 0, 0), new ReadingValue("1"),
+        new SensorTypeID("Temperature"), new UnitID("C"));
+
+    //Act
+    logIngestService.submit(List.of(unknownDevice, unknownDevice));
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (logIngestService.getMetrics().invalid() < 2 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    //Assert
+    LogIngestMetrics metrics = logIngestService.getMetrics();
+    assertInstanceOf(LogIngestServiceImpl.class, logIngestService);
+    assertEquals(10000, metrics.capacity());
+    assertEquals(2, metrics.invalid());
+    assertEquals(0, metrics.depth());
+  }
+}
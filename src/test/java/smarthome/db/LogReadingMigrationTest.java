@@ -0,0 +1,122 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import smarthome.persistence.data_model.BinaryIDJavaType;
+
+/**
+ * Runs the migrations up to V5 on an empty database, stores logs with text readings only, and
+ * checks that V6 types the readings and V7 builds their rollups.
+ */
+class LogReadingMigrationTest {
+
+  private static final String URL = "jdbc:h2:mem:log-readings;MODE=MariaDB;DB_CLOSE_DELAY=-1";
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+  private static final int LOGS = 2500;
+
+  private static Flyway flyway(String target) {
+    return Flyway.configure().dataSource(URL, "sa", "").target(target).load();
+  }
+
+  @Test
+  void shouldTypeReadingsAndBuildRollups() throws SQLException {
+    //Arrange
+    flyway("5").migrate();
+    try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+      try (PreparedStatement insert = connection.prepareStatement(
+          "insert into logs (logid, deviceid, description, timestamp, reading_value, version)"
+              + " values (?, ?, 'Temperature', ?, ?, 0)")) {
+        for (int i = 0; i < LOGS; i++) {
+          insert.setBytes(1, BinaryIDJavaType.encode(String.format("log-%05d", i)));
+          insert.setString(2, i % 2 == 0 ? "even" : "odd");
+          insert.setObject(3, START.plusSeconds(i));
+          insert.setString(4, i % 2 == 0 ? String.valueOf(i) : i + ".5");
+          insert.addBatch();
+        }
+        insert.setBytes(1, BinaryIDJavaType.encode("padded"));
+        insert.setString(2, "even");
+        insert.setObject(3, START);
+        insert.setString(4, "007");
+        insert.addBatch();
+        insert.executeBatch();
+      }
+
+      //Act
+      flyway("7").migrate();
+
+      //Assert
+      try (Statement statement = connection.createStatement()) {
+        ResultSet kinds = statement.executeQuery("select reading_kind, count(*) from logs"
+            + " group by reading_kind order by reading_kind");
+        assertTrue(kinds.next());
+        assertEquals("DECIMAL", kinds.getString(1));
+        assertEquals(LOGS / 2, kinds.getInt(2));
+        assertTrue(kinds.next());
+        assertEquals("INTEGER", kinds.getString(1));
+        assertEquals(LOGS / 2, kinds.getInt(2));
+        assertTrue(kinds.next());
+        assertEquals("TEXT", kinds.getString(1));
+        assertEquals(1, kinds.getInt(2));
+        assertFalse(kinds.next());
+
+        ResultSet typed = statement.executeQuery("select integer_value, decimal_value,"
+            + " reading_value from logs where logid = X'" + hex("log-00003") + "'");
+        typed.next();
+        assertNull(typed.getObject(1));
+        assertEquals(3.5, typed.getDouble(2));
+        assertNull(typed.getString(3));
+        ResultSet text = statement.executeQuery("select reading_value from logs"
+            + " where logid = X'" + hex("padded") + "'");
+        text.next();
+        assertEquals("007", text.getString(1));
+
+        ResultSet hour = statement.executeQuery("select reading_count, min_value, max_value,"
+            + " first_value, last_value from log_rollups where deviceid = 'even'"
+            + " and resolution = 'HOUR' and bucket_start = timestamp '2024-01-01 10:00:00'");
+        hour.next();
+        assertEquals(1250, hour.getLong(1));
+        assertEquals(0.0, hour.getDouble(2));
+        assertEquals(2498.0, hour.getDouble(3));
+        assertEquals(0.0, hour.getDouble(4));
+        assertEquals(2498.0, hour.getDouble(5));
+        ResultSet counts = statement.executeQuery("select resolution, sum(reading_count)"
+            + " from log_rollups group by resolution order by resolution");
+        while (counts.next()) {
+          assertEquals(LOGS, counts.getLong(2), counts.getString(1));
+        }
+        ResultSet minutes = statement.executeQuery("select count(*) from log_rollups"
+            + " where resolution = 'MINUTE'");
+        minutes.next();
+        assertEquals(2 * 42, minutes.getInt(1));
+      }
+    }
+  }
+
+  private static String hex(String id) {
+    StringBuilder hex = new StringBuilder();
+    for (byte b : BinaryIDJavaType.encode(id)) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+}
@@ -0,0 +1,172 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Runs EXPLAIN on the queries behind the hot repository methods, against the schema created by
+ * the Flyway migrations, and fails when one of them stops using its index. H2 runs in MariaDB
+ * mode, so the SQL is the one MariaDB receives.
+ */
+@SpringBootTest
+class QueryPlanTest {
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private String plan(String sql) {
+    return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+  }
+
+  private void assertUsesIndex(String index, String sql) {
+    String plan = plan(sql);
+    assertTrue(plan.toLowerCase().contains(index), plan);
+    assertFalse(plan.contains("tableScan"), plan);
+  }
+
+  /**
+   * Tests that every migration was applied.
+   */
+  @Test
+  void shouldApplyEveryMigration() {
+    // Act
+    List<String> versions = jdbcTemplate.queryForList(
+        "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" AND \"version\" IS NOT NULL ORDER BY \"installed_rank\"",
+        String.class);
+    // Assert
+    assertEquals(List.of("1", "2", "3", "4", "5", "6", "7"), versions);
+  }
+
+  /**
+   * Tests the readings of a device by sensor type and period
+   * (findByDeviceIDAndDescriptionAndTimestampBetween).
+   */
+  @Test
+  void shouldUseIndex_whenFindingReadingsByDeviceSensorTypeAndPeriod() {
+    assertUsesIndex("idx_logs_device_type_time",
+        "SELECT logid FROM logs WHERE deviceid = 'd' AND description = 'Temperature'"
+            + " AND timestamp BETWEEN '2024-01-01 00:00:00' AND '2024-01-02 00:00:00'");
+  }
+
+  /**
+   * Tests the readings of several devices by sensor type and period
+   * (findByDeviceIDInAndDescriptionAndTimestampBetween).
+   */
+  @Test
+  void shouldUseIndex_whenFindingReadingsOfSeveralDevicesBySensorTypeAndPeriod() {
+    assertUsesIndex("idx_logs_device_type_time",
+        "SELECT logid FROM logs WHERE deviceid IN ('a', 'b', 'c')"
+            + " AND description = 'InstantPowerConsumption'"
+            + " AND timestamp BETWEEN '2024-01-01 00:00:00' AND '2024-01-02 00:00:00'");
+  }
+
+  /**
+   * Tests the readings of a device by sensor type (findByDeviceIDAndDescription).
+   */
+  @Test
+  void shouldUseIndex_whenFindingReadingsByDeviceAndSensorType() {
+    assertUsesIndex("idx_logs_device_type_time",
+        "SELECT logid FROM logs WHERE deviceid = 'd' AND description = 'Temperature'");
+  }
+
+  /**
+   * Tests the readings of a device by period (findByDeviceIDAndTimestampBetween and its stream).
+   */
+  @Test
+  void shouldUseIndex_whenFindingReadingsByDeviceAndPeriod() {
+    assertUsesIndex("idx_logs_device_time",
+        "SELECT logid FROM logs WHERE deviceid = 'd'"
+            + " AND timestamp BETWEEN '2024-01-01 00:00:00' AND '2024-01-02 00:00:00'");
+  }
+
+  /**
+   * Tests a page of readings after a cursor (findPageAfter).
+   */
+  @Test
+  void shouldUseIndex_whenFindingPageOfReadingsAfterCursor() {
+    assertUsesIndex("idx_logs_device_time",
+        "SELECT logid FROM logs WHERE deviceid = 'd'"
+            + " AND timestamp BETWEEN '2024-01-01 00:00:00' AND '2024-01-02 00:00:00'"
+            + " AND (timestamp > '2024-01-01 12:00:00'"
+            + " OR (timestamp = '2024-01-01 12:00:00' AND logid > X'01'))"
+            + " ORDER BY timestamp, logid LIMIT 100");
+  }
+
+  /**
+   * Tests the oldest readings before a cutoff (findByTimestampBeforeOrderByTimestampAscLogIDAsc).
+   */
+  @Test
+  void shouldUseIndex_whenFindingOldestReadingsBeforeCutoff() {
+    assertUsesIndex("idx_logs_time",
+        "SELECT logid FROM logs WHERE timestamp < '2024-01-01 00:00:00'"
+            + " ORDER BY timestamp, logid LIMIT 1000");
+  }
+
+  /**
+   * Tests the rollups of a series (findByDeviceIDAndSensorTypeIDAndResolution).
+   */
+  @Test
+  void shouldUseIndex_whenFindingRollupsOfSeries() {
+    assertUsesIndex("idx_log_rollups_series",
+        "SELECT rollupid FROM log_rollups WHERE deviceid = 'd' AND sensor_typeid = 'Temperature'"
+            + " AND resolution = 'HOUR'"
+            + " AND bucket_start >= '2024-01-01 00:00:00' AND bucket_start < '2024-01-02 00:00:00'");
+  }
+
+  /**
+   * Tests the latest reading of a device and sensor type (findLatest and existsBy).
+   */
+  @Test
+  void shouldUsePrimaryKey_whenFindingLatestReading() {
+    assertUsesIndex("primary_key",
+        "SELECT logid FROM latest_readings WHERE reading_key = 'd|PercentagePosition'");
+  }
+
+  /**
+   * Tests the sensors of a device (findByDeviceID).
+   */
+  @Test
+  void shouldUseIndex_whenFindingSensorsByDevice() {
+    assertUsesIndex("idx_sensor_device", "SELECT sensorid FROM sensor WHERE deviceid = 'd'");
+  }
+
+  /**
+   * Tests the actuators of a device (findByDeviceID).
+   */
+  @Test
+  void shouldUseIndex_whenFindingActuatorsByDevice() {
+    assertUsesIndex("idx_actuator_device",
+        "SELECT actuatorid FROM actuator WHERE deviceid = 'd'");
+  }
+
+  /**
+   * Tests the devices of a room (findByRoomID).
+   */
+  @Test
+  void shouldUseIndex_whenFindingDevicesByRoom() {
+    assertUsesIndex("idx_device_room", "SELECT deviceid FROM device WHERE roomid = 'r'");
+  }
+
+  /**
+   * Tests the devices of a device type (findByDeviceTypeID).
+   */
+  @Test
+  void shouldUseIndex_whenFindingDevicesByDeviceType() {
+    assertUsesIndex("idx_device_type",
+        "SELECT deviceid FROM device WHERE device_typeid = 'Bulb'");
+  }
+}
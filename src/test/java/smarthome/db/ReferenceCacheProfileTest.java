@@ -0,0 +1,110 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.db;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import smarthome.domain.repository.IDeviceRepository;
+import smarthome.domain.repository.IUnitRepository;
+import smarthome.domain.unit.IUnitFactory;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitDescription;
+import smarthome.domain.value_object.UnitID;
+import smarthome.domain.value_object.UnitSymbol;
+import smarthome.persistence.cache.CachingDeviceRepository;
+import smarthome.persistence.cache.CachingUnitRepository;
+import smarthome.persistence.cache.ExistenceCacheStats;
+import smarthome.service.ILogService;
+import smarthome.service.LogBatchEntry;
+
+/**
+ * Checks that the "reference-cache" profile puts the caches in front of the reference
+ * repositories used by log ingest.
+ */
+@SpringBootTest
+@ActiveProfiles("reference-cache")
+@AutoConfigureMockMvc
+class ReferenceCacheProfileTest {
+
+  @Autowired
+  private IDeviceRepository deviceRepository;
+
+  @Autowired
+  private IUnitRepository unitRepository;
+
+  @Autowired
+  private IUnitFactory unitFactory;
+
+  @Autowired
+  private ILogService logService;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  void shouldAnswerFromCache_WhenUnitWasSaved() {
+    //Arrange
+    CachingUnitRepository cachingUnitRepository =
+        assertInstanceOf(CachingUnitRepository.class, unitRepository);
+    UnitID unitID = new UnitID("reference-cache-unit");
+    unitRepository.save(unitFactory.createUnit(new UnitDescription("Cached"),
+        new UnitSymbol("RC"), unitID));
+    long misses = cachingUnitRepository.getStats().misses();
+
+    //Act
+    boolean exists = unitRepository.containsOfIdentity(unitID);
+
+    //Assert
+    assertTrue(exists);
+    assertEquals(misses, cachingUnitRepository.getStats().misses());
+  }
+
+  @Test
+  void shouldCheckReferencesThroughCache_WhenAddingLogs() {
+    //Arrange
+    CachingDeviceRepository cachingDeviceRepository =
+        assertInstanceOf(CachingDeviceRepository.class, deviceRepository);
+    ExistenceCacheStats before = cachingDeviceRepository.getStats();
+    LogBatchEntry entry = new LogBatchEntry(new DeviceID("reference-cache-unknown"),
+        new SensorID("sensor"), LocalDateTime.of(1992, 1, 1, 0, 0), new ReadingValue("1"),
+        new SensorTypeID("Temperature"), new UnitID("C"));
+
+    //Act
+    logService.addLogs(List.of(entry));
+
+    //Assert
+    assertEquals(before.misses() + 1, cachingDeviceRepository.getStats().misses());
+  }
+
+  @Test
+  void shouldReturnStatsOfEachCache() throws Exception {
+    //Act & Assert
+    mockMvc
+        .perform(get("/reference-cache"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(4)));
+  }
+}
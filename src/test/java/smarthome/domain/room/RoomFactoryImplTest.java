@@ -77,4 +77,24 @@ class RoomFactoryImplTest {
     // Assert
     assertEquals(roomID, room.getID());
   }
+
+  /**
+   * Test that a new Room is identified by the ID generator of the factory.
+   */
+  @Test
+  void shouldCreateRoomWithGeneratedID_WhenCreateRoomIsCalledWithoutRoomID() {
+    // Arrange
+    HouseID houseID = mock(HouseID.class);
+    RoomName roomName = mock(RoomName.class);
+    Dimension dimension = mock(Dimension.class);
+    RoomFloor roomFloor = mock(RoomFloor.class);
+
+    RoomFactoryImpl factory = new RoomFactoryImpl(() -> "room-1");
+
+    // Act
+    Room room = factory.createRoom(houseID, roomName, dimension, roomFloor);
+
+    // Assert
+    assertEquals(new RoomID("room-1"), room.getID());
+  }
 }
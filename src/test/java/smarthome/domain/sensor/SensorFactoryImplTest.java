@@ -8,6 +8,7 @@
 
 package smarthome.domain.sensor;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -18,12 +19,15 @@ import static org.mockito.Mockito.when;
 import org.junit.jupiter.api.Test;
 import smarthome.domain.sensor.solar_irradiance_sensor.SolarIrradianceSensor;
 import smarthome.domain.sensor.sunrise_time_sensor.SunriseTimeSensor;
+import smarthome.domain.sensor.temperature_sensor.TemperatureSensor;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.GPS;
 import smarthome.domain.value_object.ModelPath;
 import smarthome.domain.value_object.RoomID;
+import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
+import smarthome.utils.ValueSimulator;
 
 class SensorFactoryImplTest {
 
@@ -182,4 +186,25 @@ class SensorFactoryImplTest {
     assertNull(result);
   }
 
+  /**
+   * Test that the sensors created by the factory read the values of its ValueSimulator and are
+   * identified by its ID generator.
+   */
+  @Test
+  void shouldCreateSensorReadingValueSimulator_whenSensorReadsSimulatedValues() {
+    // Arrange
+    ModelPath modelPath = new ModelPath(
+        "smarthome.domain.sensor.temperature_sensor.TemperatureSensor");
+    ValueSimulator valueSimulator = new ValueSimulator((sensorID, deviceID, kind) -> 21.5);
+    SensorFactoryImpl impSensorFactory = new SensorFactoryImpl(valueSimulator, () -> "sensor-1");
+
+    // Act
+    TemperatureSensor sensor = (TemperatureSensor) impSensorFactory.create(new DeviceID("device"),
+        modelPath, new SensorTypeID("Temperature"), new SensorName("Thermometer"));
+
+    // Assert
+    assertNotNull(sensor);
+    assertEquals(new SensorID("sensor-1"), sensor.getID());
+    assertEquals(21.5, sensor.getValue().getValue());
+  }
 }
@@ -0,0 +1,86 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.domain.value_object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+
+class LogCursorTest {
+
+  private static final LocalDateTime TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+  private Log createLog(String logID, LocalDateTime timeStamp) {
+    return new LogFactoryImpl().createLog(new LogID(logID), new DeviceID("device"),
+        new SensorID("sensor"), timeStamp, new ReadingValue(1L), new SensorTypeID("Temperature"),
+        new UnitID("Celsius"));
+  }
+
+  /**
+   * Expects IllegalArgumentException for a null timestamp.
+   */
+  @Test
+  void shouldThrowException_WhenTimestampIsNull() {
+    // Arrange
+    LogID logID = new LogID("b");
+    // Act
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> new LogCursor(null, logID));
+    // Assert
+    assertEquals("Timestamp cannot be null.", exception.getMessage());
+  }
+
+  /**
+   * Expects IllegalArgumentException for a null log ID.
+   */
+  @Test
+  void shouldThrowException_WhenLogIDIsNull() {
+    // Act
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> new LogCursor(TIME, null));
+    // Assert
+    assertEquals("Log ID cannot be null.", exception.getMessage());
+  }
+
+  /**
+   * Tests that later logs, and logs at the same time with a greater ID, come after the cursor.
+   */
+  @Test
+  void shouldPrecedeLogsLaterInTimeAndIDOrder() {
+    // Arrange
+    LogCursor cursor = new LogCursor(TIME, new LogID("b"));
+    // Act & Assert
+    assertTrue(cursor.isBefore(createLog("a", TIME.plusSeconds(1))));
+    assertTrue(cursor.isBefore(createLog("c", TIME)));
+    assertFalse(cursor.isBefore(createLog("b", TIME)));
+    assertFalse(cursor.isBefore(createLog("a", TIME)));
+    assertFalse(cursor.isBefore(createLog("c", TIME.minusSeconds(1))));
+  }
+
+  /**
+   * Tests that the cursor of a log holds its timestamp and ID.
+   */
+  @Test
+  void shouldBePositionedOnLog_WhenCreatedFromLog() {
+    // Arrange
+    Log log = createLog("b", TIME);
+    // Act
+    LogCursor cursor = LogCursor.of(log);
+    // Assert
+    assertEquals(new LogCursor(TIME, new LogID("b")), cursor);
+    assertEquals(new LogCursor(TIME, new LogID("b")).hashCode(), cursor.hashCode());
+    assertNotEquals(new LogCursor(TIME, new LogID("c")), cursor);
+  }
+}
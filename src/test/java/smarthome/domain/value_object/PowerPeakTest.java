@@ -0,0 +1,48 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.domain.value_object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class PowerPeakTest {
+
+  private static final LocalDateTime TIME = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+  /**
+   * Expects IllegalArgumentException for a null timestamp.
+   */
+  @Test
+  void shouldThrowException_WhenTimestampIsNull() {
+    // Act
+    IllegalArgumentException exception =
+        assertThrows(IllegalArgumentException.class, () -> new PowerPeak(10, null));
+    // Assert
+    assertEquals("Timestamp cannot be null.", exception.getMessage());
+  }
+
+  /**
+   * Tests that peaks with the same value and timestamp are equal.
+   */
+  @Test
+  void shouldBeEqual_WhenValueAndTimestampAreEqual() {
+    // Arrange
+    PowerPeak peak = new PowerPeak(10, TIME);
+    // Act & Assert
+    assertEquals(new PowerPeak(10, TIME), peak);
+    assertEquals(new PowerPeak(10, TIME).hashCode(), peak.hashCode());
+    assertNotEquals(new PowerPeak(11, TIME), peak);
+    assertNotEquals(new PowerPeak(10, TIME.plusMinutes(1)), peak);
+    assertEquals(10, peak.getValue());
+    assertEquals(TIME, peak.getTimestamp());
+  }
+}
@@ -0,0 +1,69 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.domain.value_object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class ReadingAggregateTest {
+
+  private static final LocalDateTime BUCKET = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+  /**
+   * Test that merging keeps the count, extremes, sum and the earliest and latest readings
+   */
+  @Test
+  void shouldMergeAggregates() {
+    //Arrange
+    ReadingAggregate later = ReadingAggregate.of(BUCKET, BUCKET.plusMinutes(30), 4.0);
+    ReadingAggregate earlier = ReadingAggregate.of(BUCKET, BUCKET.plusMinutes(5), 10.0);
+    //Act
+    ReadingAggregate result = later.merge(earlier);
+    //Assert
+    assertEquals(2, result.getCount());
+    assertEquals(4.0, result.getMin());
+    assertEquals(10.0, result.getMax());
+    assertEquals(14.0, result.getSum());
+    assertEquals(7.0, result.getAverage());
+    assertEquals(10.0, result.getFirst());
+    assertEquals(4.0, result.getLast());
+    assertEquals(BUCKET, result.getBucketStart());
+  }
+
+  /**
+   * Test that an aggregate can be moved to a coarser bucket
+   */
+  @Test
+  void shouldMoveToAnotherBucket() {
+    //Arrange
+    ReadingAggregate aggregate = ReadingAggregate.of(BUCKET, BUCKET, 1.0);
+    LocalDateTime day = BUCKET.toLocalDate().atStartOfDay();
+    //Act
+    ReadingAggregate result = aggregate.inBucket(day);
+    //Assert
+    assertEquals(day, result.getBucketStart());
+    assertEquals(ReadingAggregate.of(day, BUCKET, 1.0), result);
+  }
+
+  /**
+   * Test that an aggregate without readings is rejected
+   */
+  @Test
+  void shouldThrowException_WhenCountIsNotPositive() {
+    //Arrange
+    String expected = "Reading count must be positive";
+    //Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new ReadingAggregate(BUCKET, 0, 0, 0, 0, 0, BUCKET, 0, BUCKET));
+    //Assert
+    assertEquals(expected, exception.getMessage());
+  }
+}
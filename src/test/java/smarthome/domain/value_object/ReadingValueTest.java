@@ -175,4 +175,94 @@ class ReadingValueTest {
     //Assert
     assertEquals(readingValue.hashCode(), result);
   }
+
+  /**
+   * Test if an integer reading is typed as an integer
+   */
+  @Test
+  void shouldBeInteger_WhenReadingIsAWholeNumber() {
+    //Arrange
+    String readingValue = "-15";
+    //Act
+    ReadingValue readingValue1 = new ReadingValue(readingValue);
+    //Assert
+    assertEquals(ReadingKind.INTEGER, readingValue1.getKind());
+    assertEquals(-15L, readingValue1.getIntegerValue());
+    assertEquals(-15.0, readingValue1.getNumericValue());
+  }
+
+  /**
+   * Test if a decimal reading is typed as a decimal
+   */
+  @Test
+  void shouldBeDecimal_WhenReadingHasAFraction() {
+    //Arrange
+    String readingValue = "21.5";
+    //Act
+    ReadingValue readingValue1 = new ReadingValue(readingValue);
+    //Assert
+    assertEquals(ReadingKind.DECIMAL, readingValue1.getKind());
+    assertEquals(21.5, readingValue1.getNumericValue());
+    assertEquals("21.5", readingValue1.getValue());
+  }
+
+  /**
+   * Test if a non-numeric reading is kept as text
+   */
+  @Test
+  void shouldBeText_WhenReadingIsNotANumber() {
+    //Arrange
+    String readingValue = "06:41:12";
+    //Act
+    ReadingValue readingValue1 = new ReadingValue(readingValue);
+    //Assert
+    assertEquals(ReadingKind.TEXT, readingValue1.getKind());
+    assertFalse(readingValue1.isNumeric());
+    assertEquals(readingValue, readingValue1.getValue());
+    assertThrows(IllegalStateException.class, readingValue1::getNumericValue);
+  }
+
+  /**
+   * Test if numbers that are not written in canonical form are kept as text, unchanged
+   */
+  @Test
+  void shouldBeText_WhenNumberIsNotInCanonicalForm() {
+    //Arrange
+    String[] readingValues = {"007", "+5", "-0", " 5", "21.50", "1e5", "99999999999999999999"};
+    for (String readingValue : readingValues) {
+      //Act
+      ReadingValue readingValue1 = new ReadingValue(readingValue);
+      //Assert
+      assertEquals(ReadingKind.TEXT, readingValue1.getKind());
+      assertEquals(readingValue, readingValue1.getValue());
+    }
+  }
+
+  /**
+   * Test if typed and parsed readings with the same value are equal
+   */
+  @Test
+  void shouldBeEqual_WhenTypedAndParsedReadingsHaveTheSameValue() {
+    //Arrange
+    ReadingValue parsed = new ReadingValue("5");
+    //Act
+    ReadingValue typed = new ReadingValue(5L);
+    //Assert
+    assertEquals(parsed, typed);
+    assertEquals(parsed.hashCode(), typed.hashCode());
+  }
+
+  /**
+   * Test if a non-finite decimal reading is rejected
+   */
+  @Test
+  void shouldThrowIllegalArgumentException_WhenDecimalReadingIsNotFinite() {
+    //Arrange
+    String expected = "Reading Value must be a finite number";
+    //Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new ReadingValue(Double.NaN));
+    //Assert
+    assertEquals(expected, exception.getMessage());
+  }
 }
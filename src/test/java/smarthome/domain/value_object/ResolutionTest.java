@@ -0,0 +1,75 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.domain.value_object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class ResolutionTest {
+
+  private static final LocalDateTime TIME = LocalDateTime.of(2024, 3, 5, 14, 27, 31);
+
+  /**
+   * Test that an instant is truncated to the start of its bucket
+   */
+  @Test
+  void shouldReturnBucketStart() {
+    //Act
+    LocalDateTime hour = Resolution.HOUR.bucketStart(TIME);
+    LocalDateTime day = Resolution.DAY.bucketStart(TIME);
+    //Assert
+    assertEquals(LocalDateTime.of(2024, 3, 5, 14, 0), hour);
+    assertEquals(LocalDateTime.of(2024, 3, 5, 0, 0), day);
+  }
+
+  /**
+   * Test that the next bucket start of an aligned instant is the instant itself
+   */
+  @Test
+  void shouldReturnNextBucketStart() {
+    //Arrange
+    LocalDateTime aligned = LocalDateTime.of(2024, 3, 5, 14, 0);
+    //Act
+    LocalDateTime fromUnaligned = Resolution.HOUR.nextBucketStart(TIME);
+    LocalDateTime fromAligned = Resolution.HOUR.nextBucketStart(aligned);
+    //Assert
+    assertEquals(LocalDateTime.of(2024, 3, 5, 15, 0), fromUnaligned);
+    assertEquals(aligned, fromAligned);
+  }
+
+  /**
+   * Test that resolutions go from the coarsest to the finest
+   */
+  @Test
+  void shouldReturnFinerResolution() {
+    //Assert
+    assertEquals(Resolution.HOUR, Resolution.DAY.finer());
+    assertEquals(Resolution.MINUTE, Resolution.HOUR.finer());
+    assertNull(Resolution.MINUTE.finer());
+  }
+
+  /**
+   * Test that resolutions are parsed regardless of case and unknown ones are rejected
+   */
+  @Test
+  void shouldParseResolution() {
+    //Arrange
+    String expected = "Resolution must be one of MINUTE, HOUR or DAY";
+    //Act
+    Resolution parsed = Resolution.of("hour");
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> Resolution.of("week"));
+    //Assert
+    assertEquals(Resolution.HOUR, parsed);
+    assertEquals(expected, exception.getMessage());
+  }
+}
@@ -0,0 +1,497 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load simulator of many houses using the REST API at once, to reproduce production load on a
+ * locally started application.
+ * <p>
+ * Run the application with the reference data of the "frontendtest" profile (H2 in memory) or the
+ * "docker" profile (MariaDB), e.g. mvn spring-boot:run -Dspring-boot.run.profiles=frontendtest,
+ * then run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=smarthome.loadtest.HouseLoadSimulator
+ * <p>
+ * The application models a single house, so each virtual house is a group of rooms of that house:
+ * a bedroom and a garden with an indoor and an outdoor thermometer, a power meter and a blind
+ * roller with its position sensor and actuator, all added through the same endpoints as the
+ * demo/*.rest files, followed by a first batch of readings. Then each worker picks a virtual house
+ * and an operation at random, by the weights of {@link Operation}, and calls the API in a closed
+ * loop: reading ingest, dashboard queries, analytics and actuator commands. Latencies are recorded
+ * per endpoint after the warm-up and reported as percentiles, a histogram and throughput.
+ * <p>
+ * Options: -DbaseUrl (http://localhost:8080), -Dhouses (1000), -Dthreads (32), -Dwarmup (10) and
+ * -Dseconds (60) of measurement, -DthinkMillis (0) between the calls of a worker.
+ */
+public class HouseLoadSimulator {
+
+  private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+  private static final int HOUSES = Integer.getInteger("houses", 1000);
+  private static final int THREADS = Integer.getInteger("threads", 32);
+  private static final Duration WARM_UP = Duration.ofSeconds(Integer.getInteger("warmup", 10));
+  private static final Duration MEASURED = Duration.ofSeconds(Integer.getInteger("seconds", 60));
+  private static final long THINK_MILLIS = Long.getLong("thinkMillis", 0);
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+  private static final Duration QUERY_WINDOW = Duration.ofHours(1);
+  private static final long[] HISTOGRAM_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000};
+
+  private static final String SENSOR_PACKAGE = "smarthome.domain.sensor.";
+  private static final String TEMPERATURE_MODEL =
+      SENSOR_PACKAGE + "temperature_sensor.TemperatureSensor";
+  private static final String POWER_MODEL =
+      SENSOR_PACKAGE + "instant_power_consumption_sensor.InstantPowerConsumptionSensor";
+  private static final String POSITION_MODEL =
+      SENSOR_PACKAGE + "percentage_position_sensor.PercentagePositionSensor";
+  private static final String BLIND_ROLLER_MODEL =
+      "smarthome.domain.actuator.blind_roller_actuator.BlindRollerActuator";
+  private static final List<String> SENSOR_TYPES =
+      List.of("Temperature", "InstantPowerConsumption", "PercentagePosition");
+
+  private final HttpClient client = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(TIMEOUT)
+      .build();
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final Map<Operation, Endpoint> endpoints = new LinkedHashMap<>();
+  private final Map<String, Endpoint> provisioning = new LinkedHashMap<>();
+  private volatile boolean measuring;
+  private volatile boolean running = true;
+
+  /**
+   * The operations of the mixed traffic and their weight out of 100.
+   */
+  enum Operation {
+    INGEST("POST /logs/batch", 50),
+    DEVICE_READINGS("GET /logs", 12),
+    AGGREGATE("GET /logs/aggregate", 10),
+    ROOM_DEVICES("GET /devices?room_id", 8),
+    BLIND_POSITION("GET /logs/get-position-blindRoller", 6),
+    SET_BLIND_ROLLER("POST /actuators/set-blindRoller", 6),
+    TEMPERATURE_DIFFERENCE("GET /logs/temperature-difference", 5),
+    PEAK_POWER("GET /logs/peak-power-consumption", 3);
+
+    private final String label;
+    private final int weight;
+
+    Operation(String label, int weight) {
+      this.label = label;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * The IDs of one virtual house, as returned by the API when it was provisioned.
+   */
+  private record VirtualHouse(String bedroomID, String gardenID, String indoorDeviceID,
+      String indoorSensorID, String outdoorDeviceID, String outdoorSensorID, String meterDeviceID,
+      String meterSensorID, String blindDeviceID, String blindSensorID, String blindActuatorID) {
+
+  }
+
+  /**
+   * Latencies, errors and the HTTP status of the last error of an endpoint.
+   */
+  private static final class Endpoint {
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private volatile String lastError;
+  }
+
+  public static void main(String[] args) throws Exception {
+    new HouseLoadSimulator().run();
+  }
+
+  private void run() throws Exception {
+    for (Operation operation : Operation.values()) {
+      endpoints.put(operation, new Endpoint());
+    }
+    checkReferenceData();
+
+    ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+    try {
+      long start = System.nanoTime();
+      List<VirtualHouse> houses = provision(workers);
+      double provisionSeconds = (System.nanoTime() - start) / 1e9;
+      System.out.printf("Provisioned %,d virtual houses in %.1f s%n%n", houses.size(),
+          provisionSeconds);
+      report("Provisioning", provisioning, provisionSeconds);
+
+      List<Future<?>> loops = new ArrayList<>(THREADS);
+      for (int i = 0; i < THREADS; i++) {
+        loops.add(workers.submit(() -> loop(houses)));
+      }
+      Thread.sleep(WARM_UP.toMillis());
+      measuring = true;
+      start = System.nanoTime();
+      Thread.sleep(MEASURED.toMillis());
+      measuring = false;
+      double seconds = (System.nanoTime() - start) / 1e9;
+      running = false;
+      for (Future<?> loop : loops) {
+        loop.get();
+      }
+
+      Map<String, Endpoint> traffic = new LinkedHashMap<>();
+      endpoints.forEach((operation, endpoint) -> traffic.put(operation.label, endpoint));
+      System.out.printf("%,d virtual houses, %d workers, %.0f s measured after %d s of warm-up%n%n",
+          houses.size(), THREADS, seconds, WARM_UP.toSeconds());
+      report("Mixed traffic", traffic, seconds);
+    } finally {
+      workers.shutdownNow();
+      workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Method to fail early when the application was started without the sensor types the virtual
+   * houses need, as units and actuator types cannot be added through the API.
+   */
+  private void checkReferenceData() throws IOException, InterruptedException {
+    HttpResponse<String> response = send(get("/sensor-types"));
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("Cannot reach " + BASE_URL + ": " + response.statusCode());
+    }
+    List<String> found = mapper.readTree(response.body()).findValuesAsText("sensorTypeID");
+    for (String sensorType : SENSOR_TYPES) {
+      if (!found.contains(sensorType)) {
+        throw new IllegalStateException("Sensor type " + sensorType + " not found; start the "
+            + "application with the frontendtest or docker profile.");
+      }
+    }
+  }
+
+  private List<VirtualHouse> provision(ExecutorService workers)
+      throws IOException, InterruptedException, ExecutionException {
+    if (send(get("/houses")).statusCode() == 404) {
+      ObjectNode house = mapper.createObjectNode()
+          .put("street", "Rua do Load Test")
+          .put("doorNumber", "1")
+          .put("postalCode", "4200-072")
+          .put("countryCode", "PT")
+          .put("latitude", 41.1779)
+          .put("longitude", -8.6079);
+      post("/houses", house);
+    }
+
+    List<Future<VirtualHouse>> futures = new ArrayList<>(HOUSES);
+    for (int i = 0; i < HOUSES; i++) {
+      int number = i;
+      futures.add(workers.submit(() -> provisionHouse(number)));
+    }
+    List<VirtualHouse> houses = new ArrayList<>(HOUSES);
+    for (Future<VirtualHouse> future : futures) {
+      houses.add(future.get());
+    }
+    return houses;
+  }
+
+  private VirtualHouse provisionHouse(int number) throws IOException, InterruptedException {
+    String name = "House " + number;
+    String bedroomID = addRoom(name + " Bedroom", 1);
+    String gardenID = addRoom(name + " Garden", 0);
+    String indoorDeviceID = addDevice(bedroomID, "Thermometer", name + " Indoor Thermometer");
+    String outdoorDeviceID = addDevice(gardenID, "Thermometer", name + " Outdoor Thermometer");
+    String meterDeviceID = addDevice(bedroomID, "PowerMeter", name + " Power Meter");
+    String blindDeviceID = addDevice(bedroomID, "BlindRoller", name + " Blind Roller");
+
+    VirtualHouse house = new VirtualHouse(bedroomID, gardenID,
+        indoorDeviceID, addSensor(indoorDeviceID, TEMPERATURE_MODEL, "Temperature"),
+        outdoorDeviceID, addSensor(outdoorDeviceID, TEMPERATURE_MODEL, "Temperature"),
+        meterDeviceID, addSensor(meterDeviceID, POWER_MODEL, "InstantPowerConsumption"),
+        blindDeviceID, addSensor(blindDeviceID, POSITION_MODEL, "PercentagePosition"),
+        addBlindRollerActuator(blindDeviceID));
+
+    // The blind roller can only be set once its device has position readings.
+    long start = System.nanoTime();
+    HttpResponse<String> response = send(ingestRequest(house));
+    recordProvisioning(Operation.INGEST.label, System.nanoTime() - start, response);
+    return house;
+  }
+
+  private String addRoom(String name, int floor) throws IOException, InterruptedException {
+    ObjectNode room = mapper.createObjectNode()
+        .put("name", name)
+        .put("floor", floor)
+        .put("width", 4)
+        .put("length", 5)
+        .put("height", 3);
+    return post("/rooms", room).get("roomId").asText();
+  }
+
+  private String addDevice(String roomID, String deviceType, String name)
+      throws IOException, InterruptedException {
+    ObjectNode device = mapper.createObjectNode()
+        .put("deviceTypeDescription", deviceType)
+        .put("deviceName", name)
+        .put("roomID", roomID);
+    return post("/devices", device).get("deviceID").asText();
+  }
+
+  private String addSensor(String deviceID, String modelPath, String sensorTypeID)
+      throws IOException, InterruptedException {
+    ObjectNode sensor = mapper.createObjectNode()
+        .put("type", "genericSensor")
+        .put("deviceID", deviceID)
+        .put("sensorModelPath", modelPath)
+        .put("sensorName", sensorTypeID + " Sensor")
+        .put("sensorTypeID", sensorTypeID);
+    return post("/sensors", sensor).get("sensorID").asText();
+  }
+
+  private String addBlindRollerActuator(String deviceID) throws IOException, InterruptedException {
+    ObjectNode actuator = mapper.createObjectNode()
+        .put("type", "genericActuator")
+        .put("deviceID", deviceID)
+        .put("actuatorModelPath", BLIND_ROLLER_MODEL)
+        .put("actuatorName", "Blind Roller Actuator")
+        .put("actuatorTypeID", "BlindRoller");
+    return post("/actuators", actuator).get("id").asText();
+  }
+
+  /**
+   * Method to add an entity, recording the latency of its endpoint.
+   *
+   * @return the body of the response.
+   */
+  private JsonNode post(String path, JsonNode body) throws IOException, InterruptedException {
+    long start = System.nanoTime();
+    HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(BASE_URL + path))
+        .timeout(TIMEOUT)
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+        .build());
+    recordProvisioning("POST " + path, System.nanoTime() - start, response);
+    if (response.statusCode() / 100 != 2) {
+      throw new IllegalStateException("POST " + path + " failed with " + response.statusCode()
+          + ": " + response.body());
+    }
+    return mapper.readTree(response.body());
+  }
+
+  private void recordProvisioning(String label, long nanos, HttpResponse<String> response) {
+    Endpoint endpoint;
+    synchronized (provisioning) {
+      endpoint = provisioning.computeIfAbsent(label, key -> new Endpoint());
+    }
+    endpoint.latencies.record(nanos);
+    if (response.statusCode() / 100 != 2) {
+      endpoint.errors.increment();
+      endpoint.lastError = response.statusCode() + " " + response.body();
+    }
+  }
+
+  /**
+   * Method to call the API until the measurement ends, one operation after the other.
+   */
+  private void loop(List<VirtualHouse> houses) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    while (running && !Thread.currentThread().isInterrupted()) {
+      VirtualHouse house = houses.get(random.nextInt(houses.size()));
+      Operation operation = pick(random.nextInt(100));
+      Endpoint endpoint = endpoints.get(operation);
+      long start = System.nanoTime();
+      try {
+        HttpResponse<String> response = send(request(operation, house, random));
+        long nanos = System.nanoTime() - start;
+        if (measuring) {
+          endpoint.latencies.record(nanos);
+          if (response.statusCode() / 100 != 2) {
+            endpoint.errors.increment();
+            endpoint.lastError = response.statusCode() + " " + response.body();
+          }
+        }
+        if (THINK_MILLIS > 0) {
+          Thread.sleep(THINK_MILLIS);
+        }
+      } catch (IOException e) {
+        if (measuring) {
+          endpoint.errors.increment();
+          endpoint.lastError = e.toString();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  static Operation pick(int roll) {
+    int cumulative = 0;
+    for (Operation operation : Operation.values()) {
+      cumulative += operation.weight;
+      if (roll < cumulative) {
+        return operation;
+      }
+    }
+    return Operation.INGEST;
+  }
+
+  private HttpRequest request(Operation operation, VirtualHouse house, ThreadLocalRandom random)
+      throws IOException {
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    String start = queryTime(now.minus(QUERY_WINDOW));
+    String end = queryTime(now);
+    return switch (operation) {
+      case INGEST -> ingestRequest(house);
+      case DEVICE_READINGS -> get("/logs?deviceID=" + pickDevice(house, random)
+          + "&timeStart=" + start + "&timeEnd=" + end);
+      case AGGREGATE -> get("/logs/aggregate?deviceID=" + house.indoorDeviceID()
+          + "&sensorTypeID=Temperature&resolution=MINUTE&timeStart=" + start + "&timeEnd=" + end);
+      case ROOM_DEVICES -> get("/devices?room_id="
+          + (random.nextBoolean() ? house.bedroomID() : house.gardenID()));
+      case BLIND_POSITION -> get("/logs/get-position-blindRoller?deviceID="
+          + house.blindDeviceID());
+      case SET_BLIND_ROLLER -> postRequest("/actuators/set-blindRoller", mapper.createObjectNode()
+          .put("type", "valueDTO")
+          .put("deviceID", house.blindDeviceID())
+          .put("actuatorID", house.blindActuatorID())
+          .put("value", random.nextInt(101)));
+      case TEMPERATURE_DIFFERENCE -> get("/logs/temperature-difference?outsideDeviceIDStr="
+          + house.outdoorDeviceID() + "&insideDeviceIDStr=" + house.indoorDeviceID()
+          + "&initialTime=" + start + "&finalTime=" + end + "&timeDelta=5");
+      case PEAK_POWER -> get("/logs/peak-power-consumption?initialTime=" + start
+          + "&finalTime=" + end);
+    };
+  }
+
+  private static String pickDevice(VirtualHouse house, ThreadLocalRandom random) {
+    return switch (random.nextInt(4)) {
+      case 0 -> house.indoorDeviceID();
+      case 1 -> house.outdoorDeviceID();
+      case 2 -> house.meterDeviceID();
+      default -> house.blindDeviceID();
+    };
+  }
+
+  /**
+   * Method to build the batch a gateway of the house sends: one reading of each of its sensors.
+   */
+  private HttpRequest ingestRequest(VirtualHouse house) throws IOException {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String timestamp = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS)
+        .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    ArrayNode readings = mapper.createArrayNode();
+    readings.add(reading(house.indoorDeviceID(), house.indoorSensorID(), "Temperature",
+        "Celsius", String.format(Locale.ROOT, "%.1f", 19 + random.nextDouble(4)), timestamp));
+    readings.add(reading(house.outdoorDeviceID(), house.outdoorSensorID(), "Temperature",
+        "Celsius", String.format(Locale.ROOT, "%.1f", 5 + random.nextDouble(15)), timestamp));
+    readings.add(reading(house.meterDeviceID(), house.meterSensorID(), "InstantPowerConsumption",
+        "Watt", String.valueOf(100 + random.nextInt(3000)), timestamp));
+    readings.add(reading(house.blindDeviceID(), house.blindSensorID(), "PercentagePosition",
+        "Percent", String.valueOf(random.nextInt(101)), timestamp));
+    return postRequest("/logs/batch", readings);
+  }
+
+  private ObjectNode reading(String deviceID, String sensorID, String sensorTypeID, String unitID,
+      String value, String timestamp) {
+    return mapper.createObjectNode()
+        .put("deviceID", deviceID)
+        .put("sensorID", sensorID)
+        .put("sensorTypeID", sensorTypeID)
+        .put("unitID", unitID)
+        .put("reading", value)
+        .put("timestamp", timestamp);
+  }
+
+  private static String queryTime(LocalDateTime time) {
+    return URLEncoder.encode(time.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+        StandardCharsets.UTF_8);
+  }
+
+  private static HttpRequest get(String path) {
+    return HttpRequest.newBuilder(URI.create(BASE_URL + path))
+        .timeout(TIMEOUT)
+        .GET()
+        .build();
+  }
+
+  private HttpRequest postRequest(String path, JsonNode body) throws IOException {
+    return HttpRequest.newBuilder(URI.create(BASE_URL + path))
+        .timeout(TIMEOUT)
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+        .build();
+  }
+
+  private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  /**
+   * Method to print the percentiles, the histogram and the throughput of each endpoint.
+   */
+  private static void report(String title, Map<String, Endpoint> endpoints, double seconds) {
+    System.out.println(title);
+    System.out.printf("%-36s %9s %8s %9s %8s %8s %8s %8s %8s%n", "endpoint", "requests",
+        "errors", "req/s", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms");
+    long requests = 0;
+    for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+      LatencyHistogram latencies = entry.getValue().latencies;
+      requests += latencies.getCount();
+      System.out.printf("%-36s %,9d %,8d %,9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n", entry.getKey(),
+          latencies.getCount(), entry.getValue().errors.sum(), latencies.getCount() / seconds,
+          latencies.getMeanMicros() / 1000, latencies.getPercentileMicros(50) / 1000.0,
+          latencies.getPercentileMicros(90) / 1000.0,
+          latencies.getPercentileMicros(99) / 1000.0, latencies.getMaxMicros() / 1000.0);
+    }
+    System.out.printf("%-36s %,9d %8s %,9.1f%n%n", "total", requests, "", requests / seconds);
+
+    StringBuilder header = new StringBuilder(String.format("%-36s", "% of requests at or below"));
+    for (long millis : HISTOGRAM_MILLIS) {
+      header.append(String.format(" %6s", millis + "ms"));
+    }
+    System.out.println(header);
+    for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+      LatencyHistogram latencies = entry.getValue().latencies;
+      if (latencies.getCount() == 0) {
+        continue;
+      }
+      StringBuilder line = new StringBuilder(String.format("%-36s", entry.getKey()));
+      for (long millis : HISTOGRAM_MILLIS) {
+        line.append(String.format(" %6.1f",
+            100.0 * latencies.getCountAtOrBelow(millis * 1000) / latencies.getCount()));
+      }
+      System.out.println(line);
+    }
+    System.out.println();
+
+    for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+      if (entry.getValue().lastError != null) {
+        System.out.printf("%s last error: %s%n", entry.getKey(), entry.getValue().lastError);
+      }
+    }
+  }
+}
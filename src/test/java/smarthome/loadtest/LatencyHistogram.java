@@ -0,0 +1,125 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in microseconds, safe to record from several threads.
+ * <p>
+ * Buckets are log-linear: below 16 microseconds each value has its own bucket, and every power of
+ * two above is split into 16 buckets, so a percentile is within about 6% of the recorded value
+ * from microseconds to minutes in under a thousand counters.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final long MAX_MICROS = (1L << 40) - 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_MICROS) + 1);
+  private final LongAdder total = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Method to record a latency.
+   *
+   * @param nanos is the latency in nanoseconds.
+   */
+  public void record(long nanos) {
+    long micros = Math.min(MAX_MICROS, Math.max(0, nanos / 1000));
+    counts.incrementAndGet(indexOf(micros));
+    total.increment();
+    sum.add(micros);
+    max.accumulateAndGet(micros, Math::max);
+  }
+
+  /**
+   * @return the number of latencies recorded.
+   */
+  public long getCount() {
+    return total.sum();
+  }
+
+  /**
+   * @return the mean latency in microseconds, or 0 when nothing was recorded.
+   */
+  public double getMeanMicros() {
+    long count = total.sum();
+    return count == 0 ? 0 : (double) sum.sum() / count;
+  }
+
+  /**
+   * @return the highest latency recorded, in microseconds.
+   */
+  public long getMaxMicros() {
+    return max.get();
+  }
+
+  /**
+   * Method to get a percentile of the recorded latencies.
+   *
+   * @param percentile is between 0 and 100.
+   * @return the upper bound of the bucket holding the percentile, in microseconds, never above
+   *     the highest latency recorded; 0 when nothing was recorded.
+   */
+  public long getPercentileMicros(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+    }
+    long count = total.sum();
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /**
+   * Method to count the latencies at or below a limit, rounded to the bucket holding the limit.
+   *
+   * @param micros is the limit in microseconds.
+   * @return the number of latencies recorded in the buckets up to the one holding the limit.
+   */
+  public long getCountAtOrBelow(long micros) {
+    int last = indexOf(Math.min(MAX_MICROS, Math.max(0, micros)));
+    long count = 0;
+    for (int i = 0; i <= last; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  static int indexOf(long micros) {
+    if (micros < SUB_BUCKETS) {
+      return (int) micros;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+    return SUB_BUCKETS + shift * SUB_BUCKETS + (int) (micros >> shift) - SUB_BUCKETS;
+  }
+
+  static long upperBoundOf(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+    long subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
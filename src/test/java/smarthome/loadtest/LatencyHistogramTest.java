@@ -0,0 +1,120 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  /**
+   * Test that the percentiles of small latencies are exact.
+   */
+  @Test
+  void shouldReturnExactPercentiles_WhenLatenciesAreBelowSixteenMicros() {
+    // Arrange
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int micros = 1; micros <= 10; micros++) {
+      histogram.record(micros * 1000L);
+    }
+
+    // Act
+    long p50 = histogram.getPercentileMicros(50);
+    long p90 = histogram.getPercentileMicros(90);
+    long p100 = histogram.getPercentileMicros(100);
+
+    // Assert
+    assertEquals(5, p50);
+    assertEquals(9, p90);
+    assertEquals(10, p100);
+    assertEquals(10, histogram.getCount());
+    assertEquals(5.5, histogram.getMeanMicros());
+  }
+
+  /**
+   * Test that the percentiles of large latencies are within the precision of the buckets.
+   */
+  @Test
+  void shouldReturnPercentilesWithinSevenPercent_WhenLatenciesAreLarge() {
+    // Arrange
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int millis = 1; millis <= 1000; millis++) {
+      histogram.record(millis * 1_000_000L);
+    }
+
+    // Act
+    long p99 = histogram.getPercentileMicros(99);
+
+    // Assert
+    assertTrue(p99 >= 990_000 && p99 <= 990_000 * 1.07, "p99 was " + p99);
+    assertEquals(1_000_000, histogram.getPercentileMicros(100));
+    assertEquals(1_000_000, histogram.getMaxMicros());
+  }
+
+  /**
+   * Test that every value falls in a bucket whose upper bound is not below it.
+   */
+  @Test
+  void shouldPlaceValuesInBucketsAboveThem() {
+    for (long micros : new long[]{0, 15, 16, 17, 31, 32, 33, 1000, 123_456, 1L << 39}) {
+      // Act
+      int index = LatencyHistogram.indexOf(micros);
+
+      // Assert
+      assertTrue(LatencyHistogram.upperBoundOf(index) >= micros);
+      assertTrue(index == 0 || LatencyHistogram.upperBoundOf(index - 1) < micros);
+    }
+  }
+
+  /**
+   * Test that the latencies at or below a limit are counted.
+   */
+  @Test
+  void shouldCountLatenciesAtOrBelowLimit() {
+    // Arrange
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(500_000);
+    histogram.record(2_000_000);
+    histogram.record(30_000_000);
+
+    // Act
+    long count = histogram.getCountAtOrBelow(2000);
+
+    // Assert
+    assertEquals(2, count);
+  }
+
+  /**
+   * Test that an empty histogram reports zero.
+   */
+  @Test
+  void shouldReturnZero_WhenNothingWasRecorded() {
+    // Arrange
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    // Act & Assert
+    assertEquals(0, histogram.getPercentileMicros(99));
+    assertEquals(0, histogram.getMeanMicros());
+  }
+
+  /**
+   * Test that a percentile outside 0 to 100 is rejected.
+   */
+  @Test
+  void shouldThrowException_WhenPercentileIsOutOfRange() {
+    // Arrange
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> histogram.getPercentileMicros(101));
+  }
+}
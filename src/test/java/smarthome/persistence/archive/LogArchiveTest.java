@@ -0,0 +1,170 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+
+class LogArchiveTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+  private static final DeviceID DEVICE = new DeviceID("device/1");
+  private static final SensorTypeID TEMPERATURE = new SensorTypeID("Temperature");
+  private static final SensorTypeID HUMIDITY = new SensorTypeID("Humidity");
+  private final ILogFactory logFactory = new LogFactoryImpl();
+
+  @TempDir
+  Path directory;
+
+  private Log createLog(SensorTypeID sensorTypeID, LocalDateTime timeStamp, String value) {
+    return logFactory.createLog(DEVICE, new SensorID("sensor"), timeStamp,
+        new ReadingValue(value), sensorTypeID, new UnitID("Unit"));
+  }
+
+  private List<Log> createLogs(SensorTypeID sensorTypeID, int from, int to) {
+    List<Log> logs = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      logs.add(createLog(sensorTypeID, START.plusMinutes(i), String.valueOf(20 + i % 7 / 10.0)));
+    }
+    return logs;
+  }
+
+  private List<LogID> ids(List<Log> logs) {
+    return logs.stream().map(Log::getID).toList();
+  }
+
+  /**
+   * Test that a null directory is rejected.
+   */
+  @Test
+  void shouldThrowException_whenDirectoryIsNull() {
+    //Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new LogArchive(null, logFactory));
+
+    //Assert
+    assertEquals("Archive directory is required", exception.getMessage());
+  }
+
+  /**
+   * Test that logs sealed in several batches are found by device, sensor type and period, and
+   * that sealing the same logs again writes nothing.
+   */
+  @Test
+  void shouldFindSealedLogs_whenSealedInSeveralBatches() {
+    //Arrange
+    LogArchive archive = new LogArchive(directory, logFactory);
+    List<Log> temperatures = createLogs(TEMPERATURE, 0, 3000);
+    List<Log> humidities = createLogs(HUMIDITY, 0, 100);
+
+    //Act
+    int first = archive.seal(new ArrayList<>(temperatures.subList(0, 1000)));
+    int second = archive.seal(
+        Stream.concat(temperatures.subList(500, 3000).stream(), humidities.stream()).toList());
+    int third = archive.seal(temperatures);
+
+    //Assert
+    assertEquals(1000, first);
+    assertEquals(2100, second);
+    assertEquals(0, third);
+    assertEquals(3100, archive.size());
+    assertEquals(ids(temperatures.subList(1200, 2401)), ids(archive.find(DEVICE, TEMPERATURE,
+        new DatePeriod(START.plusMinutes(1200), START.plusMinutes(2400)))));
+    assertEquals(ids(temperatures), ids(archive.find(DEVICE, TEMPERATURE)));
+    assertEquals(200, archive.find(DEVICE, null,
+        new DatePeriod(START, START.plusMinutes(99))).size());
+    assertEquals(temperatures.get(2999).getID(),
+        archive.findLatest(DEVICE, TEMPERATURE).orElseThrow().getID());
+    assertEquals(humidities.get(42).getID(),
+        archive.ofIdentity(humidities.get(42).getID()).orElseThrow().getID());
+  }
+
+  /**
+   * Test that paging through the archived logs of a device visits each of them once, in
+   * (timestamp, log ID) order, across segments and sensor types.
+   */
+  @Test
+  void shouldVisitEveryLogOnceInOrder_whenPaging() {
+    //Arrange
+    LogArchive archive = new LogArchive(directory, logFactory);
+    List<Log> logs = new ArrayList<>(createLogs(TEMPERATURE, 0, 2500));
+    logs.addAll(createLogs(HUMIDITY, 1000, 1500));
+    archive.seal(logs.subList(0, 1200));
+    archive.seal(logs.subList(1200, 3000));
+    DatePeriod period = new DatePeriod(START.plusMinutes(10), START.plusMinutes(2400));
+    List<Log> expected = logs.stream()
+        .filter(log -> !log.getTimeStamp().isBefore(period.getStartDate()))
+        .filter(log -> !log.getTimeStamp().isAfter(period.getEndDate()))
+        .sorted(LogCursor.ORDER)
+        .toList();
+
+    //Act
+    List<Log> visited = new ArrayList<>();
+    LogCursor after = null;
+    List<Log> page;
+    do {
+      page = archive.findPage(DEVICE, period, after, 333);
+      visited.addAll(page);
+      after = page.isEmpty() ? after : LogCursor.of(page.get(page.size() - 1));
+    } while (page.size() == 333);
+
+    //Assert
+    assertEquals(ids(expected), ids(visited));
+  }
+
+  /**
+   * Test that the segments are found again when the archive is reopened, and that the retention
+   * policy deletes the segments that ended before the cutoff.
+   */
+  @Test
+  void shouldDeleteExpiredSegments_whenApplyingRetention() throws Exception {
+    //Arrange
+    LogArchive archive = new LogArchive(directory, logFactory);
+    archive.seal(createLogs(TEMPERATURE, 0, 100));
+    archive.seal(createLogs(TEMPERATURE, 100, 200));
+    archive.seal(createLogs(HUMIDITY, 0, 150));
+    Files.writeString(directory.resolve("unfinished.seg.tmp"), "partial");
+
+    //Act
+    LogArchive reopened = new LogArchive(directory, logFactory);
+    int deleted = reopened.deleteEndingBefore(START.plusMinutes(120));
+
+    //Assert
+    assertEquals(100, deleted);
+    assertEquals(250, reopened.size());
+    assertFalse(Files.exists(directory.resolve("unfinished.seg.tmp")));
+    assertTrue(reopened.contains(DEVICE, HUMIDITY));
+    assertEquals(100, reopened.find(DEVICE, TEMPERATURE).size());
+    try (Stream<Path> files = Files.walk(directory)) {
+      assertEquals(2, files.filter(Files::isRegularFile).count());
+    }
+  }
+}
@@ -0,0 +1,174 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.utils.time_series.EpochNanos;
+
+class LogSegmentTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+  private final ILogFactory logFactory = new LogFactoryImpl();
+
+  @TempDir
+  Path directory;
+
+  private Log createLog(LocalDateTime timeStamp, ReadingValue value) {
+    return logFactory.createLog(new DeviceID("device"), new SensorID("sensor"), timeStamp, value,
+        new SensorTypeID("Temperature"), new UnitID("Celsius"));
+  }
+
+  private List<Log> readAll(LogSegment segment) {
+    List<Log> logs = new ArrayList<>();
+    segment.scan(Long.MIN_VALUE, Long.MAX_VALUE, logFactory, logs::add);
+    return logs;
+  }
+
+  private void assertSameLogs(List<Log> expected, List<Log> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getID(), actual.get(i).getID());
+      assertEquals(expected.get(i).getDeviceID(), actual.get(i).getDeviceID());
+      assertEquals(expected.get(i).getSensorID(), actual.get(i).getSensorID());
+      assertEquals(expected.get(i).getTimeStamp(), actual.get(i).getTimeStamp());
+      assertEquals(expected.get(i).getReadingValue(), actual.get(i).getReadingValue());
+      assertEquals(expected.get(i).getReadingValue().getKind(),
+          actual.get(i).getReadingValue().getKind());
+      assertEquals(expected.get(i).getDescription(), actual.get(i).getDescription());
+      assertEquals(expected.get(i).getUnit(), actual.get(i).getUnit());
+    }
+  }
+
+  /**
+   * Test that decimal readings at irregular intervals, with nanosecond timestamps and gaps of
+   * days, are rebuilt exactly across several blocks.
+   */
+  @Test
+  void shouldRebuildDecimalReadingsExactly_whenIntervalsAreIrregular() throws Exception {
+    //Arrange
+    Random random = new Random(7);
+    List<Log> logs = new ArrayList<>();
+    LocalDateTime time = START;
+    for (int i = 0; i < 3000; i++) {
+      time = switch (i % 4) {
+        case 0 -> time.plusMinutes(1);
+        case 1 -> time.plusSeconds(random.nextInt(120));
+        case 2 -> time.plusNanos(random.nextInt(1_000_000_000));
+        default -> time.plusDays(random.nextInt(3));
+      };
+      double value = i % 5 == 0 ? Double.MAX_VALUE : -40 + random.nextInt(800) / 10.0;
+      logs.add(createLog(time, new ReadingValue(i % 7 == 0 ? 21.5 : value)));
+    }
+
+    //Act
+    LogSegment segment = LogSegment.write(directory.resolve("decimal.seg"), logs);
+
+    //Assert
+    assertSameLogs(logs, readAll(segment));
+    assertSameLogs(logs, readAll(LogSegment.open(directory.resolve("decimal.seg"))));
+    assertEquals(3000, segment.size());
+  }
+
+  /**
+   * Test that integer readings keep their kind and whole 64-bit range, and text readings and log
+   * IDs that are not UUIDs keep their text.
+   */
+  @Test
+  void shouldRebuildIntegerAndTextReadings() throws Exception {
+    //Arrange
+    List<Log> integers = new ArrayList<>();
+    List<Log> texts = new ArrayList<>();
+    long[] values = {0, 1, -1, Long.MAX_VALUE, Long.MIN_VALUE, 42, 42, 43};
+    for (int i = 0; i < values.length; i++) {
+      integers.add(createLog(START.plusSeconds(i), new ReadingValue(values[i])));
+      texts.add(logFactory.createLog(new LogID("log-" + i), new DeviceID("device"),
+          new SensorID("sensor"), START.plusSeconds(10 * i), new ReadingValue("06:4" + i),
+          new SensorTypeID("Sunrise"), new UnitID("Hour")));
+    }
+
+    //Act
+    LogSegment integerSegment = LogSegment.write(directory.resolve("integer.seg"), integers);
+    LogSegment textSegment = LogSegment.write(directory.resolve("text.seg"), texts);
+
+    //Assert
+    assertSameLogs(integers, readAll(integerSegment));
+    assertSameLogs(texts, readAll(textSegment));
+  }
+
+  /**
+   * Test that a range scan returns the readings between both ends, included, and that the scan
+   * stops when the consumer asks for it.
+   */
+  @Test
+  void shouldReturnReadingsInRange_whenScanningPartOfSegment() throws Exception {
+    //Arrange
+    List<Log> logs = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      logs.add(createLog(START.plusMinutes(i), new ReadingValue(20 + (i % 10) / 10.0)));
+    }
+    LogSegment segment = LogSegment.write(directory.resolve("range.seg"), logs);
+    List<Log> inRange = new ArrayList<>();
+    List<Log> firstThree = new ArrayList<>();
+
+    //Act
+    segment.scan(EpochNanos.of(START.plusMinutes(1500)), EpochNanos.of(START.plusMinutes(2600)),
+        logFactory, inRange::add);
+    boolean completed = segment.scan(Long.MIN_VALUE, Long.MAX_VALUE, logFactory,
+        log -> firstThree.add(log) && firstThree.size() < 3);
+
+    //Assert
+    assertSameLogs(logs.subList(1500, 2601), inRange);
+    assertEquals(3, firstThree.size());
+    assertFalse(completed);
+    assertSameLogs(List.of(logs.get(4999)), List.of(segment.last(logFactory)));
+  }
+
+  /**
+   * Test that minute readings of a temperature take less than three bytes each, plus the 16
+   * bytes of their UUID.
+   */
+  @Test
+  void shouldCompressRegularReadings() throws Exception {
+    //Arrange
+    List<Log> logs = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      logs.add(createLog(START.plusMinutes(i), new ReadingValue(20 + (i / 60) % 4)));
+    }
+    logs.sort(LogCursor.ORDER);
+
+    //Act
+    LogSegment segment = LogSegment.write(directory.resolve("regular.seg"), logs);
+
+    //Assert
+    assertTrue(segment.fileSize() < 10_000L * (16 + 3));
+    assertTrue(Files.exists(directory.resolve("regular.seg")));
+    assertFalse(Files.exists(directory.resolve("regular.seg.tmp")));
+  }
+}
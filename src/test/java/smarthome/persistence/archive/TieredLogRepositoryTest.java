@@ -0,0 +1,218 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.persistence.mem.LogRepository;
+
+class TieredLogRepositoryTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+  private static final DeviceID DEVICE = new DeviceID("device");
+  private static final SensorTypeID POWER = new SensorTypeID("InstantPowerConsumption");
+  private final ILogFactory logFactory = new LogFactoryImpl();
+
+  @TempDir
+  Path directory;
+
+  private Log createLog(DeviceID deviceID, LocalDateTime timeStamp, long value) {
+    return logFactory.createLog(deviceID, new SensorID("sensor"), timeStamp,
+        new ReadingValue(value), POWER, new UnitID("Watt"));
+  }
+
+  private List<LogID> sortedIDs(List<Log> logs) {
+    return logs.stream().sorted(LogCursor.ORDER).map(Log::getID).toList();
+  }
+
+  /**
+   * Test that archiving the old logs moves them out of the hot repository without changing what
+   * the queries return.
+   */
+  @Test
+  void shouldReturnSameLogs_whenOldLogsAreArchived() {
+    //Arrange
+    LogRepository hot = new LogRepository();
+    TieredLogRepository repository =
+        new TieredLogRepository(hot, new LogArchive(directory, logFactory));
+    List<Log> logs = new ArrayList<>();
+    for (int i = 0; i < 48; i++) {
+      logs.add(createLog(DEVICE, START.plusHours(i), i));
+      logs.add(createLog(new DeviceID("other"), START.plusHours(i), i));
+    }
+    repository.saveAll(logs);
+    DatePeriod period = new DatePeriod(START.plusHours(12), START.plusHours(36));
+    List<DeviceID> devices = List.of(DEVICE, new DeviceID("other"));
+    List<LogID> inPeriod = sortedIDs(
+        repository.findByDeviceIDsAndSensorTypeAndDatePeriodBetween(devices, POWER, period));
+    List<LogID> ofDevice = sortedIDs(repository.findByDeviceIDAndSensorTypeID(DEVICE, POWER));
+
+    //Act
+    int moved = repository.archiveOlderThan(START.plusHours(24), 10);
+
+    //Assert
+    assertEquals(48, moved);
+    assertEquals(48, hot.findAll().size());
+    assertEquals(inPeriod, sortedIDs(
+        repository.findByDeviceIDsAndSensorTypeAndDatePeriodBetween(devices, POWER, period)));
+    assertEquals(ofDevice, sortedIDs(repository.findByDeviceIDAndSensorTypeID(DEVICE, POWER)));
+    assertEquals(25, repository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(DEVICE, POWER,
+        period).size());
+    assertEquals(96, repository.findAll().size());
+    assertTrue(repository.containsOfIdentity(logs.get(0).getID()));
+    assertEquals(0, repository.archiveOlderThan(START.plusHours(24), 10));
+  }
+
+  /**
+   * Test that a page crosses from the archived logs to the recent ones.
+   */
+  @Test
+  void shouldMergeTiers_whenPaging() {
+    //Arrange
+    TieredLogRepository repository =
+        new TieredLogRepository(new LogRepository(), new LogArchive(directory, logFactory));
+    for (int i = 0; i < 10; i++) {
+      repository.save(createLog(DEVICE, START.plusHours(i), i));
+    }
+    repository.archiveOlderThan(START.plusHours(5), 100);
+    DatePeriod period = new DatePeriod(START, START.plusHours(20));
+
+    //Act
+    List<Log> first = repository.findPageByDeviceIDAndDatePeriodBetween(DEVICE, period, null, 4);
+    List<Log> second = repository.findPageByDeviceIDAndDatePeriodBetween(DEVICE, period,
+        LogCursor.of(first.get(3)), 4);
+
+    //Assert
+    assertEquals(START.plusHours(3), first.get(3).getTimeStamp());
+    assertEquals(List.of(4L, 5L, 6L, 7L), second.stream()
+        .map(log -> log.getReadingValue().getIntegerValue()).toList());
+  }
+
+  /**
+   * Test that walking every page of every device returns each log once, in (timestamp, log ID)
+   * order, across both tiers.
+   */
+  @Test
+  void shouldVisitEveryLogOnce_whenPagingAllDevices() {
+    //Arrange
+    TieredLogRepository repository =
+        new TieredLogRepository(new LogRepository(), new LogArchive(directory, logFactory));
+    List<Log> logs = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      logs.add(createLog(i % 2 == 0 ? DEVICE : new DeviceID("other"), START.plusHours(i / 3), i));
+    }
+    repository.saveAll(logs);
+    repository.archiveOlderThan(START.plusHours(3), 100);
+
+    //Act
+    List<Log> visited = new ArrayList<>();
+    LogCursor after = null;
+    List<Log> page;
+    do {
+      page = repository.findPage(after, 4);
+      visited.addAll(page);
+      after = page.isEmpty() ? after : LogCursor.of(page.get(page.size() - 1));
+    } while (page.size() == 4);
+
+    //Assert
+    List<Log> expected = new ArrayList<>(logs);
+    expected.sort(LogCursor.ORDER);
+    assertEquals(expected.stream().map(Log::getID).toList(),
+        visited.stream().map(Log::getID).toList());
+  }
+
+  /**
+   * Test that the latest reading and its existence are found in the archive once every reading
+   * of the pair has been archived, and that a newer reading saved later replaces it.
+   */
+  @Test
+  void shouldFindLatestReadingInArchive_whenHotRepositoryHasNone() {
+    //Arrange
+    TieredLogRepository repository =
+        new TieredLogRepository(new LogRepository(), new LogArchive(directory, logFactory));
+    repository.save(createLog(DEVICE, START, 1));
+    repository.save(createLog(DEVICE, START.plusHours(1), 2));
+    repository.archiveOlderThan(START.plusDays(1), 100);
+
+    //Act
+    Log archived = repository.findLatest(DEVICE, POWER).orElseThrow();
+    repository.save(createLog(DEVICE, START.plusHours(2), 3));
+    Log recent = repository.findLatest(DEVICE, POWER).orElseThrow();
+
+    //Assert
+    assertEquals(2, archived.getReadingValue().getIntegerValue());
+    assertEquals(3, recent.getReadingValue().getIntegerValue());
+    assertTrue(repository.existsBy(DEVICE, POWER));
+    assertFalse(repository.existsBy(new DeviceID("other"), POWER));
+  }
+
+  /**
+   * Test that the job archives the logs older than its age and deletes them after the retention.
+   */
+  @Test
+  void shouldArchiveThenExpireLogs_whenJobRuns() {
+    //Arrange
+    LogArchive archive = new LogArchive(directory, logFactory);
+    TieredLogRepository repository = new TieredLogRepository(new LogRepository(), archive);
+    LogArchiveJob job = new LogArchiveJob(repository, archive, Duration.ofDays(30),
+        Duration.ofDays(365), 1000);
+    repository.save(createLog(DEVICE, START, 1));
+    repository.save(createLog(DEVICE, START.plusDays(100), 2));
+
+    //Act
+    job.run(START.plusDays(60));
+    long archivedAfterSeal = archive.size();
+    job.run(START.plusDays(400));
+
+    //Assert
+    assertEquals(1, archivedAfterSeal);
+    assertEquals(1, archive.size());
+    assertEquals(2, repository.findLatest(DEVICE, POWER).orElseThrow()
+        .getReadingValue().getIntegerValue());
+  }
+
+  /**
+   * Test that a retention shorter than the age of sealing is rejected.
+   */
+  @Test
+  void shouldThrowException_whenRetentionIsNotLongerThanSealing() {
+    //Arrange
+    LogArchive archive = new LogArchive(directory, logFactory);
+    TieredLogRepository repository = new TieredLogRepository(new LogRepository(), archive);
+
+    //Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new LogArchiveJob(repository, archive, Duration.ofDays(30), Duration.ofDays(30),
+            100));
+
+    //Assert
+    assertEquals("Retention must be longer than the age of sealing.", exception.getMessage());
+  }
+}
@@ -10,6 +10,13 @@ package smarthome.persistence.assembler;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.Test;
 import smarthome.domain.actuator.ActuatorFactoryImpl;
 import smarthome.domain.actuator.IActuator;
@@ -117,5 +124,101 @@ class ActuatorDataModelAssemblerTest {
     assertEquals(actuator, actuator2);
   }
 
+  /**
+   * Creates data models of switch and set integer actuators, alternating, each with its own
+   * device, so that actuators with 5 and 6 constructor parameters are converted side by side.
+   */
+  private static List<ActuatorDataModel> mixedActuatorDataModels(int count) {
+    List<ActuatorDataModel> actuatorDataModels = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      DeviceID deviceID = new DeviceID("device-" + i);
+      ActuatorName actuatorName = new ActuatorName("actuator" + i);
+      if (i % 2 == 0) {
+        IActuator actuator = new SwitchActuator(deviceID,
+            new ModelPath("smarthome.domain.actuator.switch_actuator.SwitchActuator"),
+            new ActuatorTypeID("Switch"), actuatorName);
+        actuatorDataModels.add(new ActuatorDataModel(actuator));
+      } else {
+        IActuator actuator = new SetIntegerActuator(deviceID,
+            new ModelPath("smarthome.domain.actuator.set_integer_actuator.SetIntegerActuator"),
+            new ActuatorTypeID("SetInteger"), actuatorName, new IntegerLimits(0, i));
+        ActuatorDataModel actuatorDataModel = new ActuatorDataModel(actuator);
+        actuatorDataModel.setIntegerLowerBond(0);
+        actuatorDataModel.setIntegerUpperBond(i);
+        actuatorDataModels.add(actuatorDataModel);
+      }
+    }
+    return actuatorDataModels;
+  }
+
+  private static void assertSameActuator(ActuatorDataModel expected, IActuator actual) {
+    assertEquals(expected.getActuatorID(), actual.getID().getID());
+    assertEquals(expected.getDeviceID(), actual.getDeviceID().getID());
+    assertEquals(expected.getActuatorTypeID(), actual.getActuatorTypeID().getID());
+    assertEquals(expected.getActuatorName(), actual.getName().getName());
+  }
 
-}
\ No newline at end of file
+  /**
+   * Test that a list of at least PARALLEL_THRESHOLD data models is converted in the order of the
+   * list.
+   */
+  @Test
+  void shouldKeepOrder_whenListIsConvertedInParallel() {
+    // Arrange
+    List<ActuatorDataModel> actuatorDataModels = mixedActuatorDataModels(
+        ActuatorDataModelAssembler.PARALLEL_THRESHOLD + 1);
+    ActuatorDataModelAssembler actuatorDataModelAssembler = new ActuatorDataModelAssembler(
+        new ActuatorFactoryImpl());
+
+    // Act
+    List<IActuator> actuators = actuatorDataModelAssembler.toDomain(actuatorDataModels);
+
+    // Assert
+    assertEquals(actuatorDataModels.size(), actuators.size());
+    for (int i = 0; i < actuators.size(); i++) {
+      assertSameActuator(actuatorDataModels.get(i), actuators.get(i));
+    }
+  }
+
+  /**
+   * Test that one assembler used by many threads at once gives every thread the actuators of its
+   * own data models.
+   */
+  @Test
+  void shouldNotMixActuators_whenConvertingOnManyThreads() throws Exception {
+    // Arrange
+    ActuatorDataModelAssembler actuatorDataModelAssembler = new ActuatorDataModelAssembler(
+        new ActuatorFactoryImpl());
+    int threads = 8;
+    List<ActuatorDataModel> actuatorDataModels = mixedActuatorDataModels(400);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> results = new ArrayList<>();
+
+    // Act
+    for (int t = 0; t < threads; t++) {
+      int offset = t;
+      results.add(executor.submit(() -> {
+        start.await();
+        for (int round = 0; round < 50; round++) {
+          for (int i = offset; i < actuatorDataModels.size(); i += threads) {
+            ActuatorDataModel actuatorDataModel = actuatorDataModels.get(i);
+            assertSameActuator(actuatorDataModel,
+                actuatorDataModelAssembler.toDomain(actuatorDataModel));
+          }
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+
+    // Assert
+    try {
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
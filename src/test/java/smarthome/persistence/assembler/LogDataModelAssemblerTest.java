@@ -16,10 +16,12 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import smarthome.domain.log.ILogFactory;
 import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.LogID;
 import smarthome.domain.value_object.ReadingValue;
@@ -201,4 +203,31 @@ class LogDataModelAssemblerTest {
     // Assert
     assertEquals(expected, log.get(0));
   }
+
+  /**
+   * Test of toDomain method when the list is large enough to be converted in parallel.
+   */
+  @Test
+  void shouldKeepOrder_whenConvertingLargeListInParallel() {
+    // Arrange
+    LogFactoryImpl logFactory = new LogFactoryImpl();
+    LogDataModelAssembler logDataModelAssembler = new LogDataModelAssembler(logFactory);
+    LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+    List<LogDataModel> logDataModels = new ArrayList<>();
+    for (int i = 0; i < LogDataModelAssembler.PARALLEL_THRESHOLD + 1; i++) {
+      logDataModels.add(new LogDataModel(logFactory.createLog(new DeviceID("device"),
+          new SensorID("sensor"), start.plusSeconds(i), new ReadingValue(i),
+          new SensorTypeID("Temperature"), new UnitID("C"))));
+    }
+
+    // Act
+    List<Log> logs = logDataModelAssembler.toDomain(logDataModels);
+
+    // Assert
+    assertEquals(logDataModels.size(), logs.size());
+    for (int i = 0; i < logs.size(); i++) {
+      assertEquals(logDataModels.get(i).getLogID(), logs.get(i).getID().getID());
+      assertEquals(start.plusSeconds(i), logs.get(i).getTimeStamp());
+    }
+  }
 }
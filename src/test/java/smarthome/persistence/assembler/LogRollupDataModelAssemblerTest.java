@@ -0,0 +1,59 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+package smarthome.persistence.assembler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.value_object.ReadingAggregate;
+import smarthome.domain.value_object.Resolution;
+import smarthome.persistence.data_model.LogRollupDataModel;
+
+class LogRollupDataModelAssemblerTest {
+
+  /**
+   * Test that a rollup is rebuilt exactly from its data model.
+   */
+  @Test
+  void shouldConvertDataModelToReadingAggregate() {
+    // Arrange
+    LocalDateTime hour = LocalDateTime.of(2024, 1, 1, 10, 0);
+    ReadingAggregate aggregate = ReadingAggregate.of(hour, hour.plusMinutes(3), 21.5)
+        .merge(ReadingAggregate.of(hour, hour.plusMinutes(40), 19.0));
+    LogRollupDataModel dataModel = new LogRollupDataModel("device", "Temperature",
+        Resolution.HOUR, aggregate);
+    LogRollupDataModelAssembler assembler = new LogRollupDataModelAssembler();
+
+    // Act
+    List<ReadingAggregate> result = assembler.toDomain(List.of(dataModel));
+
+    // Assert
+    assertEquals(List.of(aggregate), result);
+    assertEquals("device|Temperature|HOUR|2024-01-01T10:00", dataModel.getRollupID());
+  }
+
+  /**
+   * Test that a null data model is rejected.
+   */
+  @Test
+  void shouldThrowIllegalArgumentException_whenDataModelIsNull() {
+    // Arrange
+    LogRollupDataModelAssembler assembler = new LogRollupDataModelAssembler();
+    LogRollupDataModel dataModel = null;
+
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> assembler.toDomain(dataModel));
+
+    // Assert
+    assertEquals("Log Rollup Data Model is required", exception.getMessage());
+  }
+}
@@ -11,7 +11,12 @@ package smarthome.persistence.assembler;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 import smarthome.domain.sensor.ISensor;
 import smarthome.domain.sensor.ISensorFactory;
@@ -167,4 +172,103 @@ class SensorDataModelAssemblerTest {
     //Assert
     assertEquals(expected, result);
   }
-}
\ No newline at end of file
+
+  /**
+   * Creates data models of temperature and sunrise sensors, alternating, each with its own device,
+   * so that sensors with 5 and 6 constructor parameters are converted side by side.
+   */
+  private static List<SensorDataModel> mixedSensorDataModels(ISensorFactory sensorFactory,
+      int count) {
+    List<SensorDataModel> sensorDataModels = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      DeviceID deviceID = new DeviceID("device-" + i);
+      SensorName sensorName = new SensorName("sensor" + i);
+      if (i % 2 == 0) {
+        ISensor sensor = sensorFactory.create(deviceID,
+            new ModelPath("smarthome.domain.sensor.temperature_sensor.TemperatureSensor"),
+            new SensorTypeID("Temperature"), sensorName);
+        sensorDataModels.add(new SensorDataModel(sensor));
+      } else {
+        GPS gps = new GPS(i % 90, i % 180);
+        ISensor sensor = sensorFactory.create(deviceID,
+            new ModelPath("smarthome.domain.sensor.sunrise_time_sensor.SunriseTimeSensor"),
+            new SensorTypeID("SunriseTime"), sensorName, gps);
+        SensorDataModel sensorDataModel = new SensorDataModel(sensor);
+        sensorDataModel.setLatitude(String.valueOf(gps.getLatitude()));
+        sensorDataModel.setLongitude(String.valueOf(gps.getLongitude()));
+        sensorDataModels.add(sensorDataModel);
+      }
+    }
+    return sensorDataModels;
+  }
+
+  private static void assertSameSensor(SensorDataModel expected, ISensor actual) {
+    assertEquals(expected.getSensorID(), actual.getID().getID());
+    assertEquals(expected.getDeviceID(), actual.getDeviceID().getID());
+    assertEquals(expected.getSensorTypeID(), actual.getSensorTypeID().getID());
+    assertEquals(expected.getSensorName(), actual.getSensorName().getSensorName());
+  }
+
+  /**
+   * Test that a list of at least PARALLEL_THRESHOLD data models is converted in the order of the
+   * list.
+   */
+  @Test
+  void shouldKeepOrder_whenListIsConvertedInParallel() {
+    // Arrange
+    ISensorFactory sensorFactory = new SensorFactoryImpl();
+    List<SensorDataModel> sensorDataModels = mixedSensorDataModels(sensorFactory,
+        SensorDataModelAssembler.PARALLEL_THRESHOLD + 1);
+    SensorDataModelAssembler sensorDataModelAssembler = new SensorDataModelAssembler(sensorFactory);
+
+    // Act
+    List<ISensor> sensors = sensorDataModelAssembler.toDomain(sensorDataModels);
+
+    // Assert
+    assertEquals(sensorDataModels.size(), sensors.size());
+    for (int i = 0; i < sensors.size(); i++) {
+      assertSameSensor(sensorDataModels.get(i), sensors.get(i));
+    }
+  }
+
+  /**
+   * Test that one assembler used by many threads at once gives every thread the sensors of its
+   * own data models.
+   */
+  @Test
+  void shouldNotMixSensors_whenConvertingOnManyThreads() throws Exception {
+    // Arrange
+    ISensorFactory sensorFactory = new SensorFactoryImpl();
+    SensorDataModelAssembler sensorDataModelAssembler = new SensorDataModelAssembler(sensorFactory);
+    int threads = 8;
+    List<SensorDataModel> sensorDataModels = mixedSensorDataModels(sensorFactory, 400);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> results = new ArrayList<>();
+
+    // Act
+    for (int t = 0; t < threads; t++) {
+      int offset = t;
+      results.add(executor.submit(() -> {
+        start.await();
+        for (int round = 0; round < 50; round++) {
+          for (int i = offset; i < sensorDataModels.size(); i += threads) {
+            SensorDataModel sensorDataModel = sensorDataModels.get(i);
+            assertSameSensor(sensorDataModel, sensorDataModelAssembler.toDomain(sensorDataModel));
+          }
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+
+    // Assert
+    try {
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.cache;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+  @Test
+  void shouldContainEveryAddedValue() {
+    //Arrange
+    BloomFilter bloomFilter = new BloomFilter(10000, 0.01);
+
+    //Act
+    for (int i = 0; i < 10000; i++) {
+      bloomFilter.add("sensor-" + i);
+    }
+
+    //Assert
+    for (int i = 0; i < 10000; i++) {
+      assertTrue(bloomFilter.mightContain("sensor-" + i));
+    }
+  }
+
+  @Test
+  void shouldKeepFalsePositivesNearTheConfiguredRate() {
+    //Arrange
+    BloomFilter bloomFilter = new BloomFilter(10000, 0.01);
+    for (int i = 0; i < 10000; i++) {
+      bloomFilter.add("sensor-" + i);
+    }
+
+    //Act
+    int falsePositives = 0;
+    for (int i = 0; i < 100000; i++) {
+      if (bloomFilter.mightContain("unknown-" + i)) {
+        falsePositives++;
+      }
+    }
+
+    //Assert
+    assertTrue(falsePositives < 2000, "false positives: " + falsePositives);
+  }
+
+  @Test
+  void shouldSizeFilterFromExpectedInsertionsAndRate() {
+    //Act
+    BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+
+    //Assert
+    assertTrue(bloomFilter.bitSize() >= 9586);
+    assertTrue(bloomFilter.hashCount() >= 6 && bloomFilter.hashCount() <= 8);
+  }
+
+  @Test
+  void shouldThrowException_WhenRateIsNotBetweenZeroAndOne() {
+    //Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 1));
+  }
+
+  @Test
+  void shouldThrowException_WhenExpectedInsertionsIsNotPositive() {
+    //Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+  }
+}
@@ -0,0 +1,132 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.device.Device;
+import smarthome.domain.repository.IDeviceRepository;
+import smarthome.domain.unit.Unit;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.RoomID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.persistence.mem.UnitRepository;
+
+class CachingRepositoryTest {
+
+  private static Device device(String id) {
+    Device device = mock(Device.class);
+    when(device.getID()).thenReturn(new DeviceID(id));
+    return device;
+  }
+
+  @Test
+  void shouldAnswerWithoutQuery_WhenIdWasLoadedAtStartup() {
+    //Arrange
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    Device device = device("1");
+    when(deviceRepository.findAll()).thenReturn(List.of(device));
+    CachingDeviceRepository repository = new CachingDeviceRepository(deviceRepository,
+        new ExistenceCache<>("device", 10, null));
+
+    //Act
+    boolean exists = repository.containsOfIdentity(new DeviceID("1"));
+
+    //Assert
+    assertTrue(exists);
+    verify(deviceRepository, never()).containsOfIdentity(any());
+  }
+
+  @Test
+  void shouldAnswerWithoutQuery_WhenIdWasSaved() {
+    //Arrange
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    Device device = device("2");
+    when(deviceRepository.save(device)).thenReturn(device);
+    CachingDeviceRepository repository = new CachingDeviceRepository(deviceRepository,
+        new ExistenceCache<>("device", 10, new BloomFilter(100, 0.01)));
+
+    //Act
+    repository.save(device);
+    boolean exists = repository.containsOfIdentity(new DeviceID("2"));
+
+    //Assert
+    assertTrue(exists);
+    verify(deviceRepository, never()).containsOfIdentity(any());
+  }
+
+  @Test
+  void shouldKeepDeviceCached_WhenDeviceIsDeactivated() {
+    //Arrange
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    Device device = device("3");
+    when(deviceRepository.findAll()).thenReturn(List.of(device));
+    when(deviceRepository.update(device)).thenReturn(device);
+    CachingDeviceRepository repository = new CachingDeviceRepository(deviceRepository,
+        new ExistenceCache<>("device", 10, null));
+
+    //Act
+    Device updated = repository.update(device);
+    boolean exists = repository.containsOfIdentity(new DeviceID("3"));
+
+    //Assert
+    assertEquals(device, updated);
+    assertTrue(exists);
+    verify(deviceRepository, never()).containsOfIdentity(any());
+  }
+
+  @Test
+  void shouldDelegateQueries() {
+    //Arrange
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    Device device = device("4");
+    RoomID roomID = new RoomID("room");
+    when(deviceRepository.findByRoomID(roomID)).thenReturn(List.of(device));
+    CachingDeviceRepository repository = new CachingDeviceRepository(deviceRepository,
+        new ExistenceCache<>("device", 10, null));
+
+    //Act
+    List<Device> devices = repository.findByRoomID(roomID);
+
+    //Assert
+    assertEquals(List.of(device), devices);
+  }
+
+  @Test
+  void shouldMatchWrappedRepository_WhenCheckingUnits() {
+    //Arrange
+    UnitRepository unitRepository = new UnitRepository();
+    Unit celsius = mock(Unit.class);
+    when(celsius.getID()).thenReturn(new UnitID("C"));
+    unitRepository.save(celsius);
+    CachingUnitRepository repository = new CachingUnitRepository(unitRepository,
+        new ExistenceCache<>("unit", 10, new BloomFilter(100, 0.01)));
+    Unit kelvin = mock(Unit.class);
+    when(kelvin.getID()).thenReturn(new UnitID("K"));
+
+    //Act
+    boolean kelvinBeforeSave = repository.containsOfIdentity(new UnitID("K"));
+    repository.save(kelvin);
+
+    //Assert
+    assertFalse(kelvinBeforeSave);
+    assertTrue(repository.containsOfIdentity(new UnitID("C")));
+    assertTrue(repository.containsOfIdentity(new UnitID("K")));
+    assertEquals(new ExistenceCacheStats("unit", 2, 2, 1, 0), repository.getStats());
+  }
+}
@@ -0,0 +1,132 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.value_object.UnitID;
+
+class ExistenceCacheTest {
+
+  private final AtomicInteger queries = new AtomicInteger();
+
+  private Predicate<UnitID> lookup(Set<String> existing) {
+    return id -> {
+      queries.incrementAndGet();
+      return existing.contains(id.getID());
+    };
+  }
+
+  @Test
+  void shouldAnswerFromMemory_WhenIdWasAdded() {
+    //Arrange
+    ExistenceCache<UnitID> cache = new ExistenceCache<>("unit", 10, null);
+    cache.add(new UnitID("C"));
+
+    //Act
+    boolean exists = cache.contains(new UnitID("C"), lookup(Set.of("C")));
+
+    //Assert
+    assertTrue(exists);
+    assertEquals(0, queries.get());
+    assertEquals(1, cache.getStats().hits());
+  }
+
+  @Test
+  void shouldQueryOnce_WhenIdIsFoundInRepository() {
+    //Arrange
+    ExistenceCache<UnitID> cache = new ExistenceCache<>("unit", 10, null);
+    Predicate<UnitID> lookup = lookup(Set.of("C"));
+
+    //Act
+    cache.contains(new UnitID("C"), lookup);
+    boolean exists = cache.contains(new UnitID("C"), lookup);
+
+    //Assert
+    assertTrue(exists);
+    assertEquals(1, queries.get());
+    assertEquals(new ExistenceCacheStats("unit", 1, 1, 0, 1), cache.getStats());
+  }
+
+  @Test
+  void shouldQueryEveryTime_WhenIdIsUnknownWithoutBloomFilter() {
+    //Arrange
+    ExistenceCache<UnitID> cache = new ExistenceCache<>("unit", 10, null);
+    Predicate<UnitID> lookup = lookup(Set.of());
+
+    //Act
+    cache.contains(new UnitID("K"), lookup);
+    boolean exists = cache.contains(new UnitID("K"), lookup);
+
+    //Assert
+    assertFalse(exists);
+    assertEquals(2, queries.get());
+  }
+
+  @Test
+  void shouldNotQuery_WhenBloomFilterNeverSawId() {
+    //Arrange
+    ExistenceCache<UnitID> cache = new ExistenceCache<>("unit", 10, new BloomFilter(100, 0.001));
+    cache.add(new UnitID("C"));
+
+    //Act
+    boolean exists = cache.contains(new UnitID("K"), lookup(Set.of("C")));
+
+    //Assert
+    assertFalse(exists);
+    assertEquals(0, queries.get());
+    assertEquals(1, cache.getStats().bloomNegatives());
+  }
+
+  @Test
+  void shouldQuery_WhenIdIsKnownToBloomFilterButNotHeld() {
+    //Arrange
+    ExistenceCache<UnitID> cache = new ExistenceCache<>("unit", 1, new BloomFilter(100, 0.001));
+    cache.add(new UnitID("C"));
+    cache.add(new UnitID("F"));
+
+    //Act
+    boolean exists = cache.contains(new UnitID("F"), lookup(Set.of("C", "F")));
+
+    //Assert
+    assertTrue(exists);
+    assertEquals(1, queries.get());
+    assertEquals(1, cache.getStats().cachedIds());
+  }
+
+  @Test
+  void shouldReportHitRatio() {
+    //Arrange
+    ExistenceCache<UnitID> cache = new ExistenceCache<>("unit", 10, null);
+    Predicate<UnitID> lookup = lookup(Set.of("C"));
+
+    //Act
+    for (int i = 0; i < 4; i++) {
+      cache.contains(new UnitID("C"), lookup);
+    }
+
+    //Assert
+    assertEquals(0.75, cache.getStats().hitRatio());
+  }
+
+  @Test
+  void shouldReportZeroHitRatio_WhenThereWereNoLookups() {
+    //Arrange
+    ExistenceCache<UnitID> cache = new ExistenceCache<>("unit", 10, null);
+
+    //Act & Assert
+    assertEquals(0, cache.getStats().hitRatio());
+  }
+}
@@ -0,0 +1,428 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.columnar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+
+class LogColumnarRepositoryTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+  private final ILogFactory logFactory = new LogFactoryImpl();
+
+  private Log createLog(String deviceID, String sensorTypeID, LocalDateTime timeStamp,
+      String value) {
+    return logFactory.createLog(new DeviceID(deviceID), new SensorID(deviceID + "-sensor"),
+        timeStamp, new ReadingValue(value), new SensorTypeID(sensorTypeID), new UnitID("Celsius"));
+  }
+
+  private void assertSameLog(Log expected, Log actual) {
+    assertEquals(expected.getID(), actual.getID());
+    assertEquals(expected.getDeviceID(), actual.getDeviceID());
+    assertEquals(expected.getSensorID(), actual.getSensorID());
+    assertEquals(expected.getTimeStamp(), actual.getTimeStamp());
+    assertEquals(expected.getReadingValue(), actual.getReadingValue());
+    assertEquals(expected.getDescription(), actual.getDescription());
+    assertEquals(expected.getUnit(), actual.getUnit());
+  }
+
+  /**
+   * Test that a null log factory is rejected.
+   */
+  @Test
+  void shouldThrowException_whenLogFactoryIsNull() {
+    //Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new LogColumnarRepository(null));
+
+    //Assert
+    assertEquals("Log Factory is required", exception.getMessage());
+  }
+
+  /**
+   * Test that a null log is rejected.
+   */
+  @Test
+  void shouldThrowException_whenSavingNullLog() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+
+    //Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> repository.save(null));
+
+    //Assert
+    assertEquals("Log is required", exception.getMessage());
+  }
+
+  /**
+   * Test that a batch is saved as a whole and found like logs saved one by one.
+   */
+  @Test
+  void shouldFindLogsSavedInBatch() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+    Log first = createLog("device", "Temperature", START.plusMinutes(1), "20");
+    Log second = createLog("device", "Temperature", START, "19");
+    DatePeriod period = new DatePeriod(START, START.plusMinutes(5));
+
+    //Act
+    repository.saveAll(List.of(first, second));
+    List<Log> result = repository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
+        new DeviceID("device"), new SensorTypeID("Temperature"), period);
+
+    //Assert
+    assertEquals(2, result.size());
+    assertSameLog(second, result.get(0));
+    assertSameLog(first, result.get(1));
+  }
+
+  /**
+   * Test that every kind of reading value is rebuilt exactly as it was saved.
+   */
+  @Test
+  void shouldRebuildLogsExactly_whenValuesAreIntegersDecimalsAndText() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+    Log integer = createLog("device", "Temperature", START, "-21");
+    Log decimal = createLog("device", "Temperature", START.plusMinutes(1), "21.5");
+    Log paddedInteger = createLog("device", "Temperature", START.plusMinutes(2), "007");
+    Log text = createLog("device", "SunriseTime", START.plusNanos(123), "06:41:12");
+    Log textID = logFactory.createLog(new LogID("log-1"), new DeviceID("device"),
+        new SensorID("sensor"), START, new ReadingValue("1"), new SensorTypeID("Humidity"),
+        new UnitID("Percent"));
+    List<Log> saved = List.of(integer, decimal, paddedInteger, text, textID);
+
+    //Act
+    saved.forEach(repository::save);
+    List<Log> result = repository.findAll();
+
+    //Assert
+    assertEquals(saved.size(), result.size());
+    for (Log log : saved) {
+      assertSameLog(log, repository.ofIdentity(log.getID()).orElseThrow());
+    }
+  }
+
+  /**
+   * Test that readings saved out of order are returned in time order.
+   */
+  @Test
+  void shouldReturnReadingsSortedByTimestamp_whenSavedOutOfOrder() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+    Log third = createLog("device", "Temperature", START.plusMinutes(2), "3");
+    Log first = createLog("device", "Temperature", START, "1");
+    Log second = createLog("device", "Temperature", START.plusMinutes(1), "2");
+    repository.save(third);
+    repository.save(first);
+    repository.save(second);
+
+    //Act
+    List<Log> result = repository.findByDeviceIDAndSensorTypeID(new DeviceID("device"),
+        new SensorTypeID("Temperature"));
+
+    //Assert
+    assertEquals(List.of(first, second, third), result);
+  }
+
+  /**
+   * Test that the period query includes both ends and filters by device and sensor type.
+   */
+  @Test
+  void shouldReturnReadingsInsidePeriod_whenFindingByDeviceSensorTypeAndPeriod() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+    Log before = createLog("device", "Temperature", START.minusMinutes(1), "1");
+    Log atStart = createLog("device", "Temperature", START, "2");
+    Log atEnd = createLog("device", "Temperature", START.plusMinutes(10), "3");
+    Log after = createLog("device", "Temperature", START.plusMinutes(11), "4");
+    Log otherType = createLog("device", "Humidity", START.plusMinutes(5), "50");
+    Log otherDevice = createLog("other", "Temperature", START.plusMinutes(5), "5");
+    List.of(before, atStart, atEnd, after, otherType, otherDevice).forEach(repository::save);
+    DatePeriod period = new DatePeriod(START, START.plusMinutes(10));
+
+    //Act
+    List<Log> result = repository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
+        new DeviceID("device"), new SensorTypeID("Temperature"), period);
+
+    //Assert
+    assertEquals(List.of(atStart, atEnd), result);
+  }
+
+  /**
+   * Test that the device period query merges every sensor type of the device in time order.
+   */
+  @Test
+  void shouldMergeSensorTypes_whenFindingByDeviceAndPeriod() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+    Log temperature = createLog("device", "Temperature", START.plusMinutes(2), "20");
+    Log humidity = createLog("device", "Humidity", START.plusMinutes(1), "50");
+    Log otherDevice = createLog("other", "Humidity", START.plusMinutes(1), "40");
+    List.of(temperature, humidity, otherDevice).forEach(repository::save);
+    DatePeriod period = new DatePeriod(START, START.plusMinutes(10));
+
+    //Act
+    List<Log> result = repository.findByDeviceIDAndDatePeriodBetween(new DeviceID("device"),
+        period);
+
+    //Assert
+    assertEquals(List.of(humidity, temperature), result);
+  }
+
+  /**
+   * Test that the multi-device query returns the readings of every listed device, and only those.
+   */
+  @Test
+  void shouldReturnReadingsOfListedDevices_whenFindingBySeveralDevices() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+    Log first = createLog("first", "Power", START.plusMinutes(1), "100");
+    Log second = createLog("second", "Power", START.plusMinutes(2), "50");
+    Log outside = createLog("second", "Power", START.plusMinutes(20), "70");
+    Log otherType = createLog("first", "Temperature", START.plusMinutes(1), "20");
+    Log otherDevice = createLog("third", "Power", START.plusMinutes(1), "10");
+    List.of(first, second, outside, otherType, otherDevice).forEach(repository::save);
+    DatePeriod period = new DatePeriod(START, START.plusMinutes(10));
+
+    //Act
+    List<Log> result = repository.findByDeviceIDsAndSensorTypeAndDatePeriodBetween(
+        List.of(new DeviceID("first"), new DeviceID("second"), new DeviceID("unknown")),
+        new SensorTypeID("Power"), period);
+
+    //Assert
+    assertEquals(List.of(first, second), result);
+  }
+
+  /**
+   * Test that the grouped multi-device query has an entry for every listed device, in the order
+   * of the list, with an empty list for devices without readings.
+   */
+  @Test
+  void shouldGroupReadingsByListedDevice_whenFindingGroupedBySeveralDevices() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+    Log first = createLog("first", "Power", START.plusMinutes(1), "100");
+    Log second = createLog("second", "Power", START.plusMinutes(2), "50");
+    Log secondLater = createLog("second", "Power", START.plusMinutes(3), "60");
+    List.of(first, second, secondLater).forEach(repository::save);
+    DatePeriod period = new DatePeriod(START, START.plusMinutes(10));
+
+    //Act
+    Map<DeviceID, List<Log>> result =
+        repository.findGroupedByDeviceIDsAndSensorTypeAndDatePeriodBetween(
+            List.of(new DeviceID("unknown"), new DeviceID("second"), new DeviceID("first")),
+            new SensorTypeID("Power"), period);
+
+    //Assert
+    assertEquals(List.of(new DeviceID("unknown"), new DeviceID("second"), new DeviceID("first")),
+        List.copyOf(result.keySet()));
+    assertTrue(result.get(new DeviceID("unknown")).isEmpty());
+    assertEquals(List.of(second, secondLater), result.get(new DeviceID("second")));
+    assertEquals(List.of(first), result.get(new DeviceID("first")));
+  }
+
+  /**
+   * Test that paging through a device visits every log once, in (timestamp, log ID) order, even
+   * when several logs of different sensor types share a timestamp at a page boundary.
+   */
+  @Test
+  void shouldVisitEveryLogOnceInOrder_whenPagingByDeviceAndPeriod() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+    List<Log> expected = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      LocalDateTime time = START.plusSeconds(i / 4);
+      Log log = createLog("device", i % 2 == 0 ? "Temperature" : "Humidity", time, "" + i);
+      repository.save(log);
+      expected.add(log);
+    }
+    repository.save(createLog("other", "Temperature", START, "0"));
+    expected.sort(LogCursor.ORDER);
+    DatePeriod period = new DatePeriod(START, START.plusMinutes(10));
+
+    //Act
+    List<Log> visited = new ArrayList<>();
+    LogCursor cursor = null;
+    List<Log> page;
+    do {
+      page = repository.findPageByDeviceIDAndDatePeriodBetween(new DeviceID("device"), period,
+          cursor, 3);
+      visited.addAll(page);
+      cursor = page.isEmpty() ? cursor : LogCursor.of(page.get(page.size() - 1));
+    } while (page.size() == 3);
+
+    //Assert
+    assertEquals(expected, visited);
+  }
+
+  /**
+   * Test that the latest reading is the newest by timestamp, and by log ID among readings that
+   * share it, whatever the order the readings were saved in.
+   */
+  @Test
+  void shouldFindLatestReading_whenSavedOutOfOrder() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+    Log newest = logFactory.createLog(new LogID("b"), new DeviceID("device"),
+        new SensorID("sensor"), START.plusMinutes(5), new ReadingValue("30"),
+        new SensorTypeID("PercentagePosition"), new UnitID("Percent"));
+    Log tied = logFactory.createLog(new LogID("a"), new DeviceID("device"),
+        new SensorID("sensor"), START.plusMinutes(5), new ReadingValue("20"),
+        new SensorTypeID("PercentagePosition"), new UnitID("Percent"));
+    Log older = createLog("device", "PercentagePosition", START, "10");
+    repository.saveAll(List.of(newest, tied));
+    repository.save(older);
+    repository.save(createLog("device", "Temperature", START.plusMinutes(9), "21"));
+
+    //Act
+    Optional<Log> latest = repository.findLatest(new DeviceID("device"),
+        new SensorTypeID("PercentagePosition"));
+
+    //Assert
+    assertSameLog(newest, latest.orElseThrow());
+    assertTrue(repository.existsBy(new DeviceID("device"), new SensorTypeID("Temperature")));
+    assertFalse(repository.existsBy(new DeviceID("device"), new SensorTypeID("Humidity")));
+    assertTrue(repository.findLatest(new DeviceID("other"),
+        new SensorTypeID("PercentagePosition")).isEmpty());
+  }
+
+  /**
+   * Test that unknown devices, sensor types and IDs give empty results.
+   */
+  @Test
+  void shouldReturnEmptyResults_whenNothingMatches() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+    repository.save(createLog("device", "Temperature", START, "1"));
+    DatePeriod period = new DatePeriod(START, START.plusMinutes(10));
+
+    //Act
+    List<Log> unknownDevice = repository.findByDeviceIDAndDatePeriodBetween(
+        new DeviceID("unknown"), period);
+    List<Log> unknownType = repository.findByDeviceIDAndSensorTypeID(new DeviceID("device"),
+        new SensorTypeID("Humidity"));
+    Optional<Log> unknownID = repository.ofIdentity(new LogID("unknown"));
+
+    //Assert
+    assertTrue(unknownDevice.isEmpty());
+    assertTrue(unknownType.isEmpty());
+    assertTrue(unknownID.isEmpty());
+    assertFalse(repository.containsOfIdentity(new LogID("3f2b1c1e-8c1a-4f7e-9d7e-2b1a0c9d8e7f")));
+  }
+
+  /**
+   * Test that the columns take 37 bytes per reading, plus at most half of it as spare capacity.
+   */
+  @Test
+  void shouldUseLessThanSixtyBytesPerReading() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+    int readings = 100_000;
+
+    //Act
+    for (int i = 0; i < readings; i++) {
+      repository.save(createLog("device", "Temperature", START.plusMinutes(i),
+          String.valueOf(i % 30)));
+    }
+
+    //Assert
+    assertTrue(repository.columnBytes() / readings < 60);
+  }
+
+  /**
+   * Test that the pages of every chunk are found in (timestamp, log ID) order, without skipping or
+   * repeating readings that share a timestamp across a page boundary.
+   */
+  @Test
+  void shouldVisitEveryReadingOnce_whenPagingAllDevices() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+    List<Log> logs = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      logs.add(createLog("a", "Temperature", START.plusMinutes(i / 2), String.valueOf(i)));
+      logs.add(createLog("b", "Humidity", START.plusMinutes(i / 3), String.valueOf(i)));
+    }
+    repository.saveAll(logs);
+
+    //Act
+    List<Log> visited = new ArrayList<>();
+    LogCursor after = null;
+    List<Log> page;
+    do {
+      page = repository.findPage(after, 3);
+      visited.addAll(page);
+      after = page.isEmpty() ? after : LogCursor.of(page.get(page.size() - 1));
+    } while (page.size() == 3);
+
+    //Assert
+    assertEquals(logs.stream().sorted(LogCursor.ORDER).map(Log::getID).toList(),
+        visited.stream().map(Log::getID).toList());
+  }
+
+  /**
+   * Test that the oldest readings of every chunk are found in (timestamp, log ID) order, and that
+   * deleting them keeps the other readings.
+   */
+  @Test
+  void shouldFindAndDeleteOldestReadings_whenCutoffIsGiven() {
+    //Arrange
+    LogColumnarRepository repository = new LogColumnarRepository(logFactory);
+    List<Log> logs = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      logs.add(createLog("a", "Temperature", START.plusMinutes(2 * i), String.valueOf(i)));
+      logs.add(createLog("b", "Temperature", START.plusMinutes(2 * i + 1), String.valueOf(i)));
+    }
+    Log textID = logFactory.createLog(new LogID("text-id"), new DeviceID("a"),
+        new SensorID("a-sensor"), START.plusMinutes(3), new ReadingValue("5"),
+        new SensorTypeID("Temperature"), new UnitID("Celsius"));
+    logs.add(textID);
+    repository.saveAll(logs);
+    List<Log> expected = logs.stream()
+        .filter(log -> log.getTimeStamp().isBefore(START.plusMinutes(8)))
+        .sorted(LogCursor.ORDER)
+        .limit(6)
+        .toList();
+
+    //Act
+    List<Log> oldest = repository.findOlderThan(START.plusMinutes(8), 6);
+    repository.deleteAll(oldest);
+    repository.deleteAll(List.of(createLog("a", "Temperature", START, "0")));
+
+    //Assert
+    assertEquals(expected.stream().map(Log::getID).toList(),
+        oldest.stream().map(Log::getID).toList());
+    assertTrue(oldest.contains(textID));
+    assertEquals(logs.size() - 6, repository.findAll().size());
+    assertTrue(repository.findOlderThan(START.plusMinutes(5), 10).isEmpty());
+    assertEquals(3, repository.findOlderThan(START.plusMinutes(8), 10).size());
+    assertFalse(repository.containsOfIdentity(textID.getID()));
+  }
+}
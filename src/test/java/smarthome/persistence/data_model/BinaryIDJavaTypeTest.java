@@ -0,0 +1,76 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.data_model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import smarthome.utils.id.TimeOrderedUUIDGenerator;
+
+class BinaryIDJavaTypeTest {
+
+  @Test
+  void shouldStoreUUIDIn16Bytes() {
+    //Arrange
+    String id = "0190f3a4-1b2c-7d3e-8f40-123456789abc";
+
+    //Act
+    byte[] bytes = BinaryIDJavaType.encode(id);
+
+    //Assert
+    assertEquals(16, bytes.length);
+    assertEquals(id, BinaryIDJavaType.decode(bytes));
+  }
+
+  @Test
+  void shouldKeepOtherIDs() {
+    //Arrange
+    String[] ids = {"1", "device-1", "0190F3A4-1B2C-7D3E-8F40-123456789ABC", "fifteen-chars!!",
+        "sixteen-chars!!!", "çãõ", ""};
+
+    //Act & Assert
+    for (String id : ids) {
+      byte[] bytes = BinaryIDJavaType.encode(id);
+      assertTrue(bytes.length != 16, id);
+      assertEquals(id, BinaryIDJavaType.decode(bytes));
+    }
+  }
+
+  @Test
+  void shouldOrderBytesLikeGeneratedIDs() {
+    //Arrange
+    TimeOrderedUUIDGenerator generator = new TimeOrderedUUIDGenerator();
+    String first = generator.nextID();
+    String second = generator.nextID();
+
+    //Act
+    int order = Arrays.compareUnsigned(BinaryIDJavaType.encode(first),
+        BinaryIDJavaType.encode(second));
+
+    //Assert
+    assertTrue(order < 0);
+    assertTrue(first.compareTo(second) < 0);
+  }
+
+  @Test
+  void shouldConvertBetweenStringAndBytes() {
+    //Arrange
+    BinaryIDJavaType javaType = new BinaryIDJavaType();
+    String id = "0190f3a4-1b2c-7d3e-8f40-123456789abc";
+
+    //Act
+    byte[] bytes = javaType.unwrap(id, byte[].class, null);
+    String wrapped = javaType.wrap(bytes, null);
+
+    //Assert
+    assertEquals(id, wrapped);
+  }
+}
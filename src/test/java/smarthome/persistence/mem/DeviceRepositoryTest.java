@@ -225,5 +225,27 @@ class DeviceRepositoryTest {
     assertEquals(expectedDeviceList, returnedDeviceList);
   }
 
-
-}
\ No newline at end of file
+  /**
+   * Test that findPage returns the devices in ID order, starting after the cursor.
+   */
+  @Test
+  void shouldReturnDevicesInIDOrder_WhenFindingPage() {
+    //Arrange
+    DeviceRepository deviceRepository = new DeviceRepository();
+    Device deviceC = mock(Device.class);
+    when(deviceC.getID()).thenReturn(new DeviceID("c"));
+    Device deviceA = mock(Device.class);
+    when(deviceA.getID()).thenReturn(new DeviceID("a"));
+    Device deviceB = mock(Device.class);
+    when(deviceB.getID()).thenReturn(new DeviceID("b"));
+    deviceRepository.save(deviceC);
+    deviceRepository.save(deviceA);
+    deviceRepository.save(deviceB);
+    //Act
+    List<Device> firstPage = deviceRepository.findPage(null, 2);
+    List<Device> secondPage = deviceRepository.findPage(new DeviceID("b"), 2);
+    //Assert
+    assertEquals(List.of(deviceA, deviceB), firstPage);
+    assertEquals(List.of(deviceC), secondPage);
+  }
+}
@@ -0,0 +1,74 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.mem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingAggregate;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.Resolution;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+
+class LogRollupRepositoryTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+  private static final DeviceID DEVICE = new DeviceID("device");
+  private static final SensorTypeID TEMPERATURE = new SensorTypeID("Temperature");
+
+  /**
+   * Test that batches recorded concurrently into the same buckets are all counted.
+   */
+  @Test
+  void shouldCountEveryReading_whenRecordingConcurrently() throws Exception {
+    //Arrange
+    LogRollupRepository repository = new LogRollupRepository();
+    ILogFactory logFactory = new LogFactoryImpl();
+    int threads = 4;
+    int batches = 200;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    //Act
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      futures.add(executor.submit(() -> {
+        for (int b = 0; b < batches; b++) {
+          Log log = logFactory.createLog(DEVICE, new SensorID("sensor"),
+              START.plusSeconds(b % 60), new ReadingValue(1L), TEMPERATURE, new UnitID("C"));
+          repository.record(List.of(log));
+          repository.findByDeviceIDAndSensorTypeIDAndResolution(DEVICE, TEMPERATURE,
+              Resolution.MINUTE, START, START.plusMinutes(1));
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    //Assert
+    List<ReadingAggregate> day = repository.findByDeviceIDAndSensorTypeIDAndResolution(DEVICE,
+        TEMPERATURE, Resolution.DAY, START, START.plusDays(1));
+    assertEquals(1, day.size());
+    assertEquals(threads * batches, day.get(0).getCount());
+    assertEquals(threads * batches, day.get(0).getSum());
+  }
+}
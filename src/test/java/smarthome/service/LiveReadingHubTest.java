@@ -0,0 +1,247 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+
+class LiveReadingHubTest {
+
+  private static final long TIMEOUT_SECONDS = 5;
+
+  private final LogFactoryImpl logFactory = new LogFactoryImpl();
+  private LiveReadingHub hub;
+
+  @AfterEach
+  void tearDown() {
+    if (hub != null) {
+      hub.shutdown();
+    }
+  }
+
+  private Log reading(String deviceID, String value) {
+    return logFactory.createLog(new DeviceID(deviceID), new SensorID("1"),
+        LocalDateTime.of(2024, 1, 1, 10, 0), new ReadingValue(value),
+        new SensorTypeID("Temperature"), new UnitID("C"));
+  }
+
+  /**
+   * Listener that hands every reading to the test, and whether it was evicted.
+   */
+  private static final class CollectingListener implements ILiveReadingListener {
+
+    private final BlockingQueue<Log> received = new LinkedBlockingQueue<>();
+    private final CountDownLatch evicted = new CountDownLatch(1);
+
+    @Override
+    public void onReadings(List<Log> readings) {
+      received.addAll(readings);
+    }
+
+    @Override
+    public void onEvicted() {
+      evicted.countDown();
+    }
+
+    private Log next() throws InterruptedException {
+      return received.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+  }
+
+  private static void awaitIdle(LiveReadingHub.Subscription subscription) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+    while (subscription.isDelivering() && System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+    }
+    assertFalse(subscription.isDelivering());
+  }
+
+  /**
+   * Should throw exception when the buffer size is not positive
+   */
+  @Test
+  void shouldThrowException_WhenBufferSizeIsNotPositive() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> new LiveReadingHub(0));
+  }
+
+  /**
+   * Should deliver the readings that match the filter, in the order they were published
+   */
+  @Test
+  void shouldDeliverMatchingReadingsInOrder() throws InterruptedException {
+    // Arrange
+    hub = new LiveReadingHub(16);
+    CollectingListener listener = new CollectingListener();
+    hub.subscribe(log -> log.getDeviceID().equals(new DeviceID("1")), listener);
+    Log first = reading("1", "20");
+    Log second = reading("1", "21");
+
+    // Act
+    hub.publish(List.of(first, reading("2", "30"), second));
+
+    // Assert
+    assertEquals(first, listener.next());
+    assertEquals(second, listener.next());
+    assertTrue(listener.received.isEmpty());
+  }
+
+  /**
+   * Should evict a subscriber whose backlog still fills the buffer when a new batch arrives during
+   * its delivery, without holding back the others
+   */
+  @Test
+  void shouldEvictSlowSubscriber_WhenBufferIsFull() throws InterruptedException {
+    // Arrange
+    hub = new LiveReadingHub(2);
+    CountDownLatch delivering = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch evicted = new CountDownLatch(1);
+    LiveReadingHub.Subscription slow = hub.subscribe(log -> true, new ILiveReadingListener() {
+      @Override
+      public void onReadings(List<Log> readings) throws IOException {
+        delivering.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+      }
+
+      @Override
+      public void onEvicted() {
+        evicted.countDown();
+      }
+    });
+    CollectingListener fast = new CollectingListener();
+    LiveReadingHub.Subscription fastSubscription = hub.subscribe(log -> true, fast);
+
+    hub.publish(List.of(reading("1", "1")));
+    assertTrue(delivering.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    assertEquals("1", fast.next().getReadingValue().getValue());
+    awaitIdle(fastSubscription);
+
+    // Act
+    hub.publish(List.of(reading("1", "2"), reading("1", "3"), reading("1", "4")));
+    hub.publish(List.of(reading("1", "5")));
+    release.countDown();
+
+    // Assert
+    assertTrue(evicted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    assertFalse(slow.isActive());
+    assertEquals(1, hub.getSubscriptionCount());
+    List<String> values = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      values.add(fast.next().getReadingValue().getValue());
+    }
+    assertEquals(List.of("2", "3", "4", "5"), values);
+  }
+
+  /**
+   * Should deliver a batch larger than the buffer to an idle subscriber, without evicting it
+   */
+  @Test
+  void shouldDeliverBatchLargerThanBuffer_WhenSubscriberIsIdle() throws InterruptedException {
+    // Arrange
+    hub = new LiveReadingHub(2);
+    CollectingListener listener = new CollectingListener();
+    LiveReadingHub.Subscription subscription = hub.subscribe(log -> true, listener);
+    List<Log> batch = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      batch.add(reading("1", String.valueOf(i)));
+    }
+
+    // Act
+    hub.publish(batch);
+
+    // Assert
+    for (Log log : batch) {
+      assertEquals(log, listener.next());
+    }
+    assertTrue(subscription.isActive());
+    assertEquals(1, hub.getSubscriptionCount());
+    assertEquals(1, listener.evicted.getCount());
+  }
+
+  /**
+   * Should not deliver readings to a cancelled subscription
+   */
+  @Test
+  void shouldNotDeliver_WhenSubscriptionIsCancelled() {
+    // Arrange
+    hub = new LiveReadingHub(16);
+    ILiveReadingListener listener = mock(ILiveReadingListener.class);
+    LiveReadingHub.Subscription subscription = hub.subscribe(log -> true, listener);
+
+    // Act
+    subscription.cancel();
+    hub.publish(List.of(reading("1", "20")));
+
+    // Assert
+    assertFalse(subscription.isActive());
+    assertEquals(0, hub.getSubscriptionCount());
+    verifyNoInteractions(listener);
+  }
+
+  /**
+   * Should cancel the subscription when the listener cannot deliver
+   */
+  @Test
+  void shouldCancelSubscription_WhenListenerFails() throws InterruptedException {
+    // Arrange
+    hub = new LiveReadingHub(16);
+    CountDownLatch failed = new CountDownLatch(1);
+    LiveReadingHub.Subscription subscription = hub.subscribe(log -> true,
+        new ILiveReadingListener() {
+          @Override
+          public void onReadings(List<Log> readings) throws IOException {
+            failed.countDown();
+            throw new IOException("Connection reset");
+          }
+
+          @Override
+          public void onEvicted() {
+          }
+        });
+
+    // Act
+    hub.publish(List.of(reading("1", "20")));
+
+    // Assert
+    assertTrue(failed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+    while (subscription.isActive() && System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+    }
+    assertFalse(subscription.isActive());
+    assertEquals(0, hub.getSubscriptionCount());
+  }
+}
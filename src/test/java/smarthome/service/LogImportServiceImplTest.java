@@ -0,0 +1,293 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.CannotCreateTransactionException;
+import smarthome.domain.log.Log;
+import smarthome.utils.CvsLoader;
+
+class LogImportServiceImplTest {
+
+  private static final String HEADER = "deviceID,sensorID,sensorTypeID,unitID,reading,timestamp\n";
+
+  @TempDir
+  Path tempDir;
+
+  private final List<List<LogBatchEntry>> batches = Collections.synchronizedList(new ArrayList<>());
+  private LogImportServiceImpl logImportService;
+
+  @AfterEach
+  void tearDown() {
+    if (logImportService != null) {
+      logImportService.shutdown();
+    }
+  }
+
+  /**
+   * ILogService mock that records the batches and saves every entry except those of the device
+   * "unknown".
+   */
+  private ILogService logService() {
+    ILogService logService = mock(ILogService.class);
+    Log log = mock(Log.class);
+    when(logService.addLogs(anyList())).thenAnswer(invocation -> {
+      Collection<LogBatchEntry> entries = invocation.getArgument(0);
+      batches.add(List.copyOf(entries));
+      return entries.stream()
+          .map(entry -> entry.deviceID().getID().equals("unknown")
+              ? LogBatchResult.rejected("Device ID does not exist")
+              : LogBatchResult.saved(log))
+          .toList();
+    });
+    return logService;
+  }
+
+  private Path file(String rows) throws IOException {
+    Path file = tempDir.resolve("logs.csv");
+    Files.writeString(file, HEADER + rows);
+    return file;
+  }
+
+  private LogImportProgress await(String importID) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    LogImportProgress progress = logImportService.getProgress(importID);
+    while (progress.state() == LogImportState.RUNNING && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      progress = logImportService.getProgress(importID);
+    }
+    return progress;
+  }
+
+  @Test
+  void shouldSaveEveryRow_WhenFileIsValid() throws Exception {
+    //Arrange
+    StringBuilder rows = new StringBuilder();
+    for (int i = 0; i < 250; i++) {
+      rows.append("device-").append(i % 7).append(",sensor,Temperature,C,")
+          .append(i).append(",2024-01-01T00:00:").append(String.format("%02d", i % 60))
+          .append('\n');
+    }
+    Path file = file(rows.toString());
+    logImportService = new LogImportServiceImpl(logService(), new CvsLoader(),
+        tempDir.toString(), 3, 10, 2, 100);
+
+    //Act
+    LogImportProgress progress = await(logImportService.startImport(file.toString()).importID());
+
+    //Assert
+    assertEquals(LogImportState.COMPLETED, progress.state());
+    assertEquals(250, progress.rowsRead());
+    assertEquals(250, progress.saved());
+    assertEquals(0, progress.rejected());
+    assertEquals(Files.size(file), progress.bytesRead());
+    assertEquals(Files.size(file), progress.totalBytes());
+    assertTrue(batches.stream().allMatch(batch -> batch.size() <= 10));
+  }
+
+  @Test
+  void shouldKeepEachDeviceInOneBatchStream_InFileOrder() throws Exception {
+    //Arrange
+    StringBuilder rows = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      rows.append("device-").append(i % 5).append(",sensor,Temperature,C,").append(i)
+          .append(",2024-01-01T00:00:00\n");
+    }
+    logImportService = new LogImportServiceImpl(logService(), new CvsLoader(),
+        tempDir.toString(), 4, 7, 2, 100);
+
+    //Act
+    await(logImportService.startImport(file(rows.toString()).toString()).importID());
+
+    //Assert
+    Map<String, List<Integer>> readingsByDevice = new ConcurrentHashMap<>();
+    synchronized (batches) {
+      for (List<LogBatchEntry> batch : batches) {
+        for (LogBatchEntry entry : batch) {
+          readingsByDevice.computeIfAbsent(entry.deviceID().getID(), id -> new ArrayList<>())
+              .add(Integer.parseInt(entry.readingValue().getValue()));
+        }
+      }
+    }
+    assertEquals(5, readingsByDevice.size());
+    for (List<Integer> readings : readingsByDevice.values()) {
+      assertEquals(20, readings.size());
+      List<Integer> sorted = new ArrayList<>(readings);
+      Collections.sort(sorted);
+      assertEquals(sorted, readings);
+    }
+  }
+
+  @Test
+  void shouldReportRejectedRows_WithTheirRowNumber() throws Exception {
+    //Arrange
+    Path file = file("device,sensor,Temperature,C,20,2024-01-01T00:00:00\n"
+        + "device,sensor,Temperature,C,20,not a timestamp\n"
+        + "unknown,sensor,Temperature,C,20,2024-01-01T00:00:00\n"
+        + "device,sensor\n"
+        + "device,sensor,Temperature,C,21,2024-01-01T00:01:00\n");
+    logImportService = new LogImportServiceImpl(logService(), new CvsLoader(),
+        tempDir.toString(), 2, 10, 2, 100);
+
+    //Act
+    LogImportProgress progress = await(logImportService.startImport(file.toString()).importID());
+
+    //Assert
+    assertEquals(LogImportState.COMPLETED, progress.state());
+    assertEquals(5, progress.rowsRead());
+    assertEquals(2, progress.saved());
+    assertEquals(3, progress.rejected());
+    assertEquals(List.of(3L, 4L, 5L),
+        progress.rejects().stream().map(LogImportReject::rowNumber).toList());
+    assertEquals("Device ID does not exist", progress.rejects().get(1).error());
+    assertEquals("Expected 6 columns but found 2", progress.rejects().get(2).error());
+  }
+
+  @Test
+  void shouldRejectWholeBatch_WhenTransactionCannotStart() throws Exception {
+    //Arrange
+    ILogService logService = mock(ILogService.class);
+    when(logService.addLogs(anyList())).thenThrow(
+        new CannotCreateTransactionException("Database down"));
+    Path file = file("device,sensor,Temperature,C,20,2024-01-01T00:00:00\n"
+        + "device,sensor,Temperature,C,21,2024-01-01T00:01:00\n");
+    logImportService = new LogImportServiceImpl(logService, new CvsLoader(),
+        tempDir.toString(), 2, 10, 2, 1);
+
+    //Act
+    LogImportProgress progress = await(logImportService.startImport(file.toString()).importID());
+
+    //Assert
+    assertEquals(LogImportState.COMPLETED, progress.state());
+    assertEquals(0, progress.saved());
+    assertEquals(2, progress.rejected());
+    assertEquals(1, progress.rejects().size());
+    assertEquals("Could not be saved: Database down", progress.rejects().get(0).error());
+    verify(logService, times(1)).addLogs(anyList());
+  }
+
+  @Test
+  void shouldRejectOnlyFailingRows_WhenBatchCannotBeSaved() throws Exception {
+    //Arrange
+    ILogService logService = mock(ILogService.class);
+    Log log = mock(Log.class);
+    when(logService.addLogs(anyList())).thenAnswer(invocation -> {
+      Collection<LogBatchEntry> entries = invocation.getArgument(0);
+      if (entries.stream().anyMatch(entry -> entry.readingValue().getValue().equals("bad"))) {
+        throw new IllegalStateException("Value too long");
+      }
+      return entries.stream().map(entry -> LogBatchResult.saved(log)).toList();
+    });
+    Path file = file("device,sensor,Temperature,C,20,2024-01-01T00:00:00\n"
+        + "device,sensor,Temperature,C,21,2024-01-01T00:01:00\n"
+        + "device,sensor,Temperature,C,bad,2024-01-01T00:02:00\n"
+        + "device,sensor,Temperature,C,22,2024-01-01T00:03:00\n"
+        + "device,sensor,Temperature,C,23,2024-01-01T00:04:00\n");
+    logImportService = new LogImportServiceImpl(logService, new CvsLoader(),
+        tempDir.toString(), 1, 10, 2, 100);
+
+    //Act
+    LogImportProgress progress = await(logImportService.startImport(file.toString()).importID());
+
+    //Assert
+    assertEquals(LogImportState.COMPLETED, progress.state());
+    assertEquals(4, progress.saved());
+    assertEquals(1, progress.rejected());
+    assertEquals(4L, progress.rejects().get(0).rowNumber());
+    assertEquals("Could not be saved: Value too long", progress.rejects().get(0).error());
+  }
+
+  @Test
+  void shouldImportFile_WhenPathIsRelativeToImportDirectory() throws Exception {
+    //Arrange
+    file("device,sensor,Temperature,C,20,2024-01-01T00:00:00\n");
+    logImportService = new LogImportServiceImpl(logService(), new CvsLoader(),
+        tempDir.toString(), 2, 10, 2, 100);
+
+    //Act
+    LogImportProgress progress = await(logImportService.startImport("logs.csv").importID());
+
+    //Assert
+    assertEquals(LogImportState.COMPLETED, progress.state());
+    assertEquals(1, progress.saved());
+  }
+
+  @Test
+  void shouldThrowException_WhenPathIsOutsideImportDirectory() throws Exception {
+    //Arrange
+    Path directory = Files.createDirectory(tempDir.resolve("imports"));
+    Path outside = file("device,sensor,Temperature,C,20,2024-01-01T00:00:00\n");
+    Files.createSymbolicLink(directory.resolve("link.csv"), outside);
+    logImportService = new LogImportServiceImpl(logService(), new CvsLoader(),
+        directory.toString(), 2, 10, 2, 100);
+
+    //Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> logImportService.startImport("../logs.csv"));
+    assertThrows(IllegalArgumentException.class,
+        () -> logImportService.startImport(outside.toString()));
+    assertThrows(IllegalArgumentException.class,
+        () -> logImportService.startImport("link.csv"));
+  }
+
+  @Test
+  void shouldThrowException_WhenFileDoesNotExist() {
+    //Arrange
+    logImportService = new LogImportServiceImpl(logService(), new CvsLoader(),
+        tempDir.toString(), 2, 10, 2, 100);
+    String path = tempDir.resolve("missing.csv").toString();
+
+    //Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> logImportService.startImport(path));
+  }
+
+  @Test
+  void shouldThrowException_WhenImportIsUnknown() {
+    //Arrange
+    logImportService = new LogImportServiceImpl(logService(), new CvsLoader(),
+        tempDir.toString(), 2, 10, 2, 100);
+
+    //Act & Assert
+    assertThrows(EntityNotFoundException.class, () -> logImportService.getProgress("unknown"));
+  }
+
+  @Test
+  void shouldThrowException_WhenPartitionsAreNotPositive() {
+    //Arrange
+    ILogService logService = logService();
+    CvsLoader cvsLoader = new CvsLoader();
+
+    //Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> new LogImportServiceImpl(logService, cvsLoader, tempDir.toString(), 0, 10, 2,
+            100));
+  }
+}
@@ -0,0 +1,442 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionSystemException;
+import smarthome.domain.log.Log;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.utils.exceptions.IngestQueueFullException;
+
+class LogIngestServiceImplTest {
+
+  private static final Duration LONG = Duration.ofSeconds(30);
+
+  private final List<List<LogBatchEntry>> batches = Collections.synchronizedList(new ArrayList<>());
+  private LogIngestServiceImpl ingest;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (ingest != null) {
+      ingest.close();
+    }
+  }
+
+  private static List<LogBatchEntry> entries(int count) {
+    List<LogBatchEntry> entries = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      entries.add(new LogBatchEntry(new DeviceID("device"), new SensorID("sensor"),
+          LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i), new ReadingValue(String.valueOf(i)),
+          new SensorTypeID("Temperature"), new UnitID("C")));
+    }
+    return entries;
+  }
+
+  /**
+   * ILogService mock that records the batches and saves every entry.
+   */
+  private ILogService recordingService() {
+    ILogService logService = mock(ILogService.class);
+    Log log = mock(Log.class);
+    when(logService.addLogs(anyList())).thenAnswer(invocation -> {
+      Collection<LogBatchEntry> batch = invocation.getArgument(0);
+      batches.add(new ArrayList<>(batch));
+      return batch.stream().map(entry -> LogBatchResult.saved(log)).toList();
+    });
+    return logService;
+  }
+
+  /**
+   * ILogService mock whose first call waits for the latch, keeping the writer busy.
+   */
+  private ILogService blockedService(CountDownLatch release, CountDownLatch started) {
+    ILogService logService = mock(ILogService.class);
+    Log log = mock(Log.class);
+    when(logService.addLogs(anyList())).thenAnswer(invocation -> {
+      started.countDown();
+      release.await();
+      Collection<LogBatchEntry> batch = invocation.getArgument(0);
+      batches.add(new ArrayList<>(batch));
+      return batch.stream().map(entry -> LogBatchResult.saved(log)).toList();
+    });
+    return logService;
+  }
+
+  private void awaitWritten(long count) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (ingest.getMetrics().written() + ingest.getMetrics().failed() < count
+        && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+
+  @Test
+  void shouldThrowException_WhenLogServiceIsNull() {
+    //Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> new LogIngestServiceImpl(null, 10, 5,
+        LONG, LogIngestOverflowPolicy.REJECT, LONG));
+  }
+
+  @Test
+  void shouldThrowException_WhenCapacityIsNotPositive() {
+    //Arrange
+    ILogService logService = recordingService();
+
+    //Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> new LogIngestServiceImpl(logService, 0, 5,
+        LONG, LogIngestOverflowPolicy.REJECT, LONG));
+  }
+
+  @Test
+  void shouldWriteFullBatches_WhenBatchSizeIsReached() throws InterruptedException {
+    //Arrange
+    ingest = new LogIngestServiceImpl(recordingService(), 100, 10, LONG,
+        LogIngestOverflowPolicy.REJECT, LONG);
+
+    //Act
+    int accepted = ingest.submit(entries(20));
+    awaitWritten(20);
+
+    //Assert
+    assertEquals(20, accepted);
+    assertEquals(20, ingest.getMetrics().written());
+    assertTrue(batches.stream().allMatch(batch -> batch.size() == 10));
+  }
+
+  @Test
+  void shouldWritePartialBatch_WhenMaxDelayElapses() throws InterruptedException {
+    //Arrange
+    ingest = new LogIngestServiceImpl(recordingService(), 100, 10, Duration.ofMillis(20),
+        LogIngestOverflowPolicy.REJECT, LONG);
+
+    //Act
+    ingest.submit(entries(3));
+    awaitWritten(3);
+
+    //Assert
+    assertEquals(1, batches.size());
+    assertEquals(3, batches.get(0).size());
+  }
+
+  @Test
+  void shouldKeepOrderOfReadings() throws InterruptedException {
+    //Arrange
+    ingest = new LogIngestServiceImpl(recordingService(), 100, 7, Duration.ofMillis(20),
+        LogIngestOverflowPolicy.REJECT, LONG);
+    List<LogBatchEntry> entries = entries(50);
+
+    //Act
+    for (int i = 0; i < 50; i += 5) {
+      ingest.submit(entries.subList(i, i + 5));
+    }
+    awaitWritten(50);
+
+    //Assert
+    List<LogBatchEntry> written = batches.stream().flatMap(List::stream).toList();
+    assertEquals(entries, written);
+  }
+
+  @Test
+  void shouldRejectReadings_WhenQueueIsFull() throws InterruptedException {
+    //Arrange
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    ingest = new LogIngestServiceImpl(blockedService(release, started), 10, 5,
+        Duration.ofMillis(1), LogIngestOverflowPolicy.REJECT, LONG);
+    ingest.submit(entries(5));
+    started.await();
+    ingest.submit(entries(8));
+    List<LogBatchEntry> more = entries(3);
+
+    //Act & Assert
+    assertThrows(IngestQueueFullException.class, () -> ingest.submit(more));
+    assertEquals(3, ingest.getMetrics().rejected());
+    assertEquals(8, ingest.getMetrics().depth());
+    release.countDown();
+  }
+
+  @Test
+  void shouldDropOldestReadings_WhenQueueIsFull() throws InterruptedException {
+    //Arrange
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    ingest = new LogIngestServiceImpl(blockedService(release, started), 10, 10,
+        Duration.ofMillis(1), LogIngestOverflowPolicy.DROP_OLDEST, LONG);
+    List<LogBatchEntry> entries = entries(19);
+    ingest.submit(entries.subList(0, 1));
+    started.await();
+    ingest.submit(entries.subList(1, 11));
+
+    //Act
+    ingest.submit(entries.subList(11, 19));
+    release.countDown();
+    awaitWritten(11);
+
+    //Assert
+    assertEquals(8, ingest.getMetrics().dropped());
+    List<LogBatchEntry> written = batches.stream().flatMap(List::stream).toList();
+    List<LogBatchEntry> expected = new ArrayList<>(entries.subList(0, 1));
+    expected.addAll(entries.subList(9, 19));
+    assertEquals(expected, written);
+  }
+
+  @Test
+  void shouldRejectReadings_WhenBlockTimesOut() throws InterruptedException {
+    //Arrange
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    ingest = new LogIngestServiceImpl(blockedService(release, started), 4, 4,
+        Duration.ofMillis(1), LogIngestOverflowPolicy.BLOCK, Duration.ofMillis(50));
+    ingest.submit(entries(1));
+    started.await();
+    ingest.submit(entries(4));
+    List<LogBatchEntry> more = entries(1);
+
+    //Act & Assert
+    assertThrows(IngestQueueFullException.class, () -> ingest.submit(more));
+    release.countDown();
+  }
+
+  @Test
+  void shouldWaitForFreeSlots_WhenPolicyIsBlock() throws InterruptedException {
+    //Arrange
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    ingest = new LogIngestServiceImpl(blockedService(release, started), 4, 4,
+        Duration.ofMillis(1), LogIngestOverflowPolicy.BLOCK, LONG);
+    ingest.submit(entries(1));
+    started.await();
+    ingest.submit(entries(4));
+
+    //Act
+    new Thread(() -> {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      release.countDown();
+    }).start();
+    int accepted = ingest.submit(entries(2));
+    awaitWritten(7);
+
+    //Assert
+    assertEquals(2, accepted);
+    assertEquals(7, ingest.getMetrics().written());
+  }
+
+  @Test
+  void shouldThrowException_WhenSubmittingMoreThanCapacity() {
+    //Arrange
+    ingest = new LogIngestServiceImpl(recordingService(), 10, 5, LONG,
+        LogIngestOverflowPolicy.REJECT, LONG);
+    List<LogBatchEntry> entries = entries(11);
+
+    //Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> ingest.submit(entries));
+  }
+
+  @Test
+  void shouldWriteQueuedReadings_WhenClosed() throws InterruptedException {
+    //Arrange
+    ingest = new LogIngestServiceImpl(recordingService(), 100, 50, LONG,
+        LogIngestOverflowPolicy.REJECT, LONG);
+    ingest.submit(entries(12));
+
+    //Act
+    ingest.close();
+
+    //Assert
+    assertEquals(12, ingest.getMetrics().written());
+    assertEquals(0, ingest.getMetrics().depth());
+    List<LogBatchEntry> more = entries(1);
+    assertThrows(IllegalStateException.class, () -> ingest.submit(more));
+  }
+
+  @Test
+  void shouldRetryBatch_WhenSavingFails() throws InterruptedException {
+    //Arrange
+    ILogService logService = mock(ILogService.class);
+    Log log = mock(Log.class);
+    AtomicInteger calls = new AtomicInteger();
+    when(logService.addLogs(anyList())).thenAnswer(invocation -> {
+      if (calls.incrementAndGet() == 1) {
+        throw new CannotCreateTransactionException("Database unavailable");
+      }
+      Collection<LogBatchEntry> batch = invocation.getArgument(0);
+      return batch.stream().map(entry -> LogBatchResult.saved(log)).toList();
+    });
+    ingest = new LogIngestServiceImpl(logService, 100, 5, LONG,
+        LogIngestOverflowPolicy.REJECT, LONG);
+
+    //Act
+    ingest.submit(entries(5));
+    awaitWritten(5);
+
+    //Assert
+    assertEquals(2, calls.get());
+    assertEquals(5, ingest.getMetrics().written());
+    assertEquals(0, ingest.getMetrics().failed());
+  }
+
+  @Test
+  void shouldCountFailedReadings_WhenSavingKeepsFailing() throws InterruptedException {
+    //Arrange
+    ILogService logService = mock(ILogService.class);
+    when(logService.addLogs(anyList())).thenThrow(
+        new TransientDataAccessResourceException("Database down"));
+    ingest = new LogIngestServiceImpl(logService, 100, 5, LONG,
+        LogIngestOverflowPolicy.REJECT, LONG);
+
+    //Act
+    ingest.submit(entries(5));
+    awaitWritten(5);
+
+    //Assert
+    assertEquals(5, ingest.getMetrics().failed());
+    assertEquals(0, ingest.getMetrics().written());
+    verify(logService, times(3)).addLogs(anyList());
+  }
+
+  @Test
+  void shouldNotRetryBatch_WhenFailureMayHaveSavedIt() throws InterruptedException {
+    //Arrange
+    ILogService logService = mock(ILogService.class);
+    when(logService.addLogs(anyList())).thenThrow(
+        new TransactionSystemException("Commit failed"));
+    ingest = new LogIngestServiceImpl(logService, 100, 5, LONG,
+        LogIngestOverflowPolicy.REJECT, LONG);
+
+    //Act
+    ingest.submit(entries(5));
+    awaitWritten(5);
+    ingest.close();
+
+    //Assert
+    assertEquals(5, ingest.getMetrics().failed());
+    verify(logService, times(1)).addLogs(anyList());
+  }
+
+  @Test
+  void shouldFailOnlyBadReadings_WhenSavingBatchFails() throws InterruptedException {
+    //Arrange
+    ILogService logService = mock(ILogService.class);
+    Log log = mock(Log.class);
+    LogBatchEntry bad = entries(5).get(3);
+    when(logService.addLogs(anyList())).thenAnswer(invocation -> {
+      Collection<LogBatchEntry> batch = invocation.getArgument(0);
+      if (batch.contains(bad)) {
+        throw new DataIntegrityViolationException("Duplicate log ID");
+      }
+      batches.add(new ArrayList<>(batch));
+      return batch.stream().map(entry -> LogBatchResult.saved(log)).toList();
+    });
+    ingest = new LogIngestServiceImpl(logService, 100, 5, LONG,
+        LogIngestOverflowPolicy.REJECT, LONG);
+
+    //Act
+    ingest.submit(entries(5));
+    awaitWritten(5);
+
+    //Assert
+    assertEquals(4, ingest.getMetrics().written());
+    assertEquals(1, ingest.getMetrics().failed());
+    assertEquals(4, batches.stream().mapToInt(List::size).sum());
+  }
+
+  @Test
+  void shouldWriteEveryAcceptedReading_WhenClosingWhileSubmitting() throws Exception {
+    //Arrange
+    ingest = new LogIngestServiceImpl(recordingService(), 100_000, 50, LONG,
+        LogIngestOverflowPolicy.REJECT, LONG);
+    int threads = 4;
+    AtomicInteger queued = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(threads);
+    List<Thread> submitters = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      Thread submitter = new Thread(() -> {
+        started.countDown();
+        while (true) {
+          try {
+            queued.addAndGet(ingest.submit(entries(10)));
+          } catch (IngestQueueFullException e) {
+            Thread.onSpinWait();
+          } catch (IllegalStateException e) {
+            return;
+          }
+        }
+      });
+      submitter.start();
+      submitters.add(submitter);
+    }
+    started.await();
+    Thread.sleep(50);
+
+    //Act
+    ingest.close();
+    for (Thread submitter : submitters) {
+      submitter.join();
+    }
+
+    //Assert
+    assertEquals(queued.get(), ingest.getMetrics().written());
+    assertEquals(queued.get(), batches.stream().mapToInt(List::size).sum());
+    assertEquals(0, ingest.getMetrics().depth());
+  }
+
+  @Test
+  void shouldCountInvalidReadings_WhenServiceRejectsThem() throws InterruptedException {
+    //Arrange
+    ILogService logService = mock(ILogService.class);
+    when(logService.addLogs(anyList())).thenAnswer(invocation -> {
+      Collection<LogBatchEntry> batch = invocation.getArgument(0);
+      return batch.stream().map(entry -> LogBatchResult.rejected("Device ID does not exist"))
+          .toList();
+    });
+    ingest = new LogIngestServiceImpl(logService, 100, 4, LONG,
+        LogIngestOverflowPolicy.REJECT, LONG);
+
+    //Act
+    ingest.submit(entries(4));
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (ingest.getMetrics().invalid() < 4 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+
+    //Assert
+    assertEquals(4, ingest.getMetrics().invalid());
+    assertEquals(4, ingest.getMetrics().accepted());
+  }
+}
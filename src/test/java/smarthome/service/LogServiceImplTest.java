@@ -15,7 +15,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
@@ -23,33 +27,47 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.mockito.Answers;
+import org.mockito.InOrder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import smarthome.domain.device.Device;
 import smarthome.domain.log.ILogFactory;
 import smarthome.domain.log.Log;
 import smarthome.domain.log.LogFactoryImpl;
 import smarthome.domain.repository.IDeviceRepository;
 import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.repository.ILogRollupRepository;
 import smarthome.domain.repository.ISensorRepository;
 import smarthome.domain.repository.ISensorTypeRepository;
 import smarthome.domain.repository.IUnitRepository;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.PowerPeak;
+import smarthome.domain.value_object.ReadingAggregate;
 import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.Resolution;
 import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.domain.value_object.TimeDelta;
 import smarthome.domain.value_object.UnitID;
+import smarthome.persistence.mem.LogRepository;
+import smarthome.persistence.mem.LogRollupRepository;
 
 class LogServiceImplTest {
 
   private Log createMockLog(String value, LocalDateTime timestamp) {
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn(value);
+    ReadingValue readingValue = new ReadingValue(value);
 
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
@@ -69,11 +87,13 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
 
     // Act
     LogServiceImpl result = new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-        sensorTypeRepository, unitRepository, logFactory);
+        sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
 
     // Assert
@@ -91,10 +111,12 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = mock(
         ILogFactory.class); // mock the logFactory to ensure proper behavior
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     DeviceID deviceID = mock(DeviceID.class);
     SensorID sensorID = mock(SensorID.class);
@@ -122,6 +144,136 @@ class LogServiceImplTest {
     assertEquals(expectedLog, actualLog);
   }
 
+  /**
+   * Test that a batch saves the entries whose IDs exist in one write, rejects the others and looks
+   * up each distinct ID only once.
+   */
+  @Test
+  void shouldSaveValidEntriesOnceAndRejectOthers_WhenAddingBatchOfLogs() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
+
+    DeviceID knownDevice = new DeviceID("1");
+    DeviceID unknownDevice = new DeviceID("2");
+    SensorID sensorID = new SensorID("1");
+    SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+    UnitID unitID = new UnitID("C");
+    LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 10, 0);
+    List<LogBatchEntry> entries = List.of(
+        new LogBatchEntry(knownDevice, sensorID, timestamp, new ReadingValue("20"), sensorTypeID,
+            unitID),
+        new LogBatchEntry(unknownDevice, sensorID, timestamp, new ReadingValue("21"), sensorTypeID,
+            unitID),
+        new LogBatchEntry(knownDevice, sensorID, timestamp.plusMinutes(1), new ReadingValue("22.5"),
+            sensorTypeID, unitID));
+
+    when(deviceRepository.containsOfIdentity(knownDevice)).thenReturn(true);
+    when(sensorRepository.containsOfIdentity(sensorID)).thenReturn(true);
+    when(sensorTypeRepository.containsOfIdentity(sensorTypeID)).thenReturn(true);
+    when(unitRepository.containsOfIdentity(unitID)).thenReturn(true);
+
+    // Act
+    List<LogBatchResult> results = logService.addLogs(entries);
+
+    // Assert
+    assertEquals(3, results.size());
+    assertTrue(results.get(0).isSaved());
+    assertEquals("Device ID does not exist", results.get(1).error());
+    assertEquals(new ReadingValue("22.5"), results.get(2).log().getReadingValue());
+    verify(logRepository, times(1)).saveAll(List.of(results.get(0).log(), results.get(2).log()));
+    verify(logRepository, never()).save(any(Log.class));
+    verify(deviceRepository, times(1)).containsOfIdentity(knownDevice);
+    verify(sensorRepository, times(1)).containsOfIdentity(sensorID);
+  }
+
+  /**
+   * Test that a batch publishes the saved logs, and only those, once they are saved.
+   */
+  @Test
+  void shouldPublishSavedLogs_WhenAddingBatchOfLogs() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
+    ILogPublisher logPublisher = mock(ILogPublisher.class);
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, new LogFactoryImpl(),
+        logRollupRepository, logPublisher);
+
+    DeviceID knownDevice = new DeviceID("1");
+    SensorID sensorID = new SensorID("1");
+    SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+    UnitID unitID = new UnitID("C");
+    LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 10, 0);
+    List<LogBatchEntry> entries = List.of(
+        new LogBatchEntry(knownDevice, sensorID, timestamp, new ReadingValue("20"), sensorTypeID,
+            unitID),
+        new LogBatchEntry(new DeviceID("2"), sensorID, timestamp, new ReadingValue("21"),
+            sensorTypeID, unitID));
+
+    when(deviceRepository.containsOfIdentity(knownDevice)).thenReturn(true);
+    when(sensorRepository.containsOfIdentity(sensorID)).thenReturn(true);
+    when(sensorTypeRepository.containsOfIdentity(sensorTypeID)).thenReturn(true);
+    when(unitRepository.containsOfIdentity(unitID)).thenReturn(true);
+
+    // Act
+    List<LogBatchResult> results = logService.addLogs(entries);
+
+    // Assert
+    InOrder inOrder = inOrder(logRepository, logPublisher);
+    inOrder.verify(logRepository).saveAll(List.of(results.get(0).log()));
+    inOrder.verify(logPublisher).publish(List.of(results.get(0).log()));
+  }
+
+  /**
+   * Test that a batch saved inside a transaction is only published once the transaction commits.
+   */
+  @Test
+  void shouldPublishAfterCommit_WhenAddingBatchInTransaction() {
+    // Arrange
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogPublisher logPublisher = mock(ILogPublisher.class);
+    LogServiceImpl logService = new LogServiceImpl(mock(ILogRepository.class), deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, new LogFactoryImpl(),
+        mock(ILogRollupRepository.class), logPublisher);
+    when(deviceRepository.containsOfIdentity(any())).thenReturn(true);
+    when(sensorRepository.containsOfIdentity(any())).thenReturn(true);
+    when(sensorTypeRepository.containsOfIdentity(any())).thenReturn(true);
+    when(unitRepository.containsOfIdentity(any())).thenReturn(true);
+    List<LogBatchEntry> entries = List.of(new LogBatchEntry(new DeviceID("1"), new SensorID("1"),
+        LocalDateTime.of(2024, 1, 1, 10, 0), new ReadingValue("20"),
+        new SensorTypeID("Temperature"), new UnitID("C")));
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      // Act
+      List<LogBatchResult> results = logService.addLogs(entries);
+      verify(logPublisher, never()).publish(any());
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+
+      // Assert
+      verify(logPublisher).publish(List.of(results.get(0).log()));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
   /**
    * Test that the LogServiceImpl throws an IllegalArgumentException when the deviceID does not
    * exist.
@@ -134,9 +286,11 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = mock(ILogFactory.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     DeviceID deviceID = mock(DeviceID.class);
     SensorID sensorID = mock(SensorID.class);
@@ -166,9 +320,11 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = mock(ILogFactory.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     DeviceID deviceID = mock(DeviceID.class);
     SensorID sensorID = mock(SensorID.class);
@@ -199,9 +355,11 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = mock(ILogFactory.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     DeviceID deviceID = mock(DeviceID.class);
     SensorID sensorID = mock(SensorID.class);
@@ -233,9 +391,11 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = mock(ILogFactory.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     DeviceID deviceID = mock(DeviceID.class);
     SensorID sensorID = mock(SensorID.class);
@@ -272,13 +432,15 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     ILogRepository logRepository = null;
     String expectedMessage = "Log Repository is required";
     // Act
     IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
         () -> new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-            sensorTypeRepository, unitRepository, logFactory));
+            sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository));
     // Assert
     assertEquals(expectedMessage, exception.getMessage());
   }
@@ -293,6 +455,7 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     DeviceID deviceID = mock(DeviceID.class);
     DatePeriod period = mock(DatePeriod.class);
@@ -307,7 +470,8 @@ class LogServiceImplTest {
         expectedLogs);
 
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     // Act
     List<Log> actualLogs = logService.getDeviceReadingsByTimePeriod(deviceID, period);
@@ -316,6 +480,36 @@ class LogServiceImplTest {
     assertEquals(expectedLogs, actualLogs);
   }
 
+  /**
+   * Test if the logs are handed to the consumer by the repository
+   */
+  @Test
+  void shouldPassConsumerToRepository_whenDeviceReadingsByTimePeriodAreStreamed() {
+    // Arrange
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    DeviceID deviceID = mock(DeviceID.class);
+    DatePeriod period = mock(DatePeriod.class);
+    Consumer<Log> consumer = log -> {
+    };
+
+    ILogRepository logRepository = mock(ILogRepository.class);
+
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
+
+    // Act
+    logService.streamDeviceReadingsByTimePeriod(deviceID, period, consumer);
+
+    // Assert
+    verify(logRepository).streamByDeviceIDAndDatePeriodBetween(deviceID, period, consumer);
+  }
+
   /**
    * Test if the List of logs is empty
    */
@@ -326,6 +520,7 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     DeviceID deviceID = mock(DeviceID.class);
     DatePeriod period = mock(DatePeriod.class);
@@ -337,7 +532,8 @@ class LogServiceImplTest {
         expectedLogs);
 
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     // Act
     List<Log> actualLogs = logService.getDeviceReadingsByTimePeriod(deviceID, period);
@@ -358,6 +554,7 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     DeviceID deviceID = mock(DeviceID.class);
     SensorTypeID sensorTypeID = mock(SensorTypeID.class);
@@ -373,7 +570,8 @@ class LogServiceImplTest {
         .thenReturn(expectedLogs);
 
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     // Act
     List<Log> actualLogs = logService.getDeviceReadingsBySensorTypeAndTimePeriod(deviceID,
@@ -394,6 +592,7 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     DeviceID deviceID = mock(DeviceID.class);
     SensorTypeID sensorTypeID = mock(SensorTypeID.class);
@@ -407,7 +606,8 @@ class LogServiceImplTest {
         .thenReturn(emptyLogs);
 
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     String expectedMessage = "No readings found for the given time period";
 
@@ -431,10 +631,10 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     /* Mocking one log object and adding it to a list*/
-    ReadingValue readingValue1 = mock(ReadingValue.class);
-    when(readingValue1.getValue()).thenReturn("5");
+    ReadingValue readingValue1 = new ReadingValue("5");
     Log log1 = mock(Log.class);
     when(log1.getReadingValue()).thenReturn(readingValue1);
     when(log1.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
@@ -442,8 +642,7 @@ class LogServiceImplTest {
     List<Log> list1 = List.of(log1);
 
     /* Mocking another log object and adding it to another list*/
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("14");
+    ReadingValue readingValue2 = new ReadingValue("14");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 5));
@@ -452,7 +651,8 @@ class LogServiceImplTest {
 
     ILogRepository logRepository = mock(ILogRepository.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     TimeDelta timeDelta = mock(TimeDelta.class);
     when(timeDelta.getMinutes()).thenReturn(5);
@@ -460,7 +660,7 @@ class LogServiceImplTest {
     int expectedDifference = 9;
 
     // Act
-    int actualDifference = logService.getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(list1, list2, timeDelta);
+    double actualDifference = logService.getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(list1, list2, timeDelta);
 
     // Assert
     assertEquals(expectedDifference, actualDifference);
@@ -476,24 +676,22 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     /* Mocking one log object and adding it to a list*/
-    ReadingValue readingValue1 = mock(ReadingValue.class);
-    when(readingValue1.getValue()).thenReturn("5");
+    ReadingValue readingValue1 = new ReadingValue("5");
     Log log1 = mock(Log.class);
     when(log1.getReadingValue()).thenReturn(readingValue1);
     when(log1.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
     /* Mocking another log object and adding it to the second list*/
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("14");
+    ReadingValue readingValue2 = new ReadingValue("14");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 2));
 
     /* Mocking another log object and adding it to the second list*/
-    ReadingValue readingValue3 = mock(ReadingValue.class);
-    when(readingValue3.getValue()).thenReturn("20");
+    ReadingValue readingValue3 = new ReadingValue("20");
     Log log3 = mock(Log.class);
     when(log3.getReadingValue()).thenReturn(readingValue3);
     when(log3.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 3));
@@ -504,7 +702,8 @@ class LogServiceImplTest {
 
     ILogRepository logRepository = mock(ILogRepository.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     TimeDelta timeDelta = mock(TimeDelta.class);
     when(timeDelta.getMinutes()).thenReturn(5);
@@ -512,13 +711,44 @@ class LogServiceImplTest {
     int expectedDifference = 15;
 
     // Act
-    int actualDifference = logService.getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(list1, list2, timeDelta);
+    double actualDifference = logService.getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(list1, list2, timeDelta);
 
     // Assert
     assertEquals(expectedDifference, actualDifference);
   }
 
 
+  /**
+   * Test that the difference is the maximum over every pair of readings in the window, not the
+   * difference to the last matching reading, and that decimal readings are not truncated.
+   */
+  @Test
+  void shouldCompareEveryPairInWindow_whenGetMaxDifferenceBetweenReadingsIsCalled()
+      throws Exception {
+    // Arrange
+    ILogFactory logFactory = new LogFactoryImpl();
+    LocalDateTime time = LocalDateTime.of(2024, 1, 1, 1, 1);
+    Log inside = logFactory.createLog(new DeviceID("inside"), new SensorID("inside"), time,
+        new ReadingValue(5.5), new SensorTypeID("Temperature"), new UnitID("C"));
+    Log highest = logFactory.createLog(new DeviceID("outside"), new SensorID("outside"),
+        time.plusMinutes(1), new ReadingValue(30.25), new SensorTypeID("Temperature"),
+        new UnitID("C"));
+    Log last = logFactory.createLog(new DeviceID("outside"), new SensorID("outside"),
+        time.plusMinutes(2), new ReadingValue(6.0), new SensorTypeID("Temperature"),
+        new UnitID("C"));
+    LogServiceImpl logService = new LogServiceImpl(mock(ILogRepository.class), null, null, null,
+        null, logFactory, mock(ILogRollupRepository.class));
+    TimeDelta timeDelta = mock(TimeDelta.class);
+    when(timeDelta.getMinutes()).thenReturn(5);
+
+    // Act
+    double difference = logService.getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(
+        List.of(inside), List.of(highest, last), timeDelta);
+
+    // Assert
+    assertEquals(24.75, difference);
+  }
+
   /**
    * Test for method getDifferenceBetweenReadings when the readings are not within an interval of 5
    * minutes.
@@ -530,10 +760,10 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     /* Mocking one log object and adding it to a list*/
-    ReadingValue readingValue1 = mock(ReadingValue.class);
-    when(readingValue1.getValue()).thenReturn("5");
+    ReadingValue readingValue1 = new ReadingValue("5");
     Log log1 = mock(Log.class);
     when(log1.getReadingValue()).thenReturn(readingValue1);
     when(log1.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
@@ -541,8 +771,7 @@ class LogServiceImplTest {
     List<Log> list1 = List.of(log1);
 
     /* Mocking another log object and adding it to another list*/
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("14");
+    ReadingValue readingValue2 = new ReadingValue("14");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 6));
@@ -551,7 +780,8 @@ class LogServiceImplTest {
 
     ILogRepository logRepository = mock(ILogRepository.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     TimeDelta timeDelta = mock(TimeDelta.class);
     when(timeDelta.getMinutes()).thenReturn(5);
@@ -575,11 +805,12 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
 
@@ -588,7 +819,7 @@ class LogServiceImplTest {
 
     int expected = 10;
     // Act
-    int result = logService.getSumOfTwoIntegerReadings(log, log2);
+    double result = logService.getSumOfTwoReadings(log, log2);
     // Assert
     assertEquals(expected, result);
   }
@@ -601,22 +832,23 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("testes");
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
+    ReadingValue readingValue = new ReadingValue("testes");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
 
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue);
 
-    String expected = "Reading values are not integers";
+    String expected = "Reading values are not numeric";
 
     // Act
     IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-        () -> logService.getSumOfTwoIntegerReadings(log, log2));
+        () -> logService.getSumOfTwoReadings(log, log2));
     // Assert
     String actual = exception.getMessage();
     assertEquals(expected, actual);
@@ -630,11 +862,12 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
 
@@ -643,7 +876,7 @@ class LogServiceImplTest {
 
     int expected = 0;
     // Act
-    int result = logService.getDifferenceBetweenReadings(log, log2);
+    double result = logService.getDifferenceBetweenReadings(log, log2);
     // Assert
     assertEquals(expected, result);
   }
@@ -656,18 +889,19 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("testes");
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
+    ReadingValue readingValue = new ReadingValue("testes");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
 
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue);
 
-    String expected = "Reading values are not integers";
+    String expected = "Reading values are not numeric";
 
     // Act
     IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
@@ -685,16 +919,16 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
 
@@ -702,7 +936,7 @@ class LogServiceImplTest {
 
     int expected = 10;
     // Act
-    int result = logService.getMaximumValueFromListOfIntegers(logs);
+    double result = logService.getMaximumValueFromReadings(logs);
     // Assert
     assertEquals(expected, result);
   }
@@ -715,21 +949,20 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("-10");
+    ReadingValue readingValue2 = new ReadingValue("-10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
 
-    ReadingValue readingValue3 = mock(ReadingValue.class);
-    when(readingValue3.getValue()).thenReturn("0");
+    ReadingValue readingValue3 = new ReadingValue("0");
     Log log3 = mock(Log.class);
     when(log3.getReadingValue()).thenReturn(readingValue3);
 
@@ -737,7 +970,7 @@ class LogServiceImplTest {
 
     int expected = 5;
     // Act
-    int result = logService.getMaximumValueFromListOfIntegers(logs);
+    double result = logService.getMaximumValueFromReadings(logs);
     // Assert
     assertEquals(expected, result);
   }
@@ -750,24 +983,23 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 2));
 
-    ReadingValue readingValue3 = mock(ReadingValue.class);
-    when(readingValue3.getValue()).thenReturn("10");
+    ReadingValue readingValue3 = new ReadingValue("10");
     Log log3 = mock(Log.class);
     when(log3.getReadingValue()).thenReturn(readingValue2);
     when(log3.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 8));
@@ -795,18 +1027,18 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 6));
@@ -833,18 +1065,18 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 2));
@@ -867,18 +1099,18 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 6));
@@ -902,18 +1134,18 @@ class LogServiceImplTest {
          ISensorRepository sensorRepository = mock(ISensorRepository.class);
          ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
          IUnitRepository unitRepository = mock(IUnitRepository.class);
+         ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
          ILogFactory logFactory = new LogFactoryImpl();
          LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-             sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+             sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 2));
@@ -927,7 +1159,7 @@ class LogServiceImplTest {
     int expected = 15;
 
     // Act
-    int result = logService.getPeakPowerConsumption(list1, list2, timeDelta);
+    double result = logService.getPeakPowerConsumption(list1, list2, timeDelta);
     // Assert
     assertEquals(expected, result);
   }
@@ -941,24 +1173,23 @@ class LogServiceImplTest {
          ISensorRepository sensorRepository = mock(ISensorRepository.class);
          ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
          IUnitRepository unitRepository = mock(IUnitRepository.class);
+         ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
          ILogFactory logFactory = new LogFactoryImpl();
          LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-             sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+             sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("10");
+    ReadingValue readingValue = new ReadingValue("10");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue1 = mock(ReadingValue.class);
-    when(readingValue1.getValue()).thenReturn("2");
+    ReadingValue readingValue1 = new ReadingValue("2");
     Log log1 = mock(Log.class);
     when(log1.getReadingValue()).thenReturn(readingValue);
     when(log1.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 4));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("5");
+    ReadingValue readingValue2 = new ReadingValue("5");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 6));
@@ -972,7 +1203,7 @@ class LogServiceImplTest {
     int expected = 10;
 
     // Act
-    int result = logService.getPeakPowerConsumption(list1, list2, timeDelta);
+    double result = logService.getPeakPowerConsumption(list1, list2, timeDelta);
     // Assert
     assertEquals(expected, result);
   }
@@ -986,18 +1217,18 @@ class LogServiceImplTest {
          ISensorRepository sensorRepository = mock(ISensorRepository.class);
          ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
          IUnitRepository unitRepository = mock(IUnitRepository.class);
+         ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
          ILogFactory logFactory = new LogFactoryImpl();
          LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-             sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+             sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 8));
@@ -1011,7 +1242,7 @@ class LogServiceImplTest {
     int expected = 10;
 
     // Act
-    int result = logService.getPeakPowerConsumption(list2, list1, timeDelta);
+    double result = logService.getPeakPowerConsumption(list2, list1, timeDelta);
     // Assert
     assertEquals(expected, result);
   }
@@ -1024,9 +1255,11 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     // Mock Log data
     Log log1 = createMockLog("5", LocalDateTime.of(2024, 1, 1, 1, 1));
@@ -1042,9 +1275,9 @@ class LogServiceImplTest {
     // Mock input parameters
     DatePeriod datePeriod = mock(DatePeriod.class);
     SensorTypeID sensorTypeID = mock(SensorTypeID.class);
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(deviceID, sensorTypeID,
-        datePeriod))
-        .thenReturn(expectedLogs);
+    when(logRepository.findGroupedByDeviceIDsAndSensorTypeAndDatePeriodBetween(List.of(deviceID),
+        sensorTypeID, datePeriod))
+        .thenReturn(Map.of(deviceID, expectedLogs));
 
     // Act
     List<Log> result = logService.getReadingsInTimePeriodByListOfDevicesAndSensorType(devices,
@@ -1062,9 +1295,11 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     // Mock Log data (5 entries)
     List<Log> sampleslogs = Arrays.asList(
@@ -1093,9 +1328,12 @@ class LogServiceImplTest {
     // Mock input parameters and repository behavior
     DatePeriod datePeriod = mock(DatePeriod.class);
     SensorTypeID sensorTypeID = mock(SensorTypeID.class);
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(any(DeviceID.class),
-        eq(sensorTypeID), eq(datePeriod)))
-        .thenReturn(sampleslogs); // Return all logs for any device
+    Map<DeviceID, List<Log>> logsByDevice = new LinkedHashMap<>();
+    logsByDevice.put(deviceID1, sampleslogs);
+    logsByDevice.put(deviceID2, sampleslogs);
+    when(logRepository.findGroupedByDeviceIDsAndSensorTypeAndDatePeriodBetween(
+        List.of(deviceID1, deviceID2), sensorTypeID, datePeriod))
+        .thenReturn(logsByDevice); // The same logs for every device
 
     // Act
     List<Log> result = logService.getReadingsInTimePeriodByListOfDevicesAndSensorType(devices,
@@ -1113,9 +1351,11 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     // Mock Devices (you can reuse the same devices from the previous example)
     Device device1 = mock(Device.class, withSettings().defaultAnswer(Answers.RETURNS_DEEP_STUBS));
@@ -1136,10 +1376,14 @@ class LogServiceImplTest {
     DatePeriod datePeriod = mock(DatePeriod.class);
     SensorTypeID sensorTypeID = mock(SensorTypeID.class);
 
-    // Mock repository to return an empty list
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(any(DeviceID.class),
-        eq(sensorTypeID), eq(datePeriod)))
-        .thenReturn(Collections.emptyList());
+    // Mock repository to return no logs for any device
+    Map<DeviceID, List<Log>> logsByDevice = new LinkedHashMap<>();
+    logsByDevice.put(deviceID1, Collections.emptyList());
+    logsByDevice.put(deviceID2, Collections.emptyList());
+    logsByDevice.put(deviceID3, Collections.emptyList());
+    when(logRepository.findGroupedByDeviceIDsAndSensorTypeAndDatePeriodBetween(
+        List.of(deviceID1, deviceID2, deviceID3), sensorTypeID, datePeriod))
+        .thenReturn(logsByDevice);
 
     // Act
     List<Log> result = logService.getReadingsInTimePeriodByListOfDevicesAndSensorType(devices,
@@ -1157,9 +1401,11 @@ class LogServiceImplTest {
     ISensorRepository sensorRepository = mock(ISensorRepository.class);
     ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
     IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        logRollupRepository);
 
     // Mock Log data
     Log log1 = createMockLog("5", LocalDateTime.of(2024, 1, 1, 1, 1));
@@ -1182,4 +1428,226 @@ class LogServiceImplTest {
     // Assert
     assertEquals(expectedLogs, result);
   }
+
+  /**
+   * Test that the house peak power is computed from a single query over every device, summing
+   * the readings of different devices that are current at the same time.
+   */
+  @Test
+  void shouldReturnHousePeak_whenDevicesHaveConcurrentReadings() {
+    //Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    LogServiceImpl logService = new LogServiceImpl(logRepository, mock(IDeviceRepository.class),
+        mock(ISensorRepository.class), mock(ISensorTypeRepository.class),
+        mock(IUnitRepository.class), new LogFactoryImpl(), mock(ILogRollupRepository.class));
+    LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+    DatePeriod period = new DatePeriod(start, start.plusHours(1));
+    SensorTypeID sensorTypeID = new SensorTypeID("InstantPowerConsumption");
+    Device meter = mock(Device.class);
+    Device source = mock(Device.class);
+    when(meter.getID()).thenReturn(new DeviceID("meter"));
+    when(source.getID()).thenReturn(new DeviceID("source"));
+    ILogFactory logFactory = new LogFactoryImpl();
+    List<Log> readings = List.of(
+        logFactory.createLog(new DeviceID("meter"), new SensorID("1"), start,
+            new ReadingValue("100"), sensorTypeID, new UnitID("Watt")),
+        logFactory.createLog(new DeviceID("source"), new SensorID("2"), start.plusMinutes(10),
+            new ReadingValue("50"), sensorTypeID, new UnitID("Watt")),
+        logFactory.createLog(new DeviceID("meter"), new SensorID("1"), start.plusMinutes(20),
+            new ReadingValue("30"), sensorTypeID, new UnitID("Watt")));
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriodBetween(
+        List.of(new DeviceID("meter"), new DeviceID("source")), sensorTypeID, period))
+        .thenReturn(readings);
+
+    //Act
+    Optional<PowerPeak> result = logService.getHousePeakPowerConsumption(List.of(meter, source),
+        sensorTypeID, period, new TimeDelta(15));
+
+    //Assert
+    assertEquals(Optional.of(new PowerPeak(150, start.plusMinutes(10))), result);
+    verify(logRepository, never()).findByDeviceIDAndSensorTypeAndDatePeriodBetween(any(), any(),
+        any());
+  }
+
+  /**
+   * Test that there is no house peak when the devices have no readings.
+   */
+  @Test
+  void shouldReturnEmptyHousePeak_whenDevicesHaveNoReadings() {
+    //Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    LogServiceImpl logService = new LogServiceImpl(logRepository, mock(IDeviceRepository.class),
+        mock(ISensorRepository.class), mock(ISensorTypeRepository.class),
+        mock(IUnitRepository.class), new LogFactoryImpl(), mock(ILogRollupRepository.class));
+    LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+    DatePeriod period = new DatePeriod(start, start.plusHours(1));
+
+    //Act
+    Optional<PowerPeak> result = logService.getHousePeakPowerConsumption(List.of(),
+        new SensorTypeID("InstantPowerConsumption"), period, new TimeDelta(15));
+
+    //Assert
+    assertTrue(result.isEmpty());
+  }
+
+  /**
+   * Test that the latest reading comes from the last-value lookup of the repository.
+   */
+  @Test
+  void shouldReturnLatestReading_whenDeviceHasReadingsOfSensorType() {
+    //Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    LogServiceImpl logService = new LogServiceImpl(logRepository, mock(IDeviceRepository.class),
+        mock(ISensorRepository.class), mock(ISensorTypeRepository.class),
+        mock(IUnitRepository.class), new LogFactoryImpl(), mock(ILogRollupRepository.class));
+    Log latest = createMockLog("10", LocalDateTime.of(2024, 1, 1, 1, 2));
+    DeviceID deviceID = new DeviceID("device");
+    SensorTypeID sensorTypeID = new SensorTypeID("PercentagePosition");
+    when(logRepository.findLatest(deviceID, sensorTypeID)).thenReturn(Optional.of(latest));
+    when(logRepository.existsBy(deviceID, sensorTypeID)).thenReturn(true);
+
+    //Act
+    Optional<Log> result = logService.getLatestDeviceReading(deviceID, sensorTypeID);
+    boolean hasReadings = logService.hasDeviceReadings(deviceID, sensorTypeID);
+
+    //Assert
+    assertEquals(Optional.of(latest), result);
+    assertTrue(hasReadings);
+    verify(logRepository, never()).findByDeviceIDAndSensorTypeID(any(), any());
+  }
+
+  /**
+   * Test that a null device ID is rejected when getting the latest reading.
+   */
+  @Test
+  void shouldThrowException_whenGettingLatestReadingOfNullDevice() {
+    //Arrange
+    LogServiceImpl logService = new LogServiceImpl(mock(ILogRepository.class),
+        mock(IDeviceRepository.class), mock(ISensorRepository.class),
+        mock(ISensorTypeRepository.class), mock(IUnitRepository.class), new LogFactoryImpl(),
+        mock(ILogRollupRepository.class));
+    SensorTypeID sensorTypeID = new SensorTypeID("PercentagePosition");
+
+    //Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> logService.getLatestDeviceReading(null, sensorTypeID));
+
+    //Assert
+    assertEquals("Device ID is required", exception.getMessage());
+  }
+
+  /**
+   * Test that aggregates assembled from rollups and raw edges match the raw readings, for periods
+   * that do not start or end on a bucket boundary.
+   */
+  @Test
+  void shouldMatchRawReadings_WhenAggregatingAcrossRollupLevels() {
+    // Arrange
+    LogRepository logRepository = new LogRepository();
+    LogRollupRepository logRollupRepository = new LogRollupRepository();
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, null, null, null, null,
+        logFactory, logRollupRepository);
+    DeviceID deviceID = new DeviceID("device");
+    SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+    LocalDateTime origin = LocalDateTime.of(2024, 1, 1, 0, 0);
+    Random random = new Random(7);
+    List<Log> logs = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      LocalDateTime time = origin.plusSeconds(random.nextInt(3 * 24 * 3600));
+      logs.add(logFactory.createLog(deviceID, new SensorID("sensor"), time,
+          new ReadingValue((long) random.nextInt(40)), sensorTypeID, new UnitID("C")));
+    }
+    logRepository.saveAll(logs);
+    logRollupRepository.record(logs);
+    LocalDateTime start = origin.plusHours(5).plusMinutes(17).plusSeconds(23);
+    LocalDateTime end = origin.plusDays(2).plusHours(13).plusMinutes(41).plusSeconds(5);
+
+    for (Resolution resolution : Resolution.values()) {
+      Map<LocalDateTime, ReadingAggregate> expected = new TreeMap<>();
+      logs.stream()
+          .filter(log -> !log.getTimeStamp().isBefore(start) && log.getTimeStamp().isBefore(end))
+          .sorted(Comparator.comparing(Log::getTimeStamp))
+          .forEach(log -> expected.merge(resolution.bucketStart(log.getTimeStamp()),
+              ReadingAggregate.of(resolution.bucketStart(log.getTimeStamp()), log.getTimeStamp(),
+                  log.getReadingValue().getNumericValue()), ReadingAggregate::merge));
+
+      // Act
+      List<ReadingAggregate> result = logService.getAggregatedReadings(deviceID, sensorTypeID,
+          resolution, start, end);
+
+      // Assert
+      assertEquals(new ArrayList<>(expected.values()), result);
+    }
+  }
+
+  /**
+   * Test that whole buckets are read from the rollup of the requested resolution only.
+   */
+  @Test
+  void shouldReadOnlyCoarsestRollup_WhenPeriodIsAlignedToBuckets() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    ILogRollupRepository logRollupRepository = mock(ILogRollupRepository.class);
+    LogServiceImpl logService = new LogServiceImpl(logRepository, null, null, null, null,
+        new LogFactoryImpl(), logRollupRepository);
+    DeviceID deviceID = new DeviceID("device");
+    SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+    LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+    LocalDateTime end = start.plusDays(7);
+    ReadingAggregate day = ReadingAggregate.of(start, start.plusHours(1), 20.0);
+    when(logRollupRepository.findByDeviceIDAndSensorTypeIDAndResolution(deviceID, sensorTypeID,
+        Resolution.DAY, start, end)).thenReturn(List.of(day));
+
+    // Act
+    List<ReadingAggregate> result = logService.getAggregatedReadings(deviceID, sensorTypeID,
+        Resolution.DAY, start, end);
+
+    // Assert
+    assertEquals(List.of(day), result);
+    verify(logRollupRepository, times(1)).findByDeviceIDAndSensorTypeIDAndResolution(any(),
+        any(), any(), any(), any());
+    verify(logRepository, never()).findByDeviceIDAndSensorTypeAndDatePeriodBetween(any(), any(),
+        any());
+  }
+
+  /**
+   * Test that rebuilding the rollups reads the logs a page at a time and gives the same buckets as
+   * recording every log at once.
+   */
+  @Test
+  void shouldRebuildRollupsPageByPage_WhenBackfilling() {
+    // Arrange
+    LogRepository logRepository = new LogRepository();
+    LogRollupRepository logRollupRepository = new LogRollupRepository();
+    LogRollupRepository expected = new LogRollupRepository();
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, null, null, null, null,
+        logFactory, logRollupRepository);
+    DeviceID deviceID = new DeviceID("device");
+    SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+    LocalDateTime origin = LocalDateTime.of(2024, 1, 1, 0, 0);
+    int count = 2 * LogServiceImpl.BACKFILL_PAGE_SIZE + 5;
+    List<Log> logs = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      logs.add(logFactory.createLog(deviceID, new SensorID("sensor"), origin.plusSeconds(i),
+          new ReadingValue((long) i % 40), sensorTypeID, new UnitID("C")));
+    }
+    logRepository.saveAll(logs);
+    logRollupRepository.record(logs.subList(0, 10));
+    expected.record(logs);
+
+    // Act
+    int read = logService.backfillRollups();
+
+    // Assert
+    assertEquals(count, read);
+    for (Resolution resolution : Resolution.values()) {
+      assertEquals(
+          expected.findByDeviceIDAndSensorTypeIDAndResolution(deviceID, sensorTypeID, resolution,
+              origin, origin.plusDays(1)),
+          logRollupRepository.findByDeviceIDAndSensorTypeIDAndResolution(deviceID, sensorTypeID,
+              resolution, origin, origin.plusDays(1)));
+    }
+  }
 }
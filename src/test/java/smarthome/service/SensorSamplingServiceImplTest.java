@@ -0,0 +1,312 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import smarthome.domain.repository.ISensorRepository;
+import smarthome.domain.repository.ISensorTypeRepository;
+import smarthome.domain.sensor.ISensor;
+import smarthome.domain.sensor.electric_consumption_wh_sensor.ElectricConsumptionWhSensor;
+import smarthome.domain.sensor.sunrise_time_sensor.SunriseTimeSensor;
+import smarthome.domain.sensor.sunset_time_sensor.SunsetTimeSensor;
+import smarthome.domain.sensor.temperature_sensor.TemperatureSensor;
+import smarthome.domain.sensor.wind_sensor.WindSensor;
+import smarthome.domain.sensor_type.SensorType;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.GPS;
+import smarthome.domain.value_object.ModelPath;
+import smarthome.domain.value_object.ReadingKind;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorName;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.utils.exceptions.IngestQueueFullException;
+
+class SensorSamplingServiceImplTest {
+
+  private static final Duration INTERVAL = Duration.ofMillis(20);
+  private static final long TIMEOUT_MILLIS = 5000;
+
+  private final ISensorRepository sensorRepository = mock(ISensorRepository.class);
+  private final ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+  private final ILogIngestService logIngestService = mock(ILogIngestService.class);
+  private SensorSamplingServiceImpl sampling;
+
+  @AfterEach
+  void tearDown() {
+    if (sampling != null) {
+      sampling.stop();
+    }
+  }
+
+  private static ISensor thermometer(String sensorID) {
+    return new TemperatureSensor(new DeviceID("device-1"),
+        new ModelPath("smarthome.domain.sensor.temperature_sensor.TemperatureSensor"),
+        new SensorTypeID("Temperature"), new SensorName("Thermometer"), new SensorID(sensorID));
+  }
+
+  private void givenTemperatureUnit() {
+    SensorType sensorType = mock(SensorType.class);
+    when(sensorType.getUnitID()).thenReturn(new UnitID("Celsius"));
+    when(sensorTypeRepository.ofIdentity(new SensorTypeID("Temperature")))
+        .thenReturn(Optional.of(sensorType));
+  }
+
+  private SensorSamplingServiceImpl sampling(String intervals) {
+    return new SensorSamplingServiceImpl(sensorRepository, sensorTypeRepository,
+        logIngestService, INTERVAL, intervals, Duration.ofMillis(5), 2, Duration.ofHours(1));
+  }
+
+  /**
+   * Should parse the intervals of the sensor models
+   */
+  @Test
+  void shouldParseIntervalsOfSensorModels() {
+    // Act
+    Map<String, Duration> intervals = SensorSamplingServiceImpl.parseIntervals(
+        "HumiditySensor=PT10S, SunriseTimeSensor = PT1H");
+
+    // Assert
+    assertEquals(Map.of("HumiditySensor", Duration.ofSeconds(10),
+        "SunriseTimeSensor", Duration.ofHours(1)), intervals);
+  }
+
+  /**
+   * Should throw exception when an interval is not a positive duration
+   */
+  @Test
+  void shouldThrowException_WhenIntervalIsInvalid() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> SensorSamplingServiceImpl.parseIntervals("HumiditySensor=10s"));
+    assertThrows(IllegalArgumentException.class,
+        () -> SensorSamplingServiceImpl.parseIntervals("HumiditySensor=PT0S"));
+  }
+
+  /**
+   * Should read every registered sensor periodically and queue its readings
+   */
+  @Test
+  void shouldQueueReadingsOfRegisteredSensors() {
+    // Arrange
+    givenTemperatureUnit();
+    when(sensorRepository.findAll()).thenReturn(List.of(thermometer("s1"), thermometer("s2")));
+    sampling = sampling("");
+
+    // Act
+    sampling.start();
+
+    // Assert
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<LogBatchEntry>> captor = ArgumentCaptor.forClass(List.class);
+    verify(logIngestService, timeout(TIMEOUT_MILLIS).atLeast(6)).submit(captor.capture());
+    LogBatchEntry entry = captor.getValue().get(0);
+    assertEquals(new DeviceID("device-1"), entry.deviceID());
+    assertEquals(new UnitID("Celsius"), entry.unitID());
+    assertEquals(2, sampling.getMetrics().sensors());
+    assertTrue(sampling.getMetrics().samples() >= 6);
+  }
+
+  /**
+   * Should leave out the sensors whose type has no unit
+   */
+  @Test
+  void shouldLeaveOutSensors_WhenSensorTypeHasNoUnit() {
+    // Arrange
+    when(sensorTypeRepository.ofIdentity(new SensorTypeID("Temperature")))
+        .thenReturn(Optional.empty());
+    when(sensorRepository.findAll()).thenReturn(List.of(thermometer("s1")));
+    sampling = sampling("");
+    sampling.start();
+
+    // Act
+    int sampled = sampling.refresh();
+
+    // Assert
+    assertEquals(0, sampled);
+  }
+
+  /**
+   * Should stop reading a sensor once it is no longer registered
+   */
+  @Test
+  void shouldStopReadingSensor_WhenItIsRemoved() throws InterruptedException {
+    // Arrange
+    givenTemperatureUnit();
+    when(sensorRepository.findAll()).thenReturn(List.of(thermometer("s1")), List.of());
+    sampling = sampling("");
+    sampling.start();
+    verify(logIngestService, timeout(TIMEOUT_MILLIS).atLeast(1)).submit(anyList());
+
+    // Act
+    int sampled = sampling.refresh();
+    TimeUnit.MILLISECONDS.sleep(INTERVAL.toMillis() * 2);
+    clearInvocations(logIngestService);
+    TimeUnit.MILLISECONDS.sleep(INTERVAL.toMillis() * 5);
+
+    // Assert
+    assertEquals(0, sampled);
+    verify(logIngestService, never()).submit(anyList());
+  }
+
+  /**
+   * Should use the interval of the sensor model over the default one
+   */
+  @Test
+  void shouldUseIntervalOfSensorModel() throws InterruptedException {
+    // Arrange
+    givenTemperatureUnit();
+    when(sensorRepository.findAll()).thenReturn(List.of(thermometer("s1")));
+    sampling = sampling("TemperatureSensor=PT1H");
+
+    // Act
+    sampling.start();
+    TimeUnit.MILLISECONDS.sleep(INTERVAL.toMillis() * 5);
+
+    // Assert
+    assertTrue(sampling.getMetrics().samples() <= 1);
+  }
+
+  /**
+   * Should count the readings refused by a full ingest queue as dropped
+   */
+  @Test
+  void shouldCountDropped_WhenIngestQueueIsFull() {
+    // Arrange
+    givenTemperatureUnit();
+    when(sensorRepository.findAll()).thenReturn(List.of(thermometer("s1")));
+    when(logIngestService.submit(anyList()))
+        .thenThrow(new IngestQueueFullException("Log ingest queue is full"));
+    sampling = sampling("");
+
+    // Act
+    sampling.start();
+
+    // Assert
+    verify(logIngestService, timeout(TIMEOUT_MILLIS).atLeast(2)).submit(anyList());
+    assertTrue(sampling.getMetrics().dropped() >= 1);
+    assertEquals(0, sampling.getMetrics().failed());
+  }
+
+  private static ISensor windSensor() {
+    return new WindSensor(new DeviceID("device-1"),
+        new ModelPath("smarthome.domain.sensor.wind_sensor.WindSensor"),
+        new SensorTypeID("Wind"), new SensorName("Wind"), new SensorID("wind"));
+  }
+
+  /**
+   * Should read numeric sensors as numeric readings
+   */
+  @Test
+  void shouldReadNumericSensorsAsNumbers() {
+    // Arrange
+    LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+    ISensor electricConsumption = new ElectricConsumptionWhSensor(new DeviceID("device-1"),
+        new ModelPath(
+            "smarthome.domain.sensor.electric_consumption_wh_sensor.ElectricConsumptionWhSensor"),
+        new SensorTypeID("ElectricConsumptionWh"), new SensorName("Meter"),
+        new DatePeriod(start, start.plusHours(1)), new SensorID("meter"));
+
+    // Act
+    ReadingValue consumption = SensorSamplingServiceImpl.read(electricConsumption);
+    ReadingValue temperature = SensorSamplingServiceImpl.read(thermometer("s1"));
+
+    // Assert
+    assertEquals(ReadingKind.INTEGER, consumption.getKind());
+    assertEquals(300, consumption.getIntegerValue());
+    assertEquals(ReadingKind.DECIMAL, temperature.getKind());
+  }
+
+  /**
+   * Should read the sunrise and sunset times as plain times
+   */
+  @Test
+  void shouldReadSunTimesAsPlainTimes() {
+    // Arrange
+    GPS gps = new GPS(41.15, -8.61);
+    ISensor sunrise = new SunriseTimeSensor(new DeviceID("device-1"),
+        new ModelPath("smarthome.domain.sensor.sunrise_time_sensor.SunriseTimeSensor"),
+        new SensorTypeID("SunriseTime"), new SensorName("Sunrise"), gps);
+    ISensor sunset = new SunsetTimeSensor(new DeviceID("device-1"),
+        new ModelPath("smarthome.domain.sensor.sunset_time_sensor.SunsetTimeSensor"),
+        new SensorTypeID("SunsetTime"), new SensorName("Sunset"), gps);
+
+    // Act
+    ReadingValue sunriseReading = SensorSamplingServiceImpl.read(sunrise);
+    ReadingValue sunsetReading = SensorSamplingServiceImpl.read(sunset);
+
+    // Assert
+    assertTrue(sunriseReading.getValue().matches("\\d{2}:\\d{2}:\\d{2}"),
+        sunriseReading.getValue());
+    assertTrue(sunsetReading.getValue().matches("\\d{2}:\\d{2}:\\d{2}"),
+        sunsetReading.getValue());
+  }
+
+  /**
+   * Should read the wind as its speed and direction
+   */
+  @Test
+  void shouldReadWindAsSpeedAndDirection() {
+    // Act
+    ReadingValue reading = SensorSamplingServiceImpl.read(windSensor());
+
+    // Assert
+    String[] parts = reading.getValue().split(";");
+    assertEquals(2, parts.length, reading.getValue());
+    assertTrue(Double.parseDouble(parts[0]) >= 0);
+    double direction = Double.parseDouble(parts[1]);
+    assertTrue(direction >= 0 && direction <= 2 * Math.PI);
+  }
+
+  /**
+   * Should queue the readings of a wind sensor as its speed and direction
+   */
+  @Test
+  void shouldQueueWindReadingsAsSpeedAndDirection() {
+    // Arrange
+    SensorType sensorType = mock(SensorType.class);
+    when(sensorType.getUnitID()).thenReturn(new UnitID("KilometersPerHour"));
+    when(sensorTypeRepository.ofIdentity(new SensorTypeID("Wind")))
+        .thenReturn(Optional.of(sensorType));
+    when(sensorRepository.findAll()).thenReturn(List.of(windSensor()));
+    sampling = sampling("");
+
+    // Act
+    sampling.start();
+
+    // Assert
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<LogBatchEntry>> captor = ArgumentCaptor.forClass(List.class);
+    verify(logIngestService, timeout(TIMEOUT_MILLIS).atLeastOnce()).submit(captor.capture());
+    String reading = captor.getValue().get(0).readingValue().getValue();
+    assertTrue(reading.matches("[0-9.]+;[0-9.E-]+"), reading);
+  }
+}
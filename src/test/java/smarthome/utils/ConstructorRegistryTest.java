@@ -0,0 +1,170 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.actuator.IActuator;
+import smarthome.domain.sensor.ISensor;
+import smarthome.domain.sensor.temperature_sensor.TemperatureSensor;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ModelPath;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorName;
+import smarthome.domain.value_object.SensorTypeID;
+
+class ConstructorRegistryTest {
+
+  private static final String TEMPERATURE_SENSOR =
+      "smarthome.domain.sensor.temperature_sensor.TemperatureSensor";
+
+  private static Object[] temperatureSensorParameters() {
+    return new Object[]{new DeviceID("device"), new ModelPath(TEMPERATURE_SENSOR),
+        new SensorTypeID("Temperature"), new SensorName("sensor")};
+  }
+
+  /**
+   * Test that the constructor matching the parameters creates the sensor.
+   */
+  @Test
+  void shouldCreateInstance_whenAConstructorAcceptsTheParameters() throws Exception {
+    // Arrange
+    ConstructorRegistry<ISensor> registry = new ConstructorRegistry<>(ISensor.class);
+    Object[] parameters = temperatureSensorParameters();
+
+    // Act
+    Optional<Function<Object[], ISensor>> constructor = registry.find(TEMPERATURE_SENSOR,
+        parameters);
+
+    // Assert
+    assertTrue(constructor.isPresent());
+    ISensor sensor = constructor.get().apply(parameters);
+    assertInstanceOf(TemperatureSensor.class, sensor);
+    assertEquals("device", sensor.getDeviceID().getID());
+  }
+
+  /**
+   * Test that the constructor with the sensor ID is chosen when the sensor ID is given.
+   */
+  @Test
+  void shouldChooseConstructorByParameterTypes() throws Exception {
+    // Arrange
+    ConstructorRegistry<ISensor> registry = new ConstructorRegistry<>(ISensor.class);
+    Object[] parameters = new Object[]{new DeviceID("device"), new ModelPath(TEMPERATURE_SENSOR),
+        new SensorTypeID("Temperature"), new SensorName("sensor"), new SensorID("sensor-1")};
+
+    // Act
+    ISensor sensor = registry.find(TEMPERATURE_SENSOR, parameters).orElseThrow()
+        .apply(parameters);
+
+    // Assert
+    assertEquals("sensor-1", sensor.getID().getID());
+  }
+
+  /**
+   * Test that a model path and signature are resolved once and then reused.
+   */
+  @Test
+  void shouldReuseConstructor_whenTheSameSignatureIsUsedAgain() throws Exception {
+    // Arrange
+    ConstructorRegistry<ISensor> registry = new ConstructorRegistry<>(ISensor.class);
+    Function<Object[], ISensor> first = registry.find(TEMPERATURE_SENSOR,
+        temperatureSensorParameters()).orElseThrow();
+
+    // Act
+    Function<Object[], ISensor> second = registry.find(TEMPERATURE_SENSOR,
+        temperatureSensorParameters()).orElseThrow();
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(1, registry.size());
+    assertNotSame(first.apply(temperatureSensorParameters()),
+        second.apply(temperatureSensorParameters()));
+  }
+
+  /**
+   * Test that no constructor is found when the parameters do not match any constructor.
+   */
+  @Test
+  void shouldReturnEmpty_whenNoConstructorAcceptsTheParameters() throws Exception {
+    // Arrange
+    ConstructorRegistry<ISensor> registry = new ConstructorRegistry<>(ISensor.class);
+
+    // Act
+    Optional<Function<Object[], ISensor>> constructor = registry.find(TEMPERATURE_SENSOR,
+        new DeviceID("device"), "wrong object", new SensorTypeID("Temperature"),
+        new SensorName("sensor"));
+
+    // Assert
+    assertTrue(constructor.isEmpty());
+  }
+
+  /**
+   * Test that no constructor is found when the class is not of the type of the registry.
+   */
+  @Test
+  void shouldReturnEmpty_whenTheClassIsNotOfTheRegistryType() throws Exception {
+    // Arrange
+    ConstructorRegistry<IActuator> registry = new ConstructorRegistry<>(IActuator.class);
+
+    // Act
+    Optional<Function<Object[], IActuator>> constructor = registry.find(TEMPERATURE_SENSOR,
+        temperatureSensorParameters());
+
+    // Assert
+    assertTrue(constructor.isEmpty());
+  }
+
+  /**
+   * Test that a model path without a class is rejected.
+   */
+  @Test
+  void shouldThrowException_whenTheClassDoesNotExist() {
+    // Arrange
+    ConstructorRegistry<ISensor> registry = new ConstructorRegistry<>(ISensor.class);
+
+    // Act + Assert
+    assertThrows(ClassNotFoundException.class,
+        () -> registry.find("smarthome.domain.sensor.WrongSensor", temperatureSensorParameters()));
+    assertEquals(0, registry.size());
+  }
+
+  /**
+   * Test that the exceptions of the constructor reach the caller.
+   */
+  @Test
+  void shouldRethrowException_whenTheConstructorThrows() throws Exception {
+    // Arrange
+    ConstructorRegistry<ISensor> registry = new ConstructorRegistry<>(ISensor.class);
+    Function<Object[], ISensor> constructor = registry.find(TEMPERATURE_SENSOR,
+        temperatureSensorParameters()).orElseThrow();
+    Object[] parameters = new Object[]{new DeviceID("device"), new ModelPath(TEMPERATURE_SENSOR),
+        new SensorTypeID("Humidity"), new SensorName("sensor")};
+
+    // Act + Assert
+    assertThrows(IllegalArgumentException.class, () -> constructor.apply(parameters));
+  }
+
+  /**
+   * Test that a registry cannot be created without a type.
+   */
+  @Test
+  void shouldThrowException_whenTypeIsNull() {
+    // Act + Assert
+    assertThrows(IllegalArgumentException.class, () -> new ConstructorRegistry<ISensor>(null));
+  }
+}
@@ -72,4 +72,39 @@ class CvsLoaderTest {
     assertArrayEquals(new String[]{"val1\nnewline", "val2"}, result.get(1));
   }
 
-}
\ No newline at end of file
+  @Test
+  void shouldStreamRowsAfterHeader_AndReportRejects(@TempDir Path tempDir) throws IOException {
+    //Arrange
+    Path csvFile = tempDir.resolve("rows.csv");
+    Files.write(csvFile, "col1,col2\nval1,val2\n\nbad,row\n\"val3\nnewline\",val4".getBytes());
+    List<String> handled = new ArrayList<>();
+    List<String> rejected = new ArrayList<>();
+    //Act
+    long rows = loadDefaultConfiguration.readRows(csvFile.toString(),
+        (rowNumber, row) -> {
+          if (row[0].equals("bad")) {
+            throw new IllegalArgumentException("Bad row");
+          }
+          handled.add(rowNumber + ":" + row[0] + "|" + row[1]);
+        },
+        (rowNumber, error) -> rejected.add(rowNumber + ":" + error));
+    //Assert
+    assertEquals(5, rows);
+    assertEquals(List.of("2:val1|val2", "5:val3\nnewline|val4"), handled);
+    assertEquals(List.of("4:Bad row"), rejected);
+  }
+
+  @Test
+  void shouldReadNoRows_WhenNoCSVFound() {
+    //Arrange
+    List<String[]> handled = new ArrayList<>();
+    //Act
+    long rows = loadDefaultConfiguration.readRows("invalid/path/to/csv",
+        (rowNumber, row) -> handled.add(row), (rowNumber, error) -> {
+        });
+    //Assert
+    assertEquals(0, rows);
+    assertTrue(handled.isEmpty());
+  }
+
+}
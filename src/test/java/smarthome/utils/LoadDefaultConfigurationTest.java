@@ -8,7 +8,11 @@
 
 package smarthome.utils;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,6 +38,24 @@ import smarthome.service.IUnitService;
 
 class LoadDefaultConfigurationTest {
 
+  /**
+   * Stubs CvsLoader.readRows to stream the given rows, the first being the header.
+   */
+  private static void stubRows(CvsLoader cvsLoader, List<String[]> rows) {
+    when(cvsLoader.readRows(any(String.class), any(), any())).thenAnswer(invocation -> {
+      CsvRowHandler handler = invocation.getArgument(1);
+      CsvRejectHandler rejects = invocation.getArgument(2);
+      for (int i = 1; i < rows.size(); i++) {
+        try {
+          handler.handle(i + 1, rows.get(i));
+        } catch (IllegalArgumentException e) {
+          rejects.reject(i + 1, e.getMessage());
+        }
+      }
+      return (long) rows.size();
+    });
+  }
+
 
   @Test
   void shouldLoadDefaultUnitsFromList_WhenLoadDefaultSupportedUnitsCalledWithValidPath() {
@@ -63,7 +85,7 @@ class LoadDefaultConfigurationTest {
     UnitSymbol unitSymbol2 = new UnitSymbol("F");
 
     // Stub the method to return the mock CSV data
-    when(cvsLoader.loadCVSFileToListOfStrings(any())).thenReturn(mockCsvData);
+    stubRows(cvsLoader, mockCsvData);
 
     // Act
     loadDefaultConfiguration.loadDefaultSupportedUnits("defaultconfig/units.csv");
@@ -101,7 +123,7 @@ class LoadDefaultConfigurationTest {
     UnitID unitID2 = new UnitID("Percent");
 
     // Stub the method to return the mock CSV data
-    when(cvsLoader.loadCVSFileToListOfStrings(any())).thenReturn(mockCsvData);
+    stubRows(cvsLoader, mockCsvData);
 
     // Act
     loadDefaultConfiguration.loadDefaultSupportedSensorTypes("defaultconfig/sensortypes.csv");
@@ -140,7 +162,7 @@ class LoadDefaultConfigurationTest {
     UnitID unitID2 = new UnitID("Integer");
 
     // Stub the method to return the mock CSV data
-    when(cvsLoader.loadCVSFileToListOfStrings(any())).thenReturn(mockCsvData);
+    stubRows(cvsLoader, mockCsvData);
 
     // Act
     loadDefaultConfiguration.loadDefaultSupportedActuatorTypes("defaultconfig/actuatortypes.csv");
@@ -184,7 +206,7 @@ class LoadDefaultConfigurationTest {
     SensorTypeID sensorTypeID2 = new SensorTypeID("Humidity");
 
     // Stub the method to return the mock CSV data
-    when(cvsLoader.loadCVSFileToListOfStrings(any())).thenReturn(mockCsvData);
+    stubRows(cvsLoader, mockCsvData);
 
     // Act
     loadDefaultConfiguration.loadDefaultSupportedSensorModels("defaultconfig/sensormodels.csv");
@@ -226,7 +248,7 @@ class LoadDefaultConfigurationTest {
     ActuatorTypeID sensorTypeID2 = new ActuatorTypeID("Integer");
 
     // Stub the method to return the mock CSV data
-    when(cvsLoader.loadCVSFileToListOfStrings(any())).thenReturn(mockCsvData);
+    stubRows(cvsLoader, mockCsvData);
 
     // Act
     loadDefaultConfiguration.loadDefaultSupportedActuatorModels("defaultconfig/actuatormodels.csv");
@@ -235,4 +257,51 @@ class LoadDefaultConfigurationTest {
     verify(actuatorModelService).addActuatorModel(modelPath, sensorModelName1, sensorTypeID1);
     verify(actuatorModelService).addActuatorModel(modelPath2, sensorModelName2, sensorTypeID2);
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldReportRejectedRows_AndLoadTheOthers() {
+    // Arrange
+    IUnitService unitService = mock(IUnitService.class);
+    CvsLoader cvsLoader = mock(CvsLoader.class);
+    LoadDefaultConfiguration loadDefaultConfiguration = new LoadDefaultConfiguration(unitService,
+        mock(ISensorModelService.class), mock(ISensorTypeService.class),
+        mock(IActuatorModelService.class), mock(IActuatorTypeService.class), cvsLoader);
+    stubRows(cvsLoader, Arrays.asList(
+        new String[]{"Header1", "Header2"},
+        new String[]{"Description"},
+        new String[]{"Description", "F"}));
+
+    // Act
+    List<String> rejected = loadDefaultConfiguration.loadDefaultSupportedUnits("units.csv");
+
+    // Assert
+    assertEquals(List.of("units.csv row 2: Missing column 2"), rejected);
+    verify(unitService).addunitType(new UnitDescription("Description"), new UnitSymbol("F"));
+  }
+
+  @Test
+  void shouldThrowException_WhenDefaultConfigurationHasInvalidRows() {
+    // Arrange
+    IUnitService unitService = mock(IUnitService.class);
+    CvsLoader cvsLoader = mock(CvsLoader.class);
+    stubRows(cvsLoader, Arrays.asList(
+        new String[]{"Header1", "Header2"},
+        new String[]{"Description", "C"}));
+    doThrow(new IllegalArgumentException("Unit already exists")).when(unitService)
+        .addunitType(any(), any());
+    ISensorModelService sensorModelService = mock(ISensorModelService.class);
+    ISensorTypeService sensorTypeService = mock(ISensorTypeService.class);
+    IActuatorModelService actuatorModelService = mock(IActuatorModelService.class);
+    IActuatorTypeService actuatorTypeService = mock(IActuatorTypeService.class);
+
+    // Act
+    IllegalStateException exception = assertThrows(
+        IllegalStateException.class,
+        () -> new LoadDefaultConfiguration(unitService, sensorModelService, sensorTypeService,
+            actuatorModelService, actuatorTypeService, cvsLoader));
+
+    // Assert
+    assertTrue(exception.getMessage()
+        .contains("defaultconfig/units.csv row 2: Unit already exists"));
+  }
+}
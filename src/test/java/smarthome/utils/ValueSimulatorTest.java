@@ -12,7 +12,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import org.junit.jupiter.api.Test;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorID;
+import smarthome.utils.simulation.ModelSignalSource;
+import smarthome.utils.simulation.RandomSignalSource;
+import smarthome.utils.simulation.SignalKind;
 
 class ValueSimulatorTest {
 
@@ -103,4 +110,51 @@ class ValueSimulatorTest {
     boolean randomValue = ValueSimulator.generateRandomBoolean();
     assertTrue(randomValue || !randomValue);
   }
-}
\ No newline at end of file
+
+  /**
+   * Should read the values of its signal source
+   */
+  @Test
+  void shouldReadValuesOfSignalSource() {
+    //Arrange
+    SensorID sensorID = new SensorID("sensor");
+    DeviceID deviceID = new DeviceID("device");
+    ValueSimulator valueSimulator = new ValueSimulator(new ModelSignalSource(5,
+        LocalDateTime.of(2024, 1, 1, 0, 0), Duration.ofMinutes(1)));
+    double expected = new ModelSignalSource(5, LocalDateTime.of(2024, 1, 1, 0, 0),
+        Duration.ofMinutes(1)).next(sensorID, deviceID, SignalKind.TEMPERATURE);
+    //Act
+    double value = valueSimulator.next(sensorID, deviceID, SignalKind.TEMPERATURE);
+    //Assert
+    assertEquals(expected, value);
+  }
+
+  /**
+   * Should throw exception when the signal source is null
+   */
+  @Test
+  void shouldThrowException_WhenSignalSourceIsNull() {
+    //Arrange
+    String expectedMessage = "Signal source is required";
+    //Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new ValueSimulator(null));
+    //Assert
+    assertEquals(expectedMessage, exception.getMessage());
+  }
+
+  /**
+   * Should draw values within the range of each quantity in the random mode
+   */
+  @Test
+  void shouldDrawValuesWithinRange_WhenSourceIsRandom() {
+    //Arrange
+    RandomSignalSource source = new RandomSignalSource();
+    //Act
+    double humidity = source.next(new SensorID("s"), new DeviceID("d"), SignalKind.HUMIDITY);
+    double position = source.next(new SensorID("s"), new DeviceID("d"), SignalKind.BLIND_POSITION);
+    //Assert
+    assertTrue(humidity >= 0 && humidity < 100 && humidity == Math.rint(humidity));
+    assertEquals(14, position);
+  }
+}
@@ -0,0 +1,127 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedUUIDGeneratorTest {
+
+  private static final long NOW = 1_700_000_000_000L;
+
+  @Test
+  void shouldGenerateVersion7UUID() {
+    //Arrange
+    TimeOrderedUUIDGenerator generator = new TimeOrderedUUIDGenerator(() -> NOW);
+
+    //Act
+    UUID uuid = UUID.fromString(generator.nextID());
+
+    //Assert
+    assertEquals(7, uuid.version());
+    assertEquals(2, uuid.variant());
+    assertEquals(NOW, uuid.getMostSignificantBits() >>> 16);
+  }
+
+  @Test
+  void shouldGenerateIncreasingIDs_WhenClockDoesNotMove() {
+    //Arrange
+    TimeOrderedUUIDGenerator generator = new TimeOrderedUUIDGenerator(() -> NOW);
+    List<String> ids = new ArrayList<>();
+
+    //Act
+    for (int i = 0; i < 10000; i++) {
+      ids.add(generator.nextID());
+    }
+
+    //Assert
+    List<String> sorted = new ArrayList<>(ids);
+    sorted.sort(null);
+    assertEquals(sorted, ids);
+    assertEquals(ids.size(), new HashSet<>(ids).size());
+  }
+
+  @Test
+  void shouldGenerateIncreasingIDs_WhenClockGoesBack() {
+    //Arrange
+    AtomicLong clock = new AtomicLong(NOW);
+    TimeOrderedUUIDGenerator generator = new TimeOrderedUUIDGenerator(clock::get);
+    String before = generator.nextID();
+
+    //Act
+    clock.set(NOW - 1000);
+    String after = generator.nextID();
+
+    //Assert
+    assertTrue(after.compareTo(before) > 0);
+  }
+
+  @Test
+  void shouldGenerateUniqueIDs_WhenCalledConcurrently() throws InterruptedException {
+    //Arrange
+    TimeOrderedUUIDGenerator generator = new TimeOrderedUUIDGenerator();
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    List<Thread> threads = new ArrayList<>();
+
+    //Act
+    for (int t = 0; t < 4; t++) {
+      Thread thread = new Thread(() -> {
+        for (int i = 0; i < 5000; i++) {
+          ids.add(generator.nextID());
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    //Assert
+    assertEquals(20000, ids.size());
+  }
+
+  @Test
+  void shouldGenerateVersion4UUID_WhenUsingRandomGenerator() {
+    //Act
+    UUID uuid = UUID.fromString(new RandomUUIDGenerator().nextID());
+
+    //Assert
+    assertEquals(4, uuid.version());
+  }
+
+  @Test
+  void shouldSelectGeneratorByName() {
+    //Act & Assert
+    assertInstanceOf(TimeOrderedUUIDGenerator.class,
+        DomainIDConfig.generatorNamed("time-ordered"));
+    assertInstanceOf(RandomUUIDGenerator.class, DomainIDConfig.generatorNamed("random"));
+    assertThrows(IllegalArgumentException.class, () -> DomainIDConfig.generatorNamed("ulid"));
+  }
+
+  @Test
+  void shouldUseTimeOrderedGeneratorByDefault() {
+    //Act
+    UUID uuid = UUID.fromString(DomainIDs.next());
+
+    //Assert
+    assertEquals(7, uuid.version());
+  }
+}
@@ -0,0 +1,178 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorID;
+
+class ModelSignalSourceTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+  private static final DeviceID DEVICE = new DeviceID("device-1");
+
+  private static List<Double> read(ModelSignalSource source, String sensorID, SignalKind kind,
+      int readings) {
+    List<Double> values = new ArrayList<>(readings);
+    for (int i = 0; i < readings; i++) {
+      values.add(source.next(new SensorID(sensorID), DEVICE, kind));
+    }
+    return values;
+  }
+
+  /**
+   * Should replay the same values with the same seed and start time
+   */
+  @Test
+  void shouldReplaySameValues_WhenSeedAndStartAreTheSame() {
+    // Arrange
+    ModelSignalSource first = new ModelSignalSource(42, START, Duration.ofMinutes(1));
+    ModelSignalSource second = new ModelSignalSource(42, START, Duration.ofMinutes(1));
+
+    // Act
+    List<Double> expected = read(first, "s1", SignalKind.TEMPERATURE, 500);
+    List<Double> actual = read(second, "s1", SignalKind.TEMPERATURE, 500);
+
+    // Assert
+    assertEquals(expected, actual);
+  }
+
+  /**
+   * Should produce other values with another seed
+   */
+  @Test
+  void shouldProduceOtherValues_WhenSeedDiffers() {
+    // Arrange
+    ModelSignalSource first = new ModelSignalSource(42, START, Duration.ofMinutes(1));
+    ModelSignalSource second = new ModelSignalSource(43, START, Duration.ofMinutes(1));
+
+    // Act & Assert
+    assertNotEquals(read(first, "s1", SignalKind.INSTANT_POWER, 100),
+        read(second, "s1", SignalKind.INSTANT_POWER, 100));
+  }
+
+  /**
+   * Should give a sensor the same values whatever the order and threads the sensors are read in
+   */
+  @Test
+  void shouldNotDependOnReadOrderOrThreads() throws Exception {
+    // Arrange
+    ModelSignalSource sequential = new ModelSignalSource(7, START, Duration.ofSeconds(1));
+    List<List<Double>> expected = new ArrayList<>();
+    for (int sensor = 0; sensor < 16; sensor++) {
+      expected.add(read(sequential, "s" + sensor, SignalKind.HUMIDITY, 200));
+    }
+    ModelSignalSource concurrent = new ModelSignalSource(7, START, Duration.ofSeconds(1));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    // Act
+    List<Future<List<Double>>> futures = new ArrayList<>();
+    try {
+      for (int sensor = 15; sensor >= 0; sensor--) {
+        String sensorID = "s" + sensor;
+        futures.add(executor.submit(() -> read(concurrent, sensorID, SignalKind.HUMIDITY, 200)));
+      }
+      // Assert
+      for (int i = 0; i < 16; i++) {
+        assertEquals(expected.get(15 - i), futures.get(i).get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Should be warmer in the afternoon than before dawn, and drier when warmer
+   */
+  @Test
+  void shouldFollowDailyCurve_AndCorrelateHumidityWithTemperature() {
+    // Arrange
+    ModelSignalSource source = new ModelSignalSource(1, START, Duration.ofHours(1));
+    int days = 20;
+
+    // Act
+    List<Double> temperatures = read(source, "thermometer", SignalKind.TEMPERATURE, 24 * days);
+    List<Double> humidities = read(source, "hygrometer", SignalKind.HUMIDITY, 24 * days);
+
+    // Assert
+    double afternoon = 0;
+    double dawn = 0;
+    for (int day = 0; day < days; day++) {
+      afternoon += temperatures.get(day * 24 + 15);
+      dawn += temperatures.get(day * 24 + 3);
+    }
+    assertTrue(afternoon / days > dawn / days + 3);
+    assertTrue(correlation(temperatures, humidities) < -0.5);
+  }
+
+  /**
+   * Should keep every quantity within the range accepted by the sensor values
+   */
+  @Test
+  void shouldKeepValuesInRange() {
+    // Arrange
+    ModelSignalSource source = new ModelSignalSource(3, START, Duration.ofMinutes(10));
+
+    // Act & Assert
+    for (int i = 0; i < 5000; i++) {
+      double humidity = source.next(new SensorID("h"), DEVICE, SignalKind.HUMIDITY);
+      double position = source.next(new SensorID("b"), DEVICE, SignalKind.BLIND_POSITION);
+      double power = source.next(new SensorID("p"), DEVICE, SignalKind.INSTANT_POWER);
+      double dewPoint = source.next(new SensorID("d"), DEVICE, SignalKind.DEW_POINT);
+      double speed = source.next(new SensorID("w"), DEVICE, SignalKind.WIND_SPEED);
+      double direction = source.next(new SensorID("w"), DEVICE, SignalKind.WIND_DIRECTION);
+      double state = source.next(new SensorID("s"), DEVICE, SignalKind.SWITCH);
+      assertTrue(humidity >= 0 && humidity <= 100 && humidity == Math.rint(humidity));
+      assertTrue(position >= 0 && position <= 100 && position == Math.rint(position));
+      assertTrue(power >= 0);
+      assertTrue(dewPoint >= -70);
+      assertTrue(speed >= 0 && speed < 408);
+      assertTrue(direction >= 0 && direction < 2 * Math.PI);
+      assertTrue(state == 0 || state == 1);
+    }
+  }
+
+  /**
+   * Should throw exception when the step is not positive
+   */
+  @Test
+  void shouldThrowException_WhenStepIsNotPositive() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> new ModelSignalSource(0, START, Duration.ZERO));
+  }
+
+  private static double correlation(List<Double> x, List<Double> y) {
+    double meanX = x.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+    double meanY = y.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+    double covariance = 0;
+    double varianceX = 0;
+    double varianceY = 0;
+    for (int i = 0; i < x.size(); i++) {
+      double dx = x.get(i) - meanX;
+      double dy = y.get(i) - meanY;
+      covariance += dx * dy;
+      varianceX += dx * dx;
+      varianceY += dy * dy;
+    }
+    return covariance / Math.sqrt(varianceX * varianceY);
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */
+
+package smarthome.utils.time_series;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentSumSweepTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  private record Reading(String series, LocalDateTime time, double value) {
+
+  }
+
+  private static Reading reading(String series, int minute, double value) {
+    return new Reading(series, START.plusMinutes(minute), value);
+  }
+
+  private static ConcurrentSumSweep.Peak peak(List<Reading> readings, int minutes) {
+    return ConcurrentSumSweep.peak(readings, Reading::series, Reading::time, Reading::value,
+        minutes);
+  }
+
+  /**
+   * Brute force reference: at every reading time, sum the latest reading of each series that is
+   * less than the window old, or taken at that very time.
+   */
+  private static ConcurrentSumSweep.Peak bruteForcePeak(List<Reading> readings, int minutes) {
+    double best = Double.NEGATIVE_INFINITY;
+    LocalDateTime bestTime = null;
+    for (Reading at : readings) {
+      double sum = 0;
+      for (String series : readings.stream().map(Reading::series).distinct().toList()) {
+        Reading latest = null;
+        for (Reading candidate : readings) {
+          if (candidate.series().equals(series) && !candidate.time().isAfter(at.time())
+              && (latest == null || candidate.time().isAfter(latest.time()))) {
+            latest = candidate;
+          }
+        }
+        if (latest != null && (latest.time().equals(at.time())
+            || latest.time().plusMinutes(minutes).isAfter(at.time()))) {
+          sum += latest.value();
+        }
+      }
+      if (sum > best || (sum == best && at.time().isBefore(bestTime))) {
+        best = sum;
+        bestTime = at.time();
+      }
+    }
+    return new ConcurrentSumSweep.Peak(best, bestTime);
+  }
+
+  /**
+   * Test that a negative window is rejected.
+   */
+  @Test
+  void shouldThrowException_WhenWindowIsNegative() {
+    // Arrange
+    List<Reading> readings = List.of(reading("a", 0, 1));
+
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> peak(readings, -1));
+
+    // Assert
+    assertEquals("Window must not be negative", exception.getMessage());
+  }
+
+  /**
+   * Test that no readings give a zero peak without a time.
+   */
+  @Test
+  void shouldReturnZeroWithoutTime_WhenThereAreNoReadings() {
+    // Act
+    ConcurrentSumSweep.Peak result = peak(List.of(), 15);
+
+    // Assert
+    assertEquals(0, result.value());
+    assertNull(result.time());
+  }
+
+  /**
+   * Test that a newer reading of a series replaces its previous value instead of adding to it.
+   */
+  @Test
+  void shouldReplaceValueOfSeries_WhenNewerReadingArrives() {
+    // Arrange
+    List<Reading> readings = List.of(reading("a", 0, 10), reading("a", 5, 30),
+        reading("a", 10, 20));
+
+    // Act
+    ConcurrentSumSweep.Peak result = peak(readings, 15);
+
+    // Assert
+    assertEquals(new ConcurrentSumSweep.Peak(30, START.plusMinutes(5)), result);
+  }
+
+  /**
+   * Test that the current values of every series are summed, and that a reading stops counting
+   * once the window has elapsed.
+   */
+  @Test
+  void shouldSumSeriesUntilReadingsExpire() {
+    // Arrange
+    List<Reading> readings = List.of(reading("c", 15, 5), reading("a", 0, 10),
+        reading("b", 10, 20), reading("c", 30, 100), reading("a", 29, 1));
+
+    // Act
+    ConcurrentSumSweep.Peak result = peak(readings, 15);
+
+    // Assert
+    assertEquals(new ConcurrentSumSweep.Peak(101, START.plusMinutes(30)), result);
+  }
+
+  /**
+   * Test that the sweep finds the same peak as the brute force over random readings.
+   */
+  @Test
+  void shouldMatchBruteForce_WhenReadingsAreRandom() {
+    // Arrange
+    Random random = new Random(42);
+    for (int round = 0; round < 50; round++) {
+      List<Reading> readings = new ArrayList<>();
+      for (int i = 0; i < 60; i++) {
+        readings.add(reading("s" + random.nextInt(6), random.nextInt(120),
+            random.nextInt(200) - 50));
+      }
+      int minutes = random.nextInt(30);
+
+      // Act
+      ConcurrentSumSweep.Peak result = peak(readings, minutes);
+
+      // Assert
+      ConcurrentSumSweep.Peak expected = bruteForcePeak(deduplicate(readings), minutes);
+      assertEquals(expected, result);
+    }
+  }
+
+  /**
+   * Keeps the last of the readings of a series that share a timestamp, as the sweep does.
+   */
+  private static List<Reading> deduplicate(List<Reading> readings) {
+    List<Reading> kept = new ArrayList<>();
+    for (int i = 0; i < readings.size(); i++) {
+      Reading reading = readings.get(i);
+      boolean replacedLater = readings.subList(i + 1, readings.size()).stream()
+          .anyMatch(other -> other.series().equals(reading.series())
+              && other.time().equals(reading.time()));
+      if (!replacedLater) {
+        kept.add(reading);
+      }
+    }
+    return kept;
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */
+
+package smarthome.utils.time_series;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class TimeWindowJoinTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  /**
+   * Test that a negative window is rejected.
+   */
+  @Test
+  void shouldThrowException_WhenWindowIsNegative() {
+    // Arrange
+    List<Long> series = List.of(1L);
+    String expectedMessage = "Window must not be negative";
+
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new TimeWindowJoin<>(series, t -> t, series, t -> t, -1));
+
+    // Assert
+    assertEquals(expectedMessage, exception.getMessage());
+  }
+
+  /**
+   * Test that a null series is rejected.
+   */
+  @Test
+  void shouldThrowException_WhenLeftSeriesIsNull() {
+    // Arrange
+    List<Long> series = List.of(1L);
+    String expectedMessage = "Left series is required";
+
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new TimeWindowJoin<Long, Long>(null, t -> t, series, t -> t, 1));
+
+    // Assert
+    assertEquals(expectedMessage, exception.getMessage());
+  }
+
+  /**
+   * Test that the window is exclusive on both sides.
+   */
+  @Test
+  void shouldOnlyMatchElementsStrictlyInsideTheWindow() {
+    // Arrange
+    List<Long> left = List.of(10L);
+    List<Long> right = List.of(5L, 6L, 10L, 14L, 15L);
+    TimeWindowJoin<Long, Long> join = new TimeWindowJoin<>(left, t -> t, right, t -> t, 5);
+    List<Long> expected = List.of(6L, 10L, 14L);
+
+    // Act
+    List<Long> result = join.pairs().map(TimeWindowJoin.Pair::right).toList();
+
+    // Assert
+    assertEquals(expected, result);
+  }
+
+  /**
+   * Test that unsorted inputs are sorted and source positions are kept.
+   */
+  @Test
+  void shouldSortUnsortedInputsAndKeepSourceIndexes() {
+    // Arrange
+    List<Long> left = List.of(30L, 10L, 20L);
+    List<Long> right = List.of(21L, 11L);
+    TimeWindowJoin<Long, Long> join = new TimeWindowJoin<>(left, t -> t, right, t -> t, 2);
+
+    // Act
+    List<Long> sortedLeft = join.getLeft();
+    int sourceOfFirst = join.leftSourceIndex(0);
+    int sourceOfRightFirst = join.rightSourceIndex(0);
+
+    // Assert
+    assertEquals(List.of(10L, 20L, 30L), sortedLeft);
+    assertEquals(1, sourceOfFirst);
+    assertEquals(1, sourceOfRightFirst);
+  }
+
+  /**
+   * Test that the pairs streamed and the pairs visited are the same.
+   */
+  @Test
+  void shouldVisitTheSamePairsThatAreStreamed() {
+    // Arrange
+    List<Long> left = List.of(1L, 2L, 8L);
+    List<Long> right = List.of(0L, 3L, 9L, 20L);
+    TimeWindowJoin<Long, Long> join = new TimeWindowJoin<>(left, t -> t, right, t -> t, 3);
+    List<String> visited = new ArrayList<>();
+
+    // Act
+    join.forEachPair((l, r) -> visited.add(l + "-" + r));
+    List<String> streamed = join.pairs().map(p -> p.left() + "-" + p.right()).toList();
+
+    // Assert
+    assertEquals(List.of("1-0", "1-3", "2-0", "2-3", "8-9"), visited);
+    assertEquals(visited, streamed);
+  }
+
+  /**
+   * Test that no window is visited when nothing matches.
+   */
+  @Test
+  void shouldNotVisitAnyWindow_WhenNoElementsAreWithinTheWindow() {
+    // Arrange
+    List<Long> left = List.of(1L, 100L);
+    List<Long> right = List.of(50L);
+    TimeWindowJoin<Long, Long> join = new TimeWindowJoin<>(left, t -> t, right, t -> t, 10);
+    List<Integer> visited = new ArrayList<>();
+
+    // Act
+    join.forEachWindow((leftIndex, from, to) -> visited.add(leftIndex));
+
+    // Assert
+    assertTrue(visited.isEmpty());
+  }
+
+  /**
+   * Test that the minute window matches ChronoUnit.MINUTES.between, including seconds.
+   */
+  @Test
+  void shouldMatchChronoUnitMinutesSemantics_WhenUsingWithinMinutes() {
+    // Arrange
+    LocalDateTime reference = START.plusSeconds(30);
+    List<LocalDateTime> left = List.of(reference);
+    List<LocalDateTime> right = List.of(START.plusMinutes(5), START.plusMinutes(5).plusSeconds(29),
+        START.plusMinutes(5).plusSeconds(30), START.minusMinutes(4).plusSeconds(31));
+    TimeWindowJoin<LocalDateTime, LocalDateTime> join = TimeWindowJoin.withinMinutes(left,
+        t -> t, right, t -> t, 5);
+
+    // Act
+    List<LocalDateTime> result = join.pairs().map(TimeWindowJoin.Pair::right).toList();
+
+    // Assert
+    List<LocalDateTime> expected = right.stream()
+        .filter(t -> Math.abs(ChronoUnit.MINUTES.between(reference, t)) < 5)
+        .sorted()
+        .toList();
+    assertEquals(expected, result);
+  }
+
+  /**
+   * Test that the window extremes are the minimum and maximum of the right values in the window.
+   */
+  @Test
+  void shouldReturnWindowExtremes() {
+    // Arrange
+    List<Long> left = List.of(2L, 6L);
+    List<Long> right = List.of(0L, 1L, 3L, 5L, 7L);
+    List<Double> values = List.of(4.0, -1.0, 9.0, 2.0, 3.0);
+    TimeWindowJoin<Long, Long> join = new TimeWindowJoin<>(left, t -> t, right, t -> t, 2);
+    List<String> extremes = new ArrayList<>();
+
+    // Act
+    join.forEachWindowExtremes(r -> values.get(right.indexOf(r)),
+        (leftIndex, min, max) -> extremes.add(leftIndex + ":" + min + ":" + max));
+
+    // Assert
+    assertEquals(List.of("0:-1.0:9.0", "1:2.0:3.0"), extremes);
+  }
+
+  /**
+   * Test that the join gives the same pairs and extremes as a nested loop over random data.
+   */
+  @Test
+  void shouldAgreeWithNestedLoop_WhenInputsAreRandom() {
+    // Arrange
+    Random random = new Random(42);
+    List<long[]> left = randomSeries(random, 300);
+    List<long[]> right = randomSeries(random, 400);
+    long window = 7;
+    TimeWindowJoin<long[], long[]> join = new TimeWindowJoin<>(left, e -> e[0], right, e -> e[0],
+        window);
+
+    List<String> expectedPairs = new ArrayList<>();
+    double expectedMaxDifference = Double.NEGATIVE_INFINITY;
+    for (long[] l : left) {
+      for (long[] r : right) {
+        if (Math.abs(l[0] - r[0]) < window) {
+          expectedPairs.add(l[0] + "/" + l[1] + "-" + r[0] + "/" + r[1]);
+          expectedMaxDifference = Math.max(expectedMaxDifference, Math.abs(l[1] - r[1]));
+        }
+      }
+    }
+
+    // Act
+    List<String> pairs = join.pairs()
+        .map(p -> p.left()[0] + "/" + p.left()[1] + "-" + p.right()[0] + "/" + p.right()[1])
+        .collect(Collectors.toList());
+    double[] maxDifference = {Double.NEGATIVE_INFINITY};
+    join.forEachWindowExtremes(r -> r[1], (leftIndex, min, max) -> {
+      long value = join.getLeft().get(leftIndex)[1];
+      maxDifference[0] = Math.max(maxDifference[0],
+          Math.max(Math.abs(value - min), Math.abs(max - value)));
+    });
+
+    // Assert
+    assertEquals(expectedPairs.stream().sorted().toList(), pairs.stream().sorted().toList());
+    assertEquals(expectedMaxDifference, maxDifference[0]);
+  }
+
+  private static List<long[]> randomSeries(Random random, int size) {
+    List<long[]> series = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      series.add(new long[]{random.nextInt(1000), random.nextInt(200) - 100});
+    }
+    return series;
+  }
+}
@@ -0,0 +1,140 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.visitor_pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalTime;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.sensor.electric_consumption_wh_sensor.ElectricConsumptionWhSensor;
+import smarthome.domain.sensor.electric_consumption_wh_sensor.ElectricConsumptionWhValue;
+import smarthome.domain.sensor.sunrise_time_sensor.SunriseTimeSensor;
+import smarthome.domain.sensor.sunrise_time_sensor.SunriseTimeSensorValue;
+import smarthome.domain.sensor.sunset_time_sensor.SunsetTimeSensor;
+import smarthome.domain.sensor.sunset_time_sensor.SunsetTimeSensorValue;
+import smarthome.domain.sensor.switch_sensor.SwitchSensor;
+import smarthome.domain.sensor.switch_sensor.SwitchSensorValue;
+import smarthome.domain.sensor.temperature_sensor.TemperatureSensor;
+import smarthome.domain.sensor.temperature_sensor.TemperatureSensorValue;
+import smarthome.domain.sensor.wind_sensor.WindSensor;
+import smarthome.domain.sensor.wind_sensor.WindSensorValue;
+import smarthome.domain.value_object.ReadingKind;
+import smarthome.domain.value_object.ReadingValue;
+
+class SensorVisitorForReadingImplTest {
+
+  /**
+   * Test that no reading is kept before a sensor is visited.
+   */
+  @Test
+  void shouldHaveNoReading_whenNoSensorWasVisited() {
+    // Act
+    ReadingValue result = new SensorVisitorForReadingImpl().getReadingValue();
+
+    // Assert
+    assertNull(result);
+  }
+
+  /**
+   * Test that a temperature is kept as a decimal reading.
+   */
+  @Test
+  void shouldReadTemperatureAsDecimal() {
+    // Arrange
+    TemperatureSensor sensor = mock(TemperatureSensor.class);
+    when(sensor.getValue()).thenReturn(new TemperatureSensorValue(21.5));
+    SensorVisitorForReadingImpl visitor = new SensorVisitorForReadingImpl();
+
+    // Act
+    String result = visitor.visitTemperatureSensor(sensor);
+
+    // Assert
+    assertEquals("21.5", result);
+    assertEquals(ReadingKind.DECIMAL, visitor.getReadingValue().getKind());
+    assertEquals(21.5, visitor.getReadingValue().getNumericValue());
+  }
+
+  /**
+   * Test that an electric consumption is kept as an integer reading, in watt-hours.
+   */
+  @Test
+  void shouldReadElectricConsumptionAsInteger() {
+    // Arrange
+    ElectricConsumptionWhSensor sensor = mock(ElectricConsumptionWhSensor.class);
+    when(sensor.getValue()).thenReturn(new ElectricConsumptionWhValue(300));
+    SensorVisitorForReadingImpl visitor = new SensorVisitorForReadingImpl();
+
+    // Act
+    visitor.visitElectricConsumptionWhSensor(sensor);
+
+    // Assert
+    assertEquals(ReadingKind.INTEGER, visitor.getReadingValue().getKind());
+    assertEquals(300, visitor.getReadingValue().getIntegerValue());
+  }
+
+  /**
+   * Test that the sunrise and sunset times are kept as plain times.
+   */
+  @Test
+  void shouldReadSunTimesAsPlainTimes() {
+    // Arrange
+    SunriseTimeSensor sunrise = mock(SunriseTimeSensor.class);
+    when(sunrise.getValue()).thenReturn(new SunriseTimeSensorValue(LocalTime.of(7, 5)));
+    SunsetTimeSensor sunset = mock(SunsetTimeSensor.class);
+    when(sunset.getValue()).thenReturn(new SunsetTimeSensorValue(LocalTime.of(18, 30, 15)));
+    SensorVisitorForReadingImpl sunriseVisitor = new SensorVisitorForReadingImpl();
+    SensorVisitorForReadingImpl sunsetVisitor = new SensorVisitorForReadingImpl();
+
+    // Act
+    sunriseVisitor.visitSunriseTimeSensor(sunrise);
+    sunsetVisitor.visitSunsetTimeSensor(sunset);
+
+    // Assert
+    assertEquals("07:05:00", sunriseVisitor.getReadingValue().getValue());
+    assertEquals("18:30:15", sunsetVisitor.getReadingValue().getValue());
+  }
+
+  /**
+   * Test that the wind is kept as its speed and direction.
+   */
+  @Test
+  void shouldReadWindAsSpeedAndDirection() {
+    // Arrange
+    WindSensor sensor = mock(WindSensor.class);
+    when(sensor.getValue()).thenReturn(new WindSensorValue(12.0, 1.5));
+    SensorVisitorForReadingImpl visitor = new SensorVisitorForReadingImpl();
+
+    // Act
+    visitor.visitWindSensor(sensor);
+
+    // Assert
+    assertEquals(ReadingKind.TEXT, visitor.getReadingValue().getKind());
+    assertEquals("12.0;1.5", visitor.getReadingValue().getValue());
+  }
+
+  /**
+   * Test that the state of a switch is kept as On or Off.
+   */
+  @Test
+  void shouldReadSwitchAsOnOrOff() {
+    // Arrange
+    SwitchSensor sensor = mock(SwitchSensor.class);
+    when(sensor.getValue()).thenReturn(new SwitchSensorValue(true));
+    SensorVisitorForReadingImpl visitor = new SensorVisitorForReadingImpl();
+
+    // Act
+    visitor.visitSwitchSensor(sensor);
+
+    // Assert
+    assertEquals("On", visitor.getReadingValue().getValue());
+  }
+}